@@ -0,0 +1,151 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.benchmarks.publication;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
+import fr.utbm.ciad.labmanager.utils.io.bibtex.BibTeX;
+import fr.utbm.ciad.labmanager.utils.io.html.HtmlDocumentExporter;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonExporter;
+import fr.utbm.ciad.labmanager.utils.io.od.OpenDocumentTextPublicationExporter;
+import fr.utbm.ciad.labmanager.utils.io.ris.RIS;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+/** Benchmark of the export of publications to BibTeX, RIS, HTML, Open Document Text and JSON.
+ * Each operation exports the whole synthetic dataset, as the yearly export of the laboratory publications does.
+ * The allocation rate is reported when the benchmark is run with the {@code gc} profiler.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see SyntheticPublicationDataset
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicationExportBenchmark {
+
+    private static final Logger LOGGER = NOPLogger.NOP_LOGGER;
+
+    /** Number of publications in the dataset.
+     */
+    @Param({"100", "1000"})
+    public int size;
+
+    private List<Publication> publications;
+
+    private ExporterConfigurator configurator;
+
+    private BibTeX bibtex;
+
+    private RIS ris;
+
+    private HtmlDocumentExporter html;
+
+    private OpenDocumentTextPublicationExporter odt;
+
+    private JsonExporter json;
+
+    /** Generate the dataset and create the exporters.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var fixtures = new PublicationIoFixtures(SyntheticPublicationDataset.generate(this.size));
+        this.publications = fixtures.getDataset().getPublications();
+        this.configurator = new ExporterConfigurator(null, Locale.US);
+        this.bibtex = fixtures.newBibTeX();
+        this.ris = fixtures.newRIS();
+        this.html = fixtures.newHtmlExporter();
+        this.odt = fixtures.newOdtExporter();
+        this.json = fixtures.newJsonExporter();
+    }
+
+    /** Export to BibTeX.
+     *
+     * @return the BibTeX source.
+     */
+    @Benchmark
+    public String exportBibTeX() {
+        return this.bibtex.exportPublications(this.publications, this.configurator, new DefaultProgression(), LOGGER);
+    }
+
+    /** Export to RIS.
+     *
+     * @return the RIS source.
+     */
+    @Benchmark
+    public String exportRIS() {
+        return this.ris.exportPublications(this.publications, this.configurator, new DefaultProgression(), LOGGER);
+    }
+
+    /** Export to HTML.
+     *
+     * @return the HTML source.
+     * @throws Exception if the publications cannot be exported.
+     */
+    @Benchmark
+    public String exportHtml() throws Exception {
+        return this.html.exportPublications(this.publications, this.configurator, new DefaultProgression(), LOGGER);
+    }
+
+    /** Export to Open Document Text.
+     *
+     * @return the content of the ODT file.
+     * @throws Exception if the publications cannot be exported.
+     */
+    @Benchmark
+    public byte[] exportOdt() throws Exception {
+        return this.odt.exportPublications(this.publications, this.configurator, new DefaultProgression(), LOGGER);
+    }
+
+    /** Export to JSON.
+     *
+     * @return the JSON source.
+     * @throws Exception if the publications cannot be exported.
+     */
+    @Benchmark
+    public String exportJson() throws Exception {
+        return this.json.exportPublications(this.publications, this.configurator, new DefaultProgression(), LOGGER);
+    }
+
+}
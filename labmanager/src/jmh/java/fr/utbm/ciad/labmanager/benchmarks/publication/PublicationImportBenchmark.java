@@ -0,0 +1,114 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.benchmarks.publication;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
+import fr.utbm.ciad.labmanager.utils.io.bibtex.BibTeX;
+import fr.utbm.ciad.labmanager.utils.io.ris.RIS;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.NOPLogger;
+
+/** Benchmark of the import of publications from BibTeX and RIS sources.
+ * The sources are produced once per trial by exporting the synthetic dataset; the journals, conferences
+ * and authors that are referenced by the sources are resolved against the same dataset.
+ * The allocation rate is reported when the benchmark is run with the {@code gc} profiler.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see SyntheticPublicationDataset
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicationImportBenchmark {
+
+    /** Number of publications in the dataset.
+     */
+    @Param({"100", "1000"})
+    public int size;
+
+    private BibTeX bibtex;
+
+    private RIS ris;
+
+    private String bibtexSource;
+
+    private String risSource;
+
+    /** Generate the dataset, create the importers and the sources to be parsed.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var fixtures = new PublicationIoFixtures(SyntheticPublicationDataset.generate(this.size));
+        final var publications = fixtures.getDataset().getPublications();
+        final var configurator = new ExporterConfigurator(null, Locale.US);
+        this.bibtex = fixtures.newBibTeX();
+        this.ris = fixtures.newRIS();
+        this.bibtexSource = this.bibtex.exportPublications(publications, configurator, new DefaultProgression(), NOPLogger.NOP_LOGGER);
+        this.risSource = this.ris.exportPublications(publications, configurator, new DefaultProgression(), NOPLogger.NOP_LOGGER);
+    }
+
+    /** Parse the BibTeX source.
+     *
+     * @return the extracted publications.
+     * @throws Exception if the source cannot be parsed.
+     */
+    @Benchmark
+    public List<Publication> importBibTeX() throws Exception {
+        return this.bibtex.extractPublications(new StringReader(this.bibtexSource), false, false, false, false, false,
+                new DefaultProgression());
+    }
+
+    /** Parse the RIS source.
+     *
+     * @return the extracted publications.
+     * @throws Exception if the source cannot be parsed.
+     */
+    @Benchmark
+    public List<Publication> importRIS() throws Exception {
+        return this.ris.extractPublications(new StringReader(this.risSource), false, false, false, false, false,
+                Locale.US, new DefaultProgression());
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.benchmarks.publication;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.configuration.messages.BaseMessageSource;
+import fr.utbm.ciad.labmanager.data.conference.Conference;
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.publication.type.ConferencePaper;
+import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
+import fr.utbm.ciad.labmanager.services.conference.ConferenceService;
+import fr.utbm.ciad.labmanager.services.journal.JournalService;
+import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.publication.DefaultPrePublicationFactory;
+import fr.utbm.ciad.labmanager.services.publication.PublicationService;
+import fr.utbm.ciad.labmanager.services.publication.type.BookChapterService;
+import fr.utbm.ciad.labmanager.services.publication.type.BookService;
+import fr.utbm.ciad.labmanager.services.publication.type.ConferencePaperService;
+import fr.utbm.ciad.labmanager.services.publication.type.JournalEditionService;
+import fr.utbm.ciad.labmanager.services.publication.type.JournalPaperService;
+import fr.utbm.ciad.labmanager.services.publication.type.KeyNoteService;
+import fr.utbm.ciad.labmanager.services.publication.type.MiscDocumentService;
+import fr.utbm.ciad.labmanager.services.publication.type.ReportService;
+import fr.utbm.ciad.labmanager.services.publication.type.ThesisService;
+import fr.utbm.ciad.labmanager.utils.doi.DefaultDoiTools;
+import fr.utbm.ciad.labmanager.utils.io.bibtex.BibTeX;
+import fr.utbm.ciad.labmanager.utils.io.bibtex.JBibtexBibTeX;
+import fr.utbm.ciad.labmanager.utils.io.hal.DefaultHalTools;
+import fr.utbm.ciad.labmanager.utils.io.html.CiadHtmlDocumentExporter;
+import fr.utbm.ciad.labmanager.utils.io.html.HtmlDocumentExporter;
+import fr.utbm.ciad.labmanager.utils.io.json.JacksonJsonExporter;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonExporter;
+import fr.utbm.ciad.labmanager.utils.io.od.DefaultOdfToolkitOpenDocumentTextExporter;
+import fr.utbm.ciad.labmanager.utils.io.od.OdfTextDocumentHelper;
+import fr.utbm.ciad.labmanager.utils.io.od.OpenDocumentTextPublicationExporter;
+import fr.utbm.ciad.labmanager.utils.io.ris.KrisRIS;
+import fr.utbm.ciad.labmanager.utils.io.ris.RIS;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Builder of the publication exporters and importers that are used by the benchmarks.
+ * The exporters and importers are the implementations to which {@link PublicationService} delegates.
+ * The services that access the database are replaced by stubs that resolve the journals, the conferences
+ * and the persons from a {@link SyntheticPublicationDataset}. These stubs do not record their invocations
+ * in order to keep the memory footprint of the benchmark constant.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public final class PublicationIoFixtures {
+
+    private final MessageSourceAccessor messages = BaseMessageSource.getGlobalMessageAccessor();
+
+    private final SyntheticPublicationDataset dataset;
+
+    private final JournalService journalService;
+
+    private final ConferenceService conferenceService;
+
+    private final PersonService personService;
+
+    private final JournalPaperService journalPaperService;
+
+    private final ConferencePaperService conferencePaperService;
+
+    /** Constructor.
+     *
+     * @param dataset the dataset from which the journals, conferences and persons are resolved by the importers.
+     */
+    public PublicationIoFixtures(SyntheticPublicationDataset dataset) {
+        this.dataset = dataset;
+
+        final var journals = new HashMap<String, Set<Journal>>();
+        for (final var journal : dataset.getJournals()) {
+            journals.put(journal.getJournalName(), Collections.singleton(journal));
+        }
+        this.journalService = stub(JournalService.class);
+        when(this.journalService.getJournalsByName(any())).thenAnswer(
+                it -> journals.getOrDefault(it.getArgument(0), Collections.emptySet()));
+
+        final var conferences = new HashMap<String, Set<Conference>>();
+        for (final var conference : dataset.getConferences()) {
+            conferences.put(conference.getName(), Collections.singleton(conference));
+            conferences.put(conference.getAcronym(), Collections.singleton(conference));
+        }
+        this.conferenceService = stub(ConferenceService.class);
+        when(this.conferenceService.getConferencesByName(any())).thenAnswer(
+                it -> conferences.getOrDefault(it.getArgument(0), Collections.emptySet()));
+
+        // The name parsing and the similarity search of the persons are performed by the database-backed
+        // service; they are out of the scope of the format benchmarks.
+        final var persons = dataset.getPersons();
+        this.personService = stub(PersonService.class);
+        when(this.personService.extractPersonsFrom(any(), anyBoolean(), anyBoolean(), anyBoolean())).thenAnswer(it -> {
+            final String text = it.getArgument(0);
+            final var author = persons.get(Math.floorMod(text == null ? 0 : text.hashCode(), persons.size()));
+            final var list = new ArrayList<Person>(1);
+            list.add(author);
+            return list;
+        });
+
+        this.journalPaperService = stub(JournalPaperService.class);
+        when(this.journalPaperService.createJournalPaper(any(), any(), any(), any(), any(), any(), anyBoolean())).thenAnswer(it -> {
+            final var paper = new JournalPaper(it.getArgument(0), it.getArgument(1), it.getArgument(2),
+                    it.getArgument(3), it.getArgument(4));
+            paper.setJournal(it.getArgument(5));
+            return paper;
+        });
+
+        this.conferencePaperService = stub(ConferencePaperService.class);
+        when(this.conferencePaperService.createConferencePaper(any(), any(), anyInt(), any(), any(), any(), any(), any(), any(),
+                any(), anyBoolean())).thenAnswer(it -> {
+                    final int occurrence = it.getArgument(2);
+                    final var paper = new ConferencePaper(it.getArgument(0), occurrence, it.getArgument(3),
+                            it.getArgument(4), it.getArgument(5), it.getArgument(6), it.getArgument(8),
+                            it.getArgument(9), it.getArgument(7));
+                    paper.setConference(it.getArgument(1));
+                    return paper;
+                });
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    /** Replies the dataset from which the entities are resolved.
+     *
+     * @return the dataset.
+     */
+    public SyntheticPublicationDataset getDataset() {
+        return this.dataset;
+    }
+
+    /** Create the BibTeX exporter and importer.
+     *
+     * @return the BibTeX tool.
+     */
+    public BibTeX newBibTeX() {
+        return new JBibtexBibTeX(
+                this.messages,
+                new DefaultPrePublicationFactory(new DefaultDoiTools()),
+                this.journalService,
+                this.conferenceService,
+                this.personService,
+                stub(BookService.class),
+                stub(BookChapterService.class),
+                this.conferencePaperService,
+                this.journalPaperService,
+                stub(MiscDocumentService.class),
+                stub(ReportService.class),
+                stub(ThesisService.class));
+    }
+
+    /** Create the RIS exporter and importer.
+     *
+     * @return the RIS tool.
+     */
+    public RIS newRIS() {
+        return new KrisRIS(
+                this.messages,
+                new DefaultPrePublicationFactory(new DefaultDoiTools()),
+                this.journalService,
+                this.conferenceService,
+                this.personService,
+                stub(BookService.class),
+                stub(BookChapterService.class),
+                this.conferencePaperService,
+                this.journalPaperService,
+                stub(MiscDocumentService.class),
+                stub(ReportService.class),
+                stub(ThesisService.class),
+                stub(KeyNoteService.class),
+                stub(JournalEditionService.class),
+                new DefaultDoiTools());
+    }
+
+    /** Create the HTML exporter.
+     *
+     * @return the HTML exporter.
+     */
+    public HtmlDocumentExporter newHtmlExporter() {
+        return new CiadHtmlDocumentExporter(new ConfigurationConstants(), this.messages, new DefaultDoiTools(), new DefaultHalTools());
+    }
+
+    /** Create the Open Document Text exporter.
+     *
+     * @return the ODT exporter.
+     */
+    public OpenDocumentTextPublicationExporter newOdtExporter() {
+        return new DefaultOdfToolkitOpenDocumentTextExporter(this.messages, new OdfTextDocumentHelper());
+    }
+
+    /** Create the JSON exporter.
+     *
+     * @return the JSON exporter.
+     */
+    public JsonExporter newJsonExporter() {
+        return new JacksonJsonExporter(this.messages);
+    }
+
+}
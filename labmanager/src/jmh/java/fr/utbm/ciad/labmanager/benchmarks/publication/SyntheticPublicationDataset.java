@@ -0,0 +1,262 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.benchmarks.publication;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import fr.utbm.ciad.labmanager.data.conference.Conference;
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.publication.Authorship;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.PublicationLanguage;
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+import fr.utbm.ciad.labmanager.data.publication.type.ConferencePaper;
+import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
+
+/** Generator of synthetic publications for the benchmarks.
+ * The generated dataset depends only on its size and on the seed: two datasets that are created
+ * with the same arguments contain the same publications, authors, journals and conferences.
+ * The entities are not attached to any JPA session.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public final class SyntheticPublicationDataset {
+
+    /** Default seed of the random generator.
+     */
+    public static final long DEFAULT_SEED = 20190101L;
+
+    private static final String[] FIRST_NAMES = {
+        "Stephane", "Abderrafiaa", "Nicolas", "Yassine", "Olivier", "Sebastien", "Marie", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+        "Franck", "Jocelyn", "Ahmed", "Zhi", "Claire", "Lucas", "Jeremie", "Hélène", "Jürgen", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Galland", "Koukam", "Gaud", "Ruichek", "Lamotte", "Lauri", "Dupont", "Gechter", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+        "Buisson", "Hilaire", "Yan", "Cruz", "Martin", "Müller", "D'Alembert", "de la Fontaine", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+    };
+
+    private static final String[] TITLE_WORDS = {
+        "multi-agent", "simulation", "traffic", "autonomous", "vehicle", "learning", "holonic", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+        "energy", "smart", "grid", "model", "framework", "perception", "road", "hydrogen", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+        "fuel-cell", "optimization", "distributed", "approach", "for", "the", "of", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+    };
+
+    private static final int MAX_AUTHORS = 6;
+
+    private static final int FIRST_YEAR = 2000;
+
+    private static final int YEAR_COUNT = 25;
+
+    private final List<Person> persons;
+
+    private final List<Journal> journals;
+
+    private final List<Conference> conferences;
+
+    private final List<Publication> publications;
+
+    private SyntheticPublicationDataset(List<Person> persons, List<Journal> journals, List<Conference> conferences,
+            List<Publication> publications) {
+        this.persons = Collections.unmodifiableList(persons);
+        this.journals = Collections.unmodifiableList(journals);
+        this.conferences = Collections.unmodifiableList(conferences);
+        this.publications = Collections.unmodifiableList(publications);
+    }
+
+    /** Generate a dataset with the default seed.
+     *
+     * @param size the number of publications to generate.
+     * @return the dataset.
+     */
+    public static SyntheticPublicationDataset generate(int size) {
+        return generate(size, DEFAULT_SEED);
+    }
+
+    /** Generate a dataset. The numbers of persons, journals and conferences grow with the
+     * number of publications in order to keep a realistic ratio between them.
+     *
+     * @param size the number of publications to generate.
+     * @param seed the seed of the random generator.
+     * @return the dataset.
+     */
+    public static SyntheticPublicationDataset generate(int size, long seed) {
+        final var random = new Random(seed);
+        final var persons = createPersons(Math.max(10, size / 4), random);
+        final var journals = createJournals(Math.max(5, size / 20));
+        final var conferences = createConferences(Math.max(5, size / 20));
+        final var publications = new ArrayList<Publication>(size);
+        for (var i = 0; i < size; ++i) {
+            final Publication publication;
+            if (random.nextBoolean()) {
+                publication = createJournalPaper(i, journals.get(random.nextInt(journals.size())), random);
+            } else {
+                publication = createConferencePaper(i, conferences.get(random.nextInt(conferences.size())), random);
+            }
+            final var authorCount = 1 + random.nextInt(MAX_AUTHORS);
+            final var authors = new ArrayList<>(persons);
+            Collections.shuffle(authors, random);
+            for (var rank = 0; rank < authorCount; ++rank) {
+                final var authorship = new Authorship(publication, authors.get(rank), rank);
+                authorship.setId(i * MAX_AUTHORS + rank + 1);
+                publication.addAuthorship(authorship);
+            }
+            publications.add(publication);
+        }
+        return new SyntheticPublicationDataset(persons, journals, conferences, publications);
+    }
+
+    private static List<Person> createPersons(int count, Random random) {
+        final var persons = new ArrayList<Person>(count);
+        for (var i = 0; i < count; ++i) {
+            final var person = new Person();
+            person.setId(i + 1);
+            person.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            person.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)] + (i / LAST_NAMES.length));
+            persons.add(person);
+        }
+        return persons;
+    }
+
+    private static List<Journal> createJournals(int count) {
+        final var journals = new ArrayList<Journal>(count);
+        for (var i = 0; i < count; ++i) {
+            final var journal = new Journal();
+            journal.setId(i + 1);
+            journal.setJournalName("International Journal of Synthetic Research " + i); //$NON-NLS-1$
+            journal.setPublisher("Publisher " + (i % 7)); //$NON-NLS-1$
+            journal.setISSN(String.format("%04d-%04d", Integer.valueOf(1000 + i), Integer.valueOf(i))); //$NON-NLS-1$
+            journals.add(journal);
+        }
+        return journals;
+    }
+
+    private static List<Conference> createConferences(int count) {
+        final var conferences = new ArrayList<Conference>(count);
+        for (var i = 0; i < count; ++i) {
+            final var conference = new Conference();
+            conference.setId(i + 1);
+            conference.setAcronym("SYNTH" + i); //$NON-NLS-1$
+            conference.setName("International Conference on Synthetic Research " + i); //$NON-NLS-1$
+            conference.setPublisher("Publisher " + (i % 7)); //$NON-NLS-1$
+            conferences.add(conference);
+        }
+        return conferences;
+    }
+
+    private static String createTitle(Random random) {
+        final var length = 5 + random.nextInt(8);
+        final var title = new StringBuilder();
+        for (var i = 0; i < length; ++i) {
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+        }
+        title.setCharAt(0, Character.toUpperCase(title.charAt(0)));
+        return title.toString();
+    }
+
+    private static void fillPublication(Publication publication, int index, PublicationType type, Random random) {
+        publication.setId(index + 1);
+        publication.setType(type);
+        publication.setTitle(createTitle(random));
+        publication.setAbstractText(createTitle(random) + ". " + createTitle(random) + "."); //$NON-NLS-1$ //$NON-NLS-2$
+        publication.setKeywords(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + ", " //$NON-NLS-1$
+                + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+        final var year = FIRST_YEAR + random.nextInt(YEAR_COUNT);
+        publication.setPublicationYear(year);
+        publication.setPublicationDate(LocalDate.of(year, 1 + random.nextInt(12), 1 + random.nextInt(28)));
+        publication.setMajorLanguage(random.nextInt(10) == 0 ? PublicationLanguage.FRENCH : PublicationLanguage.ENGLISH);
+        if (random.nextBoolean()) {
+            publication.setDOI("10.1000/synthetic." + index); //$NON-NLS-1$
+        }
+        if (random.nextInt(3) == 0) {
+            publication.setHalId("hal-" + String.format("%08d", Integer.valueOf(index))); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private static String createPages(Random random) {
+        final var first = 1 + random.nextInt(500);
+        return first + "-" + (first + 5 + random.nextInt(20)); //$NON-NLS-1$
+    }
+
+    private static JournalPaper createJournalPaper(int index, Journal journal, Random random) {
+        final var paper = new JournalPaper();
+        fillPublication(paper, index, PublicationType.INTERNATIONAL_JOURNAL_PAPER, random);
+        paper.setVolume(Integer.toString(1 + random.nextInt(40)));
+        paper.setNumber(Integer.toString(1 + random.nextInt(12)));
+        paper.setPages(createPages(random));
+        paper.setJournal(journal);
+        return paper;
+    }
+
+    private static ConferencePaper createConferencePaper(int index, Conference conference, Random random) {
+        final var paper = new ConferencePaper();
+        fillPublication(paper, index, PublicationType.INTERNATIONAL_CONFERENCE_PAPER, random);
+        paper.setConferenceOccurrenceNumber(1 + random.nextInt(30));
+        paper.setPages(createPages(random));
+        paper.setAddress("Belfort, France"); //$NON-NLS-1$
+        paper.setConference(conference);
+        return paper;
+    }
+
+    /** Replies the generated publications.
+     *
+     * @return the unmodifiable list of publications.
+     */
+    public List<Publication> getPublications() {
+        return this.publications;
+    }
+
+    /** Replies the authors of the generated publications.
+     *
+     * @return the unmodifiable list of persons.
+     */
+    public List<Person> getPersons() {
+        return this.persons;
+    }
+
+    /** Replies the journals in which the generated papers are published.
+     *
+     * @return the unmodifiable list of journals.
+     */
+    public List<Journal> getJournals() {
+        return this.journals;
+    }
+
+    /** Replies the conferences in which the generated papers are published.
+     *
+     * @return the unmodifiable list of conferences.
+     */
+    public List<Conference> getConferences() {
+        return this.conferences;
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.events;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.Registration;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Broadcaster of the changes of the entities that are committed into the database.
+ * The changes are received from Hibernate post-commit listeners, and they are dispatched
+ * to the registered listeners, e.g. the list views that are open in the browsers of the users,
+ * by a background thread in order to avoid delaying the committing thread.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see EntityChangeHibernateListener
+ */
+@Component
+public class EntityChangeBroadcaster implements Serializable {
+
+    private static final long serialVersionUID = 5017938601752314712L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityChangeBroadcaster.class);
+
+    private final transient List<ListenerEntry> listeners = new CopyOnWriteArrayList<>();
+
+    private final boolean enabled;
+
+    private transient ExecutorService executor;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param sessionFactory the Hibernate session factory.
+     * @param enabled indicates if the changes are broadcast to the listeners.
+     */
+    public EntityChangeBroadcaster(
+            @Autowired SessionFactory sessionFactory,
+            @Value("${labmanager.live-updates.enable:true}") boolean enabled) {
+        this.enabled = enabled;
+        if (enabled && sessionFactory != null) {
+            registerHibernateListeners(sessionFactory);
+        }
+    }
+
+    private void registerHibernateListeners(SessionFactory sessionFactory) {
+        try {
+            final var registry = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().getService(EventListenerRegistry.class);
+            final var listener = new EntityChangeHibernateListener(this);
+            registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+            registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+            registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        } catch (Throwable ex) {
+            LOGGER.warn("Unable to register the Hibernate listeners for broadcasting the entity changes", ex); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Replies if the changes are broadcast to the listeners.
+     *
+     * @return {@code true} if the changes are broadcast.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Register a listener on the changes of the entities of the given type and its subtypes.
+     * The listener is invoked from a background thread; it is in charge of synchronizing itself with the user interface,
+     * e.g. with {@link UI#access(com.vaadin.flow.server.Command)}.
+     *
+     * @param entityType the type of the entities to listen to.
+     * @param listener the listener to register.
+     * @return the registration that must be used for unregistering the listener.
+     */
+    public Registration register(Class<?> entityType, Consumer<EntityChangeEvent> listener) {
+        final var entry = new ListenerEntry(entityType, listener);
+        this.listeners.add(entry);
+        return () -> this.listeners.remove(entry);
+    }
+
+    /**
+     * Replies if a listener is registered for the given type of entities.
+     *
+     * @param entityType the type of the entities.
+     * @return {@code true} if a listener may receive the changes of the entities of the given type.
+     */
+    public boolean hasListenerFor(Class<?> entityType) {
+        for (final var entry : this.listeners) {
+            if (entry.type().isAssignableFrom(entityType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Publish the change of an entity. The origin of the change is the user interface of the current thread, if any.
+     *
+     * @param entityType the type of the changed entity.
+     * @param id the identifier of the changed entity.
+     * @param kind the kind of change.
+     * @param entity the committed instance of the entity.
+     */
+    public void publish(Class<?> entityType, long id, EntityChangeKind kind, Object entity) {
+        if (this.enabled && hasListenerFor(entityType)) {
+            publish(new EntityChangeEvent(entityType, id, kind, entity, UI.getCurrent()));
+        }
+    }
+
+    /**
+     * Publish the change of an entity.
+     *
+     * @param event the description of the change.
+     */
+    public void publish(EntityChangeEvent event) {
+        if (this.enabled) {
+            getExecutor().execute(() -> dispatch(event));
+        }
+    }
+
+    /**
+     * Dispatch the given event to the registered listeners in the current thread.
+     *
+     * @param event the description of the change.
+     */
+    void dispatch(EntityChangeEvent event) {
+        for (final var entry : this.listeners) {
+            if (event.isFor(entry.type())) {
+                try {
+                    entry.listener().accept(event);
+                } catch (Throwable ex) {
+                    LOGGER.warn("Error when notifying an entity change: " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$
+                }
+            }
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                final var thread = new Thread(runnable, "entity-change-broadcaster"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.executor;
+    }
+
+    /**
+     * Stop the background thread. The changes that are not yet dispatched are discarded.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Registered listener.
+     *
+     * @param type the type of the entities to listen to.
+     * @param listener the listener.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private record ListenerEntry(Class<?> type, Consumer<EntityChangeEvent> listener) {
+        //
+    }
+
+}
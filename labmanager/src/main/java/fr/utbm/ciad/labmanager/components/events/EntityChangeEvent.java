@@ -0,0 +1,49 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.events;
+
+/**
+ * Description of a change of an entity that was committed into the database.
+ *
+ * @param entityType the type of the changed entity.
+ * @param id the identifier of the changed entity.
+ * @param kind the kind of change.
+ * @param entity the instance of the entity as it was committed. It must be considered as read-only by the receivers of the event.
+ * @param origin an opaque object that identifies the user interface from which the change was made, or {@code null}
+ *     if the change was made outside a user interface.
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public record EntityChangeEvent(Class<?> entityType, long id, EntityChangeKind kind, Object entity, Object origin) {
+
+    /**
+     * Replies if the changed entity is of the given type or one of its subtypes.
+     *
+     * @param type the type to test.
+     * @return {@code true} if the changed entity is of the given type.
+     */
+    public boolean isFor(Class<?> type) {
+        return type != null && this.entityType != null && type.isAssignableFrom(this.entityType);
+    }
+
+}
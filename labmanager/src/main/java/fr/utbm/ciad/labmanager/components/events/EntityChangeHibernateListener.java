@@ -0,0 +1,104 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.events;
+
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate listener that forwards to the {@link EntityChangeBroadcaster} the changes of the
+ * {@link IdentifiableEntity identifiable entities} once they are committed into the database.
+ * The changes of a transaction that is rolled back are not forwarded.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public class EntityChangeHibernateListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final long serialVersionUID = -4210876263094531375L;
+
+    private final EntityChangeBroadcaster broadcaster;
+
+    /**
+     * Constructor.
+     *
+     * @param broadcaster the broadcaster of the changes.
+     */
+    public EntityChangeHibernateListener(EntityChangeBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return IdentifiableEntity.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        fire(event.getPersister(), event.getId(), event.getEntity(), EntityChangeKind.CREATED);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // The change was not committed, nothing to notify
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        fire(event.getPersister(), event.getId(), event.getEntity(), EntityChangeKind.UPDATED);
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // The change was not committed, nothing to notify
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        fire(event.getPersister(), event.getId(), event.getEntity(), EntityChangeKind.DELETED);
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // The change was not committed, nothing to notify
+    }
+
+    private void fire(EntityPersister persister, Object id, Object entity, EntityChangeKind kind) {
+        final long entityId;
+        if (entity instanceof IdentifiableEntity identifiable) {
+            entityId = identifiable.getId();
+        } else if (id instanceof Number number) {
+            entityId = number.longValue();
+        } else {
+            return;
+        }
+        this.broadcaster.publish(persister.getMappedClass(), entityId, kind, entity);
+    }
+
+}
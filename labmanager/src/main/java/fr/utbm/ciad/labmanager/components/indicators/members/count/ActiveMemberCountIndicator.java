@@ -22,13 +22,15 @@ package fr.utbm.ciad.labmanager.components.indicators.members.count;
 import fr.utbm.ciad.labmanager.components.indicators.AbstractInstantIndicator;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRoster;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRosterService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
 /**
  * Count the current number of active members in a specific organization independently of the member status.
@@ -44,16 +46,21 @@ public class ActiveMemberCountIndicator extends AbstractInstantIndicator {
 
     private static final long serialVersionUID = 3309035584800030140L;
 
+    private final OrganizationRosterService rosterService;
+
     /**
      * Constructor.
      *
-     * @param messages  the provider of messages.
-     * @param constants the accessor to the constants.
+     * @param messages      the provider of messages.
+     * @param constants     the accessor to the constants.
+     * @param rosterService the service that provides the rosters of the organizations.
      */
     public ActiveMemberCountIndicator(
             @Autowired MessageSourceAccessor messages,
-            @Autowired ConfigurationConstants constants) {
+            @Autowired ConfigurationConstants constants,
+            @Autowired OrganizationRosterService rosterService) {
         super(messages, constants);
+        this.rosterService = rosterService;
     }
 
     @Override
@@ -68,10 +75,10 @@ public class ActiveMemberCountIndicator extends AbstractInstantIndicator {
 
     @Override
     protected Number computeValue(ResearchOrganization organization) {
-        final var members = organization.getDirectOrganizationMemberships().parallelStream().filter(
-                it -> it.isActive() && !it.getMemberStatus().isExternalPosition()).collect(Collectors.toList());
+        final var members = this.rosterService.getRoster(organization).getMembersAt(LocalDate.now(),
+                it -> !it.status().isExternalPosition());
         final var nb = members.size();
-        setComputationDetails(members, it -> it.getPerson().getFullNameWithLastNameFirst());
+        setComputationDetails(members, OrganizationRoster.Member::personName);
         return Long.valueOf(nb);
     }
 
@@ -25,13 +25,15 @@ import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
 import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRoster;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRosterService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
 /**
  * Count the current number of permanent researchers in a specific organization.
@@ -49,16 +51,21 @@ public class PermanentResearcherCountIndicator extends AbstractInstantIndicator
 
     private static final long serialVersionUID = -5012100767009218661L;
 
+    private final OrganizationRosterService rosterService;
+
     /**
      * Constructor.
      *
-     * @param messages  the provider of messages.
-     * @param constants the accessor to the constants.
+     * @param messages      the provider of messages.
+     * @param constants     the accessor to the constants.
+     * @param rosterService the service that provides the rosters of the organizations.
      */
     public PermanentResearcherCountIndicator(
             @Autowired MessageSourceAccessor messages,
-            @Autowired ConfigurationConstants constants) {
+            @Autowired ConfigurationConstants constants,
+            @Autowired OrganizationRosterService rosterService) {
         super(messages, constants);
+        this.rosterService = rosterService;
     }
 
     /**
@@ -68,10 +75,8 @@ public class PermanentResearcherCountIndicator extends AbstractInstantIndicator
      * @return {@code true} if the membership is for a permanent researcher.
      */
     public static boolean isPermanentResearcher(Membership membership) {
-        if (membership != null && membership.isActive() && membership.isPermanentPosition()) {
-            final var status = membership.getMemberStatus();
-            return !status.isExternalPosition() && status != MemberStatus.PHD_STUDENT
-                    && status.isResearcher() && status.isPermanentPositionAllowed();
+        if (membership != null && membership.isActive()) {
+            return PermanentResearcherFteIndicator.isPermanentResearcher(membership.getMemberStatus(), membership.isPermanentPosition());
         }
         return false;
     }
@@ -88,12 +93,10 @@ public class PermanentResearcherCountIndicator extends AbstractInstantIndicator
 
     @Override
     protected Number computeValue(ResearchOrganization organization) {
-        final var researchers = organization.getDirectOrganizationMemberships()
-                .parallelStream()
-                .filter(PermanentResearcherCountIndicator::isPermanentResearcher)
-                .collect(Collectors.toList());
+        final var researchers = this.rosterService.getRoster(organization).getMembersAt(LocalDate.now(),
+                it -> PermanentResearcherFteIndicator.isPermanentResearcher(it.status(), it.permanentPosition()));
         final var nb = researchers.size();
-        setComputationDetails(researchers, it -> it.getPerson().getFullNameWithLastNameFirst());
+        setComputationDetails(researchers, OrganizationRoster.Member::personName);
         return Long.valueOf(nb);
     }
 
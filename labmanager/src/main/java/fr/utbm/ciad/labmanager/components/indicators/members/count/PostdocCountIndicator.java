@@ -23,13 +23,15 @@ import fr.utbm.ciad.labmanager.components.indicators.AbstractInstantIndicator;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRoster;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRosterService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
 /**
  * Count the current number of Postdocs in a specific organization.
@@ -45,16 +47,21 @@ public class PostdocCountIndicator extends AbstractInstantIndicator {
 
     private static final long serialVersionUID = -8488463133479874269L;
 
+    private final OrganizationRosterService rosterService;
+
     /**
      * Constructor.
      *
-     * @param messages  the provider of messages.
-     * @param constants the accessor to the constants.
+     * @param messages      the provider of messages.
+     * @param constants     the accessor to the constants.
+     * @param rosterService the service that provides the rosters of the organizations.
      */
     public PostdocCountIndicator(
             @Autowired MessageSourceAccessor messages,
-            @Autowired ConfigurationConstants constants) {
+            @Autowired ConfigurationConstants constants,
+            @Autowired OrganizationRosterService rosterService) {
         super(messages, constants);
+        this.rosterService = rosterService;
     }
 
     @Override
@@ -69,11 +76,10 @@ public class PostdocCountIndicator extends AbstractInstantIndicator {
 
     @Override
     protected Number computeValue(ResearchOrganization organization) {
-        final var postdocs = organization.getDirectOrganizationMemberships().parallelStream().filter(
-                        it -> it.isActive() && it.getMemberStatus() == MemberStatus.POSTDOC)
-                .collect(Collectors.toList());
+        final var postdocs = this.rosterService.getRoster(organization).getMembersAt(LocalDate.now(),
+                it -> it.status() == MemberStatus.POSTDOC);
         final var nb = postdocs.size();
-        setComputationDetails(postdocs, it -> it.getPerson().getFullNameWithLastNameFirst());
+        setComputationDetails(postdocs, OrganizationRoster.Member::personName);
         return Long.valueOf(nb);
     }
 
@@ -23,13 +23,15 @@ import fr.utbm.ciad.labmanager.components.indicators.AbstractInstantIndicator;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRoster;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRosterService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
 /**
  * Count the current number of researchers in a specific organization.
@@ -47,16 +49,21 @@ public class ResearcherCountIndicator extends AbstractInstantIndicator {
 
     private static final long serialVersionUID = -328607935839151757L;
 
+    private final OrganizationRosterService rosterService;
+
     /**
      * Constructor.
      *
-     * @param messages  the provider of messages.
-     * @param constants the accessor to the constants.
+     * @param messages      the provider of messages.
+     * @param constants     the accessor to the constants.
+     * @param rosterService the service that provides the rosters of the organizations.
      */
     public ResearcherCountIndicator(
             @Autowired MessageSourceAccessor messages,
-            @Autowired ConfigurationConstants constants) {
+            @Autowired ConfigurationConstants constants,
+            @Autowired OrganizationRosterService rosterService) {
         super(messages, constants);
+        this.rosterService = rosterService;
     }
 
     @Override
@@ -71,17 +78,13 @@ public class ResearcherCountIndicator extends AbstractInstantIndicator {
 
     @Override
     protected Number computeValue(ResearchOrganization organization) {
-        final var researchers = organization.getDirectOrganizationMemberships().parallelStream().filter(
-                        it -> {
-                            if (it.isActive()) {
-                                final var status = it.getMemberStatus();
-                                return !status.isExternalPosition() && status != MemberStatus.PHD_STUDENT && status.isResearcher();
-                            }
-                            return false;
-                        })
-                .collect(Collectors.toList());
+        final var researchers = this.rosterService.getRoster(organization).getMembersAt(LocalDate.now(),
+                it -> {
+                    final var status = it.status();
+                    return !status.isExternalPosition() && status != MemberStatus.PHD_STUDENT && status.isResearcher();
+                });
         final var nb = researchers.size();
-        setComputationDetails(researchers, it -> it.getPerson().getFullNameWithLastNameFirst());
+        setComputationDetails(researchers, OrganizationRoster.Member::personName);
         return Long.valueOf(nb);
     }
 
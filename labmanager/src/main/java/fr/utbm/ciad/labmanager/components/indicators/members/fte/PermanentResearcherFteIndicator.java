@@ -25,6 +25,7 @@ import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
 import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRosterService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -33,7 +34,6 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Count the number of research full-time equivalents per year.
@@ -50,16 +50,21 @@ public class PermanentResearcherFteIndicator extends AbstractAnnualIndicator {
 
     private static final long serialVersionUID = 8512865687681055729L;
 
+    private final OrganizationRosterService rosterService;
+
     /**
      * Constructor.
      *
-     * @param messages  the provider of messages.
-     * @param constants the accessor to the constants.
+     * @param messages      the provider of messages.
+     * @param constants     the accessor to the constants.
+     * @param rosterService the service that provides the rosters of the organizations.
      */
     public PermanentResearcherFteIndicator(
             @Autowired MessageSourceAccessor messages,
-            @Autowired ConfigurationConstants constants) {
+            @Autowired ConfigurationConstants constants,
+            @Autowired OrganizationRosterService rosterService) {
         super(messages, constants, AbstractAnnualIndicator::average);
+        this.rosterService = rosterService;
     }
 
     /**
@@ -71,26 +76,23 @@ public class PermanentResearcherFteIndicator extends AbstractAnnualIndicator {
      * @return {@code true} if the membership is for a permanent researcher.
      */
     public static boolean isPermanentResearcher(Membership membership, LocalDate startDate, LocalDate endDate) {
-        if (membership != null && membership.isActiveIn(startDate, endDate) && membership.isPermanentPosition()) {
-            final var status = membership.getMemberStatus();
-            return !status.isExternalPosition() && status != MemberStatus.PHD_STUDENT
-                    && status.isResearcher() && status.isPermanentPositionAllowed();
+        if (membership != null && membership.isActiveIn(startDate, endDate)) {
+            return isPermanentResearcher(membership.getMemberStatus(), membership.isPermanentPosition());
         }
         return false;
     }
 
-    private static void updateValues(Map<Integer, Number> values, Membership membership, int startYear, int endYear) {
-        final var fte = membership.getMemberStatus().getUsualResearchFullTimeEquivalent();
-        for (var year = startYear; year <= endYear; ++year) {
-            final var dayCount = membership.daysInYear(year);
-            float annualFte = dayCount / LocalDate.of(year, 1, 1).lengthOfYear();
-            annualFte *= fte;
-            values.merge(Integer.valueOf(year), Float.valueOf(annualFte),
-                    (k0, k1) -> {
-                        final var sum = k0.floatValue() + k1.floatValue();
-                        return Float.valueOf(sum);
-                    });
-        }
+    /**
+     * Replies if the given member status and position correspond to a permanent researcher.
+     *
+     * @param status            the status of the member.
+     * @param permanentPosition indicates if the position is permanent.
+     * @return {@code true} if the member is a permanent researcher.
+     * @since 4.0
+     */
+    public static boolean isPermanentResearcher(MemberStatus status, boolean permanentPosition) {
+        return permanentPosition && !status.isExternalPosition() && status != MemberStatus.PHD_STUDENT
+                && status.isResearcher() && status.isPermanentPositionAllowed();
     }
 
     @Override
@@ -105,16 +107,8 @@ public class PermanentResearcherFteIndicator extends AbstractAnnualIndicator {
 
     @Override
     public Map<Integer, Number> getValuesPerYear(ResearchOrganization organization, int startYear, int endYear) {
-        final var startDate = LocalDate.of(startYear, 1, 1);
-        final var endDate = LocalDate.of(endYear, 12, 31);
-        final var values = new ConcurrentHashMap<Integer, Number>();
-        organization.getDirectOrganizationMemberships()
-                .parallelStream()
-                .filter(it -> isPermanentResearcher(it, startDate, endDate))
-                .forEach(it -> {
-                    updateValues(values, it, startYear, endYear);
-                });
-        //
+        final var values = this.rosterService.getRoster(organization).getFullTimeEquivalentPerYear(startYear, endYear,
+                it -> isPermanentResearcher(it.status(), it.permanentPosition()));
         setComputationDetails(values);
         return values;
     }
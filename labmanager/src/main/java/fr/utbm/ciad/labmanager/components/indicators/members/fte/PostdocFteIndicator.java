@@ -24,6 +24,7 @@ import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
 import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRosterService;
 import fr.utbm.ciad.labmanager.utils.Unit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -32,7 +33,6 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Count the number of Postdocs per year.
@@ -48,16 +48,21 @@ public class PostdocFteIndicator extends AbstractAnnualIndicator {
 
     private static final long serialVersionUID = -642739848210413891L;
 
+    private final OrganizationRosterService rosterService;
+
     /**
      * Constructor.
      *
-     * @param messages  the provider of messages.
-     * @param constants the accessor to the constants.
+     * @param messages      the provider of messages.
+     * @param constants     the accessor to the constants.
+     * @param rosterService the service that provides the rosters of the organizations.
      */
     public PostdocFteIndicator(
             @Autowired MessageSourceAccessor messages,
-            @Autowired ConfigurationConstants constants) {
+            @Autowired ConfigurationConstants constants,
+            @Autowired OrganizationRosterService rosterService) {
         super(messages, constants, AbstractAnnualIndicator::average);
+        this.rosterService = rosterService;
     }
 
     /**
@@ -76,20 +81,6 @@ public class PostdocFteIndicator extends AbstractAnnualIndicator {
         return false;
     }
 
-    private static void updateValues(Map<Integer, Number> values, Membership membership, int startYear, int endYear) {
-        final var fte = membership.getMemberStatus().getUsualResearchFullTimeEquivalent();
-        for (int year = startYear; year <= endYear; ++year) {
-            final var dayCount = membership.daysInYear(year);
-            float annualFte = dayCount / LocalDate.of(year, 1, 1).lengthOfYear();
-            annualFte *= fte;
-            values.merge(Integer.valueOf(year), Float.valueOf(annualFte),
-                    (k0, k1) -> {
-                        final var sum = k0.floatValue() + k1.floatValue();
-                        return Float.valueOf(sum);
-                    });
-        }
-    }
-
     @Override
     public String getName(Locale locale) {
         return getMessage(locale, "postdocFteIndicator.name"); //$NON-NLS-1$
@@ -102,16 +93,8 @@ public class PostdocFteIndicator extends AbstractAnnualIndicator {
 
     @Override
     public Map<Integer, Number> getValuesPerYear(ResearchOrganization organization, int startYear, int endYear) {
-        final var startDate = LocalDate.of(startYear, 1, 1);
-        final var endDate = LocalDate.of(endYear, 12, 31);
-        final var values = new ConcurrentHashMap<Integer, Number>();
-        organization.getDirectOrganizationMemberships()
-                .parallelStream()
-                .filter(it -> isPostdoc(it, startDate, endDate))
-                .forEach(it -> {
-                    updateValues(values, it, startYear, endYear);
-                });
-        //
+        final var values = this.rosterService.getRoster(organization).getFullTimeEquivalentPerYear(startYear, endYear,
+                it -> !it.status().isExternalPosition() && it.status() == MemberStatus.POSTDOC);
         setComputationDetails(values);
         return values;
     }
@@ -0,0 +1,142 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import fr.utbm.ciad.labmanager.components.indicators.Indicator;
+import fr.utbm.ciad.labmanager.services.AbstractEntityService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Post processor of the Spring beans that adds Micrometer timers around the public methods of
+ * the {@link AbstractEntityService entity services}, and around the {@link Indicator#getNumericValue
+ * computation of the indicator values}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public class InstrumentedMethodsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    private static final long serialVersionUID = -5129471316587045322L;
+
+    private static final String INDICATOR_METHOD = "getNumericValue"; //$NON-NLS-1$
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry the provider of the registry of the Micrometer meters. The registry is
+     *                      obtained lazily for avoiding an early initialization of the meters.
+     */
+    public InstrumentedMethodsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+        this.advisor = new DefaultPointcutAdvisor(new InstrumentedMethodPointcut(), new TimingInterceptor(meterRegistry));
+    }
+
+    /**
+     * Pointcut that matches the public methods of the entity services and the indicator computations.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private static class InstrumentedMethodPointcut extends StaticMethodMatcherPointcut {
+
+        InstrumentedMethodPointcut() {
+            setClassFilter(new ClassFilter() {
+                @Override
+                public boolean matches(Class<?> type) {
+                    return AbstractEntityService.class.isAssignableFrom(type) || Indicator.class.isAssignableFrom(type);
+                }
+            });
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            final var modifiers = method.getModifiers();
+            if (!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers) || method.getDeclaringClass() == Object.class) {
+                return false;
+            }
+            if (Indicator.class.isAssignableFrom(targetClass)) {
+                return INDICATOR_METHOD.equals(method.getName());
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * Interceptor that measures the time spent in the invoked method.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private static class TimingInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        TimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            final var registry = this.meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return invocation.proceed();
+            }
+            final var target = invocation.getThis();
+            final var sample = Timer.start(registry);
+            try {
+                return invocation.proceed();
+            } finally {
+                final var timerName = target instanceof Indicator
+                        ? PersistenceInstrumentationService.INDICATOR_TIMER
+                        : PersistenceInstrumentationService.SERVICE_METHOD_TIMER;
+                final var type = target == null ? invocation.getMethod().getDeclaringClass() : AopUtils.getTargetClass(target);
+                sample.stop(Timer.builder(timerName)
+                        .tag("class", type.getSimpleName()) //$NON-NLS-1$
+                        .tag("method", invocation.getMethod().getName()) //$NON-NLS-1$
+                        .register(registry));
+            }
+        }
+
+    }
+
+}
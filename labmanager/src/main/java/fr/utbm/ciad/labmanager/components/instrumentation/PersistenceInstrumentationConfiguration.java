@@ -0,0 +1,77 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the instrumentation layer of the persistence services.
+ * The instrumentation is composed of:<ul>
+ * <li>Micrometer timers around the public methods of the entity services and the computations of the indicators;</li>
+ * <li>Hibernate statistics per request (SQL statements, entity loads, collection fetches, second-level cache accesses);</li>
+ * <li>the global statistics of Hibernate, only if they are enabled because their generation has a cost on each session;</li>
+ * <li>the detection of the N+1 query problems;</li>
+ * <li>the {@code persistence} actuator endpoint.</li>
+ * </ul>
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Configuration
+public class PersistenceInstrumentationConfiguration {
+
+    /**
+     * Create the post processor that adds the timers to the entity services and the indicators.
+     * This function is static because the post processors must be created before the other beans.
+     *
+     * @param meterRegistry the provider of the registry of the Micrometer meters.
+     * @return the post processor.
+     */
+    @Bean
+    public static InstrumentedMethodsPostProcessor instrumentedMethodsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new InstrumentedMethodsPostProcessor(meterRegistry);
+    }
+
+    /**
+     * Configure Hibernate for collecting the statistics of the persistence layer.
+     *
+     * @param hibernateStatistics indicates if the global statistics of Hibernate are generated.
+     * @return the customizer of the Hibernate properties.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer persistenceStatisticsCustomizer(
+            @Value("${labmanager.instrumentation.hibernate-statistics:false}") boolean hibernateStatistics) {
+        return properties -> {
+            properties.put(AvailableSettings.GENERATE_STATISTICS, Boolean.toString(hibernateStatistics));
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new PersistenceStatisticsCollector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, PersistenceStatisticsCollector.SessionListener.class.getName());
+        };
+    }
+
+}
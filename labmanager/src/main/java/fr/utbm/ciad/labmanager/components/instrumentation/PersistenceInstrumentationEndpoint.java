@@ -0,0 +1,92 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint that exposes the statistics of the persistence layer: the global Hibernate statistics,
+ * the timings of the instrumented methods, and the reported slow requests.
+ * The endpoint is available at {@code <management-base-path>/persistence}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+@Endpoint(id = "persistence")
+public class PersistenceInstrumentationEndpoint {
+
+    private final PersistenceInstrumentationService instrumentationService;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param instrumentationService the service that collects the statistics.
+     */
+    public PersistenceInstrumentationEndpoint(@Autowired PersistenceInstrumentationService instrumentationService) {
+        this.instrumentationService = instrumentationService;
+    }
+
+    /**
+     * Replies the statistics of the persistence layer.
+     *
+     * @return the statistics.
+     */
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        final var content = new LinkedHashMap<String, Object>();
+        content.put("hibernate", this.instrumentationService.getHibernateStatistics()); //$NON-NLS-1$
+        content.put("methods", this.instrumentationService.getMethodTimings()); //$NON-NLS-1$
+        content.put("requests", this.instrumentationService.getReportedRequests().stream().map(it -> { //$NON-NLS-1$
+            final var request = new LinkedHashMap<String, Object>();
+            request.put("name", it.getName()); //$NON-NLS-1$
+            request.put("duration", Long.valueOf(TimeUnit.NANOSECONDS.toMillis(it.getDuration()))); //$NON-NLS-1$
+            request.put("queries", Integer.valueOf(it.getQueryCount())); //$NON-NLS-1$
+            request.put("entityLoads", Integer.valueOf(it.getEntityLoadCount())); //$NON-NLS-1$
+            request.put("collectionFetches", Integer.valueOf(it.getCollectionFetchCount())); //$NON-NLS-1$
+            request.put("secondLevelCacheHits", Integer.valueOf(it.getSecondLevelCacheHitCount())); //$NON-NLS-1$
+            request.put("secondLevelCacheMisses", Integer.valueOf(it.getSecondLevelCacheMissCount())); //$NON-NLS-1$
+            request.put("nPlusOneSuspects", it.getNPlusOneSuspects()); //$NON-NLS-1$
+            return request;
+        }).toList());
+        return content;
+    }
+
+    /**
+     * Clear the reported slow requests.
+     */
+    @DeleteOperation
+    public void clear() {
+        this.instrumentationService.clearReportedRequests();
+    }
+
+}
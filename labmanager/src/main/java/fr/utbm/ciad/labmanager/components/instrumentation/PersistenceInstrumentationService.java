@@ -0,0 +1,272 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import com.google.common.base.Strings;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that collects the statistics of the persistence layer for each request, and that
+ * publishes them as Micrometer meters. The requests that are slower than a given threshold, or for
+ * which a N+1 query problem is suspected, are logged and kept in a bounded history for being displayed
+ * by the actuator endpoint and the administration view.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PersistenceStatisticsFilter
+ * @see PersistenceInstrumentationEndpoint
+ */
+@Component
+public class PersistenceInstrumentationService implements Serializable {
+
+    /**
+     * Name of the timer that measures the public methods of the entity services.
+     */
+    public static final String SERVICE_METHOD_TIMER = "labmanager.service.method"; //$NON-NLS-1$
+
+    /**
+     * Name of the timer that measures the computation of the indicator values.
+     */
+    public static final String INDICATOR_TIMER = "labmanager.indicator.value"; //$NON-NLS-1$
+
+    /**
+     * Name of the timer that measures the requests.
+     */
+    public static final String REQUEST_TIMER = "labmanager.request"; //$NON-NLS-1$
+
+    /**
+     * Name of the distribution of the number of SQL statements per request.
+     */
+    public static final String REQUEST_QUERIES_SUMMARY = "labmanager.request.queries"; //$NON-NLS-1$
+
+    /**
+     * Value of the tag of the request meters when the route of the request is unknown.
+     */
+    public static final String UNKNOWN_ROUTE = "unknown"; //$NON-NLS-1$
+
+    private static final long serialVersionUID = 2260530853017289446L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistenceInstrumentationService.class);
+
+    private final transient MeterRegistry meterRegistry;
+
+    private final transient SessionFactory sessionFactory;
+
+    private final long slowRequestThreshold;
+
+    private final int nPlusOneThreshold;
+
+    private final int historySize;
+
+    private final Deque<PersistenceRequestStatistics> history = new ArrayDeque<>();
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param meterRegistry        the registry of the Micrometer meters.
+     * @param sessionFactory       the Hibernate session factory.
+     * @param slowRequestThreshold the duration in milliseconds from which a request is considered as slow.
+     * @param nPlusOneThreshold    the number of executions of the same SQL statement during a request from which
+     *                             a N+1 query problem is suspected. If it is not positive, the detection is disabled.
+     * @param historySize          the maximum number of reported requests that are kept in memory.
+     */
+    public PersistenceInstrumentationService(
+            @Autowired MeterRegistry meterRegistry,
+            @Autowired SessionFactory sessionFactory,
+            @Value("${labmanager.instrumentation.slow-request-threshold:1000}") long slowRequestThreshold,
+            @Value("${labmanager.instrumentation.n-plus-one-threshold:20}") int nPlusOneThreshold,
+            @Value("${labmanager.instrumentation.history-size:100}") int historySize) {
+        this.meterRegistry = meterRegistry;
+        this.sessionFactory = sessionFactory;
+        this.slowRequestThreshold = TimeUnit.MILLISECONDS.toNanos(slowRequestThreshold);
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.historySize = Math.max(1, historySize);
+        registerHibernateListeners(sessionFactory);
+    }
+
+    private static void registerHibernateListeners(SessionFactory sessionFactory) {
+        try {
+            final var registry = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().getService(EventListenerRegistry.class);
+            final var collector = new PersistenceStatisticsCollector();
+            registry.appendListeners(EventType.POST_LOAD, collector);
+            registry.appendListeners(EventType.INIT_COLLECTION, collector);
+        } catch (Throwable ex) {
+            LOGGER.warn("Unable to register the Hibernate listeners for collecting statistics", ex); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Start the collection of the statistics for a request that is run by the current thread.
+     *
+     * @param name the name of the request.
+     * @return the statistics of the request.
+     */
+    public PersistenceRequestStatistics startRequest(String name) {
+        return PersistenceRequestStatistics.begin(name, this.nPlusOneThreshold);
+    }
+
+    /**
+     * Stop the collection of the statistics for the request that is run by the current thread, and
+     * report them.
+     *
+     * @return the statistics of the request, or {@code null} if no request was started.
+     */
+    public PersistenceRequestStatistics endRequest() {
+        final var statistics = PersistenceRequestStatistics.end();
+        if (statistics != null) {
+            // The tags are bounded: the name of the request may contain identifiers, but not its route
+            final var route = Strings.isNullOrEmpty(statistics.getRoute()) ? UNKNOWN_ROUTE : statistics.getRoute();
+            Timer.builder(REQUEST_TIMER)
+                    .tag("request", route) //$NON-NLS-1$
+                    .register(this.meterRegistry)
+                    .record(statistics.getDuration(), TimeUnit.NANOSECONDS);
+            DistributionSummary.builder(REQUEST_QUERIES_SUMMARY)
+                    .tag("request", route) //$NON-NLS-1$
+                    .register(this.meterRegistry)
+                    .record(statistics.getQueryCount());
+            final var slow = statistics.getDuration() >= this.slowRequestThreshold;
+            if (slow || !statistics.getNPlusOneSuspects().isEmpty()) {
+                if (slow) {
+                    LOGGER.warn("Slow request (" + TimeUnit.NANOSECONDS.toMillis(statistics.getDuration()) //$NON-NLS-1$
+                            + "ms): " + statistics); //$NON-NLS-1$
+                }
+                synchronized (this.history) {
+                    this.history.addFirst(statistics);
+                    while (this.history.size() > this.historySize) {
+                        this.history.removeLast();
+                    }
+                }
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Replies the reported requests, i.e., the slow requests and those with a suspected N+1 query problem.
+     *
+     * @return the reported requests, from the most recent to the oldest.
+     */
+    public List<PersistenceRequestStatistics> getReportedRequests() {
+        synchronized (this.history) {
+            return new ArrayList<>(this.history);
+        }
+    }
+
+    /**
+     * Clear the history of the reported requests.
+     */
+    public void clearReportedRequests() {
+        synchronized (this.history) {
+            this.history.clear();
+        }
+    }
+
+    /**
+     * Replies the global statistics of Hibernate since the start of the application.
+     * The statistics are available only if their generation is enabled in Hibernate.
+     *
+     * @return the statistics, indexed by name; or an empty map if the statistics are disabled.
+     * @see PersistenceInstrumentationConfiguration#persistenceStatisticsCustomizer(boolean)
+     */
+    public Map<String, Long> getHibernateStatistics() {
+        final var statistics = this.sessionFactory.getStatistics();
+        final var values = new LinkedHashMap<String, Long>();
+        if (statistics == null || !statistics.isStatisticsEnabled()) {
+            return values;
+        }
+        values.put("sessions", Long.valueOf(statistics.getSessionOpenCount())); //$NON-NLS-1$
+        values.put("statements", Long.valueOf(statistics.getPrepareStatementCount())); //$NON-NLS-1$
+        values.put("queries", Long.valueOf(statistics.getQueryExecutionCount())); //$NON-NLS-1$
+        values.put("entityLoads", Long.valueOf(statistics.getEntityLoadCount())); //$NON-NLS-1$
+        values.put("entityFetches", Long.valueOf(statistics.getEntityFetchCount())); //$NON-NLS-1$
+        values.put("collectionLoads", Long.valueOf(statistics.getCollectionLoadCount())); //$NON-NLS-1$
+        values.put("collectionFetches", Long.valueOf(statistics.getCollectionFetchCount())); //$NON-NLS-1$
+        values.put("secondLevelCacheHits", Long.valueOf(statistics.getSecondLevelCacheHitCount())); //$NON-NLS-1$
+        values.put("secondLevelCacheMisses", Long.valueOf(statistics.getSecondLevelCacheMissCount())); //$NON-NLS-1$
+        values.put("transactions", Long.valueOf(statistics.getTransactionCount())); //$NON-NLS-1$
+        return values;
+    }
+
+    /**
+     * Replies the timings of the instrumented methods, sorted by decreasing total time.
+     *
+     * @return the timings.
+     */
+    public List<MethodTiming> getMethodTimings() {
+        final var timings = new ArrayList<MethodTiming>();
+        for (final var timerName : List.of(SERVICE_METHOD_TIMER, INDICATOR_TIMER)) {
+            for (final var timer : this.meterRegistry.find(timerName).timers()) {
+                timings.add(new MethodTiming(
+                        timer.getId().getTag("class"), //$NON-NLS-1$
+                        timer.getId().getTag("method"), //$NON-NLS-1$
+                        timer.count(),
+                        timer.totalTime(TimeUnit.MILLISECONDS),
+                        timer.max(TimeUnit.MILLISECONDS)));
+            }
+        }
+        timings.sort(Comparator.comparingDouble(MethodTiming::totalTime).reversed());
+        return timings;
+    }
+
+    /**
+     * Timing of an instrumented method.
+     *
+     * @param type      the name of the type that declares the method.
+     * @param method    the name of the method.
+     * @param count     the number of invocations.
+     * @param totalTime the total time spent in the method, in milliseconds.
+     * @param maxTime   the maximum time of an invocation, in milliseconds.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record MethodTiming(String type, String method, long count, double totalTime, double maxTime) implements Serializable {
+        //
+    }
+
+}
@@ -0,0 +1,304 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistics on the persistence layer that are collected during a single request.
+ * The statistics of the request that is currently run by a thread are attached to this thread.
+ * They are collected by the Hibernate listeners of the instrumentation layer, and reported by
+ * the {@link PersistenceInstrumentationService} when the request is finished.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public final class PersistenceRequestStatistics implements Serializable {
+
+    private static final long serialVersionUID = -6405987462018741785L;
+
+    private static final ThreadLocal<PersistenceRequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final long startTime;
+
+    private final int nPlusOneThreshold;
+
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+
+    private final List<NPlusOneSuspect> nPlusOneSuspects = new ArrayList<>();
+
+    private String name;
+
+    private String route;
+
+    private long duration = -1;
+
+    private int queryCount;
+
+    private int entityLoadCount;
+
+    private int collectionFetchCount;
+
+    private int secondLevelCacheHitCount;
+
+    private int secondLevelCacheMissCount;
+
+    /**
+     * Constructor.
+     *
+     * @param name              the name of the request.
+     * @param nPlusOneThreshold the number of executions of the same SQL statement from which a N+1 problem is suspected.
+     */
+    PersistenceRequestStatistics(String name, int nPlusOneThreshold) {
+        this.name = name;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Start the collection of statistics for a request in the current thread.
+     *
+     * @param name              the name of the request.
+     * @param nPlusOneThreshold the number of executions of the same SQL statement from which a N+1 problem is suspected.
+     * @return the statistics of the request.
+     */
+    static PersistenceRequestStatistics begin(String name, int nPlusOneThreshold) {
+        final var statistics = new PersistenceRequestStatistics(name, nPlusOneThreshold);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stop the collection of statistics for the request in the current thread.
+     *
+     * @return the statistics of the request, or {@code null} if no request was started.
+     */
+    static PersistenceRequestStatistics end() {
+        final var statistics = CURRENT.get();
+        CURRENT.remove();
+        if (statistics != null) {
+            statistics.duration = System.nanoTime() - statistics.startTime;
+        }
+        return statistics;
+    }
+
+    /**
+     * Replies the statistics of the request that is run by the current thread.
+     *
+     * @return the statistics, or {@code null} if the current thread is not running an instrumented request.
+     */
+    public static PersistenceRequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Replies the name of the request.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Change the name of the request, e.g., when the Vaadin view that is targeted by the request is known.
+     *
+     * @param name the name.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Replies the route of the request, i.e., a bounded identifier of the request that does not depend on its parameters,
+     * e.g., the URI template of a REST endpoint or the type of a Vaadin view. The route is used for tagging the meters.
+     *
+     * @return the route, or {@code null} if it is unknown.
+     */
+    public String getRoute() {
+        return this.route;
+    }
+
+    /**
+     * Change the route of the request, i.e., a bounded identifier of the request that does not depend on its parameters,
+     * e.g., the URI template of a REST endpoint or the type of a Vaadin view.
+     *
+     * @param route the route.
+     */
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
+    /**
+     * Replies the duration of the request.
+     *
+     * @return the duration in nanoseconds, or {@code -1} if the request is not finished.
+     */
+    public long getDuration() {
+        return this.duration;
+    }
+
+    /**
+     * Replies the number of SQL statements that were executed.
+     *
+     * @return the number of statements.
+     */
+    public int getQueryCount() {
+        return this.queryCount;
+    }
+
+    /**
+     * Replies the number of entities that were loaded from the database.
+     *
+     * @return the number of entities.
+     */
+    public int getEntityLoadCount() {
+        return this.entityLoadCount;
+    }
+
+    /**
+     * Replies the number of collections that were lazily fetched.
+     *
+     * @return the number of collections.
+     */
+    public int getCollectionFetchCount() {
+        return this.collectionFetchCount;
+    }
+
+    /**
+     * Replies the number of hits in the second-level cache.
+     *
+     * @return the number of hits.
+     */
+    public int getSecondLevelCacheHitCount() {
+        return this.secondLevelCacheHitCount;
+    }
+
+    /**
+     * Replies the number of misses in the second-level cache.
+     *
+     * @return the number of misses.
+     */
+    public int getSecondLevelCacheMissCount() {
+        return this.secondLevelCacheMissCount;
+    }
+
+    /**
+     * Replies the statements that were suspected to be part of a N+1 problem.
+     *
+     * @return the suspects.
+     */
+    public List<NPlusOneSuspect> getNPlusOneSuspects() {
+        return Collections.unmodifiableList(this.nPlusOneSuspects);
+    }
+
+    /**
+     * Notify the execution of a SQL statement.
+     *
+     * @param sql the SQL statement.
+     * @return the suspected N+1 problem if the statement has reached the threshold for the first time, or {@code null}.
+     */
+    NPlusOneSuspect onStatement(String sql) {
+        ++this.queryCount;
+        final int count = this.statementCounts.merge(sql, Integer.valueOf(1), Integer::sum).intValue();
+        if (this.nPlusOneThreshold > 0 && count == this.nPlusOneThreshold) {
+            final var suspect = new NPlusOneSuspect(sql, findCallSite());
+            this.nPlusOneSuspects.add(suspect);
+            return suspect;
+        }
+        return null;
+    }
+
+    /**
+     * Notify the loading of an entity.
+     */
+    void onEntityLoad() {
+        ++this.entityLoadCount;
+    }
+
+    /**
+     * Notify the lazy fetching of a collection.
+     */
+    void onCollectionFetch() {
+        ++this.collectionFetchCount;
+    }
+
+    /**
+     * Notify an access to the second-level cache.
+     *
+     * @param hit indicates if the cached value was found.
+     */
+    void onSecondLevelCacheAccess(boolean hit) {
+        if (hit) {
+            ++this.secondLevelCacheHitCount;
+        } else {
+            ++this.secondLevelCacheMissCount;
+        }
+    }
+
+    /**
+     * Replies the first stack frame that is inside the application code and outside the instrumentation layer.
+     *
+     * @return the description of the call site.
+     */
+    private static String findCallSite() {
+        final var instrumentationPackage = PersistenceRequestStatistics.class.getPackageName();
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(it -> it.getClassName().startsWith("fr.utbm.ciad.labmanager.") //$NON-NLS-1$
+                        && !it.getClassName().startsWith(instrumentationPackage))
+                .findFirst()
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .map(StackTraceElement::toString)
+                .orElse("?")); //$NON-NLS-1$
+    }
+
+    @Override
+    public String toString() {
+        return this.name + " [queries=" + this.queryCount //$NON-NLS-1$
+                + ", entities=" + this.entityLoadCount //$NON-NLS-1$
+                + ", collections=" + this.collectionFetchCount //$NON-NLS-1$
+                + ", cacheHits=" + this.secondLevelCacheHitCount //$NON-NLS-1$
+                + ", cacheMisses=" + this.secondLevelCacheMissCount + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Description of a SQL statement that was executed too many times during a request.
+     *
+     * @param sql      the SQL statement.
+     * @param callSite the location in the application code from which the statement was executed.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record NPlusOneSuspect(String sql, String callSite) implements Serializable {
+        //
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionEventListener;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hibernate listener that collects the statistics of the persistence layer for the request
+ * that is run by the current thread.
+ * The collected values are stored in the {@link PersistenceRequestStatistics} of the current thread.
+ * Nothing is collected when the current thread is not running an instrumented request.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public class PersistenceStatisticsCollector implements StatementInspector, PostLoadEventListener, InitializeCollectionEventListener {
+
+    private static final long serialVersionUID = 7630142295467734318L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistenceStatisticsCollector.class);
+
+    @Override
+    public String inspect(String sql) {
+        final var statistics = PersistenceRequestStatistics.current();
+        if (statistics != null) {
+            final var suspect = statistics.onStatement(sql);
+            if (suspect != null) {
+                LOGGER.warn("Possible N+1 query problem in " + statistics.getName() //$NON-NLS-1$
+                        + " from " + suspect.callSite() + ": " + suspect.sql()); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+        // The statement is not changed
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        final var statistics = PersistenceRequestStatistics.current();
+        if (statistics != null) {
+            statistics.onEntityLoad();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) throws HibernateException {
+        final var statistics = PersistenceRequestStatistics.current();
+        if (statistics != null) {
+            statistics.onCollectionFetch();
+        }
+    }
+
+    /**
+     * Listener on the Hibernate sessions that collects the accesses to the second-level cache.
+     * This listener is instantiated by Hibernate for each session.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public static class SessionListener implements SessionEventListener {
+
+        private static final long serialVersionUID = -1817540298614329514L;
+
+        @Override
+        public void cacheGetEnd(boolean hit) {
+            final var statistics = PersistenceRequestStatistics.current();
+            if (statistics != null) {
+                statistics.onSecondLevelCacheAccess(hit);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import com.google.common.base.Strings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Servlet filter that collects the statistics of the persistence layer for each HTTP request,
+ * including the requests of the Vaadin views and of the REST API.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class PersistenceStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String VAADIN_REQUEST_TYPE_PARAMETER = "v-r"; //$NON-NLS-1$
+
+    private static final String VAADIN_STATIC_RESOURCES = "/VAADIN/"; //$NON-NLS-1$
+
+    private static final Set<String> VAADIN_REQUEST_TYPES = Set.of("init", "uidl", "heartbeat", "push", "upload"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+    private final PersistenceInstrumentationService instrumentationService;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param instrumentationService the service that reports the statistics.
+     */
+    public PersistenceStatisticsFilter(@Autowired PersistenceInstrumentationService instrumentationService) {
+        this.instrumentationService = instrumentationService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().contains(VAADIN_STATIC_RESOURCES);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final var statistics = this.instrumentationService.startRequest(buildRequestName(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (statistics.getRoute() == null) {
+                statistics.setRoute(buildRequestRoute(request));
+            }
+            this.instrumentationService.endRequest();
+        }
+    }
+
+    private static String buildRequestName(HttpServletRequest request) {
+        final var name = new StringBuilder();
+        name.append(request.getMethod()).append(' ').append(request.getRequestURI());
+        final var vaadinType = request.getParameter(VAADIN_REQUEST_TYPE_PARAMETER);
+        if (!Strings.isNullOrEmpty(vaadinType)) {
+            name.append(" [").append(vaadinType).append(']'); //$NON-NLS-1$
+        }
+        return name.toString();
+    }
+
+    /**
+     * Build the route of the request from its URI template, that is known when the request was handled by a Spring controller.
+     * The route of the requests to a Vaadin view is provided by {@link PersistenceStatisticsServiceInitListener}.
+     * The URIs and the parameters are not used as-is because they may contain identifiers.
+     *
+     * @param request the request.
+     * @return the route.
+     */
+    private static String buildRequestRoute(HttpServletRequest request) {
+        final var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return request.getMethod() + ' ' + pattern;
+        }
+        final var vaadinType = request.getParameter(VAADIN_REQUEST_TYPE_PARAMETER);
+        if (!Strings.isNullOrEmpty(vaadinType)) {
+            return "vaadin:" + (VAADIN_REQUEST_TYPES.contains(vaadinType) ? vaadinType : "other"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return PersistenceInstrumentationService.UNKNOWN_ROUTE;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener on the initialization of the Vaadin framework that names the instrumented requests
+ * with the path of the view that is targeted by a navigation. The route of the request, that is used
+ * for tagging the meters, is the type of the view because the path may contain identifiers.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class PersistenceStatisticsServiceInitListener implements VaadinServiceInitListener {
+
+    private static final long serialVersionUID = -1536214087963466452L;
+
+    @Override
+    public void serviceInit(ServiceInitEvent event) {
+        event.getSource().addUIInitListener(uiEvent -> uiEvent.getUI().addBeforeEnterListener(enterEvent -> {
+            final var statistics = PersistenceRequestStatistics.current();
+            if (statistics != null) {
+                statistics.setName("view:" + enterEvent.getLocation().getPath()); //$NON-NLS-1$
+                statistics.setRoute("view:" + enterEvent.getNavigationTarget().getSimpleName()); //$NON-NLS-1$
+            }
+        }));
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import fr.utbm.ciad.labmanager.components.instrumentation.SessionFootprintMeter.Footprint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint that exposes the memory footprints of the opened Vaadin sessions, with their
+ * breakdown per component.
+ * The endpoint is available at {@code <management-base-path>/sessions}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+@Endpoint(id = "sessions")
+public class SessionFootprintEndpoint {
+
+    private final SessionFootprintService footprintService;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param footprintService the service that measures the sessions.
+     */
+    public SessionFootprintEndpoint(@Autowired SessionFootprintService footprintService) {
+        this.footprintService = footprintService;
+    }
+
+    /**
+     * Replies the footprints of the sessions.
+     *
+     * @return the footprints.
+     */
+    @ReadOperation
+    public Map<String, Object> footprints() {
+        final var content = new LinkedHashMap<String, Object>();
+        final var sessions = this.footprintService.measureSessions();
+        content.put("count", Integer.valueOf(sessions.size())); //$NON-NLS-1$
+        content.put("totalSize", Long.valueOf(sessions.stream().mapToLong(it -> it.total().size()).sum())); //$NON-NLS-1$
+        content.put("sessions", sessions.stream().map(it -> { //$NON-NLS-1$
+            final var session = toMap(it.total());
+            session.put("id", it.sessionId()); //$NON-NLS-1$
+            session.put("user", it.user()); //$NON-NLS-1$
+            session.put("components", it.components().stream().map(cmp -> { //$NON-NLS-1$
+                final var component = toMap(cmp.footprint());
+                component.put("name", cmp.name()); //$NON-NLS-1$
+                return component;
+            }).toList());
+            return session;
+        }).toList());
+        return content;
+    }
+
+    private static Map<String, Object> toMap(Footprint footprint) {
+        final var content = new LinkedHashMap<String, Object>();
+        content.put("size", Long.valueOf(footprint.size())); //$NON-NLS-1$
+        content.put("entities", Integer.valueOf(footprint.entityCount())); //$NON-NLS-1$
+        content.put("editingContexts", Integer.valueOf(footprint.editingContextCount())); //$NON-NLS-1$
+        if (!footprint.isComplete()) {
+            content.put("failure", footprint.failure()); //$NON-NLS-1$
+        }
+        return content;
+    }
+
+}
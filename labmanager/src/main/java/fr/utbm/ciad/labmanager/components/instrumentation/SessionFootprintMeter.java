@@ -0,0 +1,182 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityEditingContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+
+/**
+ * Tool for measuring the memory footprint of the objects that are stored into the Vaadin sessions.
+ * The footprint of an object is the size of its serialized graph, i.e., the size that would be needed
+ * for replicating or passivating it. The singletons that are shared by all the sessions, i.e., the Spring
+ * components and the JPA infrastructure, are not included into the footprint because they are re-injected
+ * when a session is restored. The number of JPA entities and of entity editing contexts that are
+ * retained by the graph is also computed.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see SessionFootprintService
+ */
+public final class SessionFootprintMeter {
+
+    private static final String SHARED_OBJECT = "<shared>"; //$NON-NLS-1$
+
+    private static final ClassValue<Boolean> SHARED_TYPES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            final var userType = ClassUtils.getUserClass(type);
+            return Boolean.valueOf(Proxy.isProxyClass(type)
+                    || AnnotatedElementUtils.hasAnnotation(userType, Component.class)
+                    || EntityManager.class.isAssignableFrom(userType)
+                    || EntityManagerFactory.class.isAssignableFrom(userType)
+                    || ApplicationContext.class.isAssignableFrom(userType)
+                    || MessageSource.class.isAssignableFrom(userType)
+                    || MessageSourceAccessor.class.isAssignableFrom(userType));
+        }
+    };
+
+    private SessionFootprintMeter() {
+        //
+    }
+
+    /**
+     * Replies if the given object is a singleton that is shared by all the sessions, and that is not
+     * included into the footprints.
+     *
+     * @param object the object to test.
+     * @return {@code true} if the object is shared.
+     */
+    public static boolean isSharedObject(Object object) {
+        return object != null && SHARED_TYPES.get(object.getClass()).booleanValue();
+    }
+
+    /**
+     * Measure the footprint of the given object.
+     *
+     * @param root the root of the object graph to measure.
+     * @return the footprint, never {@code null}.
+     */
+    public static Footprint measure(Object root) {
+        final var counter = new CountingOutputStream(ByteStreams.nullOutputStream());
+        FootprintOutputStream output = null;
+        try {
+            output = new FootprintOutputStream(counter);
+            output.writeObject(root);
+            output.flush();
+            return new Footprint(counter.getCount(), output.entityCount, output.editingContextCount, null);
+        } catch (NotSerializableException ex) {
+            // The message of the exception is the name of the type that is not serializable
+            return failure(counter, output, "not serializable: " + ex.getMessage()); //$NON-NLS-1$
+        } catch (Throwable ex) {
+            return failure(counter, output, ex.toString());
+        }
+    }
+
+    private static Footprint failure(CountingOutputStream counter, FootprintOutputStream output, String failure) {
+        return new Footprint(counter.getCount(),
+                output == null ? 0 : output.entityCount,
+                output == null ? 0 : output.editingContextCount,
+                failure);
+    }
+
+    /**
+     * Footprint of an object graph.
+     *
+     * @param size the size in bytes of the serialized graph. If the graph cannot be fully serialized, it is the size
+     *     that was measured before the failure.
+     * @param entityCount the number of JPA entities in the graph.
+     * @param editingContextCount the number of entity editing contexts in the graph.
+     * @param failure the description of the error that has stopped the measurement, or {@code null} if the graph
+     *     was fully measured.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record Footprint(long size, int entityCount, int editingContextCount, String failure) {
+
+        /**
+         * Replies if the graph was fully measured.
+         *
+         * @return {@code true} if the graph is serializable.
+         */
+        public boolean isComplete() {
+            return this.failure == null;
+        }
+
+    }
+
+    /**
+     * Output stream that replaces the shared objects and counts the JPA entities.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private static class FootprintOutputStream extends ObjectOutputStream {
+
+        private int entityCount;
+
+        private int editingContextCount;
+
+        FootprintOutputStream(OutputStream output) throws IOException {
+            super(output);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object object) throws IOException {
+            // This function is invoked once per object of the graph
+            if (isSharedObject(object)) {
+                return SHARED_OBJECT;
+            }
+            if (object instanceof IdentifiableEntity) {
+                ++this.entityCount;
+            } else if (object instanceof EntityEditingContext<?>) {
+                ++this.editingContextCount;
+            }
+            return object;
+        }
+
+    }
+
+}
@@ -0,0 +1,218 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.instrumentation;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.VaadinSession;
+import fr.utbm.ciad.labmanager.components.instrumentation.SessionFootprintMeter.Footprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service that measures the memory footprint of the opened Vaadin sessions, with a breakdown per component,
+ * i.e., per view, router layout and dialog box of each user interface of the session.
+ * The footprints are computed by the {@link SessionFootprintMeter}.
+ * The sessions that are bigger than a given threshold are logged.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see SessionFootprintEndpoint
+ */
+@Component
+public class SessionFootprintService implements VaadinServiceInitListener {
+
+    private static final long serialVersionUID = -3373937203958212186L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionFootprintService.class);
+
+    private static final String ANONYMOUS = "anonymous"; //$NON-NLS-1$
+
+    private final transient Set<VaadinSession> sessions = ConcurrentHashMap.newKeySet();
+
+    private final long sizeWarningThreshold;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param sizeWarningThreshold the size in kilobytes from which the footprint of a session is logged as a warning.
+     *     If it is not positive, no warning is logged.
+     */
+    public SessionFootprintService(
+            @Value("${labmanager.instrumentation.session-size-warning:2048}") long sizeWarningThreshold) {
+        this.sizeWarningThreshold = sizeWarningThreshold * 1024;
+    }
+
+    @Override
+    public void serviceInit(ServiceInitEvent event) {
+        final var service = event.getSource();
+        service.addSessionInitListener(it -> this.sessions.add(it.getSession()));
+        service.addSessionDestroyListener(it -> this.sessions.remove(it.getSession()));
+    }
+
+    /**
+     * Replies the number of opened sessions.
+     *
+     * @return the number of sessions.
+     */
+    public int getSessionCount() {
+        return this.sessions.size();
+    }
+
+    /**
+     * Measure the footprints of all the opened sessions.
+     * Each session is locked during its measurement. Because Vaadin forbids to lock a session when
+     * another session is locked by the same thread, this function must not be invoked from a thread
+     * that is holding the lock of a session; see {@link #measureSessionsAsynchronously()}.
+     *
+     * @return the footprints of the sessions, from the biggest to the smallest.
+     */
+    public List<SessionFootprint> measureSessions() {
+        final var footprints = new ArrayList<SessionFootprint>(this.sessions.size());
+        for (final var session : this.sessions) {
+            final var footprint = measureSession(session);
+            if (footprint != null) {
+                footprints.add(footprint);
+            }
+        }
+        footprints.sort(Comparator.comparingLong((SessionFootprint it) -> it.total().size()).reversed());
+        return footprints;
+    }
+
+    /**
+     * Measure the footprints of all the opened sessions in a background thread.
+     *
+     * @return the future footprints of the sessions, from the biggest to the smallest.
+     * @see #measureSessions()
+     */
+    public CompletableFuture<List<SessionFootprint>> measureSessionsAsynchronously() {
+        return CompletableFuture.supplyAsync(this::measureSessions);
+    }
+
+    /**
+     * Measure the footprint of the given session.
+     *
+     * @param session the session to measure.
+     * @return the footprint, or {@code null} if the session is closed.
+     */
+    public SessionFootprint measureSession(VaadinSession session) {
+        final var result = new SessionFootprint[1];
+        try {
+            session.accessSynchronously(() -> {
+                final var wrappedSession = session.getSession();
+                if (wrappedSession != null) {
+                    result[0] = new SessionFootprint(
+                            Integer.toHexString(wrappedSession.getId().hashCode()),
+                            getUserName(session),
+                            SessionFootprintMeter.measure(session),
+                            measureComponents(session));
+                }
+            });
+        } catch (IllegalStateException ex) {
+            // The session was invalidated during the measurement
+            return null;
+        }
+        final var footprint = result[0];
+        if (footprint != null && this.sizeWarningThreshold > 0 && footprint.total().size() >= this.sizeWarningThreshold) {
+            LOGGER.warn("Large Vaadin session for " + footprint.user() + ": " + footprint.total().size() //$NON-NLS-1$ //$NON-NLS-2$
+                    + " bytes, " + footprint.total().entityCount() + " JPA entities"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return footprint;
+    }
+
+    private static String getUserName(VaadinSession session) {
+        final var context = session.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        if (context instanceof SecurityContext securityContext && securityContext.getAuthentication() != null) {
+            return securityContext.getAuthentication().getName();
+        }
+        return ANONYMOUS;
+    }
+
+    private static List<ComponentFootprint> measureComponents(VaadinSession session) {
+        final var footprints = new ArrayList<ComponentFootprint>();
+        for (final var ui : session.getUIs()) {
+            final var chain = ui.getInternals().getActiveRouterTargetsChain();
+            for (final var target : chain) {
+                footprints.add(new ComponentFootprint(getComponentName(ui, target), SessionFootprintMeter.measure(target)));
+            }
+            // Dialogs are attached to the UI outside the router targets
+            ui.getChildren().filter(it -> !chain.contains(it)).forEach(it -> {
+                footprints.add(new ComponentFootprint(getComponentName(ui, it), SessionFootprintMeter.measure(it)));
+            });
+        }
+        footprints.sort(Comparator.comparingLong((ComponentFootprint it) -> it.footprint().size()).reversed());
+        return footprints;
+    }
+
+    private static String getComponentName(UI ui, Object component) {
+        return "UI" + ui.getUIId() + "/" + ClassUtils.getUserClass(component).getSimpleName(); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Footprint of a Vaadin session.
+     *
+     * @param sessionId the anonymized identifier of the session.
+     * @param user the login of the user, or {@code anonymous}.
+     * @param total the footprint of the entire session.
+     * @param components the footprints of the top-level components of the user interfaces of the session. Because the
+     *     components may share objects, the sum of their footprints may differ from the total footprint.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record SessionFootprint(String sessionId, String user, Footprint total, List<ComponentFootprint> components) {
+        //
+    }
+
+    /**
+     * Footprint of a component in a Vaadin session.
+     *
+     * @param name the name of the component, prefixed by the identifier of its user interface.
+     * @param footprint the footprint of the component.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record ComponentFootprint(String name, Footprint footprint) {
+        //
+    }
+
+}
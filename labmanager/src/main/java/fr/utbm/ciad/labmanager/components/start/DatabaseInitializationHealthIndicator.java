@@ -0,0 +1,70 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.start;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator that publishes the state of the database initialization from the data snapshot. It is
+ * out of service while the data are loaded in background, and down if the loading has failed.
+ * It is included into the readiness probe with the configuration variable
+ * {@code management.endpoint.health.group.readiness.include}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see JsonDatabaseInitializer
+ */
+@Component
+public class DatabaseInitializationHealthIndicator implements HealthIndicator {
+
+    private final JsonDatabaseInitializer initializer;
+
+    /**
+     * Constructor.
+     *
+     * @param initializer the initializer of the database.
+     */
+    public DatabaseInitializationHealthIndicator(@Autowired JsonDatabaseInitializer initializer) {
+        this.initializer = initializer;
+    }
+
+    @Override
+    public Health health() {
+        final var state = this.initializer.getState();
+        switch (state) {
+            case DONE:
+                return Health.up().withDetail("state", state).build(); //$NON-NLS-1$
+            case FAILED:
+                return Health.down().withDetail("state", state) //$NON-NLS-1$
+                        .withDetail("error", String.valueOf(this.initializer.getFailure())).build(); //$NON-NLS-1$
+            case NOT_STARTED:
+            case RUNNING:
+            default:
+                return Health.outOfService().withDetail("state", state).build(); //$NON-NLS-1$
+        }
+    }
+
+}
@@ -0,0 +1,308 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.start;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.data.snapshot.DatabaseSnapshot;
+import fr.utbm.ciad.labmanager.data.snapshot.DatabaseSnapshotEntry;
+import fr.utbm.ciad.labmanager.data.snapshot.DatabaseSnapshotEntryRepository;
+import fr.utbm.ciad.labmanager.data.snapshot.DatabaseSnapshotRepository;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonToDatabaseImporter.ImportFilter;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonTool;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Tracker of the data snapshot, i.e., the {@code data.json} or {@code data.zip} file, that is loaded into the
+ * database at startup. It records the fingerprint of the whole snapshot file and of each of its entries, in
+ * order to skip the loading when the snapshot has not changed, and to load only the new entries otherwise.
+ *
+ * <p>The importers only create entities. The entries that were changed or removed from the snapshot since its
+ * previous loading are reported in the log, and the corresponding entities in the database are kept as they are.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see JsonDatabaseInitializer
+ */
+@Component
+public class DatabaseSnapshotTracker implements Serializable {
+
+    private static final long serialVersionUID = -6312095829146602197L;
+
+    private static final String HASH_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final DatabaseSnapshotRepository snapshotRepository;
+
+    private final DatabaseSnapshotEntryRepository entryRepository;
+
+    private final transient TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor.
+     *
+     * @param snapshotRepository the repository of the descriptions of the loaded snapshots.
+     * @param entryRepository    the repository of the entries of the loaded snapshot.
+     * @param transactionManager the manager of the transactions, used for replacing the record of the loaded snapshot
+     *                           in a single transaction.
+     */
+    public DatabaseSnapshotTracker(
+            @Autowired DatabaseSnapshotRepository snapshotRepository,
+            @Autowired DatabaseSnapshotEntryRepository entryRepository,
+            @Autowired PlatformTransactionManager transactionManager) {
+        this.snapshotRepository = snapshotRepository;
+        this.entryRepository = entryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private static MessageDigest newDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private static String fingerprint(JsonNode node) {
+        try {
+            final var digest = newDigest();
+            return HexFormat.of().formatHex(digest.digest(node.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String getEntryKey(JsonNode entry, String fingerprint) {
+        if (entry.isObject()) {
+            final var id = entry.get(JsonTool.ID_FIELDNAME);
+            if (id != null && !Strings.isNullOrEmpty(id.asText())) {
+                return id.asText();
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Compute the fingerprint of the content of the snapshot file with the given URL.
+     *
+     * @param url the URL of the snapshot file.
+     * @return the fingerprint.
+     * @throws IOException if the snapshot file cannot be read.
+     */
+    @SuppressWarnings("static-method")
+    public String computeFingerprint(URL url) throws IOException {
+        final var digest = newDigest();
+        try (final InputStream is = new DigestInputStream(url.openStream(), digest)) {
+            final var buffer = new byte[BUFFER_SIZE];
+            while (is.read(buffer) >= 0) {
+                //
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Replies if the snapshot with the given fingerprint is the lastly loaded snapshot.
+     *
+     * @param fingerprint the fingerprint of the content of the snapshot file.
+     * @return {@code true} if the snapshot was already loaded.
+     */
+    public boolean isLoaded(String fingerprint) {
+        final var snapshot = this.snapshotRepository.findFirstByOrderByLoadDateDesc();
+        return snapshot.isPresent() && fingerprint.equals(snapshot.get().getFingerprint());
+    }
+
+    /**
+     * Create the filter of the entries of the snapshot with the given fingerprint. The filter selects the entries
+     * that were not loaded yet, and records the entries and the fingerprint when the loading is done.
+     *
+     * @param fingerprint the fingerprint of the content of the snapshot file.
+     * @param url         the URL of the snapshot file.
+     * @return the filter.
+     */
+    public ImportFilter newImportFilter(String fingerprint, URL url) {
+        return new SnapshotImportFilter(fingerprint, url.toExternalForm());
+    }
+
+    /**
+     * Filter of the entries that selects the entries that were not loaded yet.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private class SnapshotImportFilter implements ImportFilter {
+
+        private final String fingerprint;
+
+        private final String source;
+
+        private final Map<String, Map<String, DatabaseSnapshotEntry>> knownEntries = new HashMap<>();
+
+        /**
+         * Constructor.
+         *
+         * @param fingerprint the fingerprint of the content of the snapshot file.
+         * @param source      the URL of the snapshot file.
+         */
+        SnapshotImportFilter(String fingerprint, String source) {
+            this.fingerprint = fingerprint;
+            this.source = source;
+        }
+
+        private Map<String, DatabaseSnapshotEntry> getKnownEntries(String section) {
+            return this.knownEntries.computeIfAbsent(section, it -> {
+                final var entries = new HashMap<String, DatabaseSnapshotEntry>();
+                for (final var entry : DatabaseSnapshotTracker.this.entryRepository.findAllBySection(it)) {
+                    entries.put(entry.getEntryKey(), entry);
+                }
+                return entries;
+            });
+        }
+
+        @Override
+        public JsonNode select(JsonNode content, Map<String, Long> objectIdRepository, Logger logger) {
+            if (!content.isObject()) {
+                return content;
+            }
+            final var selection = ((ObjectNode) content).objectNode();
+            var full = true;
+            final var fields = content.fields();
+            while (fields.hasNext()) {
+                final var field = fields.next();
+                final var section = field.getKey();
+                final var value = field.getValue();
+                if (value.isArray()) {
+                    final var known = getKnownEntries(section);
+                    final var selectedEntries = selection.putArray(section);
+                    final var remaining = new HashMap<>(known);
+                    var changed = 0;
+                    for (final var entry : value) {
+                        final var entryFingerprint = fingerprint(entry);
+                        final var key = getEntryKey(entry, entryFingerprint);
+                        final var knownEntry = remaining.remove(key);
+                        if (knownEntry == null) {
+                            selectedEntries.add(entry);
+                        } else {
+                            full = false;
+                            if (knownEntry.getDatabaseId() != 0) {
+                                objectIdRepository.put(key, Long.valueOf(knownEntry.getDatabaseId()));
+                            }
+                            if (!entryFingerprint.equals(knownEntry.getFingerprint())) {
+                                ++changed;
+                                logger.warn("Entry " + key + " of the section " + section //$NON-NLS-1$ //$NON-NLS-2$
+                                        + " has changed since the previous loading; the database is not updated"); //$NON-NLS-1$
+                            }
+                        }
+                    }
+                    if (!remaining.isEmpty()) {
+                        logger.warn(remaining.size() + " entries of the section " + section //$NON-NLS-1$
+                                + " were removed since the previous loading; the database is not updated"); //$NON-NLS-1$
+                    }
+                    if (selectedEntries.isEmpty() && changed == 0 && remaining.isEmpty()) {
+                        logger.info("Section " + section + " is unchanged since the previous loading"); //$NON-NLS-1$ //$NON-NLS-2$
+                    } else {
+                        logger.info("Section " + section + " has " + selectedEntries.size() //$NON-NLS-1$ //$NON-NLS-2$
+                                + " new entries to be loaded"); //$NON-NLS-1$
+                    }
+                } else if (value.isObject()) {
+                    final var known = getKnownEntries(section).get(section);
+                    if (known == null) {
+                        selection.set(section, value);
+                    } else {
+                        full = false;
+                        if (!fingerprint(value).equals(known.getFingerprint())) {
+                            logger.warn("Section " + section + " has changed since the previous loading; the database is not updated"); //$NON-NLS-1$ //$NON-NLS-2$
+                        }
+                    }
+                } else {
+                    selection.set(section, value);
+                }
+            }
+            return full ? content : selection;
+        }
+
+        @Override
+        public void imported(JsonNode content, Map<String, Long> objectIdRepository, boolean complete, Logger logger) {
+            try {
+                final var entries = new ArrayList<DatabaseSnapshotEntry>();
+                final var fields = content.fields();
+                while (fields.hasNext()) {
+                    final var field = fields.next();
+                    final var section = field.getKey();
+                    final var value = field.getValue();
+                    if (value.isArray()) {
+                        final var known = getKnownEntries(section);
+                        for (final var entry : value) {
+                            final var entryFingerprint = fingerprint(entry);
+                            final var key = getEntryKey(entry, entryFingerprint);
+                            final var databaseId = objectIdRepository.get(key);
+                            // An entry without identifier is known as loaded only if the whole import has succeeded
+                            if (databaseId != null || known.containsKey(key) || complete) {
+                                entries.add(new DatabaseSnapshotEntry(section, key, entryFingerprint,
+                                        databaseId == null ? 0 : databaseId.longValue()));
+                            }
+                        }
+                    } else if (value.isObject() && (complete || getKnownEntries(section).containsKey(section))) {
+                        entries.add(new DatabaseSnapshotEntry(section, section, fingerprint(value), 0));
+                    }
+                }
+                // The record is replaced in a single transaction; otherwise a failure between the deletion and the saving
+                // would forget the loaded entries, and the next start would import them again as new entities
+                DatabaseSnapshotTracker.this.transactionTemplate.executeWithoutResult(status -> {
+                    DatabaseSnapshotTracker.this.entryRepository.deleteAllInBatch();
+                    DatabaseSnapshotTracker.this.entryRepository.saveAll(entries);
+                    if (complete) {
+                        DatabaseSnapshotTracker.this.snapshotRepository.deleteAllInBatch();
+                        DatabaseSnapshotTracker.this.snapshotRepository.save(new DatabaseSnapshot(this.fingerprint, this.source));
+                    }
+                });
+            } catch (Throwable ex) {
+                logger.error("Cannot record the loaded snapshot: " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$
+            }
+        }
+
+    }
+
+}
@@ -22,6 +22,7 @@ package fr.utbm.ciad.labmanager.components.start;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.utils.io.IoConstants;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonToDatabaseImporter;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonToDatabaseImporter.ImportFilter;
 import fr.utbm.ciad.labmanager.utils.io.json.ZipToDatabaseImporter;
 import org.arakhne.afc.vmutil.FileSystem;
 import org.arakhne.afc.vmutil.Resources;
@@ -44,6 +45,13 @@ import java.net.URL;
  * <p>It is searching for a file with the name {@code data.json} or {@code data.zip} inside the folder
  * that is specified by the configuration variable {@code labmanager.init.data-source}.
  *
+ * <p>The fingerprint of the loaded file is recorded by the {@link DatabaseSnapshotTracker}. The loading is skipped
+ * when the file has not changed since its previous loading; otherwise, only its new entries are loaded.
+ *
+ * <p>When the configuration variable {@code labmanager.init.background} is {@code true}, the loading is run in
+ * background and the application serves the requests during the loading. The state of the loading is published
+ * by the {@link DatabaseInitializationHealthIndicator}, which is part of the readiness probe.
+ *
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
  * @mavengroupid $GroupId$
@@ -80,23 +88,57 @@ public class JsonDatabaseInitializer implements ApplicationRunner, Serializable
 
     private final boolean enabled;
 
+    private final DatabaseSnapshotTracker snapshotTracker;
+
+    private final boolean background;
+
+    private volatile State state = State.NOT_STARTED;
+
+    private volatile String failure;
+
     /**
      * Constructor.
      *
      * @param jsonImporter     the importer of JSON.
      * @param zipImporter      the importer of ZIP.
+     * @param snapshotTracker  the tracker of the loaded data snapshots.
      * @param dataSourceFolder the folder in the local file system in which the data source file could be located.
      * @param enabled          from configuration file, indicates if the data import is enabled or not.
+     * @param background       from configuration file, indicates if the data import is run in background.
      */
     public JsonDatabaseInitializer(
             @Autowired JsonToDatabaseImporter jsonImporter,
             @Autowired ZipToDatabaseImporter zipImporter,
+            @Autowired DatabaseSnapshotTracker snapshotTracker,
             @Value("${labmanager.init.data-source}") String dataSourceFolder,
-            @Value("${labmanager.init.enable}") boolean enabled) {
+            @Value("${labmanager.init.enable}") boolean enabled,
+            @Value("${labmanager.init.background:true}") boolean background) {
         this.jsonImporter = jsonImporter;
         this.zipImporter = zipImporter;
+        this.snapshotTracker = snapshotTracker;
         this.dataSourceFolder = dataSourceFolder;
         this.enabled = enabled;
+        this.background = background;
+    }
+
+    /**
+     * Replies the state of the database initialization.
+     *
+     * @return the state.
+     * @since 4.0
+     */
+    public State getState() {
+        return this.state;
+    }
+
+    /**
+     * Replies the message of the error that has stopped the database initialization.
+     *
+     * @return the message of the error, or {@code null} if none.
+     * @since 4.0
+     */
+    public String getFailure() {
+        return this.failure;
     }
 
     /**
@@ -203,16 +245,17 @@ public class JsonDatabaseInitializer implements ApplicationRunner, Serializable
      * Replies the importer code to be used for the given URL of the data source.
      *
      * @param url    the URL of the data source or {@code null} if none.
+     * @param filter the filter of the entries to be imported, or {@code null} for importing all the entries.
      * @param logger the logger to use for put a message in the log.
      * @return the importer.
      */
-    protected Importer detectImporter(URL url, Logger logger) {
+    protected Importer detectImporter(URL url, ImportFilter filter, Logger logger) {
         assert url != null;
         if (FileSystem.hasExtension(url, ".zip")) { //$NON-NLS-1$
-            return it -> this.zipImporter.importArchiveFileToDatabase(it, logger);
+            return it -> this.zipImporter.importArchiveFileToDatabase(it, filter, logger);
         }
         if (FileSystem.hasExtension(url, ".json")) { //$NON-NLS-1$
-            return it -> this.jsonImporter.importDataFileToDatabase(it, logger);
+            return it -> this.jsonImporter.importDataFileToDatabase(it, filter, logger);
         }
         return null;
     }
@@ -239,18 +282,75 @@ public class JsonDatabaseInitializer implements ApplicationRunner, Serializable
         if (this.enabled) {
             final var dataUrl = detectDataUrl();
             if (dataUrl != null) {
-                final var importer = detectImporter(dataUrl, logger);
+                final var fingerprint = this.snapshotTracker.computeFingerprint(dataUrl);
+                if (this.snapshotTracker.isLoaded(fingerprint)) {
+                    this.state = State.DONE;
+                    logger.info("Database initialization is skipped because " + dataUrl + " was already loaded"); //$NON-NLS-1$ //$NON-NLS-2$
+                    return;
+                }
+                final var importer = detectImporter(dataUrl, this.snapshotTracker.newImportFilter(fingerprint, dataUrl), logger);
                 if (importer != null) {
-                    doImport(dataUrl, importer, logger);
-                } else {
-                    logger.warn("Database initialization is skipped because of lake of importer for " + dataUrl); //$NON-NLS-1$
+                    this.state = State.RUNNING;
+                    if (this.background) {
+                        final var thread = new Thread(() -> runImport(dataUrl, importer, logger), "database-initializer"); //$NON-NLS-1$
+                        thread.setDaemon(true);
+                        thread.start();
+                    } else {
+                        runImport(dataUrl, importer, logger);
+                        if (this.state == State.FAILED) {
+                            throw new IllegalStateException(this.failure);
+                        }
+                    }
+                    return;
                 }
+                logger.warn("Database initialization is skipped because of lake of importer for " + dataUrl); //$NON-NLS-1$
             } else {
                 logger.info("Database initialization is skipped because of lake of data source"); //$NON-NLS-1$
             }
         } else {
             logger.info("Database initialization is disabled"); //$NON-NLS-1$
         }
+        this.state = State.DONE;
+    }
+
+    private void runImport(URL url, Importer importer, Logger logger) {
+        try {
+            doImport(url, importer, logger);
+            this.state = State.DONE;
+            logger.info("Database initialization is done"); //$NON-NLS-1$
+        } catch (Throwable ex) {
+            this.failure = ex.getLocalizedMessage();
+            this.state = State.FAILED;
+            logger.error("Database initialization has failed: " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * State of the database initialization.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public enum State {
+        /**
+         * The initialization has not started yet.
+         */
+        NOT_STARTED,
+        /**
+         * The data are being loaded.
+         */
+        RUNNING,
+        /**
+         * The initialization is done, or there is nothing to be loaded.
+         */
+        DONE,
+        /**
+         * The loading of the data has failed.
+         */
+        FAILED;
     }
 
     /**
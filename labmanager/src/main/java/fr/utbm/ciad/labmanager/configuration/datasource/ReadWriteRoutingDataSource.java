@@ -0,0 +1,86 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.configuration.datasource;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Data source that sends the read-only transactions to the replicas of the database, and
+ * all the other accesses to the primary database.
+ * The available replicas are used in turn. When no replica is available, e.g. because all
+ * the replicas are lagging too much, the primary database is used.
+ *
+ * <p>The routing decision is based on the read-only flag of the current transaction. Because this flag is
+ * set after the connection is obtained by the JPA transaction manager, this data source must be wrapped into
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that delays the retrieval of
+ * the physical connection until the first SQL statement.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see ReplicationLagMonitor
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /** Lookup key of the primary database.
+     */
+    public static final String PRIMARY_KEY = "primary"; //$NON-NLS-1$
+
+    private final ReplicationLagMonitor monitor;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param primary the primary database.
+     * @param monitor the monitor of the replicas that provides the replicas and their availability.
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicationLagMonitor monitor) {
+        this.monitor = monitor;
+        final var targets = new HashMap<Object, Object>(monitor.getReplicas());
+        targets.put(PRIMARY_KEY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(true);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            final var replicas = this.monitor.getAvailableReplicas();
+            if (!replicas.isEmpty()) {
+                final var index = Math.floorMod(this.nextReplica.getAndIncrement(), replicas.size());
+                return replicas.get(index);
+            }
+        }
+        return PRIMARY_KEY;
+    }
+
+}
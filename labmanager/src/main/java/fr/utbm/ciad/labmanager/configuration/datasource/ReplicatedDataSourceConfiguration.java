@@ -0,0 +1,102 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.configuration.datasource;
+
+import java.util.LinkedHashMap;
+import javax.sql.DataSource;
+
+import com.google.common.base.Strings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configuration of the data source that sends the read-only transactions to the replicas of the database.
+ * This configuration is enabled when the property {@code labmanager.datasource.replication.enabled} is {@code true};
+ * otherwise, the data source that is defined by the {@code spring.datasource} properties is used alone.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see ReplicatedDataSourceProperties
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "labmanager.datasource.replication", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicatedDataSourceProperties.class)
+public class ReplicatedDataSourceConfiguration {
+
+    private static final String REPLICA_NAME_PREFIX = "replica-"; //$NON-NLS-1$
+
+    /**
+     * Create the data sources of the replicas, the monitor of these replicas and start the periodic checking of their lags.
+     *
+     * @param primaryProperties the properties of the primary database.
+     * @param properties the properties of the replicas.
+     * @return the monitor.
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicationLagMonitor replicationLagMonitor(DataSourceProperties primaryProperties, ReplicatedDataSourceProperties properties) {
+        final var monitor = new ReplicationLagMonitor(createReplicas(primaryProperties, properties), properties.getLagQuery(), properties.getMaxLag());
+        monitor.start(properties.getCheckInterval());
+        return monitor;
+    }
+
+    /**
+     * Create the data source that routes the read-only transactions to the replicas.
+     *
+     * @param primaryProperties the properties of the primary database.
+     * @param monitor the monitor of the replicas.
+     * @return the data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties primaryProperties, ReplicationLagMonitor monitor) {
+        final var primary = primaryProperties.initializeDataSourceBuilder().build();
+        final var routing = new ReadWriteRoutingDataSource(primary, monitor);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static LinkedHashMap<String, DataSource> createReplicas(DataSourceProperties primaryProperties, ReplicatedDataSourceProperties properties) {
+        final var replicas = new LinkedHashMap<String, DataSource>();
+        var index = 0;
+        for (final var replica : properties.getReplicas()) {
+            ++index;
+            final var builder = DataSourceBuilder.create(primaryProperties.getClassLoader())
+                    .url(replica.getUrl())
+                    .driverClassName(Strings.isNullOrEmpty(replica.getDriverClassName()) ? primaryProperties.determineDriverClassName() : replica.getDriverClassName())
+                    .username(Strings.isNullOrEmpty(replica.getUsername()) ? primaryProperties.determineUsername() : replica.getUsername())
+                    .password(replica.getPassword() == null ? primaryProperties.determinePassword() : replica.getPassword());
+            if (primaryProperties.getType() != null) {
+                builder.type(primaryProperties.getType());
+            }
+            final var name = Strings.isNullOrEmpty(replica.getName()) ? REPLICA_NAME_PREFIX + index : replica.getName();
+            replicas.put(name, builder.build());
+        }
+        return replicas;
+    }
+
+}
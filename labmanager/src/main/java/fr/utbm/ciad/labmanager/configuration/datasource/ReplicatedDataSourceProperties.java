@@ -0,0 +1,256 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.configuration.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties of the read-only replicas of the database.
+ * These properties are defined with the prefix {@code labmanager.datasource.replication}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@ConfigurationProperties(prefix = "labmanager.datasource.replication")
+public class ReplicatedDataSourceProperties {
+
+    private boolean enabled;
+
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration checkInterval = Duration.ofSeconds(10);
+
+    private String lagQuery;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replies if the routing of the read-only transactions to the replicas is enabled.
+     *
+     * @return {@code true} if the routing is enabled.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Change the flag that indicates if the routing of the read-only transactions to the replicas is enabled.
+     *
+     * @param enabled {@code true} if the routing is enabled.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Replies the maximum replication lag from which a replica is not used anymore.
+     *
+     * @return the maximum lag.
+     */
+    public Duration getMaxLag() {
+        return this.maxLag;
+    }
+
+    /**
+     * Change the maximum replication lag from which a replica is not used anymore.
+     *
+     * @param maxLag the maximum lag.
+     */
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * Replies the delay between two checks of the replicas.
+     *
+     * @return the delay.
+     */
+    public Duration getCheckInterval() {
+        return this.checkInterval;
+    }
+
+    /**
+     * Change the delay between two checks of the replicas.
+     *
+     * @param checkInterval the delay.
+     */
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    /**
+     * Replies the SQL query that is used for obtaining the replication lag of a replica, in seconds.
+     * If this query is not specified, only the connectivity to the replica is checked.
+     *
+     * @return the SQL query, or {@code null}.
+     * @see ReplicationLagMonitor
+     */
+    public String getLagQuery() {
+        return this.lagQuery;
+    }
+
+    /**
+     * Change the SQL query that is used for obtaining the replication lag of a replica, in seconds.
+     *
+     * @param lagQuery the SQL query, or {@code null}.
+     */
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+
+    /**
+     * Replies the definitions of the replicas.
+     *
+     * @return the replicas.
+     */
+    public List<Replica> getReplicas() {
+        return this.replicas;
+    }
+
+    /**
+     * Change the definitions of the replicas.
+     *
+     * @param replicas the replicas.
+     */
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas == null ? new ArrayList<>() : replicas;
+    }
+
+    /**
+     * Definition of a read-only replica of the database.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        /**
+         * Replies the name of the replica that is used in the logs.
+         *
+         * @return the name, or {@code null} if the name is not specified.
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Change the name of the replica that is used in the logs.
+         *
+         * @param name the name.
+         */
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Replies the JDBC URL of the replica.
+         *
+         * @return the URL.
+         */
+        public String getUrl() {
+            return this.url;
+        }
+
+        /**
+         * Change the JDBC URL of the replica.
+         *
+         * @param url the URL.
+         */
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Replies the login of the replica. If it is not specified, the login of the primary database is used.
+         *
+         * @return the login.
+         */
+        public String getUsername() {
+            return this.username;
+        }
+
+        /**
+         * Change the login of the replica.
+         *
+         * @param username the login.
+         */
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        /**
+         * Replies the password of the replica. If it is not specified, the password of the primary database is used.
+         *
+         * @return the password.
+         */
+        public String getPassword() {
+            return this.password;
+        }
+
+        /**
+         * Change the password of the replica.
+         *
+         * @param password the password.
+         */
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        /**
+         * Replies the name of the JDBC driver of the replica. If it is not specified, the driver of the primary database is used.
+         *
+         * @return the name of the driver.
+         */
+        public String getDriverClassName() {
+            return this.driverClassName;
+        }
+
+        /**
+         * Change the name of the JDBC driver of the replica.
+         *
+         * @param driverClassName the name of the driver.
+         */
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
+    }
+
+}
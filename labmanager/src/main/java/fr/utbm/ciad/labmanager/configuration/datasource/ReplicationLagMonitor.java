@@ -0,0 +1,235 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.configuration.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+import com.google.common.base.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Monitor of the replication lag of the read-only replicas of the database.
+ * A replica is available for the read-only transactions when it is reachable and when its
+ * replication lag is lower than or equal to the maximum lag.
+ *
+ * <p>The lag of a replica is obtained by running the lag query on it. If the result of the query
+ * contains a column named {@code Seconds_Behind_Source} or {@code Seconds_Behind_Master}
+ * (as for the query {@code SHOW REPLICA STATUS} of MySQL), the value of this column is used. Otherwise,
+ * the value of the first column is used. A replica for which the query replies no row or a {@code null}
+ * value is considered as not replicating. If no lag query is specified, only the connectivity to the
+ * replica is checked.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public class ReplicationLagMonitor implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationLagMonitor.class);
+
+    private static final int VALIDATION_TIMEOUT = 2;
+
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"}; //$NON-NLS-1$ //$NON-NLS-2$
+
+    private final Map<String, DataSource> replicas;
+
+    private final String lagQuery;
+
+    private final long maxLag;
+
+    private final Map<String, Long> lags = new ConcurrentHashMap<>();
+
+    private volatile List<String> availableReplicas = Collections.emptyList();
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructor.
+     *
+     * @param replicas the replicas to monitor, indexed by their names.
+     * @param lagQuery the SQL query that replies the replication lag in seconds, or {@code null} for checking only the connectivity.
+     * @param maxLag the maximum lag from which a replica is not used anymore.
+     */
+    public ReplicationLagMonitor(Map<String, DataSource> replicas, String lagQuery, Duration maxLag) {
+        this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        this.lagQuery = Strings.emptyToNull(lagQuery);
+        this.maxLag = maxLag == null ? 0 : maxLag.toSeconds();
+    }
+
+    /**
+     * Check the replicas and start the periodic checking of the replicas in a background thread.
+     *
+     * @param interval the delay between two checks.
+     */
+    public synchronized void start(Duration interval) {
+        checkReplicas();
+        if (this.executor == null && !this.replicas.isEmpty() && interval != null && !interval.isZero() && !interval.isNegative()) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final var thread = new Thread(runnable, "replication-lag-monitor"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            });
+            final var delay = interval.toMillis();
+            this.executor.scheduleWithFixedDelay(this::checkReplicas, delay, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Stop the periodic checking of the replicas and close the data sources of the replicas.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+        this.availableReplicas = Collections.emptyList();
+        for (final var replica : this.replicas.entrySet()) {
+            if (replica.getValue() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    LOGGER.warn("Cannot close the replica " + replica.getKey() + ": " + ex.getLocalizedMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+        }
+    }
+
+    /** Check the connectivity and the lag of all the replicas, and update the list of the available replicas.
+     */
+    public void checkReplicas() {
+        final var available = new ArrayList<String>(this.replicas.size());
+        for (final var replica : this.replicas.entrySet()) {
+            final var name = replica.getKey();
+            final var wasAvailable = this.availableReplicas.contains(name);
+            final var lag = readLag(name, replica.getValue());
+            final boolean isAvailable;
+            if (lag == null) {
+                this.lags.remove(name);
+                isAvailable = false;
+            } else {
+                this.lags.put(name, lag);
+                isAvailable = lag.longValue() <= this.maxLag;
+                if (!isAvailable && wasAvailable) {
+                    LOGGER.warn("Replica " + name + " is lagging of " + lag + "s; read-only transactions are sent to the primary database"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                }
+            }
+            if (isAvailable) {
+                available.add(name);
+                if (!wasAvailable) {
+                    LOGGER.info("Replica " + name + " is available for the read-only transactions"); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+        }
+        this.availableReplicas = Collections.unmodifiableList(available);
+    }
+
+    private Long readLag(String name, DataSource dataSource) {
+        try (final var connection = dataSource.getConnection()) {
+            if (this.lagQuery == null) {
+                return connection.isValid(VALIDATION_TIMEOUT) ? Long.valueOf(0) : null;
+            }
+            return queryLag(name, connection);
+        } catch (SQLException ex) {
+            if (this.availableReplicas.contains(name)) {
+                LOGGER.warn("Replica " + name + " is unreachable: " + ex.getLocalizedMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            return null;
+        }
+    }
+
+    private Long queryLag(String name, Connection connection) throws SQLException {
+        try (final Statement statement = connection.createStatement();
+                final ResultSet result = statement.executeQuery(this.lagQuery)) {
+            if (!result.next()) {
+                LOGGER.warn("Replica " + name + " does not provide a replication status"); //$NON-NLS-1$ //$NON-NLS-2$
+                return null;
+            }
+            final var value = result.getObject(findLagColumn(result));
+            if (value instanceof Number number) {
+                return Long.valueOf(number.longValue());
+            }
+            if (value != null) {
+                try {
+                    return Long.valueOf(value.toString().trim());
+                } catch (NumberFormatException ex) {
+                    //
+                }
+            }
+            LOGGER.warn("Replica " + name + " is not replicating"); //$NON-NLS-1$ //$NON-NLS-2$
+            return null;
+        }
+    }
+
+    private static int findLagColumn(ResultSet result) throws SQLException {
+        final var metadata = result.getMetaData();
+        for (var i = 1; i <= metadata.getColumnCount(); ++i) {
+            final var label = metadata.getColumnLabel(i);
+            for (final var column : LAG_COLUMNS) {
+                if (column.equalsIgnoreCase(label)) {
+                    return i;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /** Replies the data sources of all the replicas, indexed by their names.
+     *
+     * @return the replicas.
+     */
+    public Map<String, DataSource> getReplicas() {
+        return this.replicas;
+    }
+
+    /** Replies the names of the replicas that could be used for the read-only transactions, in the order of their declaration.
+     *
+     * @return the names of the available replicas.
+     */
+    public List<String> getAvailableReplicas() {
+        return this.availableReplicas;
+    }
+
+    /** Replies the last known replication lag of the replica with the given name.
+     *
+     * @param name the name of the replica.
+     * @return the lag in seconds, or {@code null} if the replica is unreachable or not replicating.
+     */
+    public Long getLastKnownLag(String name) {
+        return this.lags.get(name);
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.configuration.jpa;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Base implementation of the JPA repositories that runs the page and the count of a filtered
+ * query from the same Hibernate query.
+ * The default implementation of Spring Data builds and translates two criteria queries for each page: one for the
+ * content and one for the count. This implementation builds the criteria query once; the count is derived
+ * from the same interpreted query with {@link SelectionQuery#getResultCount()}. The count is not run when
+ * the total number of entities could be deduced from the page content.
+ *
+ * <p>The values of the filters are bound as JDBC parameters (see {@code hibernate.criteria.value_handling_mode}),
+ * in order to obtain the same SQL statement, and the same cached plan, for all the filters with the same shape.
+ *
+ * @param <T> the type of the entities.
+ * @param <ID> the type of the identifiers of the entities.
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see JpaRepositoryConfiguration
+ */
+public class SharedPlanJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> {
+
+    /**
+     * Constructor.
+     *
+     * @param entityInformation the description of the entities.
+     * @param entityManager the entity manager.
+     */
+    public SharedPlanJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+    }
+
+    @Override
+    public Page<T> findAll(Specification<T> spec, Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return super.findAll(spec, pageable);
+        }
+        final var query = getQuery(spec, pageable.getSort());
+        final SelectionQuery<?> selection;
+        try {
+            selection = query.unwrap(SelectionQuery.class);
+        } catch (RuntimeException ex) {
+            // Not a Hibernate query; use the standard implementation
+            return super.findAll(spec, pageable);
+        }
+        query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+        query.setMaxResults(pageable.getPageSize());
+        final var content = query.getResultList();
+        // The limits of the page are query options; they are not applied to the count
+        return PageableExecutionUtils.getPage(content, pageable, selection::getResultCount);
+    }
+
+}
@@ -19,11 +19,14 @@
 
 package fr.utbm.ciad.labmanager.data.conference;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -63,5 +66,14 @@ public interface ConferenceRepository extends JpaRepository<Conference, Long>, J
 
     Set<Conference> findByEnclosingConference(Conference conference);
 
+    /**
+     * Find the conferences with the given identifiers and load their quality indicators within the same query.
+     *
+     * @param identifiers the identifiers of the conferences.
+     * @return the conferences.
+     * @since 4.0
+     */
+    @EntityGraph(attributePaths = {"qualityIndicators"})
+    List<Conference> findAllByIdIn(Collection<Long> identifiers);
 
 }
@@ -19,9 +19,12 @@
 
 package fr.utbm.ciad.labmanager.data.journal;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -54,5 +57,14 @@ public interface JournalRepository extends JpaRepository<Journal, Long>, JpaSpec
     @Deprecated(since = "4.0", forRemoval = true)
     Optional<Journal> findByJournalName(String name);
 
+    /**
+     * Find the journals with the given identifiers and load their quality indicators within the same query.
+     *
+     * @param identifiers the identifiers of the journals.
+     * @return the journals.
+     * @since 4.0
+     */
+    @EntityGraph(attributePaths = {"qualityIndicators"})
+    List<Journal> findAllByIdIn(Collection<Long> identifiers);
 
 }
@@ -126,19 +126,19 @@ public class Membership implements Serializable, AttributeProvider, Comparable<M
     /**
      * Reference to the person.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private Person person;
 
     /**
      * Reference to the direct research organization.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private ResearchOrganization researchOrganization;
 
     /**
      * Reference to the employer research organization.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private ResearchOrganization superResearchOrganization;
 
     /**
@@ -23,6 +23,7 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -65,10 +66,12 @@ public interface MembershipRepository extends JpaRepository<Membership, Long>, J
 
     /**
      * Replies the list of memberships for the given member.
+     * The research organizations of the memberships are loaded within the same query.
      *
      * @param memberId the identifier of the member.
      * @return the list of memberships.
      */
+    @EntityGraph(attributePaths = {"researchOrganization", "superResearchOrganization"})
     List<Membership> findAllByPersonId(long memberId);
 
     /**
@@ -110,4 +113,17 @@ public interface MembershipRepository extends JpaRepository<Membership, Long>, J
     @Query("SELECT DISTINCT p FROM Membership m, Person p WHERE m.person.id = p.id")
     Page<Person> findDistinctPerson(Pageable pageable, Specification<Membership> filter);
 
+    /**
+     * Replies the memberships that are matching the given filter.
+     * The persons and the research organizations of the memberships are loaded within the same query.
+     *
+     * @param spec     the filter of the memberships.
+     * @param pageable the manager of pages.
+     * @return the page of memberships.
+     * @since 4.0
+     */
+    @Override
+    @EntityGraph(attributePaths = {"person", "researchOrganization", "superResearchOrganization"})
+    Page<Membership> findAll(Specification<Membership> spec, Pageable pageable);
+
 }
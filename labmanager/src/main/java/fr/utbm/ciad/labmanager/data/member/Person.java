@@ -39,6 +39,10 @@ import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import fr.utbm.ciad.labmanager.utils.phone.PhoneNumber;
 import fr.utbm.ciad.labmanager.views.components.addons.wizard.AbstractContextData;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.FetchProfile;
+import org.hibernate.annotations.FetchProfile.FetchOverride;
 import org.springframework.context.support.MessageSourceAccessor;
 
 import java.io.IOException;
@@ -60,6 +64,13 @@ import java.util.stream.Collectors;
  */
 @Entity
 @Table(name = "Persons")
+@BatchSize(size = 64)
+@FetchProfile(name = Person.MEMBERSHIPS_FETCH_PROFILE, fetchOverrides = {
+        @FetchOverride(entity = Person.class, association = "memberships", mode = FetchMode.JOIN),
+        @FetchOverride(entity = Membership.class, association = "researchOrganization", mode = FetchMode.JOIN),
+        @FetchOverride(entity = Membership.class, association = "superResearchOrganization", mode = FetchMode.JOIN),
+        @FetchOverride(entity = Membership.class, association = "organizationAddress", mode = FetchMode.JOIN)
+})
 public class Person extends AbstractContextData implements JsonSerializable, AttributeProvider, Comparable<Person>, IdentifiableEntity {
 
     /**
@@ -145,6 +156,14 @@ public class Person extends AbstractContextData implements JsonSerializable, Att
      */
     public static final String FACEBOOK_BASE_URL = "https://www.facebook.com/"; //$NON-NLS-1$
     private static final long serialVersionUID = -1312811718336186349L;
+
+    /**
+     * Name of the fetch profile that loads the memberships of the persons with their research organizations
+     * and their addresses.
+     *
+     * @since 4.0
+     */
+    public static final String MEMBERSHIPS_FETCH_PROFILE = "person-memberships"; //$NON-NLS-1$
     private static final String LINKEDIN_URL = LINKEDIN_BASE_URL + "in/"; //$NON-NLS-1$
 
     /**
@@ -385,14 +404,18 @@ public class Person extends AbstractContextData implements JsonSerializable, Att
 
     /**
      * List of research organizations for the person.
+     * This list is loaded on demand, or with the fetch profile {@link #MEMBERSHIPS_FETCH_PROFILE}.
      */
-    @OneToMany(mappedBy = "person", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "person", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 64)
     private Set<Membership> memberships;
 
     /**
      * List of publications of the person.
+     * This list is loaded on demand.
      */
-    @OneToMany(mappedBy = "person", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "person", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 64)
     private Set<Authorship> authorships;
 
     /**
@@ -22,6 +22,7 @@ package fr.utbm.ciad.labmanager.data.member;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -97,6 +98,15 @@ public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecif
      */
     Set<Person> findDistinctByMembershipsResearchOrganizationId(long id);
 
+    /**
+     * Replies the persons in the organizations with the given identifiers.
+     *
+     * @param ids the identifiers of the organizations.
+     * @return the persons.
+     * @since 4.0
+     */
+    Set<Person> findDistinctByMembershipsResearchOrganizationIdIn(Collection<Long> ids);
+
     /**
      * Replies the persons who authored the publication with the given identifier.
      *
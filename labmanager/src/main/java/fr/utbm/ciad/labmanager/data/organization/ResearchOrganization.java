@@ -38,6 +38,7 @@ import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import fr.utbm.ciad.labmanager.views.components.addons.wizard.AbstractContextData;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.context.support.MessageSourceAccessor;
 
 import java.io.IOException;
@@ -56,6 +57,7 @@ import java.util.*;
  */
 @Entity
 @Table(name = "ResearchOrgs")
+@BatchSize(size = 64)
 public class ResearchOrganization extends AbstractContextData implements JsonSerializable, Comparable<ResearchOrganization>, AttributeProvider, IdentifiableEntity {
 
     /**
@@ -0,0 +1,190 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data.organization;
+
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+
+/**
+ * Entry of the transitive closure of the hierarchy of the research organizations.
+ * Each entry links an organization (the ancestor) to one of its direct or indirect
+ * suborganizations (the descendant). Each organization is also linked to itself with
+ * a depth equal to zero. The closure is computed and maintained by the
+ * {@code ResearchOrganizationHierarchyService}; it must not be updated by hand.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Entity
+@Table(name = "ResearchOrgClosure",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"ancestorId", "descendantId"}),
+        indexes = {
+                @Index(name = "researchOrgClosureAncestor", columnList = "ancestorId"),
+                @Index(name = "researchOrgClosureDescendant", columnList = "descendantId")
+        })
+public class ResearchOrganizationClosure implements Serializable, IdentifiableEntity {
+
+    private static final long serialVersionUID = 5470214380562367181L;
+
+    /**
+     * Identifier of the closure entry in the database.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(nullable = false)
+    private long id;
+
+    /**
+     * Identifier of the organization that contains the descendant.
+     */
+    @Column(nullable = false)
+    private long ancestorId;
+
+    /**
+     * Identifier of the organization that is contained by the ancestor.
+     */
+    @Column(nullable = false)
+    private long descendantId;
+
+    /**
+     * Length of the shortest path from the ancestor to the descendant.
+     */
+    @Column(nullable = false)
+    private int depth;
+
+    /**
+     * Construct an empty entry.
+     */
+    public ResearchOrganizationClosure() {
+        //
+    }
+
+    /**
+     * Construct an entry.
+     *
+     * @param ancestorId   the identifier of the ancestor organization.
+     * @param descendantId the identifier of the descendant organization.
+     * @param depth        the length of the shortest path from the ancestor to the descendant.
+     */
+    public ResearchOrganizationClosure(long ancestorId, long descendantId, int depth) {
+        this.ancestorId = ancestorId;
+        this.descendantId = descendantId;
+        this.depth = depth;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.ancestorId) * 31 + Long.hashCode(this.descendantId);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (this == obj) {
+            return true;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final var other = (ResearchOrganizationClosure) obj;
+        return this.ancestorId == other.ancestorId && this.descendantId == other.descendantId;
+    }
+
+    @Override
+    public String toString() {
+        return this.ancestorId + "->" + this.descendantId + ":" + this.depth; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Override
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Change the identifier of the closure entry.
+     *
+     * @param id the identifier.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Replies the identifier of the ancestor organization.
+     *
+     * @return the identifier.
+     */
+    public long getAncestorId() {
+        return this.ancestorId;
+    }
+
+    /**
+     * Change the identifier of the ancestor organization.
+     *
+     * @param id the identifier.
+     */
+    public void setAncestorId(long id) {
+        this.ancestorId = id;
+    }
+
+    /**
+     * Replies the identifier of the descendant organization.
+     *
+     * @return the identifier.
+     */
+    public long getDescendantId() {
+        return this.descendantId;
+    }
+
+    /**
+     * Change the identifier of the descendant organization.
+     *
+     * @param id the identifier.
+     */
+    public void setDescendantId(long id) {
+        this.descendantId = id;
+    }
+
+    /**
+     * Replies the length of the shortest path from the ancestor to the descendant.
+     *
+     * @return the depth, {@code 0} when the ancestor is the descendant.
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Change the length of the shortest path from the ancestor to the descendant.
+     *
+     * @param depth the depth, {@code 0} when the ancestor is the descendant.
+     */
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+}
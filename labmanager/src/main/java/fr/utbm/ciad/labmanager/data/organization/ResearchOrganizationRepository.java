@@ -26,6 +26,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -78,4 +79,24 @@ public interface ResearchOrganizationRepository extends JpaRepository<ResearchOr
     @Query("SELECT DISTINCT o FROM ResearchOrganization o WHERE ?1 MEMBER OF o.subOrganizations ")
     Page<ResearchOrganization> findSuperOrganizations(ResearchOrganization organization, Pageable pageable, Specification<ResearchOrganization> filter);
 
+    /**
+     * Replies the identifiers of all the research organizations.
+     *
+     * @return the identifiers.
+     * @since 4.0
+     */
+    @Query("SELECT o.id FROM ResearchOrganization o")
+    List<Long> findAllIds();
+
+    /**
+     * Replies the direct links between the research organizations and their suborganizations.
+     * Each element of the replied list is an array that contains the identifier of the super organization
+     * and the identifier of the suborganization.
+     *
+     * @return the links.
+     * @since 4.0
+     */
+    @Query("SELECT o.id, s.id FROM ResearchOrganization o JOIN o.subOrganizations s")
+    List<Object[]> findAllSubOrganizationLinks();
+
 }
@@ -64,13 +64,13 @@ public class Authorship implements Serializable, AttributeProvider, Comparable<A
     /**
      * Reference to the publication.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private Publication publication;
 
     /**
      * Reference to the person.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private Person person;
 
     /**
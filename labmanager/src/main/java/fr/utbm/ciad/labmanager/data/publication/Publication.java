@@ -34,6 +34,7 @@ import fr.utbm.ciad.labmanager.utils.HashCodeUtils;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import fr.utbm.ciad.labmanager.views.components.addons.wizard.AbstractContextData;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import jakarta.transaction.Transactional;
 import org.springframework.context.support.MessageSourceAccessor;
 
@@ -59,6 +60,7 @@ import java.util.stream.Collectors;
  */
 @Entity
 @Table(name = "Publications")
+@BatchSize(size = 64)
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "Publication_Type")
 public abstract class Publication extends AbstractContextData implements Production, JsonSerializable, Comparable<Publication>, AttributeProvider {
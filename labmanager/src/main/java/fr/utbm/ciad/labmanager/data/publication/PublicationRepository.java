@@ -39,6 +39,31 @@ import java.util.Set;
  */
 public interface PublicationRepository extends JpaRepository<Publication, Long>, JpaSpecificationExecutor<Publication> {
 
+    /**
+     * JPQL condition that is satisfied when the membership {@code m} is active at the publication date of
+     * the publication {@code p}. When the publication has no date, the membership must be active during
+     * the year of the publication.
+     *
+     * @since 4.0
+     */
+    String ACTIVE_MEMBERSHIP_AT_PUBLICATION_CONDITION = "((p.publicationDate IS NOT NULL" //$NON-NLS-1$
+            + " AND (m.memberSinceWhen IS NULL OR m.memberSinceWhen <= p.publicationDate)" //$NON-NLS-1$
+            + " AND (m.memberToWhen IS NULL OR m.memberToWhen >= p.publicationDate))" //$NON-NLS-1$
+            + " OR (p.publicationDate IS NULL" //$NON-NLS-1$
+            + " AND (m.memberSinceWhen IS NULL OR YEAR(m.memberSinceWhen) <= p.publicationYear)" //$NON-NLS-1$
+            + " AND (m.memberToWhen IS NULL OR YEAR(m.memberToWhen) >= p.publicationYear)))"; //$NON-NLS-1$
+
+    /**
+     * JPQL condition that is satisfied when the direct organization of the membership {@code m}, or its super organization
+     * {@code so}, is the organization given as parameter {@code organization} or one of its suborganizations.
+     *
+     * @since 4.0
+     */
+    String MEMBERSHIP_IN_ORGANIZATION_HIERARCHY_CONDITION = "(m.researchOrganization.id IN" //$NON-NLS-1$
+            + " (SELECT c.descendantId FROM ResearchOrganizationClosure c WHERE c.ancestorId = :organization)" //$NON-NLS-1$
+            + " OR so.id IN" //$NON-NLS-1$
+            + " (SELECT c2.descendantId FROM ResearchOrganizationClosure c2 WHERE c2.ancestorId = :organization))"; //$NON-NLS-1$
+
     /**
      * Replies the list of publications for the person with the given identifier.
      *
@@ -65,6 +90,24 @@ public interface PublicationRepository extends JpaRepository<Publication, Long>,
      */
     Set<Publication> findAllByAuthorshipsPersonIdIn(Set<Long> personIds);
 
+    /**
+     * Replies the identifiers of the publications that have at least one author with a membership in the given
+     * organization that is active at the publication date. When the suborganizations are included, the hierarchy
+     * of the organizations is read from the {@link fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationClosure closure table}.
+     *
+     * @param organizationId          the identifier of the organization.
+     * @param includeSubOrganizations indicates if the memberships in the suborganizations are considered.
+     * @return the identifiers of the publications.
+     * @since 4.0
+     */
+    @Query("SELECT DISTINCT p.id FROM Publication p JOIN p.authorships a JOIN Membership m ON m.person = a.person" //$NON-NLS-1$
+            + " LEFT JOIN m.superResearchOrganization so" //$NON-NLS-1$
+            + " WHERE (m.researchOrganization.id = :organization" //$NON-NLS-1$
+            + " OR (:includeSubOrganizations = TRUE AND " + MEMBERSHIP_IN_ORGANIZATION_HIERARCHY_CONDITION + "))" //$NON-NLS-1$ //$NON-NLS-2$
+            + " AND " + ACTIVE_MEMBERSHIP_AT_PUBLICATION_CONDITION) //$NON-NLS-1$
+    Set<Long> findAllIdsWithActiveMembershipInOrganization(@Param("organization") long organizationId,
+            @Param("includeSubOrganizations") boolean includeSubOrganizations);
+
     /**
      * Replies the list of publictions for the given identifiers.
      *
@@ -123,4 +166,16 @@ public interface PublicationRepository extends JpaRepository<Publication, Long>,
     @Query("SELECT COUNT(p) AS publicationCount FROM Publication p WHERE p.type = :type AND p.publicationYear = :year")
     Integer countPublicationsForTypeAndYear(@Param("type") PublicationType type, @Param("year") Integer year);
 
+    /**
+     * Replies the counts of publications per type and per year for the given range of years.
+     * Each element of the replied list is an array with the type of publication, the year and the count of publications.
+     *
+     * @param startYear the first year of publication.
+     * @param endYear   the last year of publication.
+     * @return the counts of publications.
+     * @since 4.0
+     */
+    @Query("SELECT p.type, p.publicationYear, COUNT(p) FROM Publication p WHERE p.publicationYear BETWEEN :startYear AND :endYear GROUP BY p.type, p.publicationYear")
+    List<Object[]> countPublicationsPerTypeAndYear(@Param("startYear") int startYear, @Param("endYear") int endYear);
+
 }
@@ -95,6 +95,11 @@ public abstract class AbstractPublicationComparator extends AbstractNormalizable
         return EntityUtils.getPreferredPersonListComparator().compare(o1.getAuthors(), o2.getAuthors());
     }
 
+    @Override
+    public SimilaritySession newSimilaritySession(double similarityLevel) {
+        return new DefaultSimilaritySession(similarityLevel);
+    }
+
     private double similarity(String s1, String s2) {
         if (s1 == s2) {
             return 1.0;
@@ -118,4 +123,40 @@ public abstract class AbstractPublicationComparator extends AbstractNormalizable
         return similarity(desc1, desc2);
     }
 
+    /**
+     * Default implementation of a similarity session for publications.
+     * The descriptions of the publications are not cached because they depend on the state of the entities.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private class DefaultSimilaritySession extends AbstractSimilaritySession implements SimilaritySession {
+
+        /**
+         * Constructor.
+         *
+         * @param similarityLevel the minimum level of similarity to be used by this session.
+         */
+        DefaultSimilaritySession(double similarityLevel) {
+            super(similarityLevel);
+        }
+
+        @Override
+        public double getSimilarity(Publication publication1, Publication publication2) {
+            if (publication1 == publication2) {
+                return 1.0;
+            }
+            if (publication1 == null || publication2 == null) {
+                return 0.0;
+            }
+            final var desc1 = getPublicationDescription(publication1);
+            final var desc2 = getPublicationDescription(publication2);
+            return similarity(desc1, desc2);
+        }
+
+    }
+
 }
@@ -29,4 +29,36 @@ public abstract class AbstractPublicationTitleComparator extends AbstractNormali
         return getSimilarity(similarityComputer, normedTitle1, normedTitle2);
     }
 
+    @Override
+    public SimilaritySession newSimilaritySession(double similarityLevel) {
+        return new DefaultSimilaritySession(similarityLevel);
+    }
+
+    /**
+     * Default implementation of a similarity session for publication titles.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private class DefaultSimilaritySession extends AbstractSimilaritySession implements SimilaritySession {
+
+        /**
+         * Constructor.
+         *
+         * @param similarityLevel the minimum level of similarity to be used by this session.
+         */
+        DefaultSimilaritySession(double similarityLevel) {
+            super(similarityLevel);
+        }
+
+        @Override
+        public double getSimilarity(String title1, String title2) {
+            return AbstractPublicationTitleComparator.this.getSimilarity(getStringSimilarityComputer(), normalize(title1), normalize(title2));
+        }
+
+    }
+
 }
@@ -72,4 +72,69 @@ public interface PublicationComparator extends Comparator<Publication> {
         return similarity > getSimilarityLevel();
     }
 
+    /**
+     * Create a similarity session that is using the given similarity level.
+     * The session is immutable and it may be used by several threads at the same time.
+     *
+     * @param similarityLevel the minimum level of similarity. {@code 0} means that the publications are not
+     *                        similar, and {@code 1} means that they are totally equal.
+     * @return the session.
+     * @since 4.0
+     */
+    SimilaritySession newSimilaritySession(double similarityLevel);
+
+    /**
+     * Create a similarity session that is using the current similarity level of this comparator.
+     *
+     * @return the session.
+     * @since 4.0
+     * @see #newSimilaritySession(double)
+     */
+    default SimilaritySession newSimilaritySession() {
+        return newSimilaritySession(getSimilarityLevel());
+    }
+
+    /**
+     * Session for comparing publications with a fixed similarity level.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    interface SimilaritySession {
+
+        /**
+         * Replies the similarity level that is used by this session.
+         *
+         * @return the minimum level of similarity. {@code 0} means that the publication are not
+         * similar, and {@code 1} means that they are totally equal.
+         */
+        double getSimilarityLevel();
+
+        /**
+         * Compute and replies the similarity between the publications.
+         *
+         * @param publication1 the first publication.
+         * @param publication2 the second publication.
+         * @return the level of similarity. {@code 0} means that the publications are not
+         * similar, and {@code 1} means that they are totally equal.
+         */
+        double getSimilarity(Publication publication1, Publication publication2);
+
+        /**
+         * Check publication similarity between the publications.
+         *
+         * @param publication1 the first publication.
+         * @param publication2 the second publication.
+         * @return {@code true} if the two given publications are similar.
+         */
+        default boolean isSimilar(Publication publication1, Publication publication2) {
+            final var similarity = getSimilarity(publication1, publication2);
+            return similarity > getSimilarityLevel();
+        }
+
+    }
+
 }
@@ -50,4 +50,66 @@ public interface PublicationTitleComparator {
         return getSimilarity(title1, title2) >= getSimilarityLevel();
     }
 
+    /**
+     * Create a similarity session that is using the given similarity level.
+     * The session is immutable and it may be used by several threads at the same time.
+     * It is the preferred way to compare titles with a specific level because it does not
+     * change the state of this comparator.
+     *
+     * @param similarityLevel the minimum level of similarity, as a double between 0.0 and 1.0.
+     * @return the session.
+     */
+    SimilaritySession newSimilaritySession(double similarityLevel);
+
+    /**
+     * Create a similarity session that is using the current similarity level of this comparator.
+     *
+     * @return the session.
+     * @see #newSimilaritySession(double)
+     */
+    default SimilaritySession newSimilaritySession() {
+        return newSimilaritySession(getSimilarityLevel());
+    }
+
+    /**
+     * Session for comparing publication titles with a fixed similarity level.
+     * The normalized titles are cached during the life of the session.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    interface SimilaritySession {
+
+        /**
+         * Replies the similarity level that is used by this session.
+         *
+         * @return the similarity level, as a double between 0.0 and 1.0.
+         */
+        double getSimilarityLevel();
+
+        /**
+         * Computes the similarity between two titles.
+         *
+         * @param title1 The first title.
+         * @param title2 The second title.
+         * @return The similarity between the two titles, as a double between 0.0 (completely dissimilar) and 1.0 (identical).
+         */
+        double getSimilarity(String title1, String title2);
+
+        /**
+         * Checks if two titles are similar, based on the similarity level of this session.
+         *
+         * @param title1 The first title.
+         * @param title2 The second title.
+         * @return True if the titles are similar, false otherwise.
+         */
+        default boolean isSimilar(String title1, String title2) {
+            return getSimilarity(title1, title2) >= getSimilarityLevel();
+        }
+
+    }
+
 }
@@ -0,0 +1,324 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data.ranking;
+
+import fr.utbm.ciad.labmanager.data.EntityConstants;
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the harvesting of the rankings of a single entity from a single source within a {@link RankingHarvestJob}.
+ * When the harvesting has succeeded, the harvested values are stored as a JSON payload in order to be reviewed
+ * and applied when the user confirms the changes.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see RankingHarvestJob
+ */
+@Entity
+@Table(name = "RankingHarvestCheckpoints",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"jobId", "source", "entityId"}),
+        indexes = {
+                @Index(name = "rankingHarvestCheckpointJob", columnList = "jobId")
+        })
+public class RankingHarvestCheckpoint implements Serializable, IdentifiableEntity {
+
+    private static final long serialVersionUID = 3685307126794416262L;
+
+    /**
+     * Maximum length of the error messages that are stored into the checkpoints.
+     */
+    public static final int MESSAGE_MAX_LENGTH = 1024;
+
+    /**
+     * Identifier of the checkpoint in the database.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(nullable = false)
+    private long id;
+
+    /**
+     * Identifier of the job.
+     */
+    @Column(nullable = false)
+    private long jobId;
+
+    /**
+     * Name of the source of the rankings, e.g., {@code wos} or {@code scimago}.
+     */
+    @Column(nullable = false)
+    private String source;
+
+    /**
+     * Identifier of the entity for which the rankings are harvested.
+     */
+    @Column(nullable = false)
+    private long entityId;
+
+    /**
+     * Status of the harvesting.
+     */
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private RankingHarvestCheckpointStatus status = RankingHarvestCheckpointStatus.PENDING;
+
+    /**
+     * Harvested values in JSON.
+     */
+    @Column(length = EntityConstants.LARGE_TEXT_SIZE)
+    @Lob
+    private String payload;
+
+    /**
+     * Message of the last error.
+     */
+    @Column(length = MESSAGE_MAX_LENGTH)
+    private String message;
+
+    /**
+     * Number of times the harvesting was tried.
+     */
+    @Column
+    private int attempts;
+
+    /**
+     * Date and time of the last try of harvesting.
+     */
+    @Column
+    private LocalDateTime lastAttemptDate;
+
+    /**
+     * Construct an empty checkpoint.
+     */
+    public RankingHarvestCheckpoint() {
+        //
+    }
+
+    /**
+     * Construct a pending checkpoint.
+     *
+     * @param jobId    the identifier of the job.
+     * @param source   the name of the source of the rankings.
+     * @param entityId the identifier of the entity.
+     */
+    public RankingHarvestCheckpoint(long jobId, String source, long entityId) {
+        this.jobId = jobId;
+        this.source = source;
+        this.entityId = entityId;
+    }
+
+    @Override
+    public int hashCode() {
+        if (this.id != 0) {
+            return Long.hashCode(this.id);
+        }
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (this == obj) {
+            return true;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final var other = (RankingHarvestCheckpoint) obj;
+        return this.id != 0 && this.id == other.id;
+    }
+
+    @Override
+    public String toString() {
+        return "RankingHarvestCheckpoint:" + this.jobId + ":" + this.source + ":" + this.entityId + ":" + this.status; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    }
+
+    @Override
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Change the identifier of the checkpoint.
+     *
+     * @param id the identifier.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Replies the identifier of the job.
+     *
+     * @return the identifier of the job.
+     */
+    public long getJobId() {
+        return this.jobId;
+    }
+
+    /**
+     * Change the identifier of the job.
+     *
+     * @param id the identifier of the job.
+     */
+    public void setJobId(long id) {
+        this.jobId = id;
+    }
+
+    /**
+     * Replies the name of the source of the rankings.
+     *
+     * @return the name of the source.
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Change the name of the source of the rankings.
+     *
+     * @param source the name of the source.
+     */
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Replies the identifier of the entity for which the rankings are harvested.
+     *
+     * @return the identifier of the entity.
+     */
+    public long getEntityId() {
+        return this.entityId;
+    }
+
+    /**
+     * Change the identifier of the entity for which the rankings are harvested.
+     *
+     * @param id the identifier of the entity.
+     */
+    public void setEntityId(long id) {
+        this.entityId = id;
+    }
+
+    /**
+     * Replies the status of the harvesting.
+     *
+     * @return the status.
+     */
+    public RankingHarvestCheckpointStatus getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Change the status of the harvesting.
+     *
+     * @param status the status.
+     */
+    public void setStatus(RankingHarvestCheckpointStatus status) {
+        this.status = status == null ? RankingHarvestCheckpointStatus.PENDING : status;
+    }
+
+    /**
+     * Replies the harvested values in JSON.
+     *
+     * @return the JSON payload, or {@code null} if nothing was harvested.
+     */
+    public String getPayload() {
+        return this.payload;
+    }
+
+    /**
+     * Change the harvested values in JSON.
+     *
+     * @param payload the JSON payload, or {@code null} if nothing was harvested.
+     */
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Replies the message of the last error.
+     *
+     * @return the message, or {@code null} if no error occurred.
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Change the message of the last error. The message is truncated to {@link #MESSAGE_MAX_LENGTH} characters.
+     *
+     * @param message the message, or {@code null} if no error occurred.
+     */
+    public void setMessage(String message) {
+        if (message != null && message.length() > MESSAGE_MAX_LENGTH) {
+            this.message = message.substring(0, MESSAGE_MAX_LENGTH);
+        } else {
+            this.message = message;
+        }
+    }
+
+    /**
+     * Replies the number of times the harvesting was tried.
+     *
+     * @return the number of tries.
+     */
+    public int getAttempts() {
+        return this.attempts;
+    }
+
+    /**
+     * Change the number of times the harvesting was tried.
+     *
+     * @param attempts the number of tries.
+     */
+    public void setAttempts(int attempts) {
+        this.attempts = Math.max(0, attempts);
+    }
+
+    /**
+     * Replies the date and time of the last try of harvesting.
+     *
+     * @return the date of the last try, or {@code null} if the harvesting was never tried.
+     */
+    public LocalDateTime getLastAttemptDate() {
+        return this.lastAttemptDate;
+    }
+
+    /**
+     * Change the date and time of the last try of harvesting.
+     *
+     * @param date the date of the last try, or {@code null} if the harvesting was never tried.
+     */
+    public void setLastAttemptDate(LocalDateTime date) {
+        this.lastAttemptDate = date;
+    }
+
+}
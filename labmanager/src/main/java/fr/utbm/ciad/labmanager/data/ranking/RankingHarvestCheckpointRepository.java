@@ -0,0 +1,107 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data.ranking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JPA Repository for the checkpoints of the jobs of harvesting of rankings.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see RankingHarvestCheckpoint
+ */
+public interface RankingHarvestCheckpointRepository extends JpaRepository<RankingHarvestCheckpoint, Long> {
+
+    /**
+     * Replies the checkpoints of the given job and source that have one of the given status.
+     *
+     * @param jobId  the identifier of the job.
+     * @param source the name of the source.
+     * @param status the accepted status.
+     * @return the checkpoints.
+     */
+    List<RankingHarvestCheckpoint> findAllByJobIdAndSourceAndStatusIn(long jobId, String source, Collection<RankingHarvestCheckpointStatus> status);
+
+    /**
+     * Replies the checkpoints of the given job and source.
+     *
+     * @param jobId  the identifier of the job.
+     * @param source the name of the source.
+     * @return the checkpoints.
+     */
+    List<RankingHarvestCheckpoint> findAllByJobIdAndSource(long jobId, String source);
+
+    /**
+     * Replies the checkpoints of the given job.
+     *
+     * @param jobId the identifier of the job.
+     * @return the checkpoints.
+     */
+    List<RankingHarvestCheckpoint> findAllByJobId(long jobId);
+
+    /**
+     * Replies the identifiers of the entities that are harvested by the given job.
+     *
+     * @param jobId the identifier of the job.
+     * @return the identifiers of the entities.
+     */
+    @Query("SELECT DISTINCT c.entityId FROM RankingHarvestCheckpoint c WHERE c.jobId = ?1")
+    Set<Long> findEntityIds(long jobId);
+
+    /**
+     * Replies the names of the sources that are harvested by the given job.
+     *
+     * @param jobId the identifier of the job.
+     * @return the names of the sources.
+     */
+    @Query("SELECT DISTINCT c.source FROM RankingHarvestCheckpoint c WHERE c.jobId = ?1")
+    Set<String> findSources(long jobId);
+
+    /**
+     * Replies the number of checkpoints per status for the given job.
+     * Each element of the replied list is a pair of the status and of the count of checkpoints.
+     *
+     * @param jobId the identifier of the job.
+     * @return the count of checkpoints per status.
+     */
+    @Query("SELECT c.status, COUNT(c) FROM RankingHarvestCheckpoint c WHERE c.jobId = ?1 GROUP BY c.status")
+    List<Object[]> countByStatus(long jobId);
+
+    /**
+     * Replies the number of checkpoints per status for the given job and source.
+     * Each element of the replied list is a pair of the status and of the count of checkpoints.
+     *
+     * @param jobId  the identifier of the job.
+     * @param source the name of the source.
+     * @return the count of checkpoints per status.
+     */
+    @Query("SELECT c.status, COUNT(c) FROM RankingHarvestCheckpoint c WHERE c.jobId = ?1 AND c.source = ?2 GROUP BY c.status")
+    List<Object[]> countByStatus(long jobId, String source);
+
+}
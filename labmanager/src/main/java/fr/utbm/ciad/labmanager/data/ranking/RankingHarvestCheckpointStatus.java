@@ -0,0 +1,62 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data.ranking;
+
+/**
+ * Status of a {@link RankingHarvestCheckpoint}, i.e., of the harvesting of the rankings of one entity from one source.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public enum RankingHarvestCheckpointStatus {
+
+    /**
+     * The rankings of the entity were not yet harvested.
+     */
+    PENDING,
+
+    /**
+     * The rankings of the entity were harvested, and they are stored in the checkpoint.
+     */
+    SUCCEEDED,
+
+    /**
+     * The entity has nothing to harvest from the source, e.g., it has no identifier on the source or its rankings are unchanged.
+     */
+    SKIPPED,
+
+    /**
+     * The harvesting of the rankings has failed. It may be retried.
+     */
+    FAILED;
+
+    /**
+     * Replies if the harvesting of the entity must be run (again).
+     *
+     * @return {@code true} if the entity must be harvested.
+     */
+    public boolean isHarvestable() {
+        return this == PENDING || this == FAILED;
+    }
+
+}
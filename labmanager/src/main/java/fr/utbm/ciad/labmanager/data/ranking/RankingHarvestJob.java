@@ -0,0 +1,317 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data.ranking;
+
+import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Server-side run of the harvesting of rankings from external sources (Web-of-Science, Scopus, Scimago, etc.)
+ * for a set of entities. The progress of the harvesting is stored entity per entity and source per source
+ * into {@link RankingHarvestCheckpoint checkpoints}. In this way, a job that is interrupted, e.g., when the
+ * browser is closed or when a source is not responding, may be resumed without harvesting again the entities
+ * that were already processed; and its results may be reviewed and applied later.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see RankingHarvestCheckpoint
+ */
+@Entity
+@Table(name = "RankingHarvestJobs")
+public class RankingHarvestJob implements Serializable, IdentifiableEntity {
+
+    private static final long serialVersionUID = -2419586263102497416L;
+
+    private static final String OPTION_SEPARATOR = ","; //$NON-NLS-1$
+
+    /**
+     * Identifier of the job in the database.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(nullable = false)
+    private long id;
+
+    /**
+     * Type of the entities for which the rankings are harvested.
+     */
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private RankingHarvestTarget target;
+
+    /**
+     * Reference year of the rankings, or {@code 0} if the rankings are not associated to a year.
+     */
+    @Column
+    private int referenceYear;
+
+    /**
+     * Options that were selected for the job, separated by comas. Their meaning depends on the target.
+     */
+    @Column
+    private String options;
+
+    /**
+     * Status of the job.
+     */
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private RankingHarvestJobStatus status = RankingHarvestJobStatus.OPEN;
+
+    /**
+     * Login of the user who has created the job.
+     */
+    @Column
+    private String owner;
+
+    /**
+     * Date and time of the creation of the job.
+     */
+    @Column
+    private LocalDateTime creationDate;
+
+    /**
+     * Date and time of the last change of the job or of one of its checkpoints.
+     */
+    @Column
+    private LocalDateTime lastUpdateDate;
+
+    /**
+     * Construct an empty job.
+     */
+    public RankingHarvestJob() {
+        //
+    }
+
+    /**
+     * Construct a job.
+     *
+     * @param target        the type of the entities for which the rankings are harvested.
+     * @param referenceYear the reference year of the rankings, or {@code 0}.
+     * @param options       the options that were selected for the job.
+     * @param owner         the login of the user who has created the job.
+     */
+    public RankingHarvestJob(RankingHarvestTarget target, int referenceYear, Collection<String> options, String owner) {
+        this.target = target;
+        this.referenceYear = referenceYear;
+        setOptions(options);
+        this.owner = owner;
+        this.creationDate = LocalDateTime.now();
+        this.lastUpdateDate = this.creationDate;
+    }
+
+    @Override
+    public int hashCode() {
+        if (this.id != 0) {
+            return Long.hashCode(this.id);
+        }
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (this == obj) {
+            return true;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final var other = (RankingHarvestJob) obj;
+        return this.id != 0 && this.id == other.id;
+    }
+
+    @Override
+    public String toString() {
+        return "RankingHarvestJob:" + this.id + ":" + this.target + ":" + this.status; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    @Override
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Change the identifier of the job.
+     *
+     * @param id the identifier.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Replies the type of the entities for which the rankings are harvested.
+     *
+     * @return the type of the entities.
+     */
+    public RankingHarvestTarget getTarget() {
+        return this.target;
+    }
+
+    /**
+     * Change the type of the entities for which the rankings are harvested.
+     *
+     * @param target the type of the entities.
+     */
+    public void setTarget(RankingHarvestTarget target) {
+        this.target = target;
+    }
+
+    /**
+     * Replies the reference year of the rankings.
+     *
+     * @return the reference year, or {@code 0} if the rankings are not associated to a year.
+     */
+    public int getReferenceYear() {
+        return this.referenceYear;
+    }
+
+    /**
+     * Change the reference year of the rankings.
+     *
+     * @param year the reference year, or {@code 0} if the rankings are not associated to a year.
+     */
+    public void setReferenceYear(int year) {
+        this.referenceYear = year;
+    }
+
+    /**
+     * Replies the options that were selected for the job.
+     *
+     * @return the options, never {@code null}.
+     */
+    public Set<String> getOptions() {
+        if (Strings.isNullOrEmpty(this.options)) {
+            return Collections.emptySet();
+        }
+        return new TreeSet<>(Arrays.asList(this.options.split(OPTION_SEPARATOR)));
+    }
+
+    /**
+     * Change the options that were selected for the job.
+     *
+     * @param options the options.
+     */
+    public void setOptions(Collection<String> options) {
+        if (options == null || options.isEmpty()) {
+            this.options = null;
+        } else {
+            this.options = String.join(OPTION_SEPARATOR, new TreeSet<>(options));
+        }
+    }
+
+    /**
+     * Replies if the given option was selected for the job.
+     *
+     * @param option the option to test.
+     * @return {@code true} if the option is selected.
+     */
+    public boolean hasOption(String option) {
+        return getOptions().contains(option);
+    }
+
+    /**
+     * Replies the status of the job.
+     *
+     * @return the status.
+     */
+    public RankingHarvestJobStatus getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Change the status of the job.
+     *
+     * @param status the status.
+     */
+    public void setStatus(RankingHarvestJobStatus status) {
+        this.status = status == null ? RankingHarvestJobStatus.OPEN : status;
+    }
+
+    /**
+     * Replies the login of the user who has created the job.
+     *
+     * @return the login, or {@code null} if unknown.
+     */
+    public String getOwner() {
+        return this.owner;
+    }
+
+    /**
+     * Change the login of the user who has created the job.
+     *
+     * @param owner the login, or {@code null} if unknown.
+     */
+    public void setOwner(String owner) {
+        this.owner = Strings.emptyToNull(owner);
+    }
+
+    /**
+     * Replies the date and time of the creation of the job.
+     *
+     * @return the creation date.
+     */
+    public LocalDateTime getCreationDate() {
+        return this.creationDate;
+    }
+
+    /**
+     * Change the date and time of the creation of the job.
+     *
+     * @param date the creation date.
+     */
+    public void setCreationDate(LocalDateTime date) {
+        this.creationDate = date;
+    }
+
+    /**
+     * Replies the date and time of the last change of the job or of one of its checkpoints.
+     *
+     * @return the date of the last change.
+     */
+    public LocalDateTime getLastUpdateDate() {
+        return this.lastUpdateDate;
+    }
+
+    /**
+     * Change the date and time of the last change of the job or of one of its checkpoints.
+     *
+     * @param date the date of the last change.
+     */
+    public void setLastUpdateDate(LocalDateTime date) {
+        this.lastUpdateDate = date;
+    }
+
+}
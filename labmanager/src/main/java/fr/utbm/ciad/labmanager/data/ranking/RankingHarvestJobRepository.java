@@ -0,0 +1,81 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data.ranking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JPA Repository for the jobs of harvesting of rankings.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see RankingHarvestJob
+ */
+public interface RankingHarvestJobRepository extends JpaRepository<RankingHarvestJob, Long> {
+
+    /**
+     * Replies all the jobs from the most recent to the oldest.
+     *
+     * @return the jobs.
+     */
+    List<RankingHarvestJob> findAllByOrderByCreationDateDesc();
+
+    /**
+     * Replies the jobs for the given type of entities and with the given status, from the most recent to the oldest.
+     *
+     * @param target the type of the entities.
+     * @param status the status of the jobs.
+     * @return the jobs.
+     */
+    List<RankingHarvestJob> findAllByTargetAndStatusOrderByCreationDateDesc(RankingHarvestTarget target, RankingHarvestJobStatus status);
+
+    /**
+     * Replies the status of the job with the given identifier, without loading the job.
+     *
+     * @param id the identifier of the job.
+     * @return the status of the job, or {@code null} if there is no job with the given identifier.
+     */
+    @Query("SELECT j.status FROM RankingHarvestJob j WHERE j.id = ?1")
+    RankingHarvestJobStatus findStatusById(long id);
+
+    /**
+     * Change the date of the last update of the job with the given identifier.
+     * Only this column is changed in order to not override a status that was concurrently changed,
+     * e.g., when the job is cancelled while it is harvested.
+     *
+     * @param id   the identifier of the job.
+     * @param date the new date of last update.
+     * @return the number of updated jobs.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RankingHarvestJob j SET j.lastUpdateDate = ?2 WHERE j.id = ?1")
+    int updateLastUpdateDate(long id, LocalDateTime date);
+
+}
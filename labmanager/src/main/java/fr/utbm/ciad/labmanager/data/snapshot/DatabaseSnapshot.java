@@ -0,0 +1,191 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data.snapshot;
+
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Description of the data snapshot, i.e., the {@code data.json} or {@code data.zip} file, that was
+ * lastly loaded into the database at startup.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see DatabaseSnapshotEntry
+ */
+@Entity
+@Table(name = "DatabaseSnapshots")
+public class DatabaseSnapshot implements Serializable, IdentifiableEntity {
+
+    private static final long serialVersionUID = -2071584733419529312L;
+
+    /**
+     * Length of the fingerprints, i.e., the hexadecimal representation of a SHA-256 hash.
+     */
+    public static final int FINGERPRINT_LENGTH = 64;
+
+    /**
+     * Identifier of the snapshot in the database.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(nullable = false)
+    private long id;
+
+    /**
+     * Fingerprint of the content of the snapshot file.
+     */
+    @Column(nullable = false, length = FINGERPRINT_LENGTH)
+    private String fingerprint;
+
+    /**
+     * URL of the snapshot file.
+     */
+    @Column
+    private String source;
+
+    /**
+     * Date and time of the loading of the snapshot.
+     */
+    @Column
+    private LocalDateTime loadDate;
+
+    /**
+     * Construct an empty snapshot description.
+     */
+    public DatabaseSnapshot() {
+        //
+    }
+
+    /**
+     * Construct a snapshot description that is loaded now.
+     *
+     * @param fingerprint the fingerprint of the content of the snapshot file.
+     * @param source      the URL of the snapshot file.
+     */
+    public DatabaseSnapshot(String fingerprint, String source) {
+        this.fingerprint = fingerprint;
+        this.source = source;
+        this.loadDate = LocalDateTime.now();
+    }
+
+    @Override
+    public int hashCode() {
+        if (this.id != 0) {
+            return Long.hashCode(this.id);
+        }
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (this == obj) {
+            return true;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final var other = (DatabaseSnapshot) obj;
+        return this.id != 0 && this.id == other.id;
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseSnapshot:" + this.source + ":" + this.fingerprint; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Override
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Change the identifier of the snapshot description.
+     *
+     * @param id the identifier.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Replies the fingerprint of the content of the snapshot file.
+     *
+     * @return the fingerprint.
+     */
+    public String getFingerprint() {
+        return this.fingerprint;
+    }
+
+    /**
+     * Change the fingerprint of the content of the snapshot file.
+     *
+     * @param fingerprint the fingerprint.
+     */
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Replies the URL of the snapshot file.
+     *
+     * @return the URL.
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Change the URL of the snapshot file.
+     *
+     * @param source the URL.
+     */
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Replies the date and time of the loading of the snapshot.
+     *
+     * @return the date and time.
+     */
+    public LocalDateTime getLoadDate() {
+        return this.loadDate;
+    }
+
+    /**
+     * Change the date and time of the loading of the snapshot.
+     *
+     * @param date the date and time.
+     */
+    public void setLoadDate(LocalDateTime date) {
+        this.loadDate = date;
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data.snapshot;
+
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+
+/**
+ * Entry of a section of the data snapshot that was lastly loaded into the database at startup.
+ * Each entry is identified within its section by its JSON identifier ({@code @id}), or by its fingerprint if it
+ * has no identifier. The database identifier of the entity that was created for the entry is kept in order to
+ * resolve the references from the entries that are loaded later.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see DatabaseSnapshot
+ */
+@Entity
+@Table(name = "DatabaseSnapshotEntries", indexes = {
+        @Index(name = "databaseSnapshotEntrySection", columnList = "section")
+})
+public class DatabaseSnapshotEntry implements Serializable, IdentifiableEntity {
+
+    private static final long serialVersionUID = 8119016285512637785L;
+
+    /**
+     * Identifier of the entry in the database.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(nullable = false)
+    private long id;
+
+    /**
+     * Name of the section of the snapshot, e.g., {@code persons}.
+     */
+    @Column(nullable = false)
+    private String section;
+
+    /**
+     * JSON identifier of the entry, or its fingerprint if it has no identifier.
+     */
+    @Column(nullable = false)
+    private String entryKey;
+
+    /**
+     * Fingerprint of the JSON content of the entry.
+     */
+    @Column(nullable = false, length = DatabaseSnapshot.FINGERPRINT_LENGTH)
+    private String fingerprint;
+
+    /**
+     * Identifier in the database of the entity that was created for the entry, or {@code 0} if unknown.
+     */
+    @Column
+    private long databaseId;
+
+    /**
+     * Construct an empty entry.
+     */
+    public DatabaseSnapshotEntry() {
+        //
+    }
+
+    /**
+     * Construct an entry.
+     *
+     * @param section     the name of the section of the snapshot.
+     * @param entryKey    the JSON identifier of the entry, or its fingerprint if it has no identifier.
+     * @param fingerprint the fingerprint of the JSON content of the entry.
+     * @param databaseId  the identifier in the database of the entity that was created for the entry, or {@code 0}.
+     */
+    public DatabaseSnapshotEntry(String section, String entryKey, String fingerprint, long databaseId) {
+        this.section = section;
+        this.entryKey = entryKey;
+        this.fingerprint = fingerprint;
+        this.databaseId = databaseId;
+    }
+
+    @Override
+    public int hashCode() {
+        if (this.id != 0) {
+            return Long.hashCode(this.id);
+        }
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (this == obj) {
+            return true;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final var other = (DatabaseSnapshotEntry) obj;
+        return this.id != 0 && this.id == other.id;
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseSnapshotEntry:" + this.section + ":" + this.entryKey + ":" + this.databaseId; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    @Override
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Change the identifier of the entry.
+     *
+     * @param id the identifier.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Replies the name of the section of the snapshot.
+     *
+     * @return the name of the section.
+     */
+    public String getSection() {
+        return this.section;
+    }
+
+    /**
+     * Change the name of the section of the snapshot.
+     *
+     * @param section the name of the section.
+     */
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    /**
+     * Replies the JSON identifier of the entry, or its fingerprint if it has no identifier.
+     *
+     * @return the key of the entry.
+     */
+    public String getEntryKey() {
+        return this.entryKey;
+    }
+
+    /**
+     * Change the JSON identifier of the entry, or its fingerprint if it has no identifier.
+     *
+     * @param key the key of the entry.
+     */
+    public void setEntryKey(String key) {
+        this.entryKey = key;
+    }
+
+    /**
+     * Replies the fingerprint of the JSON content of the entry.
+     *
+     * @return the fingerprint.
+     */
+    public String getFingerprint() {
+        return this.fingerprint;
+    }
+
+    /**
+     * Change the fingerprint of the JSON content of the entry.
+     *
+     * @param fingerprint the fingerprint.
+     */
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Replies the identifier in the database of the entity that was created for the entry.
+     *
+     * @return the identifier, or {@code 0} if unknown.
+     */
+    public long getDatabaseId() {
+        return this.databaseId;
+    }
+
+    /**
+     * Change the identifier in the database of the entity that was created for the entry.
+     *
+     * @param id the identifier, or {@code 0} if unknown.
+     */
+    public void setDatabaseId(long id) {
+        this.databaseId = id;
+    }
+
+}
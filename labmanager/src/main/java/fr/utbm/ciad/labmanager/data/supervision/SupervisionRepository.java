@@ -19,6 +19,10 @@
 
 package fr.utbm.ciad.labmanager.data.supervision;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
@@ -70,4 +74,17 @@ public interface SupervisionRepository extends JpaRepository<Supervision, Long>,
      */
     int countDistinctBySupervisedPersonPersonId(long id);
 
+    /**
+     * Replies the supervisions that are matching the given filter.
+     * The supervised memberships and their persons are loaded within the same query.
+     *
+     * @param spec     the filter of the supervisions.
+     * @param pageable the manager of pages.
+     * @return the page of supervisions.
+     * @since 4.0
+     */
+    @Override
+    @EntityGraph(attributePaths = {"supervisedPerson", "supervisedPerson.person"})
+    Page<Supervision> findAll(Specification<Supervision> spec, Pageable pageable);
+
 }
@@ -20,6 +20,7 @@
 package fr.utbm.ciad.labmanager.security;
 
 import com.google.common.base.Strings;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.spring.security.AuthenticationContext;
 import fr.utbm.ciad.labmanager.data.user.User;
 import fr.utbm.ciad.labmanager.data.user.UserRepository;
@@ -28,10 +29,15 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.Serializable;
 import java.util.Optional;
 
 /**
  * Connected application user.
+ * The {@link UserPrincipal} of the user is resolved once per Vaadin session; it is kept in the session until
+ * the {@link UserPrincipalCache} notifies that the user or its linked person has changed, or until the
+ * time-to-live of the cache is reached. The session never stores the user entity; it is reloaded from its
+ * identifier when it is needed.
  *
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -46,15 +52,20 @@ public class AuthenticatedUser {
 
     private final AuthenticationContext authenticationContext;
 
+    private final UserPrincipalCache principalCache;
+
     /**
      * Constructor.
      *
      * @param authenticationContext the context of authentication of the application.
      * @param userRepository        the repository to have access to the application users.
+     * @param principalCache        the cache of the resolved users.
      */
-    public AuthenticatedUser(@Autowired AuthenticationContext authenticationContext, @Autowired UserRepository userRepository) {
+    public AuthenticatedUser(@Autowired AuthenticationContext authenticationContext, @Autowired UserRepository userRepository,
+                             @Autowired UserPrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.authenticationContext = authenticationContext;
+        this.principalCache = principalCache;
     }
 
     /**
@@ -81,9 +92,9 @@ public class AuthenticatedUser {
      */
     public static String getUserName(AuthenticatedUser user) {
         if (user != null) {
-            final var ouser = user.get();
-            if (ouser.isPresent()) {
-                return Strings.nullToEmpty(ouser.get().getLogin());
+            final var principal = user.getPrincipal();
+            if (principal.isPresent()) {
+                return Strings.nullToEmpty(principal.get().login());
             }
         }
         return ""; //$NON-NLS-1$
@@ -91,6 +102,8 @@ public class AuthenticatedUser {
 
     /**
      * Replies the authenticated user.
+     * The user entity is loaded from the database; use {@link #getPrincipal()} when only the identifiers
+     * and the role of the user are needed.
      *
      * @return the user.
      */
@@ -98,12 +111,72 @@ public class AuthenticatedUser {
     public Optional<User> get() {
         final var userName = getUserName(this.authenticationContext);
         if (!Strings.isNullOrEmpty(userName)) {
+            final var principal = getResolvedPrincipal(userName);
+            if (principal != null) {
+                return this.userRepository.findById(Long.valueOf(principal.userId()));
+            }
+            final var version = this.principalCache.getVersion(userName);
             final var user = this.userRepository.findByLogin(userName);
+            storeResolvedPrincipal(userName, user.map(it -> this.principalCache.put(it, version)), version);
             return user;
         }
         return Optional.empty();
     }
 
+    /**
+     * Replies the resolved description of the authenticated user, without loading the user entity
+     * if it is already known.
+     *
+     * @return the principal of the user.
+     */
+    public Optional<UserPrincipal> getPrincipal() {
+        final var userName = getUserName(this.authenticationContext);
+        if (!Strings.isNullOrEmpty(userName)) {
+            final var principal = getResolvedPrincipal(userName);
+            if (principal != null) {
+                return Optional.of(principal);
+            }
+            final var version = this.principalCache.getVersion(userName);
+            final var loaded = this.principalCache.getOrLoad(userName, () -> this.userRepository.findByLogin(userName));
+            storeResolvedPrincipal(userName, loaded, version);
+            return loaded;
+        }
+        return Optional.empty();
+    }
+
+    private static VaadinSession getLockedSession() {
+        final var session = VaadinSession.getCurrent();
+        // The session attributes could be accessed only by the thread that is holding the session lock
+        if (session != null && session.hasLock()) {
+            return session;
+        }
+        return null;
+    }
+
+    private UserPrincipal getResolvedPrincipal(String userName) {
+        final var session = getLockedSession();
+        if (session != null) {
+            final var resolved = session.getAttribute(ResolvedUser.class);
+            if (resolved != null && resolved.isValid(userName, this.principalCache.getVersion(userName))) {
+                return resolved.principal();
+            }
+        }
+        return null;
+    }
+
+    private void storeResolvedPrincipal(String userName, Optional<UserPrincipal> principal, long version) {
+        final var session = getLockedSession();
+        if (session != null) {
+            final ResolvedUser resolved;
+            if (principal.isPresent() && this.principalCache.isEnabled() && userName.equals(principal.get().login())) {
+                resolved = new ResolvedUser(principal.get(), version, System.currentTimeMillis() + this.principalCache.getTimeToLive());
+            } else {
+                resolved = null;
+            }
+            session.setAttribute(ResolvedUser.class, resolved);
+        }
+    }
+
     /**
      * Log out the user.
      */
@@ -111,4 +184,32 @@ public class AuthenticatedUser {
         this.authenticationContext.logout();
     }
 
+    /**
+     * User that is resolved for a Vaadin session.
+     *
+     * @param principal the principal of the user.
+     * @param version the version of the user in the {@link UserPrincipalCache} when it was resolved.
+     * @param expiryTime the time in milliseconds at which the resolved user must be resolved again.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private record ResolvedUser(UserPrincipal principal, long version, long expiryTime) implements Serializable {
+
+        /**
+         * Replies if the resolved user could be used for the given login.
+         *
+         * @param login the login of the connected user.
+         * @param currentVersion the current version of the user in the {@link UserPrincipalCache}.
+         * @return {@code true} if the resolved user is still valid.
+         */
+        boolean isValid(String login, long currentVersion) {
+            return this.version == currentVersion && System.currentTimeMillis() < this.expiryTime
+                    && login.equals(this.principal.login());
+        }
+
+    }
+
 }
@@ -21,6 +21,7 @@ package fr.utbm.ciad.labmanager.security;
 
 import com.vaadin.flow.spring.security.VaadinWebSecurity;
 import fr.utbm.ciad.labmanager.Constants;
+import fr.utbm.ciad.labmanager.data.user.UserRole;
 import fr.utbm.ciad.labmanager.security.cas.*;
 import fr.utbm.ciad.labmanager.views.appviews.login.DevelopperLoginView;
 import org.apereo.cas.client.session.SingleSignOutFilter;
@@ -67,6 +68,8 @@ public class SecurityConfiguration extends VaadinWebSecurity {
 
     private static final String API_URL = "/api/v" + Constants.MANAGER_MAJOR_VERSION + "/**/*"; //$NON-NLS-1$ //$NON-NLS-2$
 
+    private static final String ORGANIZATION_ACTIVITIES_API_URL = "/api/v" + Constants.MANAGER_MAJOR_VERSION + "/organizations/activities"; //$NON-NLS-1$ //$NON-NLS-2$
+
     @Autowired
     private UserDetailsService userDetailsService;
 
@@ -156,6 +159,8 @@ public class SecurityConfiguration extends VaadinWebSecurity {
     protected final void configure(HttpSecurity http) throws Exception {
         if (isCasLoginDisabled()) {
             http.authorizeHttpRequests(authorize -> authorize
+                    // The activities of the members are personal data
+                    .requestMatchers(new AntPathRequestMatcher(ORGANIZATION_ACTIVITIES_API_URL)).hasAnyAuthority(UserRole.RESPONSIBLE_GRANT, UserRole.ADMIN_GRANT)
                     .requestMatchers(new AntPathRequestMatcher("/api/**/*")).permitAll()
                     .requestMatchers(new AntPathRequestMatcher("/images/**/*")).permitAll() //$NON-NLS-1$
                     .requestMatchers(new AntPathRequestMatcher("/line-awesome/**/*.svg")).permitAll() //$NON-NLS-1$
@@ -176,6 +181,8 @@ public class SecurityConfiguration extends VaadinWebSecurity {
             //
             http.authorizeHttpRequests(authorize ->
                     authorize
+                            // The activities of the members are personal data
+                            .requestMatchers(new AntPathRequestMatcher(ORGANIZATION_ACTIVITIES_API_URL)).hasAnyAuthority(UserRole.RESPONSIBLE_GRANT, UserRole.ADMIN_GRANT)
                             .requestMatchers(new AntPathRequestMatcher("/api/**/*")).permitAll()
                             .requestMatchers(new AntPathRequestMatcher("/images/**/*")).permitAll() //$NON-NLS-1$
                             .requestMatchers(new AntPathRequestMatcher("/line-awesome/**/*.svg")).permitAll() //$NON-NLS-1$
@@ -0,0 +1,54 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.security;
+
+import fr.utbm.ciad.labmanager.data.user.User;
+import fr.utbm.ciad.labmanager.data.user.UserRole;
+
+import java.io.Serializable;
+
+/**
+ * Resolved description of an application user, that is kept in memory for avoiding
+ * to query the database each time the connected user is needed.
+ *
+ * @param userId the identifier of the user.
+ * @param login the login of the user.
+ * @param role the role of the user.
+ * @param personId the identifier of the person that is linked to the user, or {@code 0} if none.
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public record UserPrincipal(long userId, String login, UserRole role, long personId) implements Serializable {
+
+    /**
+     * Create the principal for the given user.
+     *
+     * @param user the user.
+     * @return the principal.
+     */
+    public static UserPrincipal of(User user) {
+        final var person = user.getPerson();
+        return new UserPrincipal(user.getId(), user.getLogin(), user.getRole(), person == null ? 0 : person.getId());
+    }
+
+}
@@ -0,0 +1,245 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.security;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeEvent;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the resolved application users that is shared by all the sessions.
+ * The cache is small: it contains at most one entry per user of the application.
+ * For each login, the cache stores the {@link UserPrincipal} and a version number. The version is incremented
+ * when the user or its linked person is changed in the database; the sessions use it for detecting
+ * that their own copy of the user is outdated. The changes are received from the {@link EntityChangeBroadcaster},
+ * and from the {@link fr.utbm.ciad.labmanager.services.user.UserService} when a user is saved or deleted.
+ *
+ * <p>Because the role of a user is a security information, a principal is never kept longer than a time-to-live,
+ * even if no change was notified. When the broadcaster is disabled, the changes made by other processes cannot
+ * be received and the principals are not cached at all.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see AuthenticatedUser
+ * @see UserSecurityService
+ */
+@Component
+public class UserPrincipalCache implements Serializable {
+
+    private static final long serialVersionUID = 3811580347265113424L;
+
+    private final transient Map<String, CacheEntry> entries = new HashMap<>();
+
+    private final transient Map<String, Long> versions = new HashMap<>();
+
+    private final long timeToLive;
+
+    private final boolean enabled;
+
+    private long nextVersion = 1;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param broadcaster the broadcaster of the entity changes.
+     * @param timeToLive the duration in milliseconds during which a principal is kept in the cache. If it is not strictly
+     *     positive, the principals are not cached.
+     */
+    public UserPrincipalCache(
+            @Autowired EntityChangeBroadcaster broadcaster,
+            @Value("${labmanager.security.principal-cache-ttl:300000}") long timeToLive) {
+        this.timeToLive = timeToLive;
+        this.enabled = broadcaster != null && broadcaster.isEnabled() && timeToLive > 0;
+        if (this.enabled) {
+            broadcaster.register(User.class, this::onEntityChange);
+            broadcaster.register(Person.class, this::onEntityChange);
+        }
+    }
+
+    /**
+     * Replies if the principals are cached.
+     *
+     * @return {@code true} if the principals are cached.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Replies the duration during which a principal is kept in the cache.
+     *
+     * @return the duration in milliseconds.
+     */
+    public long getTimeToLive() {
+        return this.timeToLive;
+    }
+
+    private void onEntityChange(EntityChangeEvent event) {
+        if (event.isFor(User.class)) {
+            invalidateIf(it -> it.userId() == event.id());
+        } else {
+            invalidateIf(it -> it.personId() == event.id());
+        }
+    }
+
+    private synchronized void invalidateIf(Predicate<UserPrincipal> predicate) {
+        final var iterator = this.entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final var entry = iterator.next();
+            if (predicate.test(entry.getValue().principal())) {
+                iterator.remove();
+                this.versions.put(entry.getKey(), Long.valueOf(this.nextVersion++));
+            }
+        }
+    }
+
+    /**
+     * Invalidate the cached information for the user with the given identifier.
+     * This function must be used when the login of the user may have changed.
+     *
+     * @param userId the identifier of the user.
+     */
+    public void invalidateUser(long userId) {
+        invalidateIf(it -> it.userId() == userId);
+    }
+
+    /**
+     * Invalidate the cached information for the given login.
+     *
+     * @param login the login of the user.
+     */
+    public synchronized void invalidate(String login) {
+        this.entries.remove(login);
+        this.versions.put(login, Long.valueOf(this.nextVersion++));
+    }
+
+    /**
+     * Invalidate all the cached information.
+     */
+    public synchronized void invalidateAll() {
+        for (final var login : this.entries.keySet()) {
+            this.versions.put(login, Long.valueOf(this.nextVersion++));
+        }
+        this.entries.clear();
+    }
+
+    /**
+     * Replies the version of the cached information for the given login.
+     * The version changes each time the user or its linked person is changed.
+     *
+     * @param login the login of the user.
+     * @return the version.
+     */
+    public synchronized long getVersion(String login) {
+        final var version = this.versions.get(login);
+        return version == null ? 0 : version.longValue();
+    }
+
+    /**
+     * Replies the cached principal for the given login.
+     *
+     * @param login the login of the user.
+     * @return the principal, or empty if the user is not in the cache or if its entry has expired.
+     */
+    public synchronized Optional<UserPrincipal> get(String login) {
+        final var entry = this.entries.get(login);
+        // An expired entry is kept until it is replaced in order to increment its version on the next change
+        if (entry == null || entry.isExpired()) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.principal());
+    }
+
+    /**
+     * Replies the principal for the given login, and resolve it if it is not in the cache.
+     *
+     * @param login the login of the user.
+     * @param loader the function that loads the user from the database.
+     * @return the principal, or empty if the user is unknown.
+     */
+    public Optional<UserPrincipal> getOrLoad(String login, Supplier<Optional<User>> loader) {
+        final long version;
+        synchronized (this) {
+            final var cached = get(login);
+            if (cached.isPresent()) {
+                return cached;
+            }
+            version = getVersion(login);
+        }
+        // The database is queried outside the lock
+        return loader.get().map(it -> put(it, version));
+    }
+
+    /**
+     * Put the given user into the cache if it was not changed since the given version.
+     *
+     * @param user the user.
+     * @param version the version of the cached information when the user was loaded.
+     * @return the principal of the user.
+     */
+    public synchronized UserPrincipal put(User user, long version) {
+        final var principal = UserPrincipal.of(user);
+        // Do not cache a user that was changed while it was loaded
+        if (this.enabled && getVersion(principal.login()) == version) {
+            this.entries.put(principal.login(), new CacheEntry(principal, System.currentTimeMillis() + this.timeToLive));
+        }
+        return principal;
+    }
+
+    /**
+     * Entry in the cache.
+     *
+     * @param principal the cached principal.
+     * @param expiryTime the time in milliseconds at which the entry expires.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private record CacheEntry(UserPrincipal principal, long expiryTime) {
+
+        /**
+         * Replies if the entry has expired.
+         *
+         * @return {@code true} if the entry has expired.
+         */
+        boolean isExpired() {
+            return System.currentTimeMillis() >= this.expiryTime;
+        }
+
+    }
+
+}
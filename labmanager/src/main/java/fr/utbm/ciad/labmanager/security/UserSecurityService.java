@@ -19,7 +19,6 @@
 
 package fr.utbm.ciad.labmanager.security;
 
-import fr.utbm.ciad.labmanager.data.user.User;
 import fr.utbm.ciad.labmanager.data.user.UserRepository;
 import org.apache.logging.log4j.util.Strings;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,33 +52,35 @@ public class UserSecurityService implements UserDetailsService, Serializable {
 
     private final UserRepository userRepository;
 
+    private final UserPrincipalCache principalCache;
+
     /**
      * Constructor for injector.
      * This constructor is defined for being invoked by the IOC injector.
      *
      * @param userRepository the repository for the application users.
-     * @param messages       the provider of localized messages.
-     * @param constants      the accessor to the live constants.
-     * @param sessionFactory the factory of JPA session.
+     * @param principalCache the cache of the resolved users.
      */
     public UserSecurityService(
-            @Autowired UserRepository userRepository) {
+            @Autowired UserRepository userRepository,
+            @Autowired UserPrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
-    private static List<GrantedAuthority> getAuthorities(User user) {
-        return Collections.singletonList(new SimpleGrantedAuthority(user.getRole().toGrantedRole()));
+    private static List<GrantedAuthority> getAuthorities(UserPrincipal user) {
+        return Collections.singletonList(new SimpleGrantedAuthority(user.role().toGrantedRole()));
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        final var optUser = this.userRepository.findByLogin(username);
+        final var optUser = this.principalCache.getOrLoad(username, () -> this.userRepository.findByLogin(username));
         if (optUser.isEmpty()) {
             throw new UsernameNotFoundException("Invalid user with login: " + username); //$NON-NLS-1$
         }
         final var user = optUser.get();
-        final var login = user.getLogin();
+        final var login = user.login();
         if (Strings.isBlank(login)) {
             throw new UsernameNotFoundException("No institutional login specified for the user with login: " + username); //$NON-NLS-1$
         }
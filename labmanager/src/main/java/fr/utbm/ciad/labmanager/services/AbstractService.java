@@ -27,6 +27,8 @@ import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.util.function.ThrowingConsumer;
 import org.springframework.util.function.ThrowingFunction;
 
+import java.util.ArrayList;
+
 /**
  * Abstract implementation of a Spring boot service.
  *
@@ -101,4 +103,34 @@ public abstract class AbstractService extends AbstractComponent {
         return code.apply(currentSession);
     }
 
+    /**
+     * Run the provided code in a JPA session in which the given fetch profiles are enabled.
+     * The fetch profiles are declared on the entities, e.g. {@code Person#MEMBERSHIPS_FETCH_PROFILE}, and
+     * they enable to load eagerly the associations that are lazy by default. The profiles that were not
+     * enabled before the call are disabled after the call.
+     *
+     * @param code          the code to run. It takes the session as argument.
+     * @param fetchProfiles the names of the fetch profiles to enable.
+     * @return the computed value.
+     * @since 4.0
+     */
+    public <T> T inSessionWithFetchProfiles(ThrowingFunction<Session, T> code, String... fetchProfiles) {
+        return inSessionWithResult(session -> {
+            final var enabledProfiles = new ArrayList<String>(fetchProfiles.length);
+            for (final var profile : fetchProfiles) {
+                if (!session.isFetchProfileEnabled(profile)) {
+                    session.enableFetchProfile(profile);
+                    enabledProfiles.add(profile);
+                }
+            }
+            try {
+                return code.apply(session);
+            } finally {
+                for (final var profile : enabledProfiles) {
+                    session.disableFetchProfile(profile);
+                }
+            }
+        });
+    }
+
 }
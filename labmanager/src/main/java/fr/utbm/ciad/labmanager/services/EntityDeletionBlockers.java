@@ -0,0 +1,171 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.services;
+
+import org.springframework.context.support.MessageSourceAccessor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Deletion status that collects, for a group of entities to be deleted, all the reasons that are blocking
+ * the deletion of each of them. The reasons are usually detected by a fixed number of existence queries over
+ * the whole set of identifiers, i.e., one query per type of reason, instead of loading the linked collections
+ * of each entity.
+ *
+ * @param <S> the type of the reasons that are blocking the deletion.
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public class EntityDeletionBlockers<S extends Enum<S> & DeletionStatus> implements DeletionStatus {
+
+    private static final long serialVersionUID = -1817064435950867187L;
+
+    private final Class<S> reasonType;
+
+    private final Map<Long, String> entityLabels;
+
+    private final Map<Long, Set<S>> blockers = new TreeMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param reasonType   the type of the reasons.
+     * @param entityLabels the labels of the entities that are candidates to deletion, indexed by their identifiers.
+     *                     These labels are used for building the error message.
+     */
+    public EntityDeletionBlockers(Class<S> reasonType, Map<Long, String> entityLabels) {
+        this.reasonType = reasonType;
+        this.entityLabels = entityLabels == null ? Collections.emptyMap() : entityLabels;
+    }
+
+    /**
+     * Mark the entities with the given identifiers as blocked by the given reason.
+     *
+     * @param reason      the reason that is blocking the deletion.
+     * @param identifiers the identifiers of the blocked entities.
+     */
+    public void add(S reason, Collection<? extends Number> identifiers) {
+        assert reason != null;
+        if (identifiers != null) {
+            for (final var id : identifiers) {
+                if (id != null) {
+                    this.blockers.computeIfAbsent(Long.valueOf(id.longValue()), it -> EnumSet.noneOf(this.reasonType)).add(reason);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replies the identifiers of the entities that cannot be deleted.
+     *
+     * @return the identifiers, sorted in increasing order.
+     */
+    public Set<Long> getBlockedEntityIdentifiers() {
+        return Collections.unmodifiableSet(this.blockers.keySet());
+    }
+
+    /**
+     * Replies the reasons that are blocking the deletion of the entity with the given identifier.
+     *
+     * @param id the identifier of the entity.
+     * @return the reasons; or an empty set if the entity could be deleted.
+     */
+    public Set<S> getReasons(long id) {
+        final var reasons = this.blockers.get(Long.valueOf(id));
+        if (reasons == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(reasons);
+    }
+
+    /**
+     * Replies the deletion status that is the most appropriate for the collected blockers, i.e.,
+     * {@link DeletionStatus#OK} if there is no blocker, or this object if there are blockers.
+     *
+     * @return the deletion status.
+     */
+    public DeletionStatus toDeletionStatus() {
+        if (isOk()) {
+            return DeletionStatus.OK;
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isOk() {
+        return this.blockers.isEmpty();
+    }
+
+    /**
+     * Replies the message that is explaining, for each blocked entity, all the reasons for which it cannot be deleted.
+     * If there is only one entity that is a candidate to deletion, the message contains only the labels of the reasons.
+     *
+     * @param messages the provider of localized messages.
+     * @param locale   the locale to use for generating the messages.
+     * @return the message.
+     */
+    public String getMessage(MessageSourceAccessor messages, Locale locale) {
+        if (this.entityLabels.size() <= 1 && this.blockers.size() == 1) {
+            return getReasonLabels(this.blockers.values().iterator().next(), messages, locale);
+        }
+        final var message = new StringBuilder();
+        for (final var entry : this.blockers.entrySet()) {
+            if (message.length() > 0) {
+                message.append("\n"); //$NON-NLS-1$
+            }
+            final var label = this.entityLabels.get(entry.getKey());
+            message.append(label == null ? entry.getKey().toString() : label);
+            message.append(": "); //$NON-NLS-1$
+            message.append(getReasonLabels(entry.getValue(), messages, locale));
+        }
+        return message.toString();
+    }
+
+    private static String getReasonLabels(Set<? extends DeletionStatus> reasons, MessageSourceAccessor messages, Locale locale) {
+        final var labels = new LinkedHashSet<String>();
+        for (final var reason : reasons) {
+            final var error = reason.getException(messages, locale);
+            if (error != null) {
+                labels.add(error.getMessage());
+            }
+        }
+        return String.join(", ", labels); //$NON-NLS-1$
+    }
+
+    @Override
+    public Throwable getException(MessageSourceAccessor messages, Locale locale) {
+        if (isOk()) {
+            return null;
+        }
+        return new IllegalStateException(getMessage(messages, locale));
+    }
+
+}
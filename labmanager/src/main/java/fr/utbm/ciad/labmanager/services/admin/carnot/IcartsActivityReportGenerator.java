@@ -29,14 +29,14 @@ import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.project.*;
 import fr.utbm.ciad.labmanager.data.publication.PublicationCategory;
-import fr.utbm.ciad.labmanager.data.supervision.Supervision;
 import fr.utbm.ciad.labmanager.services.assostructure.AssociatedStructureService;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationActivityReportService;
 import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
 import fr.utbm.ciad.labmanager.services.project.ProjectService;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
-import fr.utbm.ciad.labmanager.services.supervision.SupervisionService;
 import fr.utbm.ciad.labmanager.utils.DownloadableFileDescription;
+import fr.utbm.ciad.labmanager.utils.funding.FundingScheme;
 import fr.utbm.ciad.labmanager.utils.io.od.OdfSpreadsheetHelper;
 import fr.utbm.ciad.labmanager.utils.io.od.OdfSpreadsheetHelper.TableContentHelper;
 import fr.utbm.ciad.labmanager.utils.io.od.OdfSpreadsheetHelper.TableContentRowHelper;
@@ -52,6 +52,7 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -70,7 +71,7 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
 
     private static final long serialVersionUID = 5999486952125784994L;
 
-    private final SupervisionService supervisionService;
+    private final OrganizationActivityReportService activityReportService;
 
     private final MembershipService membershipService;
 
@@ -88,7 +89,7 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
      * @param messages                   the provider of messages.
      * @param constants                  the constants of the app.
      * @param organizationService        the organization service.
-     * @param supervisionService         the supervision service.
+     * @param activityReportService      the service for computing the activity reports of the organizations.
      * @param membershipService          the membership service.
      * @param projectService             the project service.
      * @param publicationService         the publication service.
@@ -99,14 +100,14 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
             @Autowired MessageSourceAccessor messages,
             @Autowired ConfigurationConstants constants,
             @Autowired ResearchOrganizationService organizationService,
-            @Autowired SupervisionService supervisionService,
+            @Autowired OrganizationActivityReportService activityReportService,
             @Autowired MembershipService membershipService,
             @Autowired ProjectService projectService,
             @Autowired PublicationService publicationService,
             @Autowired AssociatedStructureService associatedStructureService) {
         super(messages, constants);
         this.organizationService = organizationService;
-        this.supervisionService = supervisionService;
+        this.activityReportService = activityReportService;
         this.membershipService = membershipService;
         this.projectService = projectService;
         this.publicationService = publicationService;
@@ -180,8 +181,9 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
         final var organization = this.organizationService.getResearchOrganizationById(organizationId).orElseThrow();
         progression.setProperties(0, 0, 4, false);
         try (final OdfSpreadsheetHelper ods = new OdfSpreadsheetHelper()) {
-            exportETPs(ods, organization, year, locale, progression.subTask(1));
-            exportProjects(ods, organization, year, locale, progression.subTask(1));
+            final var supervisionFundings = this.activityReportService.getSupervisionFundingsByMembership(organizationId);
+            exportETPs(ods, organization, year, supervisionFundings, locale, progression.subTask(1));
+            exportProjects(ods, organization, year, supervisionFundings, locale, progression.subTask(1));
             exportSynthesis(ods, organization, year, locale, progression.subTask(1));
             progression.setComment(getMessage(locale, "IcartsActivityReportGenerator.bytes")); //$NON-NLS-1$
             return new DownloadableFileDescription(
@@ -196,11 +198,12 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
     /**
      * Replies the type of supervision for the project.
      *
-     * @param organization the organization of the project.
-     * @param project      the project to analyze.
+     * @param organization        the organization of the project.
+     * @param project             the project to analyze.
+     * @param supervisionFundings the funding schemes of the supervisions, indexed by the identifiers of the memberships.
      * @return the string representing the type of supervision.
      */
-    protected String projectPhD(ResearchOrganization organization, Project project) {
+    protected String projectPhD(ResearchOrganization organization, Project project, Map<Long, FundingScheme> supervisionFundings) {
         final LocalDate startDate = project.getStartDate();
         final LocalDate endDate = project.getEndDate();
         for (final ProjectMember member : project.getParticipants()) {
@@ -214,7 +217,7 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
                     return getMessage(Locale.FRANCE, "IcartsActivityReportGenerator.value.postdoc_supervision"); //$NON-NLS-1$
                 }
                 if (membership.getMemberStatus() == MemberStatus.PHD_STUDENT) {
-                    if (isCifre(membership)) {
+                    if (isCifre(membership, supervisionFundings)) {
                         return getMessage(Locale.FRANCE, "IcartsActivityReportGenerator.value.cifre_supervision"); //$NON-NLS-1$
                     }
                     return getMessage(Locale.FRANCE, "IcartsActivityReportGenerator.value.phd_thesis_supervision"); //$NON-NLS-1$
@@ -388,14 +391,15 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
     /**
      * Export the full-time equivalent persons in a spreadsheet page that corresponds to the Carnot standard.
      *
-     * @param document     the output document.
-     * @param organization the organization for which the publications must be extracted.
-     * @param year         the reference year that is used for filtering the publications.
-     * @param locale       the locale for the messages to the user.
-     * @param progression  the progression indicator.
+     * @param document            the output document.
+     * @param organization        the organization for which the publications must be extracted.
+     * @param year                the reference year that is used for filtering the publications.
+     * @param supervisionFundings the funding schemes of the supervisions, indexed by the identifiers of the memberships.
+     * @param locale              the locale for the messages to the user.
+     * @param progression         the progression indicator.
      * @throws Exception if the Excel cannot be generated.
      */
-    protected void exportETPs(OdfSpreadsheetHelper document, ResearchOrganization organization, int year, Locale locale, Progression progression) throws Exception {
+    protected void exportETPs(OdfSpreadsheetHelper document, ResearchOrganization organization, int year, Map<Long, FundingScheme> supervisionFundings, Locale locale, Progression progression) throws Exception {
         progression.setProperties(0, 0, 4, false, getMessage(locale, "IcartsActivityReportGenerator.indicators.etps")); //$NON-NLS-1$
         //
         final var memberships = organization.getDirectOrganizationMemberships();
@@ -424,7 +428,7 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
         final LocalDate endDate = LocalDate.of(year, 12, 31);
         final TableContentHelper content = output.getContent();
         for (final var membership : memberships) {
-            if (membership.isActiveIn(startDate, endDate) && membershipStatus(membership) != null) {
+            if (membership.isActiveIn(startDate, endDate) && membershipStatus(membership, supervisionFundings) != null) {
                 final List<ResearchOrganization> employers = extractEmployers(membership);
                 final String employerValue = employerValue(employers);
                 final TableContentRowHelper row = content.appendRow();
@@ -434,7 +438,7 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
                 // No other lab
                 row.append((String) null);
                 row.append(booleanValue(Boolean.valueOf(membership.isPermanentPosition())));
-                row.append(membershipStatus(membership));
+                row.append(membershipStatus(membership, supervisionFundings));
                 row.append(booleanValue(Boolean.valueOf(membership.getMemberStatus().isHdrOwner())));
                 row.append(Strings.isNullOrEmpty(employerValue) ? getMessage(Locale.FRANCE, "IcartsActivityReportGenerator.value.other_employer") : employerValue); //$NON-NLS-1$
                 row.append(Strings.isNullOrEmpty(employerValue) ? otherEmployerValue(employers) : null);
@@ -452,14 +456,15 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
     /**
      * Export the projects in a spreadsheet page that corresponds to the Carnot standard.
      *
-     * @param document     the output document.
-     * @param organization the organization for which the publications must be extracted.
-     * @param year         the reference year that is used for filtering the publications.
-     * @param locale       the locale for the messages to the user.
-     * @param progression  the progression indicator.
+     * @param document            the output document.
+     * @param organization        the organization for which the publications must be extracted.
+     * @param year                the reference year that is used for filtering the publications.
+     * @param supervisionFundings the funding schemes of the supervisions, indexed by the identifiers of the memberships.
+     * @param locale              the locale for the messages to the user.
+     * @param progression         the progression indicator.
      * @throws Exception if the Excel cannot be generated.
      */
-    protected void exportProjects(OdfSpreadsheetHelper document, ResearchOrganization organization, int year, Locale locale, Progression progression) throws Exception {
+    protected void exportProjects(OdfSpreadsheetHelper document, ResearchOrganization organization, int year, Map<Long, FundingScheme> supervisionFundings, Locale locale, Progression progression) throws Exception {
         progression.setProperties(0, 0, 4, false, getMessage(locale, "IcartsActivityReportGenerator.indicators.projects")); //$NON-NLS-1$
         //
         final var projects = this.projectService.getAllProjects();
@@ -492,7 +497,7 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
                 row.appendCurrency(Double.valueOf(project.getTotalLocalOrganizationBudget() * 1000f));
                 row.append(funders(project));
                 row.append(projectType(project.getContractType()));
-                row.append(projectPhD(organization, project));
+                row.append(projectPhD(organization, project, supervisionFundings));
                 row.append(projectType(project.getActivityType()));
                 row.append(projectTrl(project.getTRL()));
                 row.append(project.getLearOrganization().getAcronymOrName());
@@ -586,14 +591,14 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
     /**
      * Replies if the given person has a CIFRE contract during the time windows.
      *
-     * @param membership the membership for which the status should be converted.
+     * @param membership          the membership for which the status should be converted.
+     * @param supervisionFundings the funding schemes of the supervisions, indexed by the identifiers of the memberships.
      * @return {@code true} if a CIFRE exists.
      */
-    protected boolean isCifre(Membership membership) {
-        final List<Supervision> res = this.supervisionService.getSupervisionsForMembership(membership.getId());
-        if (!res.isEmpty()) {
-            final Supervision supervision = res.get(0);
-            switch (supervision.getFunding()) {
+    protected boolean isCifre(Membership membership, Map<Long, FundingScheme> supervisionFundings) {
+        final var funding = supervisionFundings.get(Long.valueOf(membership.getId()));
+        if (funding != null) {
+            switch (funding) {
                 case CIFRE:
                 case EU_COMPANY:
                 case FRENCH_COMPANY:
@@ -645,10 +650,11 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
     /**
      * Convert the member status to its equivalent category for Carnot.
      *
-     * @param membership the membership for which the status should be converted.
+     * @param membership          the membership for which the status should be converted.
+     * @param supervisionFundings the funding schemes of the supervisions, indexed by the identifiers of the memberships.
      * @return the Carnot category.
      */
-    protected String membershipStatus(Membership membership) {
+    protected String membershipStatus(Membership membership, Map<Long, FundingScheme> supervisionFundings) {
         final String key;
         switch (membership.getMemberStatus()) {
             case FULL_PROFESSOR:
@@ -677,7 +683,7 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
                 key = "IcartsActivityReportGenerator.value.postdoc"; //$NON-NLS-1$
                 break;
             case PHD_STUDENT:
-                key = isCifre(membership) ? "IcartsActivityReportGenerator.value.cifre" : "IcartsActivityReportGenerator.value.phd_student"; //$NON-NLS-1$ //$NON-NLS-2$
+                key = isCifre(membership, supervisionFundings) ? "IcartsActivityReportGenerator.value.cifre" : "IcartsActivityReportGenerator.value.phd_student"; //$NON-NLS-1$ //$NON-NLS-2$
                 break;
             case ENGINEER:
             case ENGINEER_PHD:
@@ -25,6 +25,8 @@ import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.publication.ConferenceBasedPublication;
 import fr.utbm.ciad.labmanager.data.publication.JournalBasedPublication;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationActivityReport;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationActivityReportService;
 import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import fr.utbm.ciad.labmanager.utils.DownloadableFileDescription;
@@ -57,22 +59,27 @@ public class UtbmActivityReportGenerator extends AbstractComponent {
 
     private final ResearchOrganizationService organizationService;
 
+    private final OrganizationActivityReportService activityReportService;
+
     /**
      * Constructor.
      *
-     * @param messages            the provider of messages.
-     * @param constants           the accessor to the constants.
-     * @param publicationService  the publication service.
-     * @param organizationService the service for accessing the organizations.
+     * @param messages              the provider of messages.
+     * @param constants             the accessor to the constants.
+     * @param publicationService    the publication service.
+     * @param organizationService   the service for accessing the organizations.
+     * @param activityReportService the service for computing the teaching, supervision and jury activities.
      */
     public UtbmActivityReportGenerator(
             @Autowired MessageSourceAccessor messages,
             @Autowired ConfigurationConstants constants,
             @Autowired PublicationService publicationService,
-            @Autowired ResearchOrganizationService organizationService) {
+            @Autowired ResearchOrganizationService organizationService,
+            @Autowired OrganizationActivityReportService activityReportService) {
         super(messages, constants);
         this.publicationService = publicationService;
         this.organizationService = organizationService;
+        this.activityReportService = activityReportService;
     }
 
     /**
@@ -89,8 +96,10 @@ public class UtbmActivityReportGenerator extends AbstractComponent {
     public DownloadableFileDescription exportUtbmAnnualReport(long organizationId, int year, Locale locale, Progression progression) throws Exception {
         final var organization = this.organizationService.getResearchOrganizationById(organizationId).orElseThrow();
         try (final var ods = new OdfSpreadsheetHelper()) {
-            progression.setProperties(0, 0, 2, false, getMessage(locale, "UtbmActivityReportGenerator.publications")); //$NON-NLS-1$
+            progression.setProperties(0, 0, 3, false, getMessage(locale, "UtbmActivityReportGenerator.publications")); //$NON-NLS-1$
             exportPublications(ods, organization, year, progression.subTask(1));
+            progression.setComment(getMessage(locale, "UtbmActivityReportGenerator.activities")); //$NON-NLS-1$
+            exportActivities(ods, organization, year, progression.subTask(1));
             progression.setComment(getMessage(locale, "UtbmActivityReportGenerator.bytes")); //$NON-NLS-1$
             return new DownloadableFileDescription(
                     ods.getFileExtension(),
@@ -221,4 +230,53 @@ public class UtbmActivityReportGenerator extends AbstractComponent {
         progression.end();
     }
 
+    /**
+     * Export the teaching, supervision and jury activities of the members in a spreadsheet page that corresponds
+     * to the UTBM standard.
+     *
+     * @param document     the output document.
+     * @param organization the organization for which the activities must be extracted.
+     * @param year         the reference year.
+     * @param progression  the progression indicator.
+     * @throws Exception if the Excel components cannot be generated.
+     */
+    protected void exportActivities(OdfSpreadsheetHelper document, ResearchOrganization organization, int year, Progression progression) throws Exception {
+        progression.setProperties(0, 0, 2, false);
+        final var report = this.activityReportService.getActivityReport(organization.getId(), year, year);
+        progression.increment();
+        final var persons = report.getPersons();
+        final var subProgress = progression.subTask(1);
+        subProgress.setProperties(0, 0, persons.size() + 1, false);
+        //
+        final var output = document.newTable(getMessage(Locale.FRANCE, "UtbmActivityReportGenerator.table.activities", Integer.valueOf(year))); //$NON-NLS-1$
+        //
+        final var header = output.getHeader();
+        header.appendColumn(getMessage(Locale.FRANCE, "UtbmActivityReportGenerator.column.lastname")); //$NON-NLS-1$
+        header.appendColumn(getMessage(Locale.FRANCE, "UtbmActivityReportGenerator.column.firstname")); //$NON-NLS-1$
+        header.appendColumn(getMessage(Locale.FRANCE, "UtbmActivityReportGenerator.column.teaching_hours")); //$NON-NLS-1$
+        header.appendColumn(getMessage(Locale.FRANCE, "UtbmActivityReportGenerator.column.teaching_hetd")); //$NON-NLS-1$
+        header.appendColumn(getMessage(Locale.FRANCE, "UtbmActivityReportGenerator.column.supervisions")); //$NON-NLS-1$
+        header.appendColumn(getMessage(Locale.FRANCE, "UtbmActivityReportGenerator.column.defenses")); //$NON-NLS-1$
+        header.appendColumn(getMessage(Locale.FRANCE, "UtbmActivityReportGenerator.column.juries")); //$NON-NLS-1$
+        subProgress.increment();
+        //
+        final var content = output.getContent();
+        for (final var person : persons) {
+            final var activity = report.getActivity(person.id(), year);
+            if (activity != OrganizationActivityReport.Activity.EMPTY) {
+                final var row = content.appendRow();
+                row.append(person.lastName());
+                row.append(person.firstName());
+                row.append(Double.valueOf(activity.teachingHours()));
+                row.append(Double.valueOf(activity.teachingHetd()));
+                row.append(Long.valueOf(activity.supervisions()));
+                row.append(Long.valueOf(activity.defenses()));
+                row.append(Long.valueOf(activity.getJuryParticipationCount()));
+            }
+            subProgress.increment();
+        }
+        subProgress.end();
+        progression.end();
+    }
+
 }
@@ -83,6 +83,7 @@ public class ConferenceMergingService extends AbstractEntityService<Conference>
      * @param comparator comparator of conferences that is used for sorting the groups of duplicates. If it is {@code null},
      *                   a {@link ConferenceComparator} is used.
      * @param callback   the callback invoked during the building.
+     * @param threshold  the similarity level that is used for detecting the duplicates.
      * @return the duplicate conferences that is finally computed.
      * @throws Exception if a problem occurred during the building.
      */
@@ -103,7 +104,7 @@ public class ConferenceMergingService extends AbstractEntityService<Conference>
             callback.onDuplicate(0, 0, total);
         }
         var duplicateCount = 0;
-        nameComparator.setSimilarityLevel(threshold);
+        final var similarity = this.nameComparator.newSimilaritySession(threshold);
         for (var i = 0; i < conferencesList.size() - 1; ++i) {
             final var referenceConference = conferencesList.get(i);
 
@@ -113,7 +114,7 @@ public class ConferenceMergingService extends AbstractEntityService<Conference>
             final ListIterator<Conference> iterator2 = conferencesList.listIterator(i + 1);
             while (iterator2.hasNext()) {
                 final var otherConference = iterator2.next();
-                if (this.nameComparator.isSimilar(
+                if (similarity.isSimilar(
                         referenceConference.getName(), referenceConference.getAcronym(),
                         otherConference.getName(), otherConference.getAcronym())) {
                     currentMatching.add(otherConference);
@@ -20,7 +20,9 @@
 package fr.utbm.ciad.labmanager.services.conference;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.EntityConstants;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntityComparator;
 import fr.utbm.ciad.labmanager.data.conference.Conference;
@@ -29,15 +31,17 @@ import fr.utbm.ciad.labmanager.data.conference.ConferenceQualityAnnualIndicators
 import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.ranking.RankingHarvester;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal.CorePortalConference;
+import fr.utbm.ciad.labmanager.utils.io.coreportal.CoreRankingExport;
+import fr.utbm.ciad.labmanager.utils.io.coreportal.CoreRankingExport.CoreRankingEntry;
 import fr.utbm.ciad.labmanager.utils.names.ConferenceNameComparator;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
 import org.hibernate.Hibernate;
-import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,7 +57,6 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.net.URL;
 import java.util.*;
-import java.util.Map.Entry;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -75,6 +78,20 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 
     private static final long serialVersionUID = -35096440379483385L;
 
+    /**
+     * Number of conferences that are updated together when applying ranking changes.
+     *
+     * @since 4.0
+     */
+    public static final int UPDATE_BATCH_SIZE = 64;
+
+    /**
+     * Name of the CORE source for the harvesting of the conference rankings.
+     *
+     * @since 4.0
+     */
+    public static final String CORE_RANKING_SOURCE = "core"; //$NON-NLS-1$
+
     private final ConferenceRepository conferenceRepository;
 
     private final ConferenceQualityAnnualIndicatorsRepository indicatorsRepository;
@@ -227,8 +244,9 @@ public class ConferenceService extends AbstractEntityService<Conference> {
      */
     public Optional<Conference> getConferenceBySimilarNameAndAcronym(String name, String acronym) {
         if (!Strings.isNullOrEmpty(name) && !Strings.isNullOrEmpty(acronym)) {
+            final var similarity = this.conferenceNameComparator.newSimilaritySession();
             for (Conference conference : this.conferenceRepository.findAll()) {
-                if (this.conferenceNameComparator.isSimilar(name, acronym, conference.getName(), conference.getAcronym())) {
+                if (similarity.isSimilar(name, acronym, conference.getName(), conference.getAcronym())) {
                     return Optional.of(conference);
                 }
             }
@@ -453,6 +471,8 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 
     /**
      * Compute the updates for the conference rankings.
+     * The CORE ranking export is used when it is available; the CORE portal is queried
+     * for the conferences that are not in the export.
      *
      * @param year        the reference year.
      * @param locale      the locale to use.
@@ -463,6 +483,8 @@ public class ConferenceService extends AbstractEntityService<Conference> {
     @Deprecated(since = "4.0", forRemoval = true)
     public void computeConferenceRankingIndicatorUpdates(int year, Locale locale, DefaultProgression progression, BiConsumer<Conference, Map<String, Object>> callback) {
         final Set<Conference> treatedIdentifiers = new TreeSet<>(new IdentifiableEntityComparator());
+        final var logger = LoggerFactory.getLogger(getClass());
+        final var export = readCoreRankingExport(year, null, logger);
         inSession(session -> {
             final List<Conference> conferences = this.conferenceRepository.findAll();
             final Progression progress = progression == null ? new DefaultProgression() : progression;
@@ -471,7 +493,7 @@ public class ConferenceService extends AbstractEntityService<Conference> {
                 if (treatedIdentifiers.add(conference)) {
                     progress.setComment(getMessage(locale, "conferenceService.GetConferenceIndicatorUpdatesFor", conference.getNameOrAcronym())); //$NON-NLS-1$
                     final Map<String, Object> newConferenceIndicators = new HashMap<>();
-                    readCorePortalIndicators(session, year, conference, newConferenceIndicators, LoggerFactory.getLogger(getClass()));
+                    readCorePortalIndicators(year, conference, export, newConferenceIndicators, logger);
                     if (!newConferenceIndicators.isEmpty()) {
                         callback.accept(conference, newConferenceIndicators);
                     }
@@ -482,31 +504,81 @@ public class ConferenceService extends AbstractEntityService<Conference> {
         });
     }
 
-    private void readCorePortalIndicators(Session session, int year, Conference conference, Map<String, Object> newIndicators, Logger logger) {
-        logger.info("Get CORE indicators for " + conference.getNameOrAcronym()); //$NON-NLS-1$
-        session.beginTransaction();
-        final String id = conference.getCoreId();
-        if (!Strings.isNullOrEmpty(id)) {
-            CorePortalConference indicators = null;
-            try {
-                indicators = this.corePortal.getConferenceRanking(year, id, null);
-            } catch (Throwable ex) {
-                logger.debug(ex.getLocalizedMessage(), ex);
-                indicators = null;
+    private void readCorePortalIndicators(int year, Conference conference, CoreRankingExport export, Map<String, Object> newIndicators, Logger logger) {
+        final var entry = export == null ? Optional.<CoreRankingEntry>empty()
+                : export.find(conference.getCoreId(), conference.getAcronym(), conference.getName());
+        if (entry.isPresent()) {
+            newIndicators.put("coreRanking", entry.get().ranking().name()); //$NON-NLS-1$
+            newIndicators.put("currentCoreRanking", conference.getCoreIndexByYear(year).name()); //$NON-NLS-1$
+        } else {
+            final String id = conference.getCoreId();
+            if (!Strings.isNullOrEmpty(id)) {
+                logger.info("Get CORE indicators for " + conference.getNameOrAcronym()); //$NON-NLS-1$
+                final var indicators = downloadCorePortalIndicators(year, id, null, logger);
+                if (indicators != null) {
+                    if (indicators.ranking() != null) {
+                        newIndicators.put("coreRanking", indicators.ranking().name()); //$NON-NLS-1$
+                    }
+                }
+                final CoreRanking currentCore = conference.getCoreIndexByYear(year);
+                newIndicators.put("currentCoreRanking", currentCore.name()); //$NON-NLS-1$
+            }
+        }
+    }
+
+    private CorePortalConference downloadCorePortalIndicators(int year, String coreId, Progression progress, Logger logger) {
+        try {
+            return this.corePortal.getConferenceRanking(year, coreId, progress);
+        } catch (Throwable ex) {
+            logger.debug(ex.getLocalizedMessage(), ex);
+            return null;
+        }
+    }
+
+    private CoreRankingExport readCoreRankingExport(int year, Progression progress, Logger logger) {
+        try {
+            final var export = this.corePortal.getConferenceRankings(year, progress);
+            if (export != null) {
+                logger.info("Using the CORE ranking export " + export.getEdition() + " with " + export.size() + " conferences"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            }
+            return export;
+        } catch (Throwable ex) {
+            logger.warn("Unable to read the CORE ranking export: " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    private void applyConferenceRankings(int referenceYear, Map<Long, CoreRanking> rankings, Logger logger, Progression progress) {
+        final var ids = new ArrayList<>(rankings.keySet());
+        progress.setProperties(0, 0, ids.size() + 1, false);
+        for (final var batch : Lists.partition(ids, UPDATE_BATCH_SIZE)) {
+            final var conferences = this.conferenceRepository.findAllByIdIn(batch);
+            if (conferences.size() != batch.size()) {
+                final var found = new HashSet<Long>();
+                conferences.forEach(it -> found.add(Long.valueOf(it.getId())));
+                for (final var id : batch) {
+                    if (!found.contains(id)) {
+                        throw new IllegalArgumentException("Conference not found: " + id); //$NON-NLS-1$
+                    }
+                }
             }
-            if (indicators != null) {
-                if (indicators.ranking() != null) {
-                    newIndicators.put("coreRanking", indicators.ranking().name()); //$NON-NLS-1$
+            for (final var conference : conferences) {
+                progress.setComment(conference.getAcronymAndName());
+                final var ranking = rankings.get(Long.valueOf(conference.getId()));
+                if (ranking != null) {
+                    conference.setCoreIndexByYear(referenceYear, ranking);
                 }
             }
-            final CoreRanking currentCore = conference.getCoreIndexByYear(year);
-            newIndicators.put("currentCoreRanking", currentCore.name()); //$NON-NLS-1$
+            this.conferenceRepository.saveAll(conferences);
+            this.conferenceRepository.flush();
+            progress.increment(batch.size());
         }
-        session.getTransaction().commit();
+        progress.end();
     }
 
     /**
      * Update the conference indicators according to the given inputs.
+     * The conferences are loaded with their indicators and saved by batches of {@link #UPDATE_BATCH_SIZE} conferences.
      *
      * @param referenceYear     the reference year.
      * @param conferenceUpdates the streams that describes the updates.
@@ -519,19 +591,11 @@ public class ConferenceService extends AbstractEntityService<Conference> {
     public void updateConferenceIndicators(int referenceYear, Collection<ConferenceRankingUpdateInformation> conferenceUpdates,
                                            Logger logger, Progression progress) {
         logger.info("Updating conferences' ranking indicators for year " + referenceYear); //$NON-NLS-1$
-        progress.setProperties(0, 0, conferenceUpdates.size() + 1, false);
-        final var conferences = new ArrayList<Conference>();
-        conferenceUpdates.forEach(info -> {
-            final var conference = info.conference();
-            progress.setComment(conference.getAcronymAndName());
-            if (info.ranking() != null) {
-                conference.setCoreIndexByYear(referenceYear, info.ranking());
-            }
-            conferences.add(conference);
-            progress.increment();
-        });
-        this.conferenceRepository.saveAll(conferences);
-        progress.end();
+        final var rankings = new TreeMap<Long, CoreRanking>();
+        for (final var info : conferenceUpdates) {
+            rankings.put(Long.valueOf(info.conferenceId()), info.ranking());
+        }
+        applyConferenceRankings(referenceYear, rankings, logger, progress == null ? new DefaultProgression() : progress);
     }
 
     /**
@@ -543,25 +607,16 @@ public class ConferenceService extends AbstractEntityService<Conference> {
      */
     @Deprecated(since = "4.0", forRemoval = true)
     public void updateConferenceIndicators(int year, Map<Long, CoreRanking> changes) {
-        if (changes != null) {
-            for (final Entry<Long, CoreRanking> entry : changes.entrySet()) {
-                final Optional<Conference> conference = this.conferenceRepository.findById(entry.getKey());
-                if (conference.isEmpty()) {
-                    throw new IllegalArgumentException("Conference not found: " + entry.getKey()); //$NON-NLS-1$
-                }
-                final CoreRanking indicator = entry.getValue();
-                if (indicator != null) {
-                    final Conference conf = conference.get();
-                    conf.setCoreIndexByYear(year, indicator);
-                    this.conferenceRepository.save(conf);
-                }
-            }
+        if (changes != null && !changes.isEmpty()) {
+            applyConferenceRankings(year, new TreeMap<>(changes), LoggerFactory.getLogger(getClass()), new DefaultProgression());
         }
     }
 
     /**
      * Download the conference indicators for the given reference year for the CORE portail.
-     * This function uses the {@link CorePortalPlatform} tool for downloading indicators.
+     * The CORE ranking export that is provided by {@link CorePortal#getConferenceRankings(int, Progression)} is used
+     * when it is available. The CORE portal is queried for each conference only if there is no export, or if the
+     * conference is not in the export.
      *
      * @param referenceYear the reference year.
      * @param conferences   the list of conferences for which the indicators should be downloaded.
@@ -573,32 +628,152 @@ public class ConferenceService extends AbstractEntityService<Conference> {
      */
     @Transactional(readOnly = true)
     public void downloadConferenceIndicatorsFromCore(int referenceYear, List<Conference> conferences, Logger logger, Progression progress, ConferenceRankingConsumer consumer) throws Exception {
+        final var progress0 = progress == null ? new DefaultProgression() : progress;
+        progress0.setProperties(0, 0, conferences.size() * 2 + 1, false);
+        final var export = readCoreRankingExport(referenceYear, progress0.subTask(1), logger);
+        progress0.ensureNoSubTask();
+        downloadConferenceIndicatorsFromCore(referenceYear, conferences, export, logger, progress0.subTask(conferences.size() * 2), consumer);
+        progress0.end();
+    }
+
+    /**
+     * Download the conference indicators for the given reference year from the given CORE ranking export.
+     * All the conferences are matched against the export in one pass, based on their CORE identifiers, acronyms or names.
+     * The CORE portal is queried for the conferences with a CORE identifier that are not in the export.
+     *
+     * @param referenceYear the reference year.
+     * @param conferences   the list of conferences for which the indicators should be downloaded.
+     * @param export        the CORE ranking export, or {@code null} if the CORE portal must be used for all the conferences.
+     * @param logger        the logger to be used.
+     * @param progress      the progression monitor.
+     * @param consumer      the consumer of the conference ranking information.
+     * @throws Exception if the conference information cannot be downloaded.
+     * @since 4.0
+     */
+    @Transactional(readOnly = true)
+    public void downloadConferenceIndicatorsFromCore(int referenceYear, List<Conference> conferences, CoreRankingExport export,
+                                                     Logger logger, Progression progress, ConferenceRankingConsumer consumer) throws Exception {
         logger.info("Downloading the conferences' ranking indicators from the CORE Portal for year " + referenceYear); //$NON-NLS-1$
         final var progress0 = progress == null ? new DefaultProgression() : progress;
         progress0.setProperties(0, 0, conferences.size() * 2, false);
+        // First pass: the conferences are matched against the export
+        final var missingConferences = new ArrayList<Conference>();
         for (final var conference : conferences) {
+            final var entry = export == null ? Optional.<CoreRankingEntry>empty()
+                    : export.find(conference.getCoreId(), conference.getAcronym(), conference.getName());
+            if (entry.isPresent()) {
+                consumer.consume(referenceYear, conference.getId(), conference.getCoreIndexByYear(referenceYear), entry.get().ranking());
+                progress0.increment(2);
+            } else if (!Strings.isNullOrEmpty(conference.getCoreId())) {
+                missingConferences.add(conference);
+            } else {
+                progress0.increment(2);
+            }
+        }
+        if (export != null) {
+            logger.info((conferences.size() - missingConferences.size()) + " conferences are checked with the CORE ranking export; " //$NON-NLS-1$
+                    + missingConferences.size() + " conferences must be checked on the CORE portal"); //$NON-NLS-1$
+        }
+        // Fallback: the CORE portal is queried for each remaining conference
+        for (final var conference : missingConferences) {
             progress0.setComment(conference.getAcronymAndName());
-            if (!Strings.isNullOrEmpty(conference.getCoreId())) {
-                final var lastRanking = conference.getCoreIndexByYear(referenceYear);
-                final var rankings = this.corePortal.getConferenceRanking(referenceYear, conference.getCoreId(), progress0.subTask(1));
-                progress0.ensureNoSubTask();
-                if (rankings != null) {
-                    if (rankings.ranking() == null) {
-                        consumer.consume(referenceYear, conference.getId(), lastRanking, CoreRanking.NR);
-                    } else {
-                        consumer.consume(referenceYear, conference.getId(), lastRanking, rankings.ranking());
-                    }
-                } else {
+            final var lastRanking = conference.getCoreIndexByYear(referenceYear);
+            final var rankings = this.corePortal.getConferenceRanking(referenceYear, conference.getCoreId(), progress0.subTask(1));
+            progress0.ensureNoSubTask();
+            if (rankings != null) {
+                if (rankings.ranking() == null) {
                     consumer.consume(referenceYear, conference.getId(), lastRanking, CoreRanking.NR);
+                } else {
+                    consumer.consume(referenceYear, conference.getId(), lastRanking, rankings.ranking());
                 }
-                progress0.increment();
             } else {
-                progress0.subTask(2);
+                consumer.consume(referenceYear, conference.getId(), lastRanking, CoreRanking.NR);
             }
+            progress0.increment();
         }
         progress0.end();
     }
 
+    /**
+     * Replies the harvester of the conference rankings from the CORE portal for the given reference year.
+     * The CORE ranking export is read once when the harvesting is started. The CORE portal is queried for
+     * the conferences with a CORE identifier that are not in the export. The conferences that are neither in
+     * the export nor with a CORE identifier are skipped by the harvester.
+     *
+     * @param referenceYear the reference year.
+     * @return the harvester. The harvested values are of type {@link ConferenceRankingChange}.
+     * @since 4.0
+     */
+    public RankingHarvester getRankingHarvester(int referenceYear) {
+        return (entityIds, logger, progress) -> {
+            logger.info("Downloading the conferences' ranking indicators from the CORE Portal for year " + referenceYear); //$NON-NLS-1$
+            progress.setProperties(0, 0, 2, false);
+            final var conferences = new HashMap<Long, Conference>();
+            this.conferenceRepository.findAllByIdIn(entityIds).forEach(it -> conferences.put(Long.valueOf(it.getId()), it));
+            progress.increment();
+            final var export = readCoreRankingExport(referenceYear, progress.subTask(1), logger);
+            progress.end();
+            return (entityId, progress0) -> {
+                final var conference = conferences.get(Long.valueOf(entityId));
+                if (conference == null) {
+                    progress0.end();
+                    return null;
+                }
+                progress0.setComment(conference.getAcronymAndName());
+                final var lastRanking = conference.getCoreIndexByYear(referenceYear);
+                final var entry = export == null ? Optional.<CoreRankingEntry>empty()
+                        : export.find(conference.getCoreId(), conference.getAcronym(), conference.getName());
+                if (entry.isPresent()) {
+                    progress0.end();
+                    return new ConferenceRankingChange(lastRanking, entry.get().ranking());
+                }
+                if (Strings.isNullOrEmpty(conference.getCoreId())) {
+                    progress0.end();
+                    return null;
+                }
+                final var rankings = this.corePortal.getConferenceRanking(referenceYear, conference.getCoreId(), progress0);
+                if (rankings == null || rankings.ranking() == null) {
+                    return new ConferenceRankingChange(lastRanking, CoreRanking.NR);
+                }
+                return new ConferenceRankingChange(lastRanking, rankings.ranking());
+            };
+        };
+    }
+
+    /**
+     * Replies the compact descriptions of the conferences with the given identifiers.
+     * These descriptions are preferred to the JPA entities by the views that keep the conferences
+     * in the Vaadin session.
+     *
+     * @param conferenceIds the identifiers of the conferences, or {@code null} for all the conferences.
+     * @return the descriptions of the conferences.
+     * @since 4.0
+     */
+    @Transactional(readOnly = true)
+    public List<ConferenceRankingProjection> getConferenceRankingProjections(Collection<Long> conferenceIds) {
+        if (conferenceIds != null && conferenceIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return inSessionWithResult(session -> {
+            final List<Object[]> conferences;
+            if (conferenceIds == null) {
+                conferences = session.createQuery(
+                                "SELECT c.id, c.acronym, c.name FROM Conference c", Object[].class) //$NON-NLS-1$
+                        .list();
+            } else {
+                conferences = session.createQuery(
+                                "SELECT c.id, c.acronym, c.name FROM Conference c WHERE c.id IN :ids", Object[].class) //$NON-NLS-1$
+                        .setParameterList("ids", conferenceIds) //$NON-NLS-1$
+                        .list();
+            }
+            final var projections = new ArrayList<ConferenceRankingProjection>(conferences.size());
+            for (final var row : conferences) {
+                projections.add(new ConferenceRankingProjection(((Long) row[0]).longValue(), (String) row[1], (String) row[2]));
+            }
+            return projections;
+        });
+    }
+
     /**
      * Replies the conference quality indicators for the given conference identifier.
      *
@@ -673,10 +848,61 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 
     }
 
+    /**
+     * Change of the CORE ranking of a conference, that is harvested for a reference year.
+     *
+     * @param oldRanking the previously know ranking.
+     * @param newRanking the current ranking.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record ConferenceRankingChange(CoreRanking oldRanking, CoreRanking newRanking) implements Serializable {
+        //
+    }
+
+    /**
+     * Compact description of a conference.
+     *
+     * @param id      the identifier of the conference in the database.
+     * @param acronym the acronym of the conference.
+     * @param name    the name of the conference.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record ConferenceRankingProjection(long id, String acronym, String name) implements Serializable {
+
+        /**
+         * Replies the acronym and the name of the conference, if they exist.
+         *
+         * @return the acronym and the name, or {@code null} if there is neither acronym nor name.
+         * @see Conference#getAcronymAndName()
+         */
+        public String getAcronymAndName() {
+            final var buffer = new StringBuilder();
+            if (!Strings.isNullOrEmpty(this.acronym)) {
+                buffer.append(this.acronym);
+            }
+            if (!Strings.isNullOrEmpty(this.name)) {
+                if (buffer.length() > 0) {
+                    buffer.append(EntityConstants.FULL_ACRONYM_NAME_SEPARATOR);
+                }
+                buffer.append(this.name);
+            }
+            return Strings.emptyToNull(buffer.toString());
+        }
+
+    }
+
     /**
      * Description of the information for a conference.
      *
-     * @param conference the conference.
+     * @param conferenceId the identifier of the conference.
      * @param ranking    the new CORE ranking, or {@code null} to avoid ranking change.
      * @author $Author: sgalland$
      * @version $Name$ $Revision$ $Date$
@@ -684,7 +910,7 @@ public class ConferenceService extends AbstractEntityService<Conference> {
      * @mavenartifactid $ArtifactId$
      * @since 4.0
      */
-    public record ConferenceRankingUpdateInformation(Conference conference, CoreRanking ranking) {
+    public record ConferenceRankingUpdateInformation(long conferenceId, CoreRanking ranking) {
         //
     }
 
@@ -68,6 +68,7 @@ public class JournalMergingService extends AbstractEntityService<Journal> {
      * @param comparator comparator of journals that is used for sorting the groups of duplicates. If it is {@code null},
      *                   a {@link JournalComparator} is used.
      * @param callback   the callback invoked during the building.
+     * @param threshold  the similarity level that is used for detecting the duplicates.
      * @return the duplicate journals that is finally computed.
      * @throws Exception if a problem occurred during the building.
      */
@@ -89,18 +90,17 @@ public class JournalMergingService extends AbstractEntityService<Journal> {
         }
         var duplicateCount = 0;
 
-        nameComparator.setSimilarityLevel(threshold);
+        final var similarity = this.nameComparator.newSimilaritySession(threshold);
         for (var i = 0; i < journalsList.size() - 1; ++i) {
             final var referenceJournal = journalsList.get(i);
 
             final var currentMatching = new TreeSet<Journal>(theComparator);
             currentMatching.add(referenceJournal);
 
-            this.nameComparator.setSimilarityLevel(0.8);
             final ListIterator<Journal> iterator2 = journalsList.listIterator(i + 1);
             while (iterator2.hasNext()) {
                 final var otherJournal = iterator2.next();
-                if (this.nameComparator.isSimilar(
+                if (similarity.isSimilar(
                         referenceJournal.getJournalName(), referenceJournal.getPublisher(),
                         otherJournal.getJournalName(), otherJournal.getPublisher())) {
                     currentMatching.add(otherJournal);
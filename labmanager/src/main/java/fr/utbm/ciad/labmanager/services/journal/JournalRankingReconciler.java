@@ -0,0 +1,383 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.journal;
+
+import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.utils.io.scimago.ScimagoPlatform;
+import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform;
+import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform.WebOfScienceJournal;
+import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.arakhne.afc.progress.Progression;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Reconciliation of the journal rankings that are known in the database with the yearly ranking datasets
+ * that are provided by Scimago and Web-of-Science.
+ * The journals are represented by a compact {@link JournalRankingProjection projection} that is indexed by the
+ * identifier of the journal on the ranking platform. The ranking dataset is read once, and each of its
+ * entries is joined to the indexed journals. Only the journals for which the ranking has changed are
+ * replied into the {@link JournalRankingDiff diff}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public final class JournalRankingReconciler {
+
+    private JournalRankingReconciler() {
+        //
+    }
+
+    private static Map<String, List<JournalRankingProjection>> buildIndex(Collection<JournalRankingProjection> journals,
+                                                                         Function<JournalRankingProjection, String> key) {
+        final var index = new HashMap<String, List<JournalRankingProjection>>();
+        for (final var journal : journals) {
+            final var id = key.apply(journal);
+            if (!Strings.isNullOrEmpty(id)) {
+                index.computeIfAbsent(id, it -> new ArrayList<>(1)).add(journal);
+            }
+        }
+        return index;
+    }
+
+    private static boolean isSameImpactFactor(float a, float b) {
+        // Impact factors are displayed and compared with 3 decimals
+        return Math.round(a * 1000f) == Math.round(b * 1000f);
+    }
+
+    /**
+     * Compare the quartile that is known for a journal with the rankings that are provided by a ranking platform.
+     *
+     * @param journalId       the identifier of the journal.
+     * @param scientificField the formatted scientific field of the journal, or {@code null} if unknown.
+     * @param oldQuartile     the last known quartile of the journal.
+     * @param rankings        the rankings per scientific field that are provided by the platform, or {@code null}
+     *                        if the journal is not ranked by the platform.
+     * @return the change, or {@code null} if the quartile has not changed.
+     */
+    public static QuartileChange compareQuartiles(long journalId, String scientificField, QuartileRanking oldQuartile,
+                                                  Map<String, QuartileRanking> rankings) {
+        final var knownQuartile = QuartileRanking.normalize(oldQuartile);
+        QuartileRanking newQuartile = null;
+        if (rankings != null && !Strings.isNullOrEmpty(scientificField)) {
+            newQuartile = rankings.get(scientificField);
+        }
+        if (newQuartile == null && rankings != null) {
+            final var choices = new TreeMap<String, QuartileRanking>();
+            for (final var ranking : rankings.entrySet()) {
+                if (!ScimagoPlatform.BEST.equals(ranking.getKey())) {
+                    choices.put(ranking.getKey(), ranking.getValue());
+                }
+            }
+            if (!choices.isEmpty()) {
+                // The scientific field must be selected by the user
+                return new QuartileChange(journalId, scientificField, knownQuartile, null, choices);
+            }
+        }
+        newQuartile = QuartileRanking.normalize(newQuartile);
+        if (newQuartile != knownQuartile) {
+            final Map<String, QuartileRanking> choices = Strings.isNullOrEmpty(scientificField) || newQuartile == QuartileRanking.NR
+                    ? Collections.emptyMap() : Collections.singletonMap(scientificField, newQuartile);
+            return new QuartileChange(journalId, scientificField, knownQuartile, newQuartile, choices);
+        }
+        return null;
+    }
+
+    /**
+     * Compare the impact factor that is known for a journal with the impact factor that is provided by a ranking platform.
+     *
+     * @param journalId       the identifier of the journal.
+     * @param oldImpactFactor the last known impact factor, or {@code 0} if unknown.
+     * @param newImpactFactor the impact factor from the ranking platform, or {@code 0} if unknown.
+     * @return the change, or {@code null} if the impact factor has not changed or is unknown.
+     */
+    public static ImpactFactorChange compareImpactFactors(long journalId, float oldImpactFactor, float newImpactFactor) {
+        if (newImpactFactor > 0f && !isSameImpactFactor(oldImpactFactor, newImpactFactor)) {
+            return new ImpactFactorChange(journalId, Math.max(0f, oldImpactFactor), newImpactFactor);
+        }
+        return null;
+    }
+
+    /**
+     * Reconcile the journals with the Scimago rankings for a year.
+     *
+     * @param journals the projections of the journals to reconcile.
+     * @param rankings the Scimago rankings for all the journals, as replied by
+     *                 {@link ScimagoPlatform#getJournalRanking(int, Progression)}.
+     * @param diff     the receiver of the changes.
+     * @param progress the progression monitor, or {@code null}.
+     */
+    public static void reconcileScimago(Collection<JournalRankingProjection> journals, Map<String, Map<String, QuartileRanking>> rankings,
+                                        JournalRankingDiff diff, Progression progress) {
+        final var index = buildIndex(journals, JournalRankingProjection::scimagoId);
+        final var progress0 = progress == null ? new DefaultProgression() : progress;
+        progress0.setProperties(0, 0, rankings.size() + index.size(), false);
+        final var unmatched = new HashSet<>(index.keySet());
+        for (final var entry : rankings.entrySet()) {
+            final var candidates = index.get(entry.getKey());
+            if (candidates != null) {
+                unmatched.remove(entry.getKey());
+                for (final var journal : candidates) {
+                    diff.addScimago(compareQuartiles(journal.id(), ScimagoPlatform.formatCategory(journal.scimagoCategory()),
+                            journal.lastScimagoQuartile(), entry.getValue()));
+                }
+            }
+            progress0.increment();
+        }
+        // The journals that have an identifier and are not in the dataset are no more ranked
+        for (final var id : unmatched) {
+            for (final var journal : index.get(id)) {
+                diff.addScimago(compareQuartiles(journal.id(), ScimagoPlatform.formatCategory(journal.scimagoCategory()),
+                        journal.lastScimagoQuartile(), null));
+            }
+        }
+        progress0.end();
+    }
+
+    /**
+     * Reconcile the journals with the Web-of-Science rankings for a year.
+     * The journals are joined to the ranking dataset based on their ISSN.
+     *
+     * @param journals       the projections of the journals to reconcile.
+     * @param rankings       the WoS rankings for all the journals, as replied by
+     *                       {@link WebOfSciencePlatform#getJournalRanking(int, java.io.InputStream, Progression)}.
+     * @param issnNormalizer the function that normalizes an ISSN in order to obtain a key in the {@code rankings}.
+     * @param diff           the receiver of the changes.
+     * @param progress       the progression monitor, or {@code null}.
+     */
+    public static void reconcileWos(Collection<JournalRankingProjection> journals, Map<String, WebOfScienceJournal> rankings,
+                                    Function<String, String> issnNormalizer, JournalRankingDiff diff, Progression progress) {
+        final var index = buildIndex(journals, it -> issnNormalizer.apply(it.issn()));
+        final var progress0 = progress == null ? new DefaultProgression() : progress;
+        progress0.setProperties(0, 0, rankings.size() + index.size(), false);
+        final var unmatched = new HashSet<>(index.keySet());
+        for (final var entry : rankings.entrySet()) {
+            final var candidates = index.get(entry.getKey());
+            if (candidates != null) {
+                unmatched.remove(entry.getKey());
+                final var ranking = entry.getValue();
+                for (final var journal : candidates) {
+                    diff.addWos(compareQuartiles(journal.id(), WebOfSciencePlatform.formatCategory(journal.wosCategory()),
+                            journal.lastWosQuartile(), ranking.quartiles()));
+                    diff.addImpactFactor(compareImpactFactors(journal.id(), journal.lastImpactFactor(), ranking.impactFactor()));
+                }
+            }
+            progress0.increment();
+        }
+        for (final var id : unmatched) {
+            for (final var journal : index.get(id)) {
+                diff.addWos(compareQuartiles(journal.id(), WebOfSciencePlatform.formatCategory(journal.wosCategory()),
+                        journal.lastWosQuartile(), null));
+            }
+        }
+        progress0.end();
+    }
+
+    /**
+     * Compact description of a journal and of its last known rankings for a reference year.
+     *
+     * @param id                  the identifier of the journal in the database.
+     * @param name                the name of the journal.
+     * @param publisher           the name of the publisher.
+     * @param issn                the ISSN of the journal.
+     * @param scimagoId           the identifier of the journal on Scimago.
+     * @param scimagoCategory     the scientific category of the journal on Scimago.
+     * @param wosId               the identifier of the journal on Web-of-Science.
+     * @param wosCategory         the scientific category of the journal on Web-of-Science.
+     * @param lastScimagoQuartile the last known Scimago quartile, never {@code null}.
+     * @param lastWosQuartile     the last known WoS quartile, never {@code null}.
+     * @param lastImpactFactor    the last known impact factor, or {@code 0}.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record JournalRankingProjection(long id, String name, String publisher, String issn,
+                                           String scimagoId, String scimagoCategory, String wosId, String wosCategory,
+                                           QuartileRanking lastScimagoQuartile, QuartileRanking lastWosQuartile,
+                                           float lastImpactFactor) implements Serializable {
+        //
+    }
+
+    /**
+     * Change of the quartile of a journal.
+     *
+     * @param journalId       the identifier of the journal.
+     * @param scientificField the scientific field that is used for the journal, or {@code null} if unknown.
+     * @param oldQuartile     the last known quartile, never {@code null}.
+     * @param newQuartile     the new quartile, or {@code null} if the scientific field must be selected among the {@code choices}.
+     * @param choices         the quartiles per scientific field that are provided by the ranking platform.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record QuartileChange(long journalId, String scientificField, QuartileRanking oldQuartile,
+                                 QuartileRanking newQuartile, Map<String, QuartileRanking> choices) implements Serializable {
+        //
+    }
+
+    /**
+     * Change of the impact factor of a journal.
+     *
+     * @param journalId       the identifier of the journal.
+     * @param oldImpactFactor the last known impact factor, or {@code 0}.
+     * @param newImpactFactor the new impact factor.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record ImpactFactorChange(long journalId, float oldImpactFactor, float newImpactFactor) implements Serializable {
+        //
+    }
+
+    /**
+     * Changes of the rankings of the journals for a reference year.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public static class JournalRankingDiff implements Serializable {
+
+        private static final long serialVersionUID = -4049823436420874526L;
+
+        private final int referenceYear;
+
+        private final Map<Long, QuartileChange> scimago = new TreeMap<>();
+
+        private final Map<Long, QuartileChange> wos = new TreeMap<>();
+
+        private final Map<Long, ImpactFactorChange> impactFactors = new TreeMap<>();
+
+        /**
+         * Constructor.
+         *
+         * @param referenceYear the reference year of the rankings.
+         */
+        public JournalRankingDiff(int referenceYear) {
+            this.referenceYear = referenceYear;
+        }
+
+        /**
+         * Replies the reference year of the rankings.
+         *
+         * @return the year.
+         */
+        public int getReferenceYear() {
+            return this.referenceYear;
+        }
+
+        /**
+         * Add a change of Scimago quartile.
+         *
+         * @param change the change, or {@code null} if none.
+         */
+        public synchronized void addScimago(QuartileChange change) {
+            if (change != null) {
+                this.scimago.put(Long.valueOf(change.journalId()), change);
+            }
+        }
+
+        /**
+         * Add a change of WoS quartile.
+         *
+         * @param change the change, or {@code null} if none.
+         */
+        public synchronized void addWos(QuartileChange change) {
+            if (change != null) {
+                this.wos.put(Long.valueOf(change.journalId()), change);
+            }
+        }
+
+        /**
+         * Add a change of impact factor.
+         *
+         * @param change the change, or {@code null} if none.
+         */
+        public synchronized void addImpactFactor(ImpactFactorChange change) {
+            if (change != null) {
+                this.impactFactors.put(Long.valueOf(change.journalId()), change);
+            }
+        }
+
+        /**
+         * Replies the changes of Scimago quartiles.
+         *
+         * @return the changes per journal identifier.
+         */
+        public synchronized Map<Long, QuartileChange> getScimagoChanges() {
+            return Collections.unmodifiableMap(new TreeMap<>(this.scimago));
+        }
+
+        /**
+         * Replies the changes of WoS quartiles.
+         *
+         * @return the changes per journal identifier.
+         */
+        public synchronized Map<Long, QuartileChange> getWosChanges() {
+            return Collections.unmodifiableMap(new TreeMap<>(this.wos));
+        }
+
+        /**
+         * Replies the changes of impact factors.
+         *
+         * @return the changes per journal identifier.
+         */
+        public synchronized Map<Long, ImpactFactorChange> getImpactFactorChanges() {
+            return Collections.unmodifiableMap(new TreeMap<>(this.impactFactors));
+        }
+
+        /**
+         * Replies the identifiers of the journals that have at least one change.
+         *
+         * @return the sorted identifiers.
+         */
+        public synchronized SortedSet<Long> getJournalIds() {
+            final var ids = new TreeSet<Long>(this.scimago.keySet());
+            ids.addAll(this.wos.keySet());
+            ids.addAll(this.impactFactors.keySet());
+            return ids;
+        }
+
+        /**
+         * Replies if there is no change.
+         *
+         * @return {@code true} if there is no change.
+         */
+        public synchronized boolean isEmpty() {
+            return this.scimago.isEmpty() && this.wos.isEmpty() && this.impactFactors.isEmpty();
+        }
+
+    }
+
+}
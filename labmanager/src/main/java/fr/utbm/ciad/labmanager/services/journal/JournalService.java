@@ -22,6 +22,7 @@ package fr.utbm.ciad.labmanager.services.journal;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
 import fr.utbm.ciad.labmanager.data.journal.Journal;
@@ -33,6 +34,11 @@ import fr.utbm.ciad.labmanager.data.publication.type.JournalEditionRepository;
 import fr.utbm.ciad.labmanager.data.publication.type.JournalPaperRepository;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.ImpactFactorChange;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.JournalRankingDiff;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.JournalRankingProjection;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.QuartileChange;
+import fr.utbm.ciad.labmanager.services.ranking.RankingHarvester;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import fr.utbm.ciad.labmanager.utils.io.network.NetConnection;
@@ -60,7 +66,6 @@ import java.io.Serializable;
 import java.net.URL;
 import java.util.*;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 /**
  * Service related to the journals.
@@ -78,6 +83,34 @@ public class JournalService extends AbstractEntityService<Journal> {
 
     private static final String NOT_RANKED_STR = "--"; //$NON-NLS-1$
 
+    /**
+     * Number of journals that are updated together when applying ranking changes.
+     *
+     * @since 4.0
+     */
+    public static final int UPDATE_BATCH_SIZE = 64;
+
+    /**
+     * Name of the Scimago source for the harvesting of the journal rankings.
+     *
+     * @since 4.0
+     */
+    public static final String SCIMAGO_RANKING_SOURCE = "scimago"; //$NON-NLS-1$
+
+    /**
+     * Name of the Web-of-Science source for the harvesting of the journal rankings.
+     *
+     * @since 4.0
+     */
+    public static final String WOS_RANKING_SOURCE = "wos"; //$NON-NLS-1$
+
+    /**
+     * Name of the option for the harvesting of the impact factors with the Web-of-Science rankings.
+     *
+     * @since 4.0
+     */
+    public static final String IMPACT_FACTOR_RANKING_OPTION = "impactFactor"; //$NON-NLS-1$
+
     private final JournalRepository journalRepository;
 
     private final JournalQualityAnnualIndicatorsRepository indicatorRepository;
@@ -295,8 +328,9 @@ public class JournalService extends AbstractEntityService<Journal> {
      */
     public Optional<Journal> getJournalBySimilarNameAndSimilarPublisher(String name, String publisher) {
         if (!Strings.isNullOrEmpty(name) || !Strings.isNullOrEmpty(publisher)) {
+            final var similarity = this.journalNameAndPublisherComparator.newSimilaritySession();
             for (final var journal : this.journalRepository.findAll()) {
-                if (this.journalNameAndPublisherComparator.isSimilar(name, publisher, journal.getJournalName(), journal.getPublisher())) {
+                if (similarity.isSimilar(name, publisher, journal.getJournalName(), journal.getPublisher())) {
                     return Optional.of(journal);
                 }
             }
@@ -633,10 +667,70 @@ public class JournalService extends AbstractEntityService<Journal> {
     ));
     }*/
 
+    /**
+     * Replies the compact projections of the journals that are used for reconciling their rankings.
+     * The last known rankings are computed for the given reference year, as {@link Journal#getScimagoQIndexByYear(int)},
+     * {@link Journal#getWosQIndexByYear(int)} and {@link Journal#getImpactFactorByYear(int)} are doing.
+     * The projections are built with two queries, whatever the number of journals.
+     *
+     * @param referenceYear the reference year.
+     * @param journalIds    the identifiers of the journals to consider, or {@code null} for all the journals.
+     * @return the projections of the journals.
+     * @since 4.0
+     */
+    @Transactional(readOnly = true)
+    public List<JournalRankingProjection> getJournalRankingProjections(int referenceYear, Collection<Long> journalIds) {
+        final var selection = journalIds == null ? null : new HashSet<>(journalIds);
+        return inSessionWithResult(session -> {
+            final var scimagoQuartiles = new HashMap<Long, QuartileRanking>();
+            final var wosQuartiles = new HashMap<Long, QuartileRanking>();
+            final var impactFactors = new HashMap<Long, Float>();
+            // Indicators are sorted from the most recent to the oldest for keeping the last known values
+            final var indicators = session.createQuery(
+                            "SELECT j.id, i.scimagoQIndex, i.wosQIndex, i.impactFactor FROM Journal j JOIN j.qualityIndicators i " //$NON-NLS-1$
+                                    + "WHERE i.referenceYear <= :year ORDER BY i.referenceYear DESC", Object[].class) //$NON-NLS-1$
+                    .setParameter("year", Integer.valueOf(referenceYear)) //$NON-NLS-1$
+                    .list();
+            for (final var row : indicators) {
+                final var id = (Long) row[0];
+                if (row[1] != null) {
+                    scimagoQuartiles.putIfAbsent(id, (QuartileRanking) row[1]);
+                }
+                if (row[2] != null) {
+                    wosQuartiles.putIfAbsent(id, (QuartileRanking) row[2]);
+                }
+                if (row[3] != null && ((Number) row[3]).floatValue() > 0f) {
+                    impactFactors.putIfAbsent(id, Float.valueOf(((Number) row[3]).floatValue()));
+                }
+            }
+            final var journals = session.createQuery(
+                            "SELECT j.id, j.journalName, j.publisher, j.issn, j.scimagoId, j.scimagoCategory, j.wosId, j.wosCategory FROM Journal j", //$NON-NLS-1$
+                            Object[].class)
+                    .list();
+            final var projections = new ArrayList<JournalRankingProjection>(journals.size());
+            for (final var row : journals) {
+                final var id = (Long) row[0];
+                if (selection == null || selection.contains(id)) {
+                    projections.add(new JournalRankingProjection(id.longValue(),
+                            (String) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5], (String) row[6], (String) row[7],
+                            scimagoQuartiles.getOrDefault(id, QuartileRanking.NR),
+                            wosQuartiles.getOrDefault(id, QuartileRanking.NR),
+                            impactFactors.getOrDefault(id, Float.valueOf(0f)).floatValue()));
+                }
+            }
+            return projections;
+        });
+    }
+
+    private static List<Long> toIdentifiers(List<Journal> journals) {
+        return journals.stream().map(it -> Long.valueOf(it.getId())).toList();
+    }
+
     /**
      * Download the journal indicators for the given reference year for the Scimago platform.
      * This function uses the {@link ScimagoPlatform} tool for downloading the CSV file from the Scimago
-     * website.
+     * website. The CSV file is read once and reconciled with the journals by the {@link JournalRankingReconciler}.
+     * The consumer is invoked only for the journals with a ranking change.
      *
      * @param referenceYear the reference year.
      * @param journals      the list of journals for which the indicators should be downloaded.
@@ -649,35 +743,40 @@ public class JournalService extends AbstractEntityService<Journal> {
     @Transactional(readOnly = true)
     public void downloadJournalIndicatorsFromScimago(int referenceYear, List<Journal> journals, Logger logger,
                                                      Progression progress, JournalRankingConsumer consumer) throws Exception {
+        downloadJournalIndicatorsFromScimago(referenceYear, toIdentifiers(journals), logger, progress, consumer);
+    }
+
+    /**
+     * Download the journal indicators for the given reference year for the Scimago platform.
+     * This function does not need the JPA entities of the journals; it is preferred by the callers that
+     * only keep the identifiers of the journals.
+     *
+     * @param referenceYear the reference year.
+     * @param journalIds    the identifiers of the journals for which the indicators should be downloaded.
+     * @param logger        the logger to be used.
+     * @param progress      the progression monitor.
+     * @param consumer      the consumer of the journal ranking information.
+     * @throws Exception if the journal information cannot be downloaded.
+     * @since 4.0
+     * @see #downloadJournalIndicatorsFromScimago(int, List, Logger, Progression, JournalRankingConsumer)
+     */
+    @Transactional(readOnly = true)
+    public void downloadJournalIndicatorsFromScimago(int referenceYear, Collection<Long> journalIds, Logger logger,
+                                                     Progression progress, JournalRankingConsumer consumer) throws Exception {
         logger.info("Downloading the journals' ranking indicators from Scimago for year " + referenceYear); //$NON-NLS-1$
         final var progress0 = progress == null ? new DefaultProgression() : progress;
-        progress0.setProperties(0, 0, journals.size() * 2, false);
-        for (final var journal : journals) {
-            logger.info("Downloading the Scimago indicators for journal " + journal.getJournalName()); //$NON-NLS-1$
-            progress0.setComment(journal.getJournalName());
-            if (!Strings.isNullOrEmpty(journal.getScimagoId())) {
-                final var scientificField = ScimagoPlatform.formatCategory(journal.getScimagoCategory());
-                final var lastScimagoQuartile = journal.getScimagoQIndexByYear(referenceYear);
-                final var rankings = this.scimago.getJournalRanking(referenceYear, journal.getScimagoId(), progress0.subTask(1));
-                progress0.ensureNoSubTask();
-                if (rankings != null) {
-                    QuartileRanking q = null;
-                    if (!Strings.isNullOrEmpty(scientificField)) {
-                        q = rankings.get(scientificField);
-                    }
-                    if (q == null) {
-                        final var availableQuartiles = rankings.entrySet().stream().filter(it -> !ScimagoPlatform.BEST.equals(it.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                        consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, availableQuartiles);
-                    } else {
-                        consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, Collections.singletonMap(scientificField, q));
-                    }
-                } else {
-                    consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, Collections.emptyMap());
-                }
-                progress0.increment();
-            } else {
-                progress0.subTask(2);
-            }
+        progress0.setProperties(0, 0, 3, false);
+        final var projections = getJournalRankingProjections(referenceYear, journalIds);
+        progress0.increment();
+        final var rankings = this.scimago.getJournalRanking(referenceYear, progress0.subTask(1));
+        progress0.ensureNoSubTask();
+        final var diff = new JournalRankingDiff(referenceYear);
+        JournalRankingReconciler.reconcileScimago(projections, rankings, diff, progress0.subTask(1));
+        progress0.ensureNoSubTask();
+        final var changes = diff.getScimagoChanges();
+        logger.info("Scimago rankings are changed for " + changes.size() + " journals"); //$NON-NLS-1$ //$NON-NLS-2$
+        for (final var change : changes.values()) {
+            consumer.consume(referenceYear, change.journalId(), change.scientificField(), change.oldQuartile(), change.choices());
         }
         progress0.end();
     }
@@ -685,6 +784,7 @@ public class JournalService extends AbstractEntityService<Journal> {
     /**
      * Download the journal indicators for the given reference year for the WoS platform.
      * This function uses the {@link WosPlatform} tool for downloading the indicators.
+     * The consumer is invoked only for the journals with a ranking change.
      *
      * @param referenceYear the reference year.
      * @param journals      the list of journals for which the indicators should be downloaded.
@@ -697,32 +797,40 @@ public class JournalService extends AbstractEntityService<Journal> {
     @Transactional(readOnly = true)
     public void downloadJournalIndicatorsFromWoS(int referenceYear, List<Journal> journals, Logger logger,
                                                  Progression progress, JournalRankingConsumer2 consumer) throws Exception {
+        downloadJournalIndicatorsFromWoS(referenceYear, toIdentifiers(journals), logger, progress, consumer);
+    }
+
+    /**
+     * Download the journal indicators for the given reference year for the WoS platform.
+     * This function does not need the JPA entities of the journals; it is preferred by the callers that
+     * only keep the identifiers of the journals.
+     *
+     * @param referenceYear the reference year.
+     * @param journalIds    the identifiers of the journals for which the indicators should be downloaded.
+     * @param logger        the logger to be used.
+     * @param progress      the progression monitor.
+     * @param consumer      the consumer of the journal ranking information.
+     * @throws Exception if the journal information cannot be downloaded.
+     * @since 4.0
+     * @see #downloadJournalIndicatorsFromWoS(int, List, Logger, Progression, JournalRankingConsumer2)
+     */
+    @Transactional(readOnly = true)
+    public void downloadJournalIndicatorsFromWoS(int referenceYear, Collection<Long> journalIds, Logger logger,
+                                                 Progression progress, JournalRankingConsumer2 consumer) throws Exception {
         logger.info("Downloading the journals' ranking indicators from Web-of-Science for year " + referenceYear); //$NON-NLS-1$
         final var progress0 = progress == null ? new DefaultProgression() : progress;
-        progress0.setProperties(0, 0, journals.size() * 2, false);
-        for (final var journal : journals) {
-            progress0.setComment(journal.getJournalName());
-            if (!Strings.isNullOrEmpty(journal.getWosId())) {
-                logger.info("Downloading the WoS indicators for journal " + journal.getJournalName()); //$NON-NLS-1$
-                final var scientificField = WebOfSciencePlatform.formatCategory(journal.getWosCategory());
-                final var lastWosQuartile = journal.getWosQIndexByYear(referenceYear);
-                final var lastImpactFactor = journal.getImpactFactorByYear(referenceYear);
-                final var rankings = this.wos.getJournalRanking(journal.getWosId(), progress0.subTask(1));
+        final var projections = getJournalRankingProjections(referenceYear, journalIds);
+        progress0.setProperties(0, 0, projections.size() * 2, false);
+        // The WoS platform is queried journal per journal; the last known rankings are taken from the projections
+        for (final var journal : projections) {
+            progress0.setComment(journal.name());
+            if (!Strings.isNullOrEmpty(journal.wosId())) {
+                logger.info("Downloading the WoS indicators for journal " + journal.name()); //$NON-NLS-1$
+                final var change = downloadWosRankingChange(journal, progress0.subTask(1));
                 progress0.ensureNoSubTask();
-                if (rankings != null) {
-                    final var currentImpactFactor = rankings.impactFactor();
-                    QuartileRanking q = null;
-                    if (!Strings.isNullOrEmpty(scientificField)) {
-                        q = rankings.quartiles().get(scientificField);
-                    }
-                    if (q == null) {
-                        final var availableQuartiles = rankings.quartiles().entrySet().stream().filter(it -> !ScimagoPlatform.BEST.equals(it.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-                        consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, availableQuartiles, lastImpactFactor, currentImpactFactor);
-                    } else {
-                        consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, Collections.singletonMap(scientificField, q), lastImpactFactor, currentImpactFactor);
-                    }
-                } else {
-                    consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, Collections.emptyMap(), lastImpactFactor, 0f);
+                if (change != null) {
+                    consumer.consume(referenceYear, journal.id(), change.scientificField(), change.oldQuartile(), change.choices(),
+                            change.oldImpactFactor(), change.newImpactFactor());
                 }
                 progress0.increment();
             } else {
@@ -732,6 +840,89 @@ public class JournalService extends AbstractEntityService<Journal> {
         progress0.end();
     }
 
+    private JournalWosRankingChange downloadWosRankingChange(JournalRankingProjection journal, Progression progress) throws Exception {
+        final var scientificField = WebOfSciencePlatform.formatCategory(journal.wosCategory());
+        final var rankings = this.wos.getJournalRanking(journal.wosId(), progress);
+        final var currentImpactFactor = rankings != null ? rankings.impactFactor() : 0f;
+        final var quartileChange = JournalRankingReconciler.compareQuartiles(journal.id(), scientificField,
+                journal.lastWosQuartile(), rankings != null ? rankings.quartiles() : null);
+        final var impactFactorChange = JournalRankingReconciler.compareImpactFactors(journal.id(),
+                journal.lastImpactFactor(), currentImpactFactor);
+        if (quartileChange == null && impactFactorChange == null) {
+            return null;
+        }
+        final Map<String, QuartileRanking> choices;
+        if (quartileChange != null) {
+            choices = quartileChange.choices();
+        } else if (Strings.isNullOrEmpty(scientificField)) {
+            choices = Collections.emptyMap();
+        } else {
+            choices = Collections.singletonMap(scientificField, journal.lastWosQuartile());
+        }
+        return new JournalWosRankingChange(scientificField, journal.lastWosQuartile(), choices,
+                journal.lastImpactFactor(), impactFactorChange != null ? impactFactorChange.newImpactFactor() : journal.lastImpactFactor());
+    }
+
+    /**
+     * Replies the harvester of the journal rankings from the given source for the given reference year.
+     * The Scimago rankings are downloaded once when the harvesting is started, and each journal is compared
+     * to them. The Web-of-Science rankings are downloaded journal per journal.
+     * The journals without identifier on the source, or with unchanged rankings, are skipped by the harvester.
+     *
+     * @param source        the name of the source, one of {@link #SCIMAGO_RANKING_SOURCE} or {@link #WOS_RANKING_SOURCE}.
+     * @param referenceYear the reference year.
+     * @return the harvester. The harvested values are of type {@link QuartileChange} for Scimago, and of type
+     *     {@link JournalWosRankingChange} for Web-of-Science.
+     * @since 4.0
+     */
+    public RankingHarvester getRankingHarvester(String source, int referenceYear) {
+        switch (source) {
+            case SCIMAGO_RANKING_SOURCE:
+                return (entityIds, logger, progress) -> {
+                    logger.info("Downloading the journals' ranking indicators from Scimago for year " + referenceYear); //$NON-NLS-1$
+                    progress.setProperties(0, 0, 2, false);
+                    final var journals = indexProjections(getJournalRankingProjections(referenceYear, entityIds));
+                    progress.increment();
+                    final var rankings = this.scimago.getJournalRanking(referenceYear, progress.subTask(1));
+                    progress.end();
+                    return (entityId, progress0) -> {
+                        final var journal = journals.get(Long.valueOf(entityId));
+                        progress0.end();
+                        if (journal == null || Strings.isNullOrEmpty(journal.scimagoId())) {
+                            return null;
+                        }
+                        return JournalRankingReconciler.compareQuartiles(journal.id(), ScimagoPlatform.formatCategory(journal.scimagoCategory()),
+                                journal.lastScimagoQuartile(), rankings.get(journal.scimagoId()));
+                    };
+                };
+            case WOS_RANKING_SOURCE:
+                return (entityIds, logger, progress) -> {
+                    final var journals = indexProjections(getJournalRankingProjections(referenceYear, entityIds));
+                    progress.end();
+                    return (entityId, progress0) -> {
+                        final var journal = journals.get(Long.valueOf(entityId));
+                        if (journal == null || Strings.isNullOrEmpty(journal.wosId())) {
+                            progress0.end();
+                            return null;
+                        }
+                        logger.info("Downloading the WoS indicators for journal " + journal.name()); //$NON-NLS-1$
+                        progress0.setComment(journal.name());
+                        return downloadWosRankingChange(journal, progress0);
+                    };
+                };
+            default:
+                throw new IllegalArgumentException("Unknown ranking source: " + source); //$NON-NLS-1$
+        }
+    }
+
+    private static Map<Long, JournalRankingProjection> indexProjections(List<JournalRankingProjection> projections) {
+        final var index = new HashMap<Long, JournalRankingProjection>();
+        for (final var projection : projections) {
+            index.put(Long.valueOf(projection.id()), projection);
+        }
+        return index;
+    }
+
     /**
      * Update the journal indicators according to the given inputs.
      *
@@ -744,137 +935,180 @@ public class JournalService extends AbstractEntityService<Journal> {
      * @param progress           the progression monitor.
      * @throws Exception if the journal information cannot be downloaded.
      * @since 4.0
+     * @see #updateJournalIndicators(JournalRankingDiff, boolean, boolean, boolean, Logger, Progression)
      */
     @Transactional
     public void updateJournalIndicators(int referenceYear, Collection<JournalRankingUpdateInformation> journalUpdates,
                                         boolean updateScimago, boolean updateWos, boolean updateImpactFactor, Logger logger, Progression progress) {
-        progress.setProperties(0, 0, journalUpdates.size() + 1, false);
-        final var journals = new ArrayList<Journal>();
-        journalUpdates.forEach(info -> {
-            final var journal = info.journal();
-            logger.info("Updating the ranking indicators in the database for journal: " + journal); //$NON-NLS-1$
-            progress.setComment(journal.getJournalName());
-            if (updateScimago && info.scimago() != null) {
-                journal.setScimagoQIndexByYear(referenceYear, info.scimago());
+        final var diff = new JournalRankingDiff(referenceYear);
+        for (final var info : journalUpdates) {
+            final var journalId = info.journal().getId();
+            if (info.scimago() != null) {
+                diff.addScimago(new QuartileChange(journalId, null, null, info.scimago(), Collections.emptyMap()));
             }
-            if (updateWos && info.wos() != null) {
-                journal.setWosQIndexByYear(referenceYear, info.wos());
+            if (info.wos() != null) {
+                diff.addWos(new QuartileChange(journalId, null, null, info.wos(), Collections.emptyMap()));
             }
-            if (updateImpactFactor && info.impactFactor() != null) {
-                journal.setImpactFactorByYear(referenceYear, info.impactFactor().floatValue());
+            if (info.impactFactor() != null) {
+                diff.addImpactFactor(new ImpactFactorChange(journalId, 0f, info.impactFactor().floatValue()));
             }
-            journals.add(journal);
-            progress.increment();
-        });
-        this.journalRepository.saveAll(journals);
-        progress.end();
+        }
+        updateJournalIndicators(diff, updateScimago, updateWos, updateImpactFactor, logger, progress);
+    }
+
+    /**
+     * Apply the given ranking changes to the journals.
+     * The journals are loaded with their indicators and saved by batches of {@link #UPDATE_BATCH_SIZE} journals.
+     * The quartile changes without new quartile, i.e. for which a scientific field must be selected, are ignored.
+     *
+     * @param diff               the changes to apply.
+     * @param updateScimago      indicates if the Scimago indicators are updated.
+     * @param updateWos          indicates if the Web-of-Science indicators are updated.
+     * @param updateImpactFactor indicates if the impact factors are updated.
+     * @param logger             the logger to be used.
+     * @param progress           the progression monitor.
+     * @since 4.0
+     */
+    @Transactional
+    public void updateJournalIndicators(JournalRankingDiff diff, boolean updateScimago, boolean updateWos, boolean updateImpactFactor,
+                                        Logger logger, Progression progress) {
+        final var referenceYear = diff.getReferenceYear();
+        final var scimagoChanges = updateScimago ? diff.getScimagoChanges() : Collections.<Long, QuartileChange>emptyMap();
+        final var wosChanges = updateWos ? diff.getWosChanges() : Collections.<Long, QuartileChange>emptyMap();
+        final var impactFactorChanges = updateImpactFactor ? diff.getImpactFactorChanges() : Collections.<Long, ImpactFactorChange>emptyMap();
+        final var ids = new ArrayList<>(diff.getJournalIds());
+        final var progress0 = progress == null ? new DefaultProgression() : progress;
+        progress0.setProperties(0, 0, ids.size() + 1, false);
+        for (final var batch : Lists.partition(ids, UPDATE_BATCH_SIZE)) {
+            final var journals = this.journalRepository.findAllByIdIn(batch);
+            for (final var journal : journals) {
+                final var journalId = Long.valueOf(journal.getId());
+                logger.info("Updating the ranking indicators in the database for journal: " + journal); //$NON-NLS-1$
+                progress0.setComment(journal.getJournalName());
+                final var scimago = scimagoChanges.get(journalId);
+                if (scimago != null && scimago.newQuartile() != null) {
+                    journal.setScimagoQIndexByYear(referenceYear, scimago.newQuartile());
+                }
+                final var wos = wosChanges.get(journalId);
+                if (wos != null && wos.newQuartile() != null) {
+                    journal.setWosQIndexByYear(referenceYear, wos.newQuartile());
+                }
+                final var impactFactor = impactFactorChanges.get(journalId);
+                if (impactFactor != null) {
+                    journal.setImpactFactorByYear(referenceYear, impactFactor.newImpactFactor());
+                }
+            }
+            this.journalRepository.saveAll(journals);
+            this.journalRepository.flush();
+            progress0.increment(batch.size());
+        }
+        progress0.end();
+    }
+
+    /**
+     * Compute the changes of the journal indicators for the given reference year.
+     * This function read the given CSV stream as it is the CSV file provided by Web-of-Science.
+     * It also uses the {@link ScimagoPlatform} tool for downloading the CSV file from the Scimago
+     * website. Each dataset is read once and reconciled with the projections of all the journals.
+     *
+     * @param referenceYear the reference year.
+     * @param wosCsv        the CSV file from web-of-science, or {@code null} if none.
+     * @param progress      the progression monitor.
+     * @return the changes.
+     * @throws Exception if an error occurred when reading the CSV streams.
+     * @since 4.0
+     */
+    @Transactional(readOnly = true)
+    public JournalRankingDiff computeJournalIndicatorUpdates(int referenceYear, InputStream wosCsv, Progression progress) throws Exception {
+        final var progress0 = progress == null ? new DefaultProgression() : progress;
+        progress0.setProperties(0, 0, wosCsv != null ? 5 : 3, false);
+        final var projections = getJournalRankingProjections(referenceYear, null);
+        progress0.increment();
+        final var diff = new JournalRankingDiff(referenceYear);
+        final var scimagoRankings = this.scimago.getJournalRanking(referenceYear, progress0.subTask(1));
+        progress0.ensureNoSubTask();
+        JournalRankingReconciler.reconcileScimago(projections, scimagoRankings, diff, progress0.subTask(1));
+        progress0.ensureNoSubTask();
+        if (wosCsv != null) {
+            final var wosRankings = this.wos.getJournalRanking(referenceYear, wosCsv, progress0.subTask(1));
+            progress0.ensureNoSubTask();
+            JournalRankingReconciler.reconcileWos(projections, wosRankings, this.wos::normalizeIssn, diff, progress0.subTask(1));
+            progress0.ensureNoSubTask();
+        }
+        progress0.end();
+        return diff;
+    }
+
+    private static void putQuartileChange(ObjectNode journalNode, String name, QuartileChange change) {
+        if (change != null) {
+            final var node = journalNode.putObject(name);
+            if (change.newQuartile() != null) {
+                node.put("qindex", change.newQuartile().name()); //$NON-NLS-1$
+            } else {
+                final var categories = node.putArray("categories"); //$NON-NLS-1$
+                for (final var category : change.choices().entrySet()) {
+                    final var categoryNode = categories.addObject();
+                    categoryNode.put("name", category.getKey()); //$NON-NLS-1$
+                    categoryNode.put("qindex", category.getValue().name()); //$NON-NLS-1$
+                }
+            }
+        }
     }
 
     /**
      * Replies Json that describes an update of the journal indicators for the given reference year.
      * This function read the given CSV stream as it is the CSV file provided by Web-of-Science.
      * It also uses the {@link ScimagoPlatform} tool for downloading the CSV file from the Scimago
-     * website.
+     * website. Only the journals with changes are replied.
      *
      * @param referenceYear the reference year.
      * @param wosCsv        the CSV file from web-of-science, or {@code null} if none.
      * @param progress      the progression monitor.
      * @return the JSON.
      * @throws Exception if an error occurred when reading the CSV streams.
-     * @Deprecated no replacement.
+     * @Deprecated see {@link #computeJournalIndicatorUpdates(int, InputStream, Progression)}.
      * @since 2.5
      */
     @Deprecated(since = "4.0", forRemoval = true)
     public JsonNode getJournalIndicatorUpdates(int referenceYear, InputStream wosCsv, Progression progress) throws Exception {
-        final var progress0 = progress == null ? new DefaultProgression() : progress;
-        final var journals = this.journalRepository.findAll();
-        progress0.setProperties(0, 0, journals.size(), false);
+        final var diff = computeJournalIndicatorUpdates(referenceYear, wosCsv, progress);
+        final var journals = new HashMap<Long, JournalRankingProjection>();
+        for (final var journal : getJournalRankingProjections(referenceYear, diff.getJournalIds())) {
+            journals.put(Long.valueOf(journal.id()), journal);
+        }
+        final var scimagoChanges = diff.getScimagoChanges();
+        final var wosChanges = diff.getWosChanges();
+        final var impactFactorChanges = diff.getImpactFactorChanges();
         final var mapper = JsonUtils.createMapper();
         final var root = new ObjectNode(mapper.getNodeFactory());
         final var dataNode = root.putArray("data"); //$NON-NLS-1$
-        for (final var journal : journals) {
-            final var journalNode = dataNode.objectNode();
-            final var lastScimagoQuartile = journal.getScimagoQIndexByYear(referenceYear);
-            final var oldDataNode = journalNode.putObject("previous"); //$NON-NLS-1$
-            oldDataNode.put("scimagoQindex", lastScimagoQuartile.name()); //$NON-NLS-1$
-            if (!Strings.isNullOrEmpty(journal.getScimagoCategory())) {
-                oldDataNode.put("scimagoCategory", journal.getScimagoCategory()); //$NON-NLS-1$
-            }
-            final var lastWosQuartile = journal.getWosQIndexByYear(referenceYear);
-            oldDataNode.put("wosQindex", lastWosQuartile.name()); //$NON-NLS-1$
-            if (!Strings.isNullOrEmpty(journal.getWosCategory())) {
-                oldDataNode.put("wosCategory", journal.getWosCategory()); //$NON-NLS-1$
-            }
-            final var lastImpactFactor = journal.getImpactFactorByYear(referenceYear);
-            if (lastImpactFactor > 0f) {
-                oldDataNode.put("impactFactor", Float.toString(lastImpactFactor)); //$NON-NLS-1$
-            }
-            // Read updates from the Scimago provider
-            if (!Strings.isNullOrEmpty(journal.getScimagoId())) {
-                final var scimagoNode = journalNode.objectNode();
-                final var rankings = this.scimago.getJournalRanking(referenceYear, journal.getScimagoId(), null);
-                if (rankings != null) {
-                    QuartileRanking q = null;
-                    if (!Strings.isNullOrEmpty(journal.getScimagoCategory())) {
-                        q = rankings.get(journal.getScimagoCategory());
-                    }
-                    if (q == null) {
-                        final var categories = scimagoNode.putArray("categories"); //$NON-NLS-1$
-                        for (final var category : rankings.entrySet()) {
-                            if (!ScimagoPlatform.BEST.equals(category.getKey())) {
-                                final var categoryNode = categories.addObject();
-                                categoryNode.put("name", category.getKey()); //$NON-NLS-1$
-                                categoryNode.put("qindex", category.getValue().name()); //$NON-NLS-1$
-                            }
-                        }
-                    } else {
-                        scimagoNode.put("qindex", q.name()); //$NON-NLS-1$
-                    }
-                } else {
-                    scimagoNode.put("qindex", QuartileRanking.NR.name()); //$NON-NLS-1$
+        for (final var journalId : diff.getJournalIds()) {
+            final var journal = journals.get(journalId);
+            if (journal != null) {
+                final var journalNode = dataNode.addObject();
+                journalNode.put("id", journal.id()); //$NON-NLS-1$
+                journalNode.put("name", journal.name()); //$NON-NLS-1$
+                journalNode.put("publisher", journal.publisher()); //$NON-NLS-1$
+                journalNode.put("issn", journal.issn()); //$NON-NLS-1$
+                final var oldDataNode = journalNode.putObject("previous"); //$NON-NLS-1$
+                oldDataNode.put("scimagoQindex", journal.lastScimagoQuartile().name()); //$NON-NLS-1$
+                if (!Strings.isNullOrEmpty(journal.scimagoCategory())) {
+                    oldDataNode.put("scimagoCategory", journal.scimagoCategory()); //$NON-NLS-1$
                 }
-                if (!scimagoNode.isEmpty()) {
-                    journalNode.set("scimago", scimagoNode); //$NON-NLS-1$
+                oldDataNode.put("wosQindex", journal.lastWosQuartile().name()); //$NON-NLS-1$
+                if (!Strings.isNullOrEmpty(journal.wosCategory())) {
+                    oldDataNode.put("wosCategory", journal.wosCategory()); //$NON-NLS-1$
                 }
-            }
-            // Read updates from the Web-of-Science provider
-            if (wosCsv != null && !Strings.isNullOrEmpty(journal.getISSN())) {
-                final var wosNode = journalNode.objectNode();
-                final var rankings = this.wos.getJournalRanking(referenceYear, wosCsv, journal.getISSN(), null);
-                if (rankings != null) {
-                    if (rankings.impactFactor() > 0f) {
-                        journalNode.put("impactFactor", rankings.impactFactor()); //$NON-NLS-1$
-                    }
-                    QuartileRanking q = null;
-                    if (!Strings.isNullOrEmpty(journal.getWosCategory())) {
-                        q = rankings.quartiles().get(journal.getWosCategory());
-                    }
-                    if (q == null) {
-                        final var categories = wosNode.putArray("categories"); //$NON-NLS-1$
-                        for (final var category : rankings.quartiles().entrySet()) {
-                            final var categoryNode = categories.addObject();
-                            categoryNode.put("name", category.getKey()); //$NON-NLS-1$
-                            categoryNode.put("qindex", category.getValue().name()); //$NON-NLS-1$
-                        }
-                    } else {
-                        wosNode.put("qindex", q.name()); //$NON-NLS-1$
-                    }
-                } else {
-                    wosNode.put("qindex", QuartileRanking.NR.name()); //$NON-NLS-1$
+                if (journal.lastImpactFactor() > 0f) {
+                    oldDataNode.put("impactFactor", Float.toString(journal.lastImpactFactor())); //$NON-NLS-1$
                 }
-                if (!wosNode.isEmpty()) {
-                    journalNode.set("wos", wosNode); //$NON-NLS-1$
+                putQuartileChange(journalNode, "scimago", scimagoChanges.get(journalId)); //$NON-NLS-1$
+                putQuartileChange(journalNode, "wos", wosChanges.get(journalId)); //$NON-NLS-1$
+                final var impactFactor = impactFactorChanges.get(journalId);
+                if (impactFactor != null) {
+                    journalNode.put("impactFactor", impactFactor.newImpactFactor()); //$NON-NLS-1$
                 }
             }
-            //
-            if (!journalNode.isEmpty()) {
-                journalNode.put("id", journal.getId()); //$NON-NLS-1$
-                journalNode.put("name", journal.getJournalName()); //$NON-NLS-1$
-                journalNode.put("publisher", journal.getPublisher()); //$NON-NLS-1$
-                journalNode.put("issn", journal.getISSN()); //$NON-NLS-1$
-                dataNode.add(journalNode);
-            }
-            progress0.increment();
         }
         return root;
     }
@@ -1095,6 +1329,25 @@ public class JournalService extends AbstractEntityService<Journal> {
         //
     }
 
+    /**
+     * Change of the Web-of-Science rankings of a journal, that is harvested for a reference year.
+     *
+     * @param scientificField the name of the scientific field that is serving as reference.
+     * @param oldQuartile     the previously know quartile.
+     * @param choices         lists the available quartiles per scientific field.
+     * @param oldImpactFactor the previsouly known impact factor, or {@code 0}.
+     * @param newImpactFactor the new impact factor, or {@code 0}.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record JournalWosRankingChange(String scientificField, QuartileRanking oldQuartile, Map<String, QuartileRanking> choices,
+                                          float oldImpactFactor, float newImpactFactor) implements Serializable {
+        //
+    }
+
     /**
      * Context for editing a {@link Journal}.
      * This context is usually defined when the entity is associated to
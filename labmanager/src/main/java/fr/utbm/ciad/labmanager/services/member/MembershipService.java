@@ -28,6 +28,7 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxis;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchyService;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
 import fr.utbm.ciad.labmanager.utils.bap.FrenchBap;
 import fr.utbm.ciad.labmanager.utils.cnu.CnuSection;
@@ -75,6 +76,8 @@ public class MembershipService extends AbstractEntityService<Membership> {
 
     private final PersonRepository personRepository;
 
+    private final ResearchOrganizationHierarchyService hierarchyService;
+
     /**
      * Constructor for injector.
      * This constructor is defined for being invoked by the IOC injector.
@@ -82,6 +85,7 @@ public class MembershipService extends AbstractEntityService<Membership> {
      * @param organizationRepository the organization repository.
      * @param membershipRepository   the membership repository.
      * @param personRepository       the person repository.
+     * @param hierarchyService       the service that maintains the closure of the organization hierarchy.
      * @param messages               the provider of localized messages.
      * @param constants              the accessor to the live constants.
      * @param sessionFactory         the Hibernate session factory.
@@ -90,6 +94,7 @@ public class MembershipService extends AbstractEntityService<Membership> {
             @Autowired ResearchOrganizationRepository organizationRepository,
             @Autowired MembershipRepository membershipRepository,
             @Autowired PersonRepository personRepository,
+            @Autowired ResearchOrganizationHierarchyService hierarchyService,
             @Autowired MessageSourceAccessor messages,
             @Autowired ConfigurationConstants constants,
             @Autowired SessionFactory sessionFactory) {
@@ -97,6 +102,7 @@ public class MembershipService extends AbstractEntityService<Membership> {
         this.organizationRepository = organizationRepository;
         this.membershipRepository = membershipRepository;
         this.personRepository = personRepository;
+        this.hierarchyService = hierarchyService;
     }
 
     private static Map<Long, List<ResearchOrganization>> getOtherOrganizationsForMembers(Collection<Membership> members,
@@ -524,26 +530,24 @@ public class MembershipService extends AbstractEntityService<Membership> {
      * @see #getDirectMembersOf(long)
      */
     public Set<Person> getMembersOf(long organizationId) {
-        final var optOrg = this.organizationRepository.findById(Long.valueOf(organizationId));
-        if (optOrg.isPresent()) {
-            final var organization = optOrg.get();
-
-            final var persons = new HashSet<Person>();
-
-            final var organizationCandidates = new LinkedList<ResearchOrganization>();
-            organizationCandidates.add(organization);
-
-            do {
-                final var currentOrganization = organizationCandidates.removeFirst();
-                persons.addAll(getDirectMembersOf(currentOrganization.getId()));
-                organizationCandidates.addAll(currentOrganization.getSubOrganizations());
-            } while (!organizationCandidates.isEmpty());
-
-            return persons;
+        final var organizationIds = this.hierarchyService.getOrganizationAndSubOrganizationIds(organizationId);
+        if (!organizationIds.isEmpty()) {
+            return this.personRepository.findDistinctByMembershipsResearchOrganizationIdIn(organizationIds);
         }
         return Collections.emptySet();
     }
 
+    /**
+     * Ensure that the closure of the organization hierarchy that is stored in the database is up-to-date.
+     * This function must be invoked before running a query that is based on the closure table.
+     *
+     * @since 4.0
+     * @see fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationClosure
+     */
+    public void synchronizeOrganizationHierarchy() {
+        this.hierarchyService.synchronizeClosure();
+    }
+
     /**
      * Replies the persons in the organization of the given name, with the given status.
      *
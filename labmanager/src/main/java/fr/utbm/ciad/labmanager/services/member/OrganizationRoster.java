@@ -0,0 +1,328 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.member;
+
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Responsibility;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Roster of the members of a research organization that is indexed on the membership periods.
+ * The memberships are sorted by start date and stored into an implicit balanced binary tree that is augmented with
+ * the greatest end date of each subtree. Replying the members at a date or during a period takes a time
+ * that is logarithmic in the number of memberships, plus the number of replied members.
+ *
+ * <p>The roster is immutable and does not keep any reference to the JPA entities.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see OrganizationRosterService
+ */
+public final class OrganizationRoster implements Serializable {
+
+    private static final long serialVersionUID = -1879354021474633281L;
+
+    private static final long MIN_DAY = LocalDate.MIN.toEpochDay();
+
+    private static final long MAX_DAY = LocalDate.MAX.toEpochDay();
+
+    private final long organizationId;
+
+    private final Member[] members;
+
+    private final long[] starts;
+
+    private final long[] ends;
+
+    private final long[] maxEnds;
+
+    private OrganizationRoster(long organizationId, List<Member> members) {
+        this.organizationId = organizationId;
+        members.sort(Comparator.comparingLong(Member::getStartDay));
+        this.members = members.toArray(new Member[members.size()]);
+        final var size = this.members.length;
+        this.starts = new long[size];
+        this.ends = new long[size];
+        this.maxEnds = new long[size];
+        for (var i = 0; i < size; ++i) {
+            this.starts[i] = this.members[i].getStartDay();
+            this.ends[i] = this.members[i].getEndDay();
+        }
+        buildMaxEnds(0, size);
+    }
+
+    /**
+     * Create the roster for the given memberships.
+     * The memberships must be attached to a JPA session because the names of the persons are read.
+     *
+     * @param organizationId the identifier of the organization.
+     * @param memberships    the memberships that have the organization as direct organization.
+     * @return the roster.
+     */
+    public static OrganizationRoster build(long organizationId, Collection<Membership> memberships) {
+        final var members = new ArrayList<Member>(memberships.size());
+        for (final var membership : memberships) {
+            members.add(Member.of(membership));
+        }
+        return new OrganizationRoster(organizationId, members);
+    }
+
+    private static long toStartDay(LocalDate date) {
+        return date == null ? MIN_DAY : date.toEpochDay();
+    }
+
+    private static long toEndDay(LocalDate date) {
+        return date == null ? MAX_DAY : date.toEpochDay();
+    }
+
+    private long buildMaxEnds(int low, int high) {
+        if (low >= high) {
+            return Long.MIN_VALUE;
+        }
+        final var middle = (low + high) >>> 1;
+        final var max = Math.max(this.ends[middle], Math.max(buildMaxEnds(low, middle), buildMaxEnds(middle + 1, high)));
+        this.maxEnds[middle] = max;
+        return max;
+    }
+
+    private void collect(int low, int high, long from, long to, Predicate<? super Member> filter, List<Member> result) {
+        if (low >= high) {
+            return;
+        }
+        final var middle = (low + high) >>> 1;
+        if (this.maxEnds[middle] < from) {
+            // No membership in this subtree ends after the start of the period
+            return;
+        }
+        collect(low, middle, from, to, filter, result);
+        if (this.starts[middle] > to) {
+            // The memberships on the right start later than the middle membership
+            return;
+        }
+        if (this.ends[middle] >= from) {
+            final var member = this.members[middle];
+            if (filter == null || filter.test(member)) {
+                result.add(member);
+            }
+        }
+        collect(middle + 1, high, from, to, filter, result);
+    }
+
+    /**
+     * Replies the identifier of the organization.
+     *
+     * @return the identifier of the organization.
+     */
+    public long getOrganizationId() {
+        return this.organizationId;
+    }
+
+    /**
+     * Replies the number of memberships in the roster.
+     *
+     * @return the number of memberships.
+     */
+    public int size() {
+        return this.members.length;
+    }
+
+    /**
+     * Replies if the membership with the given identifier is in the roster.
+     *
+     * @param membershipId the identifier of the membership.
+     * @return {@code true} if the membership is in the roster.
+     */
+    public boolean containsMembership(long membershipId) {
+        for (final var member : this.members) {
+            if (member.membershipId() == membershipId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replies if the person with the given identifier is in the roster.
+     *
+     * @param personId the identifier of the person.
+     * @return {@code true} if the person is in the roster.
+     */
+    public boolean containsPerson(long personId) {
+        for (final var member : this.members) {
+            if (member.personId() == personId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replies all the memberships in the roster, sorted by start date.
+     *
+     * @return the memberships.
+     */
+    public List<Member> getMembers() {
+        return List.of(this.members);
+    }
+
+    /**
+     * Replies the memberships that are active at the given date.
+     *
+     * @param date   the date.
+     * @param filter the filter to apply on the active memberships, or {@code null} for accepting all of them.
+     * @return the active memberships, sorted by start date.
+     */
+    public List<Member> getMembersAt(LocalDate date, Predicate<? super Member> filter) {
+        assert date != null;
+        final var day = date.toEpochDay();
+        final var result = new ArrayList<Member>();
+        collect(0, this.members.length, day, day, filter, result);
+        return result;
+    }
+
+    /**
+     * Replies the memberships that are active during the given period.
+     * This function has the same semantic as {@link Membership#isActiveIn(LocalDate, LocalDate)}.
+     *
+     * @param startDate the start of the period. If it is {@code null}, the period has no start.
+     * @param endDate   the end of the period. If it is {@code null}, the period has no end.
+     * @param filter    the filter to apply on the active memberships, or {@code null} for accepting all of them.
+     * @return the active memberships, sorted by start date.
+     */
+    public List<Member> getMembersDuring(LocalDate startDate, LocalDate endDate, Predicate<? super Member> filter) {
+        final var result = new ArrayList<Member>();
+        collect(0, this.members.length, toStartDay(startDate), toEndDay(endDate), filter, result);
+        return result;
+    }
+
+    /**
+     * Replies the research full-time equivalents per year for the memberships that are accepted by the given filter.
+     * The full-time equivalent of a membership is the usual one for the member status, weighted by the ratio of
+     * days of the year that are covered by the membership.
+     *
+     * @param startYear the first year.
+     * @param endYear   the last year.
+     * @param filter    the filter to apply on the active memberships, or {@code null} for accepting all of them.
+     * @return the full-time equivalents per year. The map is empty if no membership is active during the years.
+     */
+    public Map<Integer, Number> getFullTimeEquivalentPerYear(int startYear, int endYear, Predicate<? super Member> filter) {
+        final var values = new TreeMap<Integer, Number>();
+        final var members = getMembersDuring(LocalDate.of(startYear, 1, 1), LocalDate.of(endYear, 12, 31), filter);
+        for (final var member : members) {
+            final var fte = member.status().getUsualResearchFullTimeEquivalent();
+            for (var year = startYear; year <= endYear; ++year) {
+                final var annualFte = fte * member.daysInYear(year) / (float) LocalDate.of(year, 1, 1).lengthOfYear();
+                values.merge(Integer.valueOf(year), Float.valueOf(annualFte),
+                        (k0, k1) -> Float.valueOf(k0.floatValue() + k1.floatValue()));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Membership in a roster.
+     *
+     * @param membershipId      the identifier of the membership.
+     * @param personId          the identifier of the member.
+     * @param personName        the full name of the member, with the last name first.
+     * @param personFullName    the full name of the member, with the first name first.
+     * @param personWebPageId   the identifier of the web page of the member, or {@code null}.
+     * @param startDate         the start of the membership, or {@code null} if unknown.
+     * @param endDate           the end of the membership, or {@code null} if unknown.
+     * @param status            the status of the member.
+     * @param permanentPosition indicates if the membership is for a permanent position.
+     * @param responsibility    the responsibility of the member, or {@code null}.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record Member(long membershipId, long personId, String personName, String personFullName, String personWebPageId,
+                         LocalDate startDate, LocalDate endDate, MemberStatus status, boolean permanentPosition,
+                         Responsibility responsibility) implements Serializable {
+
+        /**
+         * Create the roster member for the given membership.
+         *
+         * @param membership the membership.
+         * @return the roster member.
+         */
+        public static Member of(Membership membership) {
+            final var person = membership.getPerson();
+            return new Member(membership.getId(),
+                    person == null ? 0 : person.getId(),
+                    person == null ? null : person.getFullNameWithLastNameFirst(),
+                    person == null ? null : person.getFullName(),
+                    person == null ? null : person.getWebPageId(),
+                    membership.getMemberSinceWhen(), membership.getMemberToWhen(),
+                    membership.getMemberStatus(), membership.isPermanentPosition(), membership.getResponsibility());
+        }
+
+        private long getStartDay() {
+            return toStartDay(this.startDate);
+        }
+
+        private long getEndDay() {
+            return toEndDay(this.endDate);
+        }
+
+        /**
+         * Replies if the membership is active at the given date.
+         *
+         * @param date the date.
+         * @return {@code true} if the membership is active.
+         */
+        public boolean isActiveAt(LocalDate date) {
+            final var day = date.toEpochDay();
+            return getStartDay() <= day && day <= getEndDay();
+        }
+
+        /**
+         * Replies the number of days of the given year that are covered by the membership.
+         * This function has the same semantic as {@link Membership#daysInYear(int)}.
+         *
+         * @param year the year.
+         * @return the number of days.
+         */
+        public int daysInYear(int year) {
+            final var first = LocalDate.of(year, 1, 1).toEpochDay();
+            final var last = LocalDate.of(year, 12, 31).toEpochDay();
+            final var start = Math.max(first, getStartDay());
+            final var end = Math.min(last, getEndDay());
+            return end < start ? 0 : (int) (end - start + 1);
+        }
+
+    }
+
+}
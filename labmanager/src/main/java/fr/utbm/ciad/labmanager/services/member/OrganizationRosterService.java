@@ -0,0 +1,164 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.member;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeEvent;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service that maintains the rosters of the members of the research organizations.
+ * A roster is built on the first request for an organization and kept until a membership of the organization,
+ * or a person in the roster, is changed. The changes are received from the {@link EntityChangeBroadcaster}.
+ * When the broadcaster is disabled, the changes are not received and the rosters are built on every request.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see OrganizationRoster
+ */
+@Service
+public class OrganizationRosterService implements Serializable {
+
+    private static final long serialVersionUID = 6140913512476393051L;
+
+    private final transient Map<Long, OrganizationRoster> rosters = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final boolean cacheEnabled;
+
+    private final ResearchOrganizationRepository organizationRepository;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param organizationRepository the repository of the research organizations.
+     * @param broadcaster            the broadcaster of the entity changes.
+     */
+    public OrganizationRosterService(
+            @Autowired ResearchOrganizationRepository organizationRepository,
+            @Autowired EntityChangeBroadcaster broadcaster) {
+        this.organizationRepository = organizationRepository;
+        this.cacheEnabled = broadcaster != null && broadcaster.isEnabled();
+        if (this.cacheEnabled) {
+            broadcaster.register(Membership.class, this::onMembershipChange);
+            broadcaster.register(Person.class, this::onPersonChange);
+            broadcaster.register(ResearchOrganization.class, it -> invalidate(it.id()));
+        }
+    }
+
+    private void onMembershipChange(EntityChangeEvent event) {
+        if (event.entity() instanceof Membership membership && membership.getDirectResearchOrganization() != null) {
+            // The membership may have been moved from another organization: the rosters that are
+            // containing the membership are invalidated in addition to the roster of its new organization
+            final var membershipId = event.id();
+            final var organizationId = membership.getDirectResearchOrganization().getId();
+            this.generation.incrementAndGet();
+            this.rosters.values().removeIf(roster -> roster.getOrganizationId() == organizationId
+                    || roster.containsMembership(membershipId));
+        } else {
+            // The organization of a deleted membership may be already detached
+            invalidateAll();
+        }
+    }
+
+    private void onPersonChange(EntityChangeEvent event) {
+        final var personId = event.id();
+        this.generation.incrementAndGet();
+        this.rosters.values().removeIf(roster -> roster.containsPerson(personId));
+    }
+
+    /**
+     * Replies the roster of the given organization.
+     * If the roster is not yet built, the memberships of the organization are read; so that the organization must be
+     * attached to a JPA session in this case.
+     *
+     * @param organization the organization.
+     * @return the roster.
+     */
+    public OrganizationRoster getRoster(ResearchOrganization organization) {
+        final var id = Long.valueOf(organization.getId());
+        final var roster = this.rosters.get(id);
+        if (roster != null) {
+            return roster;
+        }
+        final var generation = this.generation.get();
+        final var newRoster = OrganizationRoster.build(organization.getId(), organization.getDirectOrganizationMemberships());
+        // Do not keep a roster that was built while a membership has changed
+        if (this.cacheEnabled && this.generation.get() == generation) {
+            this.rosters.putIfAbsent(id, newRoster);
+            // An invalidation may have been run between the test and the put
+            if (this.generation.get() != generation) {
+                this.rosters.remove(id, newRoster);
+            }
+        }
+        return newRoster;
+    }
+
+    /**
+     * Replies the roster of the organization with the given identifier.
+     *
+     * @param organizationId the identifier of the organization.
+     * @return the roster, or empty if the organization is unknown.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrganizationRoster> getRoster(long organizationId) {
+        final var roster = this.rosters.get(Long.valueOf(organizationId));
+        if (roster != null) {
+            return Optional.of(roster);
+        }
+        return this.organizationRepository.findById(Long.valueOf(organizationId)).map(this::getRoster);
+    }
+
+    /**
+     * Forget the roster of the organization with the given identifier.
+     *
+     * @param organizationId the identifier of the organization.
+     */
+    public void invalidate(long organizationId) {
+        this.generation.incrementAndGet();
+        this.rosters.remove(Long.valueOf(organizationId));
+    }
+
+    /**
+     * Forget all the rosters.
+     */
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.rosters.clear();
+    }
+
+}
@@ -0,0 +1,304 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.member;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Timeline of the activities of a person: memberships, publications, teaching activities, supervisions,
+ * jury memberships and invitations. The timeline is immutable; it contains only the values that are needed
+ * for displaying the activities, in place of the JPA entities, in order to be shared between the users and
+ * cached by the {@link PersonActivityTimelineService}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PersonActivityTimelineService
+ */
+public final class PersonActivityTimeline implements Serializable {
+
+    private static final long serialVersionUID = 4911937420846051217L;
+
+    private static final Comparator<Entry> ENTRY_COMPARATOR = Comparator
+            .comparing(Entry::getReferenceDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Entry::type)
+            .thenComparingLong(Entry::entityId);
+
+    private final long personId;
+
+    private final List<Entry> entries;
+
+    private final Set<Long> relatedPersonIds;
+
+    private PersonActivityTimeline(long personId, List<Entry> entries, Set<Long> relatedPersonIds) {
+        this.personId = personId;
+        this.entries = entries;
+        this.relatedPersonIds = relatedPersonIds;
+    }
+
+    /**
+     * Create a builder of timeline.
+     *
+     * @param personId the identifier of the person.
+     * @return the builder.
+     */
+    public static Builder builder(long personId) {
+        return new Builder(personId);
+    }
+
+    /**
+     * Replies the identifier of the person.
+     *
+     * @return the identifier.
+     */
+    public long getPersonId() {
+        return this.personId;
+    }
+
+    /**
+     * Replies all the entries of the timeline, from the most recent to the oldest.
+     *
+     * @return the entries.
+     */
+    public List<Entry> getEntries() {
+        return this.entries;
+    }
+
+    /**
+     * Replies the entries of the given type, from the most recent to the oldest.
+     *
+     * @param type the type of the activities.
+     * @return the entries.
+     */
+    public List<Entry> getEntries(ActivityType type) {
+        return this.entries.stream().filter(it -> it.type() == type).toList();
+    }
+
+    /**
+     * Replies the entries that are active at the given date, from the most recent to the oldest.
+     *
+     * @param date the date.
+     * @return the entries.
+     */
+    public List<Entry> getActiveEntries(LocalDate date) {
+        return this.entries.stream().filter(it -> it.isActiveAt(date)).toList();
+    }
+
+    /**
+     * Replies the number of entries of the given type.
+     *
+     * @param type the type of the activities.
+     * @return the number of entries.
+     */
+    public int getCount(ActivityType type) {
+        var count = 0;
+        for (final var entry : this.entries) {
+            if (entry.type() == type) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Replies if the timeline contains an entry for the given entity.
+     *
+     * @param type     the type of the activity.
+     * @param entityId the identifier of the entity that is the source of the entry.
+     * @return {@code true} if an entry is for the given entity.
+     */
+    public boolean contains(ActivityType type, long entityId) {
+        for (final var entry : this.entries) {
+            if (entry.type() == type && entry.entityId() == entityId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replies the identifiers of the other persons that are mentioned in the timeline, e.g., the supervised persons
+     * or the candidates of the juries. The timeline is outdated when one of these persons is changed.
+     *
+     * @return the identifiers of the persons.
+     */
+    public Set<Long> getRelatedPersonIds() {
+        return this.relatedPersonIds;
+    }
+
+    /**
+     * Type of activity in the timeline.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public enum ActivityType {
+        /**
+         * Membership to a research organization.
+         */
+        MEMBERSHIP,
+        /**
+         * Authorship of a publication.
+         */
+        PUBLICATION,
+        /**
+         * Teaching activity.
+         */
+        TEACHING,
+        /**
+         * Supervision of a student or a postdoc.
+         */
+        SUPERVISION,
+        /**
+         * Participation to a jury.
+         */
+        JURY_MEMBERSHIP,
+        /**
+         * Invitation of or by another person.
+         */
+        INVITATION;
+    }
+
+    /**
+     * Entry of the timeline.
+     *
+     * @param type      the type of activity.
+     * @param entityId  the identifier of the entity that describes the activity, e.g., the membership or the publication.
+     * @param startDate the start date of the activity, or {@code null} if unknown.
+     * @param endDate   the end date of the activity, or {@code null} if the activity is not finished or if the end is unknown.
+     * @param title     the title of the activity, e.g., the name of the organization or the title of the publication.
+     * @param detail    the detail on the activity, e.g., the status of the member or the type of publication; it may be {@code null}.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record Entry(ActivityType type, long entityId, LocalDate startDate, LocalDate endDate, String title, String detail)
+            implements Serializable {
+
+        /**
+         * Replies the date that is used for sorting the entries: the end date if any, the start date otherwise.
+         *
+         * @return the date, or {@code null} if the activity has no date.
+         */
+        public LocalDate getReferenceDate() {
+            return this.endDate != null ? this.endDate : this.startDate;
+        }
+
+        /**
+         * Replies if the activity is active at the given date.
+         *
+         * @param date the date.
+         * @return {@code true} if the activity is active.
+         */
+        public boolean isActiveAt(LocalDate date) {
+            return (this.startDate == null || !this.startDate.isAfter(date))
+                    && (this.endDate == null || !this.endDate.isBefore(date));
+        }
+
+    }
+
+    /**
+     * Builder of timeline.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public static final class Builder {
+
+        private final long personId;
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        private final Set<Long> relatedPersonIds = new HashSet<>();
+
+        private Builder(long personId) {
+            this.personId = personId;
+        }
+
+        /**
+         * Replies the identifier of the person.
+         *
+         * @return the identifier.
+         */
+        public long getPersonId() {
+            return this.personId;
+        }
+
+        /**
+         * Add an activity.
+         *
+         * @param type      the type of activity.
+         * @param entityId  the identifier of the entity that describes the activity.
+         * @param startDate the start date of the activity, or {@code null} if unknown.
+         * @param endDate   the end date of the activity, or {@code null}.
+         * @param title     the title of the activity.
+         * @param detail    the detail on the activity, or {@code null}.
+         * @return this builder.
+         */
+        public Builder add(ActivityType type, long entityId, LocalDate startDate, LocalDate endDate, String title, String detail) {
+            this.entries.add(new Entry(type, entityId, startDate, endDate, title, detail));
+            return this;
+        }
+
+        /**
+         * Add another person that is mentioned in the timeline.
+         *
+         * @param personId the identifier of the person.
+         * @return this builder.
+         */
+        public Builder addRelatedPerson(long personId) {
+            if (personId != 0 && personId != this.personId) {
+                this.relatedPersonIds.add(Long.valueOf(personId));
+            }
+            return this;
+        }
+
+        /**
+         * Build the timeline.
+         *
+         * @return the timeline.
+         */
+        public PersonActivityTimeline build() {
+            final var sorted = new ArrayList<>(this.entries);
+            sorted.sort(ENTRY_COMPARATOR);
+            return new PersonActivityTimeline(this.personId, Collections.unmodifiableList(sorted),
+                    Collections.unmodifiableSet(new HashSet<>(this.relatedPersonIds)));
+        }
+
+    }
+
+}
@@ -0,0 +1,419 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.member;
+
+import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeEvent;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeKind;
+import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.invitation.PersonInvitation;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembership;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.publication.Authorship;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.supervision.Supervision;
+import fr.utbm.ciad.labmanager.data.supervision.Supervisor;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivity;
+import fr.utbm.ciad.labmanager.services.AbstractService;
+import fr.utbm.ciad.labmanager.services.member.PersonActivityTimeline.ActivityType;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service that provides the timelines of the activities of the persons. The timelines of a group of persons are
+ * loaded together with one query per type of activity, in place of the navigation through the entities of each person.
+ * A timeline is kept until one of its underlying entities is changed. The changes are received from the
+ * {@link EntityChangeBroadcaster}; if the broadcaster is disabled, the timelines are not cached.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PersonActivityTimeline
+ */
+@Service
+public class PersonActivityTimelineService extends AbstractService {
+
+    private static final long serialVersionUID = -3407731902695125560L;
+
+    private final transient Map<Long, PersonActivityTimeline> timelines = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final boolean cacheEnabled;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param broadcaster    the broadcaster of the entity changes.
+     * @param messages       the provider of localized messages.
+     * @param constants      the accessor to the live constants.
+     * @param sessionFactory the Hibernate session factory.
+     */
+    public PersonActivityTimelineService(
+            @Autowired EntityChangeBroadcaster broadcaster,
+            @Autowired MessageSourceAccessor messages,
+            @Autowired ConfigurationConstants constants,
+            @Autowired SessionFactory sessionFactory) {
+        super(messages, constants, sessionFactory);
+        this.cacheEnabled = broadcaster != null && broadcaster.isEnabled();
+        if (this.cacheEnabled) {
+            broadcaster.register(Person.class, it -> invalidate(it.id()));
+            broadcaster.register(Membership.class, this::onMembershipChange);
+            broadcaster.register(Authorship.class, this::onAuthorshipChange);
+            broadcaster.register(Publication.class, this::onPublicationChange);
+            broadcaster.register(TeachingActivity.class, this::onTeachingActivityChange);
+            broadcaster.register(Supervision.class, this::onSupervisionChange);
+            broadcaster.register(Supervisor.class, this::onSupervisorChange);
+            broadcaster.register(JuryMembership.class, this::onJuryMembershipChange);
+            broadcaster.register(PersonInvitation.class, this::onInvitationChange);
+            // The names of the organizations are part of the membership entries
+            broadcaster.register(ResearchOrganization.class, it -> invalidateAll());
+        }
+    }
+
+    private static String getOrganizationName(String acronym, String name) {
+        if (Strings.isNullOrEmpty(acronym)) {
+            return name;
+        }
+        if (Strings.isNullOrEmpty(name)) {
+            return acronym;
+        }
+        return acronym + " - " + name; //$NON-NLS-1$
+    }
+
+    private static String getPersonName(Object firstName, Object lastName) {
+        if (firstName == null && lastName == null) {
+            return null;
+        }
+        return Strings.nullToEmpty((String) firstName) + " " + Strings.nullToEmpty((String) lastName); //$NON-NLS-1$
+    }
+
+    private static String getName(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private static long getId(Long id) {
+        return id == null ? 0 : id.longValue();
+    }
+
+    private void onMembershipChange(EntityChangeEvent event) {
+        // The supervisions of the member are also part of the timelines of the supervisors
+        if (event.entity() instanceof Membership membership && membership.getPerson() != null) {
+            invalidate(membership.getPerson().getId(), ActivityType.MEMBERSHIP, event.id());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private void onAuthorshipChange(EntityChangeEvent event) {
+        // The timelines do not know the authorships; the timelines that contain the publication are invalidated
+        if (event.entity() instanceof Authorship authorship && authorship.getPerson() != null
+                && authorship.getPublication() != null) {
+            invalidate(authorship.getPerson().getId(), ActivityType.PUBLICATION, authorship.getPublication().getId());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private void onPublicationChange(EntityChangeEvent event) {
+        if (event.entity() instanceof Publication publication && publication.getAuthorships() != null
+                && Hibernate.isInitialized(publication.getAuthorships())) {
+            for (final var authorship : publication.getAuthorships()) {
+                if (authorship.getPerson() != null) {
+                    invalidate(authorship.getPerson().getId());
+                }
+            }
+        } else {
+            // The authors of a deleted publication may be already detached
+            invalidateAll();
+        }
+    }
+
+    private void onTeachingActivityChange(EntityChangeEvent event) {
+        if (event.entity() instanceof TeachingActivity activity && activity.getPerson() != null) {
+            invalidate(activity.getPerson().getId(), ActivityType.TEACHING, event.id());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private void onSupervisionChange(EntityChangeEvent event) {
+        if (event.entity() instanceof Supervision supervision && supervision.getSupervisors() != null
+                && Hibernate.isInitialized(supervision.getSupervisors())) {
+            for (final var supervisor : supervision.getSupervisors()) {
+                if (supervisor.getSupervisor() != null) {
+                    invalidate(supervisor.getSupervisor().getId());
+                }
+            }
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private void onSupervisorChange(EntityChangeEvent event) {
+        // A supervisor does not know its supervision: when it is updated, the previous supervisor cannot be retrieved
+        if (event.entity() instanceof Supervisor supervisor && supervisor.getSupervisor() != null
+                && event.kind() != EntityChangeKind.UPDATED) {
+            invalidate(supervisor.getSupervisor().getId());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private void onJuryMembershipChange(EntityChangeEvent event) {
+        if (event.entity() instanceof JuryMembership membership && membership.getPerson() != null) {
+            invalidate(membership.getPerson().getId(), ActivityType.JURY_MEMBERSHIP, event.id());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private void onInvitationChange(EntityChangeEvent event) {
+        if (event.entity() instanceof PersonInvitation invitation) {
+            if (invitation.getGuest() != null) {
+                invalidate(invitation.getGuest().getId(), ActivityType.INVITATION, event.id());
+            }
+            if (invitation.getInviter() != null) {
+                invalidate(invitation.getInviter().getId(), ActivityType.INVITATION, event.id());
+            }
+        } else {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Replies the timeline of the activities of the person with the given identifier.
+     *
+     * @param personId the identifier of the person.
+     * @return the timeline, never {@code null}.
+     */
+    @Transactional(readOnly = true)
+    public PersonActivityTimeline getTimeline(long personId) {
+        final var timeline = this.timelines.get(Long.valueOf(personId));
+        if (timeline != null) {
+            return timeline;
+        }
+        return getTimelines(Collections.singleton(Long.valueOf(personId))).get(Long.valueOf(personId));
+    }
+
+    /**
+     * Replies the timelines of the activities of the persons with the given identifiers.
+     * The timelines that are not cached are loaded together.
+     *
+     * @param personIds the identifiers of the persons.
+     * @return the map from the identifiers of the persons to their timelines.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, PersonActivityTimeline> getTimelines(Collection<Long> personIds) {
+        final var result = new HashMap<Long, PersonActivityTimeline>();
+        final var missing = new HashSet<Long>();
+        for (final var personId : personIds) {
+            final var timeline = this.timelines.get(personId);
+            if (timeline != null) {
+                result.put(personId, timeline);
+            } else {
+                missing.add(personId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            final var generation = this.generation.get();
+            final var loaded = loadTimelines(missing);
+            result.putAll(loaded);
+            // Do not keep the timelines that were loaded while an entity has changed
+            if (this.cacheEnabled && this.generation.get() == generation) {
+                for (final var timeline : loaded.values()) {
+                    this.timelines.putIfAbsent(Long.valueOf(timeline.getPersonId()), timeline);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Load the timelines of the given persons from the database, without using the cache.
+     *
+     * @param personIds the identifiers of the persons.
+     * @return the map from the identifiers of the persons to their timelines.
+     */
+    protected Map<Long, PersonActivityTimeline> loadTimelines(Set<Long> personIds) {
+        final var builders = new HashMap<Long, PersonActivityTimeline.Builder>();
+        for (final var personId : personIds) {
+            builders.put(personId, PersonActivityTimeline.builder(personId.longValue()));
+        }
+        inSession(session -> {
+            loadMemberships(session, builders);
+            loadPublications(session, builders);
+            loadTeachingActivities(session, builders);
+            loadSupervisions(session, builders);
+            loadJuryMemberships(session, builders);
+            loadInvitations(session, builders);
+        });
+        final var result = new HashMap<Long, PersonActivityTimeline>();
+        for (final var entry : builders.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().build());
+        }
+        return result;
+    }
+
+    private static void loadMemberships(Session session, Map<Long, PersonActivityTimeline.Builder> builders) {
+        for (final var row : session.createSelectionQuery(
+                "SELECT m.person.id, m.id, m.memberSinceWhen, m.memberToWhen, m.memberStatus, o.acronym, o.name " //$NON-NLS-1$
+                        + "FROM Membership m JOIN m.researchOrganization o WHERE m.person.id IN :persons", Object[].class) //$NON-NLS-1$
+                .setParameterList("persons", builders.keySet()) //$NON-NLS-1$
+                .list()) {
+            builders.get(row[0]).add(ActivityType.MEMBERSHIP, getId((Long) row[1]), (LocalDate) row[2], (LocalDate) row[3],
+                    getOrganizationName((String) row[5], (String) row[6]), getName((Enum<?>) row[4]));
+        }
+    }
+
+    private static void loadPublications(Session session, Map<Long, PersonActivityTimeline.Builder> builders) {
+        for (final var row : session.createSelectionQuery(
+                "SELECT a.person.id, p.id, p.publicationDate, p.publicationYear, p.title, p.type " //$NON-NLS-1$
+                        + "FROM Authorship a JOIN a.publication p WHERE a.person.id IN :persons", Object[].class) //$NON-NLS-1$
+                .setParameterList("persons", builders.keySet()) //$NON-NLS-1$
+                .list()) {
+            var date = (LocalDate) row[2];
+            if (date == null && row[3] != null && ((Number) row[3]).intValue() > 0) {
+                date = LocalDate.of(((Number) row[3]).intValue(), 1, 1);
+            }
+            builders.get(row[0]).add(ActivityType.PUBLICATION, getId((Long) row[1]), date, date,
+                    (String) row[4], getName((Enum<?>) row[5]));
+        }
+    }
+
+    private static void loadTeachingActivities(Session session, Map<Long, PersonActivityTimeline.Builder> builders) {
+        for (final var row : session.createSelectionQuery(
+                "SELECT t.person.id, t.id, t.startDate, t.endDate, t.title, t.code " //$NON-NLS-1$
+                        + "FROM TeachingActivity t WHERE t.person.id IN :persons", Object[].class) //$NON-NLS-1$
+                .setParameterList("persons", builders.keySet()) //$NON-NLS-1$
+                .list()) {
+            builders.get(row[0]).add(ActivityType.TEACHING, getId((Long) row[1]), (LocalDate) row[2], (LocalDate) row[3],
+                    (String) row[4], (String) row[5]);
+        }
+    }
+
+    private static void loadSupervisions(Session session, Map<Long, PersonActivityTimeline.Builder> builders) {
+        for (final var row : session.createSelectionQuery(
+                "SELECT sup.supervisor.id, s.id, m.memberSinceWhen, m.memberToWhen, s.defenseDate, s.title, " //$NON-NLS-1$
+                        + "sp.id, sp.firstName, sp.lastName " //$NON-NLS-1$
+                        + "FROM Supervision s JOIN s.supervisors sup JOIN s.supervisedPerson m JOIN m.person sp " //$NON-NLS-1$
+                        + "WHERE sup.supervisor.id IN :persons", Object[].class) //$NON-NLS-1$
+                .setParameterList("persons", builders.keySet()) //$NON-NLS-1$
+                .list()) {
+            final var end = row[4] != null ? (LocalDate) row[4] : (LocalDate) row[3];
+            final var builder = builders.get(row[0]);
+            builder.add(ActivityType.SUPERVISION, getId((Long) row[1]), (LocalDate) row[2], end,
+                    (String) row[5], getPersonName(row[7], row[8]));
+            builder.addRelatedPerson(getId((Long) row[6]));
+        }
+    }
+
+    private static void loadJuryMemberships(Session session, Map<Long, PersonActivityTimeline.Builder> builders) {
+        for (final var row : session.createSelectionQuery(
+                "SELECT j.person.id, j.id, j.date, j.type, j.title, c.id, c.firstName, c.lastName " //$NON-NLS-1$
+                        + "FROM JuryMembership j LEFT JOIN j.candidate c WHERE j.person.id IN :persons", Object[].class) //$NON-NLS-1$
+                .setParameterList("persons", builders.keySet()) //$NON-NLS-1$
+                .list()) {
+            final var builder = builders.get(row[0]);
+            final var title = Strings.isNullOrEmpty((String) row[4]) ? getPersonName(row[6], row[7]) : (String) row[4];
+            builder.add(ActivityType.JURY_MEMBERSHIP, getId((Long) row[1]), (LocalDate) row[2], (LocalDate) row[2],
+                    title, getName((Enum<?>) row[3]));
+            builder.addRelatedPerson(getId((Long) row[5]));
+        }
+    }
+
+    private static void loadInvitations(Session session, Map<Long, PersonActivityTimeline.Builder> builders) {
+        for (final var row : session.createSelectionQuery(
+                "SELECT g.id, v.id, i.id, i.startDate, i.endDate, i.title, i.type " //$NON-NLS-1$
+                        + "FROM PersonInvitation i LEFT JOIN i.guest g LEFT JOIN i.inviter v " //$NON-NLS-1$
+                        + "WHERE g.id IN :persons OR v.id IN :persons", Object[].class) //$NON-NLS-1$
+                .setParameterList("persons", builders.keySet()) //$NON-NLS-1$
+                .list()) {
+            final var guestId = getId((Long) row[0]);
+            final var inviterId = getId((Long) row[1]);
+            for (final var personId : new long[] {guestId, inviterId}) {
+                final var builder = builders.get(Long.valueOf(personId));
+                if (builder != null) {
+                    builder.add(ActivityType.INVITATION, getId((Long) row[2]), (LocalDate) row[3], (LocalDate) row[4],
+                            (String) row[5], getName((Enum<?>) row[6]));
+                    builder.addRelatedPerson(personId == guestId ? inviterId : guestId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget the timeline of the person with the given identifier, and the timelines that mention this person.
+     *
+     * @param personId the identifier of the person.
+     */
+    public void invalidate(long personId) {
+        this.generation.incrementAndGet();
+        final var id = Long.valueOf(personId);
+        this.timelines.remove(id);
+        this.timelines.values().removeIf(it -> it.getRelatedPersonIds().contains(id));
+    }
+
+    /**
+     * Forget the timeline of the person with the given identifier, the timelines that mention this person, and
+     * the timelines that contain an entry for the given entity. The last ones are the timelines of the previous
+     * owners of an entity that was reassigned to another person.
+     *
+     * @param personId the identifier of the new owner of the entity.
+     * @param type     the type of the activity of the entity.
+     * @param entityId the identifier of the entity.
+     */
+    protected void invalidate(long personId, ActivityType type, long entityId) {
+        this.generation.incrementAndGet();
+        final var id = Long.valueOf(personId);
+        this.timelines.remove(id);
+        this.timelines.values().removeIf(it -> it.getRelatedPersonIds().contains(id) || it.contains(type, entityId));
+    }
+
+    /**
+     * Forget all the timelines.
+     */
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.timelines.clear();
+    }
+
+}
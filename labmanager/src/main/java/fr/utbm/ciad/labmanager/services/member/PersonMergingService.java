@@ -43,6 +43,7 @@ import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
@@ -145,6 +146,7 @@ public class PersonMergingService extends AbstractService {
      * @param comparator comparator of persons that is used for sorting the groups of duplicates. If it is {@code null},
      *                   a {@link PersonComparator} is used.
      * @param callback   the callback invoked during the building.
+     * @param threshold  the similarity level that is used for detecting the duplicates.
      * @return the duplicate persons that is finally computed.
      * @throws Exception if a problem occurred during the building.
      */
@@ -166,7 +168,7 @@ public class PersonMergingService extends AbstractService {
         }
         var duplicateCount = 0;
 
-        nameComparator.setSimilarityLevel(threshold);
+        final var similarity = this.nameComparator.newSimilaritySession(threshold);
         for (var i = 0; i < authorsList.size() - 1; ++i) {
             final var referencePerson = authorsList.get(i);
 
@@ -176,7 +178,7 @@ public class PersonMergingService extends AbstractService {
             final ListIterator<Person> iterator2 = authorsList.listIterator(i + 1);
             while (iterator2.hasNext()) {
                 final var otherPerson = iterator2.next();
-                if (this.nameComparator.isSimilar(
+                if (similarity.isSimilar(
                         referencePerson.getFirstName(), referencePerson.getLastName(),
                         otherPerson.getFirstName(), otherPerson.getLastName())) {
                     currentMatching.add(otherPerson);
@@ -206,6 +208,7 @@ public class PersonMergingService extends AbstractService {
      * @param target the identifier of the target person who should replace the source persons.
      * @throws Exception if the merging cannot be completed.
      */
+    @Transactional
     public void mergePersonsById(Collection<Long> source, Long target) throws Exception {
         assert target != null;
         assert source != null;
@@ -236,29 +239,34 @@ public class PersonMergingService extends AbstractService {
      * @param target  the target person who should replace the source persons.
      * @throws Exception if the merging cannot be completed.
      */
+    @Transactional
     public void mergePersons(Iterable<Person> sources, Person target) throws Exception {
         assert target != null;
         assert sources != null;
+        // The given persons may be detached from the JPA session, e.g., when they are selected in the user interface.
+        // Their managed instances are used for accessing to the lazy-loaded memberships and authorships.
+        final var managedTarget = this.personRepository.findById(Long.valueOf(target.getId())).orElse(target);
         boolean changed = false;
         for (final var source : sources) {
-            if (source.getId() != target.getId()) {
+            final var managedSource = this.personRepository.findById(Long.valueOf(source.getId())).orElse(source);
+            if (managedSource.getId() != managedTarget.getId()) {
                 //getLogger().info("Reassign to " + target.getFullName() + " the elements of " + source.getFullName()); //$NON-NLS-1$ //$NON-NLS-2$
-                var lchange = reassignPersonProperties(source, target);
-                lchange = reassignPublicationsV2(source, target);
-                lchange = reassignOrganizationMemberships(source, target) || lchange;
-                lchange = reassignJuryMemberships(source, target) || lchange;
-                lchange = reassignSupervisions(source, target) || lchange;
-                lchange = reassignInvitations(source, target) || lchange;
-                lchange = reassignProjects(source, target) || lchange;
-                lchange = reassignAssociatedStructures(source, target) || lchange;
-                lchange = reassignTeachingActivities(source, target) || lchange;
-
-                this.personService.removePerson(source.getId());
+                var lchange = reassignPersonProperties(managedSource, managedTarget);
+                lchange = reassignPublicationsV2(managedSource, managedTarget);
+                lchange = reassignOrganizationMemberships(managedSource, managedTarget) || lchange;
+                lchange = reassignJuryMemberships(managedSource, managedTarget) || lchange;
+                lchange = reassignSupervisions(managedSource, managedTarget) || lchange;
+                lchange = reassignInvitations(managedSource, managedTarget) || lchange;
+                lchange = reassignProjects(managedSource, managedTarget) || lchange;
+                lchange = reassignAssociatedStructures(managedSource, managedTarget) || lchange;
+                lchange = reassignTeachingActivities(managedSource, managedTarget) || lchange;
+
+                this.personService.removePerson(managedSource.getId());
                 changed = changed || lchange;
             }
         }
         if (changed) {
-            this.personRepository.save(target);
+            this.personRepository.save(managedTarget);
         }
     }
 
@@ -32,6 +32,8 @@ import fr.utbm.ciad.labmanager.data.publication.AuthorshipRepository;
 import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.EntityDeletionBlockers;
+import fr.utbm.ciad.labmanager.services.ranking.RankingHarvester;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
 import fr.utbm.ciad.labmanager.utils.io.gscholar.GoogleScholarPlatform;
 import fr.utbm.ciad.labmanager.utils.io.gscholar.GoogleScholarPlatform.GoogleScholarPerson;
@@ -45,7 +47,7 @@ import fr.utbm.ciad.labmanager.utils.phone.PhoneNumber;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
-import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,6 +81,27 @@ public class PersonService extends AbstractEntityService<Person> {
 
     private static final long serialVersionUID = 6762189546771063987L;
 
+    /**
+     * Name of the Web-of-Science source for the harvesting of the person rankings.
+     *
+     * @since 4.0
+     */
+    public static final String WOS_RANKING_SOURCE = "wos"; //$NON-NLS-1$
+
+    /**
+     * Name of the Scopus source for the harvesting of the person rankings.
+     *
+     * @since 4.0
+     */
+    public static final String SCOPUS_RANKING_SOURCE = "scopus"; //$NON-NLS-1$
+
+    /**
+     * Name of the Google Scholar source for the harvesting of the person rankings.
+     *
+     * @since 4.0
+     */
+    public static final String GOOGLE_SCHOLAR_RANKING_SOURCE = "googleScholar"; //$NON-NLS-1$
+
     private final PublicationRepository publicationRepository;
 
     private final AuthorshipRepository authorshipRepository;
@@ -245,6 +268,55 @@ public class PersonService extends AbstractEntityService<Person> {
         return byId.orElse(null);
     }
 
+    /**
+     * Replies the compact descriptions of the persons with the given identifiers.
+     * These descriptions are preferred to the JPA entities by the views that keep the persons
+     * in the Vaadin session.
+     *
+     * @param personIds the identifiers of the persons, or {@code null} for all the persons.
+     * @return the descriptions of the persons.
+     * @since 4.0
+     */
+    @Transactional(readOnly = true)
+    public List<PersonRankingProjection> getPersonRankingProjections(Collection<Long> personIds) {
+        if (personIds != null && personIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return inSessionWithResult(session -> {
+            final List<Object[]> persons;
+            if (personIds == null) {
+                persons = session.createQuery(
+                                "SELECT p.id, p.firstName, p.lastName FROM Person p", Object[].class) //$NON-NLS-1$
+                        .list();
+            } else {
+                persons = session.createQuery(
+                                "SELECT p.id, p.firstName, p.lastName FROM Person p WHERE p.id IN :ids", Object[].class) //$NON-NLS-1$
+                        .setParameterList("ids", personIds) //$NON-NLS-1$
+                        .list();
+            }
+            final var projections = new ArrayList<PersonRankingProjection>(persons.size());
+            for (final var row : persons) {
+                projections.add(new PersonRankingProjection(((Long) row[0]).longValue(), (String) row[1], (String) row[2]));
+            }
+            return projections;
+        });
+    }
+
+    /**
+     * Replies the person with the given identifier, with its memberships and their research organizations and addresses.
+     * The memberships are loaded with the person by using the fetch profile {@link Person#MEMBERSHIPS_FETCH_PROFILE},
+     * so that they could be read outside a JPA session.
+     *
+     * @param identifier the identifier of the person.
+     * @return the person, or {@code null} if none.
+     * @since 4.0
+     */
+    public Person getPersonWithMemberships(long identifier) {
+        return inSessionWithFetchProfiles(
+                session -> session.get(Person.class, Long.valueOf(identifier)),
+                Person.MEMBERSHIPS_FETCH_PROFILE);
+    }
+
     /**
      * Replies the person with the given webpage identifier.
      *
@@ -379,138 +451,81 @@ public class PersonService extends AbstractEntityService<Person> {
     }
 
     /**
-     * Download the person indicators from the WoS platform.
-     * This function uses the {@link WosPlatform} tool for downloading the indicators.
+     * Replies the harvester of the person rankings from the given source.
+     * A person for who the indicators cannot be downloaded is reported as a failure by the harvester,
+     * and not as a person with null indicators.
      *
-     * @param persons  the list of persons for who the indicators should be downloaded.
-     * @param logger   the logger to be used.
-     * @param progress the progression monitor.
-     * @param consumer the consumer of the person ranking information.
-     * @throws Exception if the person information cannot be downloaded.
+     * @param source the name of the source, one of {@link #WOS_RANKING_SOURCE}, {@link #SCOPUS_RANKING_SOURCE}
+     *               or {@link #GOOGLE_SCHOLAR_RANKING_SOURCE}.
+     * @return the harvester. The harvested values are of type {@link PersonRankingChange}.
      * @since 4.0
      */
-    @Transactional(readOnly = true)
-    public void downloadPersonIndicatorsFromWoS(List<Person> persons, Logger logger,
-                                                Progression progress, PersonRankingConsumer consumer) {
-        final var progress0 = progress == null ? new DefaultProgression() : progress;
-        progress0.setProperties(0, 0, persons.size() * 2, false);
-        for (final var person : persons) {
-            logger.info("Downloading the person's ranking indicators from WoS for: " + person); //$NON-NLS-1$
-            progress0.setComment(person.getFullName());
-            final var wosURL = person.getResearcherIdURL();
-            if (wosURL != null) {
-                final var lastHindex = person.getWosHindex();
-                final var lastCitations = person.getWosCitations();
-                WebOfSciencePerson rankings = null;
-                try {
-                    rankings = this.wosPlatform.getPersonRanking(wosURL, progress0.subTask(1));
-                } catch (Throwable ex) {
-                    rankings = null;
+    public RankingHarvester getRankingHarvester(String source) {
+        return (entityIds, logger, progress) -> {
+            final var persons = new HashMap<Long, Person>();
+            this.personRepository.findAllById(entityIds).forEach(it -> persons.put(Long.valueOf(it.getId()), it));
+            progress.end();
+            return (entityId, progress0) -> {
+                final var person = persons.get(Long.valueOf(entityId));
+                if (person == null) {
+                    return null;
                 }
-                progress0.ensureNoSubTask();
-                if (rankings != null) {
-                    final var currentHindex = rankings.hindex();
-                    final var currentCitations = rankings.citations();
-                    consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
-                } else {
-                    consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
+                logger.info("Harvesting the person's ranking indicators from " + source + " for: " + person); //$NON-NLS-1$ //$NON-NLS-2$
+                progress0.setComment(person.getFullName());
+                final PersonRankingChange change;
+                switch (source) {
+                    case WOS_RANKING_SOURCE:
+                        change = harvestWosRanking(person, progress0);
+                        break;
+                    case SCOPUS_RANKING_SOURCE:
+                        change = harvestScopusRanking(person, progress0);
+                        break;
+                    case GOOGLE_SCHOLAR_RANKING_SOURCE:
+                        change = harvestGoogleScholarRanking(person, progress0);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown ranking source: " + source); //$NON-NLS-1$
                 }
-                progress0.increment();
-            } else {
-                progress0.subTask(2);
-            }
+                progress0.end();
+                return change;
+            };
+        };
+    }
+
+    private PersonRankingChange harvestWosRanking(Person person, Progression progress) throws Exception {
+        final var wosURL = person.getResearcherIdURL();
+        if (wosURL == null) {
+            return null;
+        }
+        final var rankings = this.wosPlatform.getPersonRanking(wosURL, progress);
+        if (rankings == null) {
+            throw new IllegalStateException("No ranking replied by WoS for: " + person.getFullName()); //$NON-NLS-1$
         }
-        progress0.end();
+        return new PersonRankingChange(person.getWosHindex(), rankings.hindex(), person.getWosCitations(), rankings.citations());
     }
 
-    /**
-     * Download the person indicators from the Scopus platform.
-     * This function uses the {@link ScopusPlatform} tool for downloading the indicators.
-     *
-     * @param persons  the list of persons for who the indicators should be downloaded.
-     * @param logger   the logger to be used.
-     * @param progress the progression monitor.
-     * @param consumer the consumer of the person ranking information.
-     * @throws Exception if the person information cannot be downloaded.
-     * @since 4.0
-     */
-    @Transactional(readOnly = true)
-    public void downloadPersonIndicatorsFromScopus(List<Person> persons, Logger logger,
-                                                   Progression progress, PersonRankingConsumer consumer) {
-        final var progress0 = progress == null ? new DefaultProgression() : progress;
-        progress0.setProperties(0, 0, persons.size() * 2, false);
-        for (final var person : persons) {
-            logger.info("Downloading the person's ranking indicators from Scopus for: " + person); //$NON-NLS-1$
-            progress0.setComment(person.getFullName());
-            final var scopusId = person.getScopusId();
-            if (!Strings.isNullOrEmpty(scopusId)) {
-                final var lastHindex = person.getScopusHindex();
-                final var lastCitations = person.getScopusCitations();
-                ScopusPerson rankings = null;
-                try {
-                    rankings = this.scopusPlatform.getPersonRanking(scopusId, progress0.subTask(1));
-                } catch (Throwable ex) {
-                    rankings = null;
-                }
-                progress0.ensureNoSubTask();
-                if (rankings != null) {
-                    final var currentHindex = rankings.hindex();
-                    final var currentCitations = rankings.citations();
-                    consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
-                } else {
-                    consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
-                }
-                progress0.increment();
-            } else {
-                progress0.subTask(2);
-            }
+    private PersonRankingChange harvestScopusRanking(Person person, Progression progress) throws Exception {
+        final var scopusId = person.getScopusId();
+        if (Strings.isNullOrEmpty(scopusId)) {
+            return null;
+        }
+        final var rankings = this.scopusPlatform.getPersonRanking(scopusId, progress);
+        if (rankings == null) {
+            throw new IllegalStateException("No ranking replied by Scopus for: " + person.getFullName()); //$NON-NLS-1$
         }
-        progress0.end();
+        return new PersonRankingChange(person.getScopusHindex(), rankings.hindex(), person.getScopusCitations(), rankings.citations());
     }
 
-    /**
-     * Download the person indicators from the Google Scholar platform.
-     * This function uses the {@link GoogleScholarPlatform} tool for downloading the indicators.
-     *
-     * @param persons  the list of persons for who the indicators should be downloaded.
-     * @param logger   the logger to be used.
-     * @param progress the progression monitor.
-     * @param consumer the consumer of the person ranking information.
-     * @throws Exception if the person information cannot be downloaded.
-     * @since 4.0
-     */
-    @Transactional(readOnly = true)
-    public void downloadPersonIndicatorsFromGoogleScholar(List<Person> persons, Logger logger,
-                                                          Progression progress, PersonRankingConsumer consumer) {
-        final var progress0 = progress == null ? new DefaultProgression() : progress;
-        progress0.setProperties(0, 0, persons.size() * 2, false);
-        for (final var person : persons) {
-            logger.info("Downloading the person's ranking indicators from Gogle Scholar for: " + person); //$NON-NLS-1$
-            progress0.setComment(person.getFullName());
-            final var gsURL = person.getGoogleScholarURL();
-            if (gsURL != null) {
-                final var lastHindex = person.getGoogleScholarHindex();
-                final var lastCitations = person.getGoogleScholarCitations();
-                GoogleScholarPerson rankings = null;
-                try {
-                    rankings = this.googlePlatform.getPersonRanking(gsURL, progress0.subTask(1));
-                } catch (Throwable ex) {
-                    rankings = null;
-                }
-                progress0.ensureNoSubTask();
-                if (rankings != null) {
-                    final var currentHindex = rankings.hindex();
-                    final var currentCitations = rankings.citations();
-                    consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
-                } else {
-                    consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
-                }
-                progress0.increment();
-            } else {
-                progress0.subTask(2);
-            }
+    private PersonRankingChange harvestGoogleScholarRanking(Person person, Progression progress) throws Exception {
+        final var gsURL = person.getGoogleScholarURL();
+        if (gsURL == null) {
+            return null;
         }
-        progress0.end();
+        final var rankings = this.googlePlatform.getPersonRanking(gsURL, progress);
+        if (rankings == null) {
+            throw new IllegalStateException("No ranking replied by Google Scholar for: " + person.getFullName()); //$NON-NLS-1$
+        }
+        return new PersonRankingChange(person.getGoogleScholarHindex(), rankings.hindex(), person.getGoogleScholarCitations(), rankings.citations());
     }
 
     /**
@@ -529,39 +544,43 @@ public class PersonService extends AbstractEntityService<Person> {
     public void updatePersonIndicators(Collection<PersonRankingUpdateInformation> personUpdates, boolean updateWos, boolean updateScopus,
                                        boolean updateGoogleScholar, Logger logger, Progression progress) {
         progress.setProperties(0, 0, personUpdates.size() + 1, false);
-        final var persons = new ArrayList<Person>();
+        // The persons are read again in the transaction for applying the changes on their current state
+        final var persons = new HashMap<Long, Person>();
+        this.personRepository.findAllById(personUpdates.stream().map(it -> Long.valueOf(it.personId())).toList())
+                .forEach(it -> persons.put(Long.valueOf(it.getId()), it));
         personUpdates.forEach(info -> {
-            final var person = info.person();
-            logger.info("Updating the person's ranking indicators in database for: " + person); //$NON-NLS-1$
-            progress.setComment(person.getFullName());
-            if (updateWos) {
-                if (info.wosHindex() != null) {
-                    person.setWosHindex(info.wosHindex().intValue());
-                }
-                if (info.wosCitations() != null) {
-                    person.setWosCitations(info.wosCitations().intValue());
-                }
-            }
-            if (updateScopus) {
-                if (info.scopusHindex() != null) {
-                    person.setScopusHindex(info.scopusHindex().intValue());
-                }
-                if (info.scopusCitations() != null) {
-                    person.setScopusCitations(info.scopusCitations().intValue());
+            final var person = persons.get(Long.valueOf(info.personId()));
+            if (person != null) {
+                logger.info("Updating the person's ranking indicators in database for: " + person); //$NON-NLS-1$
+                progress.setComment(person.getFullName());
+                if (updateWos) {
+                    if (info.wosHindex() != null) {
+                        person.setWosHindex(info.wosHindex().intValue());
+                    }
+                    if (info.wosCitations() != null) {
+                        person.setWosCitations(info.wosCitations().intValue());
+                    }
                 }
-            }
-            if (updateGoogleScholar) {
-                if (info.googleScholarHindex() != null) {
-                    person.setGoogleScholarHindex(info.googleScholarHindex().intValue());
+                if (updateScopus) {
+                    if (info.scopusHindex() != null) {
+                        person.setScopusHindex(info.scopusHindex().intValue());
+                    }
+                    if (info.scopusCitations() != null) {
+                        person.setScopusCitations(info.scopusCitations().intValue());
+                    }
                 }
-                if (info.googleScholarCitations() != null) {
-                    person.setGoogleScholarCitations(info.googleScholarCitations().intValue());
+                if (updateGoogleScholar) {
+                    if (info.googleScholarHindex() != null) {
+                        person.setGoogleScholarHindex(info.googleScholarHindex().intValue());
+                    }
+                    if (info.googleScholarCitations() != null) {
+                        person.setGoogleScholarCitations(info.googleScholarCitations().intValue());
+                    }
                 }
             }
-            persons.add(person);
             progress.increment();
         });
-        this.personRepository.saveAll(persons);
+        this.personRepository.saveAll(persons.values());
         progress.end();
     }
 
@@ -751,8 +770,9 @@ public class PersonService extends AbstractEntityService<Person> {
     private Person getPersonBySimilarName(List<Person> allPersons, String firstName, String lastName) {
         if (!Strings.isNullOrEmpty(firstName) || !Strings.isNullOrEmpty(lastName)) {
             final var list = allPersons == null ? this.personRepository.findAll() : allPersons;
+            final var similarity = this.personNameComparator.newSimilaritySession();
             for (final var person : list) {
-                if (this.personNameComparator.isSimilar(firstName, lastName, person.getFirstName(), person.getLastName())) {
+                if (similarity.isSimilar(firstName, lastName, person.getFirstName(), person.getLastName())) {
                     return person;
                 }
             }
@@ -1072,23 +1092,6 @@ public class PersonService extends AbstractEntityService<Person> {
     public EntityDeletingContext<Person> startDeletion(Set<Person> persons, Logger logger) {
         assert persons != null && !persons.isEmpty();
         logger.info("Starting the deletion of the persons: " + persons); //$NON-NLS-1$
-        // Force loading of the memberships and authorships
-        inSession(session -> {
-            for (final var person : persons) {
-                if (person.getId() != 0L) {
-                    session.load(person, Long.valueOf(person.getId()));
-                    Hibernate.initialize(person.getMemberships());
-                    Hibernate.initialize(person.getAuthorships());
-                    Hibernate.initialize(person.getTeachingActivities());
-                    Hibernate.initialize(person.getParticipationJurys());
-                    Hibernate.initialize(person.getCandidateJurys());
-                    Hibernate.initialize(person.getPromoterJurys());
-                    Hibernate.initialize(person.getGuestInvitations());
-                    Hibernate.initialize(person.getInviterInvitations());
-                    Hibernate.initialize(person.getProjectParticipations());
-                }
-            }
-        });
         return new DeletingContext(persons, logger);
     }
 
@@ -1105,7 +1108,7 @@ public class PersonService extends AbstractEntityService<Person> {
         Integer scopusCitations = person.getScopusCitations();
         Integer googleScholarHindex = person.getGoogleScholarHindex();
         Integer googleScholarCitations = person.getGoogleScholarCitations();
-        return new PersonRankingUpdateInformation(person, wosHindex, wosCitations, scopusIndex, scopusCitations, googleScholarHindex, googleScholarCitations);
+        return new PersonRankingUpdateInformation(person.getId(), wosHindex, wosCitations, scopusIndex, scopusCitations, googleScholarHindex, googleScholarCitations);
     }
 
     /**
@@ -1218,10 +1221,53 @@ public class PersonService extends AbstractEntityService<Person> {
 
     }
 
+    /**
+     * Ranking of a person that is harvested from a source.
+     *
+     * @param knownHindex    the H-index of the person that is already known.
+     * @param newHindex      the new H-index for the person.
+     * @param knownCitations the number of citations for the person that is already known.
+     * @param newCitations   the new number of citations for the person.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record PersonRankingChange(int knownHindex, int newHindex, int knownCitations, int newCitations) {
+        //
+    }
+
+    /**
+     * Compact description of a person for the views that keep the persons in the Vaadin session.
+     *
+     * @param id        the identifier of the person in the database.
+     * @param firstName the first name of the person.
+     * @param lastName  the last name of the person.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record PersonRankingProjection(long id, String firstName, String lastName) implements Serializable {
+
+        /**
+         * Replies the full name of the person with the last name first.
+         *
+         * @return the full name.
+         * @see Person#getFullNameWithLastNameFirst()
+         */
+        public String getFullNameWithLastNameFirst() {
+            return this.lastName + " " + this.firstName; //$NON-NLS-1$
+        }
+
+    }
+
     /**
      * Description of the personal ranking information for a person.
      *
-     * @param person                 the person.
+     * @param personId               the identifier of the person.
      * @param wosHindex              the new WOS H-index, or {@code null} to avoid indicator change.
      * @param wosCitations           the new WOS citations, or {@code null} to avoid indicator change.
      * @param scopusHindex           the new Scopus H-index, or {@code null} to avoid indicator change.
@@ -1234,7 +1280,7 @@ public class PersonService extends AbstractEntityService<Person> {
      * @mavenartifactid $ArtifactId$
      * @since 4.0
      */
-    public record PersonRankingUpdateInformation(@JsonIgnore Person person, Integer wosHindex, Integer wosCitations,
+    public record PersonRankingUpdateInformation(@JsonIgnore long personId, Integer wosHindex, Integer wosCitations,
                                                  Integer scopusHindex, Integer scopusCitations,
                                                  Integer googleScholarHindex, Integer googleScholarCitations) {
         //
@@ -1337,36 +1383,40 @@ public class PersonService extends AbstractEntityService<Person> {
 
         @Override
         protected DeletionStatus computeDeletionStatus() {
+            final var identifiers = getDeletableEntityIdentifiers().stream().filter(it -> it.longValue() != 0L).toList();
+            final var labels = new HashMap<Long, String>();
             for (final var entity : getEntities()) {
-                if (!entity.getMemberships().isEmpty()) {
-                    return PersonDeletionStatus.MEMBERSHIP;
-                }
-                if (!entity.getAuthorships().isEmpty()) {
-                    return PersonDeletionStatus.AUTHORSHIP;
-                }
-                if (!entity.getTeachingActivities().isEmpty()) {
-                    return PersonDeletionStatus.TEACHING_ACTIVITY;
-                }
-                if (!entity.getParticipationJurys().isEmpty()) {
-                    return PersonDeletionStatus.JURY_MEMBER;
-                }
-                if (!entity.getCandidateJurys().isEmpty()) {
-                    return PersonDeletionStatus.JURY_CANDIDATE;
-                }
-                if (!entity.getPromoterJurys().isEmpty()) {
-                    return PersonDeletionStatus.JURY_PROMOTER;
-                }
-                if (!entity.getGuestInvitations().isEmpty()) {
-                    return PersonDeletionStatus.INVITED_GUEST;
-                }
-                if (!entity.getInviterInvitations().isEmpty()) {
-                    return PersonDeletionStatus.PERSON_INVITER;
-                }
-                if (!entity.getProjectParticipations().isEmpty()) {
-                    return PersonDeletionStatus.PROJECT_PARTICPANT;
-                }
+                labels.put(Long.valueOf(entity.getId()), entity.getFullName());
             }
-            return DeletionStatus.OK;
+            final var blockers = new EntityDeletionBlockers<>(PersonDeletionStatus.class, labels);
+            if (!identifiers.isEmpty()) {
+                // One existence query per type of link, whatever the number of persons to be deleted
+                inSession(session -> {
+                    blockers.add(PersonDeletionStatus.MEMBERSHIP, findLinkedPersons(session,
+                            "SELECT DISTINCT x.person.id FROM Membership x WHERE x.person.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(PersonDeletionStatus.AUTHORSHIP, findLinkedPersons(session,
+                            "SELECT DISTINCT x.person.id FROM Authorship x WHERE x.person.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(PersonDeletionStatus.TEACHING_ACTIVITY, findLinkedPersons(session,
+                            "SELECT DISTINCT x.person.id FROM TeachingActivity x WHERE x.person.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(PersonDeletionStatus.JURY_MEMBER, findLinkedPersons(session,
+                            "SELECT DISTINCT x.person.id FROM JuryMembership x WHERE x.person.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(PersonDeletionStatus.JURY_CANDIDATE, findLinkedPersons(session,
+                            "SELECT DISTINCT x.candidate.id FROM JuryMembership x WHERE x.candidate.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(PersonDeletionStatus.JURY_PROMOTER, findLinkedPersons(session,
+                            "SELECT DISTINCT p.id FROM JuryMembership x JOIN x.promoters p WHERE p.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(PersonDeletionStatus.INVITED_GUEST, findLinkedPersons(session,
+                            "SELECT DISTINCT x.guest.id FROM PersonInvitation x WHERE x.guest.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(PersonDeletionStatus.PERSON_INVITER, findLinkedPersons(session,
+                            "SELECT DISTINCT x.inviter.id FROM PersonInvitation x WHERE x.inviter.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(PersonDeletionStatus.PROJECT_PARTICPANT, findLinkedPersons(session,
+                            "SELECT DISTINCT x.person.id FROM ProjectMember x WHERE x.person.id IN :ids", identifiers)); //$NON-NLS-1$
+                });
+            }
+            return blockers.toDeletionStatus();
+        }
+
+        private static List<Long> findLinkedPersons(Session session, String query, List<Long> identifiers) {
+            return session.createSelectionQuery(query, Long.class).setParameterList("ids", identifiers).list(); //$NON-NLS-1$
         }
 
         @Override
@@ -0,0 +1,408 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.services.organization;
+
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipType;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityType;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregated teaching, supervision and jury activities of the members of a research organization, per person and per year.
+ * An activity of a person is attributed to a year only if the person is member of the organization, or of one of its
+ * suborganizations, during this year.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see OrganizationActivityReportService
+ */
+public final class OrganizationActivityReport implements Serializable {
+
+    private static final long serialVersionUID = -4387616153839574262L;
+
+    private final long organizationId;
+
+    private final int startYear;
+
+    private final int endYear;
+
+    private final List<ReportedPerson> persons;
+
+    private final Map<Long, Map<Integer, Activity>> activities;
+
+    private OrganizationActivityReport(long organizationId, int startYear, int endYear, List<ReportedPerson> persons,
+            Map<Long, Map<Integer, Activity>> activities) {
+        this.organizationId = organizationId;
+        this.startYear = startYear;
+        this.endYear = endYear;
+        this.persons = persons;
+        this.activities = activities;
+    }
+
+    /**
+     * Create a builder of report.
+     *
+     * @param organizationId the identifier of the organization.
+     * @param startYear      the first year of the report.
+     * @param endYear        the last year of the report.
+     * @return the builder.
+     */
+    public static Builder builder(long organizationId, int startYear, int endYear) {
+        return new Builder(organizationId, startYear, endYear);
+    }
+
+    /**
+     * Replies the identifier of the organization.
+     *
+     * @return the identifier.
+     */
+    public long getOrganizationId() {
+        return this.organizationId;
+    }
+
+    /**
+     * Replies the first year of the report.
+     *
+     * @return the first year.
+     */
+    public int getStartYear() {
+        return this.startYear;
+    }
+
+    /**
+     * Replies the last year of the report.
+     *
+     * @return the last year.
+     */
+    public int getEndYear() {
+        return this.endYear;
+    }
+
+    /**
+     * Replies the persons that are members of the organization during the years of the report, sorted by name.
+     *
+     * @return the persons.
+     */
+    public List<ReportedPerson> getPersons() {
+        return this.persons;
+    }
+
+    /**
+     * Replies the activity of the person during the given year.
+     *
+     * @param personId the identifier of the person.
+     * @param year     the year.
+     * @return the activity, never {@code null}.
+     */
+    public Activity getActivity(long personId, int year) {
+        final var perYear = this.activities.get(Long.valueOf(personId));
+        if (perYear != null) {
+            final var activity = perYear.get(Integer.valueOf(year));
+            if (activity != null) {
+                return activity;
+            }
+        }
+        return Activity.EMPTY;
+    }
+
+    /**
+     * Replies the activity of the person for all the years of the report.
+     *
+     * @param personId the identifier of the person.
+     * @return the activity, never {@code null}.
+     */
+    public Activity getPersonTotal(long personId) {
+        final var perYear = this.activities.get(Long.valueOf(personId));
+        if (perYear == null) {
+            return Activity.EMPTY;
+        }
+        return perYear.values().stream().reduce(Activity.EMPTY, Activity::plus);
+    }
+
+    /**
+     * Replies the activity of all the members of the organization during the given year.
+     *
+     * @param year the year.
+     * @return the activity, never {@code null}.
+     */
+    public Activity getYearTotal(int year) {
+        final var key = Integer.valueOf(year);
+        return this.activities.values().stream()
+                .map(it -> it.getOrDefault(key, Activity.EMPTY))
+                .reduce(Activity.EMPTY, Activity::plus);
+    }
+
+    /**
+     * Person that is considered in a report.
+     *
+     * @param id        the identifier of the person.
+     * @param firstName the first name of the person.
+     * @param lastName  the last name of the person.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record ReportedPerson(long id, String firstName, String lastName) implements Serializable {
+        //
+    }
+
+    /**
+     * Activity of one or more persons during one or more years.
+     *
+     * @param teachingHours      the number of teaching hours.
+     * @param teachingHetd       the number of teaching hours, converted to hETD.
+     * @param supervisions       the number of supervisions that are running.
+     * @param defenses           the number of supervised persons that have defended.
+     * @param juryParticipations the number of participations to juries, per type of participation.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record Activity(float teachingHours, float teachingHetd, int supervisions, int defenses,
+                           Map<JuryMembershipType, Integer> juryParticipations) implements Serializable {
+
+        /**
+         * Empty activity.
+         */
+        public static final Activity EMPTY = new Activity(0f, 0f, 0, 0, Collections.emptyMap());
+
+        /**
+         * Replies the total number of participations to juries.
+         *
+         * @return the number of participations.
+         */
+        public int getJuryParticipationCount() {
+            return this.juryParticipations.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        /**
+         * Replies the sum of this activity and the given activity.
+         *
+         * @param other the other activity.
+         * @return the sum.
+         */
+        public Activity plus(Activity other) {
+            if (other == null || other == EMPTY) {
+                return this;
+            }
+            if (this == EMPTY) {
+                return other;
+            }
+            final var juries = new EnumMap<JuryMembershipType, Integer>(JuryMembershipType.class);
+            juries.putAll(this.juryParticipations);
+            other.juryParticipations.forEach((type, count) -> juries.merge(type, count, Integer::sum));
+            return new Activity(
+                    this.teachingHours + other.teachingHours,
+                    this.teachingHetd + other.teachingHetd,
+                    this.supervisions + other.supervisions,
+                    this.defenses + other.defenses,
+                    Collections.unmodifiableMap(juries));
+        }
+
+    }
+
+    /**
+     * Builder of report. The builder receives the raw rows that are replied by the queries on the database.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public static final class Builder {
+
+        private final long organizationId;
+
+        private final int startYear;
+
+        private final int endYear;
+
+        private final Map<Long, ReportedPerson> persons = new HashMap<>();
+
+        private final Map<Long, boolean[]> memberYears = new HashMap<>();
+
+        private final Map<Long, Map<Integer, Activity>> activities = new HashMap<>();
+
+        private Builder(long organizationId, int startYear, int endYear) {
+            this.organizationId = organizationId;
+            this.startYear = Math.min(startYear, endYear);
+            this.endYear = Math.max(startYear, endYear);
+        }
+
+        /**
+         * Add a membership of a person to the organization or one of its suborganizations.
+         *
+         * @param personId  the identifier of the person.
+         * @param firstName the first name of the person.
+         * @param lastName  the last name of the person.
+         * @param start     the start date of the membership, or {@code null} if unknown.
+         * @param end       the end date of the membership, or {@code null} if the membership is not finished.
+         * @return {@code this}.
+         */
+        public Builder addMembership(long personId, String firstName, String lastName, LocalDate start, LocalDate end) {
+            final var key = Long.valueOf(personId);
+            final var years = this.memberYears.computeIfAbsent(key, it -> new boolean[this.endYear - this.startYear + 1]);
+            var member = false;
+            for (var year = this.startYear; year <= this.endYear; ++year) {
+                if (isActiveIn(start, end, year)) {
+                    years[year - this.startYear] = true;
+                    member = true;
+                }
+            }
+            if (member) {
+                this.persons.putIfAbsent(key, new ReportedPerson(personId, firstName, lastName));
+            }
+            return this;
+        }
+
+        /**
+         * Add a volume of teaching hours of a person. The volume is annual and it is counted for each year of the activity.
+         *
+         * @param personId      the identifier of the teacher.
+         * @param start         the start date of the teaching activity, or {@code null} if unknown.
+         * @param end           the end date of the teaching activity, or {@code null} if the activity is not finished.
+         * @param type          the type of teaching.
+         * @param hours         the annual number of hours for the type of teaching.
+         * @param differentHetd indicates if the hETD factor of TD and TP are different.
+         * @return {@code this}.
+         */
+        public Builder addTeaching(long personId, LocalDate start, LocalDate end, TeachingActivityType type, float hours, boolean differentHetd) {
+            if (type != null && hours > 0f) {
+                final var hetd = type.convertHoursToHetd(hours, differentHetd);
+                forEachMemberYear(personId, start, end, year -> new Activity(hours, hetd, 0, 0, Collections.emptyMap()));
+            }
+            return this;
+        }
+
+        /**
+         * Add a supervision by a person. The supervision is counted for each year of the membership of the supervised person,
+         * and the defense is counted for the year of the defense.
+         *
+         * @param supervisorId the identifier of the supervisor.
+         * @param start        the start date of the supervision, or {@code null} if unknown.
+         * @param end          the end date of the supervision, or {@code null} if the supervision is not finished.
+         * @param defenseDate  the date of the defense, or {@code null} if there is no defense.
+         * @return {@code this}.
+         */
+        public Builder addSupervision(long supervisorId, LocalDate start, LocalDate end, LocalDate defenseDate) {
+            final var defenseYear = defenseDate == null ? Integer.MIN_VALUE : defenseDate.getYear();
+            forEachMemberYear(supervisorId, start, end, year -> new Activity(0f, 0f, 1, year == defenseYear ? 1 : 0, Collections.emptyMap()));
+            if (defenseDate != null && !isActiveIn(start, end, defenseYear)) {
+                forEachMemberYear(supervisorId, defenseDate, defenseDate, year -> new Activity(0f, 0f, 0, 1, Collections.emptyMap()));
+            }
+            return this;
+        }
+
+        /**
+         * Add participations of a person to juries.
+         *
+         * @param personId the identifier of the person.
+         * @param year     the year of the juries.
+         * @param type     the type of participation.
+         * @param count    the number of participations.
+         * @return {@code this}.
+         */
+        public Builder addJuryParticipations(long personId, int year, JuryMembershipType type, int count) {
+            if (type != null && count > 0) {
+                final var date = LocalDate.of(year, 1, 1);
+                forEachMemberYear(personId, date, date, it -> new Activity(0f, 0f, 0, 0, Collections.singletonMap(type, Integer.valueOf(count))));
+            }
+            return this;
+        }
+
+        /**
+         * Build the report.
+         *
+         * @return the report.
+         */
+        public OrganizationActivityReport build() {
+            final var sortedPersons = new ArrayList<>(this.persons.values());
+            sortedPersons.sort(Comparator.comparing(ReportedPerson::lastName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparing(ReportedPerson::firstName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparingLong(ReportedPerson::id));
+            final var result = new HashMap<Long, Map<Integer, Activity>>();
+            this.activities.forEach((person, perYear) -> result.put(person, Collections.unmodifiableMap(new TreeMap<>(perYear))));
+            return new OrganizationActivityReport(this.organizationId, this.startYear, this.endYear,
+                    Collections.unmodifiableList(sortedPersons), Collections.unmodifiableMap(result));
+        }
+
+        private void forEachMemberYear(long personId, LocalDate start, LocalDate end, YearActivityFactory factory) {
+            final var key = Long.valueOf(personId);
+            final var years = this.memberYears.get(key);
+            if (years != null) {
+                Map<Integer, Activity> perYear = null;
+                for (var year = this.startYear; year <= this.endYear; ++year) {
+                    if (years[year - this.startYear] && isActiveIn(start, end, year)) {
+                        if (perYear == null) {
+                            perYear = this.activities.computeIfAbsent(key, it -> new HashMap<>());
+                        }
+                        perYear.merge(Integer.valueOf(year), factory.create(year), Activity::plus);
+                    }
+                }
+            }
+        }
+
+        private static boolean isActiveIn(LocalDate start, LocalDate end, int year) {
+            return (start == null || start.getYear() <= year) && (end == null || end.getYear() >= year);
+        }
+
+    }
+
+    /**
+     * Factory of activity for a year.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    @FunctionalInterface
+    private interface YearActivityFactory {
+
+        /**
+         * Create the activity for the given year.
+         *
+         * @param year the year.
+         * @return the activity.
+         */
+        Activity create(int year);
+
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.services.organization;
+
+import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipType;
+import fr.utbm.ciad.labmanager.utils.funding.FundingScheme;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityType;
+import fr.utbm.ciad.labmanager.services.AbstractService;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Service for computing the reports on the teaching, supervision and jury activities of the members of a research organization.
+ * The activities are aggregated per person and per year with a few grouped queries on the organization and its suborganizations,
+ * in place of the navigation through the entities of each member.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Service
+public class OrganizationActivityReportService extends AbstractService {
+
+    private static final long serialVersionUID = 2963125040183575917L;
+
+    private final ResearchOrganizationHierarchyService hierarchyService;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param hierarchyService the service for accessing the hierarchy of the organizations.
+     * @param messages         the provider of localized messages.
+     * @param constants        the accessor to the live constants.
+     * @param sessionFactory   the Hibernate session factory.
+     */
+    public OrganizationActivityReportService(
+            @Autowired ResearchOrganizationHierarchyService hierarchyService,
+            @Autowired MessageSourceAccessor messages,
+            @Autowired ConfigurationConstants constants,
+            @Autowired SessionFactory sessionFactory) {
+        super(messages, constants, sessionFactory);
+        this.hierarchyService = hierarchyService;
+    }
+
+    /**
+     * Compute the report on the teaching, supervision and jury activities of the members of the given organization
+     * and of its suborganizations.
+     *
+     * @param organizationId the identifier of the organization.
+     * @param startYear      the first year of the report.
+     * @param endYear        the last year of the report.
+     * @return the report.
+     */
+    @Transactional
+    public OrganizationActivityReport getActivityReport(long organizationId, int startYear, int endYear) {
+        final var builder = OrganizationActivityReport.builder(organizationId, startYear, endYear);
+        final var organizations = this.hierarchyService.getOrganizationAndSubOrganizationIds(organizationId);
+        if (organizations.isEmpty()) {
+            return builder.build();
+        }
+        final var startDate = LocalDate.of(Math.min(startYear, endYear), 1, 1);
+        final var endDate = LocalDate.of(Math.max(startYear, endYear), 12, 31);
+        inSession(session -> {
+            final var members = new HashSet<Long>();
+            for (final var row : session.createSelectionQuery(
+                    "SELECT m.person.id, m.person.firstName, m.person.lastName, m.memberSinceWhen, m.memberToWhen " //$NON-NLS-1$
+                            + "FROM Membership m WHERE m.researchOrganization.id IN :organizations " //$NON-NLS-1$
+                            + "AND (m.memberSinceWhen IS NULL OR m.memberSinceWhen <= :end) " //$NON-NLS-1$
+                            + "AND (m.memberToWhen IS NULL OR m.memberToWhen >= :start)", Object[].class) //$NON-NLS-1$
+                    .setParameterList("organizations", organizations) //$NON-NLS-1$
+                    .setParameter("start", startDate) //$NON-NLS-1$
+                    .setParameter("end", endDate) //$NON-NLS-1$
+                    .list()) {
+                final var personId = (Long) row[0];
+                members.add(personId);
+                builder.addMembership(personId.longValue(), (String) row[1], (String) row[2], (LocalDate) row[3], (LocalDate) row[4]);
+            }
+            if (members.isEmpty()) {
+                return;
+            }
+
+            for (final var row : session.createSelectionQuery(
+                    "SELECT t.person.id, t.startDate, t.endDate, t.differentHetdForTdTp, KEY(w), VALUE(w) " //$NON-NLS-1$
+                            + "FROM TeachingActivity t JOIN t.annualWorkPerType w WHERE t.person.id IN :persons " //$NON-NLS-1$
+                            + "AND (t.startDate IS NULL OR t.startDate <= :end) " //$NON-NLS-1$
+                            + "AND (t.endDate IS NULL OR t.endDate >= :start)", Object[].class) //$NON-NLS-1$
+                    .setParameterList("persons", members) //$NON-NLS-1$
+                    .setParameter("start", startDate) //$NON-NLS-1$
+                    .setParameter("end", endDate) //$NON-NLS-1$
+                    .list()) {
+                final var hours = (Float) row[5];
+                builder.addTeaching(((Long) row[0]).longValue(), (LocalDate) row[1], (LocalDate) row[2],
+                        (TeachingActivityType) row[4], hours == null ? 0f : hours.floatValue(),
+                        Boolean.TRUE.equals(row[3]));
+            }
+
+            for (final var row : session.createSelectionQuery(
+                    "SELECT sup.supervisor.id, s.supervisedPerson.memberSinceWhen, s.supervisedPerson.memberToWhen, s.defenseDate " //$NON-NLS-1$
+                            + "FROM Supervision s JOIN s.supervisors sup WHERE sup.supervisor.id IN :persons " //$NON-NLS-1$
+                            + "AND (s.supervisedPerson.memberSinceWhen IS NULL OR s.supervisedPerson.memberSinceWhen <= :end) " //$NON-NLS-1$
+                            + "AND ((s.supervisedPerson.memberToWhen IS NULL OR s.supervisedPerson.memberToWhen >= :start) " //$NON-NLS-1$
+                            + "OR (s.defenseDate IS NOT NULL AND s.defenseDate >= :start))", Object[].class) //$NON-NLS-1$
+                    .setParameterList("persons", members) //$NON-NLS-1$
+                    .setParameter("start", startDate) //$NON-NLS-1$
+                    .setParameter("end", endDate) //$NON-NLS-1$
+                    .list()) {
+                builder.addSupervision(((Long) row[0]).longValue(), (LocalDate) row[1], (LocalDate) row[2], (LocalDate) row[3]);
+            }
+
+            for (final var row : session.createSelectionQuery(
+                    "SELECT j.person.id, j.type, YEAR(j.date), COUNT(j) FROM JuryMembership j " //$NON-NLS-1$
+                            + "WHERE j.person.id IN :persons AND j.date BETWEEN :start AND :end " //$NON-NLS-1$
+                            + "GROUP BY j.person.id, j.type, YEAR(j.date)", Object[].class) //$NON-NLS-1$
+                    .setParameterList("persons", members) //$NON-NLS-1$
+                    .setParameter("start", startDate) //$NON-NLS-1$
+                    .setParameter("end", endDate) //$NON-NLS-1$
+                    .list()) {
+                builder.addJuryParticipations(((Long) row[0]).longValue(), ((Number) row[2]).intValue(),
+                        (JuryMembershipType) row[1], ((Number) row[3]).intValue());
+            }
+        });
+        return builder.build();
+    }
+
+    /**
+     * Replies the funding scheme of the supervisions of the members of the given organization and of its suborganizations.
+     * When a membership is associated to multiple supervisions, the funding of the first supervision is replied.
+     *
+     * @param organizationId the identifier of the organization.
+     * @return the map from the identifiers of the memberships of the supervised persons to the funding schemes.
+     */
+    @Transactional
+    public Map<Long, FundingScheme> getSupervisionFundingsByMembership(long organizationId) {
+        final var organizations = this.hierarchyService.getOrganizationAndSubOrganizationIds(organizationId);
+        if (organizations.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return inSessionWithResult(session -> {
+            final var fundings = new HashMap<Long, FundingScheme>();
+            for (final var row : session.createSelectionQuery(
+                    "SELECT s.supervisedPerson.id, s.funding FROM Supervision s " //$NON-NLS-1$
+                            + "WHERE s.supervisedPerson.researchOrganization.id IN :organizations ORDER BY s.id", Object[].class) //$NON-NLS-1$
+                    .setParameterList("organizations", organizations) //$NON-NLS-1$
+                    .list()) {
+                if (row[1] != null) {
+                    fundings.putIfAbsent((Long) row[0], (FundingScheme) row[1]);
+                }
+            }
+            return fundings;
+        });
+    }
+
+}
@@ -123,6 +123,7 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
      * @param comparator comparator of organizations that is used for sorting the groups of duplicates. If it is {@code null},
      *                   a {@link ResearchOrganizationComparator} is used.
      * @param callback   the callback invoked during the building.
+     * @param threshold  the similarity level that is used for detecting the duplicates.
      * @return the duplicate persons that is finally computed.
      * @throws Exception if a problem occurred during the building.
      */
@@ -145,7 +146,7 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
         }
         int duplicateCount = 0;
 
-        nameComparator.setSimilarityLevel(threshold);
+        final var similarity = this.nameComparator.newSimilaritySession(threshold);
         for (var i = 0; i < organizationsList.size() - 1; ++i) {
             final var referenceOrganization = organizationsList.get(i);
 
@@ -155,7 +156,7 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
             final var iterator2 = organizationsList.listIterator(i + 1);
             while (iterator2.hasNext()) {
                 final var otherOrganization = iterator2.next();
-                if (this.nameComparator.isSimilar(
+                if (similarity.isSimilar(
                         referenceOrganization.getAcronym(), referenceOrganization.getName(),
                         otherOrganization.getAcronym(), otherOrganization.getName())) {
                     currentMatching.add(otherOrganization);
@@ -0,0 +1,284 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.organization;
+
+import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationClosure;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationClosureRepository;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.services.AbstractService;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Service that maintains the transitive closure of the hierarchy of the research organizations.
+ * The closure is stored into the database (see {@link ResearchOrganizationClosure}) in order to be used
+ * by the queries that need to consider an organization and all its suborganizations. A snapshot of the
+ * closure is also kept in memory for answering the hierarchy queries without accessing the database.
+ *
+ * <p>The closure that is stored into the database is rebuilt when the application is started, and it is
+ * updated when the organizations are changed, i.e., when {@link #addOrganization(long, Collection)} or
+ * {@link #refresh()} is invoked. The queries never write into the database.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Service
+public class ResearchOrganizationHierarchyService extends AbstractService {
+
+    private static final long serialVersionUID = -3851216240187353729L;
+
+    private final ResearchOrganizationRepository organizationRepository;
+
+    private final ResearchOrganizationClosureRepository closureRepository;
+
+    private transient volatile Hierarchy hierarchy;
+
+    private transient volatile boolean staleClosure;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param organizationRepository the organization repository.
+     * @param closureRepository      the repository of the closure of the organization hierarchy.
+     * @param messages               the provider of localized messages.
+     * @param constants              the accessor to the live constants.
+     * @param sessionFactory         the Hibernate session factory.
+     */
+    public ResearchOrganizationHierarchyService(
+            @Autowired ResearchOrganizationRepository organizationRepository,
+            @Autowired ResearchOrganizationClosureRepository closureRepository,
+            @Autowired MessageSourceAccessor messages,
+            @Autowired ConfigurationConstants constants,
+            @Autowired SessionFactory sessionFactory) {
+        super(messages, constants, sessionFactory);
+        this.organizationRepository = organizationRepository;
+        this.closureRepository = closureRepository;
+    }
+
+    /**
+     * Rebuild the closure that is stored in the database when the application is ready,
+     * i.e., after the initial content of the database was imported.
+     *
+     * @param event the event.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        refresh();
+    }
+
+    /**
+     * Replies the identifiers of the given organization and of all its direct and indirect suborganizations.
+     *
+     * @param organizationId the identifier of the organization.
+     * @return the identifiers of the organization and its suborganizations, or an empty set if the organization is unknown.
+     */
+    public Set<Long> getOrganizationAndSubOrganizationIds(long organizationId) {
+        return getHierarchy().descendants().getOrDefault(Long.valueOf(organizationId), Collections.emptySet());
+    }
+
+    /**
+     * Rebuild the closure of the organization hierarchy from the direct links between the organizations,
+     * and save the changes into the database. This function must be invoked each time
+     * the links between the organizations are changed or an organization is deleted.
+     */
+    @Transactional
+    public synchronized void refresh() {
+        final var newHierarchy = computeHierarchy();
+        saveClosure(newHierarchy);
+        this.hierarchy = newHierarchy;
+        this.staleClosure = false;
+    }
+
+    /**
+     * Add into the closure the given organization, that was just created. Only the entries of the closure that
+     * are related to the new organization are saved into the database, i.e., the organization itself and its
+     * direct and indirect super organizations.
+     *
+     * @param organizationId       the identifier of the new organization.
+     * @param superOrganizationIds the identifiers of the direct super organizations of the new organization.
+     */
+    @Transactional
+    public synchronized void addOrganization(long organizationId, Collection<Long> superOrganizationIds) {
+        final var current = getHierarchy();
+        final var id = Long.valueOf(organizationId);
+        final var depths = new HashMap<Long, Integer>();
+        depths.put(id, Integer.valueOf(0));
+        for (final var superId : superOrganizationIds) {
+            for (final var ancestor : current.ancestors().getOrDefault(superId, Collections.emptySet())) {
+                final var depth = current.depths().get(ancestor).get(superId).intValue() + 1;
+                depths.merge(ancestor, Integer.valueOf(depth), (a, b) -> a.intValue() <= b.intValue() ? a : b);
+            }
+        }
+        final var entries = new ArrayList<ResearchOrganizationClosure>(depths.size());
+        depths.forEach((ancestorId, depth) -> entries.add(
+                new ResearchOrganizationClosure(ancestorId.longValue(), organizationId, depth.intValue())));
+        this.closureRepository.saveAll(entries);
+        // The in-memory snapshot is rebuilt from the direct links on the next query
+        this.hierarchy = null;
+    }
+
+    /**
+     * Ensure that the closure that is stored in the database corresponds to the current hierarchy.
+     * The closure is rebuilt only if the organizations were changed without using the organization services
+     * since the last update of the closure.
+     *
+     * @see #invalidate()
+     */
+    public void synchronizeClosure() {
+        if (this.staleClosure) {
+            refresh();
+        }
+    }
+
+    /**
+     * Forget the in-memory snapshot of the hierarchy and mark the closure in the database as outdated.
+     * The closure will be rebuilt and saved on the next call to {@link #synchronizeClosure()}. This function
+     * should be invoked when the organizations are changed without using the organization services, e.g.,
+     * when the database is imported.
+     */
+    public void invalidate() {
+        this.hierarchy = null;
+        this.staleClosure = true;
+    }
+
+    private Hierarchy getHierarchy() {
+        var current = this.hierarchy;
+        if (current == null) {
+            synchronized (this) {
+                current = this.hierarchy;
+                if (current == null) {
+                    current = computeHierarchy();
+                    this.hierarchy = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Compute the closure of the organization hierarchy with a breadth-first traversal from each organization.
+     * The cycles that may be introduced by a wrong edition of the hierarchy are ignored.
+     *
+     * @return the hierarchy.
+     */
+    private Hierarchy computeHierarchy() {
+        final var children = new HashMap<Long, List<Long>>();
+        for (final var id : this.organizationRepository.findAllIds()) {
+            children.put(id, new ArrayList<>());
+        }
+        for (final var link : this.organizationRepository.findAllSubOrganizationLinks()) {
+            final var superId = (Long) link[0];
+            final var subId = (Long) link[1];
+            children.computeIfAbsent(superId, it -> new ArrayList<>()).add(subId);
+            children.computeIfAbsent(subId, it -> new ArrayList<>());
+        }
+
+        final var depths = new HashMap<Long, Map<Long, Integer>>();
+        final var ancestors = new HashMap<Long, Set<Long>>();
+        for (final var root : children.keySet()) {
+            final var reached = new HashMap<Long, Integer>();
+            reached.put(root, Integer.valueOf(0));
+            final var queue = new ArrayDeque<Long>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                final var current = queue.poll();
+                final var depth = reached.get(current).intValue() + 1;
+                for (final var child : children.getOrDefault(current, Collections.emptyList())) {
+                    if (!reached.containsKey(child)) {
+                        reached.put(child, Integer.valueOf(depth));
+                        queue.add(child);
+                    }
+                }
+            }
+            depths.put(root, reached);
+            for (final var descendant : reached.keySet()) {
+                ancestors.computeIfAbsent(descendant, it -> new HashSet<>()).add(root);
+            }
+        }
+
+        final var immutableDescendants = new HashMap<Long, Set<Long>>();
+        depths.forEach((id, reached) -> immutableDescendants.put(id, Set.copyOf(reached.keySet())));
+        final var immutableAncestors = new HashMap<Long, Set<Long>>();
+        ancestors.forEach((id, set) -> immutableAncestors.put(id, Set.copyOf(set)));
+        return new Hierarchy(depths, immutableDescendants, immutableAncestors);
+    }
+
+    /**
+     * Save the differences between the given hierarchy and the closure that is stored in the database.
+     *
+     * @param hierarchy the hierarchy to save.
+     */
+    private void saveClosure(Hierarchy hierarchy) {
+        final var toSave = new ArrayList<ResearchOrganizationClosure>();
+        final var toDelete = new ArrayList<ResearchOrganizationClosure>();
+        final var expected = new HashMap<Long, Map<Long, Integer>>();
+        hierarchy.depths().forEach((id, reached) -> expected.put(id, new HashMap<>(reached)));
+
+        for (final var entry : this.closureRepository.findAll()) {
+            final var reached = expected.get(Long.valueOf(entry.getAncestorId()));
+            final var depth = reached == null ? null : reached.remove(Long.valueOf(entry.getDescendantId()));
+            if (depth == null) {
+                toDelete.add(entry);
+            } else if (depth.intValue() != entry.getDepth()) {
+                entry.setDepth(depth.intValue());
+                toSave.add(entry);
+            }
+        }
+        expected.forEach((ancestorId, reached) -> reached.forEach((descendantId, depth) -> {
+            toSave.add(new ResearchOrganizationClosure(ancestorId.longValue(), descendantId.longValue(), depth.intValue()));
+        }));
+
+        if (!toDelete.isEmpty()) {
+            this.closureRepository.deleteAllInBatch(toDelete);
+        }
+        if (!toSave.isEmpty()) {
+            this.closureRepository.saveAll(toSave);
+        }
+    }
+
+    /**
+     * Immutable snapshot of the closure of the organization hierarchy.
+     *
+     * @param depths      the depths of the descendants of each organization.
+     * @param descendants the identifiers of each organization and its descendants.
+     * @param ancestors   the identifiers of each organization and its ancestors.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private record Hierarchy(Map<Long, Map<Long, Integer>> depths, Map<Long, Set<Long>> descendants, Map<Long, Set<Long>> ancestors) {
+        //
+    }
+
+}
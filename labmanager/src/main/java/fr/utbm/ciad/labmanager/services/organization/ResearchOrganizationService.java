@@ -24,6 +24,7 @@ import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.organization.*;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.EntityDeletionBlockers;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
 import fr.utbm.ciad.labmanager.utils.names.OrganizationNameComparator;
@@ -31,6 +32,7 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.arakhne.afc.vmutil.FileSystem;
 import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +70,8 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 
     private final OrganizationNameComparator organizationComparator;
 
+    private final ResearchOrganizationHierarchyService hierarchyService;
+
     /**
      * Constructor for injector.
      * This constructor is defined for being invoked by the IOC injector.
@@ -76,6 +80,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
      * @param organizationRepository the organization repository.
      * @param fileManager            the manager of the uploaded and downloadable files.
      * @param organizationComparator the comparator to use for comparing to organizations based on their names and acronyms.
+     * @param hierarchyService       the service that maintains the closure of the organization hierarchy.
      * @param messages               the provider of localized messages.
      * @param constants              the accessor to the live constants.
      * @param sessionFactory         the Hibernate session factory.
@@ -85,6 +90,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
             @Autowired ResearchOrganizationRepository organizationRepository,
             @Autowired DownloadableFileManager fileManager,
             @Autowired OrganizationNameComparator organizationComparator,
+            @Autowired ResearchOrganizationHierarchyService hierarchyService,
             @Autowired MessageSourceAccessor messages,
             @Autowired ConfigurationConstants constants,
             @Autowired SessionFactory sessionFactory) {
@@ -93,6 +99,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
         this.organizationRepository = organizationRepository;
         this.fileManager = fileManager;
         this.organizationComparator = organizationComparator;
+        this.hierarchyService = hierarchyService;
     }
 
     /**
@@ -248,8 +255,9 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
      */
     public Optional<ResearchOrganization> getResearchOrganizationBySimilarAcronymOrName(String acronym, String name) {
         if (!Strings.isNullOrEmpty(acronym) || !Strings.isNullOrEmpty(name)) {
+            final var similarity = this.organizationComparator.newSimilaritySession();
             for (final var orga : this.organizationRepository.findAll()) {
-                if (this.organizationComparator.isSimilar(acronym, name, orga.getAcronym(), orga.getName())) {
+                if (similarity.isSimilar(acronym, name, orga.getAcronym(), orga.getName())) {
                     return Optional.of(orga);
                 }
             }
@@ -320,6 +328,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
             res.setSuperOrganizations(sres);
         }
         this.organizationRepository.save(res);
+        this.hierarchyService.addOrganization(res.getId(), sres.stream().map(it -> Long.valueOf(it.getId())).toList());
         //
         if (updateLogo(res, false, pathToLogo, LoggerFactory.getLogger(getClass()))) {
             this.organizationRepository.save(res);
@@ -373,6 +382,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
             }
             //
             final var organization = res.get();
+            final var hierarchyChanged = !sres.isEmpty() && !sres.equals(organization.getSuperOrganizations());
             if (!Strings.isNullOrEmpty(acronym)) {
                 organization.setAcronym(acronym);
             }
@@ -393,6 +403,9 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
             }
             //
             this.organizationRepository.save(organization);
+            if (hierarchyChanged) {
+                this.hierarchyService.refresh();
+            }
             //
             if (updateLogo(organization, removePathToLogo, pathToLogo, LoggerFactory.getLogger(getClass()))) {
                 this.organizationRepository.save(organization);
@@ -443,6 +456,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
                             && superOrganization.getSubOrganizations().add(subOrganization)) {
                         this.organizationRepository.save(subOrganization);
                         this.organizationRepository.save(superOrganization);
+                        this.hierarchyService.refresh();
                         return true;
                     }
                 }
@@ -471,6 +485,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
                     subOrganization.getSuperOrganizations().remove(superOrganization);
                     this.organizationRepository.save(superOrganization);
                     this.organizationRepository.save(subOrganization);
+                    this.hierarchyService.refresh();
                     return true;
                 }
             }
@@ -496,7 +511,8 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
     @Override
     public EntityDeletingContext<ResearchOrganization> startDeletion(Set<ResearchOrganization> organizations, Logger logger) {
         assert organizations != null && !organizations.isEmpty();
-        // Force loading of the linked entities
+        // Force loading of the linked entities that are needed for unlinking the organizations.
+        // The blocking links are checked by the deletion context with queries on the whole set of organizations
         inSession(session -> {
             for (final var organization : organizations) {
                 if (organization.getId() != 0L) {
@@ -504,17 +520,6 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
                     Hibernate.initialize(organization.getAddresses());
                     Hibernate.initialize(organization.getSuperOrganizations());
                     Hibernate.initialize(organization.getSubOrganizations());
-                    Hibernate.initialize(organization.getDirectOrganizationMemberships());
-                    Hibernate.initialize(organization.getSuperOrganizationMemberships());
-                    Hibernate.initialize(organization.getTeachingActivities());
-                    Hibernate.initialize(organization.getFundedAssociatedStructures());
-                    Hibernate.initialize(organization.getMainOrganizationAssociatedStructuresHolders());
-                    Hibernate.initialize(organization.getSuperOrganizationAssociatedStructuresHolders());
-                    Hibernate.initialize(organization.getCoordinatedProjects());
-                    Hibernate.initialize(organization.getLearOrganizationProjects());
-                    Hibernate.initialize(organization.getLocalOrganizationProjects());
-                    Hibernate.initialize(organization.getOtherPartnerProjects());
-                    Hibernate.initialize(organization.getSuperOrganizationProjects());
                 }
             }
         });
@@ -551,6 +556,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 
             // 3. Supprimer l'organisation elle-même
             organizationRepository.delete(organization);
+            this.hierarchyService.refresh();
 
         } else {
             throw new EntityNotFoundException("Organization not found with ID: " + organizationId);
@@ -602,6 +608,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
         @Override
         protected ResearchOrganization writeInJPA(ResearchOrganization entity, boolean initialSaving) {
             if (initialSaving) {
+                final var isNew = this.entity.getId() == 0;
                 // Compute the set of organizations that are removed or added in the list of super organizations
                 final var addedOrganizations = new HashSet<ResearchOrganization>();
                 final var removedOrganizations = new HashSet<>(this.originalSuperOrganizations);
@@ -634,7 +641,14 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
                 }
 
                 final var changedOrganizations = ResearchOrganizationService.this.organizationRepository.saveAll(orgas);
-                return changedOrganizations.stream().filter(it -> it.equals(this.entity)).findAny().orElse(entity);
+                final var savedEntity = changedOrganizations.stream().filter(it -> it.equals(this.entity)).findAny().orElse(entity);
+                if (isNew) {
+                    ResearchOrganizationService.this.hierarchyService.addOrganization(savedEntity.getId(),
+                            savedEntity.getSuperOrganizations().stream().map(it -> Long.valueOf(it.getId())).toList());
+                } else if (!addedOrganizations.isEmpty() || !removedOrganizations.isEmpty()) {
+                    ResearchOrganizationService.this.hierarchyService.refresh();
+                }
+                return savedEntity;
             }
             return ResearchOrganizationService.this.organizationRepository.save(this.entity);
         }
@@ -687,42 +701,44 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 
         @Override
         protected DeletionStatus computeDeletionStatus() {
+            final var identifiers = getDeletableEntityIdentifiers().stream().filter(it -> it.longValue() != 0L).toList();
+            final var labels = new HashMap<Long, String>();
             for (final var entity : getEntities()) {
-                if (!entity.getTeachingActivities().isEmpty()) {
-                    return OrganizationDeletionStatus.TEACHING_ACTIVITY;
-                }
-                if (!entity.getFundedAssociatedStructures().isEmpty()) {
-                    return OrganizationDeletionStatus.FUNDED_ASSOCIATED_STRUCTURE;
-                }
-                if (!entity.getMainOrganizationAssociatedStructuresHolders().isEmpty()) {
-                    return OrganizationDeletionStatus.MAIN_ORGANIZATION_ASSOCIATED_STRUCTURE_HOLDER;
-                }
-                if (!entity.getSuperOrganizationAssociatedStructuresHolders().isEmpty()) {
-                    return OrganizationDeletionStatus.SUPER_ORGANIZATION_ASSOCIATED_STRUCTURE_HOLDER;
-                }
-                if (!entity.getDirectOrganizationMemberships().isEmpty()) {
-                    return OrganizationDeletionStatus.DIRECT_ORGANIZATION_MEMBERSHIP;
-                }
-                if (!entity.getSuperOrganizationMemberships().isEmpty()) {
-                    return OrganizationDeletionStatus.SUPER_ORGANIZATION_MEMBERSHIP;
-                }
-                if (!entity.getCoordinatedProjects().isEmpty()) {
-                    return OrganizationDeletionStatus.PROJECT_COORDINATOR;
-                }
-                if (!entity.getLearOrganizationProjects().isEmpty()) {
-                    return OrganizationDeletionStatus.PROJECT_LEAR_ORGANIZATION;
-                }
-                if (!entity.getLocalOrganizationProjects().isEmpty()) {
-                    return OrganizationDeletionStatus.PROJECT_LOCAL_ORGANIZATION;
-                }
-                if (!entity.getOtherPartnerProjects().isEmpty()) {
-                    return OrganizationDeletionStatus.PROJECT_OTHER_PARTNER_ORGANIZATION;
-                }
-                if (!entity.getSuperOrganizationProjects().isEmpty()) {
-                    return OrganizationDeletionStatus.PROJECT_SUPER_ORGANIZATION;
-                }
+                labels.put(Long.valueOf(entity.getId()), entity.getAcronymOrName());
+            }
+            final var blockers = new EntityDeletionBlockers<>(OrganizationDeletionStatus.class, labels);
+            if (!identifiers.isEmpty()) {
+                // One existence query per type of link, whatever the number of organizations to be deleted
+                inSession(session -> {
+                    blockers.add(OrganizationDeletionStatus.TEACHING_ACTIVITY, findLinkedOrganizations(session,
+                            "SELECT DISTINCT x.university.id FROM TeachingActivity x WHERE x.university.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(OrganizationDeletionStatus.FUNDED_ASSOCIATED_STRUCTURE, findLinkedOrganizations(session,
+                            "SELECT DISTINCT x.fundingOrganization.id FROM AssociatedStructure x WHERE x.fundingOrganization.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(OrganizationDeletionStatus.MAIN_ORGANIZATION_ASSOCIATED_STRUCTURE_HOLDER, findLinkedOrganizations(session,
+                            "SELECT DISTINCT x.organization.id FROM AssociatedStructureHolder x WHERE x.organization.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(OrganizationDeletionStatus.SUPER_ORGANIZATION_ASSOCIATED_STRUCTURE_HOLDER, findLinkedOrganizations(session,
+                            "SELECT DISTINCT x.superOrganization.id FROM AssociatedStructureHolder x WHERE x.superOrganization.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(OrganizationDeletionStatus.DIRECT_ORGANIZATION_MEMBERSHIP, findLinkedOrganizations(session,
+                            "SELECT DISTINCT x.researchOrganization.id FROM Membership x WHERE x.researchOrganization.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(OrganizationDeletionStatus.SUPER_ORGANIZATION_MEMBERSHIP, findLinkedOrganizations(session,
+                            "SELECT DISTINCT x.superResearchOrganization.id FROM Membership x WHERE x.superResearchOrganization.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(OrganizationDeletionStatus.PROJECT_COORDINATOR, findLinkedOrganizations(session,
+                            "SELECT DISTINCT x.coordinator.id FROM Project x WHERE x.coordinator.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(OrganizationDeletionStatus.PROJECT_LEAR_ORGANIZATION, findLinkedOrganizations(session,
+                            "SELECT DISTINCT x.learOrganization.id FROM Project x WHERE x.learOrganization.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(OrganizationDeletionStatus.PROJECT_LOCAL_ORGANIZATION, findLinkedOrganizations(session,
+                            "SELECT DISTINCT x.localOrganization.id FROM Project x WHERE x.localOrganization.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(OrganizationDeletionStatus.PROJECT_OTHER_PARTNER_ORGANIZATION, findLinkedOrganizations(session,
+                            "SELECT DISTINCT o.id FROM Project x JOIN x.otherPartners o WHERE o.id IN :ids", identifiers)); //$NON-NLS-1$
+                    blockers.add(OrganizationDeletionStatus.PROJECT_SUPER_ORGANIZATION, findLinkedOrganizations(session,
+                            "SELECT DISTINCT x.superOrganization.id FROM Project x WHERE x.superOrganization.id IN :ids", identifiers)); //$NON-NLS-1$
+                });
             }
-            return DeletionStatus.OK;
+            return blockers.toDeletionStatus();
+        }
+
+        private static List<Long> findLinkedOrganizations(Session session, String query, List<Long> identifiers) {
+            return session.createSelectionQuery(query, Long.class).setParameterList("ids", identifiers).list(); //$NON-NLS-1$
         }
 
         @Override
@@ -746,6 +762,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 
             // Do the deletion
             ResearchOrganizationService.this.organizationRepository.deleteAllById(getDeletableEntityIdentifiers());
+            ResearchOrganizationService.this.hierarchyService.refresh();
 
             for (final var id : identifiers) {
                 ResearchOrganizationService.this.fileManager.deleteOrganizationLogo(id.longValue(), getLogger());
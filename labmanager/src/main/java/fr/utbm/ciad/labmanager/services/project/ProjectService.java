@@ -35,6 +35,7 @@ import fr.utbm.ciad.labmanager.services.member.MembershipService;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.funding.FundingScheme;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.ProjectImageManager;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import fr.utbm.ciad.labmanager.utils.trl.TRL;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -57,6 +58,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.time.LocalDate;
@@ -95,6 +97,8 @@ public class ProjectService extends AbstractEntityService<Project> {
 
     private final DownloadableFileManager fileManager;
 
+    private final ProjectImageManager imageManager;
+
     /**
      * Constructor for injector.
      * This constructor is defined for being invoked by the IOC injector.
@@ -105,6 +109,7 @@ public class ProjectService extends AbstractEntityService<Project> {
      * @param personRepository        the repository for the persons.
      * @param membershipService       the service for memberships.
      * @param fileManager             the manager of the uploaded and downloadable files.
+     * @param imageManager            the manager of the generated project images.
      * @param messages                the provider of localized messages.
      * @param constants               the accessor to the live constants.
      * @param sessionFactory          the Hibernate session factory.
@@ -116,6 +121,7 @@ public class ProjectService extends AbstractEntityService<Project> {
             @Autowired PersonRepository personRepository,
             @Autowired MembershipService membershipService,
             @Autowired DownloadableFileManager fileManager,
+            @Autowired ProjectImageManager imageManager,
             @Autowired MessageSourceAccessor messages,
             @Autowired ConfigurationConstants constants,
             @Autowired SessionFactory sessionFactory) {
@@ -125,6 +131,7 @@ public class ProjectService extends AbstractEntityService<Project> {
         this.organizationRepository = organizationRepository;
         this.personRepository = personRepository;
         this.fileManager = fileManager;
+        this.imageManager = imageManager;
         this.membershipService = membershipService;
     }
 
@@ -474,12 +481,16 @@ public class ProjectService extends AbstractEntityService<Project> {
         // Link the uploaded files
         final var logger = LoggerFactory.getLogger(getClass());
 
-        updateLogo(project, removePathToLogo, pathToLogo, logger);
+        final var logoChanged = updateLogo(project, removePathToLogo, pathToLogo, logger);
         updateScientificRequirements(project, removePathToScientificRequirements, pathToScientificRequirements, logger);
         updatePowerpoint(project, removePathToPowerpoint, pathToPowerpoint, logger);
         updatePressDocument(project, removePathToPressDocument, pathToPressDocument, logger);
-        updateImages(project, removePathsToImages, pathsToImages, logger);
+        final var imagesChanged = updateImages(project, removePathsToImages, pathsToImages, logger);
         this.projectRepository.save(project);
+
+        if (logoChanged || imagesChanged) {
+            this.imageManager.generateProjectImages(project, logger);
+        }
     }
 
     private boolean updateImages(Project project, boolean explicitRemove, MultipartFile[] uploadedFiles, Logger logger) throws IOException {
@@ -1406,6 +1417,8 @@ public class ProjectService extends AbstractEntityService<Project> {
 
         private final UploadedFilesTracker<Project> pathsToImages;
 
+        private List<String> imageSources;
+
         /**
          * Constructor.
          *
@@ -1414,6 +1427,7 @@ public class ProjectService extends AbstractEntityService<Project> {
          */
         protected EditingContext(Project project, Logger logger) {
             super(project, logger);
+            this.imageSources = getImageSources(project);
             this.pathToLogo = newUploadedFileTracker(project,
                     Project::getPathToLogo,
                     (id, savedPath) -> {
@@ -1496,6 +1510,36 @@ public class ProjectService extends AbstractEntityService<Project> {
             this.pathToPressDoc.resetPathMemory(this.entity, logger);
             this.pathToRequirements.resetPathMemory(this.entity, logger);
             this.pathsToImages.resetPathMemory(this.entity, logger);
+            // The images are generated again only if the logo or an image was renamed or uploaded
+            final var sources = getImageSources(this.entity);
+            if (!sources.equals(this.imageSources)) {
+                this.imageSources = sources;
+                ProjectService.this.imageManager.generateProjectImages(this.entity, logger);
+            }
+        }
+
+        /**
+         * Replies the paths and the modification dates of the logo and of the images of the project,
+         * from which the generated images are built.
+         *
+         * @param project the project.
+         * @return the description of the sources of the generated images.
+         */
+        private List<String> getImageSources(Project project) {
+            final var sources = new ArrayList<String>();
+            addImageSource(sources, project.getPathToLogo());
+            for (final var image : project.getPathsToImages()) {
+                addImageSource(sources, image);
+            }
+            return sources;
+        }
+
+        private void addImageSource(List<String> sources, String path) {
+            if (!Strings.isNullOrEmpty(path)) {
+                final var file = ProjectService.this.fileManager.normalizeForServerSide(new File(path));
+                final var date = file != null ? file.lastModified() : 0L;
+                sources.add(path + '@' + date);
+            }
         }
 
         @Override
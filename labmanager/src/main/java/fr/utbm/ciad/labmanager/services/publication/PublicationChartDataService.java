@@ -0,0 +1,182 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.services.publication;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service that provides the data of the charts on the publications.
+ * The data are computed in background threads, outside the threads of the user interface, and they are shared
+ * between all the charts that are showing the same range of years. The computed data are kept until a publication
+ * is changed. The changes are received from the {@link EntityChangeBroadcaster}; when this broadcaster is disabled,
+ * the data are not kept and they are computed for each chart.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PublicationCountsPerTypeAndYear
+ */
+@Service
+public class PublicationChartDataService implements Serializable {
+
+    private static final long serialVersionUID = -2473395804286624813L;
+
+    private static final int LOADING_THREADS = 2;
+
+    private final transient Map<YearRange, CompletableFuture<PublicationCountsPerTypeAndYear>> counts = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final PublicationRepository publicationRepository;
+
+    private final boolean cacheEnabled;
+
+    private transient ExecutorService executor;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param publicationRepository the repository of the publications.
+     * @param broadcaster           the broadcaster of the entity changes.
+     */
+    public PublicationChartDataService(
+            @Autowired PublicationRepository publicationRepository,
+            @Autowired EntityChangeBroadcaster broadcaster) {
+        this.publicationRepository = publicationRepository;
+        // Without the notifications of the changes, the cached data could never be refreshed
+        this.cacheEnabled = broadcaster != null && broadcaster.isEnabled();
+        if (this.cacheEnabled) {
+            broadcaster.register(Publication.class, it -> invalidateAll());
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (this.executor == null) {
+            this.executor = Executors.newFixedThreadPool(LOADING_THREADS, runnable -> {
+                final var thread = new Thread(runnable, "publication-chart-data"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.executor;
+    }
+
+    /**
+     * Stop the background threads.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Replies the counts of publications per type and per year for the given range of years.
+     * If the counts are not yet computed, they are computed in a background thread; and the replied future
+     * is completed when the counts are available. The caller is in charge of synchronizing itself with the user
+     * interface when the future is completed.
+     *
+     * @param startYear the first year of the range.
+     * @param endYear   the last year of the range.
+     * @return the future counts.
+     */
+    public CompletableFuture<PublicationCountsPerTypeAndYear> getPublicationCounts(int startYear, int endYear) {
+        final var key = new YearRange(Math.min(startYear, endYear), Math.max(startYear, endYear));
+        if (!this.cacheEnabled) {
+            return CompletableFuture.supplyAsync(() -> loadPublicationCounts(key), getExecutor());
+        }
+        final var current = this.counts.get(key);
+        if (current != null) {
+            return current;
+        }
+        final var generation = this.generation.get();
+        final var future = new CompletableFuture<PublicationCountsPerTypeAndYear>();
+        final var previous = this.counts.putIfAbsent(key, future);
+        if (previous != null) {
+            return previous;
+        }
+        try {
+            getExecutor().execute(() -> {
+                try {
+                    future.complete(loadPublicationCounts(key));
+                } catch (Throwable ex) {
+                    this.counts.remove(key, future);
+                    future.completeExceptionally(ex);
+                }
+                // Do not keep the counts that were computed while a publication has changed
+                if (this.generation.get() != generation) {
+                    this.counts.remove(key, future);
+                }
+            });
+        } catch (Throwable ex) {
+            this.counts.remove(key, future);
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    private PublicationCountsPerTypeAndYear loadPublicationCounts(YearRange key) {
+        final var rows = this.publicationRepository.countPublicationsPerTypeAndYear(key.start(), key.end());
+        return PublicationCountsPerTypeAndYear.of(key.start(), key.end(), rows);
+    }
+
+    /**
+     * Forget all the computed counts.
+     */
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.counts.clear();
+    }
+
+    /**
+     * Range of years that is used as key in the cache.
+     *
+     * @param start the first year.
+     * @param end   the last year.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private record YearRange(int start, int end) {
+        //
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.services.publication;
+
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable counts of publications per type of publication and per year, for a range of years.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PublicationChartDataService
+ */
+public final class PublicationCountsPerTypeAndYear implements Serializable {
+
+    private static final long serialVersionUID = 2285761062391384807L;
+
+    private final int startYear;
+
+    private final int endYear;
+
+    private final Map<PublicationType, int[]> counts;
+
+    private PublicationCountsPerTypeAndYear(int startYear, int endYear, Map<PublicationType, int[]> counts) {
+        this.startYear = startYear;
+        this.endYear = endYear;
+        this.counts = counts;
+    }
+
+    /**
+     * Build the counts from the rows that are replied by the database. Each row is an array with the type of publication,
+     * the year and the count of publications.
+     *
+     * @param startYear the first year of the range.
+     * @param endYear   the last year of the range.
+     * @param rows      the rows.
+     * @return the counts.
+     */
+    public static PublicationCountsPerTypeAndYear of(int startYear, int endYear, Iterable<Object[]> rows) {
+        final var start = Math.min(startYear, endYear);
+        final var end = Math.max(startYear, endYear);
+        final var counts = new EnumMap<PublicationType, int[]>(PublicationType.class);
+        for (final var row : rows) {
+            final var type = (PublicationType) row[0];
+            final var year = row[1] instanceof Number number ? number.intValue() : Integer.MIN_VALUE;
+            if (type != null && year >= start && year <= end) {
+                final var perYear = counts.computeIfAbsent(type, it -> new int[end - start + 1]);
+                perYear[year - start] += ((Number) row[2]).intValue();
+            }
+        }
+        return new PublicationCountsPerTypeAndYear(start, end, counts);
+    }
+
+    /**
+     * Replies the first year of the range.
+     *
+     * @return the first year.
+     */
+    public int getStartYear() {
+        return this.startYear;
+    }
+
+    /**
+     * Replies the last year of the range.
+     *
+     * @return the last year.
+     */
+    public int getEndYear() {
+        return this.endYear;
+    }
+
+    /**
+     * Replies if the given year is inside the range of years.
+     *
+     * @param year the year to test.
+     * @return {@code true} if the year is in the range.
+     */
+    public boolean covers(int year) {
+        return year >= this.startYear && year <= this.endYear;
+    }
+
+    /**
+     * Replies the number of publications of the given type during the given year.
+     *
+     * @param type the type of publication.
+     * @param year the year.
+     * @return the number of publications, or {@code 0} if the year is outside the range.
+     */
+    public int getCount(PublicationType type, int year) {
+        if (!covers(year)) {
+            return 0;
+        }
+        final var perYear = this.counts.get(type);
+        return perYear == null ? 0 : perYear[year - this.startYear];
+    }
+
+    /**
+     * Replies the number of publications of the given types during the given year.
+     *
+     * @param types the types of publication.
+     * @param year  the year.
+     * @return the number of publications, or {@code 0} if the year is outside the range.
+     */
+    public int getCount(Collection<PublicationType> types, int year) {
+        var total = 0;
+        for (final var type : types) {
+            total += getCount(type, year);
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.publication;
+
+import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.comparators.PublicationTitleComparator.SimilaritySession;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Index of the publications that are stored in the database, for detecting the duplicates of a batch of new publications.
+ * The index is built once from the identifiers, titles and DOIs of all the publications; it does not keep references
+ * to the JPA entities. A publication is a duplicate candidate of a new publication if it has the same DOI or
+ * a similar title.
+ *
+ * <p>The titles are indexed by the words of their normalized forms, i.e., without case and accents. The similarity
+ * of the titles is computed only for the publications that have at least one significant word in common with
+ * the new publication, in place of all the publications. Titles without significant word are compared to all
+ * the publications.
+ *
+ * <p>The ISSN is not indexed because it identifies the journal, not the publication.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PublicationService#newPublicationDuplicateIndex()
+ */
+public final class PublicationDuplicateIndex {
+
+    /**
+     * Minimum number of characters of a word of a title for being indexed. The shorter words are mostly
+     * articles and prepositions that are shared by unrelated titles.
+     */
+    public static final int MIN_TITLE_WORD_LENGTH = 4;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+"); //$NON-NLS-1$
+
+    private static final Pattern DIACRITICAL_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+"); //$NON-NLS-1$
+
+    private final List<IndexedPublication> publications;
+
+    private final Map<String, List<IndexedPublication>> publicationsByDoi;
+
+    private final Map<String, List<IndexedPublication>> publicationsByTitleWord;
+
+    private final SimilaritySession titleSimilarity;
+
+    /**
+     * Constructor.
+     *
+     * @param publications    the indexed publications.
+     * @param titleSimilarity the session for comparing the titles.
+     */
+    public PublicationDuplicateIndex(Collection<IndexedPublication> publications, SimilaritySession titleSimilarity) {
+        this.publications = new ArrayList<>(publications);
+        this.titleSimilarity = titleSimilarity;
+        this.publicationsByDoi = new HashMap<>();
+        this.publicationsByTitleWord = new HashMap<>();
+        for (final var publication : this.publications) {
+            final var doi = normalizeDoi(publication.doi());
+            if (doi != null) {
+                this.publicationsByDoi.computeIfAbsent(doi, it -> new ArrayList<>()).add(publication);
+            }
+            for (final var word : getTitleWords(publication.title())) {
+                this.publicationsByTitleWord.computeIfAbsent(word, it -> new ArrayList<>()).add(publication);
+            }
+        }
+    }
+
+    /**
+     * Replies the significant words of the given title, in lower case and without accents.
+     *
+     * @param title the title.
+     * @return the words, never {@code null}.
+     */
+    private static Set<String> getTitleWords(String title) {
+        if (Strings.isNullOrEmpty(title)) {
+            return Collections.emptySet();
+        }
+        final var normalized = DIACRITICAL_MARKS.matcher(
+                Normalizer.normalize(title.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)).replaceAll(""); //$NON-NLS-1$
+        final var words = new LinkedHashSet<String>();
+        for (final var word : WORD_SEPARATOR.split(normalized)) {
+            if (word.length() >= MIN_TITLE_WORD_LENGTH) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String normalizeDoi(String doi) {
+        if (Strings.isNullOrEmpty(doi)) {
+            return null;
+        }
+        final var trimmed = doi.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Replies the number of indexed publications.
+     *
+     * @return the number of publications.
+     */
+    public int size() {
+        return this.publications.size();
+    }
+
+    /**
+     * Replies the identifiers of the indexed publications that may be duplicates of the given publication.
+     *
+     * @param publication the new publication.
+     * @return the identifiers of the candidates, never {@code null}.
+     */
+    public Set<Long> getDuplicateCandidates(Publication publication) {
+        return getDuplicateCandidates(publication.getTitle(), publication.getDOI());
+    }
+
+    /**
+     * Replies the identifiers of the indexed publications that may be duplicates of a publication with the given
+     * title and DOI.
+     *
+     * @param title the title of the new publication.
+     * @param doi   the DOI of the new publication.
+     * @return the identifiers of the candidates, never {@code null}.
+     */
+    public Set<Long> getDuplicateCandidates(String title, String doi) {
+        final var candidates = new TreeSet<Long>();
+        final var normalizedDoi = normalizeDoi(doi);
+        if (normalizedDoi != null) {
+            for (final var publication : this.publicationsByDoi.getOrDefault(normalizedDoi, Collections.emptyList())) {
+                candidates.add(Long.valueOf(publication.id()));
+            }
+        }
+        if (!Strings.isNullOrEmpty(title)) {
+            for (final var publication : getTitleCandidates(title)) {
+                if (!Strings.isNullOrEmpty(publication.title()) && this.titleSimilarity.isSimilar(title, publication.title())) {
+                    candidates.add(Long.valueOf(publication.id()));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private Collection<IndexedPublication> getTitleCandidates(String title) {
+        final var words = getTitleWords(title);
+        if (words.isEmpty()) {
+            return this.publications;
+        }
+        final var candidates = new LinkedHashSet<IndexedPublication>();
+        for (final var word : words) {
+            candidates.addAll(this.publicationsByTitleWord.getOrDefault(word, Collections.emptyList()));
+        }
+        return candidates;
+    }
+
+    /**
+     * Description of a publication in the index.
+     *
+     * @param id    the identifier of the publication.
+     * @param title the title of the publication.
+     * @param doi   the DOI of the publication.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record IndexedPublication(long id, String title, String doi) {
+        //
+    }
+
+}
@@ -50,7 +50,6 @@ import fr.utbm.ciad.labmanager.utils.io.json.JsonExporter;
 import fr.utbm.ciad.labmanager.utils.io.od.OpenDocumentTextPublicationExporter;
 import fr.utbm.ciad.labmanager.utils.io.ris.RIS;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
-import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
@@ -66,6 +65,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -277,6 +277,9 @@ public class PublicationService extends AbstractPublicationService {
             for (final var authorship : publication.getAuthorshipsRaw()) {
                 Hibernate.initialize(authorship.getPerson());
                 Hibernate.initialize(authorship.getPerson().getMemberships());
+                for (final var membership : authorship.getPerson().getMemberships()) {
+                    Hibernate.initialize(membership.getDirectResearchOrganization());
+                }
             }
 
             if (publication instanceof JournalBasedPublication paper) {
@@ -390,6 +393,18 @@ public class PublicationService extends AbstractPublicationService {
      */
     public Set<Publication> getPublicationsByOrganizationId(long identifier, boolean includeSubOrganizations,
                                                             boolean filterAuthorshipsWithActiveMemberships) {
+        if (filterAuthorshipsWithActiveMemberships) {
+            // The authors and their active memberships are matched by the database
+            if (includeSubOrganizations) {
+                this.membershipService.synchronizeOrganizationHierarchy();
+            }
+            final var publicationIdentifiers = this.publicationRepository.findAllIdsWithActiveMembershipInOrganization(
+                    identifier, includeSubOrganizations);
+            if (publicationIdentifiers.isEmpty()) {
+                return Collections.emptySet();
+            }
+            return Set.copyOf(this.publicationRepository.findAllById(publicationIdentifiers));
+        }
         final Set<Person> members;
         if (includeSubOrganizations) {
             members = this.membershipService.getMembersOf(identifier);
@@ -397,11 +412,7 @@ public class PublicationService extends AbstractPublicationService {
             members = this.membershipService.getDirectMembersOf(identifier);
         }
         final var identifiers = members.stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toUnmodifiableSet());
-        final var publications = this.publicationRepository.findAllByAuthorshipsPersonIdIn(identifiers);
-        if (filterAuthorshipsWithActiveMemberships) {
-            return filterPublicationsWithMemberships(publications, identifier, includeSubOrganizations);
-        }
-        return publications;
+        return this.publicationRepository.findAllByAuthorshipsPersonIdIn(identifiers);
     }
 
     /**
@@ -474,8 +485,9 @@ public class PublicationService extends AbstractPublicationService {
     @Deprecated(since = "4.0", forRemoval = true)
     public Publication getPublicationBySimilarTitle(String title) {
         if (!Strings.isNullOrEmpty(title)) {
+            final var similarity = this.titleComparator.newSimilaritySession();
             for (final var publication : this.publicationRepository.findAll()) {
-                if (this.titleComparator.isSimilar(title, publication.getTitle())) {
+                if (similarity.isSimilar(title, publication.getTitle())) {
                     return publication;
                 }
             }
@@ -499,7 +511,47 @@ public class PublicationService extends AbstractPublicationService {
         if (Strings.isNullOrEmpty(title)) {
             return Collections.emptyList();
         }
-        final var list = this.publicationRepository.findAll().stream().filter(it -> this.titleComparator.isSimilar(title, it.getTitle())).toList();
+        final var similarity = this.titleComparator.newSimilaritySession();
+        final var list = this.publicationRepository.findAll().stream().filter(it -> similarity.isSimilar(title, it.getTitle())).toList();
+        if (initializer != null) {
+            for (final var publication : list) {
+                initializer.accept(publication);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Create the index of all the publications for detecting the duplicates of a batch of new publications.
+     * The index is built with a single query that reads only the identifiers, the titles and the DOIs of the publications.
+     * It replaces the calls to {@link #getPublicationsBySimilarTitle(String, SerializableConsumer)} for each new publication,
+     * that are loading all the publications each time.
+     *
+     * @return the index.
+     * @since 4.0
+     */
+    @Transactional(readOnly = true)
+    public PublicationDuplicateIndex newPublicationDuplicateIndex() {
+        final var rows = inSessionWithResult(session -> session.createQuery(
+                "SELECT p.id, p.title, p.doi FROM Publication p", Object[].class).list()); //$NON-NLS-1$
+        final var publications = new ArrayList<PublicationDuplicateIndex.IndexedPublication>(rows.size());
+        for (final var row : rows) {
+            publications.add(new PublicationDuplicateIndex.IndexedPublication(((Long) row[0]).longValue(), (String) row[1], (String) row[2]));
+        }
+        return new PublicationDuplicateIndex(publications, this.titleComparator.newSimilaritySession());
+    }
+
+    /**
+     * Replies the publications with the given identifiers.
+     *
+     * @param identifiers the identifiers of the publications.
+     * @param initializer a callback function that is invoked on each publication for specific initialization of the JPA entity.
+     * @return the publications.
+     * @since 4.0
+     */
+    @Transactional(readOnly = true)
+    public List<Publication> getPublicationsByIds(Collection<Long> identifiers, SerializableConsumer<Publication> initializer) {
+        final var list = this.publicationRepository.findAllById(identifiers);
         if (initializer != null) {
             for (final var publication : list) {
                 initializer.accept(publication);
@@ -780,6 +832,31 @@ public class PublicationService extends AbstractPublicationService {
         }
     }
 
+    /**
+     * Save the given new publications into the database within a single transaction.
+     * Each publication is saved as with the editing context that is replied by {@link #startEditing(Publication, Logger)};
+     * the associated journals, conferences and authors are created in the same transaction.
+     * If the saving of a publication fails, none of the given publications is saved.
+     * The transaction is committed when this function returns; the callers should notify
+     * the saving of the publications only after this return.
+     *
+     * @param publications the publications to save.
+     * @param logger       the logger to be used.
+     * @return the saved publications, in the same order as the given publications.
+     * @throws IOException if a publication cannot be saved.
+     * @since 4.0
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<Publication> saveNewPublications(List<? extends Publication> publications, Logger logger) throws IOException {
+        final var saved = new ArrayList<Publication>(publications.size());
+        for (final var publication : publications) {
+            final var context = startEditing(publication, logger);
+            context.save();
+            saved.add(context.getEntity());
+        }
+        return saved;
+    }
+
     /**
      * Save the given publication into the database.
      * If publication has a temporary list of authors, the corresponding authors are
@@ -25,6 +25,7 @@ import fr.utbm.ciad.labmanager.data.journal.Journal;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
 import fr.utbm.ciad.labmanager.data.publication.PublicationLanguage;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
 import fr.utbm.ciad.labmanager.data.publication.PublicationType;
 import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
 import fr.utbm.ciad.labmanager.data.publication.type.JournalPaperRepository;
@@ -40,6 +41,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -60,6 +62,8 @@ public class JournalPaperService extends AbstractPublicationTypeService {
 
     private final JournalPaperRepository repository;
 
+    private final PublicationRepository publicationRepository;
+
     private final MembershipService membershipService;
 
     /**
@@ -70,6 +74,7 @@ public class JournalPaperService extends AbstractPublicationTypeService {
      * @param doiTools                the tools for manipulating the DOI.
      * @param halTools                the tools for manipulating the HAL ids.
      * @param repository              the repository for this service.
+     * @param publicationRepository   the repository of all the publications.
      * @param membershipService       the service for accessing the memberships.
      * @param messages                the provider of localized messages.
      * @param constants               the accessor to the live constants.
@@ -80,12 +85,14 @@ public class JournalPaperService extends AbstractPublicationTypeService {
             @Autowired DoiTools doiTools,
             @Autowired HalTools halTools,
             @Autowired JournalPaperRepository repository,
+            @Autowired PublicationRepository publicationRepository,
             @Autowired MembershipService membershipService,
             @Autowired MessageSourceAccessor messages,
             @Autowired ConfigurationConstants constants,
             @Autowired SessionFactory sessionFactory) {
         super(downloadableFileManager, doiTools, halTools, messages, constants, sessionFactory);
         this.repository = repository;
+        this.publicationRepository = publicationRepository;
         this.membershipService = membershipService;
     }
 
@@ -134,6 +141,19 @@ public class JournalPaperService extends AbstractPublicationTypeService {
      */
     public Set<JournalPaper> getJournalPapersByOrganizationId(long identifier, boolean includeSubOrganizations,
                                                               boolean filterAuthorshipsWithActiveMemberships) {
+        if (filterAuthorshipsWithActiveMemberships) {
+            // The authors and their active memberships are matched by the database
+            if (includeSubOrganizations) {
+                this.membershipService.synchronizeOrganizationHierarchy();
+            }
+            final var publicationIdentifiers = this.publicationRepository.findAllIdsWithActiveMembershipInOrganization(
+                    identifier, includeSubOrganizations);
+            if (publicationIdentifiers.isEmpty()) {
+                return Collections.emptySet();
+            }
+            // The identifiers of the publications that are not journal papers are ignored by the repository of the journal papers
+            return Set.copyOf(this.repository.findAllById(publicationIdentifiers));
+        }
         final Set<Person> members;
         if (includeSubOrganizations) {
             members = this.membershipService.getMembersOf(identifier);
@@ -141,11 +161,7 @@ public class JournalPaperService extends AbstractPublicationTypeService {
             members = this.membershipService.getDirectMembersOf(identifier);
         }
         final var identifiers = members.stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toUnmodifiableSet());
-        final var publications = this.repository.findAllByAuthorshipsPersonIdIn(identifiers);
-        if (filterAuthorshipsWithActiveMemberships) {
-            return filterPublicationsWithMemberships(publications, identifier, includeSubOrganizations);
-        }
-        return publications;
+        return this.repository.findAllByAuthorshipsPersonIdIn(identifiers);
     }
 
     /**
@@ -0,0 +1,475 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.ranking;
+
+import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestCheckpoint;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestCheckpointRepository;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestCheckpointStatus;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestJob;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestJobRepository;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestJobStatus;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestTarget;
+import fr.utbm.ciad.labmanager.services.AbstractService;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
+import jakarta.annotation.PreDestroy;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.arakhne.afc.progress.Progression;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+/**
+ * Service for the jobs of harvesting of rankings from external sources.
+ * A job is created for a set of entities and a set of sources. Each pair entity-source is associated to a
+ * {@link RankingHarvestCheckpoint checkpoint} that is saved in the database as soon as the entity is harvested.
+ * The harvesting is run in background threads of the server, outside the threads of the user interface. In this
+ * way, the harvesting continues when the user interface is closed, and an interrupted job may be resumed with
+ * the entities that are not yet harvested or for which the harvesting has failed.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see RankingHarvester
+ */
+@Service
+public class RankingHarvestJobService extends AbstractService {
+
+    private static final long serialVersionUID = 6230919837011523672L;
+
+    private static final int HARVESTING_THREADS = 4;
+
+    private static final Set<RankingHarvestCheckpointStatus> HARVESTABLE_STATUS = EnumSet.of(
+            RankingHarvestCheckpointStatus.PENDING, RankingHarvestCheckpointStatus.FAILED);
+
+    private final transient Map<RunKey, CompletableFuture<RankingHarvestStatistics>> runs = new ConcurrentHashMap<>();
+
+    private final RankingHarvestJobRepository jobRepository;
+
+    private final RankingHarvestCheckpointRepository checkpointRepository;
+
+    private transient ExecutorService executor;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param jobRepository        the repository of the jobs.
+     * @param checkpointRepository the repository of the checkpoints.
+     * @param messages             the provider of localized messages.
+     * @param constants            the accessor to the live constants.
+     * @param sessionFactory       the factory of JPA session.
+     */
+    public RankingHarvestJobService(
+            @Autowired RankingHarvestJobRepository jobRepository,
+            @Autowired RankingHarvestCheckpointRepository checkpointRepository,
+            @Autowired MessageSourceAccessor messages,
+            @Autowired ConfigurationConstants constants,
+            @Autowired SessionFactory sessionFactory) {
+        super(messages, constants, sessionFactory);
+        this.jobRepository = jobRepository;
+        this.checkpointRepository = checkpointRepository;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (this.executor == null) {
+            this.executor = Executors.newFixedThreadPool(HARVESTING_THREADS, runnable -> {
+                final var thread = new Thread(runnable, "ranking-harvest"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.executor;
+    }
+
+    /**
+     * Stop the background threads. The entities that are not yet harvested stay pending in the database.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Create a job with a pending checkpoint for each pair of source and entity.
+     *
+     * @param target        the type of the entities.
+     * @param referenceYear the reference year of the rankings, or {@code 0}.
+     * @param options       the options that are selected for the job.
+     * @param sources       the names of the sources to harvest.
+     * @param entityIds     the identifiers of the entities to harvest.
+     * @param owner         the login of the user who creates the job.
+     * @return the created job.
+     */
+    @Transactional
+    public RankingHarvestJob createJob(RankingHarvestTarget target, int referenceYear, Collection<String> options,
+                                       Collection<String> sources, Collection<Long> entityIds, String owner) {
+        final var job = this.jobRepository.save(new RankingHarvestJob(target, referenceYear, options, owner));
+        final var checkpoints = new ArrayList<RankingHarvestCheckpoint>(sources.size() * entityIds.size());
+        for (final var source : sources) {
+            for (final var entityId : entityIds) {
+                checkpoints.add(new RankingHarvestCheckpoint(job.getId(), source, entityId.longValue()));
+            }
+        }
+        this.checkpointRepository.saveAll(checkpoints);
+        return job;
+    }
+
+    /**
+     * Replies the given job if it is open and if it was created with the same parameters; or create a new job.
+     * This function is used for resuming a job when the user has not changed its parameters.
+     *
+     * @param jobId         the identifier of the job to resume, or {@code 0} for creating a new job.
+     * @param target        the type of the entities.
+     * @param referenceYear the reference year of the rankings, or {@code 0}.
+     * @param options       the options that are selected for the job.
+     * @param sources       the names of the sources to harvest.
+     * @param entityIds     the identifiers of the entities to harvest.
+     * @param owner         the login of the user who creates the job.
+     * @return the resumed or created job.
+     * @see #createJob(RankingHarvestTarget, int, Collection, Collection, Collection, String)
+     */
+    @Transactional
+    public RankingHarvestJob resumeOrCreateJob(long jobId, RankingHarvestTarget target, int referenceYear, Collection<String> options,
+                                               Collection<String> sources, Collection<Long> entityIds, String owner) {
+        if (jobId != 0) {
+            final var job = getJob(jobId);
+            if (job != null && job.getStatus() == RankingHarvestJobStatus.OPEN && job.getTarget() == target
+                    && job.getReferenceYear() == referenceYear && job.getOptions().equals(new TreeSet<>(options))
+                    && getSources(jobId).equals(new TreeSet<>(sources))
+                    && getEntityIdentifiers(jobId).equals(new TreeSet<>(entityIds))) {
+                return job;
+            }
+        }
+        return createJob(target, referenceYear, options, sources, entityIds, owner);
+    }
+
+    /**
+     * Replies the job with the given identifier.
+     *
+     * @param jobId the identifier of the job.
+     * @return the job, or {@code null} if there is no job with the given identifier.
+     */
+    public RankingHarvestJob getJob(long jobId) {
+        return this.jobRepository.findById(Long.valueOf(jobId)).orElse(null);
+    }
+
+    /**
+     * Replies the job with the given identifier if it may be resumed for the given type of entities.
+     *
+     * @param jobId  the identifier of the job.
+     * @param target the expected type of the entities.
+     * @return the job, or {@code null} if there is no job with the given identifier, or if the job is not open
+     *     or not for the given type of entities.
+     */
+    public RankingHarvestJob getResumableJob(long jobId, RankingHarvestTarget target) {
+        if (jobId != 0) {
+            final var job = getJob(jobId);
+            if (job != null && job.getStatus() == RankingHarvestJobStatus.OPEN && job.getTarget() == target) {
+                return job;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replies all the jobs from the most recent to the oldest.
+     *
+     * @return the jobs.
+     */
+    public List<RankingHarvestJob> getAllJobs() {
+        return this.jobRepository.findAllByOrderByCreationDateDesc();
+    }
+
+    /**
+     * Replies the jobs that are neither applied nor cancelled for the given type of entities,
+     * from the most recent to the oldest.
+     *
+     * @param target the type of the entities.
+     * @return the jobs.
+     */
+    public List<RankingHarvestJob> getOpenJobs(RankingHarvestTarget target) {
+        return this.jobRepository.findAllByTargetAndStatusOrderByCreationDateDesc(target, RankingHarvestJobStatus.OPEN);
+    }
+
+    /**
+     * Replies the identifiers of the entities that are harvested by the given job.
+     *
+     * @param jobId the identifier of the job.
+     * @return the identifiers of the entities.
+     */
+    public Set<Long> getEntityIdentifiers(long jobId) {
+        return this.checkpointRepository.findEntityIds(jobId);
+    }
+
+    /**
+     * Replies the names of the sources that are harvested by the given job.
+     *
+     * @param jobId the identifier of the job.
+     * @return the names of the sources.
+     */
+    public Set<String> getSources(long jobId) {
+        return this.checkpointRepository.findSources(jobId);
+    }
+
+    /**
+     * Replies the number of checkpoints per status for the given job.
+     *
+     * @param jobId the identifier of the job.
+     * @return the statistics.
+     */
+    public RankingHarvestStatistics getStatistics(long jobId) {
+        return RankingHarvestStatistics.of(this.checkpointRepository.countByStatus(jobId));
+    }
+
+    /**
+     * Replies the number of checkpoints per status for the given job and source.
+     *
+     * @param jobId  the identifier of the job.
+     * @param source the name of the source.
+     * @return the statistics.
+     */
+    public RankingHarvestStatistics getStatistics(long jobId, String source) {
+        return RankingHarvestStatistics.of(this.checkpointRepository.countByStatus(jobId, source));
+    }
+
+    /**
+     * Replies if the given job is currently harvested by a background thread.
+     *
+     * @param jobId the identifier of the job.
+     * @return {@code true} if the job is running.
+     */
+    public boolean isRunning(long jobId) {
+        return this.runs.keySet().stream().anyMatch(it -> it.jobId() == jobId);
+    }
+
+    /**
+     * Harvest, in a background thread, the entities of the given job that are pending or for which the previous
+     * harvesting has failed. Each checkpoint is saved as soon as its entity is harvested. If the job is already
+     * harvested for the given source, the future of the running harvesting is replied.
+     * The caller is in charge of synchronizing itself with the user interface when the future is completed.
+     *
+     * @param jobId     the identifier of the job.
+     * @param source    the name of the source.
+     * @param harvester the harvester of the rankings from the source.
+     * @param logger    the logger to be used.
+     * @param progress  the progression monitor.
+     * @return the future statistics of the job for the given source, when the harvesting is terminated.
+     */
+    public CompletableFuture<RankingHarvestStatistics> harvest(long jobId, String source, RankingHarvester harvester,
+                                                               Logger logger, Progression progress) {
+        final var key = new RunKey(jobId, source);
+        final var future = new CompletableFuture<RankingHarvestStatistics>();
+        final var previous = this.runs.putIfAbsent(key, future);
+        if (previous != null) {
+            return previous;
+        }
+        try {
+            getExecutor().execute(() -> {
+                try {
+                    runHarvest(jobId, source, harvester, logger, progress == null ? new DefaultProgression() : progress);
+                    future.complete(getStatistics(jobId, source));
+                } catch (Throwable ex) {
+                    logger.error(ex.getLocalizedMessage(), ex);
+                    future.completeExceptionally(ex);
+                } finally {
+                    this.runs.remove(key, future);
+                }
+            });
+        } catch (Throwable ex) {
+            this.runs.remove(key, future);
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    private void runHarvest(long jobId, String source, RankingHarvester harvester, Logger logger, Progression progress) throws Exception {
+        final var job = getJob(jobId);
+        if (job == null || job.getStatus() != RankingHarvestJobStatus.OPEN) {
+            throw new IllegalStateException("Ranking harvest job is not open: " + jobId); //$NON-NLS-1$
+        }
+        final var checkpoints = this.checkpointRepository.findAllByJobIdAndSourceAndStatusIn(jobId, source, HARVESTABLE_STATUS);
+        progress.setProperties(0, 0, checkpoints.size() + 1, false);
+        if (!checkpoints.isEmpty()) {
+            final var entityIds = checkpoints.stream().map(it -> Long.valueOf(it.getEntityId())).toList();
+            RankingHarvester.Session session;
+            try {
+                session = harvester.open(entityIds, logger, progress.subTask(1));
+            } catch (Throwable ex) {
+                logger.error("Cannot start the harvesting of the rankings from " + source + ": " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$ //$NON-NLS-2$
+                final var now = LocalDateTime.now();
+                for (final var checkpoint : checkpoints) {
+                    updateCheckpoint(checkpoint, RankingHarvestCheckpointStatus.FAILED, null, ex, now);
+                }
+                this.checkpointRepository.saveAll(checkpoints);
+                touchJob(jobId);
+                progress.end();
+                return;
+            }
+            progress.ensureNoSubTask();
+            final var mapper = JsonUtils.createMapper();
+            for (final var checkpoint : checkpoints) {
+                if (Thread.currentThread().isInterrupted() || !isOpen(jobId)) {
+                    // The job was cancelled, applied or removed by another thread; the remaining entities stay pending
+                    break;
+                }
+                try {
+                    final var value = session.harvest(checkpoint.getEntityId(), progress.subTask(1));
+                    if (value == null) {
+                        updateCheckpoint(checkpoint, RankingHarvestCheckpointStatus.SKIPPED, null, null, LocalDateTime.now());
+                    } else {
+                        updateCheckpoint(checkpoint, RankingHarvestCheckpointStatus.SUCCEEDED, mapper.writeValueAsString(value), null, LocalDateTime.now());
+                    }
+                } catch (Throwable ex) {
+                    logger.warn("Cannot harvest the rankings from " + source + " for the entity " //$NON-NLS-1$ //$NON-NLS-2$
+                            + checkpoint.getEntityId() + ": " + ex.getLocalizedMessage()); //$NON-NLS-1$
+                    updateCheckpoint(checkpoint, RankingHarvestCheckpointStatus.FAILED, null, ex, LocalDateTime.now());
+                }
+                progress.ensureNoSubTask();
+                this.checkpointRepository.save(checkpoint);
+            }
+            touchJob(jobId);
+        }
+        progress.end();
+    }
+
+    private static void updateCheckpoint(RankingHarvestCheckpoint checkpoint, RankingHarvestCheckpointStatus status,
+                                         String payload, Throwable error, LocalDateTime date) {
+        checkpoint.setStatus(status);
+        checkpoint.setPayload(payload);
+        if (error == null) {
+            checkpoint.setMessage(null);
+        } else {
+            final var message = error.getLocalizedMessage();
+            checkpoint.setMessage(message == null ? error.getClass().getName() : message);
+        }
+        checkpoint.setAttempts(checkpoint.getAttempts() + 1);
+        checkpoint.setLastAttemptDate(date);
+    }
+
+    private boolean isOpen(long jobId) {
+        return this.jobRepository.findStatusById(jobId) == RankingHarvestJobStatus.OPEN;
+    }
+
+    private void touchJob(long jobId) {
+        // The job loaded at the start of the harvesting may be stale; only the date is updated in the database
+        this.jobRepository.updateLastUpdateDate(jobId, LocalDateTime.now());
+    }
+
+    /**
+     * Invoke the given consumer for each entity of the job that was harvested with success from the given source.
+     *
+     * @param <T>      the type of the harvested values.
+     * @param jobId    the identifier of the job.
+     * @param source   the name of the source.
+     * @param type     the type of the harvested values, that is used for reading the JSON payloads.
+     * @param consumer the consumer of the entity identifier and of the harvested values.
+     * @throws IOException if a JSON payload cannot be read.
+     */
+    public <T> void forEachResult(long jobId, String source, Class<T> type, BiConsumer<Long, T> consumer) throws IOException {
+        final var mapper = JsonUtils.createMapper();
+        final var checkpoints = this.checkpointRepository.findAllByJobIdAndSourceAndStatusIn(jobId, source,
+                EnumSet.of(RankingHarvestCheckpointStatus.SUCCEEDED));
+        for (final var checkpoint : checkpoints) {
+            consumer.accept(Long.valueOf(checkpoint.getEntityId()), mapper.readValue(checkpoint.getPayload(), type));
+        }
+    }
+
+    /**
+     * Mark the given job as applied, i.e., its harvested rankings were saved into the entities.
+     *
+     * @param jobId the identifier of the job.
+     */
+    public void markApplied(long jobId) {
+        changeStatus(jobId, RankingHarvestJobStatus.APPLIED);
+    }
+
+    /**
+     * Mark the given job as cancelled, i.e., it cannot be resumed.
+     *
+     * @param jobId the identifier of the job.
+     */
+    public void cancel(long jobId) {
+        changeStatus(jobId, RankingHarvestJobStatus.CANCELLED);
+    }
+
+    private void changeStatus(long jobId, RankingHarvestJobStatus status) {
+        final var job = getJob(jobId);
+        if (job != null) {
+            job.setStatus(status);
+            job.setLastUpdateDate(LocalDateTime.now());
+            this.jobRepository.save(job);
+        }
+    }
+
+    /**
+     * Remove the given job and its checkpoints.
+     *
+     * @param jobId the identifier of the job.
+     * @throws IllegalStateException if the job is currently harvested.
+     */
+    @Transactional
+    public void removeJob(long jobId) {
+        if (isRunning(jobId)) {
+            throw new IllegalStateException("Ranking harvest job is running: " + jobId); //$NON-NLS-1$
+        }
+        this.checkpointRepository.deleteAll(this.checkpointRepository.findAllByJobId(jobId));
+        this.jobRepository.deleteById(Long.valueOf(jobId));
+    }
+
+    /**
+     * Key of a running harvesting.
+     *
+     * @param jobId  the identifier of the job.
+     * @param source the name of the source.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private record RunKey(long jobId, String source) {
+        //
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.ranking;
+
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestCheckpointStatus;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Number of checkpoints per status for a job of harvesting of rankings.
+ *
+ * @param pending   the number of entities that were not yet harvested.
+ * @param succeeded the number of entities with harvested rankings.
+ * @param skipped   the number of entities that have nothing to harvest.
+ * @param failed    the number of entities for which the harvesting has failed.
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public record RankingHarvestStatistics(int pending, int succeeded, int skipped, int failed) implements Serializable {
+
+    /**
+     * Statistics with no checkpoint.
+     */
+    public static final RankingHarvestStatistics EMPTY = new RankingHarvestStatistics(0, 0, 0, 0);
+
+    /**
+     * Build the statistics from the rows that are replied by the repository of checkpoints.
+     * Each row is a pair of the status and of the count of checkpoints.
+     *
+     * @param rows the rows.
+     * @return the statistics.
+     */
+    public static RankingHarvestStatistics of(List<Object[]> rows) {
+        var pending = 0;
+        var succeeded = 0;
+        var skipped = 0;
+        var failed = 0;
+        for (final var row : rows) {
+            final var count = ((Number) row[1]).intValue();
+            switch ((RankingHarvestCheckpointStatus) row[0]) {
+                case PENDING:
+                    pending += count;
+                    break;
+                case SUCCEEDED:
+                    succeeded += count;
+                    break;
+                case SKIPPED:
+                    skipped += count;
+                    break;
+                case FAILED:
+                    failed += count;
+                    break;
+                default:
+                    throw new IllegalArgumentException();
+            }
+        }
+        return new RankingHarvestStatistics(pending, succeeded, skipped, failed);
+    }
+
+    /**
+     * Replies the total number of checkpoints.
+     *
+     * @return the total number of checkpoints.
+     */
+    public int total() {
+        return this.pending + this.succeeded + this.skipped + this.failed;
+    }
+
+    /**
+     * Replies if all the entities were harvested with success or skipped.
+     *
+     * @return {@code true} if there is no more entity to harvest.
+     */
+    public boolean isComplete() {
+        return this.pending == 0 && this.failed == 0;
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.ranking;
+
+import org.arakhne.afc.progress.Progression;
+import org.slf4j.Logger;
+
+import java.util.Collection;
+
+/**
+ * Harvester of the rankings of entities from a single external source, e.g., Web-of-Science or Scimago.
+ * The harvester is used by the {@link RankingHarvestJobService} for filling the checkpoints of a job.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@FunctionalInterface
+public interface RankingHarvester {
+
+    /**
+     * Start the harvesting of the given entities. This function is the place where the data that are shared
+     * by all the entities are loaded, e.g., the entities themselves or the bulk ranking of the source.
+     *
+     * @param entityIds the identifiers of the entities that will be harvested.
+     * @param logger    the logger to be used.
+     * @param progress  the progression monitor.
+     * @return the session for harvesting the entities one by one.
+     * @throws Exception if the harvesting cannot be started. In this case, all the entities are considered as failed.
+     */
+    Session open(Collection<Long> entityIds, Logger logger, Progression progress) throws Exception;
+
+    /**
+     * Session of harvesting of rankings.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    @FunctionalInterface
+    interface Session {
+
+        /**
+         * Harvest the rankings of a single entity.
+         *
+         * @param entityId the identifier of the entity.
+         * @param progress the progression monitor.
+         * @return the harvested values, that must be serializable in JSON, or {@code null} if the entity
+         *     has nothing to harvest from the source.
+         * @throws Exception if the rankings cannot be harvested. The entity is marked as failed and it
+         *     will be harvested again when the job is resumed.
+         */
+        Object harvest(long entityId, Progression progress) throws Exception;
+
+    }
+
+}
@@ -24,6 +24,7 @@ import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.user.User;
 import fr.utbm.ciad.labmanager.data.user.UserRepository;
+import fr.utbm.ciad.labmanager.security.UserPrincipalCache;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityDeletingContext;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityEditingContext;
 import fr.utbm.ciad.labmanager.services.AbstractService;
@@ -55,22 +56,43 @@ public class UserService extends AbstractService {
 
     private final UserRepository userRepository;
 
+    private final UserPrincipalCache principalCache;
+
     /**
      * Constructor for injector.
      * This constructor is defined for being invoked by the IOC injector.
      *
      * @param userRepository the repository for the application users.
+     * @param principalCache the cache of the resolved users, that is invalidated when a user is saved or deleted.
      * @param messages       the provider of localized messages.
      * @param constants      the accessor to the live constants.
      * @param sessionFactory the factory of JPA session.
      */
     public UserService(
             @Autowired UserRepository userRepository,
+            @Autowired UserPrincipalCache principalCache,
             @Autowired MessageSourceAccessor messages,
             @Autowired ConfigurationConstants constants,
             @Autowired SessionFactory sessionFactory) {
         super(messages, constants, sessionFactory);
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+    }
+
+    /**
+     * Forget the cached security information of the given user.
+     * The cache is invalidated without waiting for the notification of the change, because the role
+     * of the user or the existence of its account are security information.
+     *
+     * @param user the user.
+     */
+    private void invalidatePrincipal(User user) {
+        if (user != null && this.principalCache != null) {
+            this.principalCache.invalidateUser(user.getId());
+            if (!Strings.isNullOrEmpty(user.getLogin())) {
+                this.principalCache.invalidate(user.getLogin());
+            }
+        }
     }
 
     /**
@@ -148,6 +170,7 @@ public class UserService extends AbstractService {
                     final var user = getUserFor(person);
                     if (user != null) {
                         UserService.this.userRepository.delete(user);
+                        invalidatePrincipal(user);
                     }
                 }
                 // Delete persons
@@ -238,12 +261,14 @@ public class UserService extends AbstractService {
                 } catch (Throwable ex) {
                     //
                 }
+                invalidatePrincipal(this.user);
                 this.user = new User();
                 this.user.setPerson(this.personContext.getEntity());
                 return false;
             }
             this.user.setPerson(this.personContext.getEntity());
             this.user = UserService.this.userRepository.save(this.user);
+            invalidatePrincipal(this.user);
             return true;
         }
 
@@ -266,6 +291,7 @@ public class UserService extends AbstractService {
             } catch (Throwable ex) {
                 return false;
             }
+            invalidatePrincipal(this.user);
             this.user = new User();
             this.user.setPerson(this.personContext.getEntity());
             //
@@ -23,10 +23,18 @@ import com.google.common.base.Strings;
 import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
 
 import java.text.Normalizer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Abstract implementation of utilities for comparing strings that may be normalized.
  * A normalized string is case insensitive and accent-insensitive.
+ * <p>
+ * The comparator is usually a singleton that is shared by all the services. The similarity level
+ * that is stored into the comparator is the default one. The functions that must use another level
+ * should create a similarity session with the dedicated threshold instead of changing the level
+ * of the shared comparator.
  *
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -36,9 +44,9 @@ import java.text.Normalizer;
  */
 public abstract class AbstractNormalizableStringComparator {
 
-    private double similaritylevel;
+    private volatile double similaritylevel;
 
-    private NormalizedStringSimilarity similarityComputer;
+    private volatile NormalizedStringSimilarity similarityComputer;
 
     /**
      * Replies the similarity level to consider for assuming that two names are similar.
@@ -52,28 +60,47 @@ public abstract class AbstractNormalizableStringComparator {
 
     /**
      * Change the similarity level to consider for assuming that two names are similar.
+     * This function changes the default level of the comparator. For using a specific level
+     * during a computation, a similarity session should be used.
      *
      * @param similarityLevel the minimum level of similarity. {@code 0} means that the names are not
      *                        similar, and {@code 1} means that they are totally equal.
      */
     public void setSimilarityLevel(double similarityLevel) {
+        this.similaritylevel = clampSimilarityLevel(similarityLevel);
+    }
+
+    /**
+     * Replies the given similarity level inside the range {@code [0; 1]}.
+     *
+     * @param similarityLevel the level to clamp.
+     * @return the clamped level.
+     */
+    protected static double clampSimilarityLevel(double similarityLevel) {
         if (similarityLevel < 0.0) {
-            this.similaritylevel = 0.0;
-        } else {
-            this.similaritylevel = Math.min(similarityLevel, 1.0);
+            return 0.0;
         }
+        return Math.min(similarityLevel, 1.0);
     }
 
     /**
      * Replies the internal similarity computer.
+     * The string similarity computers are stateless; the replied instance may be shared by several threads.
      *
      * @return the internal similarity computer.
      */
     public NormalizedStringSimilarity getStringSimilarityComputer() {
-        if (this.similarityComputer == null) {
-            this.similarityComputer = createStringSimilarityComputer();
+        var computer = this.similarityComputer;
+        if (computer == null) {
+            synchronized (this) {
+                computer = this.similarityComputer;
+                if (computer == null) {
+                    computer = createStringSimilarityComputer();
+                    this.similarityComputer = computer;
+                }
+            }
         }
-        return this.similarityComputer;
+        return computer;
     }
 
     /**
@@ -118,4 +145,73 @@ public abstract class AbstractNormalizableStringComparator {
         return nsource;
     }
 
+    /**
+     * Abstract implementation of a similarity session.
+     * A session is immutable regarding its similarity level, and it caches the normalized strings
+     * that are computed during its life. The cache is thread-safe; therefore a session may be used
+     * by several threads at the same time. A session is supposed to be created for a single
+     * computation, e.g., the search for duplicates, and then forgotten.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    protected abstract class AbstractSimilaritySession {
+
+        private final double similarityLevel;
+
+        private final Map<String, String> normalizedStrings = new ConcurrentHashMap<>();
+
+        /**
+         * Constructor.
+         *
+         * @param similarityLevel the minimum level of similarity to be used by this session.
+         */
+        protected AbstractSimilaritySession(double similarityLevel) {
+            this.similarityLevel = clampSimilarityLevel(similarityLevel);
+        }
+
+        /**
+         * Replies the similarity level that is used by this session.
+         *
+         * @return the minimum level of similarity. {@code 0} means that the strings are not
+         * similar, and {@code 1} means that they are totally equal.
+         */
+        public double getSimilarityLevel() {
+            return this.similarityLevel;
+        }
+
+        /**
+         * Replies the normalized string for the given source string. The result is cached by the session.
+         *
+         * @param source the source string to normalize
+         * @return the normalize string.
+         * @see AbstractNormalizableStringComparator#normalizeString(String)
+         */
+        protected String normalize(String source) {
+            return cached(this.normalizedStrings, source, AbstractNormalizableStringComparator.this::normalizeString);
+        }
+
+        /**
+         * Replies the value associated to the given key into the given cache, or compute it if it was not
+         * computed before. The {@code null} key is never cached.
+         *
+         * @param <K>      the type of the keys.
+         * @param <V>      the type of the values.
+         * @param cache    the cache.
+         * @param key      the key.
+         * @param provider the function that computes the value associated to the key.
+         * @return the value.
+         */
+        protected <K, V> V cached(Map<K, V> cache, K key, Function<K, V> provider) {
+            if (key == null) {
+                return provider.apply(null);
+            }
+            return cache.computeIfAbsent(key, provider);
+        }
+
+    }
+
 }
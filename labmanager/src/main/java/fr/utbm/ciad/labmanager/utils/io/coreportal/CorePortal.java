@@ -56,6 +56,22 @@ public interface CorePortal {
      */
     CorePortalConference getConferenceRanking(int year, String identifier, Progression progress) throws Exception;
 
+    /**
+     * Replies the full CORE ranking export that is applicable for the given year, i.e., the export of the most recent
+     * edition of the CORE rankings that is not after the given year.
+     * When no export is available, {@link #getConferenceRanking(int, String, Progression)} must be used for
+     * each conference.
+     *
+     * @param year     the year for which the rankings should be retrieved.
+     * @param progress progress monitor.
+     * @return the rankings of all the conferences, or {@code null} if no export is available.
+     * @throws Exception if rankings cannot be read.
+     * @since 4.0
+     */
+    default CoreRankingExport getConferenceRankings(int year, Progression progress) throws Exception {
+        return null;
+    }
+
     /**
      * Accessor to the online Core Portal.
      *
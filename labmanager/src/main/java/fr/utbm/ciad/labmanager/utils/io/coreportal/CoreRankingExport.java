@@ -0,0 +1,241 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io.coreportal;
+
+import com.google.common.base.Strings;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReaderBuilder;
+import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.arakhne.afc.progress.Progression;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Full CORE ranking export for an edition of the CORE rankings.
+ * The export is the CSV file that could be downloaded from the CORE portal. Each row contains, in this order,
+ * the CORE identifier, the title, the acronym, the source (e.g. {@code CORE2023}) and the rank of a conference.
+ * The entries are indexed by CORE identifier, by normalized acronym and by normalized title.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see "http://portal.core.edu.au/conf-ranks/"
+ * @since 4.0
+ */
+public final class CoreRankingExport implements Serializable {
+
+    private static final long serialVersionUID = -3005962468264180925L;
+
+    private static final int ID_COLUMN = 0;
+
+    private static final int TITLE_COLUMN = 1;
+
+    private static final int ACRONYM_COLUMN = 2;
+
+    private static final int SOURCE_COLUMN = 3;
+
+    private static final int RANK_COLUMN = 4;
+
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[0-9]+"); //$NON-NLS-1$
+
+    private static final Pattern NON_ALPHANUM_PATTERN = Pattern.compile("[^\\p{Alnum}]+"); //$NON-NLS-1$
+
+    private static final Pattern DIACRITIC_PATTERN = Pattern.compile("\\p{M}+"); //$NON-NLS-1$
+
+    private final String edition;
+
+    private final Map<String, CoreRankingEntry> byIdentifier = new HashMap<>();
+
+    private final Map<String, CoreRankingEntry> byAcronym = new HashMap<>();
+
+    private final Map<String, CoreRankingEntry> byTitle = new HashMap<>();
+
+    private CoreRankingExport(String edition) {
+        this.edition = edition;
+    }
+
+    /**
+     * Normalize the given acronym or title in order to be used as a key of the index.
+     * The normalization removes the diacritics, the letter case and the non-alphanumeric characters.
+     *
+     * @param value the value to normalize.
+     * @return the normalized value, or {@code null} if the value is empty.
+     */
+    public static String normalize(String value) {
+        if (Strings.isNullOrEmpty(value)) {
+            return null;
+        }
+        var normalized = Normalizer.normalize(value, Normalizer.Form.NFD);
+        normalized = DIACRITIC_PATTERN.matcher(normalized).replaceAll(""); //$NON-NLS-1$
+        normalized = NON_ALPHANUM_PATTERN.matcher(normalized).replaceAll(""); //$NON-NLS-1$
+        normalized = normalized.toLowerCase();
+        return Strings.emptyToNull(normalized);
+    }
+
+    private static void index(Map<String, CoreRankingEntry> index, Set<String> ambiguous, String key, CoreRankingEntry entry) {
+        if (key != null && !ambiguous.contains(key)) {
+            final var previous = index.putIfAbsent(key, entry);
+            if (previous != null && previous != entry) {
+                // Several conferences have the same key; they cannot be distinguished
+                index.remove(key);
+                ambiguous.add(key);
+            }
+        }
+    }
+
+    /**
+     * Read the CORE ranking export from the given CSV stream.
+     *
+     * @param edition  the name of the edition of the CORE rankings, e.g. {@code CORE2023}, or {@code null} for accepting all the rows.
+     * @param csv      the CSV stream.
+     * @param progress the progression monitor, or {@code null}.
+     * @return the export.
+     * @throws IOException if the stream cannot be read.
+     */
+    public static CoreRankingExport read(String edition, InputStream csv, Progression progress) throws IOException {
+        final var progress0 = progress == null ? new DefaultProgression() : progress;
+        progress0.setProperties(0, 0, 100, false);
+        final var export = new CoreRankingExport(edition);
+        final var ambiguousAcronyms = new HashSet<String>();
+        final var ambiguousTitles = new HashSet<String>();
+        final var parserBuilder = new CSVParserBuilder();
+        parserBuilder.withSeparator(',');
+        parserBuilder.withIgnoreLeadingWhiteSpace(true);
+        parserBuilder.withQuoteChar('"');
+        parserBuilder.withStrictQuotes(false);
+        try (final var reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+             final var csvReader = new CSVReaderBuilder(reader).withCSVParser(parserBuilder.build()).build()) {
+            String[] row;
+            while ((row = csvReader.readNext()) != null) {
+                if (row.length > RANK_COLUMN) {
+                    final var identifier = Strings.emptyToNull(row[ID_COLUMN].trim());
+                    final var source = row[SOURCE_COLUMN].trim();
+                    // Ranks that are not supported, e.g. "Unranked" or "National", are considered as not ranked
+                    final var ranking = CoreRanking.normalize(CoreRanking.valueOfCaseInsensitive(row[RANK_COLUMN].trim()));
+                    // The header row and the rows of the other editions are ignored
+                    if (identifier != null && IDENTIFIER_PATTERN.matcher(identifier).matches()
+                            && (edition == null || edition.equalsIgnoreCase(source))) {
+                        final var entry = new CoreRankingEntry(identifier, row[TITLE_COLUMN].trim(), row[ACRONYM_COLUMN].trim(), source, ranking);
+                        export.byIdentifier.put(identifier, entry);
+                        index(export.byAcronym, ambiguousAcronyms, normalize(entry.acronym()), entry);
+                        index(export.byTitle, ambiguousTitles, normalize(entry.title()), entry);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IOException(ex);
+        }
+        progress0.end();
+        return export;
+    }
+
+    /**
+     * Replies the name of the edition of the CORE rankings.
+     *
+     * @return the edition name, or {@code null} if unknown.
+     */
+    public String getEdition() {
+        return this.edition;
+    }
+
+    /**
+     * Replies the number of conferences in the export.
+     *
+     * @return the number of conferences.
+     */
+    public int size() {
+        return this.byIdentifier.size();
+    }
+
+    /**
+     * Replies all the entries of the export.
+     *
+     * @return the entries.
+     */
+    public Collection<CoreRankingEntry> getEntries() {
+        return Collections.unmodifiableCollection(this.byIdentifier.values());
+    }
+
+    /**
+     * Find the entry for a conference. When the CORE identifier of the conference is known, only this identifier is
+     * used, because the acronym or the title could match another conference of the export. Otherwise, the normalized
+     * acronym and then the normalized title are used. The acronyms and titles that are shared by several conferences
+     * of the export are never matched.
+     *
+     * @param coreId  the CORE identifier of the conference, or {@code null}.
+     * @param acronym the acronym of the conference, or {@code null}.
+     * @param title   the title of the conference, or {@code null}.
+     * @return the entry.
+     */
+    public Optional<CoreRankingEntry> find(String coreId, String acronym, String title) {
+        if (coreId != null && !coreId.isBlank()) {
+            return Optional.ofNullable(this.byIdentifier.get(coreId.trim()));
+        }
+        final var normalizedAcronym = normalize(acronym);
+        if (normalizedAcronym != null) {
+            final var entry = this.byAcronym.get(normalizedAcronym);
+            if (entry != null) {
+                return Optional.of(entry);
+            }
+        }
+        final var normalizedTitle = normalize(title);
+        if (normalizedTitle != null) {
+            return Optional.ofNullable(this.byTitle.get(normalizedTitle));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Entry of the CORE ranking export.
+     *
+     * @param identifier the CORE identifier of the conference.
+     * @param title      the title of the conference.
+     * @param acronym    the acronym of the conference.
+     * @param source     the edition of the CORE rankings.
+     * @param ranking    the rank of the conference.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public record CoreRankingEntry(String identifier, String title, String acronym, String source, CoreRanking ranking) implements Serializable {
+        //
+    }
+
+}
@@ -24,12 +24,16 @@ import com.microsoft.playwright.ElementHandle;
 import fr.utbm.ciad.labmanager.utils.io.AbstractWebScraper;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import org.arakhne.afc.progress.Progression;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import org.springframework.web.util.UriBuilderFactory;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.net.URL;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
@@ -58,6 +62,12 @@ public class OnlineCorePortal extends AbstractWebScraper implements CorePortal {
 
     private static final Pattern RANK_PATTERN = Pattern.compile("^Rank:.*?([^\\s]+)$", Pattern.CASE_INSENSITIVE); //$NON-NLS-1$
 
+    private static final Pattern EXPORT_FILENAME_PATTERN = Pattern.compile("^(CORE([0-9]+))\\.csv$", Pattern.CASE_INSENSITIVE); //$NON-NLS-1$
+
+    private volatile Map.Entry<String, CoreRankingExport> exportCache;
+
+    private File exportDirectory;
+
     /**
      * Factory of URI builder.
      */
@@ -99,6 +109,75 @@ public class OnlineCorePortal extends AbstractWebScraper implements CorePortal {
         return false;
     }
 
+    /**
+     * Change the directory that contains the CORE ranking exports.
+     * The exports are the CSV files that are downloaded from the CORE portal, and named
+     * {@code CORE<edition>.csv}, e.g. {@code CORE2023.csv}.
+     *
+     * @param directory the directory, or {@code null} or empty if no export is available.
+     * @since 4.0
+     */
+    @Value("${labmanager.core-portal.export-directory:}")
+    public void setExportDirectory(String directory) {
+        this.exportDirectory = Strings.isNullOrEmpty(directory) ? null : new File(directory);
+    }
+
+    /**
+     * Replies the export file that is applicable for the given year.
+     *
+     * @param year the year.
+     * @return the file and its edition, or {@code null} if none.
+     */
+    private Map.Entry<File, String> findExportFile(int year) {
+        final var directory = this.exportDirectory;
+        if (directory == null) {
+            return null;
+        }
+        final var files = directory.listFiles();
+        if (files == null) {
+            return null;
+        }
+        File bestFile = null;
+        String bestEdition = null;
+        var bestYear = Integer.MIN_VALUE;
+        for (final var file : files) {
+            final var matcher = EXPORT_FILENAME_PATTERN.matcher(file.getName());
+            if (file.isFile() && matcher.matches()) {
+                final var editionYear = Integer.parseInt(matcher.group(2));
+                if (editionYear <= year && editionYear > bestYear) {
+                    bestFile = file;
+                    bestEdition = matcher.group(1);
+                    bestYear = editionYear;
+                }
+            }
+        }
+        return bestFile == null ? null : Map.entry(bestFile, bestEdition);
+    }
+
+    @Override
+    public CoreRankingExport getConferenceRankings(int year, Progression progress) throws Exception {
+        final var prog = ensureProgress(progress);
+        final var file = findExportFile(year);
+        if (file == null) {
+            prog.end();
+            return null;
+        }
+        // The modification date is part of the key for reading again an export file that was replaced.
+        // Only the lastly read export is kept in memory
+        final var cacheKey = file.getKey().getAbsolutePath() + "@" + file.getKey().lastModified(); //$NON-NLS-1$
+        final var cached = this.exportCache;
+        if (cached != null && cached.getKey().equals(cacheKey)) {
+            prog.end();
+            return cached.getValue();
+        }
+        final CoreRankingExport export;
+        try (final var stream = new FileInputStream(file.getKey())) {
+            export = CoreRankingExport.read(file.getValue(), stream, prog);
+        }
+        this.exportCache = Map.entry(cacheKey, export);
+        return export;
+    }
+
     @Override
     public URL getConferenceUrl(String conferenceId) {
         if (!Strings.isNullOrEmpty(conferenceId)) {
@@ -0,0 +1,347 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.utils.io.filemanager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store of files that is addressed by the content of the files. Each content is stored once in the store,
+ * under a name that is the SHA-256 hash of the content. The files that are associated to the entities, e.g.,
+ * {@code PDF1234.pdf}, are hard links to the stored content. In this way, the same document that is attached to
+ * several entities is stored once, and renaming or deleting a file of an entity changes only the directory entries.
+ *
+ * <p>The reference count of a stored content is the number of links to it, minus the link of the store itself.
+ * It is maintained by the file system, and it is therefore always consistent with the files that are really
+ * present in the upload folder. A stored content without reference is an orphan. The orphans are deleted
+ * by a sweep that is run in a background thread, and not during the saving of the entities.
+ *
+ * <p>If the file system does not support hard links, the files are directly written at their final
+ * locations and the store is not used.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public class ContentAddressedFileStore implements Serializable, AutoCloseable {
+
+    private static final long serialVersionUID = 3047652012375609914L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentAddressedFileStore.class);
+
+    private static final String HASH_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+    private static final String LINK_COUNT_ATTRIBUTE = "unix:nlink"; //$NON-NLS-1$
+
+    private static final String TEMPORARY_FILE_PREFIX = ".upload-"; //$NON-NLS-1$
+
+    private static final String DERIVED_FILE_SEPARATOR = "."; //$NON-NLS-1$
+
+    private static final Duration DEFAULT_GRACE_PERIOD = Duration.ofMinutes(10);
+
+    private final File root;
+
+    private final boolean enabled;
+
+    private transient ScheduledExecutorService executor;
+
+    /**
+     * Constructor.
+     *
+     * @param root the absolute path to the root folder of the store. It must be on the same file system as the
+     *             files that are linked to the stored contents.
+     */
+    public ContentAddressedFileStore(File root) {
+        this(root, FileSystems.getDefault().supportedFileAttributeViews().contains("unix")); //$NON-NLS-1$
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param root    the absolute path to the root folder of the store. It must be on the same file system as the
+     *                files that are linked to the stored contents.
+     * @param enabled indicates if the store is used. If it is {@code false}, the files are directly written at their locations.
+     */
+    public ContentAddressedFileStore(File root, boolean enabled) {
+        this.root = root;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Replies the root folder of the store.
+     *
+     * @return the absolute path to the root folder.
+     */
+    public File getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Replies if the store is used for deduplicating the files.
+     *
+     * @return {@code true} if the files are stored once and linked.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Save the given content into the given file. If the same content is already stored, the file becomes
+     * a link to the stored content and no copy of the content is done.
+     *
+     * @param content the content to save.
+     * @param target  the absolute path to the file to create or replace.
+     * @return the path to the stored content, or {@code null} if the store is disabled.
+     * @throws IOException if the file cannot be saved.
+     */
+    public Path save(InputStream content, File target) throws IOException {
+        final var targetPath = target.toPath();
+        Files.createDirectories(targetPath.getParent());
+        if (!this.enabled) {
+            Files.copy(content, targetPath, StandardCopyOption.REPLACE_EXISTING);
+            return null;
+        }
+        final var rootPath = this.root.toPath();
+        Files.createDirectories(rootPath);
+        final var temporaryFile = Files.createTempFile(rootPath, TEMPORARY_FILE_PREFIX, null);
+        try {
+            final var digest = newDigest();
+            try (final var digestStream = new DigestInputStream(content, digest)) {
+                Files.copy(digestStream, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            final var blob = getContentPath(HexFormat.of().formatHex(digest.digest()));
+            synchronized (this) {
+                if (Files.exists(blob)) {
+                    LOGGER.debug("Reusing stored content: " + blob); //$NON-NLS-1$
+                } else {
+                    Files.createDirectories(blob.getParent());
+                    Files.move(temporaryFile, blob, StandardCopyOption.ATOMIC_MOVE);
+                }
+                link(blob, targetPath);
+            }
+            return blob;
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Save a file that is derived from a stored content, e.g., its thumbnail, into the given file.
+     * The derived file is stored next to the stored content, and the given file becomes a link to it.
+     *
+     * @param content        the stored content from which the derived file is computed.
+     * @param suffix         the suffix that identifies the type of derived file, e.g., {@code jpg}.
+     * @param derivedContent the content of the derived file.
+     * @param target         the absolute path to the file to create or replace.
+     * @throws IOException if the file cannot be saved.
+     */
+    public void saveDerivedFile(Path content, String suffix, InputStream derivedContent, File target) throws IOException {
+        final var derived = getDerivedPath(content, suffix);
+        final var temporaryFile = Files.createTempFile(derived.getParent(), TEMPORARY_FILE_PREFIX, null);
+        try {
+            Files.copy(derivedContent, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+            synchronized (this) {
+                Files.move(temporaryFile, derived, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                link(derived, target.toPath());
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Link the given file to the file that was previously derived from a stored content, if it exists.
+     *
+     * @param content the stored content from which the derived file was computed.
+     * @param suffix  the suffix that identifies the type of derived file, e.g., {@code jpg}.
+     * @param target  the absolute path to the file to create or replace.
+     * @return {@code true} if the derived file exists and the target file is linked to it; {@code false} if
+     *     the derived file must be computed.
+     * @throws IOException if the file cannot be linked.
+     */
+    public synchronized boolean linkDerivedFile(Path content, String suffix, File target) throws IOException {
+        if (content != null) {
+            final var derived = getDerivedPath(content, suffix);
+            if (Files.exists(derived)) {
+                Files.createDirectories(target.toPath().getParent());
+                link(derived, target.toPath());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replies the stored content that has the same content as the given file.
+     *
+     * @param file the absolute path to the file.
+     * @return the path to the stored content, or {@code null} if the content of the file is not stored.
+     * @throws IOException if the file cannot be read.
+     */
+    public Path findContent(File file) throws IOException {
+        if (this.enabled && file.isFile()) {
+            final var digest = newDigest();
+            try (final var digestStream = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+                digestStream.transferTo(OutputStream.nullOutputStream());
+            }
+            final var blob = getContentPath(HexFormat.of().formatHex(digest.digest()));
+            if (Files.exists(blob)) {
+                return blob;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replies the number of files that are referencing the given stored file.
+     *
+     * @param storedFile the path to the stored content or derived file.
+     * @return the number of references, or {@code -1} if the number cannot be determined.
+     */
+    public static int getReferenceCount(Path storedFile) {
+        try {
+            final var count = Files.getAttribute(storedFile, LINK_COUNT_ATTRIBUTE);
+            if (count instanceof Number number) {
+                return number.intValue() - 1;
+            }
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException ex) {
+            //
+        }
+        return -1;
+    }
+
+    /**
+     * Delete the stored files that are not referenced anymore, and the temporary files that were not
+     * removed after a failure.
+     *
+     * @param gracePeriod the minimum age of a file for being deleted.
+     * @return the number of deleted files.
+     */
+    public int sweepOrphans(Duration gracePeriod) {
+        final var rootPath = this.root.toPath();
+        if (!this.enabled || !Files.isDirectory(rootPath)) {
+            return 0;
+        }
+        final var limit = System.currentTimeMillis() - (gracePeriod == null ? 0 : gracePeriod.toMillis());
+        final var candidates = new ArrayList<Path>();
+        try (final var files = Files.walk(rootPath)) {
+            files.filter(Files::isRegularFile).forEach(candidates::add);
+        } catch (IOException ex) {
+            LOGGER.warn("Cannot list the stored files: " + ex.getLocalizedMessage()); //$NON-NLS-1$
+            return 0;
+        }
+        var deleted = 0;
+        for (final var file : candidates) {
+            try {
+                if (Files.getLastModifiedTime(file).toMillis() <= limit) {
+                    synchronized (this) {
+                        if (file.getFileName().toString().startsWith(TEMPORARY_FILE_PREFIX) || getReferenceCount(file) == 0) {
+                            Files.deleteIfExists(file);
+                            ++deleted;
+                        }
+                    }
+                }
+            } catch (IOException ex) {
+                LOGGER.warn("Cannot delete the stored file " + file + ": " + ex.getLocalizedMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+        if (deleted > 0) {
+            LOGGER.info("Deleted " + deleted + " unreferenced stored files"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return deleted;
+    }
+
+    /**
+     * Start the periodic deletion of the orphan files in a background thread.
+     *
+     * @param interval the delay between two sweeps.
+     */
+    public synchronized void start(Duration interval) {
+        if (this.executor == null && this.enabled && interval != null && !interval.isZero() && !interval.isNegative()) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final var thread = new Thread(runnable, "file-store-sweeper"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+            final var delay = interval.toMillis();
+            this.executor.scheduleWithFixedDelay(() -> sweepOrphans(DEFAULT_GRACE_PERIOD), delay, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Stop the periodic deletion of the orphan files.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    private Path getContentPath(String hash) {
+        return this.root.toPath().resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static Path getDerivedPath(Path content, String suffix) {
+        return content.resolveSibling(content.getFileName().toString() + DERIVED_FILE_SEPARATOR + suffix);
+    }
+
+    private static void link(Path storedFile, Path target) throws IOException {
+        // Only the directory entry is removed; the other files that are linked to the same content are not changed
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, storedFile);
+        } catch (IOException | UnsupportedOperationException ex) {
+            Files.copy(storedFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest newDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+}
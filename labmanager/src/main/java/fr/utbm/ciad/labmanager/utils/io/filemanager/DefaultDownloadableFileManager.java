@@ -27,7 +27,9 @@ import com.google.common.base.Strings;
 import org.arakhne.afc.sizediterator.SizedIterator;
 import org.arakhne.afc.vmutil.FileSystem;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure3;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
@@ -38,7 +40,7 @@ import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -106,17 +108,40 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 
     private static final String SAVED_DATA_FOLDER_NAME = "Saves"; //$NON-NLS-1$
 
+    private static final String FILE_STORE_FOLDER_NAME = ".filestore"; //$NON-NLS-1$
+
+    private static final String THUMBNAIL_SUFFIX = "jpg"; //$NON-NLS-1$
+
     private final File temporaryFolder;
 
+    private final ContentAddressedFileStore fileStore;
+
     /**
      * Constructor.
      *
      * @param uploadFolder the path of the upload folder. It is defined by the property {@code labmanager.file.upload-directory}.
      * @param tempFolder   the path of the temporary folder. It is defined by the property {@code labmanager.file.temp-directory}.
      */
+    public DefaultDownloadableFileManager(String uploadFolder, String tempFolder) {
+        this(uploadFolder, tempFolder, 0);
+    }
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param uploadFolder  the path of the upload folder. It is defined by the property {@code labmanager.file.upload-directory}.
+     * @param tempFolder    the path of the temporary folder. It is defined by the property {@code labmanager.file.temp-directory}.
+     * @param sweepInterval the delay in milliseconds between two deletions of the stored files that are not referenced anymore.
+     *                      It is defined by the property {@code labmanager.file.store.sweep-interval}. If it is zero, the
+     *                      unreferenced files are not deleted.
+     * @since 4.0
+     */
+    @Autowired
     public DefaultDownloadableFileManager(
             @Value("${labmanager.file.upload-directory}") String uploadFolder,
-            @Value("${labmanager.file.temp-directory}") String tempFolder) {
+            @Value("${labmanager.file.temp-directory}") String tempFolder,
+            @Value("${labmanager.file.store.sweep-interval:3600000}") long sweepInterval) {
         super(uploadFolder);
         final var f1 = Strings.emptyToNull(tempFolder);
         if (f1 == null) {
@@ -124,6 +149,28 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
         } else {
             this.temporaryFolder = FileSystem.convertStringToFile(f1).getAbsoluteFile();
         }
+        this.fileStore = new ContentAddressedFileStore(normalizeForServerSide(new File(FILE_STORE_FOLDER_NAME)));
+        this.fileStore.start(Duration.ofMillis(sweepInterval));
+    }
+
+    /**
+     * Stop the background deletion of the stored files that are not referenced anymore.
+     *
+     * @since 4.0
+     */
+    @PreDestroy
+    public void stopFileStore() {
+        this.fileStore.close();
+    }
+
+    /**
+     * Replies the store in which the contents of the uploaded files are saved once.
+     *
+     * @return the store.
+     * @since 4.0
+     */
+    public ContentAddressedFileStore getFileStore() {
+        return this.fileStore;
     }
 
     private static void convertPptToJpeg(File pptFile, OutputStream jpgStream) throws IOException {
@@ -523,20 +570,12 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
         if (inputFilenameAbs.canRead()) {
             final var pictureFilenameAbs = normalizeForServerSide(pictureFilename);
             if (!pictureFilenameAbs.exists()) {
-                final var jpgUploadDir = pictureFilenameAbs.getParentFile();
-                if (jpgUploadDir != null) {
-                    jpgUploadDir.mkdirs();
-                }
                 final var isPdf = FileSystem.hasExtension(inputFilename, PDF_FILE_EXTENSION);
-                try (final var outputStream = new FileOutputStream(pictureFilenameAbs)) {
-                    if (isPdf) {
-                        convertPdfToJpeg(inputFilenameAbs, outputStream);
-                    } else {
-                        convertPptToJpeg(inputFilenameAbs, outputStream);
-                    }
+                try {
+                    saveThumbnail(inputFilenameAbs, this.fileStore.findContent(inputFilenameAbs), pictureFilenameAbs, isPdf, logger);
                 } catch (IOException ioe) {
                     logger.error("Invalid associated picture: " + ioe.getLocalizedMessage(), ioe); //$NON-NLS-1$
-                    throw new IOException("Could not save picture file: " + pictureFilenameAbs.getName(), ioe); //$NON-NLS-1$
+                    throw ioe;
                 }
             }
         }
@@ -547,57 +586,77 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
         return FileSystem.replaceExtension(file, JPEG_FILE_EXTENSION);
     }
 
-    private File saveMultipart(File filename, MultipartFile source, String errorMessage, Logger logger) throws IOException {
-        final var normalizedFilename = normalizeForServerSide(filename);
-        final var uploadDir = normalizedFilename.getParentFile();
-        uploadDir.mkdirs();
+    @Override
+    public void saveFile(File file, InputStream content) throws IOException {
+        this.fileStore.save(content, file);
+    }
+
+    private Path saveMultipart(File normalizedFilename, MultipartFile source, String errorMessage, Logger logger) throws IOException {
         try (final var inputStream = source.getInputStream()) {
-            final Path filePath = normalizedFilename.toPath();
-            Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
-            logger.info("Creating file: " + filePath); //$NON-NLS-1$
+            final var content = this.fileStore.save(inputStream, normalizedFilename);
+            logger.info("Creating file: " + normalizedFilename); //$NON-NLS-1$
+            return content;
         } catch (IOException ioe) {
             throw new IOException(errorMessage + normalizedFilename.getName(), ioe);
         }
-        return normalizedFilename;
+    }
+
+    /**
+     * Save the thumbnail of the given file. If the thumbnail was already generated for the same content,
+     * it is linked and not generated again.
+     *
+     * @param normalizedFilename        the PDF or PowerPoint file.
+     * @param content                   the stored content of the file, or {@code null} if it is unknown.
+     * @param normalizedPictureFilename the thumbnail file to create.
+     * @param isPdf                     indicates if the file is a PDF file or a PowerPoint file.
+     * @param logger                    the logger to be used.
+     * @throws IOException if the thumbnail cannot be saved.
+     */
+    private void saveThumbnail(File normalizedFilename, Path content, File normalizedPictureFilename, boolean isPdf, Logger logger) throws IOException {
+        try {
+            if (this.fileStore.linkDerivedFile(content, THUMBNAIL_SUFFIX, normalizedPictureFilename)) {
+                logger.info("Linking file: " + normalizedPictureFilename); //$NON-NLS-1$
+                return;
+            }
+            final byte[] thumbnail;
+            try (final var outputStream = new ByteArrayOutputStream()) {
+                if (isPdf) {
+                    convertPdfToJpeg(normalizedFilename, outputStream);
+                } else {
+                    convertPptToJpeg(normalizedFilename, outputStream);
+                }
+                thumbnail = outputStream.toByteArray();
+            }
+            try (final var inputStream = new ByteArrayInputStream(thumbnail)) {
+                if (content != null) {
+                    this.fileStore.saveDerivedFile(content, THUMBNAIL_SUFFIX, inputStream, normalizedPictureFilename);
+                } else {
+                    this.fileStore.save(inputStream, normalizedPictureFilename);
+                }
+            }
+            logger.info("Creating file: " + normalizedPictureFilename); //$NON-NLS-1$
+        } catch (IOException ioe) {
+            throw new IOException("Could not save picture file: " + normalizedPictureFilename.getName(), ioe); //$NON-NLS-1$
+        }
     }
 
     @Override
     public void saveImage(File filename, MultipartFile backgroundImage, Logger logger) throws IOException {
-        saveMultipart(filename, backgroundImage, "Could not save image: ", logger); //$NON-NLS-1$
+        saveMultipart(normalizeForServerSide(filename), backgroundImage, "Could not save image: ", logger); //$NON-NLS-1$
     }
 
     @Override
     public void savePowerpointAndThumbnailFiles(File pptFilename, File pictureFilename, MultipartFile powerpointDocument, Logger logger) throws IOException {
-        final var normalizedPdfFilename = saveMultipart(pptFilename, powerpointDocument, "Could not save PowerPoint: ", logger); //$NON-NLS-1$
-        //
-        final var normalizedJpgFilename = normalizeForServerSide(pictureFilename);
-        final var jpgUploadDir = normalizedJpgFilename.getParentFile();
-        if (jpgUploadDir != null) {
-            jpgUploadDir.mkdirs();
-        }
-        try (final var outputStream = new FileOutputStream(normalizedJpgFilename)) {
-            convertPptToJpeg(normalizedPdfFilename, outputStream);
-            logger.info("Creating file: " + normalizedJpgFilename); //$NON-NLS-1$
-        } catch (IOException ioe) {
-            throw new IOException("Could not save picture file: " + normalizedJpgFilename.getName(), ioe); //$NON-NLS-1$
-        }
+        final var normalizedPptFilename = normalizeForServerSide(pptFilename);
+        final var content = saveMultipart(normalizedPptFilename, powerpointDocument, "Could not save PowerPoint: ", logger); //$NON-NLS-1$
+        saveThumbnail(normalizedPptFilename, content, normalizeForServerSide(pictureFilename), false, logger);
     }
 
     @Override
     public void savePdfAndThumbnailFiles(File pdfFilename, File pictureFilename, MultipartFile multipartPdfFile, Logger logger) throws IOException {
-        final var normalizedPdfFilename = saveMultipart(pdfFilename, multipartPdfFile, "Could not save PDF file: ", logger); //$NON-NLS-1$
-        //
-        final var normalizedJpgFilename = normalizeForServerSide(pictureFilename);
-        final var jpgUploadDir = normalizedJpgFilename.getParentFile();
-        if (jpgUploadDir != null) {
-            jpgUploadDir.mkdirs();
-        }
-        try (final var outputStream = new FileOutputStream(normalizedJpgFilename)) {
-            convertPdfToJpeg(normalizedPdfFilename, outputStream);
-            logger.info("Creating file: " + normalizedJpgFilename); //$NON-NLS-1$
-        } catch (IOException ioe) {
-            throw new IOException("Could not save picture file: " + normalizedJpgFilename.getName(), ioe); //$NON-NLS-1$
-        }
+        final var normalizedPdfFilename = normalizeForServerSide(pdfFilename);
+        final var content = saveMultipart(normalizedPdfFilename, multipartPdfFile, "Could not save PDF file: ", logger); //$NON-NLS-1$
+        saveThumbnail(normalizedPdfFilename, content, normalizeForServerSide(pictureFilename), true, logger);
     }
 
     @Override
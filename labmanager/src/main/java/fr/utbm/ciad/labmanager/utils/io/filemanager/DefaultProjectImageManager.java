@@ -19,7 +19,9 @@
 
 package fr.utbm.ciad.labmanager.utils.io.filemanager;
 
+import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.data.project.Project;
+import jakarta.annotation.PreDestroy;
 import org.arakhne.afc.vmutil.FileSystem;
 import org.arakhne.afc.vmutil.Resources;
 import org.slf4j.Logger;
@@ -29,14 +31,31 @@ import org.springframework.stereotype.Component;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Utilities for managing the project images. This implementation is dedicated to the WordPress service
  * of the lab.
  *
+ * <p>The thumbnail of a project is composed of the project logo drawn on a shared background image.
+ * The thumbnail and several smaller responsive versions of it, as well as responsive versions of the
+ * project images, are generated in background threads when the logo or the images of a project are uploaded.
+ * The shared background images are decoded once and kept in memory. The functions that reply the paths
+ * to the images never wait for the image generation.
+ *
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
  * @mavengroupid $GroupId$
@@ -49,10 +68,14 @@ public class DefaultProjectImageManager extends AbstractFileManager implements P
 
     private static final long serialVersionUID = -7695322075234865031L;
 
-    private static final String THUMBNAIL_FOLDER_NAME = "ProjectThumbnails"; //$NON-NLS-1$
+    static final String THUMBNAIL_FOLDER_NAME = "ProjectThumbnails"; //$NON-NLS-1$
 
     private static final String THUMBNAIL_FILE_PREFIX = "Prj"; //$NON-NLS-1$
 
+    private static final String IMAGE_FILE_INFIX = "_img"; //$NON-NLS-1$
+
+    private static final String WIDTH_FILE_INFIX = "_w"; //$NON-NLS-1$
+
     private static final String THUMBNAIL_RESOURCE_PREFIX = "static/images/projectThumbnails/projectThumbnail"; //$NON-NLS-1$
 
     private static final int THUMBNAIL_BACKGROUND_COUNT = 7;
@@ -63,6 +86,21 @@ public class DefaultProjectImageManager extends AbstractFileManager implements P
 
     private static final int LOGO_THUMBNAIL_HEIGHT = (int) (382 * LOGO_THUMBNAIL_FACTOR);
 
+    /**
+     * Widths of the responsive versions of the project images, in increasing order.
+     */
+    private static final int[] RESPONSIVE_WIDTHS = {160, 320, 640};
+
+    private static final int GENERATION_THREADS = 2;
+
+    private transient volatile BufferedImage[] backgrounds;
+
+    private transient ExecutorService executor;
+
+    private transient Map<Long, CompletableFuture<Void>> pendingGenerations;
+
+    private transient Map<Long, String> failedLogos;
+
     /**
      * Constructor.
      *
@@ -73,24 +111,132 @@ public class DefaultProjectImageManager extends AbstractFileManager implements P
         super(uploadFolder);
     }
 
-    private static URL geThumbnailBackground(Project project) {
-        final var idx = project.getId() % THUMBNAIL_BACKGROUND_COUNT;
-        return Resources.getResource(THUMBNAIL_RESOURCE_PREFIX + idx + JPEG_FILE_EXTENSION);
+    private static URL geThumbnailBackground(int index) {
+        return Resources.getResource(THUMBNAIL_RESOURCE_PREFIX + index + JPEG_FILE_EXTENSION);
+    }
+
+    /**
+     * Replies the background image for the thumbnail of the given project.
+     * The background images are decoded once and shared; the replied image must not be modified.
+     *
+     * @param projectId the identifier of the project.
+     * @return the background image.
+     * @throws IOException if the background image cannot be read.
+     */
+    protected BufferedImage getThumbnailBackground(long projectId) throws IOException {
+        var images = this.backgrounds;
+        if (images == null) {
+            synchronized (this) {
+                images = this.backgrounds;
+                if (images == null) {
+                    images = new BufferedImage[THUMBNAIL_BACKGROUND_COUNT];
+                    this.backgrounds = images;
+                }
+            }
+        }
+        final var idx = (int) (projectId % THUMBNAIL_BACKGROUND_COUNT);
+        var image = images[idx];
+        if (image == null) {
+            synchronized (images) {
+                image = images[idx];
+                if (image == null) {
+                    final var background = geThumbnailBackground(idx);
+                    if (background == null) {
+                        throw new IOException("Missing thumbnail background: " + idx); //$NON-NLS-1$
+                    }
+                    image = toRgbImage(ImageIO.read(background), -1, -1);
+                    images[idx] = image;
+                }
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Copy and scale the given image into an image with RGB components that may be written in a JPEG file.
+     * The image is scaled with bilinear interpolation by successive halving steps, which is faster than
+     * {@link Image#getScaledInstance(int, int, int)} for a similar quality.
+     *
+     * @param source the image to copy.
+     * @param width  the width of the replied image, or a negative value for keeping the width of the source.
+     * @param height the height of the replied image, or a negative value for keeping the height of the source.
+     * @return the copy of the image.
+     */
+    protected static BufferedImage toRgbImage(BufferedImage source, int width, int height) {
+        final var targetWidth = width > 0 ? width : source.getWidth();
+        final var targetHeight = height > 0 ? height : source.getHeight();
+        var current = source;
+        var currentWidth = source.getWidth();
+        var currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            if (currentWidth < targetWidth || currentWidth == current.getWidth()) {
+                currentWidth = targetWidth;
+            }
+            if (currentHeight < targetHeight || currentHeight == current.getHeight()) {
+                currentHeight = targetHeight;
+            }
+            final var step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            final var g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, currentWidth, currentHeight);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage scaleToWidth(BufferedImage source, int width) {
+        final var height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        return toRgbImage(source, width, height);
+    }
+
+    private static void writeJpeg(BufferedImage image, File file) throws IOException {
+        file.getParentFile().mkdirs();
+        // Write into a temporary file for never exposing a partially written image
+        final var tmpFile = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+        try {
+            if (!ImageIO.write(image, "jpg", tmpFile)) { //$NON-NLS-1$
+                throw new IOException("No JPEG writer for: " + file); //$NON-NLS-1$
+            }
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tmpFile.delete();
+        }
     }
 
     @Override
     public String getThumbnailPath(Project project, Logger logger) {
-        try {
-            return getThumbnailPath(project, true);
-        } catch (IOException ex) {
-            logger.error(ex.getLocalizedMessage(), ex);
-            return null;
+        return getThumbnailPath(project, -1, logger);
+    }
+
+    @Override
+    public String getThumbnailPath(Project project, int width, Logger logger) {
+        if (project != null && project.getId() != 0) {
+            final var filename = getThumbnailFilename(project);
+            final var file = normalizeForServerSide(filename);
+            if (file != null) {
+                if (!file.exists()) {
+                    generateMissingProjectImages(project, logger);
+                    return null;
+                }
+                return getThumbnailPublicPath(selectResponsiveFile(filename, width));
+            }
         }
+        return null;
     }
 
     /**
      * Replies the path to the thumbnail image for the given project.
-     * If the thumbnail image is generated on the fly.
+     * If the thumbnail image does not exist, its generation may be started in background; in this case
+     * the replied path may refer to a file that is not yet generated.
      *
      * @param project                    the project for which the thumbnail image must be generated.
      * @param generateThumbnailsIfMissed indicates if the generation for missed thumbnails is activated.
@@ -104,7 +250,7 @@ public class DefaultProjectImageManager extends AbstractFileManager implements P
                 final var file = normalizeForServerSide(filename);
                 if (file != null) {
                     if (generateThumbnailsIfMissed && !file.exists()) {
-                        generateThumbnailImage(project, file);
+                        generateMissingProjectImages(project, null);
                     }
                     return getThumbnailPublicPath(filename);
                 }
@@ -113,6 +259,46 @@ public class DefaultProjectImageManager extends AbstractFileManager implements P
         return null;
     }
 
+    @Override
+    public String getImagePath(Project project, int imageIndex, int width) {
+        if (project != null) {
+            final var images = project.getPathsToImages();
+            if (imageIndex >= 0 && imageIndex < images.size()) {
+                final var original = images.get(imageIndex);
+                if (width > 0) {
+                    for (final var responsiveWidth : RESPONSIVE_WIDTHS) {
+                        if (responsiveWidth >= width) {
+                            final var variant = getResponsiveFilename(getImageFilename(project.getId(), imageIndex), responsiveWidth);
+                            final var file = normalizeForServerSide(variant);
+                            if (file != null && file.exists()) {
+                                return getThumbnailPublicPath(variant);
+                            }
+                            break;
+                        }
+                    }
+                }
+                return original;
+            }
+        }
+        return null;
+    }
+
+    private File selectResponsiveFile(File filename, int width) {
+        if (width > 0) {
+            for (final var responsiveWidth : RESPONSIVE_WIDTHS) {
+                if (responsiveWidth >= width) {
+                    final var variant = getResponsiveFilename(filename, responsiveWidth);
+                    final var file = normalizeForServerSide(variant);
+                    if (file != null && file.exists()) {
+                        return variant;
+                    }
+                    break;
+                }
+            }
+        }
+        return filename;
+    }
+
     /**
      * Build the filename of the thumbnail for the project.
      *
@@ -124,6 +310,32 @@ public class DefaultProjectImageManager extends AbstractFileManager implements P
         return FileSystem.join(new File(DefaultDownloadableFileManager.DOWNLOADABLE_FOLDER_NAME), THUMBNAIL_FOLDER_NAME, THUMBNAIL_FILE_PREFIX + project.getId() + JPEG_FILE_EXTENSION);
     }
 
+    /**
+     * Build the filename of the full-size version of a project image in the folder of the generated images.
+     *
+     * @param projectId  the identifier of the project.
+     * @param imageIndex the index of the image in the project.
+     * @return the filename.
+     */
+    @SuppressWarnings("static-method")
+    protected File getImageFilename(long projectId, int imageIndex) {
+        return FileSystem.join(new File(DefaultDownloadableFileManager.DOWNLOADABLE_FOLDER_NAME), THUMBNAIL_FOLDER_NAME,
+                THUMBNAIL_FILE_PREFIX + projectId + IMAGE_FILE_INFIX + imageIndex + JPEG_FILE_EXTENSION);
+    }
+
+    /**
+     * Build the filename of the responsive version of an image with the given width.
+     *
+     * @param filename the filename of the full-size image.
+     * @param width    the width of the responsive version.
+     * @return the filename of the responsive version.
+     */
+    @SuppressWarnings("static-method")
+    protected File getResponsiveFilename(File filename, int width) {
+        final var basename = FileSystem.shortBasename(filename);
+        return new File(filename.getParentFile(), basename + WIDTH_FILE_INFIX + width + JPEG_FILE_EXTENSION);
+    }
+
     /**
      * Build the public path of the thumbnail for the project.
      *
@@ -135,37 +347,195 @@ public class DefaultProjectImageManager extends AbstractFileManager implements P
         return filename.getPath();
     }
 
+    private synchronized ExecutorService getExecutor() {
+        if (this.executor == null) {
+            this.executor = Executors.newFixedThreadPool(GENERATION_THREADS, runnable -> {
+                final var thread = new Thread(runnable, "project-image-generator"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+            this.pendingGenerations = new ConcurrentHashMap<>();
+            this.failedLogos = new ConcurrentHashMap<>();
+        }
+        return this.executor;
+    }
+
     /**
-     * Generate the thumbnail image for the project.
+     * Stop the background threads. The image generations that are not yet finished are cancelled.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> generateProjectImages(Project project, Logger logger) {
+        if (project == null || project.getId() == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final var executor = getExecutor();
+        final var task = createGenerationTask(project, logger);
+        // The generations for the same project are run in sequence
+        final var key = Long.valueOf(project.getId());
+        this.failedLogos.remove(key);
+        final var future = this.pendingGenerations.compute(key, (id, previous) -> {
+            if (previous == null) {
+                return CompletableFuture.runAsync(task, executor);
+            }
+            return previous.handle((value, error) -> value).thenRunAsync(task, executor);
+        });
+        future.whenComplete((value, error) -> this.pendingGenerations.remove(key, future));
+        return future;
+    }
+
+    /**
+     * Start the generation in background of the images of the given project when its thumbnail is missing.
+     * Contrary to {@link #generateProjectImages(Project, Logger)}, the generation is not started if the
+     * project has no logo, if a generation is already running for the project, or if the generation has
+     * already failed for the same logo.
      *
      * @param project the project.
-     * @param file    the output file.
+     * @param logger  the logger to be used for output the log messages.
+     */
+    private void generateMissingProjectImages(Project project, Logger logger) {
+        final var logo = project.getPathToLogo();
+        if (Strings.isNullOrEmpty(logo)) {
+            return;
+        }
+        final var executor = getExecutor();
+        final var key = Long.valueOf(project.getId());
+        if (logo.equals(this.failedLogos.get(key))) {
+            return;
+        }
+        final var created = new AtomicReference<CompletableFuture<Void>>();
+        this.pendingGenerations.computeIfAbsent(key, id -> {
+            final var future = CompletableFuture.runAsync(createGenerationTask(project, logger), executor);
+            created.set(future);
+            return future;
+        });
+        final var future = created.get();
+        if (future != null) {
+            future.whenComplete((value, error) -> this.pendingGenerations.remove(key, future));
+        }
+    }
+
+    private Runnable createGenerationTask(Project project, Logger logger) {
+        // Copy the project attributes because the JPA entity must not be used outside the current thread
+        final var projectId = project.getId();
+        final var logo = project.getPathToLogo();
+        final var images = List.copyOf(project.getPathsToImages());
+        final var thumbnailFile = normalizeForServerSide(getThumbnailFilename(project));
+        return () -> {
+            try {
+                generateThumbnailImages(projectId, logo, thumbnailFile);
+                generateResponsiveImages(projectId, images);
+            } catch (Throwable ex) {
+                if (!Strings.isNullOrEmpty(logo)) {
+                    this.failedLogos.put(Long.valueOf(projectId), logo);
+                }
+                if (logger != null) {
+                    logger.error("Cannot generate the images of the project " + projectId + ": " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            }
+        };
+    }
+
+    private void generateThumbnailImages(long projectId, String logo, File thumbnailFile) throws IOException {
+        if (logo == null || logo.isBlank()) {
+            deleteResponsiveFiles(thumbnailFile);
+            thumbnailFile.delete();
+            return;
+        }
+        final var thumbnail = createThumbnailImage(projectId, logo);
+        writeJpeg(thumbnail, thumbnailFile);
+        writeResponsiveImages(thumbnail, thumbnailFile);
+    }
+
+    private void generateResponsiveImages(long projectId, List<String> images) throws IOException {
+        for (var i = 0; i < images.size(); ++i) {
+            final var source = normalizeForServerSide(new File(images.get(i)));
+            final var target = normalizeForServerSide(getImageFilename(projectId, i));
+            if (source != null && source.exists()) {
+                final var image = ImageIO.read(source);
+                if (image != null) {
+                    writeResponsiveImages(image, target);
+                }
+            }
+        }
+    }
+
+    private void writeResponsiveImages(BufferedImage image, File file) throws IOException {
+        for (final var width : RESPONSIVE_WIDTHS) {
+            final var responsiveFile = getResponsiveFilename(file, width);
+            if (width < image.getWidth()) {
+                writeJpeg(scaleToWidth(image, width), responsiveFile);
+            } else {
+                responsiveFile.delete();
+            }
+        }
+    }
+
+    private void deleteResponsiveFiles(File file) {
+        for (final var width : RESPONSIVE_WIDTHS) {
+            getResponsiveFilename(file, width).delete();
+        }
+    }
+
+    /**
+     * Create the thumbnail image for the project by drawing the project logo on the background image.
+     *
+     * @param projectId  the identifier of the project.
+     * @param pathToLogo the path to the logo of the project.
+     * @return the thumbnail image.
      * @throws IOException if the thumbnail image cannot be generated.
      */
-    public void generateThumbnailImage(Project project, File file) throws IOException {
-        final var localLogo = normalizeForServerSide(new File(project.getPathToLogo()));
+    protected BufferedImage createThumbnailImage(long projectId, String pathToLogo) throws IOException {
+        final var localLogo = normalizeForServerSide(new File(pathToLogo));
         final var logoImage = ImageIO.read(localLogo);
+        if (logoImage == null) {
+            throw new IOException("Unsupported image format: " + localLogo); //$NON-NLS-1$
+        }
         final var logoWidth = logoImage.getWidth();
         final var logoHeight = logoImage.getHeight();
-        final Image smallLogo;
+        final int iwidth;
+        final int iheight;
         if (logoWidth > logoHeight) {
-            smallLogo = logoImage.getScaledInstance(LOGO_THUMBNAIL_WIDTH, -1, Image.SCALE_DEFAULT);
+            iwidth = LOGO_THUMBNAIL_WIDTH;
+            iheight = Math.max(1, Math.round((float) logoHeight * LOGO_THUMBNAIL_WIDTH / logoWidth));
         } else {
-            smallLogo = logoImage.getScaledInstance(-1, LOGO_THUMBNAIL_HEIGHT, Image.SCALE_DEFAULT);
+            iheight = LOGO_THUMBNAIL_HEIGHT;
+            iwidth = Math.max(1, Math.round((float) logoWidth * LOGO_THUMBNAIL_HEIGHT / logoHeight));
         }
         //
-        final var background = geThumbnailBackground(project);
-        assert background != null;
-        final var fullImage = ImageIO.read(background);
-        final var iwidth = smallLogo.getWidth(null);
-        final var iheight = smallLogo.getHeight(null);
+        final var background = getThumbnailBackground(projectId);
+        final var fullImage = toRgbImage(background, -1, -1);
         final var x = (fullImage.getWidth() - iwidth) / 2;
         final var y = (fullImage.getHeight() - iheight) / 2;
-        final var gd = fullImage.getGraphics();
-        gd.drawImage(smallLogo, x, y, null);
-        //
-        file.getParentFile().mkdirs();
-        ImageIO.write(fullImage, "jpg", file); //$NON-NLS-1$
+        final var gd = fullImage.createGraphics();
+        try {
+            gd.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            gd.drawImage(logoImage, x, y, iwidth, iheight, null);
+        } finally {
+            gd.dispose();
+        }
+        return fullImage;
+    }
+
+    /**
+     * Generate the thumbnail image for the project.
+     * This function runs in the calling thread; see {@link #generateProjectImages(Project, Logger)}
+     * for the generation in background.
+     *
+     * @param project the project.
+     * @param file    the output file.
+     * @throws IOException if the thumbnail image cannot be generated.
+     */
+    public void generateThumbnailImage(Project project, File file) throws IOException {
+        writeJpeg(createThumbnailImage(project.getId(), project.getPathToLogo()), file);
     }
 
 }
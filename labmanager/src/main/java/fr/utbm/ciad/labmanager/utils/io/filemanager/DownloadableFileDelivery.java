@@ -0,0 +1,375 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io.filemanager;
+
+import com.google.common.base.Strings;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.arakhne.afc.vmutil.FileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivery of the public downloadable files (PDF, award certificates, slides, logos, thumbnails...)
+ * to the HTTP clients.
+ *
+ * <p>The files are sent without loading them in the heap with
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+ * The delivery supports the HTTP byte ranges (used by the PDF viewers), the conditional requests based on
+ * the entity tag and the last modification date of the files, and a bounded number of concurrent transfers.
+ * A transfer slot is kept until the content is fully written in the response.
+ *
+ * <p>Only the files in the public folders of the {@link DownloadableFileManager} could be delivered; the
+ * temporary files and the saved data are never delivered.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class DownloadableFileDelivery {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DownloadableFileDelivery.class);
+
+    private static final String BYTES_UNIT = "bytes"; //$NON-NLS-1$
+
+    private static final String RANGE_PREFIX = BYTES_UNIT + "="; //$NON-NLS-1$
+
+    private static final String CACHE_CONTROL = "public, max-age=3600"; //$NON-NLS-1$
+
+    private static final String RETRY_AFTER_SECONDS = "5"; //$NON-NLS-1$
+
+    private final DownloadableFileManager fileManager;
+
+    private final Semaphore transfers;
+
+    private final long waitTimeout;
+
+    private List<File> publicFolders;
+
+    /**
+     * Constructor for injector.
+     * This constructor is defined for being invoked by the IOC injector.
+     *
+     * @param fileManager  the manager of the downloadable files.
+     * @param maxTransfers the maximum number of concurrent transfers. It is defined by the property
+     *                     {@code labmanager.file.delivery.max-concurrent-transfers}.
+     * @param waitTimeout  the maximum duration in milliseconds for waiting a transfer slot. It is defined by the property
+     *                     {@code labmanager.file.delivery.wait-timeout}.
+     */
+    public DownloadableFileDelivery(
+            @Autowired DownloadableFileManager fileManager,
+            @Value("${labmanager.file.delivery.max-concurrent-transfers:16}") int maxTransfers,
+            @Value("${labmanager.file.delivery.wait-timeout:10000}") long waitTimeout) {
+        this.fileManager = fileManager;
+        this.transfers = new Semaphore(Math.max(1, maxTransfers), true);
+        this.waitTimeout = Math.max(0, waitTimeout);
+    }
+
+    /**
+     * Replies the server-side folders from which the files could be delivered.
+     *
+     * @return the folders.
+     */
+    protected synchronized List<File> getPublicFolders() {
+        if (this.publicFolders == null) {
+            final var folders = new ArrayList<File>();
+            addPublicFolder(folders, this.fileManager.getPdfRootFile());
+            addPublicFolder(folders, this.fileManager.getAwardRootFile());
+            addPublicFolder(folders, this.fileManager.getAddressBackgroundRootFile());
+            addPublicFolder(folders, this.fileManager.getOrganizationLogoRootFile());
+            addPublicFolder(folders, this.fileManager.getProjectLogoRootFile());
+            addPublicFolder(folders, this.fileManager.getProjectImageRootFile());
+            addPublicFolder(folders, this.fileManager.getProjectPowerpointRootFile());
+            addPublicFolder(folders, this.fileManager.getProjectPressDocumentRootFile());
+            addPublicFolder(folders, this.fileManager.getTeachingActivitySlidesRootFile());
+            addPublicFolder(folders, FileSystem.join(new File(DefaultDownloadableFileManager.DOWNLOADABLE_FOLDER_NAME),
+                    DefaultProjectImageManager.THUMBNAIL_FOLDER_NAME));
+            this.publicFolders = Collections.unmodifiableList(folders);
+        }
+        return this.publicFolders;
+    }
+
+    private void addPublicFolder(List<File> folders, File folder) {
+        final var serverFolder = this.fileManager.normalizeForServerSide(folder);
+        if (serverFolder != null) {
+            folders.add(serverFolder.getAbsoluteFile().toPath().normalize().toFile());
+        }
+    }
+
+    /**
+     * Replies the server-side file that corresponds to the given path if this file could be delivered.
+     *
+     * @param path the path to the file, relative to the upload folder, e.g. {@code Downloadables/PDFs/PDF1.pdf}.
+     * @return the server-side file, or {@code null} if the file does not exist or cannot be delivered.
+     */
+    public File getDeliverableFile(String path) {
+        if (Strings.isNullOrEmpty(path)) {
+            return null;
+        }
+        var relativePath = path.replace('\\', '/');
+        while (relativePath.startsWith("/")) { //$NON-NLS-1$
+            relativePath = relativePath.substring(1);
+        }
+        if (relativePath.isEmpty()) {
+            return null;
+        }
+        final var serverFile = this.fileManager.normalizeForServerSide(new File(relativePath));
+        if (serverFile == null) {
+            return null;
+        }
+        final var normalizedPath = serverFile.getAbsoluteFile().toPath().normalize();
+        for (final var folder : getPublicFolders()) {
+            final var folderPath = folder.toPath();
+            if (normalizedPath.startsWith(folderPath) && !normalizedPath.equals(folderPath)) {
+                final var file = normalizedPath.toFile();
+                if (file.isFile() && file.canRead()) {
+                    return file;
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Build the entity tag of the given file. The tag is based on the size and the last modification date of the file.
+     *
+     * @param length       the size of the file.
+     * @param lastModified the last modification date of the file in milliseconds.
+     * @return the entity tag.
+     */
+    protected static String buildEntityTag(long length, long lastModified) {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\""; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private static boolean matchesEntityTag(String header, String entityTag) {
+        for (final var candidate : header.split(",")) { //$NON-NLS-1$
+            var tag = candidate.trim();
+            if ("*".equals(tag)) { //$NON-NLS-1$
+                return true;
+            }
+            // Weak comparison
+            if (tag.startsWith("W/")) { //$NON-NLS-1$
+                tag = tag.substring(2);
+            }
+            if (entityTag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String entityTag, long lastModified) {
+        final var ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return matchesEntityTag(ifNoneMatch, entityTag);
+        }
+        try {
+            final var ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private static boolean isRangeApplicable(HttpServletRequest request, String entityTag, long lastModified) {
+        final var ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        final var value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) { //$NON-NLS-1$ //$NON-NLS-2$
+            // Strong comparison is required
+            return entityTag.equals(value);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Parse the value of the {@code Range} header. Only one range is supported; when several ranges are requested,
+     * the full content is sent.
+     *
+     * @param header the value of the header.
+     * @param length the size of the file.
+     * @return the range as an array {@code [first, last]} with inclusive bounds, {@code null} if the range
+     *     should be ignored, or an empty array if the range cannot be satisfied.
+     */
+    protected static long[] parseRange(String header, long length) {
+        if (header == null || !header.startsWith(RANGE_PREFIX)) {
+            return null;
+        }
+        final var spec = header.substring(RANGE_PREFIX.length()).trim();
+        if (spec.isEmpty() || spec.indexOf(',') >= 0) {
+            return null;
+        }
+        final var dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            final var startText = spec.substring(0, dash).trim();
+            final var endText = spec.substring(dash + 1).trim();
+            final long first;
+            final long last;
+            if (startText.isEmpty()) {
+                // Suffix range: the last N bytes
+                if (endText.isEmpty()) {
+                    return null;
+                }
+                final var suffix = Long.parseLong(endText);
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                first = Math.max(0, length - suffix);
+                last = length - 1;
+            } else {
+                first = Long.parseLong(startText);
+                last = endText.isEmpty() ? length - 1 : Math.min(Long.parseLong(endText), length - 1);
+                if (first < 0 || (!endText.isEmpty() && Long.parseLong(endText) < first)) {
+                    return null;
+                }
+            }
+            if (first >= length || last < first) {
+                return new long[0];
+            }
+            return new long[] {first, last};
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Send the given file to the HTTP client.
+     *
+     * @param file        the server-side file to send, usually replied by {@link #getDeliverableFile(String)}.
+     * @param request     the HTTP request.
+     * @param response    the HTTP response.
+     * @param sendContent indicates if the content of the file must be sent; {@code false} for the {@code HEAD} requests.
+     * @throws IOException if the file cannot be sent.
+     */
+    public void deliver(File file, HttpServletRequest request, HttpServletResponse response, boolean sendContent) throws IOException {
+        final var length = file.length();
+        // HTTP dates have a precision of one second
+        final var lastModified = file.lastModified() / 1000 * 1000;
+        final var entityTag = buildEntityTag(length, lastModified);
+
+        response.setHeader(HttpHeaders.ETAG, entityTag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+
+        if (isNotModified(request, entityTag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        var first = 0L;
+        var last = length - 1;
+        final var range = isRangeApplicable(request, entityTag, lastModified) ? parseRange(request.getHeader(HttpHeaders.RANGE), length) : null;
+        if (range != null) {
+            if (range.length == 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + length); //$NON-NLS-1$
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            first = range[0];
+            last = range[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " " + first + "-" + last + "/" + length); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        final var count = last - first + 1;
+
+        response.setContentType(MediaTypeFactory.getMediaType(file.getName()).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + file.getName() + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+        response.setContentLengthLong(count);
+
+        if (!sendContent || count <= 0) {
+            return;
+        }
+
+        final boolean acquired;
+        try {
+            acquired = this.transfers.tryAcquire(this.waitTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        }
+        if (!acquired) {
+            LOGGER.warn("Too many concurrent transfers; rejecting the download of " + file.getName()); //$NON-NLS-1$
+            response.reset();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        try {
+            transfer(file, first, count, response);
+        } finally {
+            this.transfers.release();
+        }
+    }
+
+    private static void transfer(File file, long first, long count, HttpServletResponse response) throws IOException {
+        final var output = Channels.newChannel(response.getOutputStream());
+        try (final var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            var position = first;
+            var remaining = count;
+            while (remaining > 0) {
+                // The output channel is blocking: no progress means that the file cannot be read anymore
+                final var sent = channel.transferTo(position, remaining, output);
+                if (sent <= 0) {
+                    if (position >= channel.size()) {
+                        throw new IOException("File truncated during the transfer: " + file.getName()); //$NON-NLS-1$
+                    }
+                    throw new IOException("No progress during the transfer: " + file.getName()); //$NON-NLS-1$
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+        response.flushBuffer();
+    }
+
+}
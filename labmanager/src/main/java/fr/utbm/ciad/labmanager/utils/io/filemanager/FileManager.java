@@ -20,7 +20,11 @@
 package fr.utbm.ciad.labmanager.utils.io.filemanager;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 /**
  * Utilities for managing the files.
@@ -51,4 +55,21 @@ public interface FileManager extends Serializable {
      */
     File normalizeForServerSide(File file);
 
+    /**
+     * Save the given content into the given server-side file. If the file exists, it is replaced.
+     * The existing file is never written in place because its content may be shared with other files.
+     *
+     * @param file    the absolute filename on the server side.
+     * @param content the content to write.
+     * @throws IOException if the file cannot be saved.
+     * @since 4.0
+     */
+    default void saveFile(File file, InputStream content) throws IOException {
+        final var parent = file.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        Files.copy(content, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
 }
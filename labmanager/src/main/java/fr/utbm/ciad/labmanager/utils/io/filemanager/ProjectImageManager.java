@@ -23,6 +23,8 @@ import fr.utbm.ciad.labmanager.data.project.Project;
 import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Utilities for managing the project images.
  *
@@ -44,4 +46,40 @@ public interface ProjectImageManager extends FileManager {
      */
     String getThumbnailPath(Project project, @NotNull Logger logger);
 
+    /**
+     * Replies the path to the smallest version of the thumbnail image for the given project that has at least the given width.
+     * This function never waits for the generation of the thumbnail images. If the thumbnail image is not yet
+     * available, its generation may be started in background and {@code null} is replied.
+     *
+     * @param project the project for which the thumbnail image must be replied.
+     * @param width   the minimal width of the thumbnail image, or a negative value for the full-size thumbnail image.
+     * @param logger  the logger to be used for output the log messages.
+     * @return the path to the thumbnail image or {@code null} if there is no available thumbnail image.
+     * @since 4.0
+     */
+    String getThumbnailPath(Project project, int width, @NotNull Logger logger);
+
+    /**
+     * Replies the path to the smallest version of a project image that has at least the given width.
+     * If no such version has been generated, the path to the original image is replied.
+     *
+     * @param project    the project.
+     * @param imageIndex the index of the image in the list of the project images.
+     * @param width      the minimal width of the image, or a negative value for the original image.
+     * @return the path to the image or {@code null} if there is no image at the given index.
+     * @since 4.0
+     */
+    String getImagePath(Project project, int imageIndex, int width);
+
+    /**
+     * Start the generation in background of the thumbnail images and of the responsive versions of the images
+     * of the given project. This function should be invoked when the logo or the images of the project have changed.
+     *
+     * @param project the project.
+     * @param logger  the logger to be used for output the log messages.
+     * @return the task that is generating the images.
+     * @since 4.0
+     */
+    CompletableFuture<Void> generateProjectImages(Project project, @NotNull Logger logger);
+
 }
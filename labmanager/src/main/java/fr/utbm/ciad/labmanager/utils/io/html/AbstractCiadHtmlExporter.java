@@ -29,6 +29,7 @@ import fr.utbm.ciad.labmanager.data.publication.type.*;
 import fr.utbm.ciad.labmanager.utils.doi.DoiTools;
 import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
 import fr.utbm.ciad.labmanager.utils.io.hal.HalTools;
+import fr.utbm.ciad.labmanager.utils.io.html.HtmlFragmentTemplates.Fragment;
 import org.eclipse.xtext.xbase.lib.Functions.Function2;
 import org.springframework.context.support.MessageSourceAccessor;
 
@@ -55,8 +56,6 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
      */
     public static final String CIAD_DARK_GREEN = "4b5e08"; //$NON-NLS-1$
 
-    private static final String MESSAGES_PREFIX = "abstractCiadHtmlExporter."; //$NON-NLS-1$
-
     /**
      * Constructor.
      *
@@ -107,24 +106,25 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
 
     @Override
     protected void exportDescription(StringBuilder html, Book publication, Locale locale) {
+        final var templates = getFragmentTemplates(locale);
         if (append(html, ", ", //$NON-NLS-1$
                 toHtml(publication.getEdition()),
-                decorateBefore(toHtml(publication.getVolume()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "VOLUME_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getNumber()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "NUMBER_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getPages()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "PAGE_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.VOLUME_PREFIX, toHtml(publication.getVolume())),
+                templates.decorate(Fragment.NUMBER_PREFIX, toHtml(publication.getNumber())),
+                templates.decorate(Fragment.PAGE_PREFIX, toHtml(publication.getPages())))) {
             html.append(". "); //$NON-NLS-1$
         }
-        if (append(html, decorateBefore(toHtml(publication.getSeries()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "SERIES_PREFIX", locale)))) { //$NON-NLS-1$
+        if (append(html, templates.decorate(Fragment.SERIES_PREFIX, toHtml(publication.getSeries())))) {
             html.append(". "); //$NON-NLS-1$
         }
-        if (append(html, decorateBefore(toHtml(publication.getEditors()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "EDITOR_PREFIX", locale)))) { //$NON-NLS-1$
+        if (append(html, templates.decorate(Fragment.EDITOR_PREFIX, toHtml(publication.getEditors())))) {
             html.append(". "); //$NON-NLS-1$
         }
         final var doiLink = buildDoiLink(publication.getDOI());
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(doiLink, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "DOI_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISBN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISBN_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISSN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISSN_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.DOI_PREFIX, doiLink),
+                templates.decorate(Fragment.ISBN_PREFIX, toHtml(publication.getISBN())),
+                templates.decorate(Fragment.ISSN_PREFIX, toHtml(publication.getISSN())))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, toHtml(publication.getPublisher()))) {
@@ -137,29 +137,30 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
 
     @Override
     protected void exportDescription(StringBuilder html, BookChapter publication, Locale locale) {
+        final var templates = getFragmentTemplates(locale);
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getBookTitle()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "INBOOK_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getChapterNumber()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "CHAPTER_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.INBOOK_PREFIX, toHtml(publication.getBookTitle())),
+                templates.decorate(Fragment.CHAPTER_PREFIX, toHtml(publication.getChapterNumber())))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, ", ", //$NON-NLS-1$
                 publication.getEdition(),
-                decorateBefore(toHtml(publication.getVolume()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "VOLUME_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getNumber()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "NUMBER_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getPages()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "PAGE_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.VOLUME_PREFIX, toHtml(publication.getVolume())),
+                templates.decorate(Fragment.NUMBER_PREFIX, toHtml(publication.getNumber())),
+                templates.decorate(Fragment.PAGE_PREFIX, toHtml(publication.getPages())))) {
             html.append(". "); //$NON-NLS-1$
         }
-        if (append(html, decorateBefore(toHtml(publication.getSeries()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "SERIES_PREFIX", locale)))) { //$NON-NLS-1$
+        if (append(html, templates.decorate(Fragment.SERIES_PREFIX, toHtml(publication.getSeries())))) {
             html.append(". "); //$NON-NLS-1$
         }
-        if (append(html, decorateBefore(toHtml(publication.getEditors()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "EDITOR_PREFIX", locale)))) { //$NON-NLS-1$
+        if (append(html, templates.decorate(Fragment.EDITOR_PREFIX, toHtml(publication.getEditors())))) {
             html.append(". "); //$NON-NLS-1$
         }
         final String doiLink = buildDoiLink(publication.getDOI());
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(doiLink, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "DOI_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISBN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISBN_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISSN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISSN_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.DOI_PREFIX, doiLink),
+                templates.decorate(Fragment.ISBN_PREFIX, toHtml(publication.getISBN())),
+                templates.decorate(Fragment.ISSN_PREFIX, toHtml(publication.getISSN())))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, toHtml(publication.getPublisher()))) {
@@ -172,28 +173,29 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
 
     @Override
     protected void exportDescription(StringBuilder html, ConferencePaper publication, Locale locale) {
-        if (append(html, decorateBefore(toHtml(publication.getPublicationTarget()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "CONFERENCE_PREFIX", locale)))) { //$NON-NLS-1$
+        final var templates = getFragmentTemplates(locale);
+        if (append(html, templates.decorate(Fragment.CONFERENCE_PREFIX, toHtml(publication.getPublicationTarget())))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getVolume()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "VOLUME_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getNumber()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "NUMBER_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getPages()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "PAGE_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.VOLUME_PREFIX, toHtml(publication.getVolume())),
+                templates.decorate(Fragment.NUMBER_PREFIX, toHtml(publication.getNumber())),
+                templates.decorate(Fragment.PAGE_PREFIX, toHtml(publication.getPages())))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getEditors()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "EDITOR_PREFIX", locale)), //$NON-NLS-1$
+                templates.decorate(Fragment.EDITOR_PREFIX, toHtml(publication.getEditors())),
                 toHtml(publication.getOrganization()))) {
             html.append(". "); //$NON-NLS-1$
         }
         final var doiLink = buildDoiLink(publication.getDOI());
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(doiLink, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "DOI_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(getISBN(publication.getConference())), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISBN_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(getISSN(publication.getConference())), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISSN_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.DOI_PREFIX, doiLink),
+                templates.decorate(Fragment.ISBN_PREFIX, toHtml(getISBN(publication.getConference()))),
+                templates.decorate(Fragment.ISSN_PREFIX, toHtml(getISSN(publication.getConference()))))) {
             html.append(". "); //$NON-NLS-1$
         }
-        if (append(html, decorateBefore(toHtml(publication.getSeries()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "SERIES_PREFIX", locale)))) { //$NON-NLS-1$
+        if (append(html, templates.decorate(Fragment.SERIES_PREFIX, toHtml(publication.getSeries())))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, publication.getAddress())) {
@@ -204,23 +206,24 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
 
     @Override
     protected void exportDescription(StringBuilder html, JournalPaper publication, Locale locale) {
+        final var templates = getFragmentTemplates(locale);
         final var journal = publication.getJournal();
         if (journal != null && append(html, ", ", //$NON-NLS-1$
-                decorateBefore(toHtml(journal.getJournalName()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "JOURNAL_PREFIX", locale)), //$NON-NLS-1$
+                templates.decorate(Fragment.JOURNAL_PREFIX, toHtml(journal.getJournalName())),
                 toHtml(publication.getSeries()))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getVolume()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "VOLUME_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getNumber()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "NUMBER_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getPages()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "PAGE_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.VOLUME_PREFIX, toHtml(publication.getVolume())),
+                templates.decorate(Fragment.NUMBER_PREFIX, toHtml(publication.getNumber())),
+                templates.decorate(Fragment.PAGE_PREFIX, toHtml(publication.getPages())))) {
             html.append(". "); //$NON-NLS-1$
         }
         final var doiLink = buildDoiLink(publication.getDOI());
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(doiLink, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "DOI_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(getISBN(publication.getJournal())), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISBN_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(getISSN(publication.getJournal())), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISSN_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.DOI_PREFIX, doiLink),
+                templates.decorate(Fragment.ISBN_PREFIX, toHtml(getISBN(publication.getJournal()))),
+                templates.decorate(Fragment.ISSN_PREFIX, toHtml(getISSN(publication.getJournal()))))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (journal != null && append(html, toHtml(journal.getPublisher()))) {
@@ -231,24 +234,25 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
 
     @Override
     protected void exportDescription(StringBuilder html, JournalEdition publication, Locale locale) {
+        final var templates = getFragmentTemplates(locale);
         final var journal = publication.getJournal();
         if (journal != null && append(html,
-                decorateBefore(toHtml(journal.getJournalName()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "JOURNAL_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.JOURNAL_PREFIX, toHtml(journal.getJournalName())))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getVolume()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "VOLUME_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getNumber()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "NUMBER_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getPages()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "PAGE_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.VOLUME_PREFIX, toHtml(publication.getVolume())),
+                templates.decorate(Fragment.NUMBER_PREFIX, toHtml(publication.getNumber())),
+                templates.decorate(Fragment.PAGE_PREFIX, toHtml(publication.getPages())))) {
             html.append(". "); //$NON-NLS-1$
         }
         final var doiLink = buildDoiLink(publication.getDOI());
         final var isbn = getISBN(journal);
         final var issn = getISSN(journal);
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(doiLink, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "DOI_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(isbn, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISBN_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(issn, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISSN_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.DOI_PREFIX, doiLink),
+                templates.decorate(Fragment.ISBN_PREFIX, isbn),
+                templates.decorate(Fragment.ISSN_PREFIX, issn))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (journal != null && append(html, toHtml(journal.getPublisher()))) {
@@ -259,19 +263,20 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
 
     @Override
     protected void exportDescription(StringBuilder html, KeyNote publication, Locale locale) {
-        if (append(html, decorateBefore(toHtml(publication.getPublicationTarget()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "CONFERENCE_PREFIX", locale)))) { //$NON-NLS-1$
+        final var templates = getFragmentTemplates(locale);
+        if (append(html, templates.decorate(Fragment.CONFERENCE_PREFIX, toHtml(publication.getPublicationTarget())))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getEditors()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "EDITOR_PREFIX", locale)), //$NON-NLS-1$
+                templates.decorate(Fragment.EDITOR_PREFIX, toHtml(publication.getEditors())),
                 toHtml(publication.getOrganization()))) {
             html.append(". "); //$NON-NLS-1$
         }
         final var doiLink = buildDoiLink(publication.getDOI());
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(doiLink, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "DOI_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(getISBN(publication.getConference())), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISBN_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(getISSN(publication.getConference())), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISSN_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.DOI_PREFIX, doiLink),
+                templates.decorate(Fragment.ISBN_PREFIX, toHtml(getISBN(publication.getConference()))),
+                templates.decorate(Fragment.ISSN_PREFIX, toHtml(getISSN(publication.getConference()))))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, toHtml(publication.getAddress()))) {
@@ -281,9 +286,10 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
 
     @Override
     protected void exportDescription(StringBuilder html, Report publication, Locale locale) {
+        final var templates = getFragmentTemplates(locale);
         if (append(html, ", ", //$NON-NLS-1$
                 toHtml(publication.getReportType()),
-                decorateBefore(toHtml(publication.getReportNumber()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "NUMBER_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.NUMBER_PREFIX, toHtml(publication.getReportNumber())))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, ", ", //$NON-NLS-1$
@@ -293,38 +299,39 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
         }
         final var doiLink = buildDoiLink(publication.getDOI());
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(doiLink, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "DOI_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISBN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISBN_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISSN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISSN_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.DOI_PREFIX, doiLink),
+                templates.decorate(Fragment.ISBN_PREFIX, toHtml(publication.getISBN())),
+                templates.decorate(Fragment.ISSN_PREFIX, toHtml(publication.getISSN())))) {
             html.append(". "); //$NON-NLS-1$
         }
     }
 
     @Override
     protected void exportDescription(StringBuilder html, Thesis publication, Locale locale) {
+        final var templates = getFragmentTemplates(locale);
         if (append(html, ", ", //$NON-NLS-1$
-                getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + publication.getType().name(), locale),
+                templates.getTypeLabel(publication.getType()),
                 toHtml(publication.getInstitution()),
                 toHtml(publication.getAddress()))) {
             html.append(". "); //$NON-NLS-1$
         }
         final var doiLink = buildDoiLink(publication.getDOI());
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(doiLink, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "DOI_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISBN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISBN_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISSN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISSN_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.DOI_PREFIX, doiLink),
+                templates.decorate(Fragment.ISBN_PREFIX, toHtml(publication.getISBN())),
+                templates.decorate(Fragment.ISSN_PREFIX, toHtml(publication.getISSN())))) {
             html.append(". "); //$NON-NLS-1$
         }
     }
 
     @Override
     protected void exportDescription(StringBuilder html, Patent publication, Locale locale) {
+        final var templates = getFragmentTemplates(locale);
         if (append(html, " ", //$NON-NLS-1$
-                getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + publication.getType().name(), locale),
+                templates.getTypeLabel(publication.getType()),
                 toHtml(publication.getPatentNumber()))) {
             if (!Strings.isNullOrEmpty(publication.getPatentType())) {
-                final var typeStr = getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "PATENT_TYPE", //$NON-NLS-1$
-                        new Object[]{toHtml(publication.getPatentType())}, locale);
+                final var typeStr = templates.formatPatentType(toHtml(publication.getPatentType()));
                 if (!Strings.isNullOrEmpty(typeStr)) {
                     html.append(" "); //$NON-NLS-1$
                     html.append(typeStr);
@@ -339,15 +346,16 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
         }
         final var doiLink = buildDoiLink(publication.getDOI());
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(doiLink, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "DOI_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISBN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISBN_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISSN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISSN_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.DOI_PREFIX, doiLink),
+                templates.decorate(Fragment.ISBN_PREFIX, toHtml(publication.getISBN())),
+                templates.decorate(Fragment.ISSN_PREFIX, toHtml(publication.getISSN())))) {
             html.append(". "); //$NON-NLS-1$
         }
     }
 
     @Override
     protected void exportDescription(StringBuilder html, MiscDocument publication, Locale locale) {
+        final var templates = getFragmentTemplates(locale);
         if (append(html, " ", //$NON-NLS-1$
                 toHtml(publication.getDocumentType()),
                 toHtml(publication.getDocumentNumber()))) {
@@ -361,9 +369,9 @@ public abstract class AbstractCiadHtmlExporter extends AbstractHtmlExporter {
         }
         final String doiLink = buildDoiLink(publication.getDOI());
         if (append(html, ", ", //$NON-NLS-1$
-                decorateBefore(doiLink, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "DOI_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISBN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISBN_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(toHtml(publication.getISSN()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "ISSN_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.DOI_PREFIX, doiLink),
+                templates.decorate(Fragment.ISBN_PREFIX, toHtml(publication.getISBN())),
+                templates.decorate(Fragment.ISSN_PREFIX, toHtml(publication.getISSN())))) {
             html.append(". "); //$NON-NLS-1$
         }
         if (append(html, toHtml(publication.getPublisher()))) {
@@ -28,6 +28,7 @@ import fr.utbm.ciad.labmanager.utils.doi.DoiTools;
 import fr.utbm.ciad.labmanager.utils.io.AbstractPublicationExporter;
 import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
 import fr.utbm.ciad.labmanager.utils.io.hal.HalTools;
+import fr.utbm.ciad.labmanager.utils.io.html.HtmlFragmentTemplates.Fragment;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -35,6 +36,8 @@ import org.springframework.context.support.MessageSourceAccessor;
 import java.text.DecimalFormat;
 import java.time.format.TextStyle;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utilities for exporting publications to HTML.
@@ -47,7 +50,6 @@ import java.util.Locale;
  */
 public abstract class AbstractHtmlExporter extends AbstractPublicationExporter implements HtmlExporter {
 
-    private static final String MESSAGES_PREFIX = "abstractHtmlExporter."; //$NON-NLS-1$
 
     /**
      * Application constants.
@@ -64,6 +66,8 @@ public abstract class AbstractHtmlExporter extends AbstractPublicationExporter i
      */
     protected final HalTools halTools;
 
+    private final Map<Locale, HtmlFragmentTemplates> fragmentTemplates = new ConcurrentHashMap<>();
+
     /**
      * Constructor.
      *
@@ -79,6 +83,21 @@ public abstract class AbstractHtmlExporter extends AbstractPublicationExporter i
         this.halTools = halTools;
     }
 
+    /**
+     * Replies the localized fragments of the HTML descriptions for the given locale.
+     * The fragments are compiled on the first request for the locale, and reused after.
+     *
+     * @param locale the locale.
+     * @return the fragments.
+     * @since 4.0
+     */
+    protected HtmlFragmentTemplates getFragmentTemplates(Locale locale) {
+        if (locale == null) {
+            return HtmlFragmentTemplates.compile(getMessageSourceAccessor(), null);
+        }
+        return this.fragmentTemplates.computeIfAbsent(locale, it -> HtmlFragmentTemplates.compile(getMessageSourceAccessor(), it));
+    }
+
     /**
      * Replies the string representation of left quotes.
      *
@@ -331,6 +350,7 @@ public abstract class AbstractHtmlExporter extends AbstractPublicationExporter i
      * @return {@code true} if the receiver has changed.
      */
     protected boolean appendRanks(StringBuilder receiver, QuartileRanking scimago, QuartileRanking wos, float impactFactor, Locale locale) {
+        final var templates = getFragmentTemplates(locale);
         final var impactFactorStr = formatNumberIfStrictlyPositive(impactFactor);
         final var scimagoNorm = scimago == null || scimago == QuartileRanking.NR ? null : scimago;
         final var wosNorm = wos == null || wos == QuartileRanking.NR ? null : wos;
@@ -340,9 +360,9 @@ public abstract class AbstractHtmlExporter extends AbstractPublicationExporter i
                 final var scimagoStr = toHtml(scimagoNorm.toString());
                 final var wosStr = toHtml(wosNorm.toString());
                 if (append(receiver, ", ", //$NON-NLS-1$
-                        decorateBefore(scimagoStr, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "SCIMAGO_PREFIX", locale)), //$NON-NLS-1$
-                        decorateBefore(wosStr, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "WOS_PREFIX", locale)), //$NON-NLS-1$
-                        decorateBefore(impactFactorStr, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "IMPACTFACTOR_PREFIX", locale)))) { //$NON-NLS-1$
+                        templates.decorate(Fragment.SCIMAGO_PREFIX, scimagoStr),
+                        templates.decorate(Fragment.WOS_PREFIX, wosStr),
+                        templates.decorate(Fragment.IMPACTFACTOR_PREFIX, impactFactorStr))) {
                     receiver.append(". "); //$NON-NLS-1$
                     return true;
                 }
@@ -355,8 +375,8 @@ public abstract class AbstractHtmlExporter extends AbstractPublicationExporter i
             rank = toHtml(wosNorm.toString());
         }
         if (append(receiver, ", ", //$NON-NLS-1$
-                decorateBefore(rank, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "JOURNALRANK_PREFIX", locale)), //$NON-NLS-1$
-                decorateBefore(impactFactorStr, getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "IMPACTFACTOR_PREFIX", locale)))) { //$NON-NLS-1$
+                templates.decorate(Fragment.JOURNALRANK_PREFIX, rank),
+                templates.decorate(Fragment.IMPACTFACTOR_PREFIX, impactFactorStr))) {
             receiver.append(". "); //$NON-NLS-1$
             return true;
         }
@@ -374,7 +394,7 @@ public abstract class AbstractHtmlExporter extends AbstractPublicationExporter i
     protected boolean appendRanks(StringBuilder receiver, CoreRanking core, Locale locale) {
         final var coreNorm = core == null || core == CoreRanking.NR ? null : core;
         if (coreNorm != null && append(receiver,
-                decorateBefore(toHtml(coreNorm.toString()), getMessageSourceAccessor().getMessage(MESSAGES_PREFIX + "CORE_PREFIX", locale)))) { //$NON-NLS-1$
+                getFragmentTemplates(locale).decorate(Fragment.CORE_PREFIX, toHtml(coreNorm.toString())))) {
             receiver.append(". "); //$NON-NLS-1$
             return true;
         }
@@ -0,0 +1,232 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.utils.io.html;
+
+import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+import org.springframework.context.support.MessageSourceAccessor;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Localized fragments of the HTML descriptions of the publications, for a single locale.
+ * The fragments are resolved from the localized messages when the templates are compiled, and they
+ * are reused for all the publications of an export, in place of resolving the messages for each publication.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public final class HtmlFragmentTemplates {
+
+    private static final String CIAD_MESSAGES_PREFIX = "abstractCiadHtmlExporter."; //$NON-NLS-1$
+
+    private static final String HTML_MESSAGES_PREFIX = "abstractHtmlExporter."; //$NON-NLS-1$
+
+    private static final String ARGUMENT_MARKER = "\u0000"; //$NON-NLS-1$
+
+    private final MessageSourceAccessor messages;
+
+    private final Locale locale;
+
+    private final Map<Fragment, String> fragments;
+
+    private final Map<PublicationType, String> typeLabels = new ConcurrentHashMap<>();
+
+    private final String patentTypeTemplate;
+
+    private HtmlFragmentTemplates(MessageSourceAccessor messages, Locale locale) {
+        this.messages = messages;
+        this.locale = locale;
+        this.fragments = new EnumMap<>(Fragment.class);
+        for (final var fragment : Fragment.values()) {
+            this.fragments.put(fragment, messages.getMessage(fragment.getMessageKey(), locale));
+        }
+        // The argument of the message is a string, which is inserted without change by the message formatter
+        this.patentTypeTemplate = messages.getMessage(CIAD_MESSAGES_PREFIX + "PATENT_TYPE", new Object[]{ARGUMENT_MARKER}, locale); //$NON-NLS-1$
+    }
+
+    /**
+     * Compile the templates for the given locale.
+     *
+     * @param messages the accessor to the localized messages.
+     * @param locale   the locale.
+     * @return the templates.
+     */
+    public static HtmlFragmentTemplates compile(MessageSourceAccessor messages, Locale locale) {
+        return new HtmlFragmentTemplates(messages, locale);
+    }
+
+    /**
+     * Replies the locale of the templates.
+     *
+     * @return the locale.
+     */
+    public Locale getLocale() {
+        return this.locale;
+    }
+
+    /**
+     * Replies the localized text of the given fragment.
+     *
+     * @param fragment the fragment.
+     * @return the localized text.
+     */
+    public String get(Fragment fragment) {
+        return this.fragments.get(fragment);
+    }
+
+    /**
+     * Replies the value preceded by the given fragment if the value is not {@code null} or empty.
+     *
+     * @param fragment the fragment to put before the value.
+     * @param value    the value to decorate.
+     * @return the decorated value, or the empty string if the value is empty.
+     */
+    public String decorate(Fragment fragment, String value) {
+        if (!Strings.isNullOrEmpty(value)) {
+            return this.fragments.get(fragment) + value;
+        }
+        return ""; //$NON-NLS-1$
+    }
+
+    /**
+     * Replies the localized label of the given type of publication, e.g., the type of thesis or patent.
+     *
+     * @param type the type of publication.
+     * @return the label.
+     */
+    public String getTypeLabel(PublicationType type) {
+        return this.typeLabels.computeIfAbsent(type, it -> this.messages.getMessage(CIAD_MESSAGES_PREFIX + it.name(), this.locale));
+    }
+
+    /**
+     * Replies the localized description of the given type of patent.
+     *
+     * @param patentType the type of patent.
+     * @return the description.
+     */
+    public String formatPatentType(String patentType) {
+        return this.patentTypeTemplate.replace(ARGUMENT_MARKER, Strings.nullToEmpty(patentType));
+    }
+
+    /**
+     * Localized fragments that are put in the HTML descriptions of the publications.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public enum Fragment {
+        /**
+         * Prefix of the chapter number.
+         */
+        CHAPTER_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the conference name.
+         */
+        CONFERENCE_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the DOI.
+         */
+        DOI_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the editors.
+         */
+        EDITOR_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the book title.
+         */
+        INBOOK_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the ISBN.
+         */
+        ISBN_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the ISSN.
+         */
+        ISSN_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the journal name.
+         */
+        JOURNAL_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the number.
+         */
+        NUMBER_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the pages.
+         */
+        PAGE_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the series.
+         */
+        SERIES_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the volume.
+         */
+        VOLUME_PREFIX(CIAD_MESSAGES_PREFIX),
+        /**
+         * Prefix of the CORE ranking.
+         */
+        CORE_PREFIX(HTML_MESSAGES_PREFIX),
+        /**
+         * Prefix of the impact factor.
+         */
+        IMPACTFACTOR_PREFIX(HTML_MESSAGES_PREFIX),
+        /**
+         * Prefix of the journal ranking.
+         */
+        JOURNALRANK_PREFIX(HTML_MESSAGES_PREFIX),
+        /**
+         * Prefix of the Scimago ranking.
+         */
+        SCIMAGO_PREFIX(HTML_MESSAGES_PREFIX),
+        /**
+         * Prefix of the Web-of-Science ranking.
+         */
+        WOS_PREFIX(HTML_MESSAGES_PREFIX);
+
+        private final String messageKey;
+
+        Fragment(String messagePrefix) {
+            this.messageKey = messagePrefix + name();
+        }
+
+        /**
+         * Replies the key of the localized message for the fragment.
+         *
+         * @return the message key.
+         */
+        public String getMessageKey() {
+            return this.messageKey;
+        }
+
+    }
+
+}
@@ -61,6 +61,7 @@ import fr.utbm.ciad.labmanager.data.user.User;
 import fr.utbm.ciad.labmanager.data.user.UserRepository;
 import fr.utbm.ciad.labmanager.services.indicator.GlobalIndicatorsService;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchyService;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.funding.FundingScheme;
@@ -104,6 +105,7 @@ public class JsonToDatabaseImporter extends JsonTool {
     private final SessionFactory sessionFactory;
     private final OrganizationAddressRepository addressRepository;
     private final ResearchOrganizationRepository organizationRepository;
+    private final ResearchOrganizationHierarchyService hierarchyService;
     private final PersonRepository personRepository;
     private final PersonService personService;
     private final MembershipRepository organizationMembershipRepository;
@@ -132,6 +134,7 @@ public class JsonToDatabaseImporter extends JsonTool {
      * @param sessionFactory                   the factory of an hibernate session.
      * @param addressRepository                the accessor to the address repository.
      * @param organizationRepository           the accessor to the organization repository.
+     * @param hierarchyService                 the service that maintains the closure of the organization hierarchy.
      * @param personRepository                 the accessor to the person repository.
      * @param personService                    the accessor to the high-level person services.
      * @param organizationMembershipRepository the accessor to the organization membership repository.
@@ -157,6 +160,7 @@ public class JsonToDatabaseImporter extends JsonTool {
             @Autowired SessionFactory sessionFactory,
             @Autowired OrganizationAddressRepository addressRepository,
             @Autowired ResearchOrganizationRepository organizationRepository,
+            @Autowired ResearchOrganizationHierarchyService hierarchyService,
             @Autowired PersonRepository personRepository,
             @Autowired PersonService personService,
             @Autowired MembershipRepository organizationMembershipRepository,
@@ -180,6 +184,7 @@ public class JsonToDatabaseImporter extends JsonTool {
         this.sessionFactory = sessionFactory;
         this.addressRepository = addressRepository;
         this.organizationRepository = organizationRepository;
+        this.hierarchyService = hierarchyService;
         this.personRepository = personRepository;
         this.personService = personService;
         this.organizationMembershipRepository = organizationMembershipRepository;
@@ -562,7 +567,26 @@ public class JsonToDatabaseImporter extends JsonTool {
      * @see #importJsonFileToDatabase(URL)
      */
     public void importDataFileToDatabase(URL url, Logger logger) throws Exception {
-        final var stats = importJsonFileToDatabase(url, logger);
+        importDataFileToDatabase(url, null, logger);
+    }
+
+    /**
+     * Run the importer for JSON data source only, with a filter of the entries to be imported.
+     * This function displays an information message.
+     *
+     * @param url    the URL of the JSON file to read.
+     * @param filter the filter of the entries to be imported. It could be {@code null} for importing all the entries.
+     * @param logger the logger to use for put a message in the log.
+     * @throws Exception if there is problem for importing.
+     * @since 4.0
+     */
+    public void importDataFileToDatabase(URL url, ImportFilter filter, Logger logger) throws Exception {
+        final JsonNode content;
+        try (final var isr = new InputStreamReader(url.openStream())) {
+            final var mapper = JsonUtils.createMapper();
+            content = mapper.readTree(isr);
+        }
+        final var stats = importJsonFileToDatabase(content, null, filter, logger);
         if (stats != null) {
             stats.logSummaryOn(logger);
         }
@@ -612,36 +636,62 @@ public class JsonToDatabaseImporter extends JsonTool {
      * @see #importDataFileToDatabase(URL)
      */
     public Stats importJsonFileToDatabase(JsonNode content, FileCallback fileCallback, Logger logger) throws Exception {
+        return importJsonFileToDatabase(content, fileCallback, null, logger);
+    }
+
+    /**
+     * Run the importer for JSON data source only, with a filter of the entries to be imported.
+     * The entries that are excluded by the filter are not imported, but they are still used for resolving
+     * the scientific axes of the imported entries.
+     *
+     * @param content      the input node of the JSON file to read.
+     * @param fileCallback a tool that is invoked when associated file is detected. It could be {@code null}.
+     * @param filter       the filter of the entries to be imported. It could be {@code null} for importing all the entries.
+     * @param logger       the logger to use for put a message in the log.
+     * @return the import stats.
+     * @throws Exception if there is problem for importing.
+     * @see #importDataFileToDatabase(URL, ImportFilter, Logger)
+     * @since 4.0
+     */
+    public Stats importJsonFileToDatabase(JsonNode content, FileCallback fileCallback, ImportFilter filter, Logger logger) throws Exception {
         if (content != null && !content.isEmpty()) {
             final var objectRepository = new TreeMap<String, Long>();
             final var aliasRepository = new TreeMap<String, Set<String>>();
-
+            final var selection = filter == null ? content : filter.select(content, objectRepository, logger);
+            var complete = false;
             try (final var session = this.sessionFactory.openSession()) {
-                insertGlobalIndicators(session, content.get(GLOBALINDICATORS_SECTION), objectRepository, aliasRepository, logger);
-                final var nb6 = insertAddresses(session, content.get(ORGANIZATIONADDRESSES_SECTION), objectRepository, aliasRepository, fileCallback, logger);
-                final var nb0 = insertOrganizations(session, content.get(RESEARCHORGANIZATIONS_SECTION), objectRepository, aliasRepository, fileCallback, logger);
-                final var nb13 = insertScientificAxes(session, content.get(SCIENTIFIC_AXIS_SECTION), objectRepository, aliasRepository, fileCallback, logger);
-                final var nb1 = insertPersons(session, content.get(PERSONS_SECTION), objectRepository, aliasRepository, logger);
-                final var nb2 = insertJournals(session, content.get(JOURNALS_SECTION), objectRepository, aliasRepository, logger);
-                final var nb14 = insertConferences(session, content.get(CONFERENCES_SECTION), objectRepository, aliasRepository, logger);
+                insertGlobalIndicators(session, selection.get(GLOBALINDICATORS_SECTION), objectRepository, aliasRepository, logger);
+                final var nb6 = insertAddresses(session, selection.get(ORGANIZATIONADDRESSES_SECTION), objectRepository, aliasRepository, fileCallback, logger);
+                final var nb0 = insertOrganizations(session, selection.get(RESEARCHORGANIZATIONS_SECTION), objectRepository, aliasRepository, fileCallback, logger);
+                final var nb13 = insertScientificAxes(session, selection.get(SCIENTIFIC_AXIS_SECTION), objectRepository, aliasRepository, fileCallback, logger);
+                final var nb1 = insertPersons(session, selection.get(PERSONS_SECTION), objectRepository, aliasRepository, logger);
+                final var nb2 = insertJournals(session, selection.get(JOURNALS_SECTION), objectRepository, aliasRepository, logger);
+                final var nb14 = insertConferences(session, selection.get(CONFERENCES_SECTION), objectRepository, aliasRepository, logger);
                 final var scientificAxisNode = content.get(SCIENTIFIC_AXIS_SECTION);
-                final var nb3 = insertOrganizationMemberships(session, content.get(ORGANIZATION_MEMBERSHIPS_SECTION),
+                final var nb3 = insertOrganizationMemberships(session, selection.get(ORGANIZATION_MEMBERSHIPS_SECTION),
                         scientificAxisNode, objectRepository, aliasRepository, logger);
-                final var added = insertPublications(session, content.get(PUBLICATIONS_SECTION),
+                final var added = insertPublications(session, selection.get(PUBLICATIONS_SECTION),
                         scientificAxisNode, objectRepository, aliasRepository, fileCallback, logger);
                 final var nb4 = added != null ? added.getLeft().intValue() : 0;
                 final var nb5 = added != null ? added.getRight().intValue() : 0;
-                final var nb7 = insertJuryMemberships(session, content.get(JURY_MEMBERSHIPS_SECTION), objectRepository, aliasRepository, logger);
-                final var nb8 = insertSupervisions(session, content.get(SUPERVISIONS_SECTION), objectRepository, aliasRepository, logger);
-                final var nb9 = insertInvitations(session, content.get(INVITATIONS_SECTION), objectRepository, aliasRepository, logger);
-                final var nb10 = insertProjects(session, content.get(PROJECTS_SECTION),
+                final var nb7 = insertJuryMemberships(session, selection.get(JURY_MEMBERSHIPS_SECTION), objectRepository, aliasRepository, logger);
+                final var nb8 = insertSupervisions(session, selection.get(SUPERVISIONS_SECTION), objectRepository, aliasRepository, logger);
+                final var nb9 = insertInvitations(session, selection.get(INVITATIONS_SECTION), objectRepository, aliasRepository, logger);
+                final var nb10 = insertProjects(session, selection.get(PROJECTS_SECTION),
                         scientificAxisNode, objectRepository, aliasRepository, fileCallback, logger);
-                final var nb11 = insertAssociatedStructures(session, content.get(ASSOCIATED_STRUCTURES_SECTION),
+                final var nb11 = insertAssociatedStructures(session, selection.get(ASSOCIATED_STRUCTURES_SECTION),
                         objectRepository, aliasRepository, fileCallback, logger);
-                final var nb12 = insertTeachingActivities(session, content.get(TEACHING_ACTIVITY_SECTION),
+                final var nb12 = insertTeachingActivities(session, selection.get(TEACHING_ACTIVITY_SECTION),
                         objectRepository, aliasRepository, fileCallback, logger);
-                final var nb15 = insertApplicationUsers(session, content.get(APPLICATION_USERS_SECTION), objectRepository, aliasRepository, logger);
+                final var nb15 = insertApplicationUsers(session, selection.get(APPLICATION_USERS_SECTION), objectRepository, aliasRepository, logger);
+                complete = true;
                 return new Stats(nb6, nb0, nb2, nb14, nb1, nb5, nb3, nb4, nb7, nb8, nb9, nb10, nb11, nb12, nb13, nb15);
+            } finally {
+                // The organization hierarchy was changed without using the organization services
+                this.hierarchyService.invalidate();
+                if (filter != null) {
+                    filter.imported(content, objectRepository, complete, logger);
+                }
             }
         }
         return new Stats();
@@ -2455,6 +2505,42 @@ public class JsonToDatabaseImporter extends JsonTool {
         return nbNew;
     }
 
+    /**
+     * Filter of the entries of the JSON content that are imported into the database.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    public interface ImportFilter {
+
+        /**
+         * Select the entries of the JSON content to be imported. The JSON identifiers of the entries that are not
+         * selected, but that are already in the database, must be put in the given repository in order to resolve
+         * the references from the selected entries.
+         *
+         * @param content            the JSON content.
+         * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
+         * @param logger             the logger to be used.
+         * @return the JSON content with the selected entries only, or {@code content} itself if all the
+         *     entries are selected.
+         */
+        JsonNode select(JsonNode content, Map<String, Long> objectIdRepository, Logger logger);
+
+        /**
+         * Invoked when the selected entries were imported, or when the import has failed.
+         *
+         * @param content            the JSON content, with all the entries.
+         * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
+         * @param complete           indicates if all the selected entries were imported.
+         * @param logger             the logger to be used.
+         */
+        void imported(JsonNode content, Map<String, Long> objectIdRepository, boolean complete, Logger logger);
+
+    }
+
     /**
      * Callback for files that are associated to elements from the JSON.
      *
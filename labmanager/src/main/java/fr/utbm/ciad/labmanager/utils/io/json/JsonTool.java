@@ -294,7 +294,7 @@ public abstract class JsonTool implements Serializable {
     /**
      * The name of the field that is an JSON identifier.
      */
-    protected static final String ID_FIELDNAME = SPECIAL_FIELD_PREFIX + "id"; //$NON-NLS-1$
+    public static final String ID_FIELDNAME = SPECIAL_FIELD_PREFIX + "id"; //$NON-NLS-1$
     /**
      * The name of the field that is the date of the last modification of the file.
      */
@@ -32,6 +32,7 @@ import org.springframework.stereotype.Component;
 
 import java.io.*;
 import java.net.URL;
+import java.util.Map;
 import java.util.zip.ZipInputStream;
 
 /**
@@ -133,7 +134,23 @@ public class ZipToDatabaseImporter extends AbstractComponent {
      * @throws Exception if there is problem for importing.
      */
     public void importArchiveFileToDatabase(URL url, Logger logger) throws Exception {
-        cleanTargetFolders();
+        importArchiveFileToDatabase(url, null, logger);
+    }
+
+    /**
+     * Run the importer for ZIP data source only, with a filter of the entries to be imported.
+     * The target folders of the uploaded files are cleaned only if all the entries are imported.
+     *
+     * @param url    the URL of the ZIP file to read.
+     * @param filter the filter of the entries to be imported. It could be {@code null} for importing all the entries.
+     * @param logger the logger to use for put a message in the log.
+     * @throws Exception if there is problem for importing.
+     * @since 4.0
+     */
+    public void importArchiveFileToDatabase(URL url, JsonToDatabaseImporter.ImportFilter filter, Logger logger) throws Exception {
+        if (filter == null) {
+            cleanTargetFolders();
+        }
         deleteTemporaryArea(logger);
         //
         try {
@@ -161,13 +178,21 @@ public class ZipToDatabaseImporter extends AbstractComponent {
             // Inject the JSON content into the database; Change the uploaded files on the fly.
             if (content != null) {
                 final var callback = new UploadedFileManager();
-                final var stats = this.jsonImporter.importJsonFileToDatabase(content, callback, logger);
+                final JsonToDatabaseImporter.ImportFilter theFilter;
+                if (filter != null) {
+                    theFilter = new TargetFolderCleaningFilter(filter);
+                } else {
+                    theFilter = null;
+                }
+                final var stats = this.jsonImporter.importJsonFileToDatabase(content, callback, theFilter, logger);
                 if (stats != null) {
                     stats.setPublicationAssociatedFileCount(callback.getFileCount());
                     stats.logSummaryOn(logger);
                 }
             } else {
-                cleanTargetFolders();
+                if (filter == null) {
+                    cleanTargetFolders();
+                }
                 logger.info("Nothing to be inserted from: " + url); //$NON-NLS-1$
             }
         } finally {
@@ -275,6 +300,48 @@ public class ZipToDatabaseImporter extends AbstractComponent {
         }
     }
 
+    /**
+     * Filter that cleans the target folders of the uploaded files when all the entries are selected for import.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private class TargetFolderCleaningFilter implements JsonToDatabaseImporter.ImportFilter {
+
+        private final JsonToDatabaseImporter.ImportFilter delegate;
+
+        /**
+         * Constructor.
+         *
+         * @param delegate the filter that selects the entries.
+         */
+        TargetFolderCleaningFilter(JsonToDatabaseImporter.ImportFilter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public JsonNode select(JsonNode content, Map<String, Long> objectIdRepository, Logger logger) {
+            final var selection = this.delegate.select(content, objectIdRepository, logger);
+            if (selection == content) {
+                try {
+                    cleanTargetFolders();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            return selection;
+        }
+
+        @Override
+        public void imported(JsonNode content, Map<String, Long> objectIdRepository, boolean complete, Logger logger) {
+            this.delegate.imported(content, objectIdRepository, complete, logger);
+        }
+
+    }
+
     /**
      * Manager of the uploaded file for computing and fixing the names in the database.
      *
@@ -21,7 +21,20 @@ public abstract class AbstractJournalNameOrPublisherComparator extends AbstractN
         final var normedPublisher1 = normalizeString(publisher1);
         final var normedName2 = name1 != name2 ? normalizeString(name2) : normedName1;
         final var normedPublisher2 = publisher1 != publisher2 ? normalizeString(publisher2) : normedPublisher1;
+        return getNormalizedSimilarity(normedName1, normedPublisher1, normedName2, normedPublisher2);
+    }
 
+    /**
+     * Compute and replies the similarity between the normalized names and publishers of two journals.
+     *
+     * @param normedName1      the first normalized name.
+     * @param normedPublisher1 the first normalized publisher.
+     * @param normedName2      the second normalized name.
+     * @param normedPublisher2 the second normalized publisher.
+     * @return the level of similarity. {@code 0} means that the names are not
+     * similar, and {@code 1} means that they are totally equal.
+     */
+    protected double getNormalizedSimilarity(String normedName1, String normedPublisher1, String normedName2, String normedPublisher2) {
         final var similarityComputer = getStringSimilarityComputer();
         final var s2 = similarityComputer.similarity(normedPublisher1, normedPublisher2);
 
@@ -31,4 +44,36 @@ public abstract class AbstractJournalNameOrPublisherComparator extends AbstractN
         return 0;
     }
 
+    @Override
+    public SimilaritySession newSimilaritySession(double similarityLevel) {
+        return new DefaultSimilaritySession(similarityLevel);
+    }
+
+    /**
+     * Default implementation of a similarity session for journal names and publishers.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private class DefaultSimilaritySession extends AbstractSimilaritySession implements SimilaritySession {
+
+        /**
+         * Constructor.
+         *
+         * @param similarityLevel the minimum level of similarity to be used by this session.
+         */
+        DefaultSimilaritySession(double similarityLevel) {
+            super(similarityLevel);
+        }
+
+        @Override
+        public double getSimilarity(String name1, String publisher1, String name2, String publisher2) {
+            return getNormalizedSimilarity(normalize(name1), normalize(publisher1), normalize(name2), normalize(publisher2));
+        }
+
+    }
+
 }
@@ -38,11 +38,56 @@ public abstract class AbstractOrganizationNameComparator extends AbstractNormali
         final var normedName1 = normalizeString(name1);
         final var normedAcronym2 = acronym1 != acronym2 ? normalizeString(acronym2) : normedAcronym1;
         final var normedName2 = name1 != name2 ? normalizeString(name2) : normedName1;
+        return getNormalizedSimilarity(normedAcronym1, normedName1, normedAcronym2, normedName2);
+    }
 
+    /**
+     * Compute and replies the similarity between the normalized acronyms and names of two organizations.
+     *
+     * @param normedAcronym1 the first normalized acronym.
+     * @param normedName1    the first normalized name.
+     * @param normedAcronym2 the second normalized acronym.
+     * @param normedName2    the second normalized name.
+     * @return the level of similarity. {@code 0} means that the names are not
+     * similar, and {@code 1} means that they are totally equal.
+     */
+    protected double getNormalizedSimilarity(String normedAcronym1, String normedName1, String normedAcronym2, String normedName2) {
         final var similarityComputer = getStringSimilarityComputer();
         final var s1 = getSimilarity(similarityComputer, normedAcronym1, normedAcronym2);
         final var s2 = getSimilarity(similarityComputer, normedName1, normedName2);
         return Math.max(s1, s2);
     }
 
+    @Override
+    public SimilaritySession newSimilaritySession(double similarityLevel) {
+        return new DefaultSimilaritySession(similarityLevel);
+    }
+
+    /**
+     * Default implementation of a similarity session for organization names.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private class DefaultSimilaritySession extends AbstractSimilaritySession implements SimilaritySession {
+
+        /**
+         * Constructor.
+         *
+         * @param similarityLevel the minimum level of similarity to be used by this session.
+         */
+        DefaultSimilaritySession(double similarityLevel) {
+            super(similarityLevel);
+        }
+
+        @Override
+        public double getSimilarity(String acronym1, String name1, String acronym2, String name2) {
+            return getNormalizedSimilarity(normalize(acronym1), normalize(name1), normalize(acronym2), normalize(name2));
+        }
+
+    }
+
 }
@@ -23,8 +23,11 @@ import fr.utbm.ciad.labmanager.utils.AbstractNormalizableStringComparator;
 import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Abstract implementation of utilit
@@ -66,20 +69,41 @@ public abstract class AbstractPersonNameComparator extends AbstractNormalizableS
 
     @Override
     public double getSimilarity(String firstName1, String lastName1, String firstName2, String lastName2) {
-        boolean enableShortNames = this.nameParser.isShortName(firstName1)
-                || this.nameParser.isShortName(lastName1)
-                || this.nameParser.isShortName(firstName2)
-                || this.nameParser.isShortName(lastName2);
+        return getSimilarity(firstName1, lastName1, firstName2, lastName2, this.nameParser);
+    }
+
+    @Override
+    public SimilaritySession newSimilaritySession(double similarityLevel) {
+        return new DefaultSimilaritySession(similarityLevel);
+    }
+
+    /**
+     * Compute the similarity between the names of two persons by using the given parser for
+     * the normalization of the names.
+     *
+     * @param firstName1 the first name of the first person.
+     * @param lastName1  the last name of the first person.
+     * @param firstName2 the first name of the second person.
+     * @param lastName2  the last name of the second person.
+     * @param parser     the parser to be used for normalizing the names.
+     * @return the level of similarity. {@code 0} means that the names are not
+     * similar, and {@code 1} means that they are totally equal.
+     */
+    private double getSimilarity(String firstName1, String lastName1, String firstName2, String lastName2, PersonNameParser parser) {
+        boolean enableShortNames = parser.isShortName(firstName1)
+                || parser.isShortName(lastName1)
+                || parser.isShortName(firstName2)
+                || parser.isShortName(lastName2);
         //
-        final var first1 = this.nameParser.normalizeName(firstName1);
-        final var firsts1 = this.nameParser.getNormalizedNamesFor(firstName1, enableShortNames, true);
-        final var last1 = this.nameParser.normalizeName(lastName1);
-        final var lasts1 = this.nameParser.getNormalizedNamesFor(lastName1, enableShortNames, false);
+        final var first1 = parser.normalizeName(firstName1);
+        final var firsts1 = parser.getNormalizedNamesFor(firstName1, enableShortNames, true);
+        final var last1 = parser.normalizeName(lastName1);
+        final var lasts1 = parser.getNormalizedNamesFor(lastName1, enableShortNames, false);
         //
-        final var first2 = this.nameParser.normalizeName(firstName2);
-        final var firsts2 = this.nameParser.getNormalizedNamesFor(firstName2, enableShortNames, true);
-        final var last2 = this.nameParser.normalizeName(lastName2);
-        final var lasts2 = this.nameParser.getNormalizedNamesFor(lastName2, enableShortNames, false);
+        final var first2 = parser.normalizeName(firstName2);
+        final var firsts2 = parser.getNormalizedNamesFor(firstName2, enableShortNames, true);
+        final var last2 = parser.normalizeName(lastName2);
+        final var lasts2 = parser.getNormalizedNamesFor(lastName2, enableShortNames, false);
         //
         return getSimilarity(
                 first1, firsts1,
@@ -203,4 +227,107 @@ public abstract class AbstractPersonNameComparator extends AbstractNormalizableS
         return mmax;
     }
 
+    /**
+     * Default implementation of a similarity session for person names.
+     * The results of the name parser are cached into thread-safe maps.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private class DefaultSimilaritySession extends AbstractSimilaritySession implements SimilaritySession, PersonNameParser {
+
+        private final Map<String, Boolean> shortNames = new ConcurrentHashMap<>();
+
+        private final Map<String, String> normalizedNames = new ConcurrentHashMap<>();
+
+        private final Map<NameVariantKey, Set<String>> nameVariants = new ConcurrentHashMap<>();
+
+        private final Map<String, String> firstNames = new ConcurrentHashMap<>();
+
+        private final Map<String, String> lastNames = new ConcurrentHashMap<>();
+
+        /**
+         * Constructor.
+         *
+         * @param similarityLevel the minimum level of similarity to be used by this session.
+         */
+        DefaultSimilaritySession(double similarityLevel) {
+            super(similarityLevel);
+        }
+
+        @Override
+        public double getSimilarity(String fullName1, String fullName2) {
+            final var first1 = parseFirstName(fullName1);
+            final var last1 = parseLastName(fullName1);
+            final var first2 = parseFirstName(fullName2);
+            final var last2 = parseLastName(fullName2);
+            return getSimilarity(first1, last1, first2, last2);
+        }
+
+        @Override
+        public double getSimilarity(String firstName1, String lastName1, String firstName2, String lastName2) {
+            return AbstractPersonNameComparator.this.getSimilarity(firstName1, lastName1, firstName2, lastName2, this);
+        }
+
+        @Override
+        public boolean isShortName(String name) {
+            return cached(this.shortNames, name, AbstractPersonNameComparator.this.nameParser::isShortName).booleanValue();
+        }
+
+        @Override
+        public String normalizeName(String name) {
+            return cached(this.normalizedNames, name, AbstractPersonNameComparator.this.nameParser::normalizeName);
+        }
+
+        @Override
+        public Set<String> getNormalizedNamesFor(String name, boolean enableShortNames, boolean progressiveBuilding) {
+            if (name == null) {
+                return AbstractPersonNameComparator.this.nameParser.getNormalizedNamesFor(null, enableShortNames, progressiveBuilding);
+            }
+            return cached(this.nameVariants, new NameVariantKey(name, enableShortNames, progressiveBuilding),
+                    it -> Collections.unmodifiableSet(AbstractPersonNameComparator.this.nameParser.getNormalizedNamesFor(
+                            it.name(), it.enableShortNames(), it.progressiveBuilding())));
+        }
+
+        @Override
+        public String parseFirstName(String name) {
+            return cached(this.firstNames, name, AbstractPersonNameComparator.this.nameParser::parseFirstName);
+        }
+
+        @Override
+        public String parseLastName(String name) {
+            return cached(this.lastNames, name, AbstractPersonNameComparator.this.nameParser::parseLastName);
+        }
+
+        @Override
+        public int parseNames(String text, NameCallback callback) {
+            return AbstractPersonNameComparator.this.nameParser.parseNames(text, callback);
+        }
+
+        @Override
+        public String formatNameForDisplay(String name) {
+            return AbstractPersonNameComparator.this.nameParser.formatNameForDisplay(name);
+        }
+
+    }
+
+    /**
+     * Key for the cache of name variants.
+     *
+     * @param name                the name.
+     * @param enableShortNames    indicates if the short names are enabled.
+     * @param progressiveBuilding indicates if the variants are built progressively.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private record NameVariantKey(String name, boolean enableShortNames, boolean progressiveBuilding) {
+        //
+    }
+
 }
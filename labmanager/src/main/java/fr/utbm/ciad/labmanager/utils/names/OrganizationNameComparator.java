@@ -71,4 +71,75 @@ public interface OrganizationNameComparator {
         return getSimilarity(acronym1, name1, acronym2, name2) >= getSimilarityLevel();
     }
 
+    /**
+     * Create a similarity session that is using the given similarity level.
+     * The session is immutable and it may be used by several threads at the same time.
+     * It is the preferred way to compare names with a specific level, e.g., when searching
+     * for duplicates, because it does not change the state of this comparator.
+     *
+     * @param similarityLevel the minimum level of similarity. {@code 0} means that the names are not
+     *                        similar, and {@code 1} means that they are totally equal.
+     * @return the session.
+     * @since 4.0
+     */
+    SimilaritySession newSimilaritySession(double similarityLevel);
+
+    /**
+     * Create a similarity session that is using the current similarity level of this comparator.
+     *
+     * @return the session.
+     * @since 4.0
+     * @see #newSimilaritySession(double)
+     */
+    default SimilaritySession newSimilaritySession() {
+        return newSimilaritySession(getSimilarityLevel());
+    }
+
+    /**
+     * Session for comparing the names and the acronyms of two organizations with a fixed similarity level.
+     * The normalized strings are cached during the life of the session.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    interface SimilaritySession {
+
+        /**
+         * Replies the similarity level that is used by this session.
+         *
+         * @return the minimum level of similarity. {@code 0} means that the names are not
+         * similar, and {@code 1} means that they are totally equal.
+         */
+        double getSimilarityLevel();
+
+        /**
+         * Compute and replies the similarity between the names and the acronyms of two organizations.
+         *
+         * @param acronym1 the first acronym.
+         * @param name1 the first name.
+         * @param acronym2 the second acronym.
+         * @param name2 the second name.
+         * @return the level of similarity. {@code 0} means that the names are not
+         * similar, and {@code 1} means that they are totally equal.
+         */
+        double getSimilarity(String acronym1, String name1, String acronym2, String name2);
+
+        /**
+         * Check the similarity between the names and the acronyms of two organizations.
+         *
+         * @param acronym1 the first acronym.
+         * @param name1 the first name.
+         * @param acronym2 the second acronym.
+         * @param name2 the second name.
+         * @return {@code true} if the two given names are similar.
+         */
+        default boolean isSimilar(String acronym1, String name1, String acronym2, String name2) {
+            return getSimilarity(acronym1, name1, acronym2, name2) >= getSimilarityLevel();
+        }
+
+    }
+
 }
@@ -126,4 +126,98 @@ public interface PersonNameComparator {
         return getSimilarity(firstName1, lastName1, firstName2, lastName2) >= getSimilarityLevel();
     }
 
+    /**
+     * Create a similarity session that is using the given similarity level.
+     * The session is immutable and it may be used by several threads at the same time.
+     * It is the preferred way to compare names with a specific level, e.g., when searching
+     * for duplicates, because it does not change the state of this comparator.
+     *
+     * @param similarityLevel the minimum level of similarity. {@code 0} means that the names are not
+     *                        similar, and {@code 1} means that they are totally equal.
+     * @return the session.
+     * @since 4.0
+     */
+    SimilaritySession newSimilaritySession(double similarityLevel);
+
+    /**
+     * Create a similarity session that is using the current similarity level of this comparator.
+     *
+     * @return the session.
+     * @since 4.0
+     * @see #newSimilaritySession(double)
+     */
+    default SimilaritySession newSimilaritySession() {
+        return newSimilaritySession(getSimilarityLevel());
+    }
+
+    /**
+     * Session for comparing person names with a fixed similarity level.
+     * The parsed and normalized names are cached during the life of the session.
+     *
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    interface SimilaritySession {
+
+        /**
+         * Replies the similarity level that is used by this session.
+         *
+         * @return the minimum level of similarity. {@code 0} means that the names are not
+         * similar, and {@code 1} means that they are totally equal.
+         */
+        double getSimilarityLevel();
+
+        /**
+         * Compute and replies the similarity between the names of two persons.
+         *
+         * @param fullName1 the first full name.
+         * @param fullName2 the second full name.
+         * @return the level of similarity. {@code 0} means that the names are not
+         * similar, and {@code 1} means that they are totally equal.
+         * @see PersonNameComparator#getSimilarity(String, String)
+         */
+        double getSimilarity(String fullName1, String fullName2);
+
+        /**
+         * Compute and replies the similarity between the names of two persons.
+         *
+         * @param firstName1 the first name of the first person.
+         * @param lastName1  the last name of the first person.
+         * @param firstName2 the first name of the second person.
+         * @param lastName2  the last name of the second person.
+         * @return the level of similarity. {@code 0} means that the names are not
+         * similar, and {@code 1} means that they are totally equal.
+         * @see PersonNameComparator#getSimilarity(String, String, String, String)
+         */
+        double getSimilarity(String firstName1, String lastName1, String firstName2, String lastName2);
+
+        /**
+         * Check name similarity between the names of two persons.
+         *
+         * @param fullName1 the first full name.
+         * @param fullName2 the second full name.
+         * @return {@code true} if the two given names are similar.
+         */
+        default boolean isSimilar(String fullName1, String fullName2) {
+            return getSimilarity(fullName1, fullName2) >= getSimilarityLevel();
+        }
+
+        /**
+         * Check name similarity between the names of two persons.
+         *
+         * @param firstName1 the first name of the first person.
+         * @param lastName1  the last name of the first person.
+         * @param firstName2 the first name of the second person.
+         * @param lastName2  the last name of the second person.
+         * @return {@code true} if the two given names are similar.
+         */
+        default boolean isSimilar(String firstName1, String lastName1, String firstName2, String lastName2) {
+            return getSimilarity(firstName1, lastName1, firstName2, lastName2) >= getSimilarityLevel();
+        }
+
+    }
+
 }
@@ -54,6 +54,7 @@ import fr.utbm.ciad.labmanager.views.appviews.culture.ScientificCultureActionsLi
 import fr.utbm.ciad.labmanager.views.appviews.dashboard.DashboardView;
 import fr.utbm.ciad.labmanager.views.appviews.database.DatabaseCheckSimilarityView;
 import fr.utbm.ciad.labmanager.views.appviews.database.DatabaseInputOutputView;
+import fr.utbm.ciad.labmanager.views.appviews.database.DatabasePerformanceView;
 import fr.utbm.ciad.labmanager.views.appviews.exports.ReportExportView;
 import fr.utbm.ciad.labmanager.views.appviews.invitations.IncomingInvitationsListView;
 import fr.utbm.ciad.labmanager.views.appviews.invitations.OutgoingInvitationsListView;
@@ -71,6 +72,7 @@ import fr.utbm.ciad.labmanager.views.appviews.projects.ToolsListView;
 import fr.utbm.ciad.labmanager.views.appviews.publications.ScientificEditionsListView;
 import fr.utbm.ciad.labmanager.views.appviews.publications.ScientificPublicationsListView;
 import fr.utbm.ciad.labmanager.views.appviews.publications.ScientificTalksListView;
+import fr.utbm.ciad.labmanager.views.appviews.rankings.RankingHarvestJobsView;
 import fr.utbm.ciad.labmanager.views.appviews.scientificaxes.ScientificAxesListView;
 import fr.utbm.ciad.labmanager.views.appviews.supervisions.SupervisionsListView;
 import fr.utbm.ciad.labmanager.views.appviews.teaching.TeachingActivitiesListView;
@@ -140,6 +142,8 @@ public class MainLayout extends AppLayout implements LocaleChangeObserver, UserI
 
     private SideNavItem conferences;
 
+    private SideNavItem rankingHarvests;
+
     private SideNavItem projectSection;
 
     private SideNavItem projects;
@@ -202,6 +206,8 @@ public class MainLayout extends AppLayout implements LocaleChangeObserver, UserI
 
     private SideNavItem databaseSimilarity;
 
+    private SideNavItem databasePerformance;
+
     /**
      * Constructor.
      *
@@ -314,6 +320,10 @@ public class MainLayout extends AppLayout implements LocaleChangeObserver, UserI
                 this.conferences = new SideNavItem("", ConferencesListView.class, LineAwesomeIcon.CHALKBOARD_TEACHER_SOLID.create()); //$NON-NLS-1$
                 this.scientificActivitySection.addItem(this.conferences);
             }
+            if (this.accessChecker.hasAccess(RankingHarvestJobsView.class)) {
+                this.rankingHarvests = new SideNavItem("", RankingHarvestJobsView.class, LineAwesomeIcon.HISTORY_SOLID.create()); //$NON-NLS-1$
+                this.scientificActivitySection.addItem(this.rankingHarvests);
+            }
             nav.addItem(this.scientificActivitySection);
         }
     }
@@ -479,6 +489,10 @@ public class MainLayout extends AppLayout implements LocaleChangeObserver, UserI
             this.databaseSection.addItem(this.databaseInputOutput);
             this.databaseSimilarity = new SideNavItem("", DatabaseCheckSimilarityView.class, LineAwesomeIcon.ANGLE_DOUBLE_RIGHT_SOLID.create()); //$NON-NLS-1$
             this.databaseSection.addItem(this.databaseSimilarity);
+            if (this.accessChecker.hasAccess(DatabasePerformanceView.class)) {
+                this.databasePerformance = new SideNavItem("", DatabasePerformanceView.class, LineAwesomeIcon.TACHOMETER_ALT_SOLID.create()); //$NON-NLS-1$
+                this.databaseSection.addItem(this.databasePerformance);
+            }
 
             nav.addItem(this.databaseSection);
         }
@@ -769,6 +783,9 @@ public class MainLayout extends AppLayout implements LocaleChangeObserver, UserI
         if (this.conferences != null) {
             this.conferences.setLabel(getTranslation("views.navitem.conferences")); //$NON-NLS-1$
         }
+        if (this.rankingHarvests != null) {
+            this.rankingHarvests.setLabel(getTranslation("views.navitem.ranking_harvests")); //$NON-NLS-1$
+        }
 
         if (this.projectSection != null) {
             this.projectSection.setLabel(getTranslation("views.navitem.projectSection")); //$NON-NLS-1$
@@ -854,6 +871,9 @@ public class MainLayout extends AppLayout implements LocaleChangeObserver, UserI
         if (this.databaseSimilarity != null) {
             this.databaseSimilarity.setLabel(getTranslation("views.navitem.database_similarity")); //$NON-NLS-1$
         }
+        if (this.databasePerformance != null) {
+            this.databasePerformance.setLabel(getTranslation("views.navitem.database_performance")); //$NON-NLS-1$
+        }
 
 
         if (this.documentationSection != null) {
@@ -19,7 +19,7 @@
 
 package fr.utbm.ciad.labmanager.views.appviews.conferences;
 
-import fr.utbm.ciad.labmanager.data.conference.Conference;
+import fr.utbm.ciad.labmanager.services.conference.ConferenceService.ConferenceRankingProjection;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import fr.utbm.ciad.labmanager.views.components.addons.wizard.AbstractContextData;
 
@@ -32,6 +32,8 @@ import java.util.stream.Stream;
 
 /**
  * Data in the wizard for updating the conference ranking.
+ * The conferences are kept as compact projections instead of JPA entities in order to keep the
+ * Vaadin session small; the changes are applied to the entities by their identifiers.
  *
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -44,7 +46,7 @@ public class ConferenceRankingUpdate extends AbstractContextData {
     private static final long serialVersionUID = 1506566568548752541L;
     private final Map<Long, ConferenceRankingInformation> core = new TreeMap<>();
     private int year = LocalDate.now().getYear() - 1;
-    private List<Conference> conferences = new ArrayList<>();
+    private List<ConferenceRankingProjection> conferences = new ArrayList<>();
 
     /**
      * Constructor.
@@ -92,16 +94,25 @@ public class ConferenceRankingUpdate extends AbstractContextData {
      *
      * @return the conferences.
      */
-    public synchronized List<Conference> getConferences() {
+    public synchronized List<ConferenceRankingProjection> getConferences() {
         return this.conferences;
     }
 
+    /**
+     * Replies the identifiers of the conferences.
+     *
+     * @return the identifiers.
+     */
+    public synchronized List<Long> getConferenceIdentifiers() {
+        return this.conferences.stream().map(it -> Long.valueOf(it.id())).toList();
+    }
+
     /**
      * Change the list of conferences.
      *
      * @param conferences the conferences.
      */
-    public synchronized void setConferences(List<Conference> conferences) {
+    public synchronized void setConferences(List<ConferenceRankingProjection> conferences) {
         assert conferences != null;
         this.conferences = conferences;
     }
@@ -132,7 +143,7 @@ public class ConferenceRankingUpdate extends AbstractContextData {
     public Stream<ConferenceNewInformation> getConferenceUpdates() {
         final var defaultRanking = new ConferenceRankingInformation(CoreRanking.NR, CoreRanking.NR);
         return getConferences().stream().map(conference -> {
-            final var conferenceId = Long.valueOf(conference.getId());
+            final var conferenceId = Long.valueOf(conference.id());
 
             final var core = this.core.getOrDefault(conferenceId, defaultRanking);
             final var coreRanking = extractValue(core.knownRanking(), core.newRanking());
@@ -163,7 +174,7 @@ public class ConferenceRankingUpdate extends AbstractContextData {
     /**
      * Description of the information for a conference.
      *
-     * @param conference the conference.
+     * @param conference the projection of the conference.
      * @param oldRanking the old CORE ranking, or {@code null}.
      * @param newRanking the ew CORE ranking, or {@code null}.
      * @author $Author: sgalland$
@@ -172,7 +183,7 @@ public class ConferenceRankingUpdate extends AbstractContextData {
      * @mavenartifactid $ArtifactId$
      * @since 4.0
      */
-    public record ConferenceNewInformation(Conference conference,
+    public record ConferenceNewInformation(ConferenceRankingProjection conference,
                                            CoreRanking oldRanking, CoreRanking newRanking) {
         //
     }
@@ -35,18 +35,24 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.data.provider.ListDataProvider;
 import com.vaadin.flow.dom.Style.AlignSelf;
 import com.vaadin.flow.i18n.LocaleChangeEvent;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.OptionalParameter;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
-import fr.utbm.ciad.labmanager.data.conference.Conference;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestTarget;
 import fr.utbm.ciad.labmanager.data.user.UserRole;
 import fr.utbm.ciad.labmanager.services.conference.ConferenceService;
+import fr.utbm.ciad.labmanager.services.conference.ConferenceService.ConferenceRankingChange;
 import fr.utbm.ciad.labmanager.services.conference.ConferenceService.ConferenceRankingUpdateInformation;
+import fr.utbm.ciad.labmanager.services.ranking.RankingHarvestJobService;
 import fr.utbm.ciad.labmanager.utils.SerializableExceptionProvider;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import fr.utbm.ciad.labmanager.views.ViewConstants;
 import fr.utbm.ciad.labmanager.views.appviews.MainLayout;
 import fr.utbm.ciad.labmanager.views.appviews.conferences.ConferenceRankingUpdate.ConferenceNewInformation;
+import fr.utbm.ciad.labmanager.views.appviews.rankings.RankingHarvestJobsView;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
+import fr.utbm.ciad.labmanager.views.components.addons.logger.AbstractLoggerComposite;
 import fr.utbm.ciad.labmanager.views.components.addons.logger.ContextualLoggerFactory;
 import fr.utbm.ciad.labmanager.views.components.addons.progress.ProgressExtension;
 import fr.utbm.ciad.labmanager.views.components.addons.validators.NotNullValueValidator;
@@ -57,21 +63,21 @@ import fr.utbm.ciad.labmanager.views.components.addons.wizard.AbstractLabManager
 import io.overcoded.vaadin.wizard.WizardStep;
 import io.overcoded.vaadin.wizard.config.WizardConfigurationProperties;
 import jakarta.annotation.security.RolesAllowed;
-import jakarta.persistence.criteria.Predicate;
 import org.arakhne.afc.progress.Progression;
-import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.BiFunction;
-import java.util.function.Consumer;
 
 /**
  * Wizard for updating the conference rankings.
+ * The rankings are harvested by a server-side job of the {@link RankingHarvestJobService}. The job may be resumed
+ * with the {@code job} query parameter.
  *
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -85,16 +91,20 @@ public class ConferenceRankingUpdaterWizard extends AbstractLabManagerWizard<Con
 
     private static final long serialVersionUID = 5701942600437345213L;
 
+    private final RankingHarvestJobService jobService;
+
     /**
      * Constructor.
      *
      * @param loggerFactory     the factory for creating the loggers.
      * @param conferenceService the service for accessing the conference entities.
+     * @param jobService        the service for accessing the jobs of harvesting of rankings.
      */
     public ConferenceRankingUpdaterWizard(
             @Autowired ContextualLoggerFactory loggerFactory,
-            @Autowired ConferenceService conferenceService) {
-        this(loggerFactory, conferenceService,
+            @Autowired ConferenceService conferenceService,
+            @Autowired RankingHarvestJobService jobService) {
+        this(loggerFactory, conferenceService, jobService,
                 defaultWizardConfiguration(null, false),
                 new ConferenceRankingUpdate());
     }
@@ -103,24 +113,39 @@ public class ConferenceRankingUpdaterWizard extends AbstractLabManagerWizard<Con
      * Constructor.
      *
      * @param conferenceService the service for accessing the conference entities.
+     * @param jobService        the service for accessing the jobs of harvesting of rankings.
      * @param properties        the properties of the wizard.
      * @param context           the data context.
      */
     protected ConferenceRankingUpdaterWizard(
-            ContextualLoggerFactory loggerFactory, ConferenceService conferenceService,
+            ContextualLoggerFactory loggerFactory, ConferenceService conferenceService, RankingHarvestJobService jobService,
             WizardConfigurationProperties properties, ConferenceRankingUpdate context) {
-        this(properties, loggerFactory, context, Arrays.asList(
+        this(properties, loggerFactory, jobService, context, Arrays.asList(
                 new ConferenceInputWizardStep(context),
-                new ConferenceRankLoadingWizardStep(context, conferenceService),
-                new ConferenceRankDownloadWizardStep(context, conferenceService),
+                new ConferenceRankLoadingWizardStep(context, conferenceService, jobService),
+                new ConferenceRankDownloadWizardStep(context, conferenceService, jobService),
                 new ConferenceRankingSummaryWizardStep(context),
-                new ConferenceRankSavingWizardStep(context, conferenceService)));
+                new ConferenceRankSavingWizardStep(context, conferenceService, jobService)));
     }
 
     private ConferenceRankingUpdaterWizard(WizardConfigurationProperties properties,
-                                           ContextualLoggerFactory loggerFactory,
+                                           ContextualLoggerFactory loggerFactory, RankingHarvestJobService jobService,
                                            ConferenceRankingUpdate context, List<WizardStep<ConferenceRankingUpdate>> steps) {
         super(properties, loggerFactory, context, steps);
+        this.jobService = jobService;
+    }
+
+    @Override
+    public void setParameter(BeforeEvent event, @OptionalParameter String parameter) {
+        super.setParameter(event, parameter);
+        final var job = this.jobService.getResumableJob(this.context.getJobIdentifier(), RankingHarvestTarget.CONFERENCE);
+        if (job != null) {
+            // The parameters of the wizard are those of the resumed job
+            this.context.setYear(job.getReferenceYear());
+            this.context.setEntityIdentifiers(new ArrayList<>(this.jobService.getEntityIdentifiers(job.getId())));
+        } else {
+            this.context.setJobIdentifier(0);
+        }
     }
 
     /**
@@ -202,15 +227,19 @@ public class ConferenceRankingUpdaterWizard extends AbstractLabManagerWizard<Con
 
         private final ConferenceService conferenceService;
 
+        private final RankingHarvestJobService jobService;
+
         /**
          * Constructor.
          *
          * @param context           the data to be shared between the wizard steps.
          * @param conferenceService the service for accessing to the conferences' JPA entities.
+         * @param jobService        the service for accessing the jobs of harvesting of rankings.
          */
-        public ConferenceRankLoadingWizardStep(ConferenceRankingUpdate context, ConferenceService conferenceService) {
+        public ConferenceRankLoadingWizardStep(ConferenceRankingUpdate context, ConferenceService conferenceService, RankingHarvestJobService jobService) {
             super(context, ComponentFactory.getTranslation("views.conferences.updateRankings.step2.title"), 2, 1, true, false);//$NON-NLS-1$
             this.conferenceService = conferenceService;
+            this.jobService = jobService;
         }
 
         @Override
@@ -227,32 +256,19 @@ public class ConferenceRankingUpdaterWizard extends AbstractLabManagerWizard<Con
         @Override
         protected SerializableExceptionProvider<String> createAsynchronousTask(int taskNo, Progression progression) {
             final var terminationMessage = getWizard().orElseThrow().getTranslation("views.conferences.updateRankings.step2.conference_read"); //$NON-NLS-1$
+            final var owner = AbstractLoggerComposite.getAuthenticatedUserName();
             return () -> {
                 final var identifiers = getContext().getEntityIdentifiers();
                 progression.increment(5);
-                final Consumer<Conference> callback = it -> {
-                    // Force loading of quality indicators for the conferences
-                    Hibernate.initialize(it.getQualityIndicators());
-                };
-                final List<Conference> conferences;
-                if (identifiers == null || identifiers.isEmpty()) {
-                    conferences = this.conferenceService.getAllConferences(callback);
-                } else {
-                    conferences = this.conferenceService.getAllConferences((root, query, criteriaBuilder) -> {
-                        Predicate pred = null;
-                        for (final var id : identifiers) {
-                            final var p = criteriaBuilder.equal(root.get("id"), id); //$NON-NLS-1$
-                            if (pred == null) {
-                                pred = p;
-                            } else {
-                                pred = criteriaBuilder.or(pred, p);
-                            }
-                        }
-                        return pred;
-                    }, callback);
-                }
+                // Only compact projections of the conferences are kept in the wizard context
+                final var conferences = this.conferenceService.getConferenceRankingProjections(
+                        identifiers == null || identifiers.isEmpty() ? null : identifiers);
                 progression.increment(90);
                 getContext().setConferences(conferences);
+                final var sources = Collections.singletonList(ConferenceService.CORE_RANKING_SOURCE);
+                final var job = this.jobService.resumeOrCreateJob(getContext().getJobIdentifier(), RankingHarvestTarget.CONFERENCE,
+                        getContext().getYear(), sources, sources, getContext().getConferenceIdentifiers(), owner);
+                getContext().setJobIdentifier(job.getId());
                 return terminationMessage;
             };
         }
@@ -274,15 +290,19 @@ public class ConferenceRankingUpdaterWizard extends AbstractLabManagerWizard<Con
 
         private final ConferenceService conferenceService;
 
+        private final RankingHarvestJobService jobService;
+
         /**
          * Constructor.
          *
          * @param context           the data to be shared between the wizard steps.
          * @param conferenceService the service for accessing to the conferences' JPA entities.
+         * @param jobService        the service for accessing the jobs of harvesting of rankings.
          */
-        public ConferenceRankDownloadWizardStep(ConferenceRankingUpdate context, ConferenceService conferenceService) {
+        public ConferenceRankDownloadWizardStep(ConferenceRankingUpdate context, ConferenceService conferenceService, RankingHarvestJobService jobService) {
             super(context, ComponentFactory.getTranslation("views.conferences.updateRankings.step3.title"), 3, 1, true, false);//$NON-NLS-1$
             this.conferenceService = conferenceService;
+            this.jobService = jobService;
         }
 
         @Override
@@ -314,13 +334,18 @@ public class ConferenceRankingUpdaterWizard extends AbstractLabManagerWizard<Con
             final var pattern0 = getWizard().orElseThrow().getTranslation("views.conferences.updateRankings.step3.download_core"); //$NON-NLS-1$
             final var extendedProgression0 = ProgressExtension.withCommentFormatter(progression, it -> MessageFormat.format(pattern0, it));
             final var terminationMessage0 = getWizard().orElseThrow().getTranslation("views.conferences.updateRankings.step3.core_downloaded"); //$NON-NLS-1$
+            final var failurePattern0 = getWizard().orElseThrow().getTranslation("views.rankingHarvests.failures"); //$NON-NLS-1$
             return () -> {
-                this.conferenceService.downloadConferenceIndicatorsFromCore(
-                        getContext().getYear(), getContext().getConferences(),
-                        getLogger(),
-                        extendedProgression0,
-                        (referenceYear, conferenceId, oldRanking, newRanking) -> getContext().addRanking(conferenceId, oldRanking, newRanking));
-                return terminationMessage0;
+                getContext().clearRankings();
+                // The harvesting is run by the server; it continues if the user interface is closed
+                final var jobId = getContext().getJobIdentifier();
+                final var source = ConferenceService.CORE_RANKING_SOURCE;
+                final var statistics = this.jobService.harvest(jobId, source,
+                        this.conferenceService.getRankingHarvester(getContext().getYear()),
+                        getLogger(), extendedProgression0).get();
+                this.jobService.forEachResult(jobId, source, ConferenceRankingChange.class,
+                        (conferenceId, change) -> getContext().addRanking(conferenceId.longValue(), change.oldRanking(), change.newRanking()));
+                return RankingHarvestJobsView.formatTerminationMessage(failurePattern0, terminationMessage0, statistics);
             };
         }
 
@@ -421,15 +446,19 @@ public class ConferenceRankingUpdaterWizard extends AbstractLabManagerWizard<Con
 
         private final ConferenceService conferenceService;
 
+        private final RankingHarvestJobService jobService;
+
         /**
          * Constructor.
          *
          * @param context           the data to be shared between the wizard steps.
          * @param conferenceService the service for accessing to the conferences' JPA entities.
+         * @param jobService        the service for accessing the jobs of harvesting of rankings.
          */
-        public ConferenceRankSavingWizardStep(ConferenceRankingUpdate context, ConferenceService conferenceService) {
+        public ConferenceRankSavingWizardStep(ConferenceRankingUpdate context, ConferenceService conferenceService, RankingHarvestJobService jobService) {
             super(context, ComponentFactory.getTranslation("views.conferences.updateRankings.step5.title"), 5, 1, false, true);//$NON-NLS-1$
             this.conferenceService = conferenceService;
+            this.jobService = jobService;
         }
 
         @Override
@@ -461,12 +490,13 @@ public class ConferenceRankingUpdaterWizard extends AbstractLabManagerWizard<Con
                 final var context = getContext();
                 this.conferenceService.updateConferenceIndicators(context.getYear(),
                         context.getConferenceUpdates().map(it -> {
-                            final var conference = it.conference();
+                            final var conferenceId = it.conference().id();
                             final var ranking = it.newRanking();
-                            return new ConferenceRankingUpdateInformation(conference, ranking);
+                            return new ConferenceRankingUpdateInformation(conferenceId, ranking);
                         }).toList(),
                         getLogger(),
                         extendedProgression0);
+                this.jobService.markApplied(context.getJobIdentifier());
                 return terminationMessage0;
             };
         }
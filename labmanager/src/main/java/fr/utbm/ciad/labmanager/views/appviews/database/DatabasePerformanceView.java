@@ -0,0 +1,271 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.views.appviews.database;
+
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.dependency.Uses;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridVariant;
+import com.vaadin.flow.component.html.H3;
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.i18n.LocaleChangeEvent;
+import com.vaadin.flow.i18n.LocaleChangeObserver;
+import com.vaadin.flow.router.HasDynamicTitle;
+import com.vaadin.flow.router.Route;
+import fr.utbm.ciad.labmanager.components.instrumentation.PersistenceInstrumentationService;
+import fr.utbm.ciad.labmanager.components.instrumentation.PersistenceInstrumentationService.MethodTiming;
+import fr.utbm.ciad.labmanager.components.instrumentation.PersistenceRequestStatistics;
+import fr.utbm.ciad.labmanager.components.instrumentation.SessionFootprintService;
+import fr.utbm.ciad.labmanager.components.instrumentation.SessionFootprintService.SessionFootprint;
+import fr.utbm.ciad.labmanager.data.user.UserRole;
+import fr.utbm.ciad.labmanager.views.appviews.MainLayout;
+import fr.utbm.ciad.labmanager.views.components.addons.logger.AbstractLoggerComposite;
+import fr.utbm.ciad.labmanager.views.components.addons.logger.ContextualLoggerFactory;
+import jakarta.annotation.security.RolesAllowed;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Show the statistics of the persistence layer: the global Hibernate statistics, the timings of the
+ * instrumented methods, and the requests that were reported as slow or with a suspected N+1 query problem.
+ * The memory footprints of the opened Vaadin sessions are measured on demand.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PersistenceInstrumentationService
+ */
+@Route(value = "databaseperformance", layout = MainLayout.class)
+@RolesAllowed({UserRole.ADMIN_GRANT})
+@Uses(Icon.class)
+public class DatabasePerformanceView extends AbstractLoggerComposite<VerticalLayout> implements HasDynamicTitle, LocaleChangeObserver {
+
+    private static final long serialVersionUID = 6010327856412871346L;
+
+    private final PersistenceInstrumentationService instrumentationService;
+
+    private final Button refreshButton;
+
+    private final Button clearButton;
+
+    private final H3 hibernateTitle;
+
+    private final Grid<Map.Entry<String, Long>> hibernateGrid;
+
+    private final Grid.Column<Map.Entry<String, Long>> hibernateNameColumn;
+
+    private final Grid.Column<Map.Entry<String, Long>> hibernateValueColumn;
+
+    private final H3 methodsTitle;
+
+    private final Grid<MethodTiming> methodsGrid;
+
+    private final Grid.Column<MethodTiming> methodTypeColumn;
+
+    private final Grid.Column<MethodTiming> methodNameColumn;
+
+    private final Grid.Column<MethodTiming> methodCountColumn;
+
+    private final Grid.Column<MethodTiming> methodTotalColumn;
+
+    private final Grid.Column<MethodTiming> methodMaxColumn;
+
+    private final H3 requestsTitle;
+
+    private final Grid<PersistenceRequestStatistics> requestsGrid;
+
+    private final Grid.Column<PersistenceRequestStatistics> requestNameColumn;
+
+    private final Grid.Column<PersistenceRequestStatistics> requestDurationColumn;
+
+    private final Grid.Column<PersistenceRequestStatistics> requestQueriesColumn;
+
+    private final Grid.Column<PersistenceRequestStatistics> requestEntitiesColumn;
+
+    private final Grid.Column<PersistenceRequestStatistics> requestCollectionsColumn;
+
+    private final Grid.Column<PersistenceRequestStatistics> requestCacheColumn;
+
+    private final Grid.Column<PersistenceRequestStatistics> requestNPlusOneColumn;
+
+    private final SessionFootprintService footprintService;
+
+    private final Button measureSessionsButton;
+
+    private final H3 sessionsTitle;
+
+    private final Grid<SessionFootprint> sessionsGrid;
+
+    private final Grid.Column<SessionFootprint> sessionUserColumn;
+
+    private final Grid.Column<SessionFootprint> sessionSizeColumn;
+
+    private final Grid.Column<SessionFootprint> sessionEntitiesColumn;
+
+    private final Grid.Column<SessionFootprint> sessionContextsColumn;
+
+    private final Grid.Column<SessionFootprint> sessionComponentsColumn;
+
+    /**
+     * Constructor.
+     *
+     * @param instrumentationService the service that collects the statistics of the persistence layer.
+     * @param footprintService       the service that measures the footprints of the Vaadin sessions.
+     * @param loggerFactory          the factory to be used for the composite logger.
+     */
+    public DatabasePerformanceView(@Autowired PersistenceInstrumentationService instrumentationService,
+                                   @Autowired SessionFootprintService footprintService,
+                                   @Autowired ContextualLoggerFactory loggerFactory) {
+        super(loggerFactory);
+        this.instrumentationService = instrumentationService;
+        this.footprintService = footprintService;
+
+        this.refreshButton = new Button(VaadinIcon.REFRESH.create(), event -> refresh());
+        this.clearButton = new Button(VaadinIcon.TRASH.create(), event -> {
+            this.instrumentationService.clearReportedRequests();
+            refresh();
+        });
+
+        this.hibernateTitle = new H3();
+        this.hibernateGrid = new Grid<>();
+        this.hibernateGrid.addThemeVariants(GridVariant.LUMO_COMPACT);
+        this.hibernateGrid.setAllRowsVisible(true);
+        this.hibernateNameColumn = this.hibernateGrid.addColumn(Map.Entry::getKey).setAutoWidth(true);
+        this.hibernateValueColumn = this.hibernateGrid.addColumn(Map.Entry::getValue).setAutoWidth(true);
+
+        this.methodsTitle = new H3();
+        this.methodsGrid = new Grid<>();
+        this.methodsGrid.addThemeVariants(GridVariant.LUMO_COMPACT);
+        this.methodTypeColumn = this.methodsGrid.addColumn(MethodTiming::type).setSortable(true).setAutoWidth(true);
+        this.methodNameColumn = this.methodsGrid.addColumn(MethodTiming::method).setSortable(true).setAutoWidth(true);
+        this.methodCountColumn = this.methodsGrid.addColumn(MethodTiming::count).setSortable(true).setAutoWidth(true);
+        this.methodTotalColumn = this.methodsGrid.addColumn(it -> Math.round(it.totalTime())).setSortable(true).setAutoWidth(true);
+        this.methodMaxColumn = this.methodsGrid.addColumn(it -> Math.round(it.maxTime())).setSortable(true).setAutoWidth(true);
+
+        this.requestsTitle = new H3();
+        this.requestsGrid = new Grid<>();
+        this.requestsGrid.addThemeVariants(GridVariant.LUMO_COMPACT);
+        this.requestNameColumn = this.requestsGrid.addColumn(PersistenceRequestStatistics::getName).setAutoWidth(true);
+        this.requestDurationColumn = this.requestsGrid.addColumn(it -> TimeUnit.NANOSECONDS.toMillis(it.getDuration())).setSortable(true).setAutoWidth(true);
+        this.requestQueriesColumn = this.requestsGrid.addColumn(PersistenceRequestStatistics::getQueryCount).setSortable(true).setAutoWidth(true);
+        this.requestEntitiesColumn = this.requestsGrid.addColumn(PersistenceRequestStatistics::getEntityLoadCount).setSortable(true).setAutoWidth(true);
+        this.requestCollectionsColumn = this.requestsGrid.addColumn(PersistenceRequestStatistics::getCollectionFetchCount).setSortable(true).setAutoWidth(true);
+        this.requestCacheColumn = this.requestsGrid.addColumn(it -> it.getSecondLevelCacheHitCount() + "/" //$NON-NLS-1$
+                + (it.getSecondLevelCacheHitCount() + it.getSecondLevelCacheMissCount())).setAutoWidth(true);
+        this.requestNPlusOneColumn = this.requestsGrid.addColumn(it -> it.getNPlusOneSuspects().stream()
+                .map(PersistenceRequestStatistics.NPlusOneSuspect::callSite)
+                .collect(Collectors.joining(", "))).setAutoWidth(true); //$NON-NLS-1$
+
+        this.measureSessionsButton = new Button(VaadinIcon.USERS.create(), event -> measureSessions());
+        this.sessionsTitle = new H3();
+        this.sessionsGrid = new Grid<>();
+        this.sessionsGrid.addThemeVariants(GridVariant.LUMO_COMPACT);
+        this.sessionUserColumn = this.sessionsGrid.addColumn(SessionFootprint::user).setAutoWidth(true);
+        this.sessionSizeColumn = this.sessionsGrid.addColumn(it -> it.total().size() / 1024).setSortable(true).setAutoWidth(true);
+        this.sessionEntitiesColumn = this.sessionsGrid.addColumn(it -> it.total().entityCount()).setSortable(true).setAutoWidth(true);
+        this.sessionContextsColumn = this.sessionsGrid.addColumn(it -> it.total().editingContextCount()).setSortable(true).setAutoWidth(true);
+        this.sessionComponentsColumn = this.sessionsGrid.addColumn(it -> it.components().stream()
+                .limit(3)
+                .map(cmp -> cmp.name() + " (" + cmp.footprint().size() / 1024 + ")") //$NON-NLS-1$ //$NON-NLS-2$
+                .collect(Collectors.joining(", "))).setAutoWidth(true); //$NON-NLS-1$
+
+        final var root = getContent();
+        root.setSizeFull();
+        root.add(new HorizontalLayout(this.refreshButton, this.clearButton, this.measureSessionsButton),
+                this.hibernateTitle, this.hibernateGrid,
+                this.methodsTitle, this.methodsGrid,
+                this.requestsTitle, this.requestsGrid,
+                this.sessionsTitle, this.sessionsGrid);
+
+        refresh();
+    }
+
+    /**
+     * Reload the statistics from the instrumentation service.
+     */
+    protected void refresh() {
+        this.hibernateGrid.setItems(new ArrayList<>(this.instrumentationService.getHibernateStatistics().entrySet()));
+        this.methodsGrid.setItems(this.instrumentationService.getMethodTimings());
+        this.requestsGrid.setItems(this.instrumentationService.getReportedRequests());
+    }
+
+    /**
+     * Measure the footprints of the Vaadin sessions in a background thread, because the sessions
+     * cannot be locked from the thread that is holding the lock of the current session.
+     */
+    protected void measureSessions() {
+        getUI().ifPresent(ui -> {
+            this.measureSessionsButton.setEnabled(false);
+            this.footprintService.measureSessionsAsynchronously().whenComplete((footprints, error) -> ui.access(() -> {
+                this.measureSessionsButton.setEnabled(true);
+                if (error != null) {
+                    getLogger().error(error.getLocalizedMessage(), error);
+                } else {
+                    this.sessionsGrid.setItems(footprints);
+                }
+            }));
+        });
+    }
+
+    @Override
+    public String getPageTitle() {
+        return getTranslation("views.databases.performance.title"); //$NON-NLS-1$
+    }
+
+    @Override
+    public void localeChange(LocaleChangeEvent event) {
+        this.refreshButton.setText(getTranslation("views.databases.performance.refresh")); //$NON-NLS-1$
+        this.clearButton.setText(getTranslation("views.databases.performance.clear")); //$NON-NLS-1$
+        this.hibernateTitle.setText(getTranslation("views.databases.performance.hibernate")); //$NON-NLS-1$
+        this.hibernateNameColumn.setHeader(getTranslation("views.databases.performance.statistic")); //$NON-NLS-1$
+        this.hibernateValueColumn.setHeader(getTranslation("views.databases.performance.value")); //$NON-NLS-1$
+        this.methodsTitle.setText(getTranslation("views.databases.performance.methods")); //$NON-NLS-1$
+        this.methodTypeColumn.setHeader(getTranslation("views.databases.performance.type")); //$NON-NLS-1$
+        this.methodNameColumn.setHeader(getTranslation("views.databases.performance.method")); //$NON-NLS-1$
+        this.methodCountColumn.setHeader(getTranslation("views.databases.performance.count")); //$NON-NLS-1$
+        this.methodTotalColumn.setHeader(getTranslation("views.databases.performance.total_time")); //$NON-NLS-1$
+        this.methodMaxColumn.setHeader(getTranslation("views.databases.performance.max_time")); //$NON-NLS-1$
+        this.requestsTitle.setText(getTranslation("views.databases.performance.requests")); //$NON-NLS-1$
+        this.requestNameColumn.setHeader(getTranslation("views.databases.performance.request")); //$NON-NLS-1$
+        this.requestDurationColumn.setHeader(getTranslation("views.databases.performance.duration")); //$NON-NLS-1$
+        this.requestQueriesColumn.setHeader(getTranslation("views.databases.performance.queries")); //$NON-NLS-1$
+        this.requestEntitiesColumn.setHeader(getTranslation("views.databases.performance.entities")); //$NON-NLS-1$
+        this.requestCollectionsColumn.setHeader(getTranslation("views.databases.performance.collections")); //$NON-NLS-1$
+        this.requestCacheColumn.setHeader(getTranslation("views.databases.performance.cache")); //$NON-NLS-1$
+        this.requestNPlusOneColumn.setHeader(getTranslation("views.databases.performance.n_plus_one")); //$NON-NLS-1$
+        this.measureSessionsButton.setText(getTranslation("views.databases.performance.measure_sessions")); //$NON-NLS-1$
+        this.sessionsTitle.setText(getTranslation("views.databases.performance.sessions")); //$NON-NLS-1$
+        this.sessionUserColumn.setHeader(getTranslation("views.databases.performance.user")); //$NON-NLS-1$
+        this.sessionSizeColumn.setHeader(getTranslation("views.databases.performance.session_size")); //$NON-NLS-1$
+        this.sessionEntitiesColumn.setHeader(getTranslation("views.databases.performance.retained_entities")); //$NON-NLS-1$
+        this.sessionContextsColumn.setHeader(getTranslation("views.databases.performance.editing_contexts")); //$NON-NLS-1$
+        this.sessionComponentsColumn.setHeader(getTranslation("views.databases.performance.biggest_components")); //$NON-NLS-1$
+    }
+
+}
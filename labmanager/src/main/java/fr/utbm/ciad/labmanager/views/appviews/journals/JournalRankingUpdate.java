@@ -20,7 +20,8 @@
 package fr.utbm.ciad.labmanager.views.appviews.journals;
 
 import com.google.common.base.Strings;
-import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.JournalRankingProjection;
+import fr.utbm.ciad.labmanager.services.journal.JournalService;
 import fr.utbm.ciad.labmanager.utils.io.scimago.ScimagoPlatform;
 import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
@@ -31,7 +32,9 @@ import java.util.*;
 import java.util.stream.Stream;
 
 /**
- * Data in the wizard for updating the journal ranking
+ * Data in the wizard for updating the journal ranking.
+ * The journals are kept as compact projections instead of JPA entities in order to keep the
+ * Vaadin session small; the changes are applied to the entities by their identifiers.
  *
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -49,7 +52,7 @@ public class JournalRankingUpdate extends AbstractContextData {
     private boolean wosEnable = true;
     private boolean scimagoEnable = true;
     private boolean impactFactorsEnable = true;
-    private List<Journal> journals = new ArrayList<>();
+    private List<JournalRankingProjection> journals = new ArrayList<>();
 
     /**
      * Constructor.
@@ -105,16 +108,25 @@ public class JournalRankingUpdate extends AbstractContextData {
      *
      * @return the journals.
      */
-    public synchronized List<Journal> getJournals() {
+    public synchronized List<JournalRankingProjection> getJournals() {
         return this.journals;
     }
 
+    /**
+     * Replies the identifiers of the journals.
+     *
+     * @return the identifiers.
+     */
+    public synchronized List<Long> getJournalIdentifiers() {
+        return this.journals.stream().map(it -> Long.valueOf(it.id())).toList();
+    }
+
     /**
      * Change the list of journals.
      *
      * @param journals the journals.
      */
-    public synchronized void setJournals(List<Journal> journals) {
+    public synchronized void setJournals(List<JournalRankingProjection> journals) {
         assert journals != null;
         this.journals = journals;
     }
@@ -173,6 +185,41 @@ public class JournalRankingUpdate extends AbstractContextData {
         this.impactFactorsEnable = enable;
     }
 
+    /**
+     * Replies the names of the options that are enabled.
+     *
+     * @return the names of the options, as defined by the {@link JournalService}.
+     */
+    public synchronized List<String> getOptions() {
+        final var options = new ArrayList<String>(3);
+        if (this.scimagoEnable) {
+            options.add(JournalService.SCIMAGO_RANKING_SOURCE);
+        }
+        if (this.wosEnable) {
+            options.add(JournalService.WOS_RANKING_SOURCE);
+        }
+        if (this.impactFactorsEnable) {
+            options.add(JournalService.IMPACT_FACTOR_RANKING_OPTION);
+        }
+        return options;
+    }
+
+    /**
+     * Replies the names of the sources that must be harvested according to the enabled options.
+     *
+     * @return the names of the sources, as defined by the {@link JournalService}.
+     */
+    public synchronized List<String> getSources() {
+        final var sources = new ArrayList<String>(2);
+        if (this.scimagoEnable) {
+            sources.add(JournalService.SCIMAGO_RANKING_SOURCE);
+        }
+        if (this.wosEnable || this.impactFactorsEnable) {
+            sources.add(JournalService.WOS_RANKING_SOURCE);
+        }
+        return sources;
+    }
+
     /**
      * Add Scimago ranking for the journal with the given identifier.
      *
@@ -236,13 +283,13 @@ public class JournalRankingUpdate extends AbstractContextData {
         final var defaultRanking = new JournalRankingInformation(QuartileRanking.NR, Collections.emptyMap());
         final var defaultImpacts = new JournalImpactFactor(0f, 0f);
         return getJournals().stream().map(journal -> {
-            final var journalId = Long.valueOf(journal.getId());
+            final var journalId = Long.valueOf(journal.id());
 
             final var scimago = this.scimago.getOrDefault(journalId, defaultRanking);
-            final var scimagoQ = extractNewQuartile(ScimagoPlatform.formatCategory(journal.getScimagoCategory()), scimago);
+            final var scimagoQ = extractNewQuartile(ScimagoPlatform.formatCategory(journal.scimagoCategory()), scimago);
 
             final var wos = this.wos.getOrDefault(journalId, defaultRanking);
-            final var wosQ = extractNewQuartile(WebOfSciencePlatform.formatCategory(journal.getWosCategory()), wos);
+            final var wosQ = extractNewQuartile(WebOfSciencePlatform.formatCategory(journal.wosCategory()), wos);
 
             final var impactFactors = this.impactFactors.getOrDefault(journalId, defaultImpacts);
             final var currentIF = extractNewImpactFactor(impactFactors);
@@ -260,7 +307,7 @@ public class JournalRankingUpdate extends AbstractContextData {
     /**
      * Description of the information for a journal.
      *
-     * @param journal         the journal.
+     * @param journal         the projection of the journal.
      * @param oldScimago      the old Scimago indicator, or {@code null}.
      * @param newScimago      the new Scimago indicator, or {@code null}.
      * @param oldWos          the old WOS indicator, or {@code null}.
@@ -273,7 +320,7 @@ public class JournalRankingUpdate extends AbstractContextData {
      * @mavenartifactid $ArtifactId$
      * @since 4.0
      */
-    public record JournalNewInformation(Journal journal, QuartileRanking oldScimago, QuartileRanking newScimago,
+    public record JournalNewInformation(JournalRankingProjection journal, QuartileRanking oldScimago, QuartileRanking newScimago,
                                         QuartileRanking oldWos, QuartileRanking newWos, Float oldImpactFactor,
                                         Float newImpactFactor) {
         //
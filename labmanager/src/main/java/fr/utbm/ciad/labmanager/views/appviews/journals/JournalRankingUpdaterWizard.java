@@ -36,18 +36,26 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.data.provider.ListDataProvider;
 import com.vaadin.flow.dom.Style.AlignSelf;
 import com.vaadin.flow.i18n.LocaleChangeEvent;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.OptionalParameter;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
-import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestTarget;
 import fr.utbm.ciad.labmanager.data.user.UserRole;
 import fr.utbm.ciad.labmanager.services.journal.JournalService;
-import fr.utbm.ciad.labmanager.services.journal.JournalService.JournalRankingUpdateInformation;
+import fr.utbm.ciad.labmanager.services.journal.JournalService.JournalWosRankingChange;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.ImpactFactorChange;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.JournalRankingDiff;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.QuartileChange;
+import fr.utbm.ciad.labmanager.services.ranking.RankingHarvestJobService;
 import fr.utbm.ciad.labmanager.utils.SerializableExceptionProvider;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import fr.utbm.ciad.labmanager.views.ViewConstants;
 import fr.utbm.ciad.labmanager.views.appviews.MainLayout;
 import fr.utbm.ciad.labmanager.views.appviews.journals.JournalRankingUpdate.JournalNewInformation;
+import fr.utbm.ciad.labmanager.views.appviews.rankings.RankingHarvestJobsView;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
+import fr.utbm.ciad.labmanager.views.components.addons.logger.AbstractLoggerComposite;
 import fr.utbm.ciad.labmanager.views.components.addons.logger.ContextualLoggerFactory;
 import fr.utbm.ciad.labmanager.views.components.addons.progress.ProgressExtension;
 import fr.utbm.ciad.labmanager.views.components.addons.validators.NotNullValueValidator;
@@ -58,21 +66,21 @@ import fr.utbm.ciad.labmanager.views.components.addons.wizard.AbstractLabManager
 import io.overcoded.vaadin.wizard.WizardStep;
 import io.overcoded.vaadin.wizard.config.WizardConfigurationProperties;
 import jakarta.annotation.security.RolesAllowed;
-import jakarta.persistence.criteria.Predicate;
 import org.arakhne.afc.progress.Progression;
-import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.BiFunction;
-import java.util.function.Consumer;
 
 /**
  * Wizard for updating the journal rankings.
+ * The rankings are harvested by a server-side job of the {@link RankingHarvestJobService}. The job may be resumed
+ * with the {@code job} query parameter.
  *
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -86,16 +94,20 @@ public class JournalRankingUpdaterWizard extends AbstractLabManagerWizard<Journa
 
     private static final long serialVersionUID = -3604347983449875564L;
 
+    private final RankingHarvestJobService jobService;
+
     /**
      * Constructor.
      *
      * @param loggerFactory  the factory of the loggers.
      * @param journalService the service for accessing the journal entities.
+     * @param jobService     the service for accessing the jobs of harvesting of rankings.
      */
     public JournalRankingUpdaterWizard(
             @Autowired ContextualLoggerFactory loggerFactory,
-            @Autowired JournalService journalService) {
-        this(loggerFactory, journalService,
+            @Autowired JournalService journalService,
+            @Autowired RankingHarvestJobService jobService) {
+        this(loggerFactory, journalService, jobService,
                 defaultWizardConfiguration(null, false),
                 new JournalRankingUpdate());
     }
@@ -105,24 +117,42 @@ public class JournalRankingUpdaterWizard extends AbstractLabManagerWizard<Journa
      *
      * @param loggerFactory  the factory of the loggers.
      * @param journalService the service for accessing the journal entities.
+     * @param jobService     the service for accessing the jobs of harvesting of rankings.
      * @param properties     the properties of the wizard.
      * @param context        the data context.
      */
     protected JournalRankingUpdaterWizard(
-            ContextualLoggerFactory loggerFactory, JournalService journalService,
+            ContextualLoggerFactory loggerFactory, JournalService journalService, RankingHarvestJobService jobService,
             WizardConfigurationProperties properties, JournalRankingUpdate context) {
-        this(properties, loggerFactory, context, Arrays.asList(
+        this(properties, loggerFactory, jobService, context, Arrays.asList(
                 new JournalInputWizardStep(context),
-                new JournalRankLoadingWizardStep(context, journalService),
-                new JournalRankDownloadWizardStep(context, journalService),
+                new JournalRankLoadingWizardStep(context, journalService, jobService),
+                new JournalRankDownloadWizardStep(context, journalService, jobService),
                 new JournalRankingSummaryWizardStep(context),
-                new JournalRankSavingWizardStep(context, journalService)));
+                new JournalRankSavingWizardStep(context, journalService, jobService)));
     }
 
     private JournalRankingUpdaterWizard(WizardConfigurationProperties properties,
-                                        ContextualLoggerFactory loggerFactory, JournalRankingUpdate context,
-                                        List<WizardStep<JournalRankingUpdate>> steps) {
+                                        ContextualLoggerFactory loggerFactory, RankingHarvestJobService jobService,
+                                        JournalRankingUpdate context, List<WizardStep<JournalRankingUpdate>> steps) {
         super(properties, loggerFactory, context, steps);
+        this.jobService = jobService;
+    }
+
+    @Override
+    public void setParameter(BeforeEvent event, @OptionalParameter String parameter) {
+        super.setParameter(event, parameter);
+        final var job = this.jobService.getResumableJob(this.context.getJobIdentifier(), RankingHarvestTarget.JOURNAL);
+        if (job != null) {
+            // The parameters of the wizard are those of the resumed job
+            this.context.setYear(job.getReferenceYear());
+            this.context.setScimagoEnable(job.hasOption(JournalService.SCIMAGO_RANKING_SOURCE));
+            this.context.setWosEnable(job.hasOption(JournalService.WOS_RANKING_SOURCE));
+            this.context.setImpactFactorsEnable(job.hasOption(JournalService.IMPACT_FACTOR_RANKING_OPTION));
+            this.context.setEntityIdentifiers(new ArrayList<>(this.jobService.getEntityIdentifiers(job.getId())));
+        } else {
+            this.context.setJobIdentifier(0);
+        }
     }
 
     private static boolean isEnabled(ToggleButton button) {
@@ -251,15 +281,19 @@ public class JournalRankingUpdaterWizard extends AbstractLabManagerWizard<Journa
 
         private final JournalService journalService;
 
+        private final RankingHarvestJobService jobService;
+
         /**
          * Constructor.
          *
          * @param context        the data to be shared between the wizard steps.
          * @param journalService the service for accessing to the journals' JPA entities.
+         * @param jobService     the service for accessing the jobs of harvesting of rankings.
          */
-        public JournalRankLoadingWizardStep(JournalRankingUpdate context, JournalService journalService) {
+        public JournalRankLoadingWizardStep(JournalRankingUpdate context, JournalService journalService, RankingHarvestJobService jobService) {
             super(context, ComponentFactory.getTranslation("views.journals.updateRankings.step2.title"), 2, 1, true, false);//$NON-NLS-1$
             this.journalService = journalService;
+            this.jobService = jobService;
         }
 
         @Override
@@ -276,32 +310,18 @@ public class JournalRankingUpdaterWizard extends AbstractLabManagerWizard<Journa
         @Override
         protected SerializableExceptionProvider<String> createAsynchronousTask(int taskNo, Progression progression) {
             final var terminationMessage = getWizard().orElseThrow().getTranslation("views.journals.updateRankings.step2.journal_read"); //$NON-NLS-1$
+            final var owner = AbstractLoggerComposite.getAuthenticatedUserName();
             return () -> {
                 final var identifiers = getContext().getEntityIdentifiers();
                 progression.increment(5);
-                final Consumer<Journal> callback = it -> {
-                    // Force loading of quality indicators for the journals
-                    Hibernate.initialize(it.getQualityIndicators());
-                };
-                final List<Journal> journals;
-                if (identifiers == null || identifiers.isEmpty()) {
-                    journals = this.journalService.getAllJournals(callback);
-                } else {
-                    journals = this.journalService.getAllJournals((root, query, criteriaBuilder) -> {
-                        Predicate pred = null;
-                        for (final var id : identifiers) {
-                            final var p = criteriaBuilder.equal(root.get("id"), id); //$NON-NLS-1$
-                            if (pred == null) {
-                                pred = p;
-                            } else {
-                                pred = criteriaBuilder.or(pred, p);
-                            }
-                        }
-                        return pred;
-                    }, callback);
-                }
+                // Only compact projections of the journals are kept in the wizard context
+                final var journals = this.journalService.getJournalRankingProjections(getContext().getYear(),
+                        identifiers == null || identifiers.isEmpty() ? null : identifiers);
                 progression.increment(90);
                 getContext().setJournals(journals);
+                final var job = this.jobService.resumeOrCreateJob(getContext().getJobIdentifier(), RankingHarvestTarget.JOURNAL,
+                        getContext().getYear(), getContext().getOptions(), getContext().getSources(), getContext().getJournalIdentifiers(), owner);
+                getContext().setJobIdentifier(job.getId());
                 return terminationMessage;
             };
         }
@@ -323,15 +343,19 @@ public class JournalRankingUpdaterWizard extends AbstractLabManagerWizard<Journa
 
         private final JournalService journalService;
 
+        private final RankingHarvestJobService jobService;
+
         /**
          * Constructor.
          *
          * @param context        the data to be shared between the wizard steps.
          * @param journalService the service for accessing to the journals' JPA entities.
+         * @param jobService     the service for accessing the jobs of harvesting of rankings.
          */
-        public JournalRankDownloadWizardStep(JournalRankingUpdate context, JournalService journalService) {
+        public JournalRankDownloadWizardStep(JournalRankingUpdate context, JournalService journalService, RankingHarvestJobService jobService) {
             super(context, ComponentFactory.getTranslation("views.journals.updateRankings.step3.title"), 3, 2, true, false);//$NON-NLS-1$
             this.journalService = journalService;
+            this.jobService = jobService;
         }
 
         @Override
@@ -375,22 +399,28 @@ public class JournalRankingUpdaterWizard extends AbstractLabManagerWizard<Journa
                     final var pattern0 = getWizard().orElseThrow().getTranslation("views.journals.updateRankings.step3.download_scimago"); //$NON-NLS-1$
                     final var extendedProgression0 = ProgressExtension.withCommentFormatter(progression, it -> MessageFormat.format(pattern0, it));
                     final var terminationMessage0 = getWizard().orElseThrow().getTranslation("views.journals.updateRankings.step3.scimago_downloaded"); //$NON-NLS-1$
+                    final var failurePattern0 = getWizard().orElseThrow().getTranslation("views.rankingHarvests.failures"); //$NON-NLS-1$
                     return () -> {
                         if (getContext().getScimagoEnable()) {
                             getContext().clearScimagoRankings();
-                            this.journalService.downloadJournalIndicatorsFromScimago(
-                                    getContext().getYear(), getContext().getJournals(),
-                                    getLogger(), extendedProgression0,
-                                    (referenceYear, journalId, scientificField, oldQuartile, newQuartiles) -> getContext().addScimagoRanking(journalId, oldQuartile, newQuartiles));
-                        } else {
-                            progression.end();
+                            // The harvesting is run by the server; it continues if the user interface is closed
+                            final var jobId = getContext().getJobIdentifier();
+                            final var source = JournalService.SCIMAGO_RANKING_SOURCE;
+                            final var statistics = this.jobService.harvest(jobId, source,
+                                    this.journalService.getRankingHarvester(source, getContext().getYear()),
+                                    getLogger(), extendedProgression0).get();
+                            this.jobService.forEachResult(jobId, source, QuartileChange.class,
+                                    (journalId, change) -> getContext().addScimagoRanking(journalId.longValue(), change.oldQuartile(), change.choices()));
+                            return RankingHarvestJobsView.formatTerminationMessage(failurePattern0, terminationMessage0, statistics);
                         }
+                        progression.end();
                         return terminationMessage0;
                     };
                 case 1:
                     final var pattern1 = getWizard().orElseThrow().getTranslation("views.journals.updateRankings.step3.download_wos"); //$NON-NLS-1$
                     final var extendedProgression1 = ProgressExtension.withCommentFormatter(progression, it -> MessageFormat.format(pattern1, it));
                     final var terminationMessage1 = getWizard().orElseThrow().getTranslation("views.journals.updateRankings.step3.wos_downloaded"); //$NON-NLS-1$
+                    final var failurePattern1 = getWizard().orElseThrow().getTranslation("views.rankingHarvests.failures"); //$NON-NLS-1$
                     return () -> {
                         final var ewos = getContext().getWosEnable();
                         final var eif = getContext().getImpactFactorsEnable();
@@ -401,20 +431,23 @@ public class JournalRankingUpdaterWizard extends AbstractLabManagerWizard<Journa
                             if (eif) {
                                 getContext().clearImpactFactors();
                             }
-                            this.journalService.downloadJournalIndicatorsFromWoS(
-                                    getContext().getYear(), getContext().getJournals(),
-                                    getLogger(), extendedProgression1,
-                                    (referenceYear, journalId, scientificField, oldQuartile, newQuartiles, oldImpact, newImpact) -> {
-                                        if (ewos) {
-                                            getContext().addWosRanking(journalId, oldQuartile, newQuartiles);
-                                        }
-                                        if (eif) {
-                                            getContext().addImpactFactor(journalId, oldImpact, newImpact);
-                                        }
-                                    });
-                        } else {
-                            progression.end();
+                            // The harvesting is run by the server; it continues if the user interface is closed
+                            final var jobId = getContext().getJobIdentifier();
+                            final var source = JournalService.WOS_RANKING_SOURCE;
+                            final var statistics = this.jobService.harvest(jobId, source,
+                                    this.journalService.getRankingHarvester(source, getContext().getYear()),
+                                    getLogger(), extendedProgression1).get();
+                            this.jobService.forEachResult(jobId, source, JournalWosRankingChange.class, (journalId, change) -> {
+                                if (ewos) {
+                                    getContext().addWosRanking(journalId.longValue(), change.oldQuartile(), change.choices());
+                                }
+                                if (eif) {
+                                    getContext().addImpactFactor(journalId.longValue(), change.oldImpactFactor(), change.newImpactFactor());
+                                }
+                            });
+                            return RankingHarvestJobsView.formatTerminationMessage(failurePattern1, terminationMessage1, statistics);
                         }
+                        progression.end();
                         return terminationMessage1;
                     };
                 default:
@@ -487,11 +520,11 @@ public class JournalRankingUpdaterWizard extends AbstractLabManagerWizard<Journa
             this.grid.addClassNames(LumoUtility.Border.TOP, LumoUtility.BorderColor.CONTRAST_10);
             this.grid.setSelectionMode(SelectionMode.NONE);
 
-            this.nameColumn = this.grid.addColumn(info -> info.journal().getJournalName())
+            this.nameColumn = this.grid.addColumn(info -> info.journal().name())
                     .setAutoWidth(true).setSortable(true);
-            this.publisherColumn = this.grid.addColumn(info -> info.journal().getPublisher())
+            this.publisherColumn = this.grid.addColumn(info -> info.journal().publisher())
                     .setAutoWidth(true).setSortable(true);
-            this.issnColumn = this.grid.addColumn(info -> info.journal().getISSN())
+            this.issnColumn = this.grid.addColumn(info -> info.journal().issn())
                     .setAutoWidth(true).setSortable(true);
             if (getContext().getScimagoEnable()) {
                 this.scimagoColumn = this.grid.addColumn(info -> toString(info.oldScimago(), info.newScimago()))
@@ -569,15 +602,19 @@ public class JournalRankingUpdaterWizard extends AbstractLabManagerWizard<Journa
 
         private final JournalService journalService;
 
+        private final RankingHarvestJobService jobService;
+
         /**
          * Constructor.
          *
          * @param context        the data to be shared between the wizard steps.
          * @param journalService the service for accessing to the journals' JPA entities.
+         * @param jobService     the service for accessing the jobs of harvesting of rankings.
          */
-        public JournalRankSavingWizardStep(JournalRankingUpdate context, JournalService journalService) {
+        public JournalRankSavingWizardStep(JournalRankingUpdate context, JournalService journalService, RankingHarvestJobService jobService) {
             super(context, ComponentFactory.getTranslation("views.journals.updateRankings.step5.title"), 5, 1, false, true);//$NON-NLS-1$
             this.journalService = journalService;
+            this.jobService = jobService;
         }
 
         @Override
@@ -607,16 +644,23 @@ public class JournalRankingUpdaterWizard extends AbstractLabManagerWizard<Journa
             final var terminationMessage0 = getWizard().orElseThrow().getTranslation("views.journals.updateRankings.step5.end"); //$NON-NLS-1$
             return () -> {
                 final var context = getContext();
-                this.journalService.updateJournalIndicators(context.getYear(),
-                        context.getJournalUpdates().map(it -> {
-                            final var journal = it.journal();
-                            final var scimago = it.newScimago();
-                            final var wos = it.newWos();
-                            final var factor = it.newImpactFactor();
-                            return new JournalRankingUpdateInformation(journal, scimago, wos, factor);
-                        }).toList(),
+                final var diff = new JournalRankingDiff(context.getYear());
+                context.getJournalUpdates().forEach(it -> {
+                    final var journalId = it.journal().id();
+                    if (it.newScimago() != null) {
+                        diff.addScimago(new QuartileChange(journalId, null, null, it.newScimago(), Collections.emptyMap()));
+                    }
+                    if (it.newWos() != null) {
+                        diff.addWos(new QuartileChange(journalId, null, null, it.newWos(), Collections.emptyMap()));
+                    }
+                    if (it.newImpactFactor() != null) {
+                        diff.addImpactFactor(new ImpactFactorChange(journalId, 0f, it.newImpactFactor().floatValue()));
+                    }
+                });
+                this.journalService.updateJournalIndicators(diff,
                         context.getScimagoEnable(), context.getWosEnable(), context.getImpactFactorsEnable(),
                         getLogger(), extendedProgression0);
+                this.jobService.markApplied(context.getJobIdentifier());
                 return terminationMessage0;
             };
         }
@@ -35,25 +35,33 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.data.provider.ListDataProvider;
 import com.vaadin.flow.dom.Style.AlignSelf;
 import com.vaadin.flow.i18n.LocaleChangeEvent;
+import com.vaadin.flow.router.BeforeEvent;
+import com.vaadin.flow.router.OptionalParameter;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestTarget;
 import fr.utbm.ciad.labmanager.data.user.UserRole;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.member.PersonService.PersonRankingChange;
+import fr.utbm.ciad.labmanager.services.member.PersonService.PersonRankingConsumer;
+import fr.utbm.ciad.labmanager.services.member.PersonService.PersonRankingProjection;
 import fr.utbm.ciad.labmanager.services.member.PersonService.PersonRankingUpdateInformation;
+import fr.utbm.ciad.labmanager.services.ranking.RankingHarvestJobService;
 import fr.utbm.ciad.labmanager.utils.SerializableExceptionProvider;
 import fr.utbm.ciad.labmanager.views.ViewConstants;
 import fr.utbm.ciad.labmanager.views.appviews.MainLayout;
 import fr.utbm.ciad.labmanager.views.appviews.persons.PersonRankingUpdaterWizard.PersonRankingUpdate;
 import fr.utbm.ciad.labmanager.views.appviews.persons.PersonRankingUpdaterWizard.PersonRankingUpdate.PersonNewInformation;
+import fr.utbm.ciad.labmanager.views.appviews.rankings.RankingHarvestJobsView;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
+import fr.utbm.ciad.labmanager.views.components.addons.logger.AbstractLoggerComposite;
 import fr.utbm.ciad.labmanager.views.components.addons.logger.ContextualLoggerFactory;
 import fr.utbm.ciad.labmanager.views.components.addons.progress.ProgressExtension;
 import fr.utbm.ciad.labmanager.views.components.addons.wizard.*;
 import io.overcoded.vaadin.wizard.WizardStep;
 import io.overcoded.vaadin.wizard.config.WizardConfigurationProperties;
 import jakarta.annotation.security.RolesAllowed;
-import jakarta.persistence.criteria.Predicate;
 import org.arakhne.afc.progress.Progression;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -64,6 +72,8 @@ import java.util.stream.Stream;
 
 /**
  * Wizard for updating the person rankings.
+ * The rankings are harvested by a server-side job of the {@link RankingHarvestJobService}. The job may be resumed
+ * with the {@code job} query parameter.
  *
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -77,16 +87,20 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
 
     private static final long serialVersionUID = 753864429342217682L;
 
+    private final RankingHarvestJobService jobService;
+
     /**
      * Constructor.
      *
      * @param loggerFactory the factory of the loggers.
      * @param personService the service for accessing the person entities.
+     * @param jobService    the service for accessing the jobs of harvesting of rankings.
      */
     public PersonRankingUpdaterWizard(
             @Autowired ContextualLoggerFactory loggerFactory,
-            @Autowired PersonService personService) {
-        this(loggerFactory, personService,
+            @Autowired PersonService personService,
+            @Autowired RankingHarvestJobService jobService) {
+        this(loggerFactory, personService, jobService,
                 defaultWizardConfiguration(null, false),
                 new PersonRankingUpdate());
     }
@@ -96,23 +110,41 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
      *
      * @param loggerFactory the factory of the loggers.
      * @param personService the service for accessing the person entities.
+     * @param jobService    the service for accessing the jobs of harvesting of rankings.
      * @param properties    the properties of the wizard.
      * @param context       the data context.
      */
     protected PersonRankingUpdaterWizard(
-            ContextualLoggerFactory loggerFactory, PersonService personService,
+            ContextualLoggerFactory loggerFactory, PersonService personService, RankingHarvestJobService jobService,
             WizardConfigurationProperties properties, PersonRankingUpdate context) {
-        this(properties, loggerFactory, context, Arrays.asList(
+        this(properties, loggerFactory, jobService, context, Arrays.asList(
                 new PersonInputWizardStep(context),
-                new PersonRankLoadingWizardStep(context, personService),
-                new PersonRankDownloadWizardStep(context, personService),
+                new PersonRankLoadingWizardStep(context, personService, jobService),
+                new PersonRankDownloadWizardStep(context, personService, jobService),
                 new PersonRankingSummaryWizardStep(context),
-                new PersonRankSavingWizardStep(context, personService)));
+                new PersonRankSavingWizardStep(context, personService, jobService)));
     }
 
     private PersonRankingUpdaterWizard(WizardConfigurationProperties properties, ContextualLoggerFactory loggerFactory,
-                                       PersonRankingUpdate context, List<WizardStep<PersonRankingUpdate>> steps) {
+                                       RankingHarvestJobService jobService, PersonRankingUpdate context,
+                                       List<WizardStep<PersonRankingUpdate>> steps) {
         super(properties, loggerFactory, context, steps);
+        this.jobService = jobService;
+    }
+
+    @Override
+    public void setParameter(BeforeEvent event, @OptionalParameter String parameter) {
+        super.setParameter(event, parameter);
+        final var job = this.jobService.getResumableJob(this.context.getJobIdentifier(), RankingHarvestTarget.PERSON);
+        if (job != null) {
+            // The parameters of the wizard are those of the resumed job
+            this.context.setWosEnable(job.hasOption(PersonService.WOS_RANKING_SOURCE));
+            this.context.setScopusEnable(job.hasOption(PersonService.SCOPUS_RANKING_SOURCE));
+            this.context.setGoogleScholarEnable(job.hasOption(PersonService.GOOGLE_SCHOLAR_RANKING_SOURCE));
+            this.context.setEntityIdentifiers(new ArrayList<>(this.jobService.getEntityIdentifiers(job.getId())));
+        } else {
+            this.context.setJobIdentifier(0);
+        }
     }
 
     private static boolean isEnabled(ToggleButton button) {
@@ -221,15 +253,19 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
 
         private final PersonService personService;
 
+        private final RankingHarvestJobService jobService;
+
         /**
          * Constructor.
          *
          * @param context       the data to be shared between the wizard steps.
          * @param personService the service for accessing to the persons' JPA entities.
+         * @param jobService    the service for accessing the jobs of harvesting of rankings.
          */
-        public PersonRankLoadingWizardStep(PersonRankingUpdate context, PersonService personService) {
+        public PersonRankLoadingWizardStep(PersonRankingUpdate context, PersonService personService, RankingHarvestJobService jobService) {
             super(context, ComponentFactory.getTranslation("views.persons.updateRankings.step2.title"), 2, 1, true, false);//$NON-NLS-1$
             this.personService = personService;
+            this.jobService = jobService;
         }
 
         @Override
@@ -246,28 +282,19 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
         @Override
         protected SerializableExceptionProvider<String> createAsynchronousTask(int taskNo, Progression progression) {
             final var terminationMessage = getWizard().orElseThrow().getTranslation("views.persons.updateRankings.step2.person_read"); //$NON-NLS-1$
+            final var owner = AbstractLoggerComposite.getAuthenticatedUserName();
             return () -> {
                 final var identifiers = getContext().getEntityIdentifiers();
                 progression.increment(5);
-                final List<Person> persons;
-                if (identifiers == null || identifiers.isEmpty()) {
-                    persons = this.personService.getAllPersons();
-                } else {
-                    persons = this.personService.getAllPersons((root, query, criteriaBuilder) -> {
-                        Predicate pred = null;
-                        for (final var id : identifiers) {
-                            final var p = criteriaBuilder.equal(root.get("id"), id); //$NON-NLS-1$
-                            if (pred == null) {
-                                pred = p;
-                            } else {
-                                pred = criteriaBuilder.or(pred, p);
-                            }
-                        }
-                        return pred;
-                    });
-                }
+                // Only compact projections of the persons are kept in the wizard context
+                final var persons = this.personService.getPersonRankingProjections(
+                        identifiers == null || identifiers.isEmpty() ? null : identifiers);
                 progression.increment(90);
                 getContext().setPersons(persons);
+                final var sources = getContext().getSources();
+                final var job = this.jobService.resumeOrCreateJob(getContext().getJobIdentifier(), RankingHarvestTarget.PERSON, 0,
+                        sources, sources, getContext().getPersonIdentifiers(), owner);
+                getContext().setJobIdentifier(job.getId());
                 return terminationMessage;
             };
         }
@@ -289,15 +316,31 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
 
         private final PersonService personService;
 
+        private final RankingHarvestJobService jobService;
+
         /**
          * Constructor.
          *
          * @param context       the data to be shared between the wizard steps.
          * @param personService the service for accessing to the persons' JPA entities.
+         * @param jobService    the service for accessing the jobs of harvesting of rankings.
          */
-        public PersonRankDownloadWizardStep(PersonRankingUpdate context, PersonService personService) {
+        public PersonRankDownloadWizardStep(PersonRankingUpdate context, PersonService personService, RankingHarvestJobService jobService) {
             super(context, ComponentFactory.getTranslation("views.persons.updateRankings.step3.title"), 3, 3, true, false);//$NON-NLS-1$
             this.personService = personService;
+            this.jobService = jobService;
+        }
+
+        private String harvest(String source, Progression progression, String terminationMessage, String failurePattern,
+                               PersonRankingConsumer consumer) throws Exception {
+            final var jobId = getContext().getJobIdentifier();
+            // The harvesting is run by the server; it continues if the user interface is closed
+            final var statistics = this.jobService.harvest(jobId, source, this.personService.getRankingHarvester(source),
+                    getLogger(), progression).get();
+            this.jobService.forEachResult(jobId, source, PersonRankingChange.class, (personId, change) -> {
+                consumer.consume(personId.longValue(), change.knownHindex(), change.newHindex(), change.knownCitations(), change.newCitations());
+            });
+            return RankingHarvestJobsView.formatTerminationMessage(failurePattern, terminationMessage, statistics);
         }
 
         @Override
@@ -344,57 +387,51 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
                     final var pattern0 = getWizard().orElseThrow().getTranslation("views.persons.updateRankings.step3.download_wos"); //$NON-NLS-1$
                     final var extendedProgression0 = ProgressExtension.withCommentFormatter(progression, it -> MessageFormat.format(pattern0, it));
                     final var terminationMessage0 = getWizard().orElseThrow().getTranslation("views.persons.updateRankings.step3.wos_downloaded"); //$NON-NLS-1$
+                    final var failurePattern0 = getWizard().orElseThrow().getTranslation("views.rankingHarvests.failures"); //$NON-NLS-1$
                     return () -> {
                         final var ewos = getContext().getWosEnable();
                         if (ewos) {
                             getContext().clearWosRankings();
-                            this.personService.downloadPersonIndicatorsFromWoS(
-                                    getContext().getPersons(),
-                                    getLogger(), extendedProgression0,
+                            return harvest(PersonService.WOS_RANKING_SOURCE, extendedProgression0, terminationMessage0, failurePattern0,
                                     (personId, oldHindex, newHindex, oldCitations, newCitations) -> {
                                         getContext().addWosRanking(personId, oldHindex, newHindex, oldCitations, newCitations);
                                     });
-                        } else {
-                            progression.end();
                         }
+                        progression.end();
                         return terminationMessage0;
                     };
                 case 1:
                     final var pattern1 = getWizard().orElseThrow().getTranslation("views.persons.updateRankings.step3.download_scopus"); //$NON-NLS-1$
                     final var extendedProgression1 = ProgressExtension.withCommentFormatter(progression, it -> MessageFormat.format(pattern1, it));
                     final var terminationMessage1 = getWizard().orElseThrow().getTranslation("views.persons.updateRankings.step3.scopus_downloaded"); //$NON-NLS-1$
+                    final var failurePattern1 = getWizard().orElseThrow().getTranslation("views.rankingHarvests.failures"); //$NON-NLS-1$
                     return () -> {
                         final var escopus = getContext().getScopusEnable();
                         if (escopus) {
                             getContext().clearScopusRankings();
-                            this.personService.downloadPersonIndicatorsFromScopus(
-                                    getContext().getPersons(),
-                                    getLogger(), extendedProgression1,
+                            return harvest(PersonService.SCOPUS_RANKING_SOURCE, extendedProgression1, terminationMessage1, failurePattern1,
                                     (personId, oldHindex, newHindex, oldCitations, newCitations) -> {
                                         getContext().addScopusRanking(personId, oldHindex, newHindex, oldCitations, newCitations);
                                     });
-                        } else {
-                            progression.end();
                         }
+                        progression.end();
                         return terminationMessage1;
                     };
                 case 2:
                     final var pattern2 = getWizard().orElseThrow().getTranslation("views.persons.updateRankings.step3.download_googlescholar"); //$NON-NLS-1$
                     final var extendedProgression2 = ProgressExtension.withCommentFormatter(progression, it -> MessageFormat.format(pattern2, it));
                     final var terminationMessage2 = getWizard().orElseThrow().getTranslation("views.persons.updateRankings.step3.googlescholar_downloaded"); //$NON-NLS-1$
+                    final var failurePattern2 = getWizard().orElseThrow().getTranslation("views.rankingHarvests.failures"); //$NON-NLS-1$
                     return () -> {
                         final var egs = getContext().getGoogleScholarEnable();
                         if (egs) {
                             getContext().clearGoogleScholarRankings();
-                            this.personService.downloadPersonIndicatorsFromGoogleScholar(
-                                    getContext().getPersons(),
-                                    getLogger(), extendedProgression2,
+                            return harvest(PersonService.GOOGLE_SCHOLAR_RANKING_SOURCE, extendedProgression2, terminationMessage2, failurePattern2,
                                     (personId, oldHindex, newHindex, oldCitations, newCitations) -> {
                                         getContext().addGoogleScholarRanking(personId, oldHindex, newHindex, oldCitations, newCitations);
                                     });
-                        } else {
-                            progression.end();
                         }
+                        progression.end();
                         return terminationMessage2;
                     };
                 default:
@@ -553,15 +590,19 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
 
         private final PersonService personService;
 
+        private final RankingHarvestJobService jobService;
+
         /**
          * Constructor.
          *
          * @param context       the data to be shared between the wizard steps.
          * @param personService the service for accessing to the persons' JPA entities.
+         * @param jobService    the service for accessing the jobs of harvesting of rankings.
          */
-        public PersonRankSavingWizardStep(PersonRankingUpdate context, PersonService personService) {
+        public PersonRankSavingWizardStep(PersonRankingUpdate context, PersonService personService, RankingHarvestJobService jobService) {
             super(context, ComponentFactory.getTranslation("views.journals.updateRankings.step5.title"), 5, 1, false, true);//$NON-NLS-1$
             this.personService = personService;
+            this.jobService = jobService;
         }
 
         @Override
@@ -593,18 +634,19 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
                 final var context = getContext();
                 this.personService.updatePersonIndicators(
                         context.getPersonUpdates().map(it -> {
-                            final var person = it.person();
+                            final var personId = it.person().id();
                             final var wosHindex = it.newWosHindex();
                             final var wosCitations = it.newWosCitations();
                             final var scopusHindex = it.newScopusHindex();
                             final var scopusCitations = it.newScopusCitations();
                             final var googleScholarHindex = it.newGoogleScholarHindex();
                             final var googleScholarCitations = it.newGoogleScholarCitations();
-                            return new PersonRankingUpdateInformation(person,
+                            return new PersonRankingUpdateInformation(personId,
                                     wosHindex, wosCitations, scopusHindex, scopusCitations, googleScholarHindex, googleScholarCitations);
                         }).toList(),
                         context.getWosEnable(), context.getScopusEnable(), context.getGoogleScholarEnable(),
                         getLogger(), extendedProgression0);
+                this.jobService.markApplied(context.getJobIdentifier());
                 return terminationMessage0;
             };
         }
@@ -629,7 +671,7 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
         private boolean googleScholarEnable = true;
         private boolean scopusEnable = true;
         private boolean wosEnable = true;
-        private List<Person> persons = new ArrayList<>();
+        private List<PersonRankingProjection> persons = new ArrayList<>();
 
         /**
          * Constructor.
@@ -659,16 +701,25 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
          *
          * @return the persons.
          */
-        public synchronized List<Person> getPersons() {
+        public synchronized List<PersonRankingProjection> getPersons() {
             return this.persons;
         }
 
+        /**
+         * Replies the identifiers of the persons.
+         *
+         * @return the identifiers.
+         */
+        public synchronized List<Long> getPersonIdentifiers() {
+            return this.persons.stream().map(it -> Long.valueOf(it.id())).toList();
+        }
+
         /**
          * Change the list of persons.
          *
          * @param persons the persons.
          */
-        public synchronized void setPersons(List<Person> persons) {
+        public synchronized void setPersons(List<PersonRankingProjection> persons) {
             assert persons != null;
             this.persons = persons;
         }
@@ -727,6 +778,25 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
             this.googleScholarEnable = enable;
         }
 
+        /**
+         * Replies the names of the sources that are enabled.
+         *
+         * @return the names of the sources, as defined by the {@link PersonService}.
+         */
+        public synchronized List<String> getSources() {
+            final var sources = new ArrayList<String>(3);
+            if (this.wosEnable) {
+                sources.add(PersonService.WOS_RANKING_SOURCE);
+            }
+            if (this.scopusEnable) {
+                sources.add(PersonService.SCOPUS_RANKING_SOURCE);
+            }
+            if (this.googleScholarEnable) {
+                sources.add(PersonService.GOOGLE_SCHOLAR_RANKING_SOURCE);
+            }
+            return sources;
+        }
+
         /**
          * Remove all the references to the WoS rankings.
          */
@@ -795,7 +865,7 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
         public Stream<PersonNewInformation> getPersonUpdates() {
             final var defaultRanking = new PersonRankingInformation(0, 0, 0, 0);
             return getPersons().stream().map(person -> {
-                final var personId = Long.valueOf(person.getId());
+                final var personId = Long.valueOf(person.id());
 
                 final var wos = this.wos.getOrDefault(personId, defaultRanking);
                 final var wosHindex = extractValue(wos.knownHindex(), wos.newHindex());
@@ -844,7 +914,7 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
         /**
          * Description of the information for a person.
          *
-         * @param person                    the person.
+         * @param person                    the projection of the person.
          * @param oldWosHindex              the old WOS H-index, or {@code null}.
          * @param newWosHindex              the new WOS H-index, or {@code null}.
          * @param oldWosCitations           the old WOS citations, or {@code null}.
@@ -863,7 +933,7 @@ public class PersonRankingUpdaterWizard extends AbstractLabManagerWizard<PersonR
          * @mavenartifactid $ArtifactId$
          * @since 4.0
          */
-        public record PersonNewInformation(Person person,
+        public record PersonNewInformation(PersonRankingProjection person,
                                            Integer oldWosHindex, Integer newWosHindex, Integer oldWosCitations,
                                            Integer newWosCitations,
                                            Integer oldScopusHindex, Integer newScopusHindex, Integer oldScopusCitations,
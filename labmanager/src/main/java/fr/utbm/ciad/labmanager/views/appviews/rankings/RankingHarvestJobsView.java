@@ -0,0 +1,265 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.views.appviews.rankings;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.dependency.Uses;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridVariant;
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.i18n.LocaleChangeEvent;
+import com.vaadin.flow.i18n.LocaleChangeObserver;
+import com.vaadin.flow.router.HasDynamicTitle;
+import com.vaadin.flow.router.Route;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestJob;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestJobStatus;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestTarget;
+import fr.utbm.ciad.labmanager.data.user.UserRole;
+import fr.utbm.ciad.labmanager.services.ranking.RankingHarvestJobService;
+import fr.utbm.ciad.labmanager.services.ranking.RankingHarvestStatistics;
+import fr.utbm.ciad.labmanager.views.appviews.MainLayout;
+import fr.utbm.ciad.labmanager.views.appviews.conferences.ConferenceRankingUpdaterWizard;
+import fr.utbm.ciad.labmanager.views.appviews.journals.JournalRankingUpdaterWizard;
+import fr.utbm.ciad.labmanager.views.appviews.persons.PersonRankingUpdaterWizard;
+import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
+import fr.utbm.ciad.labmanager.views.components.addons.logger.AbstractLoggerComposite;
+import fr.utbm.ciad.labmanager.views.components.addons.logger.ContextualLoggerFactory;
+import fr.utbm.ciad.labmanager.views.components.addons.wizard.AbstractLabManagerWizard;
+import jakarta.annotation.security.RolesAllowed;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.text.MessageFormat;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * Show the server-side jobs of harvesting of rankings for the persons, the journals and the conferences.
+ * An open job may be resumed in its wizard, in which only the entities that were not yet harvested, or for
+ * which the harvesting has failed, are harvested again. The harvested rankings are reviewed and applied in
+ * the wizard.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see RankingHarvestJobService
+ */
+@Route(value = "rankingharvests", layout = MainLayout.class)
+@RolesAllowed({UserRole.RESPONSIBLE_GRANT, UserRole.ADMIN_GRANT})
+@Uses(Icon.class)
+public class RankingHarvestJobsView extends AbstractLoggerComposite<VerticalLayout> implements HasDynamicTitle, LocaleChangeObserver {
+
+    private static final long serialVersionUID = -1470815658270651046L;
+
+    private final RankingHarvestJobService jobService;
+
+    private final Button refreshButton;
+
+    private final Button resumeButton;
+
+    private final Button cancelButton;
+
+    private final Button deleteButton;
+
+    private final Grid<JobRow> grid;
+
+    private final Grid.Column<JobRow> targetColumn;
+
+    private final Grid.Column<JobRow> yearColumn;
+
+    private final Grid.Column<JobRow> creationColumn;
+
+    private final Grid.Column<JobRow> updateColumn;
+
+    private final Grid.Column<JobRow> ownerColumn;
+
+    private final Grid.Column<JobRow> statusColumn;
+
+    private final Grid.Column<JobRow> pendingColumn;
+
+    private final Grid.Column<JobRow> succeededColumn;
+
+    private final Grid.Column<JobRow> skippedColumn;
+
+    private final Grid.Column<JobRow> failedColumn;
+
+    /**
+     * Constructor.
+     *
+     * @param jobService    the service for accessing the jobs of harvesting of rankings.
+     * @param loggerFactory the factory to be used for the composite logger.
+     */
+    public RankingHarvestJobsView(@Autowired RankingHarvestJobService jobService,
+                                  @Autowired ContextualLoggerFactory loggerFactory) {
+        super(loggerFactory);
+        this.jobService = jobService;
+
+        this.refreshButton = new Button(VaadinIcon.REFRESH.create(), event -> refresh());
+        this.resumeButton = new Button(VaadinIcon.PLAY.create(), event -> getSelectedJob().ifPresent(this::resume));
+        this.cancelButton = new Button(VaadinIcon.STOP.create(), event -> getSelectedJob().ifPresent(it -> {
+            this.jobService.cancel(it.getId());
+            refresh();
+        }));
+        this.deleteButton = new Button(VaadinIcon.TRASH.create(), event -> getSelectedJob().ifPresent(it -> {
+            if (this.jobService.isRunning(it.getId())) {
+                ComponentFactory.showWarningNotification(getTranslation("views.rankingHarvests.running")); //$NON-NLS-1$
+            } else {
+                this.jobService.removeJob(it.getId());
+                refresh();
+            }
+        }));
+
+        final var dateFormatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT);
+        this.grid = new Grid<>();
+        this.grid.addThemeVariants(GridVariant.LUMO_COMPACT);
+        this.targetColumn = this.grid.addColumn(it -> getTranslation("views.rankingHarvests.target." + it.job().getTarget().name().toLowerCase())) //$NON-NLS-1$
+                .setSortable(true).setAutoWidth(true);
+        this.yearColumn = this.grid.addColumn(it -> it.job().getReferenceYear() == 0 ? "" : Integer.toString(it.job().getReferenceYear())) //$NON-NLS-1$
+                .setSortable(true).setAutoWidth(true);
+        this.creationColumn = this.grid.addColumn(it -> it.job().getCreationDate() == null ? "" : dateFormatter.withLocale(getLocale()).format(it.job().getCreationDate())) //$NON-NLS-1$
+                .setAutoWidth(true);
+        this.updateColumn = this.grid.addColumn(it -> it.job().getLastUpdateDate() == null ? "" : dateFormatter.withLocale(getLocale()).format(it.job().getLastUpdateDate())) //$NON-NLS-1$
+                .setAutoWidth(true);
+        this.ownerColumn = this.grid.addColumn(it -> it.job().getOwner()).setSortable(true).setAutoWidth(true);
+        this.statusColumn = this.grid.addColumn(it -> getTranslation("views.rankingHarvests.status." + it.job().getStatus().name().toLowerCase())) //$NON-NLS-1$
+                .setSortable(true).setAutoWidth(true);
+        this.pendingColumn = this.grid.addColumn(it -> it.statistics().pending()).setSortable(true).setAutoWidth(true);
+        this.succeededColumn = this.grid.addColumn(it -> it.statistics().succeeded()).setSortable(true).setAutoWidth(true);
+        this.skippedColumn = this.grid.addColumn(it -> it.statistics().skipped()).setSortable(true).setAutoWidth(true);
+        this.failedColumn = this.grid.addColumn(it -> it.statistics().failed()).setSortable(true).setAutoWidth(true);
+        this.grid.addSelectionListener(event -> updateButtons());
+
+        final var root = getContent();
+        root.setSizeFull();
+        root.add(new HorizontalLayout(this.refreshButton, this.resumeButton, this.cancelButton, this.deleteButton), this.grid);
+
+        refresh();
+    }
+
+    /**
+     * Build the termination message of a step of harvesting. The message mentions the number of entities for which
+     * the harvesting has failed, if any.
+     *
+     * @param failurePattern     the pattern of the message with failures, with the termination message as
+     *                           first parameter and the number of failures as second parameter.
+     * @param terminationMessage the termination message without failure.
+     * @param statistics         the statistics of the harvesting.
+     * @return the message.
+     */
+    public static String formatTerminationMessage(String failurePattern, String terminationMessage, RankingHarvestStatistics statistics) {
+        if (statistics != null && statistics.failed() > 0) {
+            return MessageFormat.format(failurePattern, terminationMessage, Integer.valueOf(statistics.failed()));
+        }
+        return terminationMessage;
+    }
+
+    /**
+     * Reload the jobs and their statistics.
+     */
+    protected void refresh() {
+        final var rows = new ArrayList<JobRow>();
+        for (final var job : this.jobService.getAllJobs()) {
+            rows.add(new JobRow(job, this.jobService.getStatistics(job.getId())));
+        }
+        this.grid.setItems(rows);
+        updateButtons();
+    }
+
+    private Optional<RankingHarvestJob> getSelectedJob() {
+        return this.grid.getSelectedItems().stream().findFirst().map(JobRow::job);
+    }
+
+    private void updateButtons() {
+        final var open = getSelectedJob().map(it -> it.getStatus() == RankingHarvestJobStatus.OPEN).orElse(Boolean.FALSE).booleanValue();
+        this.resumeButton.setEnabled(open);
+        this.cancelButton.setEnabled(open);
+        this.deleteButton.setEnabled(getSelectedJob().isPresent());
+    }
+
+    /**
+     * Open the wizard that corresponds to the given job in order to resume it.
+     *
+     * @param job the job to resume.
+     */
+    protected void resume(RankingHarvestJob job) {
+        final var parameters = AbstractLabManagerWizard.buildJobQueryParameters(job.getId(), getClass());
+        getUI().ifPresent(ui -> ui.navigate(getWizardType(job.getTarget()), parameters));
+    }
+
+    private static Class<? extends Component> getWizardType(RankingHarvestTarget target) {
+        switch (target) {
+            case PERSON:
+                return PersonRankingUpdaterWizard.class;
+            case JOURNAL:
+                return JournalRankingUpdaterWizard.class;
+            case CONFERENCE:
+                return ConferenceRankingUpdaterWizard.class;
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    @Override
+    public String getPageTitle() {
+        return getTranslation("views.rankingHarvests.title"); //$NON-NLS-1$
+    }
+
+    @Override
+    public void localeChange(LocaleChangeEvent event) {
+        this.refreshButton.setText(getTranslation("views.rankingHarvests.refresh")); //$NON-NLS-1$
+        this.resumeButton.setText(getTranslation("views.rankingHarvests.resume")); //$NON-NLS-1$
+        this.cancelButton.setText(getTranslation("views.rankingHarvests.cancel")); //$NON-NLS-1$
+        this.deleteButton.setText(getTranslation("views.rankingHarvests.delete")); //$NON-NLS-1$
+        this.targetColumn.setHeader(getTranslation("views.rankingHarvests.target")); //$NON-NLS-1$
+        this.yearColumn.setHeader(getTranslation("views.rankingHarvests.year")); //$NON-NLS-1$
+        this.creationColumn.setHeader(getTranslation("views.rankingHarvests.creation_date")); //$NON-NLS-1$
+        this.updateColumn.setHeader(getTranslation("views.rankingHarvests.update_date")); //$NON-NLS-1$
+        this.ownerColumn.setHeader(getTranslation("views.rankingHarvests.owner")); //$NON-NLS-1$
+        this.statusColumn.setHeader(getTranslation("views.rankingHarvests.status")); //$NON-NLS-1$
+        this.pendingColumn.setHeader(getTranslation("views.rankingHarvests.pending")); //$NON-NLS-1$
+        this.succeededColumn.setHeader(getTranslation("views.rankingHarvests.succeeded")); //$NON-NLS-1$
+        this.skippedColumn.setHeader(getTranslation("views.rankingHarvests.skipped")); //$NON-NLS-1$
+        this.failedColumn.setHeader(getTranslation("views.rankingHarvests.failed")); //$NON-NLS-1$
+        this.grid.getDataProvider().refreshAll();
+    }
+
+    /**
+     * Row of the grid of jobs.
+     *
+     * @param job        the job.
+     * @param statistics the statistics of the checkpoints of the job.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private record JobRow(RankingHarvestJob job, RankingHarvestStatistics statistics) {
+        //
+    }
+
+}
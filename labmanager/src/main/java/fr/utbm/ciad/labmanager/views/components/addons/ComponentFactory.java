@@ -49,6 +49,7 @@ import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.LocaleUtil;
 import com.vaadin.flow.server.StreamResource;
+import fr.utbm.ciad.labmanager.Constants;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
 import fr.utbm.ciad.labmanager.data.conference.Conference;
 import fr.utbm.ciad.labmanager.data.journal.Journal;
@@ -70,10 +71,12 @@ import jakarta.persistence.criteria.Root;
 import org.apache.commons.lang3.StringUtils;
 import org.arakhne.afc.vmutil.FileSystem;
 import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.web.util.UriUtils;
 import org.vaadin.lineawesome.LineAwesomeIcon;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -114,6 +117,8 @@ public final class ComponentFactory {
 
     private static final String FOR_ONE = "_"; //$NON-NLS-1$
 
+    private static final String DOWNLOADABLE_FILE_URL_PREFIX = "api/v" + Constants.MANAGER_MAJOR_VERSION + "/files/"; //$NON-NLS-1$ //$NON-NLS-2$
+
     private ComponentFactory() {
         //
     }
@@ -223,6 +228,24 @@ public final class ComponentFactory {
         });
     }
 
+    /**
+     * Replies the URL for downloading the given public file from the file delivery endpoint of the application.
+     * The file is streamed by the endpoint and is not kept in the memory of the user session.
+     *
+     * @param path the path of the file that is stored in the entities, e.g. {@code Downloadables/PDFs/PDF1.pdf}.
+     * @return the URL relative to the base URL of the application, or {@code null} if the path is empty.
+     */
+    public static String newDownloadableFileURL(String path) {
+        if (Strings.isNullOrEmpty(path)) {
+            return null;
+        }
+        var relativePath = path.replace('\\', '/');
+        while (relativePath.startsWith("/")) { //$NON-NLS-1$
+            relativePath = relativePath.substring(1);
+        }
+        return DOWNLOADABLE_FILE_URL_PREFIX + UriUtils.encodePath(relativePath, StandardCharsets.UTF_8);
+    }
+
     /**
      * Create a menu item with an icon and text and add it into the given receiver.
      *
@@ -1143,14 +1166,8 @@ public final class ComponentFactory {
         if (organization.isMajorOrganization()) {
             avatar.setAvatarBorderColor(Integer.valueOf(3));
         }
-        if (fileManager != null) {
-            var logoFile = FileSystem.convertStringToFile(logo);
-            if (logoFile != null) {
-                logoFile = fileManager.normalizeForServerSide(logoFile);
-                if (logoFile != null) {
-                    avatar.setAvatarResource(ComponentFactory.newStreamImage(logoFile));
-                }
-            }
+        if (fileManager != null && FileSystem.convertStringToFile(logo) != null) {
+            avatar.setAvatarURL(newDownloadableFileURL(logo));
         }
         return avatar;
     }
@@ -1360,15 +1377,9 @@ public final class ComponentFactory {
         final var avatar = new AvatarItem();
         avatar.setHeading(acronym);
         var emptyLogo = true;
-        if (fileManager != null) {
-            var logoFile = FileSystem.convertStringToFile(logo);
-            if (logoFile != null) {
-                logoFile = fileManager.normalizeForServerSide(logoFile);
-                if (logoFile != null) {
-                    avatar.setAvatarResource(ComponentFactory.newStreamImage(logoFile));
-                    emptyLogo = false;
-                }
-            }
+        if (fileManager != null && FileSystem.convertStringToFile(logo) != null) {
+            avatar.setAvatarURL(newDownloadableFileURL(logo));
+            emptyLogo = false;
         }
         if (emptyLogo) {
             avatar.setAvatarResource(ComponentFactory.newEmptyBackgroundStreamImage());
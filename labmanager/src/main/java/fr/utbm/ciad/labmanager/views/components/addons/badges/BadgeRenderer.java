@@ -21,6 +21,8 @@ package fr.utbm.ciad.labmanager.views.components.addons.badges;
 
 import com.google.common.base.Strings;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.component.html.AnchorTarget;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.function.SerializableBiConsumer;
@@ -55,7 +57,7 @@ public class BadgeRenderer<ITEM> extends ComponentRenderer<Component, ITEM> {
     private static <ITEM> SerializableFunction<ITEM, Component> createComponentFunction(SerializableBiConsumer<ITEM, ComponentCreator> componentFunction) {
         return it -> {
             final var component = new OutputParameter<Component>();
-            final ComponentCreator creator = (badgeState, badgeText, badgeLabel) -> {
+            final ComponentCreator creator = (badgeState, badgeText, badgeLabel, badgeLink) -> {
                 final var state = BadgeState.orDefault(badgeState);
                 final var vaadinIcon = state.getIcon();
                 final var isEmpty = Strings.isNullOrEmpty(badgeText);
@@ -81,6 +83,11 @@ public class BadgeRenderer<ITEM> extends ComponentRenderer<Component, ITEM> {
                     // Tooltip
                     createdComponent.getElement().setAttribute("title", badgeLabel); //$NON-NLS-1$
                 }
+                if (!Strings.isNullOrEmpty(badgeLink)) {
+                    final var anchor = new Anchor(badgeLink, createdComponent);
+                    anchor.setTarget(AnchorTarget.BLANK);
+                    createdComponent = anchor;
+                }
                 component.set(createdComponent);
             };
             componentFunction.accept(it, creator);
@@ -107,7 +114,19 @@ public class BadgeRenderer<ITEM> extends ComponentRenderer<Component, ITEM> {
          * @param badgeText  the text to put in the badge.
          * @param badgeLabel the accessibility and tooltip label.
          */
-        void create(BadgeState state, String badgeText, String badgeLabel);
+        default void create(BadgeState state, String badgeText, String badgeLabel) {
+            create(state, badgeText, badgeLabel, null);
+        }
+
+        /**
+         * Create the component that is a link to the given URL.
+         *
+         * @param state      the stage of the badge.
+         * @param badgeText  the text to put in the badge.
+         * @param badgeLabel the accessibility and tooltip label.
+         * @param badgeLink  the URL that is opened when the badge is clicked, or {@code null} if the badge is not a link.
+         */
+        void create(BadgeState state, String badgeText, String badgeLabel, String badgeLink);
 
     }
 
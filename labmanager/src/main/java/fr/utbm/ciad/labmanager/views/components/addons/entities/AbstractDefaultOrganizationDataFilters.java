@@ -120,14 +120,8 @@ public abstract class AbstractDefaultOrganizationDataFilters<T> extends Abstract
     @SuppressWarnings("static-method")
     protected void updateDefaultOrganizationIconInToggleButton(AvatarItem organizationAvatar, ResearchOrganization defaultOrganization, FileManager fileManager) {
         final var logo = defaultOrganization.getPathToLogo();
-        if (!Strings.isNullOrEmpty(logo)) {
-            var logoFile = FileSystem.convertStringToFile(logo);
-            if (logoFile != null) {
-                logoFile = fileManager.normalizeForServerSide(logoFile);
-                if (logoFile != null) {
-                    organizationAvatar.setAvatarResource(ComponentFactory.newStreamImage(logoFile));
-                }
-            }
+        if (!Strings.isNullOrEmpty(logo) && FileSystem.convertStringToFile(logo) != null) {
+            organizationAvatar.setAvatarURL(ComponentFactory.newDownloadableFileURL(logo));
         }
     }
 
@@ -19,6 +19,9 @@
 package fr.utbm.ciad.labmanager.views.components.addons.entities;
 
 import com.vaadin.componentfactory.ToggleButton;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.contextmenu.MenuItem;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.dependency.Uses;
@@ -37,8 +40,10 @@ import com.vaadin.flow.data.provider.SortDirection;
 import com.vaadin.flow.i18n.LocaleChangeEvent;
 import com.vaadin.flow.i18n.LocaleChangeObserver;
 import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.theme.lumo.LumoIcon;
 import com.vaadin.flow.theme.lumo.LumoUtility;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.security.AuthenticatedUser;
@@ -115,6 +120,8 @@ public abstract class AbstractGridBaseEntityListView<T extends IdentifiableEntit
 
     private MenuItem deleteButton;
 
+    private transient List<Registration> entityChangeRegistrations;
+
     /**
      * Constructor.
      *
@@ -610,6 +617,104 @@ public abstract class AbstractGridBaseEntityListView<T extends IdentifiableEntit
         }
     }
 
+    /**
+     * Replies the types of the entities for which the changes made by the other users must be reflected in the grid.
+     * By default, it is the type of the listed entities.
+     *
+     * @return the types of the observed entities.
+     */
+    protected List<Class<?>> getObservedEntityTypes() {
+        if (this.entityType == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(this.entityType);
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        final var types = getObservedEntityTypes();
+        final var service = VaadinService.getCurrent();
+        if (this.entityChangeRegistrations == null && !types.isEmpty() && service != null) {
+            final var broadcaster = service.getInstantiator().getOrCreate(EntityChangeBroadcaster.class);
+            if (broadcaster != null && broadcaster.isEnabled()) {
+                final var refresher = createEntityChangeRefresher(attachEvent.getUI());
+                this.entityChangeRegistrations = new ArrayList<>(types.size());
+                for (final var type : types) {
+                    this.entityChangeRegistrations.add(broadcaster.register(type, refresher::receive));
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        if (this.entityChangeRegistrations != null) {
+            this.entityChangeRegistrations.forEach(Registration::remove);
+            this.entityChangeRegistrations = null;
+        }
+        super.onDetach(detachEvent);
+    }
+
+    private EntityChangeGridRefresher<T> createEntityChangeRefresher(UI ui) {
+        return new EntityChangeGridRefresher<>(this.entityType, ui) {
+
+            private static final long serialVersionUID = -5106932466408151239L;
+
+            @Override
+            protected void access(Runnable code) {
+                ui.access(code::run);
+            }
+
+            @Override
+            protected T loadEntity(long id) {
+                return loadEntityForGrid(id);
+            }
+
+            @Override
+            protected void refreshItem(T entity) {
+                AbstractGridBaseEntityListView.this.refreshItem(entity);
+            }
+
+            @Override
+            protected void deselect(long id) {
+                final var grid = getGrid();
+                for (final var selected : grid.getSelectedItems()) {
+                    if (selected.getId() == id) {
+                        grid.deselect(selected);
+                    }
+                }
+            }
+
+            @Override
+            protected void refreshAll() {
+                refreshGridAfterExternalChanges();
+            }
+
+        };
+    }
+
+    /**
+     * Load from the database the entity with the given identifier, with the data that is needed for rendering its row.
+     * This function is invoked when the entity was changed by another user. By default, it replies {@code null} and
+     * the rows of the grid are all reloaded. Subclasses may override this function for reloading only the changed row.
+     *
+     * @param id the identifier of the entity.
+     * @return the entity, or {@code null} for reloading all the rows.
+     * @see #refreshGridAfterExternalChanges()
+     */
+    protected T loadEntityForGrid(long id) {
+        return null;
+    }
+
+    /**
+     * Refresh the grid content after entities were changed by other users.
+     * In opposite to {@link #refreshGrid()}, the selection is not reset.
+     */
+    protected void refreshGridAfterExternalChanges() {
+        this.grid.getDataProvider().refreshAll();
+    }
+
     @Override
     public void localeChange(LocaleChangeEvent event) {
         final var abt = getAddButton();
@@ -181,6 +181,11 @@ public abstract class AbstractTwoLevelTreeListView<R extends IdentifiableEntity,
         return this.childEntityType;
     }
 
+    @Override
+    protected List<Class<?>> getObservedEntityTypes() {
+        return List.of(this.rootEntityType, this.childEntityType);
+    }
+
     /**
      * Replies if the hover menu should be created.
      *
@@ -0,0 +1,138 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.views.components.addons.entities;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeEvent;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeKind;
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Apply to a grid the changes of the entities that were committed by the other users.
+ * The instances of the entities that are attached to the change events belong to the sessions of the other users;
+ * they are never put into the grid. The updated rows are reloaded from the database by their identifiers, and the
+ * creations and the deletions are grouped together for running a single refresh of the grid.
+ *
+ * @param <T> the type of the entities in the grid.
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see AbstractGridBaseEntityListView
+ */
+public abstract class EntityChangeGridRefresher<T extends IdentifiableEntity> implements Serializable {
+
+    private static final long serialVersionUID = 1394761853037102837L;
+
+    private final Class<T> entityType;
+
+    private final Object origin;
+
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    /**
+     * Constructor.
+     *
+     * @param entityType the type of the entities in the grid.
+     * @param origin     the origin of the changes that are made by the grid itself, i.e., its user interface.
+     */
+    public EntityChangeGridRefresher(Class<T> entityType, Object origin) {
+        this.entityType = entityType;
+        this.origin = origin;
+    }
+
+    /**
+     * Invoked from the thread of the broadcaster when an observed entity was changed.
+     *
+     * @param event the description of the change.
+     */
+    public void receive(EntityChangeEvent event) {
+        if (event.origin() == this.origin) {
+            // The grid has already been refreshed after its own changes
+            return;
+        }
+        final var listed = this.entityType != null && event.isFor(this.entityType);
+        if (listed && event.kind() == EntityChangeKind.UPDATED) {
+            final var id = event.id();
+            access(() -> {
+                final var entity = loadEntity(id);
+                if (entity != null) {
+                    refreshItem(entity);
+                } else {
+                    scheduleRefresh();
+                }
+            });
+        } else {
+            if (listed && event.kind() == EntityChangeKind.DELETED) {
+                final var id = event.id();
+                access(() -> deselect(id));
+            }
+            scheduleRefresh();
+        }
+    }
+
+    private void scheduleRefresh() {
+        if (this.refreshPending.compareAndSet(false, true)) {
+            access(() -> {
+                this.refreshPending.set(false);
+                refreshAll();
+            });
+        }
+    }
+
+    /**
+     * Run the given code with the lock on the user interface of the grid.
+     *
+     * @param code the code to run.
+     */
+    protected abstract void access(Runnable code);
+
+    /**
+     * Load from the database the entity with the given identifier, with the data that is needed for rendering its row.
+     *
+     * @param id the identifier of the entity.
+     * @return the entity, or {@code null} if the entity cannot be loaded individually and the whole grid must be refreshed.
+     */
+    protected abstract T loadEntity(long id);
+
+    /**
+     * Replace the row of the given entity in the grid.
+     *
+     * @param entity the reloaded entity.
+     */
+    protected abstract void refreshItem(T entity);
+
+    /**
+     * Remove the entity with the given identifier from the selection of the grid.
+     *
+     * @param id the identifier of the deleted entity.
+     */
+    protected abstract void deselect(long id);
+
+    /**
+     * Refresh all the rows of the grid.
+     */
+    protected abstract void refreshAll();
+
+}
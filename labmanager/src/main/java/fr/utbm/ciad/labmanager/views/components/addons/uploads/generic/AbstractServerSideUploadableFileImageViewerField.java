@@ -24,8 +24,10 @@ import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
 import org.slf4j.Logger;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 /**
  * A field that enables to upload a file and show an image representation, and to write the uploaded file in a
@@ -85,13 +87,25 @@ public abstract class AbstractServerSideUploadableFileImageViewerField<T> extend
             if (buffer == null) {
                 throw new IOException("No memory buffer"); //$NON-NLS-1$
             }
-            outputFile.getParentFile().mkdirs();
-            try (final var outputStream = new FileOutputStream(outputFile)) {
-                try (final var inputStream = buffer.getInputStream()) {
-                    inputStream.transferTo(outputStream);
-                }
+            try (final var inputStream = buffer.getInputStream()) {
+                writeFileOnServer(outputFile, inputStream);
             }
         }
     }
 
+    /**
+     * Write the given content into the given file of the server file system. The existing file is replaced
+     * and not written in place.
+     *
+     * @param outputFile output filename for the content.
+     * @param content    the content to write.
+     * @throws IOException if the content cannot be written.
+     * @since 4.0
+     */
+    @SuppressWarnings("static-method")
+    protected void writeFileOnServer(File outputFile, InputStream content) throws IOException {
+        outputFile.getParentFile().mkdirs();
+        Files.copy(content, outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
 }
\ No newline at end of file
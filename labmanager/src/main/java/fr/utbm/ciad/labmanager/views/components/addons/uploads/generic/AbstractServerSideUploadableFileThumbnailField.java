@@ -193,10 +193,8 @@ public abstract class AbstractServerSideUploadableFileThumbnailField<T> extends
         // Generate the thumbnail for the uploaded file
         if (this.thumbnail != null) {
             final var thumbnailFile = toServerSideThumbnailFile(output);
-            try (final var outputStream = new FileOutputStream(thumbnailFile)) {
-                try (final var inputStream = new ByteArrayInputStream(this.thumbnail)) {
-                    inputStream.transferTo(outputStream);
-                }
+            try (final var inputStream = new ByteArrayInputStream(this.thumbnail)) {
+                writeFileOnServer(thumbnailFile, inputStream);
             }
         } else {
             final var fm = getFileManager();
@@ -206,6 +204,16 @@ public abstract class AbstractServerSideUploadableFileThumbnailField<T> extends
         }
     }
 
+    @Override
+    protected void writeFileOnServer(File outputFile, InputStream content) throws IOException {
+        final var fm = getFileManager();
+        if (fm != null) {
+            fm.saveFile(outputFile, content);
+        } else {
+            super.writeFileOnServer(outputFile, content);
+        }
+    }
+
     @Override
     public void saveUploadedFileOnServer() throws IOException {
         final var filename = getFileManager().normalizeForServerSide(getFilenameSupplier().get());
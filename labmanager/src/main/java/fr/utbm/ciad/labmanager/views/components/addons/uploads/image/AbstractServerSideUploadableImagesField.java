@@ -25,8 +25,10 @@ import fr.utbm.ciad.labmanager.views.components.addons.uploads.generic.AbstractU
 import org.slf4j.Logger;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 /**
  * A field that enables to upload an image and show the image representations of the uploaded files.
@@ -66,17 +68,28 @@ public abstract class AbstractServerSideUploadableImagesField<T> extends Abstrac
      * @param buffer     the buffer that contains the uploaded data to be saved on the server.
      * @throws IOException if the data cannot be saved.
      */
-    @SuppressWarnings("static-method")
     protected void saveUploadedFileOnServer(File outputFile, ResetableMemoryBuffer buffer) throws IOException {
         assert buffer != null;
         if (buffer.hasFileData()) {
-            outputFile.getParentFile().mkdirs();
-            try (final var outputStream = new FileOutputStream(outputFile)) {
-                try (final var inputStream = buffer.getInputStream()) {
-                    inputStream.transferTo(outputStream);
-                }
+            try (final var inputStream = buffer.getInputStream()) {
+                writeFileOnServer(outputFile, inputStream);
             }
         }
     }
 
+    /**
+     * Write the given content into the given file of the server file system. The existing file is replaced
+     * and not written in place.
+     *
+     * @param outputFile output filename for the content.
+     * @param content    the content to write.
+     * @throws IOException if the content cannot be written.
+     * @since 4.0
+     */
+    @SuppressWarnings("static-method")
+    protected void writeFileOnServer(File outputFile, InputStream content) throws IOException {
+        outputFile.getParentFile().mkdirs();
+        Files.copy(content, outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
 }
\ No newline at end of file
@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * A field that enables to upload and show an image, and to write the image in a
@@ -138,6 +139,11 @@ public class ServerSideUploadableImageField extends AbstractServerSideUploadable
         }
     }
 
+    @Override
+    protected void writeFileOnServer(File outputFile, InputStream content) throws IOException {
+        this.fileManager.saveFile(outputFile, content);
+    }
+
     @Override
     public void saveUploadedFileOnServer() throws IOException {
         final var filename = this.fileManager.normalizeForServerSide(this.filenameSupplier.get());
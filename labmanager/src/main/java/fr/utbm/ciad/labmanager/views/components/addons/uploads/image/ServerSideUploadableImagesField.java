@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -89,6 +90,11 @@ public class ServerSideUploadableImagesField extends AbstractServerSideUploadabl
         super.updateValue();
     }
 
+    @Override
+    protected void writeFileOnServer(File outputFile, InputStream content) throws IOException {
+        this.fileManager.saveFile(outputFile, content);
+    }
+
     @Override
     public void saveUploadedFileOnServer() throws IOException {
         for (final var thumbnail : getThumbnails().toList()) {
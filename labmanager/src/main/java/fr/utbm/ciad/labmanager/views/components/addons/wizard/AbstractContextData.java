@@ -39,6 +39,8 @@ public abstract class AbstractContextData implements Serializable {
 
     private final List<Long> entityIdentifiers = new ArrayList<>();
 
+    private long jobIdentifier;
+
     /**
      * Constructor.
      */
@@ -65,4 +67,22 @@ public abstract class AbstractContextData implements Serializable {
         this.entityIdentifiers.addAll(identifiers);
     }
 
+    /**
+     * Replies the identifier of the server-side job that is run or resumed by the wizard.
+     *
+     * @return the identifier of the job, or {@code 0} if there is no job.
+     */
+    public synchronized long getJobIdentifier() {
+        return this.jobIdentifier;
+    }
+
+    /**
+     * Change the identifier of the server-side job that is run or resumed by the wizard.
+     *
+     * @param identifier the identifier of the job, or {@code 0} if there is no job.
+     */
+    public synchronized void setJobIdentifier(long identifier) {
+        this.jobIdentifier = Math.max(0, identifier);
+    }
+
 }
@@ -60,6 +60,8 @@ public abstract class AbstractLabManagerWizard<T extends AbstractContextData> ex
 
     private static final String TERMINATION_VIEW_KEY = "termination"; //$NON-NLS-1$
 
+    private static final String JOB_KEY = "job"; //$NON-NLS-1$
+
     private final ContextualLoggerFactory loggerFactory;
 
     private SoftReference<Logger> logger;
@@ -128,6 +130,23 @@ public abstract class AbstractLabManagerWizard<T extends AbstractContextData> ex
         return new QueryParameters(map);
     }
 
+    /**
+     * Build route parameters for this wizard that contains the identifier of a server-side job to resume.
+     *
+     * @param jobId      the identifier of the job.
+     * @param targetView the view that should be added at the end of the wizard.
+     * @return the route parameters.
+     * @see AbstractContextData#getJobIdentifier()
+     */
+    public static QueryParameters buildJobQueryParameters(long jobId, Class<? extends Component> targetView) {
+        final var map = new HashMap<String, List<String>>();
+        map.put(JOB_KEY, Collections.singletonList(Long.toString(jobId)));
+        if (targetView != null) {
+            map.put(TERMINATION_VIEW_KEY, Collections.singletonList(targetView.getName()));
+        }
+        return new QueryParameters(map);
+    }
+
     /**
      * Extract the entity identifiers from the route parameters or the query parameters.
      *
@@ -213,6 +232,11 @@ public abstract class AbstractLabManagerWizard<T extends AbstractContextData> ex
         this.context.setEntityIdentifiers(extractParameters(parameter, queryParams).toList());
 
         if (queryParams != null) {
+            final var jobs = queryParams.getParameters(JOB_KEY);
+            if (jobs != null) {
+                jobs.stream().filter(it -> Pattern.matches("^[0-9]+$", it)).findFirst() //$NON-NLS-1$
+                        .ifPresent(it -> this.context.setJobIdentifier(Long.parseLong(it)));
+            }
             final var list = queryParams.getParameters(TERMINATION_VIEW_KEY);
             if (list != null && !list.isEmpty()) {
                 for (final var name : list) {
@@ -1,11 +1,19 @@
 package fr.utbm.ciad.labmanager.views.components.charts.layout;
 
 import com.storedobject.chart.SOChart;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.Unit;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.combobox.MultiSelectComboBox;
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.server.VaadinService;
+import fr.utbm.ciad.labmanager.services.publication.PublicationChartDataService;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountsPerTypeAndYear;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import fr.utbm.ciad.labmanager.views.components.addons.value.YearRange;
 import fr.utbm.ciad.labmanager.views.components.charts.factory.PublicationCategoryChartFactory;
@@ -33,6 +41,7 @@ public abstract class AbstractPublicationCategoryLayout<T extends PublicationCat
     private final PublicationService publicationService;
     private final MultiSelectComboBox multiSelectComboBox;
     private final HorizontalLayout chartHorizontalLayout;
+    private final VerticalLayout loadingPlaceholder;
     private final YearRange yearRange;
     private final List<ChartObserver> observers = new ArrayList<>();
     private PublicationCategoryChartFactory<T> factory;
@@ -42,6 +51,8 @@ public abstract class AbstractPublicationCategoryLayout<T extends PublicationCat
     private String chartWidth;
     private String chartHeight;
     private boolean isFormHidden = false;
+    private ChartRequest pendingRequest;
+    private int requestCount;
 
     public AbstractPublicationCategoryLayout(@Autowired PublicationService publicationService,
                                              PublicationCategoryChartFactory<T> factory,
@@ -82,6 +93,13 @@ public abstract class AbstractPublicationCategoryLayout<T extends PublicationCat
         chartHorizontalLayout = new HorizontalLayout();
         chartHorizontalLayout.setWidthFull();
 
+        final var loadingProgress = new ProgressBar();
+        loadingProgress.setIndeterminate(true);
+        loadingPlaceholder = new VerticalLayout(new Span(getTranslation("views.charts.loading")), loadingProgress);
+        loadingPlaceholder.setPadding(false);
+        loadingPlaceholder.setVisible(false);
+        chartHorizontalLayout.add(loadingPlaceholder);
+
         HorizontalLayout validationHorizontalLayout = new HorizontalLayout();
         validationHorizontalLayout.setWidthFull();
 
@@ -130,16 +148,72 @@ public abstract class AbstractPublicationCategoryLayout<T extends PublicationCat
 
     }
 
+    /**
+     * Request the creation of the chart. The data of the chart are loaded in a background thread, and a placeholder is
+     * shown until they are available. If the layout is not yet attached to the user interface, the loading starts when
+     * it is attached.
+     */
     private void createChart(Set<String> multiSelectComboBoxItems, Integer yearRangeStartValue, Integer yearRangeEndValue) {
+        final var request = new ChartRequest(List.copyOf(multiSelectComboBoxItems), yearRangeStartValue,
+                yearRange.getEnd().isEmpty() ? null : yearRangeEndValue);
+        final var requestId = ++this.requestCount;
+        loadingPlaceholder.setVisible(true);
+        final var ui = getUI();
+        if (ui.isPresent()) {
+            loadChart(ui.get(), request, requestId);
+        } else {
+            this.pendingRequest = request;
+        }
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        final var request = this.pendingRequest;
+        if (request != null) {
+            this.pendingRequest = null;
+            loadChart(attachEvent.getUI(), request, this.requestCount);
+        }
+    }
+
+    private void loadChart(UI ui, ChartRequest request, int requestId) {
+        final var service = VaadinService.getCurrent();
+        final var dataService = service == null ? null : service.getInstantiator().getOrCreate(PublicationChartDataService.class);
+        if (dataService == null) {
+            showChart(request, null);
+            return;
+        }
+        final int endYear = request.end() == null ? request.start().intValue() : request.end().intValue();
+        dataService.getPublicationCounts(request.start().intValue(), endYear).whenComplete((counts, error) -> {
+            try {
+                ui.access(() -> {
+                    // Ignore the data if the chart was changed or removed in the meantime
+                    if (requestId == this.requestCount) {
+                        // The counts are queried from the database if they cannot be loaded in background
+                        showChart(request, error == null ? counts : null);
+                    }
+                });
+            } catch (UIDetachedException ex) {
+                //
+            }
+        });
+    }
+
+    private void showChart(ChartRequest request, PublicationCountsPerTypeAndYear counts) {
+        loadingPlaceholder.setVisible(false);
+        if (soChart != null) {
+            chartHorizontalLayout.remove(soChart);
+        }
 
         this.chart = factory.create(this.publicationService);
-        if (yearRange.getEnd().isEmpty()) {
-            chart.setYear(yearRangeStartValue);
+        this.chart.setPublicationCounts(counts);
+        if (request.end() == null) {
+            chart.setYear(request.start());
         } else {
-            chart.setPeriod(yearRangeStartValue, yearRangeEndValue);
+            chart.setPeriod(request.start(), request.end());
         }
 
-        for (String item : multiSelectComboBoxItems) {
+        for (String item : request.items()) {
             this.chart.addData(item);
         }
 
@@ -169,8 +243,11 @@ public abstract class AbstractPublicationCategoryLayout<T extends PublicationCat
 
     @Override
     public void refreshChart() {
-        if (soChart != null) {
-            chartHorizontalLayout.remove(soChart);
+        if (soChart != null || loadingPlaceholder.isVisible()) {
+            if (soChart != null) {
+                chartHorizontalLayout.remove(soChart);
+                soChart = null;
+            }
             createChart();
         }
     }
@@ -214,6 +291,9 @@ public abstract class AbstractPublicationCategoryLayout<T extends PublicationCat
      * to indicate the edit mode.
      */
     public void removeChart() {
+        ++this.requestCount;
+        this.pendingRequest = null;
+        loadingPlaceholder.setVisible(false);
         if (soChart != null) {
             chartHorizontalLayout.remove(soChart);
             soChart = null;
@@ -225,12 +305,12 @@ public abstract class AbstractPublicationCategoryLayout<T extends PublicationCat
     }
 
     /**
-     * Checks if a chart has been generated
+     * Checks if a chart has been generated, or if its data are loading
      *
      * @return true if a chart has been generated, false otherwise
      */
     public boolean isChartGenerated() {
-        return soChart != null;
+        return soChart != null || loadingPlaceholder.isVisible();
     }
 
     public Integer getYearRangeStartValue() {
@@ -259,4 +339,21 @@ public abstract class AbstractPublicationCategoryLayout<T extends PublicationCat
             observer.onChartGenerated();
         }
     }
+
+    /**
+     * Description of the chart to be created.
+     *
+     * @param items the selected publication categories.
+     * @param start the first year.
+     * @param end   the last year, or {@code null} if the chart is for a single year.
+     * @author $Author: sgalland$
+     * @version $Name$ $Revision$ $Date$
+     * @mavengroupid $GroupId$
+     * @mavenartifactid $ArtifactId$
+     * @since 4.0
+     */
+    private record ChartRequest(List<String> items, Integer start, Integer end) {
+        //
+    }
+
 }
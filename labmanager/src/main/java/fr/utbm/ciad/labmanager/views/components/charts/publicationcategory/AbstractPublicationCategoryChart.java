@@ -3,6 +3,7 @@ package fr.utbm.ciad.labmanager.views.components.charts.publicationcategory;
 import com.storedobject.chart.Size;
 import com.storedobject.chart.Toolbox;
 import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountsPerTypeAndYear;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import fr.utbm.ciad.labmanager.views.components.charts.AbstractSOChartChart;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +29,7 @@ public abstract class AbstractPublicationCategoryChart extends AbstractSOChartCh
     private final List<Integer> years;
     protected PublicationService publicationService;
     protected Toolbox toolbox;
+    private PublicationCountsPerTypeAndYear publicationCounts;
 
     /**
      * Constructor.
@@ -72,5 +74,29 @@ public abstract class AbstractPublicationCategoryChart extends AbstractSOChartCh
         return years;
     }
 
+    @Override
+    public void setPublicationCounts(PublicationCountsPerTypeAndYear counts) {
+        this.publicationCounts = counts;
+    }
+
+    /**
+     * Replies the number of publications of the given types during the given year.
+     * The preloaded counts are used when they cover the year; otherwise the publication service is queried.
+     *
+     * @param types the types of publication.
+     * @param year  the year.
+     * @return the number of publications.
+     */
+    protected int countPublications(List<PublicationType> types, Integer year) {
+        if (this.publicationCounts != null && this.publicationCounts.covers(year.intValue())) {
+            return this.publicationCounts.getCount(types, year.intValue());
+        }
+        var total = 0;
+        for (final var type : types) {
+            total += this.publicationService.countPublicationsByTypeAndYear(type, year).intValue();
+        }
+        return total;
+    }
+
 }
 
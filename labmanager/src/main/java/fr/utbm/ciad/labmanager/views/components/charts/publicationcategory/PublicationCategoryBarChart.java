@@ -89,19 +89,13 @@ public class PublicationCategoryBarChart extends AbstractPublicationCategoryChar
      */
     public void addData(String chosenCategory) {
         Data data = new Data();
-        Integer countTypePublicationV2;
         List<PublicationType> temporaryPublicationTypeList = publicationTypes.stream().filter(publicationType -> Objects.equals(publicationType.getCategory(true).toString(), chosenCategory)).toList();
-        Integer totalYearCount = 0;
+        final int[] counts = new int[getYears().size()];
         for (int x = 0; x < getYears().size(); x++) {
-            for (PublicationType publicationType : temporaryPublicationTypeList) {
-                countTypePublicationV2 = this.publicationService.countPublicationsByTypeAndYear(publicationType, getYears().get(x));
-                totalYearCount += countTypePublicationV2;
-                totalPublication.set(x, countTypePublicationV2 + totalPublication.get(x));
-
-            }
-            data.add(totalYearCount);
-            totalYearCount = 0;
+            counts[x] = countPublications(temporaryPublicationTypeList, getYears().get(x));
+            data.add(counts[x]);
         }
+        updateTotals(totalPublication, counts, false);
 
 
         BarChart barChart = new BarChart(categoryData, data);
@@ -121,17 +115,34 @@ public class PublicationCategoryBarChart extends AbstractPublicationCategoryChar
      */
     public void removeData(String chosenCategory) {
         BarChart barChart = findBarChart(chosenCategory);
-        Integer countTypePublicationV2;
         List<PublicationType> temporaryPublicationTypeList = publicationTypes.stream().filter(publicationType -> Objects.equals(publicationType.getCategory(true).toString(), chosenCategory)).toList();
+        final int[] counts = new int[getYears().size()];
         for (int x = 0; x < getYears().size(); x++) {
-            for (PublicationType publicationType : temporaryPublicationTypeList) {
-                countTypePublicationV2 = this.publicationService.countPublicationsByTypeAndYear(publicationType, getYears().get(x));
-                totalPublication.set(x, countTypePublicationV2 - totalPublication.get(x));
-            }
+            counts[x] = countPublications(temporaryPublicationTypeList, getYears().get(x));
         }
+        updateTotals(totalPublication, counts, true);
         barChartList.remove(barChart);
     }
 
+    /**
+     * Update the total numbers of publications per year when a category is added to or removed from the chart.
+     * The numbers of publications of the category are added to the totals, or subtracted from them when the
+     * category is removed.
+     *
+     * @param totals  the total numbers of publications per year, that are updated.
+     * @param counts  the numbers of publications of the category per year.
+     * @param removal indicates if the category is removed from the chart.
+     */
+    public static void updateTotals(List<Integer> totals, int[] counts, boolean removal) {
+        for (int x = 0; x < counts.length; x++) {
+            if (removal) {
+                totals.set(x, totals.get(x) - counts[x]);
+            } else {
+                totals.set(x, totals.get(x) + counts[x]);
+            }
+        }
+    }
+
     /**
      * Replies the created chart (from SOChart library). The multiple bar charts needs to be plotted on a Coordinate System
      * in order to be displayed on the UI. Creation of a line chart in order to show the evolution of the number of publication.
@@ -1,6 +1,7 @@
 package fr.utbm.ciad.labmanager.views.components.charts.publicationcategory;
 
 import com.storedobject.chart.SOChart;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountsPerTypeAndYear;
 import fr.utbm.ciad.labmanager.views.components.charts.Chart;
 
 /**
@@ -51,4 +52,12 @@ public interface PublicationCategoryChart extends Chart {
      */
     void setPeriod(Integer start, Integer end);
 
+    /**
+     * Provides the counts of publications that were loaded in advance. These counts are used by {@link #addData(String)}
+     * in place of querying the database for each type of publication and each year.
+     *
+     * @param counts the counts of publications, or {@code null} for querying the database.
+     */
+    void setPublicationCounts(PublicationCountsPerTypeAndYear counts);
+
 }
@@ -44,15 +44,10 @@ public class PublicationCategoryNightingaleRoseChart extends AbstractPublication
      * @param chosenCategory the name of the chosen category.
      */
     public void addData(String chosenCategory) {
-        Integer countTypePublicationV2;
         List<PublicationType> temporaryPublicationTypeList = getPublicationTypeList().stream().filter(publicationType -> Objects.equals(publicationType.getCategory(true).toString(), chosenCategory)).toList();
         Integer total = 0;
         for (int x = 0; x < years.size(); x++) {
-            for (PublicationType publicationType : temporaryPublicationTypeList) {
-                countTypePublicationV2 = this.publicationService.countPublicationsByTypeAndYear(publicationType, years.get(x));
-                total += countTypePublicationV2;
-
-            }
+            total += countPublications(temporaryPublicationTypeList, years.get(x));
         }
         totalPublication += total;
         publicationCategories.put(chosenCategory, total);
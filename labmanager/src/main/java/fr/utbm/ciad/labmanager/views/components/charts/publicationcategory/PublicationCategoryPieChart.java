@@ -48,15 +48,10 @@ public class PublicationCategoryPieChart extends AbstractPublicationCategoryChar
      * @param item the name of the chosen item.
      */
     public void addData(String chosenCategory) {
-        Integer countTypePublicationV2;
         List<PublicationType> temporaryPublicationTypeList = getPublicationTypeList().stream().filter(publicationType -> Objects.equals(publicationType.getCategory(true).toString(), chosenCategory)).toList();
         Integer total = 0;
         for (int x = 0; x < years.size(); x++) {
-            for (PublicationType publicationType : temporaryPublicationTypeList) {
-                countTypePublicationV2 = this.publicationService.countPublicationsByTypeAndYear(publicationType, years.get(x));
-                total += countTypePublicationV2;
-
-            }
+            total += countPublications(temporaryPublicationTypeList, years.get(x));
         }
         totalPublication += total;
         publicationCategories.put(chosenCategory, total);
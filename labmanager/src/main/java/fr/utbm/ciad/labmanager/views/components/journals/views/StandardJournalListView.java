@@ -248,6 +248,14 @@ public class StandardJournalListView extends AbstractEntityListView<Journal> {
         };
     }
 
+    @Override
+    protected Journal loadEntityForGrid(long id) {
+        final var page = this.journalService.getAllJournals(PageRequest.of(0, 1),
+                (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), Long.valueOf(id)), //$NON-NLS-1$
+                this::initializeEntityFromJPA);
+        return page.isEmpty() ? null : page.getContent().get(0);
+    }
+
     @Override
     protected void addEntity() {
         openJournalEditor(new Journal(), getTranslation("views.journals.add_journal"), true); //$NON-NLS-1$
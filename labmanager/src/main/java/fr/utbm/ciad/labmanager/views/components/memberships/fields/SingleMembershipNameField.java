@@ -28,6 +28,7 @@ import fr.utbm.ciad.labmanager.services.member.MembershipService;
 import fr.utbm.ciad.labmanager.views.components.addons.ComponentFactory;
 import fr.utbm.ciad.labmanager.views.components.addons.entities.AbstractSingleEntityNameField;
 import fr.utbm.ciad.labmanager.views.components.memberships.editors.MembershipEditorFactory;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -73,7 +74,7 @@ public class SingleMembershipNameField extends AbstractSingleEntityNameField<Mem
                     combo.setItems(query -> membershipService.getSupervisableMemberships(
                             VaadinSpringDataHelpers.toSpringPageRequest(query),
                             createMembershipFilter(query.getFilter()),
-                            entityInitializer).stream());
+                            it -> initializeMembership(it, entityInitializer)).stream());
                 },
                 creationWithUiCallback, creationWithoutUiCallback);
     }
@@ -112,6 +113,15 @@ public class SingleMembershipNameField extends AbstractSingleEntityNameField<Mem
                 entityInitializer);
     }
 
+    private static void initializeMembership(Membership membership, Consumer<Membership> entityInitializer) {
+        // The person and the organization are rendered by the combo box, outside the JPA session
+        Hibernate.initialize(membership.getPerson());
+        Hibernate.initialize(membership.getDirectResearchOrganization());
+        if (entityInitializer != null) {
+            entityInitializer.accept(membership);
+        }
+    }
+
     private static Specification<Membership> createMembershipFilter(Optional<String> filter) {
         if (filter.isPresent()) {
             return (root, query, criteriaBuilder) -> {
@@ -122,8 +122,13 @@ public class StandardMembershipListView extends AbstractTwoLevelTreeListView<Per
         setHoverMenu(isAdminRole());
         setRootEntityFetcher(
                 (parentId, pageRequest, filters) -> {
-                    return this.membershipService.getAllPersonsWithMemberships(pageRequest, filters,
-                            it -> Hibernate.initialize(it.getMemberships()));
+                    return this.membershipService.getAllPersonsWithMemberships(pageRequest, filters, it -> {
+                        Hibernate.initialize(it.getMemberships());
+                        for (final var membership : it.getMemberships()) {
+                            Hibernate.initialize(membership.getDirectResearchOrganization());
+                            Hibernate.initialize(membership.getSuperResearchOrganization());
+                        }
+                    });
                 },
                 (rootEntity) -> {
                     return rootEntity.getMemberships().size();
@@ -6,10 +6,22 @@ import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
 import fr.utbm.ciad.labmanager.views.components.addons.entities.AbstractEntityCreationStatusComputer;
 import fr.utbm.ciad.labmanager.views.components.addons.entities.EntityCreationStatus;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.arakhne.afc.progress.Progression;
 import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Tool for computing the status or the similarity of a publication compared to the content of the database.
  *
@@ -40,32 +52,94 @@ public class PublicationCreationStatusComputer extends AbstractEntityCreationSta
         this.publicationService = publicationService;
     }
 
+    private static void initializeExistingPublication(Publication publication) {
+        Hibernate.initialize(publication.getAuthorshipsRaw());
+        // The names of the authors are compared to those of the new publication
+        for (final var authorship : publication.getAuthorshipsRaw()) {
+            Hibernate.initialize(authorship.getPerson());
+        }
+        // Force the loading of all the data that is required for obtaining the place where the publication was published
+        publication.getPublicationTarget();
+    }
+
     @Override
     public EntityCreationStatus computeEntityCreationStatusFor(Publication newEntity) {
         if (newEntity != null) {
-            final var publications = this.publicationService.getPublicationsBySimilarTitle(newEntity.getTitle(), it -> {
-                Hibernate.initialize(it.getAuthorshipsRaw());
-                // Force the loading of all the data that is required for obtaining the place where the publication was published
-                it.getPublicationTarget();
-            });
-            if (!publications.isEmpty()) {
-                final var newPublicationTarget = newEntity.getPublicationTarget();
-                final var newPublicationAuthors = newEntity.getAuthors();
-                for (final var existingPublication : publications) {
-                    final var existingPublicationTarget = existingPublication.getPublicationTarget();
-                    if (isSimilar(newPublicationTarget, existingPublicationTarget)) {
-                        // Same publication target
-                        if (!isSimilarPersonList(newPublicationAuthors, existingPublication.getAuthors())) {
-                            return EntityCreationStatus.SAME_TITLE_AND_PUBLISHING_VECTOR_BUT_DIFFERENT_AUTHORS;
-                        }
-                        return EntityCreationStatus.SAME_TITLE_AND_PUBLISHING_VECTOR;
+            final var publications = this.publicationService.getPublicationsBySimilarTitle(newEntity.getTitle(),
+                    PublicationCreationStatusComputer::initializeExistingPublication);
+            return computeEntityCreationStatusFor(newEntity, publications);
+        }
+        return EntityCreationStatus.NO_ERROR;
+    }
+
+    /**
+     * Compute the creation statuses of the given new publications.
+     * Comparing to {@link #computeEntityCreationStatusFor(Publication)} that is invoked for each publication,
+     * the duplicate candidates are searched in an index of all the publications that is built once for the whole batch,
+     * and the candidates are loaded with a single query.
+     *
+     * @param newEntities the new publications.
+     * @param progression the progression indicator, or {@code null}.
+     * @return the statuses, in the same order as the given publications.
+     * @see PublicationService#newPublicationDuplicateIndex()
+     */
+    public List<EntityCreationStatus> computeEntityCreationStatusesFor(List<? extends Publication> newEntities, Progression progression) {
+        final var progress = progression == null ? new DefaultProgression() : progression;
+        progress.setProperties(0, 0, newEntities.size() + 2, false);
+        final var index = this.publicationService.newPublicationDuplicateIndex();
+        progress.increment();
+
+        final var candidates = new ArrayList<Set<Long>>(newEntities.size());
+        final var allCandidates = new TreeSet<Long>();
+        for (final var newEntity : newEntities) {
+            final var ids = newEntity == null ? Collections.<Long>emptySet() : index.getDuplicateCandidates(newEntity);
+            candidates.add(ids);
+            allCandidates.addAll(ids);
+            progress.increment();
+        }
+
+        final Map<Long, Publication> existingPublications;
+        if (allCandidates.isEmpty()) {
+            existingPublications = Collections.emptyMap();
+        } else {
+            existingPublications = this.publicationService.getPublicationsByIds(allCandidates,
+                            PublicationCreationStatusComputer::initializeExistingPublication)
+                    .stream().collect(Collectors.toMap(it -> Long.valueOf(it.getId()), Function.identity()));
+        }
+        progress.increment();
+
+        final var statuses = new ArrayList<EntityCreationStatus>(newEntities.size());
+        for (var i = 0; i < newEntities.size(); ++i) {
+            final var newEntity = newEntities.get(i);
+            if (newEntity == null) {
+                statuses.add(EntityCreationStatus.NO_ERROR);
+            } else {
+                final var publications = candidates.get(i).stream().map(existingPublications::get).filter(Objects::nonNull).toList();
+                statuses.add(computeEntityCreationStatusFor(newEntity, publications));
+            }
+        }
+        progress.end();
+        return statuses;
+    }
+
+    private EntityCreationStatus computeEntityCreationStatusFor(Publication newEntity, List<Publication> publications) {
+        if (!publications.isEmpty()) {
+            final var newPublicationTarget = newEntity.getPublicationTarget();
+            final var newPublicationAuthors = newEntity.getAuthors();
+            for (final var existingPublication : publications) {
+                final var existingPublicationTarget = existingPublication.getPublicationTarget();
+                if (isSimilar(newPublicationTarget, existingPublicationTarget)) {
+                    // Same publication target
+                    if (!isSimilarPersonList(newPublicationAuthors, existingPublication.getAuthors())) {
+                        return EntityCreationStatus.SAME_TITLE_AND_PUBLISHING_VECTOR_BUT_DIFFERENT_AUTHORS;
                     }
+                    return EntityCreationStatus.SAME_TITLE_AND_PUBLISHING_VECTOR;
                 }
-                return EntityCreationStatus.SAME_TITLE_AND_DIFFERENT_PUBLISHING_VECTORS;
-            }
-            if (Strings.isNullOrEmpty(newEntity.getAbstractText())) {
-                return EntityCreationStatus.MISSED_ABSTRACT_TEXT;
             }
+            return EntityCreationStatus.SAME_TITLE_AND_DIFFERENT_PUBLISHING_VECTORS;
+        }
+        if (Strings.isNullOrEmpty(newEntity.getAbstractText())) {
+            return EntityCreationStatus.MISSED_ABSTRACT_TEXT;
         }
         return EntityCreationStatus.NO_ERROR;
     }
@@ -19,6 +19,7 @@
 
 package fr.utbm.ciad.labmanager.views.components.publications.imports;
 
+import com.google.common.collect.Lists;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Html;
 import com.vaadin.flow.component.Unit;
@@ -63,6 +64,7 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
@@ -274,24 +276,27 @@ public class DefaultPublicationImportWizard extends AbstractLabManagerWizard<Imp
                     throw new IllegalStateException();
             }
             return () -> {
-                extendedProgression0.setProperties(0, 0, buffers.size() + 1, false);
+                extendedProgression0.setProperties(0, 0, buffers.size() + 2, false);
                 getContext().getQualifiedPublications().clear();
                 extendedProgression0.increment();
+                final var publications = new ArrayList<Publication>();
                 for (final var buffer : buffers) {
                     final var progress1 = extendedProgression0.subTask(1);
                     progress1.setComment(buffer.getFileName());
                     try (final var reader = new BufferedReader(new InputStreamReader(buffer.getInputStream()))) {
                         final var pubs = readerFunction.apply(reader, progress1);
-                        if (pubs != null && !pubs.isEmpty()) {
-                            for (final var publication : pubs) {
-                                final var status = this.statusComputer.computeEntityCreationStatusFor(publication);
-                                getContext().getQualifiedPublications().add(new QualifiedPublication(publication, status));
-                            }
+                        if (pubs != null) {
+                            publications.addAll(pubs);
                         }
                     } finally {
                         progress1.end();
                     }
                 }
+                // The duplicates are searched for all the read publications at once
+                final var statuses = this.statusComputer.computeEntityCreationStatusesFor(publications, extendedProgression0.subTask(1));
+                for (var i = 0; i < publications.size(); ++i) {
+                    getContext().getQualifiedPublications().add(new QualifiedPublication(publications.get(i), statuses.get(i)));
+                }
                 return terminationMessage0;
             };
         }
@@ -559,6 +564,11 @@ public class DefaultPublicationImportWizard extends AbstractLabManagerWizard<Imp
      */
     protected static class PublicationSavingStep extends AbstractLabManagerProgressionWizardStep<ImportData> {
 
+        /**
+         * Number of publications that are saved within a single transaction.
+         */
+        public static final int SAVING_GROUP_SIZE = 32;
+
         private static final long serialVersionUID = -746055790359217141L;
 
         private final PublicationService publicationService;
@@ -607,16 +617,18 @@ public class DefaultPublicationImportWizard extends AbstractLabManagerWizard<Imp
             return () -> {
                 final var publications = getContext().getImportablePublications();
                 extendedProgression0.setProperties(0, 0, publications.size(), false);
-                for (final var publication : publications) {
-                    final var comment = toPublicationString(publication);
-                    extendedProgression0.setComment(comment);
+                // The publications are saved by groups, each group within a single transaction
+                for (final var group : Lists.partition(publications, SAVING_GROUP_SIZE)) {
+                    extendedProgression0.setComment(toPublicationString(group.get(0)));
                     try {
-                        final var savingContext = this.publicationService.startEditing(publication, getLogger());
-                        savingContext.save();
+                        // The saving is notified when the transaction of the group is committed
+                        final var saved = this.publicationService.saveNewPublications(group, getLogger());
+                        extendedProgression0.setComment(toPublicationString(saved.get(saved.size() - 1)));
                     } catch (Throwable ex) {
+                        final var comment = group.stream().map(PublicationSavingStep::toPublicationString).collect(Collectors.joining("\n")); //$NON-NLS-1$
                         throw new RuntimeException(comment, ex);
                     } finally {
-                        extendedProgression0.increment();
+                        extendedProgression0.increment(group.size());
                     }
                 }
                 return terminationMessage0;
@@ -379,6 +379,9 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
     protected void initializeEntityFromJPA(Publication entity) {
         // Force the loaded of the lazy data that is needed for rendering the table
         Hibernate.initialize(entity.getAuthorships());
+        for (final var authorship : entity.getAuthorships()) {
+            Hibernate.initialize(authorship.getPerson());
+        }
         // Force the loading of all the data that is required for obtaining the place where the publication was published
         entity.getWherePublishedShortDescription();
     }
@@ -410,7 +413,8 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
                     if (Strings.isNullOrEmpty(filename)) {
                         callback.create(BadgeState.ERROR, getTranslation("views.publication.no_pdf"), null); //$NON-NLS-1$
                     } else {
-                        callback.create(BadgeState.SUCCESS, getTranslation("views.publication.pdf"), filename); //$NON-NLS-1$
+                        callback.create(BadgeState.SUCCESS, getTranslation("views.publication.pdf"), filename, //$NON-NLS-1$
+                                ComponentFactory.newDownloadableFileURL(filename));
                     }
                 }))
                 .setAutoWidth(false);
@@ -782,6 +786,8 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 
     /**
      * Specification that is validating publications of specific type.
+     * The types are tested with a single {@code IN} predicate whose values are bound as parameters, in order to
+     * share the same query plan whatever the supported types.
      *
      * @author $Author: sgalland$
      * @version $Name$ $Revision$ $Date$
@@ -795,10 +801,7 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 
         @Override
         public Predicate toPredicate(Root<Publication> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
-            final var predicates = getSupportedPublicationTypes()
-                    .map(it -> criteriaBuilder.equal(root.get("type"), it)) //$NON-NLS-1$
-                    .toArray(size -> new Predicate[size]);
-            return criteriaBuilder.or(predicates);
+            return root.get("type").in(getSupportedPublicationTypes().toList()); //$NON-NLS-1$
         }
 
     }
@@ -111,8 +111,8 @@ public class StandardSupervisionListView extends AbstractEntityListView<Supervis
     }
 
     private void initializeEntityFromJPA(Supervision entity) {
-        // Force the loaded of the lazy data that is needed for rendering the table
-        Hibernate.initialize(entity.getSupervisedPerson());
+        // Force the loaded of the lazy data that is needed for rendering the table.
+        // The supervised membership and its person are already fetched by the query of the repository.
         Hibernate.initialize(entity.getSupervisors());
         entity.getSupervisors().forEach(it -> {
             Hibernate.initialize(it.getSupervisor());
@@ -141,10 +141,9 @@ public class StandardTeachingActivitiesListView extends AbstractEntityListView<T
         var slidesFile = FileSystem.convertStringToFile(slides);
         var needPicture = true;
         if (slidesFile != null) {
-            var picture = this.fileManager.toThumbnailFilename(slidesFile);
-            picture = this.fileManager.normalizeForServerSide(picture);
+            final var picture = this.fileManager.toThumbnailFilename(slidesFile);
             if (picture != null) {
-                avatar.setAvatarResource(ComponentFactory.newStreamImage(picture));
+                avatar.setAvatarURL(ComponentFactory.newDownloadableFileURL(picture.getPath()));
                 needPicture = false;
             }
         }
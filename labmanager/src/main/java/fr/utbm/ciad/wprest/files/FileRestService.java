@@ -0,0 +1,68 @@
+package fr.utbm.ciad.wprest.files;
+
+import fr.utbm.ciad.labmanager.Constants;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileDelivery;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST controller for downloading the public files that are managed by the application, e.g.
+ * the PDF of the publications, the award certificates, the slides, the logos and the thumbnails.
+ *
+ * <p>Base URL: /api/v{majorVersion}/files</p>
+ *
+ * <p>The path after the base URL is the path of the file that is stored in the entities, e.g.
+ * {@code /api/v4/files/Downloadables/PDFs/PDF123.pdf}. The files are streamed without being loaded
+ * in memory; HTTP byte ranges and conditional requests are supported.</p>
+ *
+ * @see DownloadableFileDelivery
+ */
+@RestController
+@RequestMapping("/api/v" + Constants.MANAGER_MAJOR_VERSION + "/files")
+public class FileRestService {
+
+    private final DownloadableFileDelivery fileDelivery;
+
+    public FileRestService(@Autowired DownloadableFileDelivery fileDelivery) {
+        this.fileDelivery = fileDelivery;
+    }
+
+    /**
+     * Send the file with the given path.
+     *
+     * @param path     the path of the file, relative to the upload folder.
+     * @param request  the HTTP request.
+     * @param response the HTTP response.
+     * @throws IOException if the file cannot be sent.
+     */
+    @Operation(summary = "Downloads a public file",
+            description = "Downloads a public file with support of the HTTP byte ranges and of the conditional requests",
+            tags = {"File API"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The content of the file"),
+                    @ApiResponse(responseCode = "206", description = "The requested range of the file"),
+                    @ApiResponse(responseCode = "304", description = "The file has not changed"),
+                    @ApiResponse(responseCode = "404", description = "The file does not exist or is not public"),
+                    @ApiResponse(responseCode = "416", description = "The requested range cannot be satisfied"),
+                    @ApiResponse(responseCode = "503", description = "Too many concurrent downloads"),
+            })
+    @RequestMapping(value = "/{*path}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void getFile(@PathVariable String path, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        final var file = this.fileDelivery.getDeliverableFile(path);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        this.fileDelivery.deliver(file, request, response, !RequestMethod.HEAD.name().equals(request.getMethod()));
+    }
+
+}
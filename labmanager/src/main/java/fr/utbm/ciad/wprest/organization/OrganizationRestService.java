@@ -2,16 +2,22 @@ package fr.utbm.ciad.wprest.organization;
 
 import fr.utbm.ciad.labmanager.Constants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
-import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.member.Responsibility;
 import fr.utbm.ciad.labmanager.data.organization.OrganizationAddress;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.services.indicator.GlobalIndicatorsService;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRoster;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRosterService;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationActivityReport;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationActivityReportService;
 import fr.utbm.ciad.labmanager.services.organization.OrganizationAddressService;
 import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import fr.utbm.ciad.wprest.data.PersonOnWebsite;
+import fr.utbm.ciad.wprest.organization.data.OrganizationActivityData;
 import fr.utbm.ciad.wprest.organization.data.OrganizationMemberData;
+import fr.utbm.ciad.wprest.organization.data.OrganizationPersonActivityData;
+import fr.utbm.ciad.wprest.organization.data.dto.OrganizationActivitiesDTO;
 import fr.utbm.ciad.wprest.organization.data.dto.OrganizationAddressDTO;
 import fr.utbm.ciad.wprest.organization.data.dto.OrganizationMembersDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -31,6 +37,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -54,21 +61,32 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/v" + Constants.MANAGER_MAJOR_VERSION + "/organizations")
 public class OrganizationRestService {
 
+    /**
+     * Maximum number of years that could be requested for the activities of the members.
+     */
+    public static final int MAX_ACTIVITY_YEARS = 10;
+
     private final Logger logger = LoggerFactory.getLogger(OrganizationRestService.class);
 
     OrganizationAddressService organizationAddressService;
     ResearchOrganizationService researchOrganizationService;
     PublicationService publicationService;
     GlobalIndicatorsService globalIndicatorsService;
+    OrganizationRosterService organizationRosterService;
+    OrganizationActivityReportService organizationActivityReportService;
 
     public OrganizationRestService(@Autowired OrganizationAddressService organizationAddressService,
                                    @Autowired ResearchOrganizationService researchOrganizationService,
                                    @Autowired PublicationService publicationService,
-                                   @Autowired GlobalIndicatorsService globalIndicatorsService) {
+                                   @Autowired GlobalIndicatorsService globalIndicatorsService,
+                                   @Autowired OrganizationRosterService organizationRosterService,
+                                   @Autowired OrganizationActivityReportService organizationActivityReportService) {
         this.organizationAddressService = organizationAddressService;
         this.researchOrganizationService = researchOrganizationService;
         this.publicationService = publicationService;
         this.globalIndicatorsService = globalIndicatorsService;
+        this.organizationRosterService = organizationRosterService;
+        this.organizationActivityReportService = organizationActivityReportService;
     }
 
     /**
@@ -164,6 +182,80 @@ public class OrganizationRestService {
         return ResponseEntity.ok(indicatorsMap);
     }
 
+    /**
+     * Retrieves the teaching, supervision and jury activities of the members of a specific organization and of its
+     * suborganizations, by either its ID or acronym.
+     * The activities are personal data; this endpoint is restricted to the responsibles and the administrators,
+     * and the range of years cannot exceed {@link #MAX_ACTIVITY_YEARS}.
+     *
+     * @param id        the ID of the organization (optional)
+     * @param acronym   the acronym of the organization (optional)
+     * @param startYear the first year of the activities (optional, default = current year)
+     * @param endYear   the last year of the activities (optional, default = start year)
+     * @return a response containing the activities of the members or HTTP 400 / 404 errors
+     */
+    @Operation(summary = "Retrieves the activities of the organization members", description = "Fetches the teaching hours, the supervisions and the jury participations of the members of a specific organization, per year.", tags = {"Organization API"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the activities of the organization members", content = @Content(schema = @Schema(implementation = OrganizationActivitiesDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request if both or neither id and acronym are provided, or if the range of years is invalid or longer than " + MAX_ACTIVITY_YEARS + " years"),
+            @ApiResponse(responseCode = "403", description = "Forbidden if the user is not a responsible or an administrator"),
+            @ApiResponse(responseCode = "404", description = "Not Found if no organization is found with the provided ID or acronym.")
+    })
+
+    @GetMapping("/activities")
+    public ResponseEntity<OrganizationActivitiesDTO> getActivities(
+            @RequestParam(required = false) Long id,
+            @RequestParam(required = false) String acronym,
+            @RequestParam(required = false) Integer startYear,
+            @RequestParam(required = false) Integer endYear
+    ) {
+        Optional<ResearchOrganization> organizationOptional = getOrganization(id, acronym);
+        ResponseEntity<OrganizationActivitiesDTO> errorPage = getErrorPage(id, acronym, organizationOptional);
+
+        if (errorPage != null) {
+            return errorPage;
+        }
+
+        ResearchOrganization organization = organizationOptional.get();
+        int start = startYear != null ? startYear.intValue() : LocalDate.now().getYear();
+        int end = endYear != null ? endYear.intValue() : start;
+        if (end < start || end - start >= MAX_ACTIVITY_YEARS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        OrganizationActivityReport report = organizationActivityReportService.getActivityReport(organization.getId(), start, end);
+
+        List<OrganizationPersonActivityData> members = new ArrayList<>();
+        for (OrganizationActivityReport.ReportedPerson person : report.getPersons()) {
+            Map<Integer, OrganizationActivityData> activities = new TreeMap<>();
+            for (int year = start; year <= end; ++year) {
+                OrganizationActivityReport.Activity activity = report.getActivity(person.id(), year);
+                if (activity != OrganizationActivityReport.Activity.EMPTY) {
+                    activities.put(year, getOrganizationActivityData(activity));
+                }
+            }
+            members.add(new OrganizationPersonActivityData(person.firstName(), person.lastName(), activities));
+        }
+
+        Map<Integer, OrganizationActivityData> totals = new TreeMap<>();
+        for (int year = start; year <= end; ++year) {
+            totals.put(year, getOrganizationActivityData(report.getYearTotal(year)));
+        }
+
+        return ResponseEntity.ok(new OrganizationActivitiesDTO(organization.getName(), organization.getAcronym(), start, end, members, totals));
+    }
+
+    /**
+     * Creates an {@link OrganizationActivityData} from the given activity of a report.
+     *
+     * @param activity the activity to convert
+     * @return the activity data
+     */
+    public OrganizationActivityData getOrganizationActivityData(OrganizationActivityReport.Activity activity) {
+        return new OrganizationActivityData(activity.teachingHours(), activity.teachingHetd(),
+                activity.supervisions(), activity.defenses(), activity.juryParticipations());
+    }
+
     /**
      * Retrieves all organization addresses.
      *
@@ -186,23 +278,23 @@ public class OrganizationRestService {
 
     /**
      * Retrieves the list of members for a given organization.
+     * The members are read from the shared roster of the organization.
      *
      * @param organization the {@link ResearchOrganization} to retrieve members from
      * @return a list of {@link OrganizationMemberData} representing the members of the organization
+     * @see OrganizationRosterService
      */
 
     public List<OrganizationMemberData> getOrganizationMembers(ResearchOrganization organization) {
         List<OrganizationMemberData> members = new ArrayList<>();
 
-        Set<Membership> memberships = organization.getDirectOrganizationMemberships();
+        OrganizationRoster roster = organizationRosterService.getRoster(organization);
 
-        for (Membership membership : memberships) {
-            String personName = membership.getPerson().getFullName();
-            String personWebsiteId = membership.getPerson().getWebPageId();
-            PersonOnWebsite person = new PersonOnWebsite(personName, personWebsiteId);
+        for (OrganizationRoster.Member member : roster.getMembers()) {
+            PersonOnWebsite person = new PersonOnWebsite(member.personFullName(), member.personWebPageId());
 
-            MemberStatus status = membership.getMemberStatus();
-            Responsibility responsibility = membership.getResponsibility();
+            MemberStatus status = member.status();
+            Responsibility responsibility = member.responsibility();
 
             members.add(new OrganizationMemberData(person, status, responsibility));
         }
@@ -0,0 +1,21 @@
+package fr.utbm.ciad.wprest.organization.data;
+
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipType;
+
+import java.util.Map;
+
+/**
+ * Describes the teaching, supervision and jury activities of one or more members of an organization during a year.
+ *
+ * @param teachingHours      - the number of teaching hours
+ * @param teachingHetd       - the number of teaching hours, converted to hETD
+ * @param supervisions       - the number of running supervisions
+ * @param defenses           - the number of supervised persons that have defended
+ * @param juryParticipations - the number of participations to juries, per type of participation
+ */
+public record OrganizationActivityData(float teachingHours,
+                                       float teachingHetd,
+                                       int supervisions,
+                                       int defenses,
+                                       Map<JuryMembershipType, Integer> juryParticipations) {
+}
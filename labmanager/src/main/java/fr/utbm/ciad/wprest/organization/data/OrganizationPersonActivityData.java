@@ -0,0 +1,15 @@
+package fr.utbm.ciad.wprest.organization.data;
+
+import java.util.Map;
+
+/**
+ * Describes the activities of a member of an organization.
+ *
+ * @param firstName  - the first name of the person
+ * @param lastName   - the last name of the person
+ * @param activities - the activities of the person, per year
+ */
+public record OrganizationPersonActivityData(String firstName,
+                                             String lastName,
+                                             Map<Integer, OrganizationActivityData> activities) {
+}
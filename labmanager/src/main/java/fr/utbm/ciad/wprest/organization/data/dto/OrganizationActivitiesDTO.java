@@ -0,0 +1,25 @@
+package fr.utbm.ciad.wprest.organization.data.dto;
+
+import fr.utbm.ciad.wprest.organization.data.OrganizationActivityData;
+import fr.utbm.ciad.wprest.organization.data.OrganizationPersonActivityData;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes the teaching, supervision and jury activities of the members of an organization and of its suborganizations.
+ *
+ * @param name      - the name of the organization
+ * @param acronym   - the acronym of the organization
+ * @param startYear - the first year of the activities
+ * @param endYear   - the last year of the activities
+ * @param members   - the activities of the members of the organization
+ * @param totals    - the activities of all the members, per year
+ */
+public record OrganizationActivitiesDTO(String name,
+                                        String acronym,
+                                        int startYear,
+                                        int endYear,
+                                        List<OrganizationPersonActivityData> members,
+                                        Map<Integer, OrganizationActivityData> totals) {
+}
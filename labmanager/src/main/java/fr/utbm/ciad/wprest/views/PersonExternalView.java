@@ -136,10 +136,12 @@ public class PersonExternalView extends AbstractExternalView {
         final ModelAndView modelAndView = new ModelAndView("showPersonCard"); //$NON-NLS-1$
         initModelViewWithInternalProperties(modelAndView, embedded, false);
         //
-        final Person personObj = getPersonWith(dbId, inString(webId), null, this.personService, this.nameParser);
-        if (personObj == null) {
+        final Person foundPerson = getPersonWith(dbId, inString(webId), null, this.personService, this.nameParser);
+        if (foundPerson == null) {
             throw new IllegalArgumentException("Person not found"); //$NON-NLS-1$
         }
+        // The card is built outside a JPA session; the memberships are loaded with the person
+        final Person personObj = this.personService.getPersonWithMemberships(foundPerson.getId());
         //
         final ResearchOrganization organizationObj = getOrganizationWith(inString(organization), this.organizationService);
         //
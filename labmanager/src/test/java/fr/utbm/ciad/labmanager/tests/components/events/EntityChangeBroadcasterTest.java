@@ -0,0 +1,133 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.components.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeEvent;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeKind;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link EntityChangeBroadcaster}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class EntityChangeBroadcasterTest {
+
+	private EntityChangeBroadcaster test;
+
+	@BeforeEach
+	public void setUp() {
+		this.test = new EntityChangeBroadcaster(null, true);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.test.stop();
+	}
+
+	@Test
+	public void publish_matchingType() throws Exception {
+		final List<EntityChangeEvent> received = new CopyOnWriteArrayList<>();
+		final var latch = new CountDownLatch(1);
+		this.test.register(Person.class, it -> {
+			received.add(it);
+			latch.countDown();
+		});
+		this.test.publish(Person.class, 12, EntityChangeKind.UPDATED, null);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertEquals(1, received.size());
+		final var event = received.get(0);
+		assertEquals(Person.class, event.entityType());
+		assertEquals(12, event.id());
+		assertEquals(EntityChangeKind.UPDATED, event.kind());
+		assertNull(event.origin());
+	}
+
+	@Test
+	public void publish_subtype() throws Exception {
+		final List<EntityChangeEvent> received = new CopyOnWriteArrayList<>();
+		final var latch = new CountDownLatch(1);
+		this.test.register(Publication.class, it -> {
+			received.add(it);
+			latch.countDown();
+		});
+		this.test.publish(JournalPaper.class, 3, EntityChangeKind.DELETED, null);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertEquals(EntityChangeKind.DELETED, received.get(0).kind());
+	}
+
+	@Test
+	public void publish_otherType() throws Exception {
+		final List<EntityChangeEvent> received = new CopyOnWriteArrayList<>();
+		final var latch = new CountDownLatch(1);
+		this.test.register(Person.class, received::add);
+		this.test.register(Publication.class, it -> latch.countDown());
+		this.test.publish(JournalPaper.class, 3, EntityChangeKind.CREATED, null);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(received.isEmpty());
+	}
+
+	@Test
+	public void register_remove() throws Exception {
+		final List<EntityChangeEvent> received = new CopyOnWriteArrayList<>();
+		final var registration = this.test.register(Person.class, received::add);
+		assertTrue(this.test.hasListenerFor(Person.class));
+		registration.remove();
+		assertFalse(this.test.hasListenerFor(Person.class));
+	}
+
+	@Test
+	public void disabled() throws Exception {
+		final var broadcaster = new EntityChangeBroadcaster(null, false);
+		assertFalse(broadcaster.isEnabled());
+		final List<EntityChangeEvent> received = new CopyOnWriteArrayList<>();
+		broadcaster.register(Person.class, received::add);
+		broadcaster.publish(Person.class, 1, EntityChangeKind.CREATED, null);
+		Thread.sleep(100);
+		assertTrue(received.isEmpty());
+	}
+
+	@Test
+	public void stop_restart() throws Exception {
+		final var latch = new CountDownLatch(1);
+		this.test.register(Person.class, it -> latch.countDown());
+		this.test.stop();
+		this.test.publish(Person.class, 12, EntityChangeKind.UPDATED, null);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.components.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeEvent;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeHibernateListener;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeKind;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link EntityChangeHibernateListener}.
+ * The changes are committed into an in-memory database.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class EntityChangeHibernateListenerTest {
+
+	private InMemoryDatabase database;
+
+	private EntityChangeBroadcaster broadcaster;
+
+	private BlockingQueue<EntityChangeEvent> events;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.database = new InMemoryDatabase("entityChangeListener");
+		this.broadcaster = new EntityChangeBroadcaster(this.database.getSessionFactory(), true);
+		this.events = new LinkedBlockingQueue<>();
+		this.broadcaster.register(Person.class, this.events::add);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.broadcaster != null) {
+			this.broadcaster.stop();
+			this.broadcaster = null;
+		}
+		if (this.database != null) {
+			this.database.close();
+			this.database = null;
+		}
+	}
+
+	private Person createPerson(String name) {
+		final var person = new Person();
+		person.setFirstName(name);
+		person.setLastName(name);
+		this.database.getSessionFactory().inTransaction(session -> session.persist(person));
+		return person;
+	}
+
+	private EntityChangeEvent nextEvent() throws Exception {
+		final var event = this.events.poll(5, TimeUnit.SECONDS);
+		assertTrue(event != null, "No event received");
+		return event;
+	}
+
+	@Test
+	public void insert() throws Exception {
+		final var person = createPerson("P1");
+		final var event = nextEvent();
+		assertEquals(Person.class, event.entityType());
+		assertEquals(person.getId(), event.id());
+		assertEquals(EntityChangeKind.CREATED, event.kind());
+	}
+
+	@Test
+	public void update() throws Exception {
+		final var person = createPerson("P1");
+		nextEvent();
+		this.database.getSessionFactory().inTransaction(session -> {
+			session.get(Person.class, Long.valueOf(person.getId())).setLastName("P2");
+		});
+		final var event = nextEvent();
+		assertEquals(person.getId(), event.id());
+		assertEquals(EntityChangeKind.UPDATED, event.kind());
+	}
+
+	@Test
+	public void delete() throws Exception {
+		final var person = createPerson("P1");
+		nextEvent();
+		this.database.getSessionFactory().inTransaction(session -> {
+			session.remove(session.get(Person.class, Long.valueOf(person.getId())));
+		});
+		final var event = nextEvent();
+		assertEquals(person.getId(), event.id());
+		assertEquals(EntityChangeKind.DELETED, event.kind());
+	}
+
+	@Test
+	public void rollback() throws Exception {
+		try (final var session = this.database.getSessionFactory().openSession()) {
+			final var transaction = session.beginTransaction();
+			final var person = new Person();
+			person.setFirstName("P1");
+			person.setLastName("P1");
+			session.persist(person);
+			session.flush();
+			transaction.rollback();
+		}
+		// The events are dispatched in order; the next event is the one of the committed person
+		final var person = createPerson("P2");
+		final var event = nextEvent();
+		assertEquals(person.getId(), event.id());
+		assertEquals(EntityChangeKind.CREATED, event.kind());
+		assertTrue(this.events.isEmpty());
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.components.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import fr.utbm.ciad.labmanager.components.instrumentation.PersistenceInstrumentationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link PersistenceInstrumentationService}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PersistenceInstrumentationServiceTest {
+
+	private SimpleMeterRegistry registry;
+
+	private SessionFactory sessionFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	public void setUp() {
+		this.registry = new SimpleMeterRegistry();
+		this.sessionFactory = mock(SessionFactory.class);
+		this.statistics = mock(Statistics.class);
+		when(this.sessionFactory.getStatistics()).thenReturn(this.statistics);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.registry.close();
+	}
+
+	private PersistenceInstrumentationService createService(long slowRequestThreshold, int historySize) {
+		return new PersistenceInstrumentationService(this.registry, this.sessionFactory, slowRequestThreshold, 20, historySize);
+	}
+
+	@Test
+	public void endRequest_noRequest() {
+		assertNull(createService(1000, 10).endRequest());
+	}
+
+	@Test
+	public void endRequest_route() {
+		final var test = createService(1000, 10);
+		final var started = test.startRequest("GET /persons/12");
+		started.setRoute("view:PersonsView");
+		assertSame(started, test.endRequest());
+		final var timer = this.registry.find(PersistenceInstrumentationService.REQUEST_TIMER).tag("request", "view:PersonsView").timer();
+		assertNotNull(timer);
+		assertEquals(1, timer.count());
+		assertNotNull(this.registry.find(PersistenceInstrumentationService.REQUEST_QUERIES_SUMMARY).tag("request", "view:PersonsView").summary());
+	}
+
+	@Test
+	public void endRequest_boundedTags() {
+		final var test = createService(1000, 10);
+		for (var i = 0; i < 5; ++i) {
+			test.startRequest("GET /persons/" + i).setRoute("view:PersonsView");
+			test.endRequest();
+		}
+		test.startRequest("GET /unknown/12");
+		test.endRequest();
+		// The names of the requests, that contain the identifiers, are not used as tags
+		assertEquals(2, this.registry.find(PersistenceInstrumentationService.REQUEST_TIMER).timers().size());
+		assertEquals(5, this.registry.find(PersistenceInstrumentationService.REQUEST_TIMER).tag("request", "view:PersonsView").timer().count());
+		assertEquals(1, this.registry.find(PersistenceInstrumentationService.REQUEST_TIMER)
+				.tag("request", PersistenceInstrumentationService.UNKNOWN_ROUTE).timer().count());
+	}
+
+	@Test
+	public void getReportedRequests_fast() {
+		final var test = createService(100000, 10);
+		test.startRequest("GET /persons");
+		test.endRequest();
+		assertTrue(test.getReportedRequests().isEmpty());
+	}
+
+	@Test
+	public void getReportedRequests_slow() {
+		final var test = createService(0, 2);
+		for (var i = 0; i < 3; ++i) {
+			test.startRequest("GET /persons/" + i);
+			test.endRequest();
+		}
+		final var reported = test.getReportedRequests();
+		// The history is bounded, and the most recent requests are first
+		assertEquals(2, reported.size());
+		assertEquals("GET /persons/2", reported.get(0).getName());
+		assertEquals("GET /persons/1", reported.get(1).getName());
+		test.clearReportedRequests();
+		assertTrue(test.getReportedRequests().isEmpty());
+	}
+
+	@Test
+	public void getHibernateStatistics_disabled() {
+		when(this.statistics.isStatisticsEnabled()).thenReturn(false);
+		assertTrue(createService(1000, 10).getHibernateStatistics().isEmpty());
+	}
+
+	@Test
+	public void getHibernateStatistics_enabled() {
+		when(this.statistics.isStatisticsEnabled()).thenReturn(true);
+		when(this.statistics.getPrepareStatementCount()).thenReturn(12l);
+		final var values = createService(1000, 10).getHibernateStatistics();
+		assertEquals(12l, values.get("statements"));
+	}
+
+}
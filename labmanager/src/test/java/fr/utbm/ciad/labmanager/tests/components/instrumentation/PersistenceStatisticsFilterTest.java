@@ -0,0 +1,113 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.components.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import fr.utbm.ciad.labmanager.components.instrumentation.PersistenceInstrumentationService;
+import fr.utbm.ciad.labmanager.components.instrumentation.PersistenceRequestStatistics;
+import fr.utbm.ciad.labmanager.components.instrumentation.PersistenceStatisticsFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/** Tests for {@link PersistenceStatisticsFilter}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PersistenceStatisticsFilterTest {
+
+	private SimpleMeterRegistry registry;
+
+	private PersistenceStatisticsFilter test;
+
+	@BeforeEach
+	public void setUp() {
+		this.registry = new SimpleMeterRegistry();
+		final var service = new PersistenceInstrumentationService(this.registry, mock(SessionFactory.class), 1000, 20, 10);
+		this.test = new PersistenceStatisticsFilter(service);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.registry.close();
+	}
+
+	private String filter(MockHttpServletRequest request, FilterChain chain) throws Exception {
+		this.test.doFilter(request, new MockHttpServletResponse(), chain);
+		final var timers = this.registry.find(PersistenceInstrumentationService.REQUEST_TIMER).timers();
+		assertEquals(1, timers.size());
+		return timers.iterator().next().getId().getTag("request");
+	}
+
+	@Test
+	public void restController() throws Exception {
+		final var request = new MockHttpServletRequest("GET", "/api/v4/persons/12");
+		final var route = filter(request, (req, res) -> {
+			assertNotNull(PersistenceRequestStatistics.current());
+			req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v4/persons/{id}");
+		});
+		assertEquals("GET /api/v4/persons/{id}", route);
+		assertNull(PersistenceRequestStatistics.current());
+	}
+
+	@Test
+	public void vaadinView() throws Exception {
+		final var request = new MockHttpServletRequest("POST", "/");
+		request.setParameter("v-r", "uidl");
+		final var route = filter(request, (req, res) -> {
+			PersistenceRequestStatistics.current().setRoute("view:PersonsView");
+		});
+		assertEquals("view:PersonsView", route);
+	}
+
+	@Test
+	public void vaadinRequest() throws Exception {
+		final var request = new MockHttpServletRequest("POST", "/");
+		request.setParameter("v-r", "heartbeat");
+		assertEquals("vaadin:heartbeat", filter(request, (req, res) -> {}));
+	}
+
+	@Test
+	public void vaadinRequest_unknownType() throws Exception {
+		final var request = new MockHttpServletRequest("POST", "/");
+		request.setParameter("v-r", "x123");
+		assertEquals("vaadin:other", filter(request, (req, res) -> {}));
+	}
+
+	@Test
+	public void unknown() throws Exception {
+		final var request = new MockHttpServletRequest("GET", "/persons/12");
+		assertEquals(PersistenceInstrumentationService.UNKNOWN_ROUTE, filter(request, (req, res) -> {}));
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.components.instrumentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.components.instrumentation.SessionFootprintMeter;
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import org.junit.jupiter.api.Test;
+import org.springframework.stereotype.Component;
+
+/** Tests for {@link SessionFootprintMeter}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class SessionFootprintMeterTest {
+
+	@Test
+	public void measure_serializable() {
+		final var footprint = SessionFootprintMeter.measure(new ArrayList<>(List.of("a", "b", "c")));
+		assertNotNull(footprint);
+		assertTrue(footprint.isComplete());
+		assertNull(footprint.failure());
+		assertTrue(footprint.size() > 0);
+		assertEquals(0, footprint.entityCount());
+		assertEquals(0, footprint.editingContextCount());
+	}
+
+	@Test
+	public void measure_entities() {
+		final var journals = new ArrayList<Journal>();
+		for (var i = 1; i <= 3; ++i) {
+			final var journal = new Journal();
+			journal.setId(i);
+			journal.setJournalName("J" + i);
+			journals.add(journal);
+		}
+		final var footprint = SessionFootprintMeter.measure(new Holder(journals));
+		assertTrue(footprint.isComplete());
+		assertEquals(3, footprint.entityCount());
+	}
+
+	@Test
+	public void measure_sharedObject() {
+		final var service = new SharedService();
+		assertTrue(SessionFootprintMeter.isSharedObject(service));
+		final var withService = SessionFootprintMeter.measure(new Holder(service));
+		assertTrue(withService.isComplete());
+		assertTrue(withService.size() < 1024);
+	}
+
+	@Test
+	public void measure_notSerializable() {
+		final var footprint = SessionFootprintMeter.measure(new Holder(new Object()));
+		assertFalse(footprint.isComplete());
+		assertTrue(footprint.failure().contains(Object.class.getName()));
+	}
+
+	@Test
+	public void isSharedObject() {
+		assertFalse(SessionFootprintMeter.isSharedObject(null));
+		assertFalse(SessionFootprintMeter.isSharedObject("abc"));
+		assertFalse(SessionFootprintMeter.isSharedObject(new Journal()));
+		assertTrue(SessionFootprintMeter.isSharedObject(new SharedService()));
+	}
+
+	private static class Holder implements Serializable {
+
+		private final Object value;
+
+		Holder(Object value) {
+			this.value = value;
+		}
+
+	}
+
+	@Component
+	private static class SharedService implements Serializable {
+
+		private final byte[] content = new byte[1024 * 1024];
+
+	}
+
+}
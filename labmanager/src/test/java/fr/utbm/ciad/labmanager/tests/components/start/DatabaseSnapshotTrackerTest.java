@@ -0,0 +1,207 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.components.start;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.utbm.ciad.labmanager.components.start.DatabaseSnapshotTracker;
+import fr.utbm.ciad.labmanager.data.snapshot.DatabaseSnapshot;
+import fr.utbm.ciad.labmanager.data.snapshot.DatabaseSnapshotEntry;
+import fr.utbm.ciad.labmanager.data.snapshot.DatabaseSnapshotEntryRepository;
+import fr.utbm.ciad.labmanager.data.snapshot.DatabaseSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/** Tests for {@link DatabaseSnapshotTracker}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class DatabaseSnapshotTrackerTest {
+
+	private static final String SNAPSHOT = "{\"persons\":[{\"@id\":\"p1\",\"lastName\":\"A\"},{\"@id\":\"p2\",\"lastName\":\"B\"}],\"globalIndicators\":{\"visibleIndicators\":[\"x\"]}}";
+
+	private DatabaseSnapshotRepository snapshotRepository;
+
+	private DatabaseSnapshotEntryRepository entryRepository;
+
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionStatus transaction;
+
+	private Logger logger;
+
+	private DatabaseSnapshotTracker test;
+
+	@BeforeEach
+	public void setUp() {
+		this.snapshotRepository = mock(DatabaseSnapshotRepository.class);
+		this.entryRepository = mock(DatabaseSnapshotEntryRepository.class);
+		this.transactionManager = mock(PlatformTransactionManager.class);
+		this.transaction = new SimpleTransactionStatus();
+		when(this.transactionManager.getTransaction(any())).thenReturn(this.transaction);
+		this.logger = mock(Logger.class);
+		this.test = new DatabaseSnapshotTracker(this.snapshotRepository, this.entryRepository, this.transactionManager);
+	}
+
+	private static JsonNode json(String content) throws Exception {
+		return new ObjectMapper().readTree(content);
+	}
+
+	private List<DatabaseSnapshotEntry> recordFirstLoading() throws Exception {
+		when(this.entryRepository.findAllBySection(anyString())).thenReturn(List.of());
+		final var filter = this.test.newImportFilter("f0", new File("data.json").toURI().toURL());
+		final var content = json(SNAPSHOT);
+		final var objects = new TreeMap<String, Long>();
+		filter.select(content, objects, this.logger);
+		objects.put("p1", Long.valueOf(10));
+		objects.put("p2", Long.valueOf(20));
+		filter.imported(content, objects, true, this.logger);
+		final var captor = ArgumentCaptor.forClass(Collection.class);
+		verify(this.entryRepository).saveAll(captor.capture());
+		return new ArrayList<>(captor.getValue());
+	}
+
+	@Test
+	public void computeFingerprint() throws Exception {
+		final var file = File.createTempFile("snapshot", ".json");
+		try {
+			Files.writeString(file.toPath(), SNAPSHOT, StandardCharsets.UTF_8);
+			final var fp1 = this.test.computeFingerprint(file.toURI().toURL());
+			assertEquals(64, fp1.length());
+			assertEquals(fp1, this.test.computeFingerprint(file.toURI().toURL()));
+			Files.writeString(file.toPath(), SNAPSHOT + " ", StandardCharsets.UTF_8);
+			assertNotEquals(fp1, this.test.computeFingerprint(file.toURI().toURL()));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void isLoaded() {
+		when(this.snapshotRepository.findFirstByOrderByLoadDateDesc()).thenReturn(Optional.empty());
+		assertFalse(this.test.isLoaded("abc"));
+		when(this.snapshotRepository.findFirstByOrderByLoadDateDesc()).thenReturn(Optional.of(new DatabaseSnapshot("abc", "data.json")));
+		assertTrue(this.test.isLoaded("abc"));
+		assertFalse(this.test.isLoaded("def"));
+	}
+
+	@Test
+	public void select_firstLoading() throws Exception {
+		when(this.entryRepository.findAllBySection(anyString())).thenReturn(List.of());
+		final var filter = this.test.newImportFilter("f0", new File("data.json").toURI().toURL());
+		final var content = json(SNAPSHOT);
+		final var objects = new TreeMap<String, Long>();
+		assertSame(content, filter.select(content, objects, this.logger));
+		assertTrue(objects.isEmpty());
+	}
+
+	@Test
+	public void imported_complete() throws Exception {
+		final var entries = recordFirstLoading();
+		assertEquals(3, entries.size());
+		assertEquals("p1", entries.get(0).getEntryKey());
+		assertEquals(10, entries.get(0).getDatabaseId());
+		assertEquals("p2", entries.get(1).getEntryKey());
+		assertEquals(20, entries.get(1).getDatabaseId());
+		assertEquals("globalIndicators", entries.get(2).getEntryKey());
+		verify(this.snapshotRepository).save(any(DatabaseSnapshot.class));
+		// The record is replaced in a single transaction
+		verify(this.transactionManager).getTransaction(any());
+		verify(this.transactionManager).commit(this.transaction);
+	}
+
+	@Test
+	public void imported_failure() throws Exception {
+		when(this.entryRepository.findAllBySection(anyString())).thenReturn(List.of());
+		doThrow(new IllegalStateException()).when(this.entryRepository).saveAll(any());
+		final var filter = this.test.newImportFilter("f0", new File("data.json").toURI().toURL());
+		final var content = json(SNAPSHOT);
+		final var objects = new TreeMap<String, Long>();
+		filter.select(content, objects, this.logger);
+		filter.imported(content, objects, true, this.logger);
+		verify(this.entryRepository).deleteAllInBatch();
+		verify(this.snapshotRepository, never()).save(any(DatabaseSnapshot.class));
+		// The deletion of the previous record is rolled back
+		verify(this.transactionManager).rollback(this.transaction);
+		verify(this.transactionManager, never()).commit(any());
+		verify(this.logger).error(anyString(), any(Throwable.class));
+	}
+
+	@Test
+	public void select_newEntriesOnly() throws Exception {
+		final var entries = recordFirstLoading();
+		when(this.entryRepository.findAllBySection("persons")).thenReturn(entries.subList(0, 2));
+		when(this.entryRepository.findAllBySection("globalIndicators")).thenReturn(entries.subList(2, 3));
+		final var filter = this.test.newImportFilter("f1", new File("data.json").toURI().toURL());
+		final var content = json("{\"persons\":[{\"@id\":\"p1\",\"lastName\":\"A\"},{\"@id\":\"p2\",\"lastName\":\"B\"},{\"@id\":\"p3\",\"lastName\":\"C\"}],\"globalIndicators\":{\"visibleIndicators\":[\"x\"]}}");
+		final var objects = new TreeMap<String, Long>();
+		final var selection = filter.select(content, objects, this.logger);
+		final var persons = selection.get("persons");
+		assertEquals(1, persons.size());
+		assertEquals("p3", persons.get(0).get("@id").asText());
+		assertFalse(selection.has("globalIndicators"));
+		assertEquals(Long.valueOf(10), objects.get("p1"));
+		assertEquals(Long.valueOf(20), objects.get("p2"));
+	}
+
+	@Test
+	public void select_changedEntryIsNotReloaded() throws Exception {
+		final var entries = recordFirstLoading();
+		when(this.entryRepository.findAllBySection("persons")).thenReturn(entries.subList(0, 2));
+		when(this.entryRepository.findAllBySection("globalIndicators")).thenReturn(entries.subList(2, 3));
+		final var filter = this.test.newImportFilter("f1", new File("data.json").toURI().toURL());
+		final var content = json("{\"persons\":[{\"@id\":\"p1\",\"lastName\":\"Z\"},{\"@id\":\"p2\",\"lastName\":\"B\"}],\"globalIndicators\":{\"visibleIndicators\":[\"x\"]}}");
+		final var objects = new TreeMap<String, Long>();
+		final var selection = filter.select(content, objects, this.logger);
+		assertEquals(0, selection.get("persons").size());
+		assertEquals(Long.valueOf(10), objects.get("p1"));
+		verify(this.logger).warn(anyString());
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.configuration.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+
+import fr.utbm.ciad.labmanager.configuration.datasource.ReadWriteRoutingDataSource;
+import fr.utbm.ciad.labmanager.configuration.datasource.ReplicationLagMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Tests for {@link ReadWriteRoutingDataSource} with two embedded databases.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class ReadWriteRoutingDataSourceTest {
+
+	private static int counter;
+
+	private DataSource primary;
+
+	private DataSource replica;
+
+	private ReplicationLagMonitor monitor;
+
+	private DataSource dataSource;
+
+	private TransactionTemplate readWrite;
+
+	private TransactionTemplate readOnly;
+
+	private static DataSource createDatabase(String name, String content) {
+		final var ds = new DriverManagerDataSource("jdbc:derby:memory:" + name + ";create=true");
+		final var jdbc = new JdbcTemplate(ds);
+		jdbc.execute("CREATE TABLE origin (name VARCHAR(32))");
+		jdbc.update("INSERT INTO origin VALUES (?)", content);
+		return ds;
+	}
+
+	@BeforeEach
+	public void setUp() {
+		++counter;
+		this.primary = createDatabase("routingPrimary" + counter, "primary");
+		this.replica = createDatabase("routingReplica" + counter, "replica");
+		setUpMonitor(null);
+	}
+
+	private void setUpMonitor(String lagQuery) {
+		if (this.monitor != null) {
+			this.monitor.close();
+		}
+		this.monitor = new ReplicationLagMonitor(Map.of("r1", this.replica), lagQuery, Duration.ofSeconds(5));
+		this.monitor.checkReplicas();
+		this.dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(this.primary, this.monitor));
+		final var transactionManager = new DataSourceTransactionManager(this.dataSource);
+		this.readWrite = new TransactionTemplate(transactionManager);
+		this.readOnly = new TransactionTemplate(transactionManager);
+		this.readOnly.setReadOnly(true);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.monitor.close();
+	}
+
+	private String readOrigin(TransactionTemplate transaction) {
+		return transaction.execute(status -> new JdbcTemplate(this.dataSource).queryForObject("SELECT name FROM origin", String.class));
+	}
+
+	@Test
+	public void noTransaction() {
+		assertEquals("primary", new JdbcTemplate(this.dataSource).queryForObject("SELECT name FROM origin", String.class));
+	}
+
+	@Test
+	public void readWriteTransaction() {
+		assertEquals("primary", readOrigin(this.readWrite));
+	}
+
+	@Test
+	public void readOnlyTransaction() {
+		assertEquals("replica", readOrigin(this.readOnly));
+	}
+
+	@Test
+	public void readOnlyTransaction_laggingReplica() {
+		setUpMonitor("VALUES 60");
+		assertEquals("primary", readOrigin(this.readOnly));
+	}
+
+	@Test
+	public void readOnlyTransaction_replicaBackInTime() {
+		setUpMonitor("SELECT CASE WHEN COUNT(*) > 1 THEN 0 ELSE 60 END FROM origin");
+		assertEquals("primary", readOrigin(this.readOnly));
+		new JdbcTemplate(this.replica).update("INSERT INTO origin VALUES (?)", "replica");
+		this.monitor.checkReplicas();
+		assertEquals("replica", this.readOnly.execute(status -> new JdbcTemplate(this.dataSource).queryForObject(
+				"SELECT DISTINCT name FROM origin", String.class)));
+	}
+
+	@Test
+	public void writeAfterReadOnly() {
+		assertEquals("replica", readOrigin(this.readOnly));
+		this.readWrite.executeWithoutResult(status -> new JdbcTemplate(this.dataSource).update("UPDATE origin SET name = ?", "updated"));
+		assertEquals("updated", new JdbcTemplate(this.primary).queryForObject("SELECT name FROM origin", String.class));
+		assertEquals("replica", new JdbcTemplate(this.replica).queryForObject("SELECT name FROM origin", String.class));
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.configuration.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+import fr.utbm.ciad.labmanager.configuration.datasource.ReplicationLagMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/** Tests for {@link ReplicationLagMonitor}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class ReplicationLagMonitorTest {
+
+	private Map<String, DataSource> replicas;
+
+	private ReplicationLagMonitor test;
+
+	@BeforeEach
+	public void setUp() {
+		this.replicas = new LinkedHashMap<>();
+		this.replicas.put("r1", new DriverManagerDataSource("jdbc:derby:memory:lagMonitorReplica1;create=true"));
+		this.replicas.put("r2", new DriverManagerDataSource("jdbc:derby:memory:lagMonitorReplica2;create=true"));
+		this.replicas.put("down", new DriverManagerDataSource("jdbc:derby:memory:lagMonitorMissingReplica"));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.test != null) {
+			this.test.close();
+		}
+	}
+
+	@Test
+	public void checkReplicas_connectivityOnly() {
+		this.test = new ReplicationLagMonitor(this.replicas, null, Duration.ofSeconds(5));
+		assertTrue(this.test.getAvailableReplicas().isEmpty());
+		this.test.checkReplicas();
+		assertEquals(List.of("r1", "r2"), this.test.getAvailableReplicas());
+		assertEquals(0l, this.test.getLastKnownLag("r1"));
+		assertNull(this.test.getLastKnownLag("down"));
+	}
+
+	@Test
+	public void checkReplicas_lowLag() {
+		this.test = new ReplicationLagMonitor(this.replicas, "VALUES 3", Duration.ofSeconds(5));
+		this.test.checkReplicas();
+		assertEquals(List.of("r1", "r2"), this.test.getAvailableReplicas());
+		assertEquals(3l, this.test.getLastKnownLag("r2"));
+	}
+
+	@Test
+	public void checkReplicas_highLag() {
+		this.test = new ReplicationLagMonitor(this.replicas, "VALUES 30", Duration.ofSeconds(5));
+		this.test.checkReplicas();
+		assertTrue(this.test.getAvailableReplicas().isEmpty());
+		assertEquals(30l, this.test.getLastKnownLag("r1"));
+	}
+
+	@Test
+	public void checkReplicas_notReplicating() {
+		this.test = new ReplicationLagMonitor(this.replicas, "VALUES CAST(NULL AS INTEGER)", Duration.ofSeconds(5));
+		this.test.checkReplicas();
+		assertTrue(this.test.getAvailableReplicas().isEmpty());
+		assertNull(this.test.getLastKnownLag("r1"));
+	}
+
+	@Test
+	public void checkReplicas_namedLagColumn() {
+		this.test = new ReplicationLagMonitor(this.replicas, "VALUES ('x', 2)", Duration.ofSeconds(5));
+		// The first column is not a number: the replicas are not replicating
+		this.test.checkReplicas();
+		assertTrue(this.test.getAvailableReplicas().isEmpty());
+
+		this.test.close();
+		this.test = new ReplicationLagMonitor(this.replicas,
+				"SELECT 'x' AS Source_Host, 2 AS Seconds_Behind_Source FROM SYSIBM.SYSDUMMY1", Duration.ofSeconds(5));
+		this.test.checkReplicas();
+		assertEquals(List.of("r1", "r2"), this.test.getAvailableReplicas());
+		assertEquals(2l, this.test.getLastKnownLag("r1"));
+	}
+
+}
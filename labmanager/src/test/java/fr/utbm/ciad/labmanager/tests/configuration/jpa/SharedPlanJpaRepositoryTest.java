@@ -0,0 +1,118 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.configuration.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import fr.utbm.ciad.labmanager.configuration.jpa.SharedPlanJpaRepository;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+
+/** Tests for {@link SharedPlanJpaRepository}.
+ * The tests are counting the SQL statements that are sent to an in-memory database.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class SharedPlanJpaRepositoryTest {
+
+	private static final int PERSON_COUNT = 5;
+
+	private InMemoryDatabase database;
+
+	private SharedPlanJpaRepository<Person, Long> test;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.database = new InMemoryDatabase("sharedPlanRepository");
+		this.database.getSessionFactory().inTransaction(session -> {
+			for (var i = 0; i < PERSON_COUNT; ++i) {
+				final var person = new Person();
+				person.setFirstName("F" + i);
+				person.setLastName("L" + i);
+				session.persist(person);
+			}
+		});
+		final var entityManager = this.database.getEntityManager();
+		this.test = new SharedPlanJpaRepository<>(JpaEntityInformationSupport.getEntityInformation(Person.class, entityManager),
+				entityManager);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.database != null) {
+			this.database.close();
+			this.database = null;
+		}
+	}
+
+	private static Specification<Person> lastNameLike(String pattern) {
+		return (root, query, criteriaBuilder) -> criteriaBuilder.like(root.get("lastName"), pattern);
+	}
+
+	@Test
+	public void findAll_firstPage() {
+		this.database.resetStatements();
+		final var page = this.test.findAll(lastNameLike("L%"), PageRequest.of(0, 2, Sort.by("lastName")));
+		assertEquals(2, page.getContent().size());
+		assertEquals("L0", page.getContent().get(0).getLastName());
+		assertEquals(PERSON_COUNT, page.getTotalElements());
+		assertEquals(3, page.getTotalPages());
+		// One statement for the page, one for the count
+		assertEquals(2, this.database.getStatementCount());
+	}
+
+	@Test
+	public void findAll_lastPage() {
+		this.database.resetStatements();
+		final var page = this.test.findAll(lastNameLike("L%"), PageRequest.of(2, 2, Sort.by("lastName")));
+		assertEquals(1, page.getContent().size());
+		assertEquals("L4", page.getContent().get(0).getLastName());
+		assertEquals(PERSON_COUNT, page.getTotalElements());
+		// The count is deduced from the partial last page
+		assertEquals(1, this.database.getStatementCount());
+	}
+
+	@Test
+	public void findAll_filtered() {
+		final var page = this.test.findAll(lastNameLike("L3"), PageRequest.of(0, 2));
+		assertEquals(1, page.getTotalElements());
+		assertEquals("L3", page.getContent().get(0).getLastName());
+	}
+
+	@Test
+	public void findAll_sameStatementForSameShape() {
+		this.database.resetStatements();
+		this.test.findAll(lastNameLike("L1"), PageRequest.of(0, 2));
+		final var first = this.database.getStatements().get(0);
+		this.database.resetStatements();
+		this.test.findAll(lastNameLike("L2"), PageRequest.of(0, 2));
+		assertEquals(first, this.database.getStatements().get(0));
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.data.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.publication.Authorship;
+import fr.utbm.ciad.labmanager.data.publication.type.MiscDocument;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryDatabase;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the fetch plan of {@link Person}, {@link Membership} and {@link Authorship}.
+ * The tests are counting the SQL statements that are sent to an in-memory database.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PersonFetchPlanTest {
+
+	private static final int PERSON_COUNT = 5;
+
+	private InMemoryDatabase database;
+
+	private long personId;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.database = new InMemoryDatabase("personFetchPlan");
+		this.database.getSessionFactory().inTransaction(session -> {
+			final var organization = new ResearchOrganization();
+			organization.setAcronym("O1");
+			organization.setName("Organization 1");
+			session.persist(organization);
+			final var superOrganization = new ResearchOrganization();
+			superOrganization.setAcronym("O2");
+			superOrganization.setName("Organization 2");
+			session.persist(superOrganization);
+			final var publication = new MiscDocument();
+			publication.setTitle("Title");
+			publication.setPublicationYear(2024);
+			session.persist(publication);
+			for (var i = 0; i < PERSON_COUNT; ++i) {
+				final var person = new Person();
+				person.setFirstName("F" + i);
+				person.setLastName("L" + i);
+				session.persist(person);
+				final var membership = new Membership();
+				membership.setPerson(person);
+				membership.setDirectResearchOrganization(organization);
+				membership.setSuperResearchOrganization(superOrganization);
+				session.persist(membership);
+				final var authorship = new Authorship();
+				authorship.setPerson(person);
+				authorship.setPublication(publication);
+				authorship.setAuthorRank(i);
+				session.persist(authorship);
+				this.personId = person.getId();
+			}
+		});
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.database != null) {
+			this.database.close();
+			this.database = null;
+		}
+	}
+
+	@Test
+	public void listPersons_noAssociationLoaded() {
+		this.database.getSessionFactory().inSession(session -> {
+			this.database.resetStatements();
+			final var persons = session.createQuery("FROM Person", Person.class).list();
+			assertEquals(PERSON_COUNT, persons.size());
+			assertEquals(1, this.database.getStatementCount());
+			for (final var person : persons) {
+				assertFalse(Hibernate.isInitialized(person.getMemberships()));
+				assertFalse(Hibernate.isInitialized(person.getAuthorships()));
+			}
+		});
+	}
+
+	@Test
+	public void listPersons_batchLoadedMemberships() {
+		this.database.getSessionFactory().inSession(session -> {
+			final var persons = session.createQuery("FROM Person", Person.class).list();
+			this.database.resetStatements();
+			for (final var person : persons) {
+				assertEquals(1, person.getMemberships().size());
+			}
+			// All the collections are loaded by a single batch
+			assertEquals(1, this.database.getStatementCount());
+		});
+	}
+
+	@Test
+	public void listPersons_batchLoadedAuthorships() {
+		this.database.getSessionFactory().inSession(session -> {
+			final var persons = session.createQuery("FROM Person", Person.class).list();
+			this.database.resetStatements();
+			for (final var person : persons) {
+				assertEquals(1, person.getAuthorships().size());
+			}
+			assertEquals(1, this.database.getStatementCount());
+		});
+	}
+
+	@Test
+	public void get_membershipsFetchProfile() {
+		this.database.getSessionFactory().inSession(session -> {
+			session.enableFetchProfile(Person.MEMBERSHIPS_FETCH_PROFILE);
+			this.database.resetStatements();
+			final var person = session.get(Person.class, Long.valueOf(this.personId));
+			assertTrue(Hibernate.isInitialized(person.getMemberships()));
+			final var names = new ArrayList<String>();
+			for (final var membership : person.getMemberships()) {
+				names.add(membership.getDirectResearchOrganization().getAcronym());
+				names.add(membership.getSuperResearchOrganization().getAcronym());
+			}
+			assertEquals(List.of("O1", "O2"), names);
+			assertEquals(1, this.database.getStatementCount());
+		});
+	}
+
+	@Test
+	public void get_noFetchProfile() {
+		this.database.getSessionFactory().inSession(session -> {
+			this.database.resetStatements();
+			final var person = session.get(Person.class, Long.valueOf(this.personId));
+			assertFalse(Hibernate.isInitialized(person.getMemberships()));
+			assertFalse(Hibernate.isInitialized(person.getAuthorships()));
+			assertEquals(1, this.database.getStatementCount());
+		});
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.data.publication;
+
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createMembership;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createOrganization;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationClosure;
+import fr.utbm.ciad.labmanager.data.publication.Authorship;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
+import fr.utbm.ciad.labmanager.data.publication.type.JournalPaperRepository;
+import fr.utbm.ciad.labmanager.data.publication.type.MiscDocument;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryDatabase;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the queries of {@link PublicationRepository} on an in-memory database.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PublicationRepositoryTest {
+
+	private InMemoryDatabase database;
+
+	private PublicationRepository test;
+
+	private long organizationA;
+
+	private long organizationB;
+
+	private long organizationC;
+
+	private long paper1;
+
+	private long paper2;
+
+	private long misc3;
+
+	private long misc4;
+
+	private long misc5;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.database = new InMemoryDatabase("publicationRepository");
+		this.database.getSessionFactory().inTransaction(session -> {
+			// Hierarchy: A -> B, C alone
+			final var a = createOrganization(session, "A");
+			final var b = createOrganization(session, "B");
+			final var c = createOrganization(session, "C");
+			this.organizationA = a.getId();
+			this.organizationB = b.getId();
+			this.organizationC = c.getId();
+			session.persist(new ResearchOrganizationClosure(a.getId(), a.getId(), 0));
+			session.persist(new ResearchOrganizationClosure(a.getId(), b.getId(), 1));
+			session.persist(new ResearchOrganizationClosure(b.getId(), b.getId(), 0));
+			session.persist(new ResearchOrganizationClosure(c.getId(), c.getId(), 0));
+
+			final var person1 = createPerson(session, "P1", b, null, LocalDate.of(2020, 1, 1), LocalDate.of(2021, 12, 31));
+			final var person2 = createPerson(session, "P2", a, null, LocalDate.of(2023, 1, 1), null);
+			final var person3 = createPerson(session, "P3", c, a, LocalDate.of(2020, 1, 1), null);
+
+			this.paper1 = createPublication(session, new JournalPaper(), person1, LocalDate.of(2021, 6, 1), 0);
+			this.paper2 = createPublication(session, new JournalPaper(), person1, LocalDate.of(2022, 6, 1), 0);
+			this.misc3 = createPublication(session, new MiscDocument(), person2, null, 2024);
+			this.misc4 = createPublication(session, new MiscDocument(), person1, null, 2021);
+			this.misc5 = createPublication(session, new MiscDocument(), person3, null, 2022);
+		});
+		this.test = this.database.createRepository(PublicationRepository.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.database != null) {
+			this.database.close();
+			this.database = null;
+		}
+	}
+
+	private static Person createPerson(Session session, String name, ResearchOrganization organization,
+			ResearchOrganization superOrganization, LocalDate since, LocalDate to) {
+		final var person = InMemoryEntities.createPerson(session, name, name);
+		createMembership(session, person, organization, superOrganization, null, since, to);
+		return person;
+	}
+
+	private static long createPublication(Session session, Publication publication, Person author, LocalDate date, int year) {
+		publication.setTitle("Title of " + author.getLastName());
+		if (date != null) {
+			publication.setPublicationDate(date);
+		} else {
+			publication.setPublicationDate((LocalDate) null);
+			publication.setPublicationYear(year);
+		}
+		session.persist(publication);
+		final var authorship = new Authorship();
+		authorship.setPerson(author);
+		authorship.setPublication(publication);
+		authorship.setAuthorRank(0);
+		session.persist(authorship);
+		return publication.getId();
+	}
+
+	@Test
+	public void findAllIdsWithActiveMembershipInOrganization_direct() {
+		assertEquals(Set.of(this.misc3), this.test.findAllIdsWithActiveMembershipInOrganization(this.organizationA, false));
+		assertEquals(Set.of(this.paper1, this.misc4), this.test.findAllIdsWithActiveMembershipInOrganization(this.organizationB, false));
+		assertEquals(Set.of(this.misc5), this.test.findAllIdsWithActiveMembershipInOrganization(this.organizationC, false));
+	}
+
+	@Test
+	public void findAllIdsWithActiveMembershipInOrganization_hierarchy() {
+		// The super organization of the membership of P3 is A
+		assertEquals(Set.of(this.paper1, this.misc3, this.misc4, this.misc5),
+				this.test.findAllIdsWithActiveMembershipInOrganization(this.organizationA, true));
+		assertEquals(Set.of(this.paper1, this.misc4), this.test.findAllIdsWithActiveMembershipInOrganization(this.organizationB, true));
+		assertEquals(Set.of(this.misc5), this.test.findAllIdsWithActiveMembershipInOrganization(this.organizationC, true));
+	}
+
+	@Test
+	public void findAllIdsWithActiveMembershipInOrganization_inactiveMembership() {
+		final var ids = this.test.findAllIdsWithActiveMembershipInOrganization(this.organizationA, true);
+		// The membership of P1 ends before the publication of the second paper
+		assertFalse(ids.contains(Long.valueOf(this.paper2)));
+	}
+
+	@Test
+	public void findAllIdsWithActiveMembershipInOrganization_singleStatement() {
+		this.database.resetStatements();
+		this.test.findAllIdsWithActiveMembershipInOrganization(this.organizationA, true);
+		assertEquals(1, this.database.getStatementCount());
+	}
+
+	@Test
+	public void journalPapers() {
+		final var ids = this.test.findAllIdsWithActiveMembershipInOrganization(this.organizationA, true);
+		final var papers = this.database.createRepository(JournalPaperRepository.class).findAllById(ids);
+		assertEquals(Set.of(this.paper1), papers.stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toSet()));
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package fr.utbm.ciad.labmanager.tests.data.publication.comparators;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -80,4 +81,27 @@ public abstract class AbstractTestPublicationTitleComparator {
 		assertTrue(this.test.isSimilar(TITLE1, TITLE1_5));
 	}
 
+	@Test
+	@DisplayName("newSimilaritySession default level")
+	public void newSimilaritySession_defaultLevel() {
+		final var session = this.test.newSimilaritySession();
+		assertEquals(this.test.getSimilarityLevel(), session.getSimilarityLevel());
+		assertTrue(session.isSimilar(TITLE1, TITLE1b));
+		assertTrue(session.isSimilar(TITLE1, TITLE1_4));
+		assertFalse(session.isSimilar(TITLE1, TITLE2));
+		assertTrue(session.isSimilar(null, TITLE1));
+	}
+
+	@Test
+	@DisplayName("newSimilaritySession specific level")
+	public void newSimilaritySession_specificLevel() {
+		final var level = this.test.getSimilarityLevel();
+		final var session = this.test.newSimilaritySession(1.0);
+		assertEquals(1.0, session.getSimilarityLevel());
+		assertEquals(level, this.test.getSimilarityLevel());
+		assertTrue(session.isSimilar(TITLE1, TITLE1_5));
+		assertFalse(session.isSimilar(TITLE1, TITLE1_1));
+		assertTrue(this.test.isSimilar(TITLE1, TITLE1_1));
+	}
+
 }
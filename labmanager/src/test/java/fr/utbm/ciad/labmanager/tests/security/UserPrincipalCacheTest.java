@@ -0,0 +1,216 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeKind;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.user.User;
+import fr.utbm.ciad.labmanager.data.user.UserRole;
+import fr.utbm.ciad.labmanager.security.UserPrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link UserPrincipalCache}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class UserPrincipalCacheTest {
+
+	private EntityChangeBroadcaster broadcaster;
+
+	private UserPrincipalCache test;
+
+	private User user;
+
+	@BeforeEach
+	public void setUp() {
+		this.broadcaster = new EntityChangeBroadcaster(null, true);
+		this.test = new UserPrincipalCache(this.broadcaster, 60000);
+		final var person = new Person();
+		person.setId(34);
+		this.user = new User();
+		this.user.setId(12);
+		this.user.setLogin("xyz");
+		this.user.setRole(UserRole.ADMIN);
+		this.user.setPerson(person);
+	}
+
+	private void waitDispatch() throws Exception {
+		// The events are dispatched sequentially; waiting for a later event ensures the previous ones were handled
+		final var latch = new CountDownLatch(1);
+		final var registration = this.broadcaster.register(String.class, it -> latch.countDown());
+		this.broadcaster.publish(String.class, 0, EntityChangeKind.UPDATED, null);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		registration.remove();
+	}
+
+	@Test
+	public void getOrLoad_loadedOnce() {
+		final var count = new AtomicInteger();
+		final var p0 = this.test.getOrLoad("xyz", () -> {
+			count.incrementAndGet();
+			return Optional.of(this.user);
+		});
+		final var p1 = this.test.getOrLoad("xyz", () -> {
+			count.incrementAndGet();
+			return Optional.of(this.user);
+		});
+		assertEquals(1, count.get());
+		assertSame(p0.get(), p1.get());
+		assertEquals(12, p0.get().userId());
+		assertEquals("xyz", p0.get().login());
+		assertEquals(UserRole.ADMIN, p0.get().role());
+		assertEquals(34, p0.get().personId());
+	}
+
+	@Test
+	public void getOrLoad_unknown() {
+		final var count = new AtomicInteger();
+		assertFalse(this.test.getOrLoad("abc", () -> {
+			count.incrementAndGet();
+			return Optional.empty();
+		}).isPresent());
+		assertFalse(this.test.getOrLoad("abc", () -> {
+			count.incrementAndGet();
+			return Optional.empty();
+		}).isPresent());
+		assertEquals(2, count.get());
+	}
+
+	@Test
+	public void invalidate() {
+		this.test.put(this.user, this.test.getVersion("xyz"));
+		final var version = this.test.getVersion("xyz");
+		this.test.invalidate("xyz");
+		assertFalse(this.test.get("xyz").isPresent());
+		assertNotEquals(version, this.test.getVersion("xyz"));
+	}
+
+	@Test
+	public void put_outdatedVersion() {
+		final var version = this.test.getVersion("xyz");
+		this.test.invalidate("xyz");
+		this.test.put(this.user, version);
+		assertFalse(this.test.get("xyz").isPresent());
+	}
+
+	@Test
+	public void userChange() throws Exception {
+		this.test.put(this.user, this.test.getVersion("xyz"));
+		final var version = this.test.getVersion("xyz");
+		this.broadcaster.publish(User.class, 12, EntityChangeKind.UPDATED, null);
+		waitDispatch();
+		assertFalse(this.test.get("xyz").isPresent());
+		assertNotEquals(version, this.test.getVersion("xyz"));
+	}
+
+	@Test
+	public void personChange() throws Exception {
+		this.test.put(this.user, this.test.getVersion("xyz"));
+		this.broadcaster.publish(Person.class, 34, EntityChangeKind.DELETED, null);
+		waitDispatch();
+		assertFalse(this.test.get("xyz").isPresent());
+	}
+
+	@Test
+	public void otherPersonChange() throws Exception {
+		this.test.put(this.user, this.test.getVersion("xyz"));
+		this.broadcaster.publish(Person.class, 35, EntityChangeKind.UPDATED, null);
+		waitDispatch();
+		assertTrue(this.test.get("xyz").isPresent());
+	}
+
+	@Test
+	public void invalidateUser() {
+		this.test.put(this.user, this.test.getVersion("xyz"));
+		final var version = this.test.getVersion("xyz");
+		this.test.invalidateUser(12);
+		assertFalse(this.test.get("xyz").isPresent());
+		assertNotEquals(version, this.test.getVersion("xyz"));
+	}
+
+	@Test
+	public void disabledBroadcaster() {
+		this.test = new UserPrincipalCache(new EntityChangeBroadcaster(null, false), 60000);
+		assertFalse(this.test.isEnabled());
+		final var count = new AtomicInteger();
+		this.test.getOrLoad("xyz", () -> {
+			count.incrementAndGet();
+			return Optional.of(this.user);
+		});
+		this.test.getOrLoad("xyz", () -> {
+			count.incrementAndGet();
+			return Optional.of(this.user);
+		});
+		assertEquals(2, count.get());
+		assertFalse(this.test.get("xyz").isPresent());
+	}
+
+	@Test
+	public void noTimeToLive() {
+		this.test = new UserPrincipalCache(this.broadcaster, 0);
+		assertFalse(this.test.isEnabled());
+		this.test.put(this.user, this.test.getVersion("xyz"));
+		assertFalse(this.test.get("xyz").isPresent());
+	}
+
+	@Test
+	public void timeToLive() throws Exception {
+		this.test = new UserPrincipalCache(this.broadcaster, 50);
+		final var count = new AtomicInteger();
+		this.test.getOrLoad("xyz", () -> {
+			count.incrementAndGet();
+			return Optional.of(this.user);
+		});
+		assertTrue(this.test.get("xyz").isPresent());
+		Thread.sleep(100);
+		assertFalse(this.test.get("xyz").isPresent());
+		this.test.getOrLoad("xyz", () -> {
+			count.incrementAndGet();
+			return Optional.of(this.user);
+		});
+		assertEquals(2, count.get());
+	}
+
+	@Test
+	public void timeToLive_expiredEntryInvalidated() throws Exception {
+		this.test = new UserPrincipalCache(this.broadcaster, 50);
+		this.test.put(this.user, this.test.getVersion("xyz"));
+		final var version = this.test.getVersion("xyz");
+		Thread.sleep(100);
+		this.test.invalidateUser(12);
+		assertNotEquals(version, this.test.getVersion("xyz"));
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.EntityDeletionBlockers;
+import fr.utbm.ciad.labmanager.services.member.PersonDeletionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests for {@link EntityDeletionBlockers}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class EntityDeletionBlockersTest {
+
+	private MessageSourceAccessor messages;
+
+	private EntityDeletionBlockers<PersonDeletionStatus> test;
+
+	@BeforeEach
+	public void setUp() {
+		this.messages = mock(MessageSourceAccessor.class);
+		when(this.messages.getMessage(anyString(), any(Locale.class))).thenAnswer(it -> ((String) it.getArgument(0)).replace("personDeletionStatus.", ""));
+		this.test = new EntityDeletionBlockers<>(PersonDeletionStatus.class, Map.of(
+				Long.valueOf(1), "Person 1",
+				Long.valueOf(2), "Person 2",
+				Long.valueOf(3), "Person 3"));
+	}
+
+	@Test
+	public void noBlocker() {
+		assertTrue(this.test.isOk());
+		assertTrue(this.test.getBlockedEntityIdentifiers().isEmpty());
+		assertSame(DeletionStatus.OK, this.test.toDeletionStatus());
+		assertNull(this.test.getException(this.messages, Locale.US));
+	}
+
+	@Test
+	public void add_emptyResult() {
+		this.test.add(PersonDeletionStatus.MEMBERSHIP, Collections.emptyList());
+		assertTrue(this.test.isOk());
+		assertSame(DeletionStatus.OK, this.test.toDeletionStatus());
+	}
+
+	@Test
+	public void add_severalReasons() {
+		this.test.add(PersonDeletionStatus.MEMBERSHIP, List.of(Long.valueOf(3), Long.valueOf(1)));
+		this.test.add(PersonDeletionStatus.AUTHORSHIP, List.of(Long.valueOf(1)));
+		this.test.add(PersonDeletionStatus.JURY_MEMBER, Arrays.asList(Long.valueOf(1), null));
+
+		assertFalse(this.test.isOk());
+		assertSame(this.test, this.test.toDeletionStatus());
+		assertEquals(List.of(Long.valueOf(1), Long.valueOf(3)), List.copyOf(this.test.getBlockedEntityIdentifiers()));
+		assertEquals(EnumSet.of(PersonDeletionStatus.MEMBERSHIP, PersonDeletionStatus.AUTHORSHIP, PersonDeletionStatus.JURY_MEMBER),
+				this.test.getReasons(1));
+		assertEquals(EnumSet.of(PersonDeletionStatus.MEMBERSHIP), this.test.getReasons(3));
+		assertTrue(this.test.getReasons(2).isEmpty());
+	}
+
+	@Test
+	public void getException_severalEntities() {
+		this.test.add(PersonDeletionStatus.MEMBERSHIP, List.of(Long.valueOf(3), Long.valueOf(1)));
+		this.test.add(PersonDeletionStatus.AUTHORSHIP, List.of(Long.valueOf(1)));
+
+		final var ex = this.test.getException(this.messages, Locale.US);
+		assertTrue(ex instanceof IllegalStateException);
+		assertEquals("Person 1: MEMBERSHIP, AUTHORSHIP\nPerson 3: MEMBERSHIP", ex.getMessage());
+	}
+
+	@Test
+	public void getException_singleEntity() {
+		final var single = new EntityDeletionBlockers<>(PersonDeletionStatus.class, Map.of(Long.valueOf(1), "Person 1"));
+		single.add(PersonDeletionStatus.AUTHORSHIP, List.of(Long.valueOf(1)));
+		single.add(PersonDeletionStatus.PROJECT_PARTICPANT, List.of(Long.valueOf(1)));
+
+		assertEquals("AUTHORSHIP, PROJECT_PARTICPANT", single.getException(this.messages, Locale.US).getMessage());
+	}
+
+}
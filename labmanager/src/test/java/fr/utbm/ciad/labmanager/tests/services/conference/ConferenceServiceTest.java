@@ -33,6 +33,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -46,6 +47,8 @@ import fr.utbm.ciad.labmanager.data.conference.ConferenceQualityAnnualIndicators
 import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
 import fr.utbm.ciad.labmanager.services.conference.ConferenceService;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal;
+import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal.CorePortalConference;
+import fr.utbm.ciad.labmanager.utils.io.coreportal.CoreRankingExport;
 import fr.utbm.ciad.labmanager.utils.names.ConferenceNameComparator;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import fr.utbm.ciad.labmanager.views.components.addons.logger.ContextualLoggerFactory;
@@ -57,6 +60,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
 import org.springframework.context.support.MessageSourceAccessor;
 
 /** Tests for {@link ConferenceService}.
@@ -299,4 +303,53 @@ public class ConferenceServiceTest {
 		verify(this.indicatorRepository).delete(same(inds));
 	}
 
+	private static CoreRankingExport createExport() throws Exception {
+		final var csv = String.join("\n",
+				"1,\"International Conference on Agents\",\"ICA\",\"CORE2023\",\"A*\",\"Yes\",\"4602\"",
+				"2,\"Symposium on Robots\",\"SoR\",\"CORE2023\",\"B\",\"Yes\",\"4602\"",
+				"3,\"Workshop on Nothing\",\"WoN\",\"CORE2021\",\"C\",\"Yes\",\"4602\"");
+		return CoreRankingExport.read("CORE2023", new ByteArrayInputStream(csv.getBytes()), null);
+	}
+
+	@Test
+	public void downloadConferenceIndicatorsFromCore_export() throws Exception {
+		final var conf0 = mock(Conference.class);
+		lenient().when(conf0.getId()).thenReturn(10l);
+		lenient().when(conf0.getCoreId()).thenReturn("1");
+		lenient().when(conf0.getCoreIndexByYear(anyInt())).thenReturn(CoreRanking.A);
+		final var conf1 = mock(Conference.class);
+		lenient().when(conf1.getId()).thenReturn(11l);
+		lenient().when(conf1.getAcronym()).thenReturn("S.O.R.");
+		lenient().when(conf1.getCoreIndexByYear(anyInt())).thenReturn(CoreRanking.NR);
+		final var conf2 = mock(Conference.class);
+		lenient().when(conf2.getId()).thenReturn(12l);
+		lenient().when(conf2.getCoreId()).thenReturn("3");
+		lenient().when(conf2.getCoreIndexByYear(anyInt())).thenReturn(CoreRanking.NR);
+		when(this.core.getConferenceRanking(eq(2023), eq("3"), any())).thenReturn(new CorePortalConference(CoreRanking.C));
+		final var results = new HashMap<Long, CoreRanking>();
+		//
+		this.test.downloadConferenceIndicatorsFromCore(2023, List.of(conf0, conf1, conf2), createExport(), mock(Logger.class), null,
+				(year, id, oldRanking, newRanking) -> results.put(id, newRanking));
+		//
+		assertEquals(Map.of(10l, CoreRanking.A_STAR, 11l, CoreRanking.B, 12l, CoreRanking.C), results);
+		// Only the conference that is not in the export is checked on the CORE portal
+		verify(this.core, times(1)).getConferenceRanking(anyInt(), anyString(), any());
+	}
+
+	@Test
+	public void updateConferenceIndicators_batch() throws Exception {
+		final var conf0 = mock(Conference.class);
+		when(conf0.getId()).thenReturn(10l);
+		final var conf1 = mock(Conference.class);
+		when(conf1.getId()).thenReturn(11l);
+		when(this.conferenceRepository.findAllByIdIn(any())).thenReturn(List.of(conf0, conf1));
+		//
+		this.test.updateConferenceIndicators(2023, Map.of(10l, CoreRanking.A, 11l, CoreRanking.B));
+		//
+		verify(conf0).setCoreIndexByYear(2023, CoreRanking.A);
+		verify(conf1).setCoreIndexByYear(2023, CoreRanking.B);
+		verify(this.conferenceRepository, times(1)).findAllByIdIn(any());
+		verify(this.conferenceRepository, times(1)).saveAll(any());
+	}
+
 }
@@ -0,0 +1,133 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.JournalRankingDiff;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.JournalRankingProjection;
+import fr.utbm.ciad.labmanager.utils.io.scimago.ScimagoPlatform;
+import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform.WebOfScienceJournal;
+import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link JournalRankingReconciler}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class JournalRankingReconcilerTest {
+
+	private static JournalRankingProjection journal(long id, String scimagoId, String scimagoCategory, QuartileRanking scimago,
+			String issn, String wosCategory, QuartileRanking wos, float impactFactor) {
+		return new JournalRankingProjection(id, "J" + id, "P" + id, issn, scimagoId, scimagoCategory, null, wosCategory,
+				scimago, wos, impactFactor);
+	}
+
+	@Test
+	public void compareQuartiles_unchanged() {
+		assertNull(JournalRankingReconciler.compareQuartiles(1, "a", QuartileRanking.Q1, Map.of("a", QuartileRanking.Q1)));
+	}
+
+	@Test
+	public void compareQuartiles_changed() {
+		final var change = JournalRankingReconciler.compareQuartiles(1, "a", QuartileRanking.Q1, Map.of("a", QuartileRanking.Q2));
+		assertEquals(QuartileRanking.Q1, change.oldQuartile());
+		assertEquals(QuartileRanking.Q2, change.newQuartile());
+		assertEquals(Map.of("a", QuartileRanking.Q2), change.choices());
+	}
+
+	@Test
+	public void compareQuartiles_noMoreRanked() {
+		final var change = JournalRankingReconciler.compareQuartiles(1, "a", QuartileRanking.Q3, null);
+		assertEquals(QuartileRanking.NR, change.newQuartile());
+		assertNull(JournalRankingReconciler.compareQuartiles(1, "a", QuartileRanking.NR, null));
+	}
+
+	@Test
+	public void compareQuartiles_unknownCategory() {
+		final var change = JournalRankingReconciler.compareQuartiles(1, null, QuartileRanking.NR,
+				Map.of("a", QuartileRanking.Q2, "b", QuartileRanking.Q4, ScimagoPlatform.BEST, QuartileRanking.Q2));
+		assertNull(change.newQuartile());
+		assertEquals(Map.of("a", QuartileRanking.Q2, "b", QuartileRanking.Q4), change.choices());
+	}
+
+	@Test
+	public void compareImpactFactors() {
+		assertNull(JournalRankingReconciler.compareImpactFactors(1, 1.2341f, 1.2339f));
+		assertNull(JournalRankingReconciler.compareImpactFactors(1, 1.5f, 0f));
+		assertEquals(2.5f, JournalRankingReconciler.compareImpactFactors(1, 1.5f, 2.5f).newImpactFactor());
+		assertEquals(3f, JournalRankingReconciler.compareImpactFactors(1, 0f, 3f).newImpactFactor());
+	}
+
+	@Test
+	public void reconcileScimago() {
+		final var journals = List.of(
+				journal(1, "s1", "a", QuartileRanking.Q1, null, null, QuartileRanking.NR, 0f),
+				journal(2, "s2", "a", QuartileRanking.Q1, null, null, QuartileRanking.NR, 0f),
+				journal(3, "s3", "a", QuartileRanking.Q2, null, null, QuartileRanking.NR, 0f),
+				journal(4, null, null, QuartileRanking.Q2, null, null, QuartileRanking.NR, 0f),
+				// Two journals may share the same Scimago identifier
+				journal(5, "s1", "a", QuartileRanking.Q4, null, null, QuartileRanking.NR, 0f));
+		final Map<String, Map<String, QuartileRanking>> rankings = Map.of(
+				"s1", Map.of("a", QuartileRanking.Q1),
+				"s2", Map.of("a", QuartileRanking.Q3),
+				"s9", Map.of("a", QuartileRanking.Q3));
+		final var diff = new JournalRankingDiff(2023);
+		JournalRankingReconciler.reconcileScimago(journals, rankings, diff, null);
+
+		final var changes = diff.getScimagoChanges();
+		assertEquals(Set.of(2l, 3l, 5l), changes.keySet());
+		assertEquals(QuartileRanking.Q3, changes.get(2l).newQuartile());
+		assertEquals(QuartileRanking.NR, changes.get(3l).newQuartile());
+		assertEquals(QuartileRanking.Q1, changes.get(5l).newQuartile());
+		assertTrue(diff.getWosChanges().isEmpty());
+		assertEquals(new TreeSet<>(Set.of(2l, 3l, 5l)), diff.getJournalIds());
+	}
+
+	@Test
+	public void reconcileWos() {
+		final var journals = List.of(
+				journal(1, null, null, QuartileRanking.NR, "1234-5678", "b", QuartileRanking.Q1, 2f),
+				journal(2, null, null, QuartileRanking.NR, "8765-4321", "b", QuartileRanking.Q2, 1f),
+				journal(3, null, null, QuartileRanking.NR, null, "b", QuartileRanking.Q2, 1f));
+		final Map<String, WebOfScienceJournal> rankings = Map.of(
+				"12345678", new WebOfScienceJournal(Map.of("b", QuartileRanking.Q1), 2.5f),
+				"87654321", new WebOfScienceJournal(Map.of("b", QuartileRanking.Q1), 1f));
+		final var diff = new JournalRankingDiff(2023);
+		JournalRankingReconciler.reconcileWos(journals, rankings, it -> it == null ? null : it.replace("-", ""), diff, null);
+
+		assertEquals(Set.of(2l), diff.getWosChanges().keySet());
+		assertEquals(QuartileRanking.Q1, diff.getWosChanges().get(2l).newQuartile());
+		assertEquals(Set.of(1l), diff.getImpactFactorChanges().keySet());
+		assertEquals(2.5f, diff.getImpactFactorChanges().get(1l).newImpactFactor());
+		assertTrue(diff.getScimagoChanges().isEmpty());
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.member;
+
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createMembership;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createOrganization;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createPerson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+
+import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.member.Gender;
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
+import fr.utbm.ciad.labmanager.data.member.PersonRepository;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.services.member.MembershipService;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchyService;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryDatabase;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.data.domain.PageRequest;
+
+/** Tests for the queries of {@link MembershipService} on an in-memory database.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class MembershipServiceQueryTest {
+
+	private InMemoryDatabase database;
+
+	private MembershipService test;
+
+	private long person;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.database = new InMemoryDatabase("membershipServiceQuery");
+		this.database.getSessionFactory().inTransaction(session -> {
+			final var organization = createOrganization(session, "ORG");
+			final var superOrganization = createOrganization(session, "SUP");
+			final var person = createPerson(session, "Alice", "A");
+			person.setGender(Gender.FEMALE);
+			this.person = person.getId();
+			createMembership(session, person, organization, superOrganization, MemberStatus.FULL_PROFESSOR,
+					LocalDate.of(2010, 1, 1), null);
+			createMembership(session, createPerson(session, "Bob", "B"), organization, MemberStatus.PHD_STUDENT,
+					LocalDate.of(2020, 10, 1), null);
+		});
+		this.test = new MembershipService(
+				this.database.createRepository(ResearchOrganizationRepository.class),
+				this.database.createRepository(MembershipRepository.class),
+				this.database.createRepository(PersonRepository.class),
+				mock(ResearchOrganizationHierarchyService.class), mock(MessageSourceAccessor.class),
+				mock(ConfigurationConstants.class), this.database.getSessionFactory());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.database != null) {
+			this.database.close();
+			this.database = null;
+		}
+	}
+
+	@Test
+	public void getMembershipsForPerson_detachedRow() {
+		final var page = this.test.getMembershipsForPerson(this.person, PageRequest.of(0, 10), null);
+		// Close the JPA session as it is done before the rendering of the grid rows
+		this.database.getEntityManager().clear();
+
+		assertEquals(1, page.getNumberOfElements());
+		final var membership = page.getContent().get(0);
+		assertTrue(Hibernate.isInitialized(membership.getPerson()));
+		assertEquals(Gender.FEMALE, membership.getPerson().getGender());
+		assertEquals("ORG", membership.getDirectResearchOrganization().getAcronym());
+		assertEquals("SUP", membership.getSuperResearchOrganization().getAcronym());
+	}
+
+}
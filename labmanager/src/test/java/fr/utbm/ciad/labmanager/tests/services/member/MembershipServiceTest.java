@@ -38,7 +38,9 @@ import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -57,6 +59,7 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxis;
 import fr.utbm.ciad.labmanager.services.member.MemberFiltering;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchyService;
 import fr.utbm.ciad.labmanager.utils.bap.FrenchBap;
 import fr.utbm.ciad.labmanager.utils.cnu.CnuSection;
 import fr.utbm.ciad.labmanager.utils.conrs.ConrsSection;
@@ -106,6 +109,8 @@ public class MembershipServiceTest {
 
 	private PersonRepository personRepository;
 
+	private ResearchOrganizationHierarchyService hierarchyService;
+
 	private MembershipService test;
 
 	private SessionFactory sessionFactory;
@@ -117,7 +122,9 @@ public class MembershipServiceTest {
 		this.membershipRepository = mock(MembershipRepository.class);
 		this.personRepository = mock(PersonRepository.class);
 		this.sessionFactory = mock(SessionFactory.class);
+		this.hierarchyService = mock(ResearchOrganizationHierarchyService.class);
 		this.test = new MembershipService(this.organizationRepository, this.membershipRepository, this.personRepository,
+				this.hierarchyService,
 				this.messages, new ConfigurationConstants(), this.sessionFactory);
 
 		// Prepare some memberships to be inside the repository
@@ -196,6 +203,21 @@ public class MembershipServiceTest {
 			}
 			return Collections.emptySet();
 		});
+		lenient().when(this.personRepository.findDistinctByMembershipsResearchOrganizationIdIn(any())).then(it -> {
+			final Collection<Long> orgaIds = it.getArgument(0);
+			final Set<Person> persons = new HashSet<>();
+			for (final Long orgaId : orgaIds) {
+				persons.addAll(this.personRepository.findDistinctByMembershipsResearchOrganizationId(orgaId.longValue()));
+			}
+			return persons;
+		});
+		lenient().when(this.hierarchyService.getOrganizationAndSubOrganizationIds(anyLong())).then(it -> {
+			final long orgaId = ((Number) it.getArgument(0)).longValue();
+			if (orgaId == 1234l || orgaId == 2345l) {
+				return Collections.singleton(Long.valueOf(orgaId));
+			}
+			return Collections.emptySet();
+		});
 		lenient().when(this.personRepository.findDistinctByMembershipsResearchOrganizationNameAndMembershipsMemberStatus(anyString(), any())).then(it -> {
 			final String orgaName = it.getArgument(0).toString();
 			final MemberStatus status = (MemberStatus) it.getArgument(1);
@@ -306,7 +328,7 @@ public class MembershipServiceTest {
 
 	@Test
 	public void getMembersOf_hierarchy() {
-		when(this.o1.getSubOrganizations()).thenReturn(Collections.singleton(this.o2));
+		when(this.hierarchyService.getOrganizationAndSubOrganizationIds(1234l)).thenReturn(Set.of(1234l, 2345l));
 
 		final Set<Person> pers0 = this.test.getMembersOf(1l);
 		assertTrue(pers0.isEmpty());
@@ -0,0 +1,171 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeKind;
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRosterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link OrganizationRosterService}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class OrganizationRosterServiceTest {
+
+	private EntityChangeBroadcaster broadcaster;
+
+	private ResearchOrganization o1;
+
+	private ResearchOrganization o2;
+
+	private Membership m1;
+
+	private Person p1;
+
+	private OrganizationRosterService test;
+
+	private static ResearchOrganization createOrganization(long id) {
+		final var organization = new ResearchOrganization();
+		organization.setId(id);
+		return organization;
+	}
+
+	private static Membership createMembership(long id, Person person, ResearchOrganization organization) {
+		final var membership = new Membership();
+		membership.setId(id);
+		membership.setPerson(person);
+		membership.setMemberStatus(MemberStatus.POSTDOC);
+		membership.setDirectResearchOrganization(organization);
+		organization.getDirectOrganizationMemberships().add(membership);
+		return membership;
+	}
+
+	@BeforeEach
+	public void setUp() {
+		this.broadcaster = new EntityChangeBroadcaster(null, true);
+		this.test = new OrganizationRosterService(mock(ResearchOrganizationRepository.class), this.broadcaster);
+		this.o1 = createOrganization(1);
+		this.o2 = createOrganization(2);
+		this.p1 = new Person();
+		this.p1.setId(100);
+		this.p1.setFirstName("John");
+		this.p1.setLastName("Doe");
+		this.p1.setWebPageId("jdoe");
+		this.m1 = createMembership(10, this.p1, this.o1);
+		final var p2 = new Person();
+		p2.setId(200);
+		createMembership(20, p2, this.o2);
+	}
+
+	private void waitDispatch() throws Exception {
+		// The events are dispatched sequentially; waiting for a later event ensures the previous ones were handled
+		final var latch = new CountDownLatch(1);
+		final var registration = this.broadcaster.register(String.class, it -> latch.countDown());
+		this.broadcaster.publish(String.class, 0, EntityChangeKind.UPDATED, null);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		registration.remove();
+	}
+
+	@Test
+	public void getRoster_cached() {
+		final var roster = this.test.getRoster(this.o1);
+		assertSame(roster, this.test.getRoster(this.o1));
+		assertEquals(1, roster.size());
+		final var member = roster.getMembers().get(0);
+		assertEquals("John Doe", member.personFullName());
+		assertEquals("jdoe", member.personWebPageId());
+	}
+
+	@Test
+	public void getRoster_disabledBroadcaster() {
+		this.test = new OrganizationRosterService(mock(ResearchOrganizationRepository.class), new EntityChangeBroadcaster(null, false));
+		assertNotSame(this.test.getRoster(this.o1), this.test.getRoster(this.o1));
+	}
+
+	@Test
+	public void membershipMoved() throws Exception {
+		final var r1 = this.test.getRoster(this.o1);
+		final var r2 = this.test.getRoster(this.o2);
+		// Move the membership from o1 to o2
+		this.o1.getDirectOrganizationMemberships().remove(this.m1);
+		this.m1.setDirectResearchOrganization(this.o2);
+		this.o2.getDirectOrganizationMemberships().add(this.m1);
+		this.broadcaster.publish(Membership.class, 10, EntityChangeKind.UPDATED, this.m1);
+		waitDispatch();
+		final var newR1 = this.test.getRoster(this.o1);
+		final var newR2 = this.test.getRoster(this.o2);
+		assertNotSame(r1, newR1);
+		assertNotSame(r2, newR2);
+		assertEquals(0, newR1.size());
+		assertEquals(2, newR2.size());
+	}
+
+	@Test
+	public void membershipChange_otherOrganization() throws Exception {
+		final var r1 = this.test.getRoster(this.o1);
+		final var r2 = this.test.getRoster(this.o2);
+		final var o3 = createOrganization(3);
+		final var m3 = createMembership(30, this.p1, o3);
+		this.broadcaster.publish(Membership.class, 30, EntityChangeKind.CREATED, m3);
+		waitDispatch();
+		assertSame(r1, this.test.getRoster(this.o1));
+		assertSame(r2, this.test.getRoster(this.o2));
+	}
+
+	@Test
+	public void membershipDeleted_unknownOrganization() throws Exception {
+		final var r1 = this.test.getRoster(this.o1);
+		final var r2 = this.test.getRoster(this.o2);
+		this.broadcaster.publish(Membership.class, 10, EntityChangeKind.DELETED, null);
+		waitDispatch();
+		assertNotSame(r1, this.test.getRoster(this.o1));
+		assertNotSame(r2, this.test.getRoster(this.o2));
+	}
+
+	@Test
+	public void personChange() throws Exception {
+		final var r1 = this.test.getRoster(this.o1);
+		final var r2 = this.test.getRoster(this.o2);
+		this.broadcaster.publish(Person.class, 100, EntityChangeKind.UPDATED, this.p1);
+		waitDispatch();
+		assertNotSame(r1, this.test.getRoster(this.o1));
+		assertSame(r2, this.test.getRoster(this.o2));
+	}
+
+}
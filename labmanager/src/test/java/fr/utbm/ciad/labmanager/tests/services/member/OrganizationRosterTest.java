@@ -0,0 +1,160 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.services.member.OrganizationRoster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link OrganizationRoster}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class OrganizationRosterTest {
+
+	private static final LocalDate ORIGIN = LocalDate.of(2000, 1, 1);
+
+	private List<Membership> memberships;
+
+	private OrganizationRoster test;
+
+	private static Membership createMembership(long id, LocalDate start, LocalDate end, MemberStatus status) {
+		final var person = new Person();
+		person.setId(id + 1000);
+		person.setFirstName("F" + id);
+		person.setLastName("L" + id);
+		final var membership = new Membership();
+		membership.setId(id);
+		membership.setPerson(person);
+		membership.setMemberSinceWhen(start);
+		membership.setMemberToWhen(end);
+		membership.setMemberStatus(status);
+		return membership;
+	}
+
+	private static Set<Long> ids(List<OrganizationRoster.Member> members) {
+		return members.stream().map(it -> Long.valueOf(it.membershipId())).collect(Collectors.toCollection(TreeSet::new));
+	}
+
+	private Set<Long> expected(LocalDate start, LocalDate end) {
+		return this.memberships.stream().filter(it -> it.isActiveIn(start, end))
+				.map(it -> Long.valueOf(it.getId())).collect(Collectors.toCollection(TreeSet::new));
+	}
+
+	@BeforeEach
+	public void setUp() {
+		final var random = new Random(1234);
+		this.memberships = new ArrayList<>();
+		for (var i = 1; i <= 500; ++i) {
+			final var start = random.nextInt(10) == 0 ? null : ORIGIN.plusDays(random.nextInt(9000));
+			final LocalDate end;
+			if (random.nextInt(5) == 0) {
+				end = null;
+			} else {
+				end = (start == null ? ORIGIN : start).plusDays(random.nextInt(2000));
+			}
+			this.memberships.add(createMembership(i, start, end, random.nextBoolean() ? MemberStatus.POSTDOC : MemberStatus.PHD_STUDENT));
+		}
+		this.test = OrganizationRoster.build(12, this.memberships);
+	}
+
+	@Test
+	public void getOrganizationId() {
+		assertEquals(12, this.test.getOrganizationId());
+		assertEquals(500, this.test.size());
+	}
+
+	@Test
+	public void getMembersAt() {
+		for (var day = -100; day < 10000; day += 37) {
+			final var date = ORIGIN.plusDays(day);
+			assertEquals(expected(date, date), ids(this.test.getMembersAt(date, null)), date.toString());
+		}
+	}
+
+	@Test
+	public void getMembersDuring() {
+		final var random = new Random(5678);
+		for (var i = 0; i < 200; ++i) {
+			final var start = ORIGIN.plusDays(random.nextInt(10000) - 100);
+			final var end = start.plusDays(random.nextInt(1000));
+			assertEquals(expected(start, end), ids(this.test.getMembersDuring(start, end, null)));
+		}
+	}
+
+	@Test
+	public void getMembersDuring_openPeriod() {
+		final var date = ORIGIN.plusDays(4000);
+		assertEquals(expected(null, date), ids(this.test.getMembersDuring(null, date, null)));
+		assertEquals(expected(date, null), ids(this.test.getMembersDuring(date, null, null)));
+		assertEquals(500, this.test.getMembersDuring(null, null, null).size());
+	}
+
+	@Test
+	public void getMembersAt_filter() {
+		final var date = ORIGIN.plusDays(4000);
+		final var members = this.test.getMembersAt(date, it -> it.status() == MemberStatus.POSTDOC);
+		final var expected = this.memberships.stream().filter(it -> it.isActiveAt(date) && it.getMemberStatus() == MemberStatus.POSTDOC)
+				.map(it -> Long.valueOf(it.getId())).collect(Collectors.toCollection(TreeSet::new));
+		assertEquals(expected, ids(members));
+		assertTrue(members.stream().allMatch(it -> it.personName().startsWith("L")));
+	}
+
+	@Test
+	public void daysInYear() {
+		for (final var membership : this.memberships) {
+			final var member = OrganizationRoster.Member.of(membership);
+			for (var year = 1999; year <= 2030; year += 3) {
+				assertEquals(membership.daysInYear(year), member.daysInYear(year));
+			}
+		}
+	}
+
+	@Test
+	public void getFullTimeEquivalentPerYear() {
+		final var roster = OrganizationRoster.build(12, List.of(
+				createMembership(1, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31), MemberStatus.POSTDOC),
+				createMembership(2, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 7, 1), MemberStatus.POSTDOC),
+				createMembership(3, LocalDate.of(2010, 1, 1), LocalDate.of(2011, 1, 1), MemberStatus.POSTDOC)));
+		final var fte = MemberStatus.POSTDOC.getUsualResearchFullTimeEquivalent();
+		final var values = roster.getFullTimeEquivalentPerYear(2020, 2021, null);
+		assertEquals(2, values.size());
+		assertEquals(fte, values.get(2020).floatValue(), 1e-4f);
+		assertEquals(fte * 182f / 365f, values.get(2021).floatValue(), 1e-4f);
+	}
+
+}
@@ -0,0 +1,238 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services.member;
+
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createMembership;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createOrganization;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createPerson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.data.invitation.PersonInvitation;
+import fr.utbm.ciad.labmanager.data.invitation.PersonInvitationType;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembership;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipType;
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.publication.Authorship;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
+import fr.utbm.ciad.labmanager.data.publication.type.MiscDocument;
+import fr.utbm.ciad.labmanager.data.supervision.Supervision;
+import fr.utbm.ciad.labmanager.data.supervision.Supervisor;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivity;
+import fr.utbm.ciad.labmanager.services.member.PersonActivityTimeline;
+import fr.utbm.ciad.labmanager.services.member.PersonActivityTimeline.ActivityType;
+import fr.utbm.ciad.labmanager.services.member.PersonActivityTimelineService;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryDatabase;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the queries of {@link PersonActivityTimelineService} on an in-memory database.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PersonActivityTimelineQueryTest {
+
+	private InMemoryDatabase database;
+
+	private PersonActivityTimelineService test;
+
+	private long supervisor;
+
+	private long student;
+
+	private long candidate;
+
+	private long guest;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.database = new InMemoryDatabase("personActivityTimeline");
+		this.database.getSessionFactory().inTransaction(session -> {
+			final var organization = createOrganization(session, "ORG");
+
+			final var supervisor = createPerson(session, "Alice", "A");
+			final var student = createPerson(session, "Bob", "B");
+			final var candidate = createPerson(session, "Carol", "C");
+			final var guest = createPerson(session, "Dave", "D");
+			this.supervisor = supervisor.getId();
+			this.student = student.getId();
+			this.candidate = candidate.getId();
+			this.guest = guest.getId();
+
+			createMembership(session, supervisor, organization, MemberStatus.FULL_PROFESSOR, LocalDate.of(2010, 1, 1), null);
+			final var studentMembership = createMembership(session, student, organization, MemberStatus.PHD_STUDENT,
+					LocalDate.of(2020, 10, 1), LocalDate.of(2023, 9, 30));
+
+			final var paper = new JournalPaper();
+			paper.setPublicationDate(LocalDate.of(2021, 6, 1));
+			createPublication(session, paper, "Paper", supervisor);
+			final var misc = new MiscDocument();
+			misc.setPublicationDate((LocalDate) null);
+			misc.setPublicationYear(2022);
+			createPublication(session, misc, "Misc", supervisor);
+
+			final var teaching = new TeachingActivity();
+			teaching.setPerson(supervisor);
+			teaching.setCode("C1");
+			teaching.setTitle("Course");
+			teaching.setStartDate(LocalDate.of(2019, 9, 1));
+			teaching.setEndDate(LocalDate.of(2020, 6, 30));
+			session.persist(teaching);
+
+			final var supervision = new Supervision();
+			supervision.setSupervisedPerson(studentMembership);
+			supervision.setTitle("Thesis");
+			supervision.setDefenseDate(LocalDate.of(2023, 9, 15));
+			final var supervisorEntity = new Supervisor();
+			supervisorEntity.setSupervisor(supervisor);
+			supervision.setSupervisors(List.of(supervisorEntity));
+			session.persist(supervision);
+
+			final var jury = new JuryMembership();
+			jury.setPerson(supervisor);
+			jury.setType(JuryMembershipType.EXAMINER);
+			jury.setDate(LocalDate.of(2022, 12, 1));
+			jury.setCandidate(candidate);
+			session.persist(jury);
+
+			final var invitation = new PersonInvitation();
+			invitation.setGuest(guest);
+			invitation.setInviter(supervisor);
+			invitation.setType(PersonInvitationType.INCOMING_GUEST_PROFESSOR);
+			invitation.setStartDate(LocalDate.of(2021, 5, 1));
+			invitation.setEndDate(LocalDate.of(2021, 5, 31));
+			invitation.setTitle("Visit");
+			session.persist(invitation);
+		});
+		this.test = new PersonActivityTimelineService(new EntityChangeBroadcaster(null, false), null, null, this.database.getSessionFactory());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.database != null) {
+			this.database.close();
+			this.database = null;
+		}
+	}
+
+	private static void createPublication(Session session, Publication publication, String title, Person author) {
+		publication.setTitle(title);
+		session.persist(publication);
+		final var authorship = new Authorship();
+		authorship.setPerson(author);
+		authorship.setPublication(publication);
+		authorship.setAuthorRank(0);
+		session.persist(authorship);
+	}
+
+	private static PersonActivityTimeline.Entry single(PersonActivityTimeline timeline, ActivityType type) {
+		final var entries = timeline.getEntries(type);
+		assertEquals(1, entries.size());
+		return entries.get(0);
+	}
+
+	@Test
+	public void getTimeline_memberships() {
+		final var entry = single(this.test.getTimeline(this.student), ActivityType.MEMBERSHIP);
+		assertEquals("ORG - Organization ORG", entry.title());
+		assertEquals("PHD_STUDENT", entry.detail());
+		assertEquals(LocalDate.of(2020, 10, 1), entry.startDate());
+		assertEquals(LocalDate.of(2023, 9, 30), entry.endDate());
+	}
+
+	@Test
+	public void getTimeline_publications() {
+		final var entries = this.test.getTimeline(this.supervisor).getEntries(ActivityType.PUBLICATION);
+		assertEquals(2, entries.size());
+		// The most recent entries are first; the publication without date is dated by its year
+		assertEquals("Misc", entries.get(0).title());
+		assertEquals(LocalDate.of(2022, 1, 1), entries.get(0).startDate());
+		assertEquals("Paper", entries.get(1).title());
+		assertEquals(LocalDate.of(2021, 6, 1), entries.get(1).startDate());
+	}
+
+	@Test
+	public void getTimeline_teachingActivities() {
+		final var entry = single(this.test.getTimeline(this.supervisor), ActivityType.TEACHING);
+		assertEquals("Course", entry.title());
+		assertEquals("C1", entry.detail());
+	}
+
+	@Test
+	public void getTimeline_supervisions() {
+		final var timeline = this.test.getTimeline(this.supervisor);
+		final var entry = single(timeline, ActivityType.SUPERVISION);
+		assertEquals("Thesis", entry.title());
+		assertEquals("Bob B", entry.detail());
+		assertEquals(LocalDate.of(2020, 10, 1), entry.startDate());
+		// The end of the supervision is the defense
+		assertEquals(LocalDate.of(2023, 9, 15), entry.endDate());
+		// The supervised person has no supervision
+		assertEquals(0, this.test.getTimeline(this.student).getCount(ActivityType.SUPERVISION));
+	}
+
+	@Test
+	public void getTimeline_juryMemberships() {
+		final var entry = single(this.test.getTimeline(this.supervisor), ActivityType.JURY_MEMBERSHIP);
+		// The name of the candidate is used when the works have no title
+		assertEquals("Carol C", entry.title());
+		assertEquals("EXAMINER", entry.detail());
+	}
+
+	@Test
+	public void getTimeline_invitations() {
+		final var inviter = single(this.test.getTimeline(this.supervisor), ActivityType.INVITATION);
+		assertEquals("Visit", inviter.title());
+		final var guest = this.test.getTimeline(this.guest);
+		assertEquals("Visit", single(guest, ActivityType.INVITATION).title());
+		assertEquals(Set.of(Long.valueOf(this.supervisor)), guest.getRelatedPersonIds());
+	}
+
+	@Test
+	public void getTimeline_relatedPersons() {
+		assertEquals(Set.of(Long.valueOf(this.student), Long.valueOf(this.candidate), Long.valueOf(this.guest)),
+				this.test.getTimeline(this.supervisor).getRelatedPersonIds());
+	}
+
+	@Test
+	public void getTimelines_groupedQueries() {
+		this.database.resetStatements();
+		final var timelines = this.test.getTimelines(List.of(Long.valueOf(this.supervisor), Long.valueOf(this.student),
+				Long.valueOf(this.candidate), Long.valueOf(this.guest)));
+		assertEquals(4, timelines.size());
+		assertEquals(7, timelines.get(Long.valueOf(this.supervisor)).getEntries().size());
+		assertTrue(timelines.get(Long.valueOf(this.candidate)).getEntries().isEmpty());
+		// One query per type of activity, whatever the number of persons
+		assertEquals(6, this.database.getStatementCount());
+	}
+
+}
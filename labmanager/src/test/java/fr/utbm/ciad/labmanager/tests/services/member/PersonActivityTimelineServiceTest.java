@@ -0,0 +1,235 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeKind;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembership;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.publication.Authorship;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivity;
+import fr.utbm.ciad.labmanager.services.member.PersonActivityTimeline;
+import fr.utbm.ciad.labmanager.services.member.PersonActivityTimeline.ActivityType;
+import fr.utbm.ciad.labmanager.services.member.PersonActivityTimelineService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the invalidation of the timelines by {@link PersonActivityTimelineService}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PersonActivityTimelineServiceTest {
+
+	private EntityChangeBroadcaster broadcaster;
+
+	private Map<Long, PersonActivityTimeline> database;
+
+	private AtomicInteger loads;
+
+	private PersonActivityTimelineService test;
+
+	private Person p1;
+
+	private Person p2;
+
+	private Person p3;
+
+	private static Person createPerson(long id) {
+		final var person = new Person();
+		person.setId(id);
+		return person;
+	}
+
+	@BeforeEach
+	public void setUp() {
+		this.broadcaster = new EntityChangeBroadcaster(null, true);
+		this.database = new HashMap<>();
+		this.loads = new AtomicInteger();
+		// Person 1 has the membership 10, the publication 20, the teaching activity 40 and the jury membership 30
+		this.database.put(1l, PersonActivityTimeline.builder(1)
+				.add(ActivityType.MEMBERSHIP, 10, null, null, "ORG1", "POSTDOC")
+				.add(ActivityType.PUBLICATION, 20, null, null, "Paper", "INTERNATIONAL_JOURNAL_PAPER")
+				.add(ActivityType.TEACHING, 40, null, null, "Course", "C1")
+				.add(ActivityType.JURY_MEMBERSHIP, 30, null, null, "Thesis", "EXAMINER")
+				.build());
+		this.database.put(2l, PersonActivityTimeline.builder(2)
+				.add(ActivityType.MEMBERSHIP, 11, null, null, "ORG1", "POSTDOC")
+				.build());
+		this.database.put(3l, PersonActivityTimeline.builder(3)
+				.add(ActivityType.MEMBERSHIP, 12, null, null, "ORG2", "POSTDOC")
+				.build());
+		this.test = new PersonActivityTimelineService(this.broadcaster, null, null, null) {
+			@Override
+			protected Map<Long, PersonActivityTimeline> loadTimelines(Set<Long> personIds) {
+				loads.incrementAndGet();
+				final var result = new HashMap<Long, PersonActivityTimeline>();
+				for (final var id : personIds) {
+					result.put(id, database.getOrDefault(id, PersonActivityTimeline.builder(id.longValue()).build()));
+				}
+				return result;
+			}
+		};
+		this.p1 = createPerson(1);
+		this.p2 = createPerson(2);
+		this.p3 = createPerson(3);
+	}
+
+	private void waitDispatch() throws Exception {
+		// The events are dispatched sequentially; waiting for a later event ensures the previous ones were handled
+		final var latch = new CountDownLatch(1);
+		final var registration = this.broadcaster.register(String.class, it -> latch.countDown());
+		this.broadcaster.publish(String.class, 0, EntityChangeKind.UPDATED, null);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		registration.remove();
+	}
+
+	private PersonActivityTimeline[] loadAll() {
+		return new PersonActivityTimeline[] {
+				this.test.getTimeline(1), this.test.getTimeline(2), this.test.getTimeline(3)
+		};
+	}
+
+	@Test
+	public void getTimeline_cached() {
+		final var t0 = this.test.getTimeline(1);
+		assertSame(t0, this.test.getTimeline(1));
+		assertEquals(1, this.loads.get());
+	}
+
+	@Test
+	public void getTimeline_disabledBroadcaster() {
+		this.test = new PersonActivityTimelineService(new EntityChangeBroadcaster(null, false), null, null, null) {
+			@Override
+			protected Map<Long, PersonActivityTimeline> loadTimelines(Set<Long> personIds) {
+				loads.incrementAndGet();
+				return Map.of(1l, database.get(1l));
+			}
+		};
+		this.test.getTimeline(1);
+		this.test.getTimeline(1);
+		assertEquals(2, this.loads.get());
+	}
+
+	@Test
+	public void membershipReassigned() throws Exception {
+		final var timelines = loadAll();
+		// The membership 10 is moved from the person 1 to the person 2
+		final var membership = new Membership();
+		membership.setId(10);
+		membership.setPerson(this.p2);
+		this.broadcaster.publish(Membership.class, 10, EntityChangeKind.UPDATED, membership);
+		waitDispatch();
+		assertNotSame(timelines[0], this.test.getTimeline(1));
+		assertNotSame(timelines[1], this.test.getTimeline(2));
+		assertSame(timelines[2], this.test.getTimeline(3));
+	}
+
+	@Test
+	public void authorshipReassigned() throws Exception {
+		final var timelines = loadAll();
+		final var publication = mock(Publication.class);
+		when(publication.getId()).thenReturn(20l);
+		final var authorship = new Authorship();
+		authorship.setPerson(this.p3);
+		authorship.setPublication(publication);
+		this.broadcaster.publish(Authorship.class, 100, EntityChangeKind.UPDATED, authorship);
+		waitDispatch();
+		assertNotSame(timelines[0], this.test.getTimeline(1));
+		assertSame(timelines[1], this.test.getTimeline(2));
+		assertNotSame(timelines[2], this.test.getTimeline(3));
+	}
+
+	@Test
+	public void teachingActivityReassigned() throws Exception {
+		final var timelines = loadAll();
+		final var activity = new TeachingActivity();
+		activity.setPerson(this.p2);
+		this.broadcaster.publish(TeachingActivity.class, 40, EntityChangeKind.UPDATED, activity);
+		waitDispatch();
+		assertNotSame(timelines[0], this.test.getTimeline(1));
+		assertNotSame(timelines[1], this.test.getTimeline(2));
+		assertSame(timelines[2], this.test.getTimeline(3));
+	}
+
+	@Test
+	public void juryMembershipReassigned() throws Exception {
+		final var timelines = loadAll();
+		final var jury = new JuryMembership();
+		jury.setPerson(this.p3);
+		this.broadcaster.publish(JuryMembership.class, 30, EntityChangeKind.UPDATED, jury);
+		waitDispatch();
+		assertNotSame(timelines[0], this.test.getTimeline(1));
+		assertSame(timelines[1], this.test.getTimeline(2));
+		assertNotSame(timelines[2], this.test.getTimeline(3));
+	}
+
+	@Test
+	public void juryMembershipCreated() throws Exception {
+		final var timelines = loadAll();
+		final var jury = new JuryMembership();
+		jury.setPerson(this.p2);
+		this.broadcaster.publish(JuryMembership.class, 31, EntityChangeKind.CREATED, jury);
+		waitDispatch();
+		assertSame(timelines[0], this.test.getTimeline(1));
+		assertNotSame(timelines[1], this.test.getTimeline(2));
+		assertSame(timelines[2], this.test.getTimeline(3));
+	}
+
+	@Test
+	public void organizationChange() throws Exception {
+		final var timelines = loadAll();
+		this.broadcaster.publish(ResearchOrganization.class, 1, EntityChangeKind.UPDATED, new ResearchOrganization());
+		waitDispatch();
+		assertNotSame(timelines[0], this.test.getTimeline(1));
+		assertNotSame(timelines[1], this.test.getTimeline(2));
+		assertNotSame(timelines[2], this.test.getTimeline(3));
+	}
+
+	@Test
+	public void personChange() throws Exception {
+		final var timelines = loadAll();
+		this.broadcaster.publish(Person.class, 2, EntityChangeKind.UPDATED, this.p2);
+		waitDispatch();
+		assertSame(timelines[0], this.test.getTimeline(1));
+		assertNotSame(timelines[1], this.test.getTimeline(2));
+		assertSame(timelines[2], this.test.getTimeline(3));
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.services.member.PersonActivityTimeline;
+import fr.utbm.ciad.labmanager.services.member.PersonActivityTimeline.ActivityType;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link PersonActivityTimeline}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PersonActivityTimelineTest {
+
+	private static LocalDate date(int year) {
+		return LocalDate.of(year, 6, 1);
+	}
+
+	private static PersonActivityTimeline createTimeline() {
+		return PersonActivityTimeline.builder(1)
+				.add(ActivityType.MEMBERSHIP, 10, date(2015), date(2019), "ORG1", "PHD_STUDENT")
+				.add(ActivityType.MEMBERSHIP, 11, date(2020), null, "ORG2", "ASSOCIATE_PROFESSOR")
+				.add(ActivityType.PUBLICATION, 20, date(2018), date(2018), "Paper", "INTERNATIONAL_JOURNAL_PAPER")
+				.add(ActivityType.JURY_MEMBERSHIP, 30, date(2022), date(2022), "Thesis", "EXAMINER")
+				.add(ActivityType.TEACHING, 40, null, null, "Course", "C1")
+				.addRelatedPerson(5)
+				.addRelatedPerson(1)
+				.addRelatedPerson(0)
+				.build();
+	}
+
+	@Test
+	public void getEntries_sorted() {
+		final var entries = createTimeline().getEntries();
+		assertEquals(5, entries.size());
+		assertEquals(30, entries.get(0).entityId());
+		assertEquals(11, entries.get(1).entityId());
+		assertEquals(10, entries.get(2).entityId());
+		assertEquals(20, entries.get(3).entityId());
+		assertEquals(40, entries.get(4).entityId());
+	}
+
+	@Test
+	public void getEntries_unmodifiable() {
+		final var entries = createTimeline().getEntries();
+		assertThrows(UnsupportedOperationException.class, () -> entries.clear());
+	}
+
+	@Test
+	public void getEntries_type() {
+		final var entries = createTimeline().getEntries(ActivityType.MEMBERSHIP);
+		assertEquals(2, entries.size());
+		assertEquals(11, entries.get(0).entityId());
+		assertEquals(10, entries.get(1).entityId());
+	}
+
+	@Test
+	public void getCount() {
+		final var timeline = createTimeline();
+		assertEquals(2, timeline.getCount(ActivityType.MEMBERSHIP));
+		assertEquals(1, timeline.getCount(ActivityType.PUBLICATION));
+		assertEquals(0, timeline.getCount(ActivityType.INVITATION));
+	}
+
+	@Test
+	public void getActiveEntries() {
+		final var entries = createTimeline().getActiveEntries(date(2021));
+		assertEquals(2, entries.size());
+		assertEquals(11, entries.get(0).entityId());
+		assertEquals(40, entries.get(1).entityId());
+	}
+
+	@Test
+	public void isActiveAt() {
+		final var entry = new PersonActivityTimeline.Entry(ActivityType.MEMBERSHIP, 1, date(2015), date(2019), "A", null);
+		assertTrue(entry.isActiveAt(date(2015)));
+		assertTrue(entry.isActiveAt(date(2019)));
+		assertFalse(entry.isActiveAt(date(2014)));
+		assertFalse(entry.isActiveAt(date(2020)));
+	}
+
+	@Test
+	public void getRelatedPersonIds() {
+		assertEquals(Set.of(Long.valueOf(5)), createTimeline().getRelatedPersonIds());
+	}
+
+	@Test
+	public void contains() {
+		final var timeline = createTimeline();
+		assertTrue(timeline.contains(ActivityType.MEMBERSHIP, 10));
+		assertTrue(timeline.contains(ActivityType.TEACHING, 40));
+		assertFalse(timeline.contains(ActivityType.TEACHING, 10));
+		assertFalse(timeline.contains(ActivityType.INVITATION, 40));
+	}
+
+}
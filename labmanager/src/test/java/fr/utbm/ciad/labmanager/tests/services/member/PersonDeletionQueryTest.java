@@ -0,0 +1,158 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.member;
+
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createMembership;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createOrganization;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createPerson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.invitation.PersonInvitation;
+import fr.utbm.ciad.labmanager.data.invitation.PersonInvitationType;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembership;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipType;
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.member.PersonRepository;
+import fr.utbm.ciad.labmanager.data.publication.AuthorshipRepository;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.EntityDeletionBlockers;
+import fr.utbm.ciad.labmanager.services.member.PersonDeletionStatus;
+import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryDatabase;
+import fr.utbm.ciad.labmanager.utils.io.gscholar.GoogleScholarPlatform;
+import fr.utbm.ciad.labmanager.utils.io.scopus.ScopusPlatform;
+import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests for the existence queries of the deletion context of {@link PersonService} on an in-memory database.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PersonDeletionQueryTest {
+
+	/** Number of types of links that are blocking the deletion of a person.
+	 */
+	private static final int LINK_TYPE_COUNT = 9;
+
+	private InMemoryDatabase database;
+
+	private PersonService test;
+
+	private Person alice;
+
+	private Person bob;
+
+	private Person carol;
+
+	private Person dave;
+
+	private Person eve;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.database = new InMemoryDatabase("personDeletionQuery");
+		this.database.getSessionFactory().inTransaction(session -> {
+			final var organization = createOrganization(session, "ORG");
+			this.alice = createPerson(session, "Alice", "A");
+			this.bob = createPerson(session, "Bob", "B");
+			this.carol = createPerson(session, "Carol", "C");
+			this.dave = createPerson(session, "Dave", "D");
+			this.eve = createPerson(session, "Eve", "E");
+
+			createMembership(session, this.alice, organization, MemberStatus.FULL_PROFESSOR, LocalDate.of(2010, 1, 1), null);
+
+			final var jury = new JuryMembership();
+			jury.setPerson(this.bob);
+			jury.setType(JuryMembershipType.EXAMINER);
+			jury.setDate(LocalDate.of(2022, 12, 1));
+			jury.setCandidate(this.carol);
+			session.persist(jury);
+
+			final var invitation = new PersonInvitation();
+			invitation.setGuest(this.dave);
+			invitation.setInviter(this.alice);
+			invitation.setType(PersonInvitationType.INCOMING_GUEST_PROFESSOR);
+			invitation.setStartDate(LocalDate.of(2021, 5, 1));
+			invitation.setEndDate(LocalDate.of(2021, 5, 31));
+			invitation.setTitle("Visit");
+			session.persist(invitation);
+		});
+		this.test = new PersonService(mock(PublicationRepository.class), mock(AuthorshipRepository.class),
+				mock(PersonRepository.class), mock(GoogleScholarPlatform.class), mock(ScopusPlatform.class),
+				mock(WebOfSciencePlatform.class), mock(PersonNameParser.class), mock(PersonNameComparator.class),
+				mock(MessageSourceAccessor.class), mock(ConfigurationConstants.class), this.database.getSessionFactory());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.database != null) {
+			this.database.close();
+			this.database = null;
+		}
+	}
+
+	@Test
+	public void getDeletionStatus_blocked() {
+		final var context = this.test.startDeletion(Set.of(this.alice, this.bob, this.carol, this.dave, this.eve), mock(Logger.class));
+		this.database.resetStatements();
+
+		assertFalse(context.isDeletionPossible());
+		// One query per type of link, whatever the number of persons
+		assertEquals(LINK_TYPE_COUNT, this.database.getStatementCount());
+
+		final var blockers = (EntityDeletionBlockers<PersonDeletionStatus>) context.getDeletionStatus();
+		assertEquals(Set.of(this.alice.getId(), this.bob.getId(), this.carol.getId(), this.dave.getId()),
+				blockers.getBlockedEntityIdentifiers());
+		assertEquals(Set.of(PersonDeletionStatus.MEMBERSHIP, PersonDeletionStatus.PERSON_INVITER), blockers.getReasons(this.alice.getId()));
+		assertEquals(Set.of(PersonDeletionStatus.JURY_MEMBER), blockers.getReasons(this.bob.getId()));
+		assertEquals(Set.of(PersonDeletionStatus.JURY_CANDIDATE), blockers.getReasons(this.carol.getId()));
+		assertEquals(Set.of(PersonDeletionStatus.INVITED_GUEST), blockers.getReasons(this.dave.getId()));
+		assertTrue(blockers.getReasons(this.eve.getId()).isEmpty());
+	}
+
+	@Test
+	public void getDeletionStatus_ok() {
+		final var context = this.test.startDeletion(Set.of(this.eve), mock(Logger.class));
+		this.database.resetStatements();
+
+		assertTrue(context.isDeletionPossible());
+		assertSame(DeletionStatus.OK, context.getDeletionStatus());
+		assertEquals(LINK_TYPE_COUNT, this.database.getStatementCount());
+	}
+
+}
@@ -0,0 +1,226 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services.organization;
+
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createMembership;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createOrganization;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createPerson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.data.jury.JuryMembership;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipType;
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.supervision.Supervision;
+import fr.utbm.ciad.labmanager.data.supervision.Supervisor;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivity;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityType;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationActivityReport.Activity;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationActivityReportService;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchyService;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryDatabase;
+import fr.utbm.ciad.labmanager.utils.funding.FundingScheme;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the queries of {@link OrganizationActivityReportService} on an in-memory database.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class OrganizationActivityReportServiceTest {
+
+	private InMemoryDatabase database;
+
+	private OrganizationActivityReportService test;
+
+	private long organization;
+
+	private long supervisor;
+
+	private long student;
+
+	private long outsider;
+
+	private long studentMembership;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.database = new InMemoryDatabase("organizationActivityReport");
+		final var hierarchy = mock(ResearchOrganizationHierarchyService.class);
+		this.database.getSessionFactory().inTransaction(session -> {
+			final var organization = createOrganization(session, "ORG");
+			final var suborganization = createOrganization(session, "SUB");
+			final var other = createOrganization(session, "OTHER");
+			this.organization = organization.getId();
+			when(hierarchy.getOrganizationAndSubOrganizationIds(organization.getId())).thenReturn(
+					Set.of(Long.valueOf(organization.getId()), Long.valueOf(suborganization.getId())));
+
+			final var supervisor = createPerson(session, "Alice", "A");
+			final var student = createPerson(session, "Bob", "B");
+			final var outsider = createPerson(session, "Carol", "C");
+			this.supervisor = supervisor.getId();
+			this.student = student.getId();
+			this.outsider = outsider.getId();
+
+			createMembership(session, supervisor, suborganization, MemberStatus.FULL_PROFESSOR, LocalDate.of(2018, 1, 1), null);
+			final var studentMembership = createMembership(session, student, organization, MemberStatus.PHD_STUDENT,
+					LocalDate.of(2020, 10, 1), LocalDate.of(2023, 9, 30));
+			this.studentMembership = studentMembership.getId();
+			final var outsiderMembership = createMembership(session, outsider, other, MemberStatus.PHD_STUDENT,
+					LocalDate.of(2020, 1, 1), null);
+
+			final var teaching = new TeachingActivity();
+			teaching.setPerson(supervisor);
+			teaching.setCode("C1");
+			teaching.setTitle("Course");
+			teaching.setStartDate(LocalDate.of(2019, 9, 1));
+			teaching.setEndDate(LocalDate.of(2020, 6, 30));
+			teaching.setAnnualWorkPerType(Map.of(
+					TeachingActivityType.LECTURES, Float.valueOf(10f),
+					TeachingActivityType.TUTORIALS, Float.valueOf(4f)));
+			session.persist(teaching);
+
+			createSupervision(session, studentMembership, supervisor, LocalDate.of(2023, 9, 15), FundingScheme.SELF_FUNDING);
+			createSupervision(session, outsiderMembership, null, null, FundingScheme.LOCAL_INSTITUTION);
+
+			createJury(session, supervisor, JuryMembershipType.EXAMINER, LocalDate.of(2022, 3, 1));
+			createJury(session, supervisor, JuryMembershipType.EXAMINER, LocalDate.of(2022, 11, 1));
+			createJury(session, supervisor, JuryMembershipType.PRESIDENT, LocalDate.of(2021, 5, 1));
+			createJury(session, supervisor, JuryMembershipType.EXAMINER, LocalDate.of(2017, 5, 1));
+			createJury(session, outsider, JuryMembershipType.EXAMINER, LocalDate.of(2022, 5, 1));
+		});
+		this.test = new OrganizationActivityReportService(hierarchy, null, null, this.database.getSessionFactory());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.database != null) {
+			this.database.close();
+			this.database = null;
+		}
+	}
+
+	private static void createSupervision(Session session, Membership supervisedPerson, Person supervisor,
+			LocalDate defenseDate, FundingScheme funding) {
+		final var supervision = new Supervision();
+		supervision.setSupervisedPerson(supervisedPerson);
+		supervision.setTitle("Thesis");
+		supervision.setDefenseDate(defenseDate);
+		supervision.setFunding(funding);
+		if (supervisor != null) {
+			final var supervisorEntity = new Supervisor();
+			supervisorEntity.setSupervisor(supervisor);
+			supervision.setSupervisors(List.of(supervisorEntity));
+		}
+		session.persist(supervision);
+	}
+
+	private static void createJury(Session session, Person person, JuryMembershipType type, LocalDate date) {
+		final var jury = new JuryMembership();
+		jury.setPerson(person);
+		jury.setType(type);
+		jury.setDate(date);
+		jury.setTitle("Defense");
+		session.persist(jury);
+	}
+
+	@Test
+	public void getActivityReport_persons() {
+		final var persons = this.test.getActivityReport(this.organization, 2019, 2023).getPersons();
+		// The members of the suborganizations are included, not those of the other organizations
+		assertEquals(2, persons.size());
+		assertEquals(this.supervisor, persons.get(0).id());
+		assertEquals("Alice", persons.get(0).firstName());
+		assertEquals(this.student, persons.get(1).id());
+	}
+
+	@Test
+	public void getActivityReport_teaching() {
+		final var report = this.test.getActivityReport(this.organization, 2019, 2023);
+		final var expectedHetd = TeachingActivityType.LECTURES.convertHoursToHetd(10f, false)
+				+ TeachingActivityType.TUTORIALS.convertHoursToHetd(4f, false);
+		for (final var year : new int[] {2019, 2020}) {
+			final var activity = report.getActivity(this.supervisor, year);
+			assertEquals(14f, activity.teachingHours());
+			assertEquals(expectedHetd, activity.teachingHetd());
+		}
+		assertEquals(0f, report.getActivity(this.supervisor, 2021).teachingHours());
+	}
+
+	@Test
+	public void getActivityReport_supervisions() {
+		final var report = this.test.getActivityReport(this.organization, 2019, 2023);
+		assertEquals(0, report.getActivity(this.supervisor, 2019).supervisions());
+		for (var year = 2020; year <= 2023; ++year) {
+			assertEquals(1, report.getActivity(this.supervisor, year).supervisions());
+		}
+		assertEquals(1, report.getActivity(this.supervisor, 2023).defenses());
+		assertEquals(1, report.getPersonTotal(this.supervisor).defenses());
+		assertSame(Activity.EMPTY, report.getPersonTotal(this.student));
+	}
+
+	@Test
+	public void getActivityReport_juries() {
+		final var report = this.test.getActivityReport(this.organization, 2019, 2023);
+		assertEquals(Map.of(JuryMembershipType.EXAMINER, Integer.valueOf(2)),
+				report.getActivity(this.supervisor, 2022).juryParticipations());
+		assertEquals(Map.of(JuryMembershipType.PRESIDENT, Integer.valueOf(1)),
+				report.getActivity(this.supervisor, 2021).juryParticipations());
+		// The juries out of the years and of the non-members are ignored
+		assertEquals(3, report.getPersonTotal(this.supervisor).getJuryParticipationCount());
+		assertEquals(2, report.getYearTotal(2022).getJuryParticipationCount());
+	}
+
+	@Test
+	public void getActivityReport_groupedQueries() {
+		this.database.resetStatements();
+		this.test.getActivityReport(this.organization, 2019, 2023);
+		// One query for the members, and one query per type of activity
+		assertEquals(4, this.database.getStatementCount());
+	}
+
+	@Test
+	public void getActivityReport_noMember() {
+		final var report = this.test.getActivityReport(this.organization, 2000, 2005);
+		assertTrue(report.getPersons().isEmpty());
+	}
+
+	@Test
+	public void getSupervisionFundingsByMembership() {
+		assertEquals(Map.of(Long.valueOf(this.studentMembership), FundingScheme.SELF_FUNDING),
+				this.test.getSupervisionFundingsByMembership(this.organization));
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services.organization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipType;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityType;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationActivityReport;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationActivityReport.Activity;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link OrganizationActivityReport}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class OrganizationActivityReportTest {
+
+	private static LocalDate date(int year) {
+		return LocalDate.of(year, 6, 1);
+	}
+
+	@Test
+	public void getPersons_sortedAndFilteredOnYears() {
+		final var report = OrganizationActivityReport.builder(1, 2020, 2022)
+				.addMembership(10, "Zoe", "Martin", date(2018), date(2021))
+				.addMembership(11, "Alice", "Durand", date(2021), null)
+				.addMembership(12, "Bob", "Old", date(2010), date(2015))
+				.build();
+		final var persons = report.getPersons();
+		assertEquals(2, persons.size());
+		assertEquals(11, persons.get(0).id());
+		assertEquals(10, persons.get(1).id());
+	}
+
+	@Test
+	public void addTeaching_onlyDuringMembership() {
+		final var report = OrganizationActivityReport.builder(1, 2020, 2022)
+				.addMembership(10, "Zoe", "Martin", date(2021), null)
+				.addTeaching(10, date(2019), null, TeachingActivityType.LECTURES, 10f, false)
+				.build();
+		assertSame(Activity.EMPTY, report.getActivity(10, 2020));
+		final var activity = report.getActivity(10, 2021);
+		assertEquals(10f, activity.teachingHours());
+		assertEquals(TeachingActivityType.LECTURES.convertHoursToHetd(10f, false), activity.teachingHetd());
+		assertEquals(20f, report.getPersonTotal(10).teachingHours());
+	}
+
+	@Test
+	public void addTeaching_unknownPerson() {
+		final var report = OrganizationActivityReport.builder(1, 2020, 2022)
+				.addTeaching(10, date(2019), null, TeachingActivityType.LECTURES, 10f, false)
+				.build();
+		assertTrue(report.getPersons().isEmpty());
+		assertSame(Activity.EMPTY, report.getYearTotal(2021));
+	}
+
+	@Test
+	public void addSupervision_defense() {
+		final var report = OrganizationActivityReport.builder(1, 2020, 2022)
+				.addMembership(10, "Zoe", "Martin", date(2015), null)
+				.addSupervision(10, date(2019), date(2021), date(2021))
+				.addSupervision(10, date(2021), null, null)
+				.build();
+		assertEquals(1, report.getActivity(10, 2020).supervisions());
+		assertEquals(0, report.getActivity(10, 2020).defenses());
+		assertEquals(2, report.getActivity(10, 2021).supervisions());
+		assertEquals(1, report.getActivity(10, 2021).defenses());
+		assertEquals(1, report.getActivity(10, 2022).supervisions());
+		assertEquals(1, report.getPersonTotal(10).defenses());
+	}
+
+	@Test
+	public void addJuryParticipations() {
+		final var report = OrganizationActivityReport.builder(1, 2020, 2022)
+				.addMembership(10, "Zoe", "Martin", date(2015), null)
+				.addMembership(11, "Alice", "Durand", date(2015), null)
+				.addJuryParticipations(10, 2021, JuryMembershipType.REVIEWER, 2)
+				.addJuryParticipations(10, 2021, JuryMembershipType.PRESIDENT, 1)
+				.addJuryParticipations(11, 2021, JuryMembershipType.REVIEWER, 3)
+				.build();
+		final var activity = report.getActivity(10, 2021);
+		assertEquals(3, activity.getJuryParticipationCount());
+		assertEquals(2, activity.juryParticipations().get(JuryMembershipType.REVIEWER));
+		final var total = report.getYearTotal(2021);
+		assertEquals(6, total.getJuryParticipationCount());
+		assertEquals(5, total.juryParticipations().get(JuryMembershipType.REVIEWER));
+	}
+
+}
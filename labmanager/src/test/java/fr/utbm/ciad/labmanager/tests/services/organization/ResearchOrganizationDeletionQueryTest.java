@@ -0,0 +1,143 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.organization;
+
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createMembership;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createOrganization;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createPerson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.organization.OrganizationAddressRepository;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivity;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityType;
+import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.EntityDeletionBlockers;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationDeletionStatus;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchyService;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryDatabase;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
+import fr.utbm.ciad.labmanager.utils.names.OrganizationNameComparator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests for the existence queries of the deletion context of {@link ResearchOrganizationService} on an in-memory database.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class ResearchOrganizationDeletionQueryTest {
+
+	/** Number of types of links that are blocking the deletion of an organization.
+	 */
+	private static final int LINK_TYPE_COUNT = 11;
+
+	private InMemoryDatabase database;
+
+	private ResearchOrganizationService test;
+
+	private ResearchOrganization direct;
+
+	private ResearchOrganization employer;
+
+	private ResearchOrganization university;
+
+	private ResearchOrganization free;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.database = new InMemoryDatabase("organizationDeletionQuery");
+		this.database.getSessionFactory().inTransaction(session -> {
+			this.direct = createOrganization(session, "DIR");
+			this.employer = createOrganization(session, "EMP");
+			this.university = createOrganization(session, "UNI");
+			this.free = createOrganization(session, "FREE");
+
+			final var person = createPerson(session, "Alice", "A");
+			createMembership(session, person, this.direct, this.employer, MemberStatus.FULL_PROFESSOR, LocalDate.of(2010, 1, 1), null);
+
+			final var teaching = new TeachingActivity();
+			teaching.setPerson(person);
+			teaching.setUniversity(this.university);
+			teaching.setCode("C1");
+			teaching.setTitle("Course");
+			teaching.setStartDate(LocalDate.of(2019, 9, 1));
+			teaching.setEndDate(LocalDate.of(2020, 6, 30));
+			teaching.setAnnualWorkPerType(Map.of(TeachingActivityType.LECTURES, Float.valueOf(10f)));
+			session.persist(teaching);
+		});
+		this.test = new ResearchOrganizationService(mock(OrganizationAddressRepository.class), mock(ResearchOrganizationRepository.class),
+				mock(DownloadableFileManager.class), mock(OrganizationNameComparator.class), mock(ResearchOrganizationHierarchyService.class),
+				mock(MessageSourceAccessor.class), mock(ConfigurationConstants.class), this.database.getSessionFactory());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.database != null) {
+			this.database.close();
+			this.database = null;
+		}
+	}
+
+	@Test
+	public void getDeletionStatus_blocked() {
+		final var context = this.test.startDeletion(Set.of(this.direct, this.employer, this.university, this.free), mock(Logger.class));
+		this.database.resetStatements();
+
+		assertFalse(context.isDeletionPossible());
+		// One query per type of link, whatever the number of organizations
+		assertEquals(LINK_TYPE_COUNT, this.database.getStatementCount());
+
+		final var blockers = (EntityDeletionBlockers<OrganizationDeletionStatus>) context.getDeletionStatus();
+		assertEquals(Set.of(this.direct.getId(), this.employer.getId(), this.university.getId()),
+				blockers.getBlockedEntityIdentifiers());
+		assertEquals(Set.of(OrganizationDeletionStatus.DIRECT_ORGANIZATION_MEMBERSHIP), blockers.getReasons(this.direct.getId()));
+		assertEquals(Set.of(OrganizationDeletionStatus.SUPER_ORGANIZATION_MEMBERSHIP), blockers.getReasons(this.employer.getId()));
+		assertEquals(Set.of(OrganizationDeletionStatus.TEACHING_ACTIVITY), blockers.getReasons(this.university.getId()));
+		assertTrue(blockers.getReasons(this.free.getId()).isEmpty());
+	}
+
+	@Test
+	public void getDeletionStatus_ok() {
+		final var context = this.test.startDeletion(Set.of(this.free), mock(Logger.class));
+		this.database.resetStatements();
+
+		assertTrue(context.isDeletionPossible());
+		assertSame(DeletionStatus.OK, context.getDeletionStatus());
+		assertEquals(LINK_TYPE_COUNT, this.database.getStatementCount());
+	}
+
+}
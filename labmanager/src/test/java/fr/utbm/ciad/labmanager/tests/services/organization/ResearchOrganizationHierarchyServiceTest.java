@@ -0,0 +1,223 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.organization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationClosure;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationClosureRepository;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchyService;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests for {@link ResearchOrganizationHierarchyService}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+@ExtendWith(MockitoExtension.class)
+public class ResearchOrganizationHierarchyServiceTest {
+
+	private ResearchOrganizationRepository organizationRepository;
+
+	private ResearchOrganizationClosureRepository closureRepository;
+
+	private List<ResearchOrganizationClosure> storedClosure;
+
+	private List<Object[]> links;
+
+	private ResearchOrganizationHierarchyService test;
+
+	@BeforeEach
+	public void setUp() {
+		this.organizationRepository = mock(ResearchOrganizationRepository.class);
+		this.closureRepository = mock(ResearchOrganizationClosureRepository.class);
+		this.storedClosure = new ArrayList<>();
+		// Hierarchy: 1 -> 2 -> 3, 1 -> 4, 5 alone
+		this.links = new ArrayList<>();
+		this.links.add(new Object[] {1l, 2l});
+		this.links.add(new Object[] {2l, 3l});
+		this.links.add(new Object[] {1l, 4l});
+		lenient().when(this.organizationRepository.findAllIds()).thenReturn(Arrays.asList(1l, 2l, 3l, 4l, 5l));
+		lenient().when(this.organizationRepository.findAllSubOrganizationLinks()).then(it -> this.links);
+		lenient().when(this.closureRepository.findAll()).then(it -> this.storedClosure);
+		this.test = new ResearchOrganizationHierarchyService(this.organizationRepository, this.closureRepository,
+				mock(MessageSourceAccessor.class), new ConfigurationConstants(), mock(SessionFactory.class));
+	}
+
+	@Test
+	public void getOrganizationAndSubOrganizationIds() {
+		assertEquals(Set.of(1l, 2l, 3l, 4l), this.test.getOrganizationAndSubOrganizationIds(1));
+		assertEquals(Set.of(2l, 3l), this.test.getOrganizationAndSubOrganizationIds(2));
+		assertEquals(Set.of(3l), this.test.getOrganizationAndSubOrganizationIds(3));
+		assertEquals(Set.of(5l), this.test.getOrganizationAndSubOrganizationIds(5));
+		assertTrue(this.test.getOrganizationAndSubOrganizationIds(6).isEmpty());
+	}
+
+	@Test
+	public void cycle() {
+		this.links.add(new Object[] {3l, 1l});
+		assertEquals(Set.of(1l, 2l, 3l, 4l), this.test.getOrganizationAndSubOrganizationIds(3));
+	}
+
+	@Test
+	public void getOrganizationAndSubOrganizationIds_noWrite() {
+		this.test.getOrganizationAndSubOrganizationIds(1);
+		this.test.getOrganizationAndSubOrganizationIds(2);
+		verify(this.closureRepository, never()).findAll();
+		verify(this.closureRepository, never()).saveAll(any());
+		verify(this.closureRepository, never()).deleteAllInBatch(any());
+	}
+
+	@Test
+	public void refresh() {
+		this.test.refresh();
+
+		final ArgumentCaptor<Collection<ResearchOrganizationClosure>> arg = ArgumentCaptor.forClass(Collection.class);
+		verify(this.closureRepository, times(1)).saveAll(arg.capture());
+		final var saved = new ArrayList<>(arg.getValue());
+		// 5 self links + 1->2, 1->3, 1->4, 2->3
+		assertEquals(9, saved.size());
+		assertTrue(saved.stream().anyMatch(it -> it.getAncestorId() == 1l && it.getDescendantId() == 3l && it.getDepth() == 2));
+		assertTrue(saved.stream().anyMatch(it -> it.getAncestorId() == 4l && it.getDescendantId() == 4l && it.getDepth() == 0));
+		verify(this.closureRepository, never()).deleteAllInBatch(any());
+	}
+
+	@Test
+	public void addOrganization() {
+		this.test.addOrganization(6, List.of(2l, 4l));
+
+		final ArgumentCaptor<Collection<ResearchOrganizationClosure>> arg = ArgumentCaptor.forClass(Collection.class);
+		verify(this.closureRepository).saveAll(arg.capture());
+		final var saved = new ArrayList<>(arg.getValue());
+		// 6->6, 2->6, 4->6, and 1->6 with the shortest path
+		assertEquals(4, saved.size());
+		assertTrue(saved.stream().allMatch(it -> it.getDescendantId() == 6l));
+		assertTrue(saved.stream().anyMatch(it -> it.getAncestorId() == 6l && it.getDepth() == 0));
+		assertTrue(saved.stream().anyMatch(it -> it.getAncestorId() == 2l && it.getDepth() == 1));
+		assertTrue(saved.stream().anyMatch(it -> it.getAncestorId() == 4l && it.getDepth() == 1));
+		assertTrue(saved.stream().anyMatch(it -> it.getAncestorId() == 1l && it.getDepth() == 2));
+		// Only the new entries are written
+		verify(this.closureRepository, never()).findAll();
+		verify(this.closureRepository, never()).deleteAllInBatch(any());
+	}
+
+	@Test
+	public void addOrganization_root() {
+		this.test.addOrganization(6, List.of());
+
+		final ArgumentCaptor<Collection<ResearchOrganizationClosure>> arg = ArgumentCaptor.forClass(Collection.class);
+		verify(this.closureRepository).saveAll(arg.capture());
+		final var saved = new ArrayList<>(arg.getValue());
+		assertEquals(1, saved.size());
+		assertEquals(6l, saved.get(0).getAncestorId());
+		assertEquals(0, saved.get(0).getDepth());
+	}
+
+	@Test
+	public void refresh_onlyDifferences() {
+		this.storedClosure.add(new ResearchOrganizationClosure(1l, 1l, 0));
+		this.storedClosure.add(new ResearchOrganizationClosure(1l, 2l, 1));
+		this.storedClosure.add(new ResearchOrganizationClosure(1l, 3l, 5));
+		this.storedClosure.add(new ResearchOrganizationClosure(5l, 1l, 1));
+
+		this.test.refresh();
+
+		final ArgumentCaptor<Collection<ResearchOrganizationClosure>> arg0 = ArgumentCaptor.forClass(Collection.class);
+		verify(this.closureRepository).deleteAllInBatch(arg0.capture());
+		assertEquals(1, arg0.getValue().size());
+		final var deleted = arg0.getValue().iterator().next();
+		assertEquals(5l, deleted.getAncestorId());
+		assertEquals(1l, deleted.getDescendantId());
+
+		final ArgumentCaptor<Collection<ResearchOrganizationClosure>> arg1 = ArgumentCaptor.forClass(Collection.class);
+		verify(this.closureRepository).saveAll(arg1.capture());
+		final var saved = new ArrayList<>(arg1.getValue());
+		// 1->3 is updated, and 6 entries are missing
+		assertEquals(7, saved.size());
+		assertTrue(saved.stream().anyMatch(it -> it.getAncestorId() == 1l && it.getDescendantId() == 3l && it.getDepth() == 2));
+		assertFalse(saved.stream().anyMatch(it -> it.getAncestorId() == 1l && it.getDescendantId() == 2l));
+	}
+
+	@Test
+	public void refresh_hierarchyChange() {
+		assertEquals(Set.of(2l, 3l), this.test.getOrganizationAndSubOrganizationIds(2));
+		this.links.add(new Object[] {2l, 5l});
+		assertEquals(Set.of(2l, 3l), this.test.getOrganizationAndSubOrganizationIds(2));
+		this.test.refresh();
+		assertEquals(Set.of(2l, 3l, 5l), this.test.getOrganizationAndSubOrganizationIds(2));
+	}
+
+	@Test
+	public void invalidate() {
+		assertEquals(Set.of(4l), this.test.getOrganizationAndSubOrganizationIds(4));
+		this.links.add(new Object[] {4l, 5l});
+		this.test.invalidate();
+		assertEquals(Set.of(4l, 5l), this.test.getOrganizationAndSubOrganizationIds(4));
+		verify(this.closureRepository, never()).saveAll(any());
+	}
+
+	@Test
+	public void onApplicationReady() {
+		this.test.onApplicationReady(mock(ApplicationReadyEvent.class));
+		verify(this.closureRepository).saveAll(any());
+	}
+
+	@Test
+	public void synchronizeClosure_upToDate() {
+		this.test.synchronizeClosure();
+		verify(this.closureRepository, never()).findAll();
+		verify(this.closureRepository, never()).saveAll(any());
+	}
+
+	@Test
+	public void synchronizeClosure_invalidated() {
+		this.test.invalidate();
+		this.test.synchronizeClosure();
+		verify(this.closureRepository).saveAll(any());
+		// The closure is saved once
+		this.test.synchronizeClosure();
+		verify(this.closureRepository, times(1)).saveAll(any());
+	}
+
+}
@@ -28,6 +28,7 @@ import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -45,6 +46,7 @@ import fr.utbm.ciad.labmanager.data.organization.OrganizationAddressRepository;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationType;
+import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationHierarchyService;
 import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
@@ -90,6 +92,8 @@ public class ResearchOrganizationServiceTest {
 
 	private DownloadableFileManager fileManager;
 
+	private ResearchOrganizationHierarchyService hierarchyService;
+
 	@BeforeEach
 	public void setUp() {
 		this.messages = mock(MessageSourceAccessor.class);
@@ -98,8 +102,9 @@ public class ResearchOrganizationServiceTest {
 		this.organizationNameComparator = mock(OrganizationNameComparator.class);
 		this.sessionFactory = mock(SessionFactory.class);
 		this.fileManager = mock(DownloadableFileManager.class);
+		this.hierarchyService = mock(ResearchOrganizationHierarchyService.class);
 		this.test = new ResearchOrganizationService(this.addressRepository, this.organizationRepository, this.fileManager,
-				this.organizationNameComparator,
+				this.organizationNameComparator, this.hierarchyService,
 				this.messages, new ConfigurationConstants(), this.sessionFactory);
 
 		// Prepare some organizations to be inside the repository
@@ -236,6 +241,9 @@ public class ResearchOrganizationServiceTest {
 		assertSame(ResearchOrganizationType.FACULTY, actual.getType());
 		assertEquals("NURL", actual.getOrganizationURL());
 		assertSame(CountryCode.GERMANY, actual.getCountry());
+
+		verify(this.hierarchyService).addOrganization(anyLong(), eq(List.of()));
+		verify(this.hierarchyService, never()).refresh();
 	}
 
 	@Test
@@ -292,6 +300,9 @@ public class ResearchOrganizationServiceTest {
 
 		verify(this.orga1, atLeastOnce()).setCountry(arg4.capture());
 		assertEquals(CountryCode.GERMANY, arg4.getValue());
+
+		// The super organizations are unchanged
+		verify(this.hierarchyService, never()).refresh();
 	}
 
 	@Test
@@ -313,6 +324,7 @@ public class ResearchOrganizationServiceTest {
 		final ResearchOrganization actual1 = arg1.getAllValues().get(1);
 		assertSame(this.orga3, actual0);
 		assertSame(this.orga1, actual1);
+		verify(this.hierarchyService).refresh();
 	}
 
 	@Test
@@ -359,6 +371,7 @@ public class ResearchOrganizationServiceTest {
 		final ResearchOrganization actual1 = arg1.getAllValues().get(1);
 		assertSame(this.orga1, actual0);
 		assertSame(this.orga3, actual1);
+		verify(this.hierarchyService).refresh();
 	}
 
 	@Test
@@ -49,6 +49,7 @@ import fr.utbm.ciad.labmanager.data.project.ProjectStatus;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
 import fr.utbm.ciad.labmanager.services.project.ProjectService;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.ProjectImageManager;
 import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -81,6 +82,8 @@ public class ProjectServiceTest {
 
 	private DownloadableFileManager fileManager;
 
+	private ProjectImageManager imageManager;
+
 	private ProjectService test;
 
 	private SessionFactory sessionFactory;
@@ -94,10 +97,11 @@ public class ProjectServiceTest {
 		this.personRepository = mock(PersonRepository.class);
 		this.membershipService = mock(MembershipService.class);
 		this.fileManager = mock(DownloadableFileManager.class);
+		this.imageManager = mock(ProjectImageManager.class);
 		this.sessionFactory = mock(SessionFactory.class);
 		this.test = new ProjectService(this.projectRepository, this.projectMemberRepository,
 				this.organizationRepository, this.personRepository, this.membershipService, this.fileManager,
-				this.messages, new ConfigurationConstants(), this.sessionFactory);
+				this.imageManager, this.messages, new ConfigurationConstants(), this.sessionFactory);
 	}
 	
 	@Test
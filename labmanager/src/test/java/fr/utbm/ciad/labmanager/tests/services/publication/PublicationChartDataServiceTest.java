@@ -0,0 +1,114 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services.publication;
+
+import static fr.utbm.ciad.labmanager.data.publication.PublicationType.INTERNATIONAL_JOURNAL_PAPER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeBroadcaster;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.services.publication.PublicationChartDataService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link PublicationChartDataService}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PublicationChartDataServiceTest {
+
+	private PublicationRepository repository;
+
+	private PublicationChartDataService test;
+
+	@BeforeEach
+	public void setUp() {
+		this.repository = mock(PublicationRepository.class);
+		final List<Object[]> rows = Collections.singletonList(
+				new Object[] {INTERNATIONAL_JOURNAL_PAPER, Integer.valueOf(2020), Long.valueOf(4)});
+		when(this.repository.countPublicationsPerTypeAndYear(anyInt(), anyInt())).thenReturn(rows);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.test != null) {
+			this.test.stop();
+			this.test = null;
+		}
+	}
+
+	@Test
+	public void getPublicationCounts() throws Exception {
+		this.test = new PublicationChartDataService(this.repository, new EntityChangeBroadcaster(null, true));
+		final var counts = this.test.getPublicationCounts(2021, 2020).get();
+		assertEquals(2020, counts.getStartYear());
+		assertEquals(2021, counts.getEndYear());
+		assertEquals(4, counts.getCount(INTERNATIONAL_JOURNAL_PAPER, 2020));
+	}
+
+	@Test
+	public void getPublicationCounts_shared() throws Exception {
+		this.test = new PublicationChartDataService(this.repository, new EntityChangeBroadcaster(null, true));
+		final var counts0 = this.test.getPublicationCounts(2020, 2021).get();
+		final var counts1 = this.test.getPublicationCounts(2021, 2020).get();
+		assertSame(counts0, counts1);
+		verify(this.repository, times(1)).countPublicationsPerTypeAndYear(2020, 2021);
+	}
+
+	@Test
+	public void invalidateAll() throws Exception {
+		this.test = new PublicationChartDataService(this.repository, new EntityChangeBroadcaster(null, true));
+		this.test.getPublicationCounts(2020, 2021).get();
+		this.test.invalidateAll();
+		this.test.getPublicationCounts(2020, 2021).get();
+		verify(this.repository, times(2)).countPublicationsPerTypeAndYear(2020, 2021);
+	}
+
+	@Test
+	public void getPublicationCounts_broadcasterDisabled() throws Exception {
+		this.test = new PublicationChartDataService(this.repository, new EntityChangeBroadcaster(null, false));
+		this.test.getPublicationCounts(2020, 2021).get();
+		this.test.getPublicationCounts(2020, 2021).get();
+		// The counts are not kept because the changes of the publications are not notified
+		verify(this.repository, times(2)).countPublicationsPerTypeAndYear(2020, 2021);
+	}
+
+	@Test
+	public void getPublicationCounts_noBroadcaster() throws Exception {
+		this.test = new PublicationChartDataService(this.repository, null);
+		this.test.getPublicationCounts(2020, 2021).get();
+		this.test.getPublicationCounts(2020, 2021).get();
+		verify(this.repository, times(2)).countPublicationsPerTypeAndYear(2020, 2021);
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services.publication;
+
+import static fr.utbm.ciad.labmanager.data.publication.PublicationType.INTERNATIONAL_CONFERENCE_PAPER;
+import static fr.utbm.ciad.labmanager.data.publication.PublicationType.INTERNATIONAL_JOURNAL_PAPER;
+import static fr.utbm.ciad.labmanager.data.publication.PublicationType.NATIONAL_JOURNAL_PAPER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountsPerTypeAndYear;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link PublicationCountsPerTypeAndYear}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PublicationCountsPerTypeAndYearTest {
+
+	private PublicationCountsPerTypeAndYear test;
+
+	@BeforeEach
+	public void setUp() {
+		final List<Object[]> rows = Arrays.asList(
+				new Object[] {INTERNATIONAL_JOURNAL_PAPER, Integer.valueOf(2020), Long.valueOf(4)},
+				new Object[] {INTERNATIONAL_JOURNAL_PAPER, Integer.valueOf(2022), Long.valueOf(2)},
+				new Object[] {INTERNATIONAL_CONFERENCE_PAPER, Integer.valueOf(2020), Long.valueOf(3)},
+				new Object[] {INTERNATIONAL_CONFERENCE_PAPER, Integer.valueOf(2030), Long.valueOf(10)},
+				new Object[] {null, Integer.valueOf(2020), Long.valueOf(1)});
+		this.test = PublicationCountsPerTypeAndYear.of(2022, 2020, rows);
+	}
+
+	@Test
+	public void getStartYear() {
+		assertEquals(2020, this.test.getStartYear());
+	}
+
+	@Test
+	public void getEndYear() {
+		assertEquals(2022, this.test.getEndYear());
+	}
+
+	@Test
+	public void covers() {
+		assertFalse(this.test.covers(2019));
+		assertTrue(this.test.covers(2020));
+		assertTrue(this.test.covers(2022));
+		assertFalse(this.test.covers(2023));
+	}
+
+	@Test
+	public void getCount_type() {
+		assertEquals(4, this.test.getCount(INTERNATIONAL_JOURNAL_PAPER, 2020));
+		assertEquals(0, this.test.getCount(INTERNATIONAL_JOURNAL_PAPER, 2021));
+		assertEquals(2, this.test.getCount(INTERNATIONAL_JOURNAL_PAPER, 2022));
+		assertEquals(0, this.test.getCount(NATIONAL_JOURNAL_PAPER, 2020));
+		assertEquals(0, this.test.getCount(INTERNATIONAL_CONFERENCE_PAPER, 2030));
+	}
+
+	@Test
+	public void getCount_types() {
+		assertEquals(7, this.test.getCount(Arrays.asList(INTERNATIONAL_JOURNAL_PAPER, INTERNATIONAL_CONFERENCE_PAPER, NATIONAL_JOURNAL_PAPER), 2020));
+		assertEquals(0, this.test.getCount(Arrays.asList(INTERNATIONAL_JOURNAL_PAPER), 2019));
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services.publication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.comparators.PublicationTitleComparator.SimilaritySession;
+import fr.utbm.ciad.labmanager.data.publication.comparators.SorensenDicePublicationTitleComparator;
+import fr.utbm.ciad.labmanager.services.publication.PublicationDuplicateIndex;
+import fr.utbm.ciad.labmanager.services.publication.PublicationDuplicateIndex.IndexedPublication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link PublicationDuplicateIndex}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PublicationDuplicateIndexTest {
+
+	private PublicationDuplicateIndex test;
+
+	@BeforeEach
+	public void setUp() {
+		this.test = new PublicationDuplicateIndex(List.of(
+				new IndexedPublication(1, "Multi-agent simulation of traffic in smart cities", "10.1000/ABC"),
+				new IndexedPublication(2, "A survey on deep reinforcement learning", null),
+				new IndexedPublication(3, "Holonic multi-agent systems for energy management", ""),
+				new IndexedPublication(4, "Completely different title", "10.1000/xyz")),
+				new SorensenDicePublicationTitleComparator().newSimilaritySession());
+	}
+
+	@Test
+	public void size() {
+		assertEquals(4, this.test.size());
+	}
+
+	@Test
+	public void getDuplicateCandidates_similarTitle() {
+		assertEquals(Set.of(1L), this.test.getDuplicateCandidates("Multi-agent simulation of the traffic in smart cities", null));
+	}
+
+	@Test
+	public void getDuplicateCandidates_doi() {
+		assertEquals(Set.of(1L, 4L), this.test.getDuplicateCandidates("Completely different title", " 10.1000/abc "));
+	}
+
+	@Test
+	public void getDuplicateCandidates_none() {
+		assertTrue(this.test.getDuplicateCandidates("Ontology engineering for manufacturing", "10.1000/none").isEmpty());
+		assertTrue(this.test.getDuplicateCandidates(null, null).isEmpty());
+	}
+
+	@Test
+	public void getDuplicateCandidates_publication() {
+		final var publication = mock(Publication.class);
+		when(publication.getTitle()).thenReturn("A survey on deep reinforcement learning");
+		when(publication.getDOI()).thenReturn("10.1000/xyz");
+		assertEquals(Set.of(2L, 4L), this.test.getDuplicateCandidates(publication));
+	}
+
+	@Test
+	public void getDuplicateCandidates_caseAndAccents() {
+		assertEquals(Set.of(3L), this.test.getDuplicateCandidates("HOLONIC MULTI-AGENT SYSTÈMS FOR ENERGY MANAGEMENT", null));
+	}
+
+	@Test
+	public void getDuplicateCandidates_onlyTitlesWithCommonWords() {
+		final var session = mock(SimilaritySession.class);
+		when(session.isSimilar(anyString(), anyString())).thenReturn(true);
+		final var index = new PublicationDuplicateIndex(List.of(
+				new IndexedPublication(1, "Multi-agent simulation of traffic", null),
+				new IndexedPublication(2, "A survey on deep learning", null),
+				new IndexedPublication(3, "Holonic systems", null)),
+				session);
+		assertEquals(Set.of(1L, 2L), index.getDuplicateCandidates("Deep learning for the traffic", null));
+		verify(session, never()).isSimilar(any(), eq("Holonic systems"));
+	}
+
+	@Test
+	public void getDuplicateCandidates_noSignificantWord() {
+		final var session = mock(SimilaritySession.class);
+		when(session.isSimilar(anyString(), anyString())).thenReturn(true);
+		final var index = new PublicationDuplicateIndex(List.of(
+				new IndexedPublication(1, "Multi-agent simulation of traffic", null),
+				new IndexedPublication(2, "A survey on deep learning", null)),
+				session);
+		// The short titles are compared to all the publications
+		assertEquals(Set.of(1L, 2L), index.getDuplicateCandidates("On AI", null));
+	}
+
+	@Test
+	public void getDuplicateCandidates_publicationWithoutTitle() {
+		final var index = new PublicationDuplicateIndex(List.of(
+				new IndexedPublication(1, null, null),
+				new IndexedPublication(2, "", null)),
+				new SorensenDicePublicationTitleComparator().newSimilaritySession());
+		assertTrue(index.getDuplicateCandidates("On AI", null).isEmpty());
+	}
+
+}
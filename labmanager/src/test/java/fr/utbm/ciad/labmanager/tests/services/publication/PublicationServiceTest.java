@@ -744,6 +744,48 @@ public class PublicationServiceTest {
 		assertTrue(list.contains(this.pub2));
 	}
 
+	@Test
+	public void getPublicationsByOrganizationId_activeMemberships() {
+		when(this.publicationRepository.findAllIdsWithActiveMembershipInOrganization(anyLong(), eq(false))).thenReturn(
+				new HashSet<>(Arrays.asList(1234l, 3456l)));
+		when(this.publicationRepository.findAllById(any())).thenReturn(
+				Arrays.asList(this.pub0, this.pub2));
+
+		final Set<Publication> list = this.test.getPublicationsByOrganizationId(2345, false, true);
+		assertNotNull(list);
+		assertEquals(2, list.size());
+		assertTrue(list.contains(this.pub0));
+		assertTrue(list.contains(this.pub2));
+		verify(this.publicationRepository).findAllIdsWithActiveMembershipInOrganization(eq(2345l), eq(false));
+		verify(this.publicationRepository, never()).findAllByAuthorshipsPersonIdIn(any());
+	}
+
+	@Test
+	public void getPublicationsByOrganizationId_activeMembershipsInHierarchy() {
+		when(this.publicationRepository.findAllIdsWithActiveMembershipInOrganization(anyLong(), eq(true))).thenReturn(
+				new HashSet<>(Arrays.asList(1234l)));
+		when(this.publicationRepository.findAllById(any())).thenReturn(
+				Arrays.asList(this.pub0));
+
+		final Set<Publication> list = this.test.getPublicationsByOrganizationId(2345, true, true);
+		assertNotNull(list);
+		assertEquals(1, list.size());
+		assertTrue(list.contains(this.pub0));
+		verify(this.membershipService).synchronizeOrganizationHierarchy();
+		verify(this.publicationRepository).findAllIdsWithActiveMembershipInOrganization(eq(2345l), eq(true));
+	}
+
+	@Test
+	public void getPublicationsByOrganizationId_noActiveMembership() {
+		when(this.publicationRepository.findAllIdsWithActiveMembershipInOrganization(anyLong(), eq(false))).thenReturn(
+				Collections.emptySet());
+
+		final Set<Publication> list = this.test.getPublicationsByOrganizationId(2345, false, true);
+		assertNotNull(list);
+		assertTrue(list.isEmpty());
+		verify(this.publicationRepository, never()).findAllById(any());
+	}
+
 	@Test
 	public void getPublicationsByIds() {
 		when(this.publicationRepository.findAllById(any())).thenReturn(
@@ -20,6 +20,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
@@ -27,15 +29,19 @@ import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.journal.Journal;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
 import fr.utbm.ciad.labmanager.data.publication.PublicationLanguage;
 import fr.utbm.ciad.labmanager.data.publication.PublicationType;
 import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
@@ -77,6 +83,8 @@ public class JournalPaperServiceTest {
 
 	private JournalPaperRepository repository;
 
+	private PublicationRepository publicationRepository;
+
 	private MembershipService membershipService;
 
 	private JournalPaperService test;
@@ -86,9 +94,10 @@ public class JournalPaperServiceTest {
 		this.messages = mock(MessageSourceAccessor.class);
 		this.downloadableFileManager = mock(DownloadableFileManager.class);
 		this.repository = mock(JournalPaperRepository.class);
+		this.publicationRepository = mock(PublicationRepository.class);
 		this.membershipService = mock(MembershipService.class);
-		this.test = new JournalPaperService(this.downloadableFileManager, new DefaultDoiTools(), new DefaultHalTools(), this.repository, this.membershipService,
-				this.messages, new ConfigurationConstants(), mock(SessionFactory.class));
+		this.test = new JournalPaperService(this.downloadableFileManager, new DefaultDoiTools(), new DefaultHalTools(), this.repository, this.publicationRepository,
+				this.membershipService, this.messages, new ConfigurationConstants(), mock(SessionFactory.class));
 
 		// Prepare some publications to be inside the repository
 		// The lenient configuration is used to configure the mocks for all the tests
@@ -138,6 +147,21 @@ public class JournalPaperServiceTest {
 		assertNull(this.test.getJournalPaper(7896));
 	}
 
+	@Test
+	public void getJournalPapersByOrganizationId_activeMembershipsInHierarchy() {
+		when(this.publicationRepository.findAllIdsWithActiveMembershipInOrganization(anyLong(), eq(true))).thenReturn(
+				new HashSet<>(Arrays.asList(123l, 345l)));
+		when(this.repository.findAllById(any())).thenReturn(Arrays.asList(this.pub0, this.pub2));
+
+		final Set<JournalPaper> papers = this.test.getJournalPapersByOrganizationId(2345, true, true);
+		assertNotNull(papers);
+		assertEquals(2, papers.size());
+		assertTrue(papers.contains(this.pub0));
+		assertTrue(papers.contains(this.pub2));
+		verify(this.membershipService).synchronizeOrganizationHierarchy();
+		verify(this.publicationRepository).findAllIdsWithActiveMembershipInOrganization(eq(2345l), eq(true));
+	}
+
 	@Test
 	public void createJournalPaper() {
 		Journal jour = mock(Journal.class);
@@ -0,0 +1,299 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.services.ranking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestCheckpoint;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestCheckpointRepository;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestCheckpointStatus;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestJob;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestJobRepository;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestJobStatus;
+import fr.utbm.ciad.labmanager.data.ranking.RankingHarvestTarget;
+import fr.utbm.ciad.labmanager.services.ranking.RankingHarvestJobService;
+import fr.utbm.ciad.labmanager.services.ranking.RankingHarvester;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+
+/** Tests for {@link RankingHarvestJobService}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class RankingHarvestJobServiceTest {
+
+	private static final long JOB_ID = 123;
+
+	private static final String SOURCE = "wos";
+
+	private RankingHarvestJobRepository jobRepository;
+
+	private RankingHarvestCheckpointRepository checkpointRepository;
+
+	private RankingHarvestJob job;
+
+	private RankingHarvestJobService test;
+
+	@BeforeEach
+	public void setUp() {
+		this.jobRepository = mock(RankingHarvestJobRepository.class);
+		this.checkpointRepository = mock(RankingHarvestCheckpointRepository.class);
+		this.job = new RankingHarvestJob(RankingHarvestTarget.PERSON, 2024, Arrays.asList("a", "b"), "owner");
+		this.job.setId(JOB_ID);
+		when(this.jobRepository.save(any())).thenAnswer(it -> {
+			final RankingHarvestJob saved = it.getArgument(0);
+			if (saved.getId() == 0) {
+				saved.setId(JOB_ID + 1);
+			}
+			return saved;
+		});
+		when(this.jobRepository.findById(JOB_ID)).thenReturn(Optional.of(this.job));
+		when(this.jobRepository.findStatusById(JOB_ID)).thenAnswer(it -> this.job.getStatus());
+		when(this.checkpointRepository.findEntityIds(JOB_ID)).thenReturn(new TreeSet<>(Arrays.asList(1l, 2l)));
+		when(this.checkpointRepository.findSources(JOB_ID)).thenReturn(new TreeSet<>(Arrays.asList(SOURCE)));
+		this.test = new RankingHarvestJobService(this.jobRepository, this.checkpointRepository, null, null, null);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.test.stop();
+	}
+
+	private void givenCheckpoints(RankingHarvestCheckpoint... checkpoints) {
+		when(this.checkpointRepository.findAllByJobIdAndSourceAndStatusIn(eq(JOB_ID), eq(SOURCE), anyCollection()))
+			.thenReturn(new ArrayList<>(Arrays.asList(checkpoints)));
+	}
+
+	private static RankingHarvestCheckpoint checkpoint(long entityId, RankingHarvestCheckpointStatus status) {
+		final var checkpoint = new RankingHarvestCheckpoint(JOB_ID, SOURCE, entityId);
+		checkpoint.setStatus(status);
+		return checkpoint;
+	}
+
+	private void harvest(RankingHarvester harvester) throws Exception {
+		this.test.harvest(JOB_ID, SOURCE, harvester, mock(Logger.class), null).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void createJob() {
+		final var job = this.test.createJob(RankingHarvestTarget.JOURNAL, 2023, Arrays.asList("x"),
+				Arrays.asList("s1", "s2"), Arrays.asList(1l, 2l, 3l), "me");
+		assertEquals(JOB_ID + 1, job.getId());
+		assertEquals(RankingHarvestTarget.JOURNAL, job.getTarget());
+		assertEquals(2023, job.getReferenceYear());
+		assertEquals(Set.of("x"), job.getOptions());
+		assertEquals(RankingHarvestJobStatus.OPEN, job.getStatus());
+		final ArgumentCaptor<Collection<RankingHarvestCheckpoint>> arg = ArgumentCaptor.forClass(Collection.class);
+		verify(this.checkpointRepository).saveAll(arg.capture());
+		final var checkpoints = arg.getValue();
+		assertEquals(6, checkpoints.size());
+		for (final var checkpoint : checkpoints) {
+			assertEquals(JOB_ID + 1, checkpoint.getJobId());
+			assertEquals(RankingHarvestCheckpointStatus.PENDING, checkpoint.getStatus());
+		}
+	}
+
+	@Test
+	public void resumeOrCreateJob_sameParameters() {
+		final var job = this.test.resumeOrCreateJob(JOB_ID, RankingHarvestTarget.PERSON, 2024, Arrays.asList("b", "a"),
+				Arrays.asList(SOURCE), Arrays.asList(2l, 1l), "other");
+		assertSame(this.job, job);
+		verify(this.checkpointRepository, never()).saveAll(any());
+	}
+
+	@Test
+	public void resumeOrCreateJob_otherYear() {
+		final var job = this.test.resumeOrCreateJob(JOB_ID, RankingHarvestTarget.PERSON, 2023, Arrays.asList("a", "b"),
+				Arrays.asList(SOURCE), Arrays.asList(1l, 2l), "owner");
+		assertNotSame(this.job, job);
+		assertEquals(2023, job.getReferenceYear());
+	}
+
+	@Test
+	public void resumeOrCreateJob_otherOptions() {
+		final var job = this.test.resumeOrCreateJob(JOB_ID, RankingHarvestTarget.PERSON, 2024, Arrays.asList("a"),
+				Arrays.asList(SOURCE), Arrays.asList(1l, 2l), "owner");
+		assertNotSame(this.job, job);
+	}
+
+	@Test
+	public void resumeOrCreateJob_otherSources() {
+		final var job = this.test.resumeOrCreateJob(JOB_ID, RankingHarvestTarget.PERSON, 2024, Arrays.asList("a", "b"),
+				Arrays.asList(SOURCE, "scopus"), Arrays.asList(1l, 2l), "owner");
+		assertNotSame(this.job, job);
+	}
+
+	@Test
+	public void resumeOrCreateJob_otherEntities() {
+		final var job = this.test.resumeOrCreateJob(JOB_ID, RankingHarvestTarget.PERSON, 2024, Arrays.asList("a", "b"),
+				Arrays.asList(SOURCE), Arrays.asList(1l, 3l), "owner");
+		assertNotSame(this.job, job);
+	}
+
+	@Test
+	public void resumeOrCreateJob_cancelledJob() {
+		this.job.setStatus(RankingHarvestJobStatus.CANCELLED);
+		final var job = this.test.resumeOrCreateJob(JOB_ID, RankingHarvestTarget.PERSON, 2024, Arrays.asList("a", "b"),
+				Arrays.asList(SOURCE), Arrays.asList(1l, 2l), "owner");
+		assertNotSame(this.job, job);
+	}
+
+	@Test
+	public void getResumableJob() {
+		assertSame(this.job, this.test.getResumableJob(JOB_ID, RankingHarvestTarget.PERSON));
+		assertNull(this.test.getResumableJob(JOB_ID, RankingHarvestTarget.JOURNAL));
+		assertNull(this.test.getResumableJob(0, RankingHarvestTarget.PERSON));
+	}
+
+	@Test
+	public void harvest_status() throws Exception {
+		final var c1 = checkpoint(1, RankingHarvestCheckpointStatus.PENDING);
+		final var c2 = checkpoint(2, RankingHarvestCheckpointStatus.PENDING);
+		final var c3 = checkpoint(3, RankingHarvestCheckpointStatus.PENDING);
+		givenCheckpoints(c1, c2, c3);
+		harvest((ids, logger, progress) -> (id, progress0) -> {
+			if (id == 1) {
+				return "value";
+			}
+			if (id == 2) {
+				return null;
+			}
+			throw new IllegalStateException("error");
+		});
+		assertEquals(RankingHarvestCheckpointStatus.SUCCEEDED, c1.getStatus());
+		assertEquals("\"value\"", c1.getPayload());
+		assertNull(c1.getMessage());
+		assertEquals(RankingHarvestCheckpointStatus.SKIPPED, c2.getStatus());
+		assertNull(c2.getPayload());
+		assertEquals(RankingHarvestCheckpointStatus.FAILED, c3.getStatus());
+		assertEquals("error", c3.getMessage());
+		assertEquals(1, c3.getAttempts());
+		verify(this.checkpointRepository).save(c1);
+		verify(this.checkpointRepository).save(c2);
+		verify(this.checkpointRepository).save(c3);
+		verify(this.jobRepository).updateLastUpdateDate(eq(JOB_ID), any());
+		verify(this.jobRepository, never()).save(any());
+	}
+
+	@Test
+	public void harvest_openFailure() throws Exception {
+		final var c1 = checkpoint(1, RankingHarvestCheckpointStatus.PENDING);
+		final var c2 = checkpoint(2, RankingHarvestCheckpointStatus.PENDING);
+		givenCheckpoints(c1, c2);
+		harvest((ids, logger, progress) -> {
+			throw new IllegalStateException("unavailable");
+		});
+		assertEquals(RankingHarvestCheckpointStatus.FAILED, c1.getStatus());
+		assertEquals("unavailable", c1.getMessage());
+		assertEquals(RankingHarvestCheckpointStatus.FAILED, c2.getStatus());
+		verify(this.checkpointRepository).saveAll(any());
+		verify(this.jobRepository).updateLastUpdateDate(eq(JOB_ID), any());
+	}
+
+	@Test
+	public void harvest_resumePendingAndFailed() throws Exception {
+		final var c1 = checkpoint(1, RankingHarvestCheckpointStatus.FAILED);
+		c1.setAttempts(1);
+		final var c2 = checkpoint(2, RankingHarvestCheckpointStatus.PENDING);
+		givenCheckpoints(c1, c2);
+		final var opened = new ArrayList<Long>();
+		final var harvested = new ArrayList<Long>();
+		harvest((ids, logger, progress) -> {
+			opened.addAll(ids);
+			return (id, progress0) -> {
+				harvested.add(Long.valueOf(id));
+				return "value";
+			};
+		});
+		final ArgumentCaptor<Collection<RankingHarvestCheckpointStatus>> arg = ArgumentCaptor.forClass(Collection.class);
+		verify(this.checkpointRepository).findAllByJobIdAndSourceAndStatusIn(eq(JOB_ID), eq(SOURCE), arg.capture());
+		assertEquals(EnumSet.of(RankingHarvestCheckpointStatus.PENDING, RankingHarvestCheckpointStatus.FAILED), EnumSet.copyOf(arg.getValue()));
+		assertEquals(List.of(1l, 2l), opened);
+		assertEquals(List.of(1l, 2l), harvested);
+		assertEquals(RankingHarvestCheckpointStatus.SUCCEEDED, c1.getStatus());
+		assertEquals(2, c1.getAttempts());
+		assertEquals(RankingHarvestCheckpointStatus.SUCCEEDED, c2.getStatus());
+	}
+
+	@Test
+	public void harvest_cancelledDuringHarvesting() throws Exception {
+		final var c1 = checkpoint(1, RankingHarvestCheckpointStatus.PENDING);
+		final var c2 = checkpoint(2, RankingHarvestCheckpointStatus.PENDING);
+		givenCheckpoints(c1, c2);
+		harvest((ids, logger, progress) -> (id, progress0) -> {
+			// Simulate the cancellation of the job by the user while the first entity is harvested
+			this.job.setStatus(RankingHarvestJobStatus.CANCELLED);
+			return "value";
+		});
+		assertEquals(RankingHarvestCheckpointStatus.SUCCEEDED, c1.getStatus());
+		assertEquals(RankingHarvestCheckpointStatus.PENDING, c2.getStatus());
+		verify(this.checkpointRepository, never()).save(c2);
+		// The status of the job must not be overridden by the harvesting thread
+		verify(this.jobRepository, never()).save(any());
+		assertEquals(RankingHarvestJobStatus.CANCELLED, this.job.getStatus());
+	}
+
+	@Test
+	public void harvest_notOpen() throws Exception {
+		this.job.setStatus(RankingHarvestJobStatus.APPLIED);
+		final var future = this.test.harvest(JOB_ID, SOURCE, (ids, logger, progress) -> null, mock(Logger.class), null);
+		try {
+			future.get(5, TimeUnit.SECONDS);
+		} catch (Exception ex) {
+			//
+		}
+		assertTrue(future.isCompletedExceptionally());
+	}
+
+	@Test
+	public void cancel() {
+		this.test.cancel(JOB_ID);
+		assertEquals(RankingHarvestJobStatus.CANCELLED, this.job.getStatus());
+		verify(this.jobRepository).save(this.job);
+	}
+
+}
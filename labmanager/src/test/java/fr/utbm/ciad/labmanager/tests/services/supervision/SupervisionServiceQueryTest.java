@@ -0,0 +1,120 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.supervision;
+
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createMembership;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createOrganization;
+import static fr.utbm.ciad.labmanager.tests.utils.InMemoryEntities.createPerson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.member.Gender;
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
+import fr.utbm.ciad.labmanager.data.supervision.Supervision;
+import fr.utbm.ciad.labmanager.data.supervision.SupervisionRepository;
+import fr.utbm.ciad.labmanager.data.supervision.Supervisor;
+import fr.utbm.ciad.labmanager.data.supervision.SupervisorRepository;
+import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.supervision.SupervisionService;
+import fr.utbm.ciad.labmanager.tests.utils.InMemoryDatabase;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/** Tests for the queries of {@link SupervisionService} on an in-memory database.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class SupervisionServiceQueryTest {
+
+	private InMemoryDatabase database;
+
+	private SupervisionService test;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.database = new InMemoryDatabase("supervisionServiceQuery");
+		this.database.getSessionFactory().inTransaction(session -> {
+			final var organization = createOrganization(session, "ORG");
+			final var supervisor = createPerson(session, "Alice", "A");
+			final var student = createPerson(session, "Bob", "B");
+			student.setGender(Gender.MALE);
+			final var membership = createMembership(session, student, organization, MemberStatus.PHD_STUDENT,
+					LocalDate.of(2020, 10, 1), LocalDate.of(2023, 9, 30));
+			final var supervision = new Supervision();
+			supervision.setSupervisedPerson(membership);
+			supervision.setTitle("Thesis");
+			final var supervisorEntity = new Supervisor();
+			supervisorEntity.setSupervisor(supervisor);
+			supervision.setSupervisors(List.of(supervisorEntity));
+			session.persist(supervision);
+		});
+		this.test = new SupervisionService(
+				this.database.createRepository(SupervisionRepository.class),
+				this.database.createRepository(SupervisorRepository.class),
+				this.database.createRepository(MembershipRepository.class),
+				mock(PersonService.class), mock(MessageSourceAccessor.class), mock(ConfigurationConstants.class),
+				this.database.getSessionFactory());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.database != null) {
+			this.database.close();
+			this.database = null;
+		}
+	}
+
+	@Test
+	public void getAllSupervisions_detachedRow() {
+		final var page = this.test.getAllSupervisions(
+				PageRequest.of(0, 10, Sort.by("supervisedPerson.memberToWhen", "defenseDate")), null,
+				it -> {
+					// Same initialization as the list view
+					Hibernate.initialize(it.getSupervisors());
+					it.getSupervisors().forEach(supervisor -> Hibernate.initialize(supervisor.getSupervisor()));
+				});
+		// Close the JPA session as it is done before the rendering of the grid rows
+		this.database.getEntityManager().clear();
+
+		assertEquals(1, page.getNumberOfElements());
+		final var supervision = page.getContent().get(0);
+		final var membership = supervision.getSupervisedPerson();
+		assertTrue(Hibernate.isInitialized(membership));
+		assertTrue(Hibernate.isInitialized(membership.getPerson()));
+		assertEquals("Bob B", membership.getPerson().getFullName());
+		assertEquals(Gender.MALE, membership.getPerson().getGender());
+		assertEquals(MemberStatus.PHD_STUDENT, membership.getMemberStatus());
+		assertEquals("Alice A", supervision.getSupervisors().get(0).getSupervisor().getFullName());
+	}
+
+}
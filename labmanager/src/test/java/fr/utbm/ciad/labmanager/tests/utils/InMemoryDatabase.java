@@ -0,0 +1,139 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+/** In-memory Derby database that is created from all the JPA entities of the application.
+ * The SQL statements that are sent to the database are recorded for enabling the tests
+ * to count them.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class InMemoryDatabase implements AutoCloseable {
+
+	private static final String ENTITY_PACKAGE = "fr.utbm.ciad.labmanager.data";
+
+	private final List<String> statements = new CopyOnWriteArrayList<>();
+
+	private final SessionFactory sessionFactory;
+
+	private EntityManager entityManager;
+
+	/** Create the database and its schema.
+	 *
+	 * @param name the name of the database, that must be unique for the test class.
+	 * @throws Exception if the entities cannot be loaded.
+	 */
+	public InMemoryDatabase(String name) throws Exception {
+		final var registry = new StandardServiceRegistryBuilder()
+				.applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:derby:memory:" + name + ";create=true")
+				.applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+				.applySetting(AvailableSettings.KEYWORD_AUTO_QUOTING_ENABLED, Boolean.TRUE)
+				.applySetting(AvailableSettings.CRITERIA_VALUE_HANDLING_MODE, "bind")
+				.applySetting(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+					this.statements.add(sql);
+					return sql;
+				})
+				.build();
+		final var sources = new MetadataSources(registry);
+		final var scanner = new ClassPathScanningCandidateComponentProvider(false);
+		scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+		for (final var candidate : scanner.findCandidateComponents(ENTITY_PACKAGE)) {
+			sources.addAnnotatedClass(Class.forName(candidate.getBeanClassName()));
+		}
+		this.sessionFactory = sources.buildMetadata().buildSessionFactory();
+	}
+
+	/** Replies the factory of the sessions on the database.
+	 *
+	 * @return the session factory.
+	 */
+	public SessionFactory getSessionFactory() {
+		return this.sessionFactory;
+	}
+
+	/** Replies the entity manager that is shared by the repositories of this database.
+	 *
+	 * @return the entity manager.
+	 */
+	public synchronized EntityManager getEntityManager() {
+		if (this.entityManager == null) {
+			this.entityManager = this.sessionFactory.createEntityManager();
+		}
+		return this.entityManager;
+	}
+
+	/** Create an implementation of the given Spring Data repository that is using this database.
+	 *
+	 * @param <R> the type of the repository.
+	 * @param type the type of the repository.
+	 * @return the repository.
+	 */
+	public <R> R createRepository(Class<R> type) {
+		return new JpaRepositoryFactory(getEntityManager()).getRepository(type);
+	}
+
+	/** Replies the SQL statements that were sent to the database since the last reset.
+	 *
+	 * @return the SQL statements.
+	 */
+	public List<String> getStatements() {
+		return this.statements;
+	}
+
+	/** Replies the number of SQL statements that were sent to the database since the last reset.
+	 *
+	 * @return the number of statements.
+	 */
+	public int getStatementCount() {
+		return this.statements.size();
+	}
+
+	/** Forget the SQL statements that were sent to the database.
+	 */
+	public void resetStatements() {
+		this.statements.clear();
+	}
+
+	@Override
+	public synchronized void close() {
+		if (this.entityManager != null) {
+			this.entityManager.close();
+			this.entityManager = null;
+		}
+		this.sessionFactory.close();
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils;
+
+import java.time.LocalDate;
+
+import fr.utbm.ciad.labmanager.data.member.MemberStatus;
+import fr.utbm.ciad.labmanager.data.member.Membership;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import org.hibernate.Session;
+
+/** Factory of the JPA entities that are stored in an {@link InMemoryDatabase}.
+ * Each function persists the created entity within the given session.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see InMemoryDatabase
+ */
+@SuppressWarnings("all")
+public final class InMemoryEntities {
+
+	private InMemoryEntities() {
+		//
+	}
+
+	/** Create and persist a research organization.
+	 *
+	 * @param session the JPA session.
+	 * @param acronym the acronym of the organization. The name of the organization is built from it.
+	 * @return the organization.
+	 */
+	public static ResearchOrganization createOrganization(Session session, String acronym) {
+		final var organization = new ResearchOrganization();
+		organization.setAcronym(acronym);
+		organization.setName("Organization " + acronym);
+		session.persist(organization);
+		return organization;
+	}
+
+	/** Create and persist a person.
+	 *
+	 * @param session the JPA session.
+	 * @param firstName the first name of the person.
+	 * @param lastName the last name of the person.
+	 * @return the person.
+	 */
+	public static Person createPerson(Session session, String firstName, String lastName) {
+		final var person = new Person();
+		person.setFirstName(firstName);
+		person.setLastName(lastName);
+		session.persist(person);
+		return person;
+	}
+
+	/** Create and persist a membership without super organization.
+	 *
+	 * @param session the JPA session.
+	 * @param person the member.
+	 * @param organization the direct organization of the membership.
+	 * @param status the status of the member, may be {@code null}.
+	 * @param since the start of the membership, may be {@code null}.
+	 * @param to the end of the membership, may be {@code null}.
+	 * @return the membership.
+	 */
+	public static Membership createMembership(Session session, Person person, ResearchOrganization organization,
+			MemberStatus status, LocalDate since, LocalDate to) {
+		return createMembership(session, person, organization, null, status, since, to);
+	}
+
+	/** Create and persist a membership.
+	 *
+	 * @param session the JPA session.
+	 * @param person the member.
+	 * @param organization the direct organization of the membership.
+	 * @param superOrganization the super organization of the membership, may be {@code null}.
+	 * @param status the status of the member, may be {@code null}.
+	 * @param since the start of the membership, may be {@code null}.
+	 * @param to the end of the membership, may be {@code null}.
+	 * @return the membership.
+	 */
+	public static Membership createMembership(Session session, Person person, ResearchOrganization organization,
+			ResearchOrganization superOrganization, MemberStatus status, LocalDate since, LocalDate to) {
+		final var membership = new Membership();
+		membership.setPerson(person);
+		membership.setDirectResearchOrganization(organization);
+		membership.setSuperResearchOrganization(superOrganization);
+		membership.setMemberStatus(status);
+		membership.setMemberSinceWhen(since);
+		membership.setMemberToWhen(to);
+		session.persist(membership);
+		return membership;
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import fr.utbm.ciad.labmanager.utils.io.coreportal.CoreRankingExport;
+import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link CoreRankingExport}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class CoreRankingExportTest {
+
+	private static final String CSV = String.join("\n",
+			"Id,Title,Acronym,Source,Rank,DBLP,Primary FoR",
+			"1,\"International Conference on Agents, Systems\",\"ICA\",\"CORE2023\",\"A*\",\"Yes\",\"4602\"",
+			"2,\"Symposium on Robotique Évoluée\",\"SRE\",\"CORE2023\",\"B\",\"Yes\",\"4602\"",
+			"3,\"Workshop on Nothing\",\"WON\",\"CORE2023\",\"Unranked\",\"No\",\"4602\"",
+			"4,\"First Shared Acronym Conference\",\"SAC\",\"CORE2023\",\"A\",\"Yes\",\"4602\"",
+			"5,\"Second Shared Acronym Conference\",\"SAC\",\"CORE2023\",\"C\",\"Yes\",\"4602\"",
+			"6,\"Old Conference\",\"OC\",\"CORE2021\",\"C\",\"Yes\",\"4602\"");
+
+	private CoreRankingExport test;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.test = CoreRankingExport.read("CORE2023", new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)), null);
+	}
+
+	@Test
+	public void size() {
+		assertEquals(5, this.test.size());
+	}
+
+	@Test
+	public void normalize() {
+		assertEquals("robotevolue", CoreRankingExport.normalize("Robot É-volué"));
+		assertEquals(null, CoreRankingExport.normalize(" - "));
+	}
+
+	@Test
+	public void find_byIdentifier() {
+		assertEquals(CoreRanking.A_STAR, this.test.find("1", "XYZ", null).orElseThrow().ranking());
+	}
+
+	@Test
+	public void find_byAcronym() {
+		assertEquals("1", this.test.find(null, "i.c.a.", null).orElseThrow().identifier());
+		assertEquals("1", this.test.find(" ", "ica", null).orElseThrow().identifier());
+	}
+
+	@Test
+	public void find_unknownIdentifier() {
+		// The acronym and the title are not used when the conference has a CORE identifier
+		assertTrue(this.test.find("999", "ica", null).isEmpty());
+		assertTrue(this.test.find("999", null, "symposium on robotique evoluee").isEmpty());
+	}
+
+	@Test
+	public void find_byTitle() {
+		assertEquals(CoreRanking.B, this.test.find(null, null, "symposium on robotique evoluee").orElseThrow().ranking());
+	}
+
+	@Test
+	public void find_unranked() {
+		assertEquals(CoreRanking.NR, this.test.find("3", null, null).orElseThrow().ranking());
+	}
+
+	@Test
+	public void find_ambiguousAcronym() {
+		assertTrue(this.test.find(null, "SAC", null).isEmpty());
+		assertEquals(CoreRanking.C, this.test.find(null, "SAC", "Second Shared Acronym Conference").orElseThrow().ranking());
+	}
+
+	@Test
+	public void find_otherEdition() {
+		assertTrue(this.test.find("6", "OC", "Old Conference").isEmpty());
+	}
+
+}
@@ -17,12 +17,16 @@
 package fr.utbm.ciad.labmanager.tests.utils.io.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 import fr.utbm.ciad.labmanager.tests.utils.TestUtils;
@@ -39,6 +43,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIf;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 /** Tests for {@link OnlineCorePortal}.
@@ -88,4 +93,24 @@ public class OnlineCorePortalTest {
 		assertSame(CoreRanking.A_STAR, conference.ranking);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void getConferenceRankings_lastExportOnly(@TempDir Path folder) throws Exception {
+		final String header = "Id,Title,Acronym,Source,Rank,DBLP,Primary FoR\n";
+		Files.writeString(folder.resolve("CORE2021.csv"), header + "1,\"Conference\",\"C\",\"CORE2021\",\"B\",\"Yes\",\"4602\"", StandardCharsets.UTF_8);
+		Files.writeString(folder.resolve("CORE2023.csv"), header + "1,\"Conference\",\"C\",\"CORE2023\",\"A\",\"Yes\",\"4602\"", StandardCharsets.UTF_8);
+		this.test.setExportDirectory(folder.toString());
+
+		final var export2023 = this.test.getConferenceRankings(2024, null);
+		assertSame(CoreRanking.A, export2023.find("1", null, null).orElseThrow().ranking());
+		assertSame(export2023, this.test.getConferenceRankings(2023, null));
+
+		final var export2021 = this.test.getConferenceRankings(2022, null);
+		assertSame(CoreRanking.B, export2021.find("1", null, null).orElseThrow().ranking());
+
+		// Only the last export is kept in memory
+		final var export2023b = this.test.getConferenceRankings(2023, null);
+		assertNotSame(export2023, export2023b);
+		assertSame(CoreRanking.A, export2023b.find("1", null, null).orElseThrow().ranking());
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.utils.io.filemanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import fr.utbm.ciad.labmanager.utils.io.filemanager.ContentAddressedFileStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for {@link ContentAddressedFileStore}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class ContentAddressedFileStoreTest {
+
+	@TempDir
+	Path root;
+
+	private ContentAddressedFileStore test;
+
+	private static ByteArrayInputStream content(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String read(File file) throws Exception {
+		return Files.readString(file.toPath(), StandardCharsets.UTF_8);
+	}
+
+	private File file(String name) {
+		return this.root.resolve("Downloadables").resolve(name).toFile();
+	}
+
+	@BeforeEach
+	public void setUp() {
+		this.test = new ContentAddressedFileStore(this.root.resolve(".filestore").toFile());
+		assumeTrue(this.test.isEnabled());
+	}
+
+	@Test
+	public void save_sameContent() throws Exception {
+		final var content1 = this.test.save(content("abc"), file("PDF1.pdf"));
+		final var content2 = this.test.save(content("abc"), file("Slides2.pdf"));
+		assertNotNull(content1);
+		assertEquals(content1, content2);
+		assertEquals("abc", read(file("PDF1.pdf")));
+		assertEquals("abc", read(file("Slides2.pdf")));
+		assertEquals(2, ContentAddressedFileStore.getReferenceCount(content1));
+	}
+
+	@Test
+	public void save_replaceSharedContent() throws Exception {
+		final var content1 = this.test.save(content("abc"), file("PDF1.pdf"));
+		this.test.save(content("abc"), file("Slides2.pdf"));
+		final var content2 = this.test.save(content("xyz"), file("PDF1.pdf"));
+		assertFalse(content1.equals(content2));
+		assertEquals("xyz", read(file("PDF1.pdf")));
+		assertEquals("abc", read(file("Slides2.pdf")));
+		assertEquals(1, ContentAddressedFileStore.getReferenceCount(content1));
+		assertEquals(1, ContentAddressedFileStore.getReferenceCount(content2));
+	}
+
+	@Test
+	public void rename() throws Exception {
+		final var content = this.test.save(content("abc"), file("PDF0.pdf"));
+		Files.move(file("PDF0.pdf").toPath(), file("PDF3.pdf").toPath());
+		assertEquals("abc", read(file("PDF3.pdf")));
+		assertEquals(1, ContentAddressedFileStore.getReferenceCount(content));
+	}
+
+	@Test
+	public void sweepOrphans() throws Exception {
+		final var content1 = this.test.save(content("abc"), file("PDF1.pdf"));
+		final var content2 = this.test.save(content("xyz"), file("PDF2.pdf"));
+		Files.delete(file("PDF1.pdf").toPath());
+		assertEquals(0, ContentAddressedFileStore.getReferenceCount(content1));
+
+		assertEquals(0, this.test.sweepOrphans(Duration.ofHours(1)));
+		assertTrue(Files.exists(content1));
+
+		assertEquals(1, this.test.sweepOrphans(Duration.ZERO));
+		assertFalse(Files.exists(content1));
+		assertTrue(Files.exists(content2));
+		assertEquals("xyz", read(file("PDF2.pdf")));
+	}
+
+	@Test
+	public void sweepOrphans_reuseAfterDeletion() throws Exception {
+		final var content1 = this.test.save(content("abc"), file("PDF1.pdf"));
+		Files.delete(file("PDF1.pdf").toPath());
+		final var content2 = this.test.save(content("abc"), file("PDF2.pdf"));
+		assertEquals(content1, content2);
+		assertEquals(0, this.test.sweepOrphans(Duration.ZERO));
+		assertEquals("abc", read(file("PDF2.pdf")));
+	}
+
+	@Test
+	public void derivedFile() throws Exception {
+		final var content = this.test.save(content("abc"), file("PDF1.pdf"));
+		assertFalse(this.test.linkDerivedFile(content, "jpg", file("PDF1.jpg")));
+		this.test.saveDerivedFile(content, "jpg", content("thumbnail"), file("PDF1.jpg"));
+
+		this.test.save(content("abc"), file("PDF2.pdf"));
+		assertTrue(this.test.linkDerivedFile(content, "jpg", file("PDF2.jpg")));
+		assertEquals("thumbnail", read(file("PDF2.jpg")));
+	}
+
+	@Test
+	public void findContent() throws Exception {
+		final var content = this.test.save(content("abc"), file("PDF1.pdf"));
+		assertEquals(content, this.test.findContent(file("PDF1.pdf")));
+		Files.writeString(file("Other.pdf").toPath(), "other", StandardCharsets.UTF_8);
+		assertNull(this.test.findContent(file("Other.pdf")));
+	}
+
+	@Test
+	public void disabled() throws Exception {
+		final var store = new ContentAddressedFileStore(this.root.resolve(".filestore").toFile(), false);
+		assertNull(store.save(content("abc"), file("PDF1.pdf")));
+		assertEquals("abc", read(file("PDF1.pdf")));
+		assertFalse(Files.exists(this.root.resolve(".filestore")));
+	}
+
+}
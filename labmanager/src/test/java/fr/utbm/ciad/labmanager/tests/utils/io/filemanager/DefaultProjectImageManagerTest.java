@@ -19,18 +19,34 @@ package fr.utbm.ciad.labmanager.tests.utils.io.filemanager;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
 
 import fr.utbm.ciad.labmanager.data.project.Project;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DefaultProjectImageManager;
 import fr.utbm.ciad.labmanager.views.components.addons.logger.ContextualLoggerFactory;
 import org.arakhne.afc.vmutil.FileSystem;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
 
 /** Tests for {@link DefaultProjectImageManager}.
  * 
@@ -54,6 +70,11 @@ public class DefaultProjectImageManagerTest {
 		this.test = new DefaultProjectImageManager(this.root.toString());
 	}
 
+	@AfterEach
+	public void tearDown() {
+		this.test.stop();
+	}
+
 	@Test
 	public void normalizeForServerSide_null() {
 		assertNull(this.test.normalizeForServerSide(null));
@@ -77,4 +98,95 @@ public class DefaultProjectImageManagerTest {
 		assertEquals("Downloadables/ProjectThumbnails/Prj1234.jpg", path);
 	}
 
+	@Test
+	public void getThumbnailPath_missingThumbnail(@TempDir Path folder) throws Exception {
+		this.test = new DefaultProjectImageManager(folder.toString());
+		Project project = new Project();
+		project.setId(1234l);
+		assertNull(this.test.getThumbnailPath(project, mock(Logger.class)));
+		// No logo: the generation has nothing to do
+		this.test.generateProjectImages(project, mock(Logger.class)).get(10, TimeUnit.SECONDS);
+		assertNull(this.test.getThumbnailPath(project, mock(Logger.class)));
+	}
+
+	@Test
+	public void generateProjectImages_responsiveImages(@TempDir Path folder) throws Exception {
+		this.test = new DefaultProjectImageManager(folder.toString());
+		final File imageFile = new File("Downloadables/ProjectImages/ProjectImage1234_0.jpg");
+		final File localImageFile = FileSystem.join(folder.toFile(), imageFile);
+		localImageFile.getParentFile().mkdirs();
+		ImageIO.write(new BufferedImage(500, 250, BufferedImage.TYPE_INT_RGB), "jpg", localImageFile);
+		Project project = new Project();
+		project.setId(1234l);
+		project.setPathsToImages(Arrays.asList(imageFile.getPath()));
+
+		assertEquals(imageFile.getPath(), this.test.getImagePath(project, 0, 100));
+
+		this.test.generateProjectImages(project, mock(Logger.class)).get(10, TimeUnit.SECONDS);
+
+		assertEquals("Downloadables/ProjectThumbnails/Prj1234_img0_w160.jpg", this.test.getImagePath(project, 0, 100));
+		assertEquals("Downloadables/ProjectThumbnails/Prj1234_img0_w320.jpg", this.test.getImagePath(project, 0, 300));
+		// No version larger than the original image
+		assertEquals(imageFile.getPath(), this.test.getImagePath(project, 0, 600));
+		assertEquals(imageFile.getPath(), this.test.getImagePath(project, 0, -1));
+		assertNull(this.test.getImagePath(project, 1, -1));
+
+		final BufferedImage small = ImageIO.read(FileSystem.join(folder.toFile(), "Downloadables", "ProjectThumbnails", "Prj1234_img0_w160.jpg"));
+		assertEquals(160, small.getWidth());
+		assertEquals(80, small.getHeight());
+		assertTrue(FileSystem.join(folder.toFile(), "Downloadables", "ProjectThumbnails").list().length == 2);
+	}
+
+	@Test
+	public void getThumbnailPath_missingThumbnail_singleGeneration(@TempDir Path folder) throws Exception {
+		final var started = new AtomicInteger();
+		final var latch = new CountDownLatch(1);
+		this.test = new DefaultProjectImageManager(folder.toString()) {
+			@Override
+			protected BufferedImage createThumbnailImage(long projectId, String pathToLogo) throws IOException {
+				started.incrementAndGet();
+				try {
+					latch.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					throw new IOException(ex);
+				}
+				return new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB);
+			}
+		};
+		Project project = new Project();
+		project.setId(1234l);
+		project.setPathToLogo("Downloadables/ProjectLogos/Logo1234.png");
+		// The thumbnail is missing: only one generation is started for all the calls
+		assertNull(this.test.getThumbnailPath(project, mock(Logger.class)));
+		assertNull(this.test.getThumbnailPath(project, 160, mock(Logger.class)));
+		assertNull(this.test.getThumbnailPath(project, mock(Logger.class)));
+		latch.countDown();
+		// The explicit generation is run after the pending generation
+		this.test.generateProjectImages(project, mock(Logger.class)).get(10, TimeUnit.SECONDS);
+		assertEquals(2, started.get());
+		assertEquals("Downloadables/ProjectThumbnails/Prj1234.jpg", this.test.getThumbnailPath(project, mock(Logger.class)));
+	}
+
+	@Test
+	public void getThumbnailPath_missingThumbnail_failedGeneration(@TempDir Path folder) throws Exception {
+		final var started = new AtomicInteger();
+		this.test = new DefaultProjectImageManager(folder.toString()) {
+			@Override
+			protected BufferedImage createThumbnailImage(long projectId, String pathToLogo) throws IOException {
+				started.incrementAndGet();
+				throw new IOException("Unsupported image format");
+			}
+		};
+		Project project = new Project();
+		project.setId(1234l);
+		project.setPathToLogo("Downloadables/ProjectLogos/Logo1234.png");
+		final var logger = mock(Logger.class);
+		assertNull(this.test.getThumbnailPath(project, logger));
+		verify(logger, timeout(10000)).error(anyString(), any(Throwable.class));
+		// The generation is not started again for the same logo
+		assertNull(this.test.getThumbnailPath(project, logger));
+		assertNull(this.test.getThumbnailPath(project, logger));
+		assertEquals(1, started.get());
+	}
+
 }
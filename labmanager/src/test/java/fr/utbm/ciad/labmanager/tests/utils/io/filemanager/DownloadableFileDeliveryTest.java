@@ -0,0 +1,215 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.filemanager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import fr.utbm.ciad.labmanager.utils.io.filemanager.DefaultDownloadableFileManager;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileDelivery;
+import jakarta.servlet.ServletOutputStream;
+import org.arakhne.afc.vmutil.FileSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/** Tests for {@link DownloadableFileDelivery}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class DownloadableFileDeliveryTest {
+
+	private static final String CONTENT = "0123456789abcdefghij";
+
+	@TempDir
+	Path root;
+
+	private DownloadableFileDelivery test;
+
+	private File file;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		final DefaultDownloadableFileManager fileManager = new DefaultDownloadableFileManager(this.root.toString(), this.root.resolve("tmp").toString());
+		this.test = new DownloadableFileDelivery(fileManager, 2, 100);
+		this.file = FileSystem.join(this.root.toFile(), "Downloadables", "PDFs", "PDF1.pdf");
+		this.file.getParentFile().mkdirs();
+		Files.writeString(this.file.toPath(), CONTENT, StandardCharsets.US_ASCII);
+		final File saved = FileSystem.join(this.root.toFile(), "Downloadables", "Saves", "data.json");
+		saved.getParentFile().mkdirs();
+		Files.writeString(saved.toPath(), "{}", StandardCharsets.US_ASCII);
+	}
+
+	private MockHttpServletResponse deliver(MockHttpServletRequest request) throws Exception {
+		final MockHttpServletResponse response = new MockHttpServletResponse();
+		this.test.deliver(this.file, request, response, true);
+		return response;
+	}
+
+	@Test
+	public void getDeliverableFile() {
+		assertEquals(this.file.getAbsoluteFile().toPath().normalize().toFile(), this.test.getDeliverableFile("/Downloadables/PDFs/PDF1.pdf"));
+		assertNotNull(this.test.getDeliverableFile("Downloadables/PDFs/PDF1.pdf"));
+		assertNull(this.test.getDeliverableFile("/Downloadables/PDFs/PDF2.pdf"));
+		assertNull(this.test.getDeliverableFile("/Downloadables/PDFs"));
+		assertNull(this.test.getDeliverableFile("/Downloadables/Saves/data.json"));
+		assertNull(this.test.getDeliverableFile("/Downloadables/PDFs/../Saves/data.json"));
+		assertNull(this.test.getDeliverableFile(""));
+		assertNull(this.test.getDeliverableFile(null));
+	}
+
+	@Test
+	public void deliver_full() throws Exception {
+		final MockHttpServletResponse response = deliver(new MockHttpServletRequest("GET", "/"));
+		assertEquals(200, response.getStatus());
+		assertEquals(CONTENT, response.getContentAsString());
+		assertEquals("application/pdf", response.getContentType());
+		assertEquals(CONTENT.length(), response.getContentLength());
+		assertEquals("bytes", response.getHeader("Accept-Ranges"));
+		assertNotNull(response.getHeader("ETag"));
+		assertNotNull(response.getHeader("Last-Modified"));
+	}
+
+	@Test
+	public void deliver_head() throws Exception {
+		final MockHttpServletResponse response = new MockHttpServletResponse();
+		this.test.deliver(this.file, new MockHttpServletRequest("HEAD", "/"), response, false);
+		assertEquals(200, response.getStatus());
+		assertEquals(CONTENT.length(), response.getContentLength());
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	public void deliver_range() throws Exception {
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader("Range", "bytes=5-9");
+		final MockHttpServletResponse response = deliver(request);
+		assertEquals(206, response.getStatus());
+		assertEquals("56789", response.getContentAsString());
+		assertEquals("bytes 5-9/20", response.getHeader("Content-Range"));
+		assertEquals(5, response.getContentLength());
+	}
+
+	@Test
+	public void deliver_openRange() throws Exception {
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader("Range", "bytes=15-");
+		final MockHttpServletResponse response = deliver(request);
+		assertEquals(206, response.getStatus());
+		assertEquals("fghij", response.getContentAsString());
+	}
+
+	@Test
+	public void deliver_suffixRange() throws Exception {
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader("Range", "bytes=-3");
+		final MockHttpServletResponse response = deliver(request);
+		assertEquals(206, response.getStatus());
+		assertEquals("hij", response.getContentAsString());
+		assertEquals("bytes 17-19/20", response.getHeader("Content-Range"));
+	}
+
+	@Test
+	public void deliver_unsatisfiableRange() throws Exception {
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader("Range", "bytes=50-60");
+		final MockHttpServletResponse response = deliver(request);
+		assertEquals(416, response.getStatus());
+		assertEquals("bytes */20", response.getHeader("Content-Range"));
+	}
+
+	@Test
+	public void deliver_multipleRanges() throws Exception {
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader("Range", "bytes=0-1,5-6");
+		final MockHttpServletResponse response = deliver(request);
+		assertEquals(200, response.getStatus());
+		assertEquals(CONTENT, response.getContentAsString());
+	}
+
+	@Test
+	public void deliver_ifNoneMatch() throws Exception {
+		final String etag = deliver(new MockHttpServletRequest("GET", "/")).getHeader("ETag");
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader("If-None-Match", etag);
+		final MockHttpServletResponse response = deliver(request);
+		assertEquals(304, response.getStatus());
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	public void deliver_ifModifiedSince() throws Exception {
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader("If-Modified-Since", this.file.lastModified() + 1000);
+		assertEquals(304, deliver(request).getStatus());
+
+		final MockHttpServletRequest request2 = new MockHttpServletRequest("GET", "/");
+		request2.addHeader("If-Modified-Since", this.file.lastModified() - 10000);
+		assertEquals(200, deliver(request2).getStatus());
+	}
+
+	@Test
+	public void deliver_ifRangeMismatch() throws Exception {
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		request.addHeader("Range", "bytes=5-9");
+		request.addHeader("If-Range", "\"other\"");
+		final MockHttpServletResponse response = deliver(request);
+		assertEquals(200, response.getStatus());
+		assertEquals(CONTENT, response.getContentAsString());
+	}
+
+	@Test
+	public void deliver_slotKeptDuringTransfer() throws Exception {
+		this.test = new DownloadableFileDelivery(new DefaultDownloadableFileManager(this.root.toString(), this.root.resolve("tmp").toString()), 1, 100);
+		final MockHttpServletResponse concurrentResponse = new MockHttpServletResponse();
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+		// The sendfile support of the container is not used because the slot would be released before the transfer
+		request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		final MockHttpServletResponse response = new MockHttpServletResponse() {
+			@Override
+			public ServletOutputStream getOutputStream() {
+				try {
+					DownloadableFileDeliveryTest.this.test.deliver(DownloadableFileDeliveryTest.this.file,
+							new MockHttpServletRequest("GET", "/"), concurrentResponse, true);
+				} catch (IOException ex) {
+					throw new RuntimeException(ex);
+				}
+				return super.getOutputStream();
+			}
+		};
+		this.test.deliver(this.file, request, response, true);
+		assertEquals(200, response.getStatus());
+		assertEquals(CONTENT, response.getContentAsString());
+		assertEquals(503, concurrentResponse.getStatus());
+		assertNotNull(concurrentResponse.getHeader("Retry-After"));
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.utils.io.html;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Locale;
+
+import fr.utbm.ciad.labmanager.configuration.messages.BaseMessageSource;
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+import fr.utbm.ciad.labmanager.utils.io.html.HtmlFragmentTemplates;
+import fr.utbm.ciad.labmanager.utils.io.html.HtmlFragmentTemplates.Fragment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.MessageSourceAccessor;
+
+/** Tests for {@link HtmlFragmentTemplates}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class HtmlFragmentTemplatesTest {
+
+	private MessageSourceAccessor messages;
+
+	private HtmlFragmentTemplates test;
+
+	@BeforeEach
+	public void setUp() {
+		this.messages = BaseMessageSource.getGlobalMessageAccessor();
+		this.test = HtmlFragmentTemplates.compile(this.messages, Locale.FRANCE);
+	}
+
+	@Test
+	public void getLocale() {
+		assertSame(Locale.FRANCE, this.test.getLocale());
+	}
+
+	@Test
+	public void get() {
+		for (final var fragment : Fragment.values()) {
+			assertEquals(this.messages.getMessage(fragment.getMessageKey(), Locale.FRANCE), this.test.get(fragment));
+		}
+	}
+
+	@Test
+	public void decorate_empty() {
+		assertEquals("", this.test.decorate(Fragment.VOLUME_PREFIX, null));
+		assertEquals("", this.test.decorate(Fragment.VOLUME_PREFIX, ""));
+	}
+
+	@Test
+	public void decorate_value() {
+		assertEquals(this.messages.getMessage("abstractCiadHtmlExporter.VOLUME_PREFIX", Locale.FRANCE) + "12",
+				this.test.decorate(Fragment.VOLUME_PREFIX, "12"));
+		assertEquals(this.messages.getMessage("abstractHtmlExporter.WOS_PREFIX", Locale.FRANCE) + "Q1",
+				this.test.decorate(Fragment.WOS_PREFIX, "Q1"));
+	}
+
+	@Test
+	public void getTypeLabel() {
+		assertEquals(this.messages.getMessage("abstractCiadHtmlExporter.PHD_THESIS", Locale.FRANCE),
+				this.test.getTypeLabel(PublicationType.PHD_THESIS));
+		assertEquals(this.messages.getMessage("abstractCiadHtmlExporter.EUROPEAN_PATENT", Locale.FRANCE),
+				this.test.getTypeLabel(PublicationType.EUROPEAN_PATENT));
+	}
+
+	@Test
+	public void formatPatentType() {
+		assertEquals(this.messages.getMessage("abstractCiadHtmlExporter.PATENT_TYPE", new Object[] {"Utility model"}, Locale.FRANCE),
+				this.test.formatPatentType("Utility model"));
+	}
+
+}
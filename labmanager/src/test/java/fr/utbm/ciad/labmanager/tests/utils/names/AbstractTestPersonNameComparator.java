@@ -16,9 +16,12 @@
 
 package fr.utbm.ciad.labmanager.tests.utils.names;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.stream.IntStream;
+
 import fr.utbm.ciad.labmanager.utils.names.DefaultPersonNameParser;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
@@ -239,4 +242,41 @@ public abstract class AbstractTestPersonNameComparator {
 		assertFalse(this.test.isSimilar("Fekih", "Mariem", "Meriam", "Fekih"));
 	}
 
+	@Test
+	public void newSimilaritySession_defaultLevel() {
+		final var session = this.test.newSimilaritySession();
+		assertEquals(this.test.getSimilarityLevel(), session.getSimilarityLevel());
+		assertTrue(session.isSimilar("Meriem", "Fekih", "Meriam", "Fekih"));
+		assertFalse(session.isSimilar("Fekih", "Mariem", "Meriam", "Fekih"));
+		assertTrue(session.isSimilar("Stephane", "Galland", "S.", "Galland"));
+	}
+
+	@Test
+	public void newSimilaritySession_specificLevel() {
+		final var level = this.test.getSimilarityLevel();
+		final var session = this.test.newSimilaritySession(1.0);
+		assertEquals(1.0, session.getSimilarityLevel());
+		assertEquals(level, this.test.getSimilarityLevel());
+		assertFalse(session.isSimilar("Meriem", "Fekih", "Meriam", "Fekih"));
+		assertTrue(session.isSimilar("Meriem", "Fekih", "Meriem", "Fekih"));
+		assertTrue(this.test.isSimilar("Meriem", "Fekih", "Meriam", "Fekih"));
+	}
+
+	@Test
+	public void newSimilaritySession_clampedLevel() {
+		assertEquals(0.0, this.test.newSimilaritySession(-1.0).getSimilarityLevel());
+		assertEquals(1.0, this.test.newSimilaritySession(2.0).getSimilarityLevel());
+	}
+
+	@Test
+	public void newSimilaritySession_concurrentSessions() {
+		final var strict = this.test.newSimilaritySession(1.0);
+		final var lenient = this.test.newSimilaritySession(0.0);
+		final var results = IntStream.range(0, 200).parallel().mapToObj(it -> {
+			final var session = it % 2 == 0 ? strict : lenient;
+			return Boolean.valueOf(session.isSimilar("Meriem", "Fekih", "Meriam", "Fekih") == (session == lenient));
+		}).toList();
+		assertTrue(results.stream().allMatch(Boolean::booleanValue));
+	}
+
 }
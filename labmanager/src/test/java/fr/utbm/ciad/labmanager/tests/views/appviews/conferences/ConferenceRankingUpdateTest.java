@@ -0,0 +1,100 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.views.appviews.conferences;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import fr.utbm.ciad.labmanager.components.instrumentation.SessionFootprintMeter;
+import fr.utbm.ciad.labmanager.services.conference.ConferenceService.ConferenceRankingProjection;
+import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
+import fr.utbm.ciad.labmanager.views.appviews.conferences.ConferenceRankingUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link ConferenceRankingUpdate}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class ConferenceRankingUpdateTest {
+
+	/** Number of conferences in a realistic update of the rankings.
+	 */
+	private static final int CONFERENCE_COUNT = 1000;
+
+	/** Maximum footprint of the wizard data in the Vaadin session for {@link #CONFERENCE_COUNT} conferences.
+	 */
+	private static final long SESSION_SIZE_BUDGET = 256 * 1024;
+
+	private ConferenceRankingUpdate test;
+
+	@BeforeEach
+	public void setUp() {
+		this.test = new ConferenceRankingUpdate();
+		this.test.setYear(2023);
+		final var conferences = new ArrayList<ConferenceRankingProjection>(CONFERENCE_COUNT);
+		for (var i = 1; i <= CONFERENCE_COUNT; ++i) {
+			conferences.add(new ConferenceRankingProjection(i, "CONF" + i, "Conference on Things " + i));
+		}
+		this.test.setConferences(conferences);
+		for (var i = 1; i <= CONFERENCE_COUNT; i += 2) {
+			this.test.addRanking(i, CoreRanking.B, CoreRanking.A);
+		}
+	}
+
+	@Test
+	public void getConferenceIdentifiers() {
+		final var ids = this.test.getConferenceIdentifiers();
+		assertEquals(CONFERENCE_COUNT, ids.size());
+		assertEquals(1L, ids.get(0).longValue());
+	}
+
+	@Test
+	public void getConferenceUpdates() {
+		final var updates = this.test.getConferenceUpdates().toList();
+		assertEquals(CONFERENCE_COUNT / 2, updates.size());
+		final var first = updates.get(0);
+		assertEquals(1L, first.conference().id());
+		assertEquals(CoreRanking.B, first.oldRanking());
+		assertEquals(CoreRanking.A, first.newRanking());
+	}
+
+	@Test
+	public void sessionFootprint() {
+		final var footprint = SessionFootprintMeter.measure(this.test);
+		assertTrue(footprint.isComplete(), footprint.failure());
+		assertEquals(0, footprint.entityCount());
+		assertTrue(footprint.size() <= SESSION_SIZE_BUDGET, "Footprint of " + footprint.size() + " bytes");
+	}
+
+	@Test
+	public void projectionGetAcronymAndName() {
+		assertEquals("CONF - Conference", new ConferenceRankingProjection(1, "CONF", "Conference").getAcronymAndName());
+		assertEquals("Conference", new ConferenceRankingProjection(1, null, "Conference").getAcronymAndName());
+		assertNull(new ConferenceRankingProjection(1, "", null).getAcronymAndName());
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.views.appviews.journals;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import fr.utbm.ciad.labmanager.components.instrumentation.SessionFootprintMeter;
+import fr.utbm.ciad.labmanager.services.journal.JournalRankingReconciler.JournalRankingProjection;
+import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
+import fr.utbm.ciad.labmanager.views.appviews.journals.JournalRankingUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link JournalRankingUpdate}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class JournalRankingUpdateTest {
+
+	/** Number of journals in a realistic update of the rankings.
+	 */
+	private static final int JOURNAL_COUNT = 1000;
+
+	/** Maximum footprint of the wizard data in the Vaadin session for {@link #JOURNAL_COUNT} journals.
+	 */
+	private static final long SESSION_SIZE_BUDGET = 512 * 1024;
+
+	private JournalRankingUpdate test;
+
+	@BeforeEach
+	public void setUp() {
+		this.test = new JournalRankingUpdate();
+		this.test.setYear(2023);
+		final var journals = new ArrayList<JournalRankingProjection>(JOURNAL_COUNT);
+		for (var i = 1; i <= JOURNAL_COUNT; ++i) {
+			journals.add(new JournalRankingProjection(i, "Journal of Things " + i, "Publisher " + (i % 20), "1234-567" + (i % 10),
+					"sc" + i, "artificial intelligence", "wos" + i, "COMPUTER SCIENCE, ARTIFICIAL INTELLIGENCE",
+					QuartileRanking.Q2, QuartileRanking.Q2, 1.5f));
+		}
+		this.test.setJournals(journals);
+		for (var i = 1; i <= JOURNAL_COUNT; ++i) {
+			this.test.addScimagoRanking(i, QuartileRanking.Q2, Map.of("artificial intelligence", QuartileRanking.Q1));
+			this.test.addImpactFactor(i, 1.5f, 2.5f);
+		}
+	}
+
+	@Test
+	public void getJournalIdentifiers() {
+		final var ids = this.test.getJournalIdentifiers();
+		assertEquals(JOURNAL_COUNT, ids.size());
+		assertEquals(1L, ids.get(0).longValue());
+	}
+
+	@Test
+	public void getJournalUpdates() {
+		final var updates = this.test.getJournalUpdates().toList();
+		assertEquals(JOURNAL_COUNT, updates.size());
+		final var first = updates.get(0);
+		assertEquals(QuartileRanking.Q1, first.newScimago());
+		assertEquals(2.5f, first.newImpactFactor().floatValue());
+	}
+
+	@Test
+	public void sessionFootprint() {
+		final var footprint = SessionFootprintMeter.measure(this.test);
+		assertTrue(footprint.isComplete(), footprint.failure());
+		assertEquals(0, footprint.entityCount());
+		assertTrue(footprint.size() <= SESSION_SIZE_BUDGET, "Footprint of " + footprint.size() + " bytes");
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.views.appviews.persons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import fr.utbm.ciad.labmanager.components.instrumentation.SessionFootprintMeter;
+import fr.utbm.ciad.labmanager.services.member.PersonService.PersonRankingProjection;
+import fr.utbm.ciad.labmanager.views.appviews.persons.PersonRankingUpdaterWizard.PersonRankingUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link PersonRankingUpdate}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PersonRankingUpdateTest {
+
+	/** Number of persons in a realistic update of the rankings.
+	 */
+	private static final int PERSON_COUNT = 1000;
+
+	/** Maximum footprint of the wizard data in the Vaadin session for {@link #PERSON_COUNT} persons.
+	 */
+	private static final long SESSION_SIZE_BUDGET = 256 * 1024;
+
+	private PersonRankingUpdate test;
+
+	@BeforeEach
+	public void setUp() {
+		this.test = new PersonRankingUpdate();
+		final var persons = new ArrayList<PersonRankingProjection>(PERSON_COUNT);
+		for (var i = 1; i <= PERSON_COUNT; ++i) {
+			persons.add(new PersonRankingProjection(i, "First" + i, "Last" + i));
+		}
+		this.test.setPersons(persons);
+		for (var i = 1; i <= PERSON_COUNT; i += 2) {
+			this.test.addWosRanking(i, 10, 12, 100, 120);
+		}
+	}
+
+	@Test
+	public void getPersonIdentifiers() {
+		final var ids = this.test.getPersonIdentifiers();
+		assertEquals(PERSON_COUNT, ids.size());
+		assertEquals(1L, ids.get(0).longValue());
+	}
+
+	@Test
+	public void getPersonUpdates() {
+		final var updates = this.test.getPersonUpdates().toList();
+		assertEquals(PERSON_COUNT / 2, updates.size());
+		final var first = updates.get(0);
+		assertEquals("Last1 First1", first.person().getFullNameWithLastNameFirst());
+		assertEquals(10, first.oldWosHindex().intValue());
+		assertEquals(12, first.newWosHindex().intValue());
+		assertNull(first.newScopusHindex());
+	}
+
+	@Test
+	public void sessionFootprint() {
+		final var footprint = SessionFootprintMeter.measure(this.test);
+		assertTrue(footprint.isComplete(), footprint.failure());
+		assertEquals(0, footprint.entityCount());
+		assertTrue(footprint.size() <= SESSION_SIZE_BUDGET, "Footprint of " + footprint.size() + " bytes");
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.views.components.addons.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.components.events.EntityChangeEvent;
+import fr.utbm.ciad.labmanager.components.events.EntityChangeKind;
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.views.components.addons.entities.EntityChangeGridRefresher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link EntityChangeGridRefresher}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class EntityChangeGridRefresherTest {
+
+	private Object ui;
+
+	private List<Runnable> pending;
+
+	private List<String> actions;
+
+	private Person reloaded;
+
+	private EntityChangeGridRefresher<Person> test;
+
+	@BeforeEach
+	public void setUp() {
+		this.ui = new Object();
+		this.pending = new ArrayList<>();
+		this.actions = new ArrayList<>();
+		this.test = new EntityChangeGridRefresher<>(Person.class, this.ui) {
+			@Override
+			protected void access(Runnable code) {
+				// The code is run later, as with the lock on the user interface
+				pending.add(code);
+			}
+
+			@Override
+			protected Person loadEntity(long id) {
+				actions.add("load:" + id);
+				return reloaded;
+			}
+
+			@Override
+			protected void refreshItem(Person entity) {
+				actions.add("item:" + entity.getId());
+			}
+
+			@Override
+			protected void deselect(long id) {
+				actions.add("deselect:" + id);
+			}
+
+			@Override
+			protected void refreshAll() {
+				actions.add("all");
+			}
+		};
+	}
+
+	private void runPending() {
+		while (!this.pending.isEmpty()) {
+			final var code = this.pending.remove(0);
+			code.run();
+		}
+	}
+
+	private static EntityChangeEvent event(Class<?> type, long id, EntityChangeKind kind, Object entity, Object origin) {
+		return new EntityChangeEvent(type, id, kind, entity, origin);
+	}
+
+	@Test
+	public void update_reloaded() {
+		this.reloaded = new Person();
+		this.reloaded.setId(12);
+		final var committed = new Person();
+		committed.setId(12);
+		this.test.receive(event(Person.class, 12, EntityChangeKind.UPDATED, committed, null));
+		runPending();
+		assertEquals(List.of("load:12", "item:12"), this.actions);
+	}
+
+	@Test
+	public void update_notReloaded() {
+		this.test.receive(event(Person.class, 12, EntityChangeKind.UPDATED, new Person(), null));
+		this.test.receive(event(Person.class, 13, EntityChangeKind.UPDATED, new Person(), null));
+		runPending();
+		// A single refresh of the grid when the rows cannot be reloaded individually
+		assertEquals(List.of("load:12", "load:13", "all"), this.actions);
+	}
+
+	@Test
+	public void update_committedInstanceNotUsed() {
+		final var committed = new Person();
+		committed.setId(12);
+		this.reloaded = new Person();
+		this.reloaded.setId(12);
+		final List<Person> refreshed = new ArrayList<>();
+		final var test = new EntityChangeGridRefresher<Person>(Person.class, this.ui) {
+			@Override
+			protected void access(Runnable code) {
+				code.run();
+			}
+
+			@Override
+			protected Person loadEntity(long id) {
+				return reloaded;
+			}
+
+			@Override
+			protected void refreshItem(Person entity) {
+				refreshed.add(entity);
+			}
+
+			@Override
+			protected void deselect(long id) {
+				//
+			}
+
+			@Override
+			protected void refreshAll() {
+				//
+			}
+		};
+		test.receive(event(Person.class, 12, EntityChangeKind.UPDATED, committed, null));
+		assertEquals(1, refreshed.size());
+		assertSame(this.reloaded, refreshed.get(0));
+	}
+
+	@Test
+	public void createdAndDeleted() {
+		this.test.receive(event(Person.class, 12, EntityChangeKind.CREATED, new Person(), null));
+		this.test.receive(event(Person.class, 13, EntityChangeKind.DELETED, new Person(), null));
+		runPending();
+		assertEquals(List.of("all", "deselect:13"), this.actions);
+	}
+
+	@Test
+	public void refreshAfterPreviousRefresh() {
+		this.test.receive(event(Person.class, 12, EntityChangeKind.CREATED, new Person(), null));
+		runPending();
+		this.test.receive(event(Person.class, 13, EntityChangeKind.CREATED, new Person(), null));
+		runPending();
+		assertEquals(List.of("all", "all"), this.actions);
+	}
+
+	@Test
+	public void ownChange() {
+		this.test.receive(event(Person.class, 12, EntityChangeKind.UPDATED, new Person(), this.ui));
+		this.test.receive(event(Person.class, 13, EntityChangeKind.CREATED, new Person(), this.ui));
+		runPending();
+		assertTrue(this.actions.isEmpty());
+	}
+
+	@Test
+	public void otherObservedType() {
+		// The listed rows may show data of other types of entities
+		this.test.receive(event(Journal.class, 12, EntityChangeKind.UPDATED, new Journal(), null));
+		runPending();
+		assertEquals(List.of("all"), this.actions);
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ * 
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.views.components.charts.publicationcategory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.views.components.charts.publicationcategory.PublicationCategoryBarChart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the totals of publications of {@link PublicationCategoryBarChart}.
+ * 
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PublicationCategoryBarChartTest {
+
+	private List<Integer> totals;
+
+	@BeforeEach
+	public void setUp() {
+		this.totals = new ArrayList<>(Arrays.asList(0, 0, 0));
+	}
+
+	@Test
+	public void updateTotals_add() {
+		PublicationCategoryBarChart.updateTotals(this.totals, new int[] {1, 2, 3}, false);
+		PublicationCategoryBarChart.updateTotals(this.totals, new int[] {4, 0, 5}, false);
+		assertEquals(Arrays.asList(5, 2, 8), this.totals);
+	}
+
+	@Test
+	public void updateTotals_remove() {
+		PublicationCategoryBarChart.updateTotals(this.totals, new int[] {1, 2, 3}, false);
+		PublicationCategoryBarChart.updateTotals(this.totals, new int[] {4, 0, 5}, false);
+		PublicationCategoryBarChart.updateTotals(this.totals, new int[] {1, 2, 3}, true);
+		// The totals are the counts of the remaining category
+		assertEquals(Arrays.asList(4, 0, 5), this.totals);
+	}
+
+	@Test
+	public void updateTotals_removeAll() {
+		PublicationCategoryBarChart.updateTotals(this.totals, new int[] {1, 2, 3}, false);
+		PublicationCategoryBarChart.updateTotals(this.totals, new int[] {4, 0, 5}, false);
+		PublicationCategoryBarChart.updateTotals(this.totals, new int[] {4, 0, 5}, true);
+		PublicationCategoryBarChart.updateTotals(this.totals, new int[] {1, 2, 3}, true);
+		assertEquals(Arrays.asList(0, 0, 0), this.totals);
+	}
+
+}